@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.benchmarks;
+
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.util.TransactionIdUtils;
+import com.navercorp.pinpoint.thrift.dto.TAnnotation;
+import com.navercorp.pinpoint.thrift.dto.TAnnotationValue;
+import com.navercorp.pinpoint.thrift.dto.TSpan;
+import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
+import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic span data shared by the benchmarks.
+ * Every value is fixed so that consecutive runs serialize exactly the same bytes.
+ */
+public final class SpanFixtures {
+
+    public static final String AGENT_ID = "benchmark-agent";
+    public static final String APPLICATION_NAME = "benchmark-app";
+    public static final long AGENT_START_TIME = 1451606400000L;
+    public static final long TRANSACTION_SEQUENCE = 1;
+    public static final long SPAN_ID = 1234567890L;
+
+    private SpanFixtures() {
+    }
+
+    public static TSpan createSpan(int spanEventCount) {
+        final TSpan span = new TSpan();
+        span.setAgentId(AGENT_ID);
+        span.setApplicationName(APPLICATION_NAME);
+        span.setAgentStartTime(AGENT_START_TIME);
+        span.setTransactionId(TransactionIdUtils.formatBytes(AGENT_ID, AGENT_START_TIME, TRANSACTION_SEQUENCE));
+        span.setSpanId(SPAN_ID);
+        span.setParentSpanId(-1);
+        span.setStartTime(AGENT_START_TIME + 1000);
+        span.setElapsed(250);
+        span.setRpc("/benchmark/request.pinpoint");
+        span.setServiceType(ServiceType.STAND_ALONE.getCode());
+        span.setEndPoint("localhost:8080");
+        span.setRemoteAddr("127.0.0.1");
+        span.setApiId(1);
+        span.setFlag((short) 0);
+        span.setErr(0);
+        span.setSpanEventList(createSpanEventList(spanEventCount));
+        return span;
+    }
+
+    public static TSpanChunk createSpanChunk(int spanEventCount) {
+        final TSpanChunk spanChunk = new TSpanChunk();
+        spanChunk.setAgentId(AGENT_ID);
+        spanChunk.setApplicationName(APPLICATION_NAME);
+        spanChunk.setAgentStartTime(AGENT_START_TIME);
+        spanChunk.setServiceType(ServiceType.STAND_ALONE.getCode());
+        spanChunk.setTransactionId(TransactionIdUtils.formatBytes(AGENT_ID, AGENT_START_TIME, TRANSACTION_SEQUENCE));
+        spanChunk.setSpanId(SPAN_ID);
+        spanChunk.setEndPoint("localhost:8080");
+        spanChunk.setSpanEventList(createSpanEventList(spanEventCount));
+        return spanChunk;
+    }
+
+    public static List<TSpanEvent> createSpanEventList(int spanEventCount) {
+        final List<TSpanEvent> spanEventList = new ArrayList<TSpanEvent>(spanEventCount);
+        for (int i = 0; i < spanEventCount; i++) {
+            final TSpanEvent spanEvent = new TSpanEvent();
+            spanEvent.setSequence((short) i);
+            spanEvent.setStartElapsed(i);
+            spanEvent.setEndElapsed(1);
+            spanEvent.setDepth(i % 8 + 1);
+            spanEvent.setServiceType(ServiceType.INTERNAL_METHOD.getCode());
+            spanEvent.setApiId(100 + i);
+
+            final TAnnotation annotation = new TAnnotation(AnnotationKey.ARGS0.getCode());
+            annotation.setValue(TAnnotationValue.stringValue("argument-" + i));
+            final List<TAnnotation> annotations = new ArrayList<TAnnotation>(1);
+            annotations.add(annotation);
+            spanEvent.setAnnotations(annotations);
+
+            spanEventList.add(spanEvent);
+        }
+        return spanEventList;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.benchmarks.collector;
+
+import com.navercorp.pinpoint.collector.util.ConcurrentCounterMap;
+import com.navercorp.pinpoint.collector.util.StripedCounterMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contended increments of {@link ConcurrentCounterMap} and {@link StripedCounterMap},
+ * as done by the statistics handlers of the collector.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ConcurrentCounterMapBenchmark {
+
+    private static final Long ONE = 1L;
+
+    @Param({"16", "1024"})
+    private int keyCount;
+
+    private ConcurrentCounterMap<String> counterMap;
+    private StripedCounterMap<String> stripedCounterMap;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        this.counterMap = new ConcurrentCounterMap<>();
+        this.stripedCounterMap = new StripedCounterMap<>();
+        this.keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = "application-" + i;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class KeyCursor {
+        private int index;
+
+        int next(int keyCount) {
+            final int current = index;
+            index = (current + 1 == keyCount) ? 0 : current + 1;
+            return current;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void increment1Thread(KeyCursor cursor) {
+        counterMap.increment(keys[cursor.next(keyCount)], ONE);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void increment8Threads(KeyCursor cursor) {
+        counterMap.increment(keys[cursor.next(keyCount)], ONE);
+    }
+
+    @Benchmark
+    @Group("incrementWithFlush")
+    @GroupThreads(8)
+    public void incrementWhileFlushing(KeyCursor cursor) {
+        counterMap.increment(keys[cursor.next(keyCount)], ONE);
+    }
+
+    @Benchmark
+    @Group("incrementWithFlush")
+    @GroupThreads(1)
+    public Map<String, ConcurrentCounterMap.LongAdder> flush() {
+        return counterMap.remove();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void stripedIncrement1Thread(KeyCursor cursor) {
+        stripedCounterMap.increment(keys[cursor.next(keyCount)], 1L);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void stripedIncrement8Threads(KeyCursor cursor) {
+        stripedCounterMap.increment(keys[cursor.next(keyCount)], 1L);
+    }
+
+    @Benchmark
+    @Group("stripedIncrementWithFlush")
+    @GroupThreads(8)
+    public void stripedIncrementWhileFlushing(KeyCursor cursor) {
+        stripedCounterMap.increment(keys[cursor.next(keyCount)], 1L);
+    }
+
+    @Benchmark
+    @Group("stripedIncrementWithFlush")
+    @GroupThreads(1)
+    public void stripedFlush(final Blackhole blackhole) {
+        stripedCounterMap.flush(new StripedCounterMap.FlushHandler<String>() {
+            @Override
+            public void handle(String key, long count) {
+                blackhole.consume(count);
+            }
+        });
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.benchmarks.common;
+
+import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.FixedBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Variable length encoding of {@link FixedBuffer} and {@link AutomaticBuffer}.
+ * Each invocation encodes or decodes {@link #VALUE_COUNT} values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class BufferBenchmark {
+
+    private static final int VALUE_COUNT = 256;
+    // fixed seed, every run encodes the same values
+    private static final long SEED = 20160101L;
+
+    private final int[] intValues = new int[VALUE_COUNT];
+    private final long[] longValues = new long[VALUE_COUNT];
+
+    private byte[] encodedVInt;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(SEED);
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            // mix of 1 to 5 byte varints, similar to elapsed times and api ids
+            intValues[i] = random.nextInt() >>> random.nextInt(32);
+            // time stamps relative to the present time
+            longValues[i] = System.currentTimeMillis() - random.nextInt(1000000);
+        }
+
+        final Buffer buffer = new FixedBuffer(VALUE_COUNT * 5);
+        for (int value : intValues) {
+            buffer.putVInt(value);
+        }
+        this.encodedVInt = buffer.copyBuffer();
+    }
+
+    @Benchmark
+    public Buffer fixedBufferPutVInt() {
+        final Buffer buffer = new FixedBuffer(VALUE_COUNT * 5);
+        for (int value : intValues) {
+            buffer.putVInt(value);
+        }
+        return buffer;
+    }
+
+    @Benchmark
+    public Buffer fixedBufferPutSVInt() {
+        final Buffer buffer = new FixedBuffer(VALUE_COUNT * 5);
+        for (int value : intValues) {
+            buffer.putSVInt(-value);
+        }
+        return buffer;
+    }
+
+    @Benchmark
+    public Buffer fixedBufferPutVLong() {
+        final Buffer buffer = new FixedBuffer(VALUE_COUNT * 10);
+        for (long value : longValues) {
+            buffer.putVLong(value);
+        }
+        return buffer;
+    }
+
+    @Benchmark
+    public Buffer automaticBufferPutVInt() {
+        // default size, so that the buffer has to grow
+        final Buffer buffer = new AutomaticBuffer();
+        for (int value : intValues) {
+            buffer.putVInt(value);
+        }
+        return buffer;
+    }
+
+    @Benchmark
+    public Buffer automaticBufferPutVLong() {
+        final Buffer buffer = new AutomaticBuffer();
+        for (long value : longValues) {
+            buffer.putVLong(value);
+        }
+        return buffer;
+    }
+
+    @Benchmark
+    public long fixedBufferReadVInt() {
+        final Buffer buffer = new FixedBuffer(encodedVInt);
+        long sum = 0;
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            sum += buffer.readVInt();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.benchmarks.common;
+
+import com.navercorp.pinpoint.common.util.DefaultSqlParser;
+import com.navercorp.pinpoint.common.util.NormalizedSql;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DefaultSqlParser#normalizedSql(String)} over typical statements.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class SqlParserBenchmark {
+
+    private static final String SIMPLE_SELECT = "select * from member where id = 1";
+
+    private static final String BIND_SELECT = "select a.id, a.name, b.value from member a, member_detail b where a.id = b.id and a.id = ? and b.type in (?, ?, ?)";
+
+    private static final String LITERAL_INSERT = "insert into account (id, name, email, age, created, memo) values (123456, 'pinpoint', 'pinpoint@naver.com', 30, '2016-01-01 00:00:00', 'it''s a /* comment */ test')";
+
+    private static final String LONG_UPDATE;
+
+    static {
+        StringBuilder sql = new StringBuilder("update statistics set ");
+        for (int i = 0; i < 50; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("col").append(i).append(" = ").append(i * 31).append(" -- line comment\n");
+        }
+        sql.append("where id = 'key-0001'");
+        LONG_UPDATE = sql.toString();
+    }
+
+    private final DefaultSqlParser sqlParser = new DefaultSqlParser();
+
+    @Benchmark
+    public NormalizedSql simpleSelect() {
+        return sqlParser.normalizedSql(SIMPLE_SELECT);
+    }
+
+    @Benchmark
+    public NormalizedSql bindSelect() {
+        return sqlParser.normalizedSql(BIND_SELECT);
+    }
+
+    @Benchmark
+    public NormalizedSql literalInsert() {
+        return sqlParser.normalizedSql(LITERAL_INSERT);
+    }
+
+    @Benchmark
+    public NormalizedSql longUpdate() {
+        return sqlParser.normalizedSql(LONG_UPDATE);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.benchmarks.profiler;
+
+import com.navercorp.pinpoint.profiler.context.CallStack;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * push/pop cost of {@link CallStack} for a call tree of the given depth.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class CallStackBenchmark {
+
+    @Param({"4", "16", "64"})
+    private int depth;
+
+    private Span span;
+    private SpanEvent[] spanEvents;
+
+    @Setup
+    public void setUp() {
+        this.span = new Span();
+        this.spanEvents = new SpanEvent[depth];
+        for (int i = 0; i < depth; i++) {
+            spanEvents[i] = new SpanEvent(span);
+        }
+    }
+
+    @Benchmark
+    public void pushPop(Blackhole blackhole) {
+        final CallStack callStack = new CallStack(span);
+        for (SpanEvent spanEvent : spanEvents) {
+            blackhole.consume(callStack.push(spanEvent));
+        }
+        for (int i = 0; i < depth; i++) {
+            blackhole.consume(callStack.pop());
+        }
+    }
+
+    @Benchmark
+    public void pushPopRepeated(Blackhole blackhole) {
+        // sibling calls: the stack never grows beyond one frame below the root
+        final CallStack callStack = new CallStack(span);
+        callStack.push(spanEvents[0]);
+        for (int i = 1; i < depth; i++) {
+            blackhole.consume(callStack.push(spanEvents[i]));
+            blackhole.consume(callStack.pop());
+        }
+        blackhole.consume(callStack.pop());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.benchmarks.profiler;
+
+import com.navercorp.pinpoint.bootstrap.context.SpanEventRecorder;
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.profiler.context.DefaultTrace;
+import com.navercorp.pinpoint.profiler.context.DefaultTraceContext;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.storage.Storage;
+import com.navercorp.pinpoint.test.TestAgentInformation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records a complete transaction with {@code spanEventCount} span events through {@link DefaultTrace}.
+ * The storage only hands the recorded data to the {@link Blackhole} so that the sender is not measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class DefaultTraceBenchmark {
+
+    @Param({"10", "100"})
+    private int spanEventCount;
+
+    private DefaultTraceContext traceContext;
+    private long transactionId;
+
+    @Setup
+    public void setUp() {
+        this.traceContext = new DefaultTraceContext(new TestAgentInformation());
+    }
+
+    @Benchmark
+    public void recordSpanEvents(Blackhole blackhole) {
+        final DefaultTrace trace = new DefaultTrace(traceContext, transactionId++, true);
+        trace.setStorage(new BlackholeStorage(blackhole));
+
+        for (int i = 0; i < spanEventCount; i++) {
+            final SpanEventRecorder recorder = trace.traceBlockBegin();
+            recorder.recordServiceType(ServiceType.INTERNAL_METHOD);
+            recorder.recordAttribute(AnnotationKey.ARGS0, "value");
+            trace.traceBlockEnd();
+        }
+        trace.close();
+    }
+
+    private static class BlackholeStorage implements Storage {
+        private final Blackhole blackhole;
+
+        private BlackholeStorage(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void store(SpanEvent spanEvent) {
+            blackhole.consume(spanEvent);
+        }
+
+        @Override
+        public void store(Span span) {
+            blackhole.consume(span);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.benchmarks.profiler;
+
+import com.navercorp.pinpoint.profiler.context.DefaultTraceId;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanChunk;
+import com.navercorp.pinpoint.profiler.context.SpanChunkFactory;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.sender.SpanStreamSendDataSerializer;
+import com.navercorp.pinpoint.test.TestAgentInformation;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of splitting a span / span chunk into the partitioned buffers used by the TCP span stream.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class SpanStreamSendDataSerializerBenchmark {
+
+    @Param({"10", "100"})
+    private int spanEventCount;
+
+    private final SpanStreamSendDataSerializer streamSerializer = new SpanStreamSendDataSerializer();
+    private HeaderTBaseSerializer serializer;
+
+    private Span span;
+    private SpanChunk spanChunk;
+
+    @Setup
+    public void setUp() {
+        this.serializer = HeaderTBaseSerializerFactory.DEFAULT_FACTORY.createSerializer();
+
+        this.span = new Span();
+        span.setAgentId("agentId");
+        span.recordTraceId(new DefaultTraceId("agentId", 0, 1));
+        span.markBeforeTime();
+        for (SpanEvent spanEvent : createSpanEventList(span, spanEventCount)) {
+            span.addToSpanEventList(spanEvent);
+        }
+        span.markAfterTime();
+
+        SpanChunkFactory spanChunkFactory = new SpanChunkFactory(new TestAgentInformation());
+        this.spanChunk = spanChunkFactory.create(createSpanEventList(span, spanEventCount));
+    }
+
+    private List<SpanEvent> createSpanEventList(Span span, int size) {
+        final List<SpanEvent> spanEventList = new ArrayList<SpanEvent>(size);
+        for (int i = 0; i < size; i++) {
+            SpanEvent spanEvent = new SpanEvent(span);
+            spanEvent.setSequence((short) i);
+            spanEvent.setDepth(i % 8 + 1);
+            spanEvent.setApiId(i);
+            spanEvent.markStartTime();
+            spanEvent.markAfterTime();
+            spanEventList.add(spanEvent);
+        }
+        return spanEventList;
+    }
+
+    @Benchmark
+    public Object serializeSpanStream() {
+        return streamSerializer.serializeSpanStream(serializer, span);
+    }
+
+    @Benchmark
+    public Object serializeSpanChunkStream() {
+        return streamSerializer.serializeSpanChunkStream(serializer, spanChunk);
+    }
+}
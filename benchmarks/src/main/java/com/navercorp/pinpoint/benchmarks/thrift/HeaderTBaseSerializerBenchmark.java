@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.benchmarks.thrift;
+
+import com.navercorp.pinpoint.benchmarks.SpanFixtures;
+import com.navercorp.pinpoint.thrift.dto.TSpan;
+import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializerFactory;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thrift serialization of {@link TSpan} and {@link TSpanChunk} through {@link HeaderTBaseSerializer}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class HeaderTBaseSerializerBenchmark {
+
+    @Param({"10", "100"})
+    private int spanEventCount;
+
+    private HeaderTBaseSerializer serializer;
+    private HeaderTBaseDeserializer deserializer;
+
+    private TSpan span;
+    private TSpanChunk spanChunk;
+    private byte[] serializedSpan;
+
+    @Setup
+    public void setUp() throws TException {
+        this.serializer = HeaderTBaseSerializerFactory.DEFAULT_FACTORY.createSerializer();
+        this.deserializer = new HeaderTBaseDeserializerFactory().createDeserializer();
+
+        this.span = SpanFixtures.createSpan(spanEventCount);
+        this.spanChunk = SpanFixtures.createSpanChunk(spanEventCount);
+        this.serializedSpan = serializer.serialize(span);
+    }
+
+    @Benchmark
+    public byte[] serializeSpan() throws TException {
+        return serializer.serialize(span);
+    }
+
+    @Benchmark
+    public byte[] serializeSpanChunk() throws TException {
+        return serializer.serialize(spanChunk);
+    }
+
+    @Benchmark
+    public TBase<?, ?> deserializeSpan() throws TException {
+        return deserializer.deserialize(serializedSpan);
+    }
+}
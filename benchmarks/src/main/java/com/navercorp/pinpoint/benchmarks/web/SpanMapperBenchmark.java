@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.benchmarks.web;
+
+import com.navercorp.pinpoint.benchmarks.SpanFixtures;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.server.bo.serializer.AnnotationSerializer;
+import com.navercorp.pinpoint.common.server.bo.serializer.SpanEventSerializer;
+import com.navercorp.pinpoint.common.server.bo.serializer.SpanSerializer;
+import com.navercorp.pinpoint.common.util.BytesUtils;
+import com.navercorp.pinpoint.thrift.dto.TSpan;
+import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
+import com.navercorp.pinpoint.web.mapper.SpanMapper;
+import com.navercorp.pinpoint.web.vo.TransactionId;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of a traces row by {@link SpanMapper#mapRow(Result, int)}.
+ * The row is written with the same serializers the collector uses, so the cell layout matches production.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class SpanMapperBenchmark {
+
+    private static final long ACCEPTED_TIME = SpanFixtures.AGENT_START_TIME + 5000;
+
+    @Param({"10", "100"})
+    private int spanEventCount;
+
+    private SpanMapper spanMapper;
+    private Result result;
+
+    @Setup
+    public void setUp() {
+        this.spanMapper = new SpanMapper();
+        this.result = createResult(SpanFixtures.createSpan(spanEventCount));
+    }
+
+    private Result createResult(TSpan span) {
+        final byte[] transactionId = new TransactionId(SpanFixtures.AGENT_ID, SpanFixtures.AGENT_START_TIME, SpanFixtures.TRANSACTION_SEQUENCE).getBytes();
+        // the web reads the fixed length row key after the hash prefix of the row key distributor
+        final byte[] rowKey = BytesUtils.merge(new byte[TransactionId.DISTRIBUTE_HASH_SIZE], transactionId);
+        final Put put = new Put(rowKey, ACCEPTED_TIME);
+
+        final SpanBo spanBo = new SpanBo(span);
+        new SpanSerializer().serialize(spanBo, put, null);
+
+        final SpanEventSerializer spanEventSerializer = new SpanEventSerializer();
+        spanEventSerializer.setAnnotationSerializer(new AnnotationSerializer());
+        for (TSpanEvent spanEvent : span.getSpanEventList()) {
+            spanEventSerializer.serialize(new SpanEventBo(span, spanEvent), put, null);
+        }
+
+        final List<Cell> cells = new ArrayList<>();
+        for (List<Cell> familyCells : put.getFamilyCellMap().values()) {
+            cells.addAll(familyCells);
+        }
+        // a Result from the region server is always sorted
+        Collections.sort(cells, KeyValue.COMPARATOR);
+        return Result.create(cells);
+    }
+
+    @Benchmark
+    public List<SpanBo> mapRow() throws Exception {
+        return spanMapper.mapRow(result, 0);
+    }
+}
@@ -41,6 +41,9 @@ public class DefaultProfilerConfig implements ProfilerConfig {
     private static final Logger logger = JavaLoggerFactory.getLogger(DefaultProfilerConfig.class.getName());
     private static final String DEFAULT_IP = "127.0.0.1";
 
+    public static final String INSTRUMENT_ENGINE_JAVASSIST = "JAVASSIST";
+    public static final String INSTRUMENT_ENGINE_ASM = "ASM";
+
     private final Properties properties;
     private final PropertyPlaceholderHelper propertyPlaceholderHelper = new PropertyPlaceholderHelper("${", "}");
 
@@ -87,6 +90,7 @@ public class DefaultProfilerConfig implements ProfilerConfig {
     private boolean profileEnable = false;
 
     private int interceptorRegistrySize = 1024*8;
+    private String profileInstrumentEngine = INSTRUMENT_ENGINE_JAVASSIST;
 
     private String collectorSpanServerIp = DEFAULT_IP;
     private int collectorSpanServerPort = 9996;
@@ -102,12 +106,21 @@ public class DefaultProfilerConfig implements ProfilerConfig {
     private int spanDataSenderSocketTimeout = 1000 * 3;
     private int spanDataSenderChunkSize = 1024 * 16;
     private String spanDataSenderSocketType = "OIO";
+    private boolean tcpSpanDataSenderEnable = false;
+    private int tcpSpanDataSenderWindowSize = 1024;
+    private long tcpSpanDataSenderWindowBytes = 1024 * 1024 * 4;
+    private long tcpSpanDataSenderAckTimeout = 1000 * 3;
 
     private int statDataSenderWriteQueueSize = 1024 * 5;
     private int statDataSenderSocketSendBufferSize = 1024 * 64 * 16;
     private int statDataSenderSocketTimeout = 1000 * 3;
     private int statDataSenderChunkSize = 1024 * 16;
     private String statDataSenderSocketType = "OIO";
+    private String dataSenderQueueType = "LINKED_BLOCKING";
+    private String dataSenderQueueWaitStrategy = "SLEEPING";
+    private int dataSenderQueueMaxDrainSize = 10;
+    private boolean dataSenderSpillEnable = false;
+    private int dataSenderSpillCapacity = 1024 * 1024 * 16;
 
     private boolean tcpDataSenderCommandAcceptEnable = false;
 
@@ -166,10 +179,17 @@ public class DefaultProfilerConfig implements ProfilerConfig {
     // Sampling
     private boolean samplingEnable = true;
     private int samplingRate = 1;
+    private boolean adaptiveSamplingEnable = false;
+    private int adaptiveSamplingMaxTps = 100;
+    private long adaptiveSamplingUpdateInterval = 5000;
 
     // span buffering
     private boolean ioBufferingEnable;
     private int ioBufferingBufferSize;
+    private boolean spanEventRecycleEnable = false;
+    private int spanEventRecyclePoolSize = 256;
+    private boolean statisticsAggregationEnable = false;
+    private long statisticsAggregationInterval = 10000L;
 
     private int profileJvmCollectInterval;
     private String profileJvmVendorName;
@@ -205,6 +225,11 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         return interceptorRegistrySize;
     }
 
+    @Override
+    public String getProfileInstrumentEngine() {
+        return profileInstrumentEngine;
+    }
+
     @Override
     public String getCollectorSpanServerIp() {
         return collectorSpanServerIp;
@@ -285,6 +310,26 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         return spanDataSenderSocketType;
     }
 
+    @Override
+    public boolean isTcpSpanDataSenderEnable() {
+        return tcpSpanDataSenderEnable;
+    }
+
+    @Override
+    public int getTcpSpanDataSenderWindowSize() {
+        return tcpSpanDataSenderWindowSize;
+    }
+
+    @Override
+    public long getTcpSpanDataSenderWindowBytes() {
+        return tcpSpanDataSenderWindowBytes;
+    }
+
+    @Override
+    public long getTcpSpanDataSenderAckTimeout() {
+        return tcpSpanDataSenderAckTimeout;
+    }
+
     @Override
     public int getSpanDataSenderChunkSize() {
         return spanDataSenderChunkSize;
@@ -295,6 +340,31 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         return statDataSenderChunkSize;
     }
 
+    @Override
+    public String getDataSenderQueueType() {
+        return dataSenderQueueType;
+    }
+
+    @Override
+    public String getDataSenderQueueWaitStrategy() {
+        return dataSenderQueueWaitStrategy;
+    }
+
+    @Override
+    public int getDataSenderQueueMaxDrainSize() {
+        return dataSenderQueueMaxDrainSize;
+    }
+
+    @Override
+    public boolean isDataSenderSpillEnable() {
+        return dataSenderSpillEnable;
+    }
+
+    @Override
+    public int getDataSenderSpillCapacity() {
+        return dataSenderSpillCapacity;
+    }
+
     @Override
     public boolean isProfileEnable() {
         return profileEnable;
@@ -326,6 +396,21 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         return samplingRate;
     }
 
+    @Override
+    public boolean isAdaptiveSamplingEnable() {
+        return adaptiveSamplingEnable;
+    }
+
+    @Override
+    public int getAdaptiveSamplingMaxTps() {
+        return adaptiveSamplingMaxTps;
+    }
+
+    @Override
+    public long getAdaptiveSamplingUpdateInterval() {
+        return adaptiveSamplingUpdateInterval;
+    }
+
     @Override
     public boolean isIoBufferingEnable() {
         return ioBufferingEnable;
@@ -336,6 +421,26 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         return ioBufferingBufferSize;
     }
 
+    @Override
+    public boolean isSpanEventRecycleEnable() {
+        return spanEventRecycleEnable;
+    }
+
+    @Override
+    public int getSpanEventRecyclePoolSize() {
+        return spanEventRecyclePoolSize;
+    }
+
+    @Override
+    public boolean isStatisticsAggregationEnable() {
+        return statisticsAggregationEnable;
+    }
+
+    @Override
+    public long getStatisticsAggregationInterval() {
+        return statisticsAggregationInterval;
+    }
+
     @Override
     public int getProfileJvmCollectInterval() {
         return profileJvmCollectInterval;
@@ -572,6 +677,7 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         this.profileEnable = readBoolean("profiler.enable", true);
 
         this.interceptorRegistrySize = readInt("profiler.interceptorregistry.size", 1024*8);
+        this.profileInstrumentEngine = readString("profiler.instrument.engine", INSTRUMENT_ENGINE_JAVASSIST);
 
         this.collectorSpanServerIp = readString("profiler.collector.span.ip", DEFAULT_IP, placeHolderResolver);
         this.collectorSpanServerPort = readInt("profiler.collector.span.port", 9996);
@@ -587,12 +693,21 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         this.spanDataSenderSocketTimeout = readInt("profiler.spandatasender.socket.timeout", 1000 * 3);
         this.spanDataSenderChunkSize = readInt("profiler.spandatasender.chunk.size", 1024 * 16);
         this.spanDataSenderSocketType = readString("profiler.spandatasender.socket.type", "OIO");
+        this.tcpSpanDataSenderEnable = readBoolean("profiler.spandatasender.tcp.enable", false);
+        this.tcpSpanDataSenderWindowSize = readInt("profiler.spandatasender.tcp.window.size", 1024);
+        this.tcpSpanDataSenderWindowBytes = readLong("profiler.spandatasender.tcp.window.bytes", 1024 * 1024 * 4);
+        this.tcpSpanDataSenderAckTimeout = readLong("profiler.spandatasender.tcp.ack.timeout", 1000 * 3);
 
         this.statDataSenderWriteQueueSize = readInt("profiler.statdatasender.write.queue.size", 1024 * 5);
         this.statDataSenderSocketSendBufferSize = readInt("profiler.statdatasender.socket.sendbuffersize", 1024 * 64 * 16);
         this.statDataSenderSocketTimeout = readInt("profiler.statdatasender.socket.timeout", 1000 * 3);
         this.statDataSenderChunkSize = readInt("profiler.statdatasender.chunk.size", 1024 * 16);
         this.statDataSenderSocketType = readString("profiler.statdatasender.socket.type", "OIO");
+        this.dataSenderQueueType = readString("profiler.datasender.queue.type", "LINKED_BLOCKING");
+        this.dataSenderQueueWaitStrategy = readString("profiler.datasender.queue.waitstrategy", "SLEEPING");
+        this.dataSenderQueueMaxDrainSize = readInt("profiler.datasender.queue.drain.max.size", 10);
+        this.dataSenderSpillEnable = readBoolean("profiler.datasender.spill.enable", false);
+        this.dataSenderSpillCapacity = readInt("profiler.datasender.spill.capacity", 1024 * 1024 * 16);
 
         this.tcpDataSenderCommandAcceptEnable = readBoolean("profiler.tcpdatasender.command.accept.enable", false);
 
@@ -673,12 +788,19 @@ public class DefaultProfilerConfig implements ProfilerConfig {
 
         this.samplingEnable = readBoolean("profiler.sampling.enable", true);
         this.samplingRate = readInt("profiler.sampling.rate", 1);
+        this.adaptiveSamplingEnable = readBoolean("profiler.sampling.adaptive.enable", false);
+        this.adaptiveSamplingMaxTps = readInt("profiler.sampling.adaptive.maxtps", 100);
+        this.adaptiveSamplingUpdateInterval = readLong("profiler.sampling.adaptive.update.interval", 5000L);
 
         // configuration for sampling and IO buffer 
         this.ioBufferingEnable = readBoolean("profiler.io.buffering.enable", true);
 
         // it may be a problem to be here.  need to modify(delete or move or .. )  this configuration.
         this.ioBufferingBufferSize = readInt("profiler.io.buffering.buffersize", 20);
+        this.spanEventRecycleEnable = readBoolean("profiler.spanevent.recycle.enable", false);
+        this.spanEventRecyclePoolSize = readInt("profiler.spanevent.recycle.poolsize", 256);
+        this.statisticsAggregationEnable = readBoolean("profiler.statistics.aggregation.enable", false);
+        this.statisticsAggregationInterval = readLong("profiler.statistics.aggregation.interval", 10000L);
 
         // JVM
         this.profileJvmCollectInterval = readInt("profiler.jvm.collect.interval", 1000);
@@ -940,6 +1062,40 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         builder.append(log4jLoggingTransactionInfo);
         builder.append(", logbackLoggingTransactionInfo=");
         builder.append(logbackLoggingTransactionInfo);
+        builder.append(", dataSenderQueueType=");
+        builder.append(dataSenderQueueType);
+        builder.append(", dataSenderQueueWaitStrategy=");
+        builder.append(dataSenderQueueWaitStrategy);
+        builder.append(", dataSenderQueueMaxDrainSize=");
+        builder.append(dataSenderQueueMaxDrainSize);
+        builder.append(", spanEventRecycleEnable=");
+        builder.append(spanEventRecycleEnable);
+        builder.append(", spanEventRecyclePoolSize=");
+        builder.append(spanEventRecyclePoolSize);
+        builder.append(", statisticsAggregationEnable=");
+        builder.append(statisticsAggregationEnable);
+        builder.append(", statisticsAggregationInterval=");
+        builder.append(statisticsAggregationInterval);
+        builder.append(", tcpSpanDataSenderEnable=");
+        builder.append(tcpSpanDataSenderEnable);
+        builder.append(", tcpSpanDataSenderWindowSize=");
+        builder.append(tcpSpanDataSenderWindowSize);
+        builder.append(", tcpSpanDataSenderWindowBytes=");
+        builder.append(tcpSpanDataSenderWindowBytes);
+        builder.append(", tcpSpanDataSenderAckTimeout=");
+        builder.append(tcpSpanDataSenderAckTimeout);
+        builder.append(", adaptiveSamplingEnable=");
+        builder.append(adaptiveSamplingEnable);
+        builder.append(", adaptiveSamplingMaxTps=");
+        builder.append(adaptiveSamplingMaxTps);
+        builder.append(", adaptiveSamplingUpdateInterval=");
+        builder.append(adaptiveSamplingUpdateInterval);
+        builder.append(", dataSenderSpillEnable=");
+        builder.append(dataSenderSpillEnable);
+        builder.append(", dataSenderSpillCapacity=");
+        builder.append(dataSenderSpillCapacity);
+        builder.append(", profileInstrumentEngine=");
+        builder.append(profileInstrumentEngine);
         builder.append("}");
         return builder.toString();
     }
@@ -53,9 +53,9 @@ public class ProfilableClassFilter implements Filter<String> {
         if (profileInclude.contains(className)) {
             return true;
         } else {
-            final String packageName = className.substring(0, className.lastIndexOf("/") + 1);
+            // pkg ends with '/', so checking the class name itself is the same as checking its package name
             for (String pkg : profileIncludeSub) {
-                if (packageName.startsWith(pkg)) {
+                if (className.startsWith(pkg)) {
                     return true;
                 }
             }
@@ -25,6 +25,8 @@ import java.util.Map;
 public interface ProfilerConfig {
     int getInterceptorRegistrySize();
 
+    String getProfileInstrumentEngine();
+
     String getCollectorSpanServerIp();
 
     int getCollectorSpanServerPort();
@@ -57,10 +59,28 @@ public interface ProfilerConfig {
 
     String getSpanDataSenderSocketType();
 
+    boolean isTcpSpanDataSenderEnable();
+
+    int getTcpSpanDataSenderWindowSize();
+
+    long getTcpSpanDataSenderWindowBytes();
+
+    long getTcpSpanDataSenderAckTimeout();
+
     int getSpanDataSenderChunkSize();
 
     int getStatDataSenderChunkSize();
 
+    String getDataSenderQueueType();
+
+    String getDataSenderQueueWaitStrategy();
+
+    int getDataSenderQueueMaxDrainSize();
+
+    boolean isDataSenderSpillEnable();
+
+    int getDataSenderSpillCapacity();
+
     boolean isProfileEnable();
 
     int getJdbcSqlCacheSize();
@@ -73,10 +93,24 @@ public interface ProfilerConfig {
 
     int getSamplingRate();
 
+    boolean isAdaptiveSamplingEnable();
+
+    int getAdaptiveSamplingMaxTps();
+
+    long getAdaptiveSamplingUpdateInterval();
+
     boolean isIoBufferingEnable();
 
     int getIoBufferingBufferSize();
 
+    boolean isSpanEventRecycleEnable();
+
+    int getSpanEventRecyclePoolSize();
+
+    boolean isStatisticsAggregationEnable();
+
+    long getStatisticsAggregationInterval();
+
     int getProfileJvmCollectInterval();
 
     String getProfilerJvmVendorName();
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.bootstrap.context;
+
+import com.navercorp.pinpoint.common.util.BytesUtils;
+import com.navercorp.pinpoint.common.util.TransactionIdUtils;
+
+/**
+ * Transaction id of a trace, formatted on first use and shared by every {@link TraceId} of the trace.
+ */
+public final class EncodedTransactionId {
+
+    private final String agentId;
+    private final long agentStartTime;
+    private final long transactionSequence;
+
+    // benign race : String is immutable and may be formatted more than once
+    private String value;
+    // volatile : the contents of an array are not safely published through a data race
+    private volatile byte[] bytes;
+
+    public EncodedTransactionId(String agentId, long agentStartTime, long transactionSequence) {
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        this.agentId = agentId;
+        this.agentStartTime = agentStartTime;
+        this.transactionSequence = transactionSequence;
+    }
+
+    public EncodedTransactionId(String agentId, long agentStartTime, long transactionSequence, String value) {
+        this(agentId, agentStartTime, transactionSequence);
+        if (value == null) {
+            throw new NullPointerException("value must not be null");
+        }
+        this.value = value;
+    }
+
+    public String getValue() {
+        String value = this.value;
+        if (value == null) {
+            value = TransactionIdUtils.formatString(agentId, agentStartTime, transactionSequence);
+            this.value = value;
+        }
+        return value;
+    }
+
+    /**
+     * @return UTF-8 bytes of {@link #getValue()}. must not be modified.
+     */
+    public byte[] getBytes() {
+        byte[] bytes = this.bytes;
+        if (bytes == null) {
+            bytes = BytesUtils.toBytes(getValue());
+            this.bytes = bytes;
+        }
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+}
@@ -34,6 +34,14 @@ public interface TraceContext {
      */
     Trace currentRawTraceObject();
 
+    /**
+     * return the sampled trace, or an unsampled trace which records the response time of its span events for the server map statistics.
+     * only traceBlockBegin(), traceBlockEnd() and currentSpanEventRecorder() may be called on an unsampled trace
+     *
+     * @return
+     */
+    Trace currentStatisticsTraceObject();
+
     Trace continueTraceObject(TraceId traceId);
 
     Trace continueTraceObject(Trace trace);
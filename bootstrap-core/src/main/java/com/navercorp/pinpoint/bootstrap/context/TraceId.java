@@ -27,6 +27,8 @@ public interface TraceId {
 
     String getTransactionId();
 
+    EncodedTransactionId getEncodedTransactionId();
+
     String getAgentId();
 
     long getAgentStartTime();
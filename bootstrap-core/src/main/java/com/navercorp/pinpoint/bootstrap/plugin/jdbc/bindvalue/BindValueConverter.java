@@ -26,6 +26,13 @@ public class BindValueConverter {
         converter.register();
     }
 
+    private static final Converter EMPTY_CONVERTER = new Converter() {
+        @Override
+        public String convert(Object[] args) {
+            return "";
+        }
+    };
+
     public final Map<String, Converter> convertermap = new HashMap<String, Converter>() ;
 
     private void register() {
@@ -107,4 +114,15 @@ public class BindValueConverter {
         return converter.convert0(methodName, args);
     }
 
+    /**
+     * @return converter of the setXxx() method. converts to "" if the method is unknown
+     */
+    public static Converter getConverter(String methodName) {
+        final Converter methodConverter = converter.convertermap.get(methodName);
+        if (methodConverter == null) {
+            return EMPTY_CONVERTER;
+        }
+        return methodConverter;
+    }
+
 }
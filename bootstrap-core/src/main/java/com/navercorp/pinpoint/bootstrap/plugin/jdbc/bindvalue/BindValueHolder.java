@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.bootstrap.plugin.jdbc.bindvalue;
+
+import java.util.Arrays;
+
+/**
+ * Bind values of a statement addressed by parameter index.
+ * <p>
+ * The arguments of each setXxx() call are kept as they are, and converted to a String only when the bind values are recorded.
+ * The arrays are reused across executions of the statement. not thread safe, like the statement itself.
+ */
+public final class BindValueHolder {
+
+    private static final int DEFAULT_CAPACITY = 8;
+    // PreparedStatement parameterIndex limit of most drivers
+    private static final int MAX_PARAMETER_INDEX = 65535;
+
+    private Converter[] converters;
+    private Object[][] arguments;
+    private int size;
+
+    public BindValueHolder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public BindValueHolder(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.converters = new Converter[capacity];
+        this.arguments = new Object[capacity][];
+    }
+
+    /**
+     * @param parameterIndex first parameterIndex is 1
+     * @param methodName name of the setXxx() method
+     * @param args arguments of the setXxx() method. must not be modified afterwards
+     */
+    public void set(int parameterIndex, String methodName, Object[] args) {
+        if (parameterIndex <= 0 || parameterIndex > MAX_PARAMETER_INDEX) {
+            // invalid index. PreparedStatement first parameterIndex is 1
+            return;
+        }
+        final int index = parameterIndex - 1;
+        if (index >= converters.length) {
+            grow(parameterIndex);
+        }
+        this.converters[index] = BindValueConverter.getConverter(methodName);
+        this.arguments[index] = args;
+        if (parameterIndex > size) {
+            this.size = parameterIndex;
+        }
+    }
+
+    private void grow(int minCapacity) {
+        final int capacity = Math.min(Math.max(converters.length << 1, minCapacity), MAX_PARAMETER_INDEX);
+        this.converters = Arrays.copyOf(converters, capacity);
+        this.arguments = Arrays.copyOf(arguments, capacity);
+    }
+
+    /**
+     * @return max parameterIndex set so far
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index 0 based index
+     * @return bind value as String, null if not set
+     */
+    public String toString(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index:" + index + ", size:" + size);
+        }
+        final Converter converter = converters[index];
+        if (converter == null) {
+            return null;
+        }
+        return converter.convert(arguments[index]);
+    }
+
+    public void clear() {
+        Arrays.fill(converters, 0, size, null);
+        Arrays.fill(arguments, 0, size, null);
+        this.size = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "BindValueHolder{size=" + size + '}';
+    }
+}
@@ -63,12 +63,46 @@ public final class BindValueUtils {
         return maxIndex;
     }
 
-    public static String bindValueToString(String[] bindValueArray, int limit) {
+    public static String bindValueToString(final String[] bindValueArray, int limit) {
         if (bindValueArray == null) {
             return "";
         }
+        return bindValueToString(new BindValues() {
+            @Override
+            public int size() {
+                return bindValueArray.length;
+            }
+
+            @Override
+            public String get(int index) {
+                return bindValueArray[index];
+            }
+        }, limit);
+    }
+
+    /**
+     * bind values are converted to String only until the limit is reached.
+     */
+    public static String bindValueToString(final BindValueHolder bindValueHolder, int limit) {
+        if (bindValueHolder == null) {
+            return "";
+        }
+        return bindValueToString(new BindValues() {
+            @Override
+            public int size() {
+                return bindValueHolder.size();
+            }
+
+            @Override
+            public String get(int index) {
+                return bindValueHolder.toString(index);
+            }
+        }, limit);
+    }
+
+    private static String bindValueToString(BindValues bindValues, int limit) {
         final StringBuilder sb = new StringBuilder(32);
-        final int length = bindValueArray.length;
+        final int length = bindValues.size();
         final int end = length - 1;
         for (int i = 0; i < length; i++) {
             if (sb.length() >= limit) {
@@ -76,7 +110,8 @@ public final class BindValueUtils {
                 appendLength(sb, length);
                 break;
             }
-            final String bindValue = StringUtils.defaultString(bindValueArray[i], "");
+            // only the values appended are read
+            final String bindValue = StringUtils.defaultString(bindValues.get(i), "");
             StringUtils.appendDrop(sb, bindValue, limit);
             if (i < end) {
                 sb.append(", ");
@@ -86,6 +121,12 @@ public final class BindValueUtils {
         return sb.toString();
     }
 
+    private interface BindValues {
+        int size();
+
+        String get(int index);
+    }
+
     private static void appendLength(StringBuilder sb, int length) {
         sb.append("...(");
         sb.append(length);
@@ -16,9 +16,6 @@
 
 package com.navercorp.pinpoint.bootstrap.plugin.jdbc.interceptor;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import com.navercorp.pinpoint.bootstrap.context.Trace;
 import com.navercorp.pinpoint.bootstrap.context.TraceContext;
 import com.navercorp.pinpoint.bootstrap.interceptor.StaticAroundInterceptor;
@@ -26,7 +23,7 @@ import com.navercorp.pinpoint.bootstrap.interceptor.annotation.TargetFilter;
 import com.navercorp.pinpoint.bootstrap.logging.PLogger;
 import com.navercorp.pinpoint.bootstrap.logging.PLoggerFactory;
 import com.navercorp.pinpoint.bootstrap.plugin.jdbc.BindValueAccessor;
-import com.navercorp.pinpoint.bootstrap.plugin.jdbc.bindvalue.BindValueConverter;
+import com.navercorp.pinpoint.bootstrap.plugin.jdbc.bindvalue.BindValueHolder;
 import com.navercorp.pinpoint.bootstrap.util.NumberUtils;
 
 /**
@@ -71,13 +68,13 @@ public class PreparedStatementBindVariableInterceptor implements StaticAroundInt
             return;
         }
 
-        Map<Integer, String> bindList = ((BindValueAccessor) target)._$PINPOINT$_getBindValue();
-        if (bindList == null) {
-            bindList = new HashMap<Integer, String>();
-            ((BindValueAccessor) target)._$PINPOINT$_setBindValue(bindList);
+        BindValueHolder bindValueHolder = ((BindValueAccessor) target)._$PINPOINT$_getBindValue();
+        if (bindValueHolder == null) {
+            bindValueHolder = new BindValueHolder();
+            ((BindValueAccessor) target)._$PINPOINT$_setBindValue(bindValueHolder);
         }
 
-        final String value = BindValueConverter.convert(methodName, args);
-        bindList.put(index, value);
+        // converted to String when the statement is executed
+        bindValueHolder.set(index, methodName, args);
     }
 }
\ No newline at end of file
@@ -16,9 +16,6 @@
 
 package com.navercorp.pinpoint.bootstrap.plugin.jdbc.interceptor;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import com.navercorp.pinpoint.bootstrap.context.DatabaseInfo;
 import com.navercorp.pinpoint.bootstrap.context.MethodDescriptor;
 import com.navercorp.pinpoint.bootstrap.context.ParsingResult;
@@ -34,6 +31,7 @@ import com.navercorp.pinpoint.bootstrap.plugin.jdbc.BindValueAccessor;
 import com.navercorp.pinpoint.bootstrap.plugin.jdbc.DatabaseInfoAccessor;
 import com.navercorp.pinpoint.bootstrap.plugin.jdbc.ParsingResultAccessor;
 import com.navercorp.pinpoint.bootstrap.plugin.jdbc.UnKnownDatabaseInfo;
+import com.navercorp.pinpoint.bootstrap.plugin.jdbc.bindvalue.BindValueHolder;
 import com.navercorp.pinpoint.bootstrap.plugin.jdbc.bindvalue.BindValueUtils;
 
 /**
@@ -72,7 +70,7 @@ public class PreparedStatementExecuteQueryInterceptor implements AroundIntercept
             logger.beforeInterceptor(target, args);
         }
 
-        Trace trace = traceContext.currentTraceObject();
+        Trace trace = traceContext.currentStatisticsTraceObject();
         if (trace == null) {
             return;
         }
@@ -93,7 +91,7 @@ public class PreparedStatementExecuteQueryInterceptor implements AroundIntercept
             if (target instanceof ParsingResultAccessor) {
                 parsingResult = ((ParsingResultAccessor)target)._$PINPOINT$_getParsingResult();
             }
-            Map<Integer, String> bindValue = null;
+            BindValueHolder bindValue = null;
             if (target instanceof BindValueAccessor) {
                 bindValue = ((BindValueAccessor)target)._$PINPOINT$_getBindValue();
             }
@@ -123,11 +121,14 @@ public class PreparedStatementExecuteQueryInterceptor implements AroundIntercept
 
     private void clean(Object target) {
         if (target instanceof BindValueAccessor) {
-            ((BindValueAccessor)target)._$PINPOINT$_setBindValue(new HashMap<Integer, String>());
+            final BindValueHolder bindValue = ((BindValueAccessor)target)._$PINPOINT$_getBindValue();
+            if (bindValue != null) {
+                bindValue.clear();
+            }
         }
     }
 
-    private String toBindVariable(Map<Integer, String> bindValue) {
+    private String toBindVariable(BindValueHolder bindValue) {
         return BindValueUtils.bindValueToString(bindValue, maxSqlBindValueLength);
     }
 
@@ -137,7 +138,7 @@ public class PreparedStatementExecuteQueryInterceptor implements AroundIntercept
             logger.afterInterceptor(target, args, result, throwable);
         }
 
-        Trace trace = traceContext.currentTraceObject();
+        Trace trace = traceContext.currentStatisticsTraceObject();
         if (trace == null) {
             return;
         }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.bootstrap.util;
+
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+
+/**
+ * Values of the trace headers propagating a {@link TraceId} to the next span.
+ * <p>
+ * The transaction id is encoded once per trace, and the byte[] forms are US-ASCII (UTF-8 for the transaction id)
+ * so they can be written to binary headers as is. Cached arrays must not be modified.
+ */
+public final class TraceHeaderUtils {
+
+    private static final String ZERO_FLAGS = "0";
+    private static final byte[] ZERO_FLAGS_BYTES = {'0'};
+
+    private TraceHeaderUtils() {
+    }
+
+    public static String getTransactionId(TraceId traceId) {
+        return traceId.getEncodedTransactionId().getValue();
+    }
+
+    public static byte[] getTransactionIdBytes(TraceId traceId) {
+        return traceId.getEncodedTransactionId().getBytes();
+    }
+
+    public static String getSpanId(TraceId traceId) {
+        return Long.toString(traceId.getSpanId());
+    }
+
+    public static byte[] getSpanIdBytes(TraceId traceId) {
+        return toAsciiBytes(traceId.getSpanId());
+    }
+
+    public static String getParentSpanId(TraceId traceId) {
+        return Long.toString(traceId.getParentSpanId());
+    }
+
+    public static byte[] getParentSpanIdBytes(TraceId traceId) {
+        return toAsciiBytes(traceId.getParentSpanId());
+    }
+
+    public static String getFlags(TraceId traceId) {
+        final short flags = traceId.getFlags();
+        if (flags == 0) {
+            return ZERO_FLAGS;
+        }
+        return Short.toString(flags);
+    }
+
+    public static byte[] getFlagsBytes(TraceId traceId) {
+        final short flags = traceId.getFlags();
+        if (flags == 0) {
+            return ZERO_FLAGS_BYTES;
+        }
+        return toAsciiBytes(flags);
+    }
+
+    static byte[] toAsciiBytes(long value) {
+        if (value == Long.MIN_VALUE) {
+            final String str = Long.toString(value);
+            final byte[] bytes = new byte[str.length()];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) str.charAt(i);
+            }
+            return bytes;
+        }
+        final boolean negative = value < 0;
+        long remain = negative ? -value : value;
+        int length = negative ? 2 : 1;
+        for (long i = remain; i >= 10; i /= 10) {
+            length++;
+        }
+        final byte[] bytes = new byte[length];
+        for (int i = length - 1; i >= (negative ? 1 : 0); i--) {
+            bytes[i] = (byte) ('0' + (remain % 10));
+            remain /= 10;
+        }
+        if (negative) {
+            bytes[0] = '-';
+        }
+        return bytes;
+    }
+}
@@ -54,6 +54,11 @@ public class MockTraceContext implements TraceContext {
         return trace;
     }
 
+    @Override
+    public Trace currentStatisticsTraceObject() {
+        return currentTraceObject();
+    }
+
     @Override
     public Trace continueTraceObject(TraceId traceID) {
         return trace;
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.bootstrap.plugin.jdbc.bindvalue;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BindValueHolderTest {
+
+    @Test
+    public void bindValueToString() {
+        BindValueHolder holder = new BindValueHolder(2);
+        holder.set(1, "setInt", new Object[]{1, 10});
+        holder.set(2, "setString", new Object[]{2, "abc"});
+        // skip 3
+        holder.set(4, "setNull", new Object[]{4, 0});
+        holder.set(5, "setBytes", new Object[]{5, new byte[]{1, 2}});
+        // invalid index
+        holder.set(0, "setInt", new Object[]{0, 0});
+        holder.set(-1, "setInt", new Object[]{-1, 0});
+
+        Assert.assertEquals(5, holder.size());
+        Assert.assertEquals("10, abc, , null, [1, 2]", BindValueUtils.bindValueToString(holder, 100));
+    }
+
+    @Test
+    public void overwrite() {
+        BindValueHolder holder = new BindValueHolder();
+        holder.set(1, "setInt", new Object[]{1, 10});
+        holder.set(1, "setString", new Object[]{1, "a"});
+        Assert.assertEquals("a", BindValueUtils.bindValueToString(holder, 100));
+    }
+
+    @Test
+    public void clear() {
+        BindValueHolder holder = new BindValueHolder();
+        holder.set(1, "setInt", new Object[]{1, 10});
+        holder.set(2, "setInt", new Object[]{2, 20});
+        holder.clear();
+        Assert.assertTrue(holder.isEmpty());
+        Assert.assertEquals("", BindValueUtils.bindValueToString(holder, 100));
+
+        holder.set(1, "setInt", new Object[]{1, 30});
+        Assert.assertEquals("30", BindValueUtils.bindValueToString(holder, 100));
+    }
+
+    @Test
+    public void convertUntilLimit() {
+        final AtomicInteger convertCount = new AtomicInteger();
+        BindValueHolder holder = new BindValueHolder();
+        for (int i = 1; i <= 10; i++) {
+            holder.set(i, "setString", new Object[]{i, new Object() {
+                @Override
+                public String toString() {
+                    convertCount.incrementAndGet();
+                    return "12345";
+                }
+            }});
+        }
+        Assert.assertEquals(0, convertCount.get());
+
+        Assert.assertEquals("12345, 12345, ...(10)", BindValueUtils.bindValueToString(holder, 10));
+        Assert.assertEquals(2, convertCount.get());
+    }
+}
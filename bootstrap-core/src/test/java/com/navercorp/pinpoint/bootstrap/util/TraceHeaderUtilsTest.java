@@ -0,0 +1,46 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.bootstrap.util;
+
+import com.navercorp.pinpoint.bootstrap.context.EncodedTransactionId;
+import com.navercorp.pinpoint.common.util.BytesUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TraceHeaderUtilsTest {
+
+    @Test
+    public void toAsciiBytes() {
+        final long[] values = {0, 1, 9, 10, -1, -10, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE, Short.MIN_VALUE};
+        for (long value : values) {
+            Assert.assertArrayEquals(BytesUtils.toBytes(Long.toString(value)), TraceHeaderUtils.toAsciiBytes(value));
+        }
+    }
+
+    @Test
+    public void encodedTransactionId() {
+        final EncodedTransactionId transactionId = new EncodedTransactionId("agent", 1L, 2L);
+        Assert.assertEquals("agent^1^2", transactionId.getValue());
+        Assert.assertSame(transactionId.getValue(), transactionId.getValue());
+        Assert.assertArrayEquals(BytesUtils.toBytes("agent^1^2"), transactionId.getBytes());
+        Assert.assertSame(transactionId.getBytes(), transactionId.getBytes());
+
+        final EncodedTransactionId parsed = new EncodedTransactionId("agent", 1L, 2L, "agent^1^2");
+        Assert.assertEquals(transactionId.getValue(), parsed.getValue());
+    }
+}
@@ -66,6 +66,8 @@ public class CollectorConfiguration implements InitializingBean {
     private int udpStatWorkerThread;
     private int udpStatWorkerQueueSize;
     private int udpStatSocketReceiveBufferSize;
+    private String udpStatReceiverIoType;
+    private int udpStatSocketCount;
 
     private String udpSpanListenIp = DEFAULT_LISTEN_IP;
     private int udpSpanListenPort;
@@ -74,9 +76,17 @@ public class CollectorConfiguration implements InitializingBean {
     private int udpSpanWorkerThread;
     private int udpSpanWorkerQueueSize;
     private int udpSpanSocketReceiveBufferSize;
+    private String udpSpanReceiverIoType;
+    private int udpSpanSocketCount;
     
     private int agentEventWorkerThreadSize;
     private int agentEventWorkerQueueSize;
+
+    private boolean hbaseBatchPutEnable;
+    private int hbaseBatchPutSize;
+    private int hbaseBatchPutFlushInterval;
+    private int hbaseBatchPutQueueSize;
+    private int hbaseBatchPutOfferTimeout;
     
     private List<String> l4IpList = Collections.emptyList();
 
@@ -166,6 +176,22 @@ public class CollectorConfiguration implements InitializingBean {
         this.udpStatSocketReceiveBufferSize = udpStatSocketReceiveBufferSize;
     }
 
+    public String getUdpStatReceiverIoType() {
+        return udpStatReceiverIoType;
+    }
+
+    public void setUdpStatReceiverIoType(String udpStatReceiverIoType) {
+        this.udpStatReceiverIoType = udpStatReceiverIoType;
+    }
+
+    public int getUdpStatSocketCount() {
+        return udpStatSocketCount;
+    }
+
+    public void setUdpStatSocketCount(int udpStatSocketCount) {
+        this.udpStatSocketCount = udpStatSocketCount;
+    }
+
     public String getUdpSpanListenIp() {
         return udpSpanListenIp;
     }
@@ -214,6 +240,22 @@ public class CollectorConfiguration implements InitializingBean {
         this.udpSpanSocketReceiveBufferSize = udpSpanSocketReceiveBufferSize;
     }
 
+    public String getUdpSpanReceiverIoType() {
+        return udpSpanReceiverIoType;
+    }
+
+    public void setUdpSpanReceiverIoType(String udpSpanReceiverIoType) {
+        this.udpSpanReceiverIoType = udpSpanReceiverIoType;
+    }
+
+    public int getUdpSpanSocketCount() {
+        return udpSpanSocketCount;
+    }
+
+    public void setUdpSpanSocketCount(int udpSpanSocketCount) {
+        this.udpSpanSocketCount = udpSpanSocketCount;
+    }
+
     public int getAgentEventWorkerThreadSize() {
         return this.agentEventWorkerThreadSize;
     }
@@ -230,6 +272,46 @@ public class CollectorConfiguration implements InitializingBean {
         this.agentEventWorkerQueueSize = agentEventWorkerQueueSize;
     }
 
+    public boolean isHbaseBatchPutEnable() {
+        return hbaseBatchPutEnable;
+    }
+
+    public void setHbaseBatchPutEnable(boolean hbaseBatchPutEnable) {
+        this.hbaseBatchPutEnable = hbaseBatchPutEnable;
+    }
+
+    public int getHbaseBatchPutSize() {
+        return hbaseBatchPutSize;
+    }
+
+    public void setHbaseBatchPutSize(int hbaseBatchPutSize) {
+        this.hbaseBatchPutSize = hbaseBatchPutSize;
+    }
+
+    public int getHbaseBatchPutFlushInterval() {
+        return hbaseBatchPutFlushInterval;
+    }
+
+    public void setHbaseBatchPutFlushInterval(int hbaseBatchPutFlushInterval) {
+        this.hbaseBatchPutFlushInterval = hbaseBatchPutFlushInterval;
+    }
+
+    public int getHbaseBatchPutQueueSize() {
+        return hbaseBatchPutQueueSize;
+    }
+
+    public void setHbaseBatchPutQueueSize(int hbaseBatchPutQueueSize) {
+        this.hbaseBatchPutQueueSize = hbaseBatchPutQueueSize;
+    }
+
+    public int getHbaseBatchPutOfferTimeout() {
+        return hbaseBatchPutOfferTimeout;
+    }
+
+    public void setHbaseBatchPutOfferTimeout(int hbaseBatchPutOfferTimeout) {
+        this.hbaseBatchPutOfferTimeout = hbaseBatchPutOfferTimeout;
+    }
+
     public List<String> getL4IpList() {
         return l4IpList;
     }
@@ -319,6 +401,8 @@ public class CollectorConfiguration implements InitializingBean {
         this.udpStatWorkerThread = readInt(properties, "collector.udpStatWorkerThread", 128);
         this.udpStatWorkerQueueSize = readInt(properties, "collector.udpStatWorkerQueueSize", 1024);
         this.udpStatSocketReceiveBufferSize = readInt(properties, "collector.udpStatSocketReceiveBufferSize", 1024 * 4096);
+        this.udpStatReceiverIoType = readString(properties, "collector.udpStatReceiverIoType", "OIO");
+        this.udpStatSocketCount = readInt(properties, "collector.udpStatSocketCount", 1);
 
         this.udpSpanListenIp = readString(properties, "collector.udpSpanListenIp", DEFAULT_LISTEN_IP);
         this.udpSpanListenPort = readInt(properties, "collector.udpSpanListenPort", udpSpanListenPort);
@@ -327,9 +411,17 @@ public class CollectorConfiguration implements InitializingBean {
         this.udpSpanWorkerThread = readInt(properties, "collector.udpSpanWorkerThread", 256);
         this.udpSpanWorkerQueueSize = readInt(properties, "collector.udpSpanWorkerQueueSize", 1024 * 5);
         this.udpSpanSocketReceiveBufferSize = readInt(properties, "collector.udpSpanSocketReceiveBufferSize", 1024 * 4096);
+        this.udpSpanReceiverIoType = readString(properties, "collector.udpSpanReceiverIoType", "OIO");
+        this.udpSpanSocketCount = readInt(properties, "collector.udpSpanSocketCount", 1);
         
         this.agentEventWorkerThreadSize = readInt(properties, "collector.agentEventWorker.threadSize", 32);
         this.agentEventWorkerQueueSize = readInt(properties, "collector.agentEventWorker.queueSize", 1024 * 5);
+
+        this.hbaseBatchPutEnable = readBoolean(properties, "collector.hbase.batchPut.enable");
+        this.hbaseBatchPutSize = readInt(properties, "collector.hbase.batchPut.size", 100);
+        this.hbaseBatchPutFlushInterval = readInt(properties, "collector.hbase.batchPut.flushInterval", 100);
+        this.hbaseBatchPutQueueSize = readInt(properties, "collector.hbase.batchPut.queueSize", 1024 * 10);
+        this.hbaseBatchPutOfferTimeout = readInt(properties, "collector.hbase.batchPut.offerTimeout", 100);
         
         String[] l4Ips = StringUtils.split(readString(properties, "collector.l4.ip", null), ",");
         if (l4Ips == null) {
@@ -395,14 +487,23 @@ public class CollectorConfiguration implements InitializingBean {
         sb.append(", udpStatWorkerThread=").append(udpStatWorkerThread);
         sb.append(", udpStatWorkerQueueSize=").append(udpStatWorkerQueueSize);
         sb.append(", udpStatSocketReceiveBufferSize=").append(udpStatSocketReceiveBufferSize);
+        sb.append(", udpStatReceiverIoType=").append(udpStatReceiverIoType);
+        sb.append(", udpStatSocketCount=").append(udpStatSocketCount);
         sb.append(", udpSpanListenIp='").append(udpSpanListenIp).append('\'');
         sb.append(", udpSpanListenPort=").append(udpSpanListenPort);
         sb.append(", udpSpanWorkerType=").append(udpSpanWorkerType);
         sb.append(", udpSpanWorkerThread=").append(udpSpanWorkerThread);
         sb.append(", udpSpanWorkerQueueSize=").append(udpSpanWorkerQueueSize);
         sb.append(", udpSpanSocketReceiveBufferSize=").append(udpSpanSocketReceiveBufferSize);
+        sb.append(", udpSpanReceiverIoType=").append(udpSpanReceiverIoType);
+        sb.append(", udpSpanSocketCount=").append(udpSpanSocketCount);
         sb.append(", agentEventWorkerThreadSize=").append(agentEventWorkerThreadSize);
         sb.append(", agentEventWorkerQueueSize=").append(agentEventWorkerQueueSize);
+        sb.append(", hbaseBatchPutEnable=").append(hbaseBatchPutEnable);
+        sb.append(", hbaseBatchPutSize=").append(hbaseBatchPutSize);
+        sb.append(", hbaseBatchPutFlushInterval=").append(hbaseBatchPutFlushInterval);
+        sb.append(", hbaseBatchPutQueueSize=").append(hbaseBatchPutQueueSize);
+        sb.append(", hbaseBatchPutOfferTimeout=").append(hbaseBatchPutOfferTimeout);
         sb.append(", l4IpList=").append(l4IpList);
         sb.append(", clusterEnable=").append(clusterEnable);
         sb.append(", clusterAddress=").append(clusterAddress);
@@ -23,4 +23,9 @@ import com.navercorp.pinpoint.thrift.dto.TAgentInfo;
  */
 public interface AgentInfoDao {
     void insert(TAgentInfo agentInfo);
+
+    /**
+     * @return the application name of the agent, null if the agent info has not been stored
+     */
+    String selectApplicationName(String agentId, long agentStartTime);
 }
@@ -23,4 +23,6 @@ import com.navercorp.pinpoint.common.trace.ServiceType;
  */
 public interface MapResponseTimeDao extends CachedStatisticsDao {
     void received(String applicationName, ServiceType serviceType, String agentId, int elapsed, boolean isError);
+
+    void received(String applicationName, ServiceType serviceType, String agentId, short slotNumber, long count);
 }
@@ -0,0 +1,368 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import com.navercorp.pinpoint.thrift.dto.TActiveTrace;
+import com.navercorp.pinpoint.thrift.dto.TAgentStat;
+import com.navercorp.pinpoint.thrift.dto.TAllocation;
+import com.navercorp.pinpoint.thrift.dto.TCpuLoad;
+import com.navercorp.pinpoint.thrift.dto.TJvmGc;
+import com.navercorp.pinpoint.thrift.dto.TSpill;
+import com.navercorp.pinpoint.thrift.dto.TTransaction;
+import com.navercorp.pinpoint.thrift.dto.TTransform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rolls the agent stats of each agent run (agent id and start timestamp) up into fixed time slots.
+ * <p>
+ * A slot of an agent run is completed when a stat of a later slot arrives for the agent run,
+ * or when {@link #drain(long)} finds that the slot has been idle for a whole interval (the agent stopped sending).
+ * A restarted agent gets new slots, so the cumulative gc counters of two runs are never mixed.
+ * Gauges (heap, non-heap, cpu) are averaged, max values keep the maximum, transaction, allocation, spill and transform counts are summed,
+ * and cumulative gc counters and the active trace histogram keep the latest value.
+ * The collect interval of a rolled up stat is the sum of the collect intervals it covers.
+ * Stats arriving after their slot has been completed are not rolled up.
+ */
+public class AgentStatAggregator {
+
+    // should be the same as the sample interval of the aggregated agent stats in the web (AgentStat.AGGR_SAMPLE_INTERVAL)
+    public static final long DEFAULT_INTERVAL = TimeUnit.MINUTES.toMillis(10);
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final long interval;
+
+    // agentId/startTimestamp -> open slot
+    private final ConcurrentMap<String, Slot> slots = new ConcurrentHashMap<>();
+    private final Queue<TAgentStat> completed = new ConcurrentLinkedQueue<>();
+
+    public AgentStatAggregator() {
+        this(DEFAULT_INTERVAL);
+    }
+
+    public AgentStatAggregator(long interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+        this.interval = interval;
+    }
+
+    public long getInterval() {
+        return interval;
+    }
+
+    public void add(TAgentStat agentStat) {
+        if (agentStat == null) {
+            throw new NullPointerException("agentStat must not be null");
+        }
+        final String agentId = agentStat.getAgentId();
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        final String slotKey = agentId + '/' + agentStat.getStartTimestamp();
+        final long slotTimestamp = getSlotTimestamp(agentStat.getTimestamp());
+        while (true) {
+            Slot slot = slots.get(slotKey);
+            if (slot == null) {
+                final Slot newSlot = new Slot(agentId, agentStat.getStartTimestamp(), slotTimestamp);
+                final Slot oldSlot = slots.putIfAbsent(slotKey, newSlot);
+                slot = (oldSlot == null) ? newSlot : oldSlot;
+            }
+            synchronized (slot) {
+                if (slot.removed) {
+                    // completed by drain(), retry with a new slot
+                    continue;
+                }
+                if (slotTimestamp == slot.slotTimestamp) {
+                    slot.add(agentStat);
+                    return;
+                }
+                if (slotTimestamp < slot.slotTimestamp) {
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("late agent stat. agentId:{} timestamp:{} slot:{}", agentId, agentStat.getTimestamp(), slot.slotTimestamp);
+                    }
+                    return;
+                }
+                slot.removed = true;
+                slots.remove(slotKey, slot);
+                complete(slot);
+            }
+        }
+    }
+
+    /**
+     * @param currentTimeMillis the current time, the slots idle for a whole interval are completed as well
+     * @return the rolled up stats of the completed slots
+     */
+    public List<TAgentStat> drain(long currentTimeMillis) {
+        for (Map.Entry<String, Slot> entry : slots.entrySet()) {
+            final Slot slot = entry.getValue();
+            synchronized (slot) {
+                if (slot.removed) {
+                    continue;
+                }
+                if (slot.slotTimestamp + interval * 2 <= currentTimeMillis) {
+                    slot.removed = true;
+                    slots.remove(entry.getKey(), slot);
+                    complete(slot);
+                }
+            }
+        }
+
+        final List<TAgentStat> result = new ArrayList<>();
+        TAgentStat agentStat;
+        while ((agentStat = completed.poll()) != null) {
+            result.add(agentStat);
+        }
+        return result;
+    }
+
+    /**
+     * Completes every slot regardless of its time, e.g. on shutdown.
+     */
+    public List<TAgentStat> drainAll() {
+        return drain(Long.MAX_VALUE);
+    }
+
+    private void complete(Slot slot) {
+        if (!slot.isEmpty()) {
+            completed.offer(slot.toAgentStat());
+        }
+    }
+
+    private long getSlotTimestamp(long timestamp) {
+        return (timestamp / interval) * interval;
+    }
+
+    int getSlotCount() {
+        return slots.size();
+    }
+
+    private static class Slot {
+        private final String agentId;
+        private final long startTimestamp;
+        private final long slotTimestamp;
+
+        private boolean removed;
+
+        private int count;
+        private long latestTimestamp = Long.MIN_VALUE;
+        private long collectInterval;
+
+        private TJvmGc latestGc;
+        private int gcCount;
+        private long heapUsedSum;
+        private long heapMax;
+        private long nonHeapUsedSum;
+        private long nonHeapMax;
+
+        private int jvmCpuLoadCount;
+        private double jvmCpuLoadSum;
+        private int systemCpuLoadCount;
+        private double systemCpuLoadSum;
+
+        private TTransaction transaction;
+        private TActiveTrace latestActiveTrace;
+        private TAllocation allocation;
+        private TSpill spill;
+        private TTransform transform;
+
+        private Slot(String agentId, long startTimestamp, long slotTimestamp) {
+            this.agentId = agentId;
+            this.startTimestamp = startTimestamp;
+            this.slotTimestamp = slotTimestamp;
+        }
+
+        private void add(TAgentStat agentStat) {
+            count++;
+            final boolean latest = agentStat.getTimestamp() >= latestTimestamp;
+            if (latest) {
+                latestTimestamp = agentStat.getTimestamp();
+            }
+            if (agentStat.getCollectInterval() > 0) {
+                collectInterval += agentStat.getCollectInterval();
+            }
+            if (agentStat.isSetGc()) {
+                addGc(agentStat.getGc(), latest);
+            }
+            if (agentStat.isSetCpuLoad()) {
+                addCpuLoad(agentStat.getCpuLoad());
+            }
+            if (agentStat.isSetTransaction()) {
+                addTransaction(agentStat.getTransaction());
+            }
+            if (agentStat.isSetActiveTrace() && (latest || latestActiveTrace == null)) {
+                latestActiveTrace = agentStat.getActiveTrace();
+            }
+            if (agentStat.isSetAllocation()) {
+                addAllocation(agentStat.getAllocation());
+            }
+            if (agentStat.isSetSpill()) {
+                addSpill(agentStat.getSpill());
+            }
+            if (agentStat.isSetTransform()) {
+                addTransform(agentStat.getTransform());
+            }
+        }
+
+        private void addGc(TJvmGc gc, boolean latest) {
+            if (latest || latestGc == null) {
+                latestGc = gc;
+            }
+            gcCount++;
+            heapUsedSum += gc.getJvmMemoryHeapUsed();
+            heapMax = Math.max(heapMax, gc.getJvmMemoryHeapMax());
+            nonHeapUsedSum += gc.getJvmMemoryNonHeapUsed();
+            nonHeapMax = Math.max(nonHeapMax, gc.getJvmMemoryNonHeapMax());
+        }
+
+        private void addCpuLoad(TCpuLoad cpuLoad) {
+            // negative values are sent when the load is not available
+            if (cpuLoad.isSetJvmCpuLoad() && cpuLoad.getJvmCpuLoad() >= 0) {
+                jvmCpuLoadCount++;
+                jvmCpuLoadSum += cpuLoad.getJvmCpuLoad();
+            }
+            if (cpuLoad.isSetSystemCpuLoad() && cpuLoad.getSystemCpuLoad() >= 0) {
+                systemCpuLoadCount++;
+                systemCpuLoadSum += cpuLoad.getSystemCpuLoad();
+            }
+        }
+
+        private void addTransaction(TTransaction source) {
+            if (transaction == null) {
+                transaction = new TTransaction();
+            }
+            if (source.isSetSampledNewCount()) {
+                transaction.setSampledNewCount(transaction.getSampledNewCount() + source.getSampledNewCount());
+            }
+            if (source.isSetSampledContinuationCount()) {
+                transaction.setSampledContinuationCount(transaction.getSampledContinuationCount() + source.getSampledContinuationCount());
+            }
+            if (source.isSetUnsampledNewCount()) {
+                transaction.setUnsampledNewCount(transaction.getUnsampledNewCount() + source.getUnsampledNewCount());
+            }
+            if (source.isSetUnsampledContinuationCount()) {
+                transaction.setUnsampledContinuationCount(transaction.getUnsampledContinuationCount() + source.getUnsampledContinuationCount());
+            }
+        }
+
+        private void addAllocation(TAllocation source) {
+            if (allocation == null) {
+                allocation = new TAllocation();
+            }
+            if (source.isSetAllocatedBytes()) {
+                allocation.setAllocatedBytes(allocation.getAllocatedBytes() + source.getAllocatedBytes());
+            }
+            if (source.isSetSpanEventNewCount()) {
+                allocation.setSpanEventNewCount(allocation.getSpanEventNewCount() + source.getSpanEventNewCount());
+            }
+            if (source.isSetSpanEventReuseCount()) {
+                allocation.setSpanEventReuseCount(allocation.getSpanEventReuseCount() + source.getSpanEventReuseCount());
+            }
+        }
+
+        private void addSpill(TSpill source) {
+            if (spill == null) {
+                spill = new TSpill();
+            }
+            if (source.isSetSpillCount()) {
+                spill.setSpillCount(spill.getSpillCount() + source.getSpillCount());
+            }
+            if (source.isSetDrainCount()) {
+                spill.setDrainCount(spill.getDrainCount() + source.getDrainCount());
+            }
+            if (source.isSetDropCount()) {
+                spill.setDropCount(spill.getDropCount() + source.getDropCount());
+            }
+        }
+
+        private void addTransform(TTransform source) {
+            if (transform == null) {
+                transform = new TTransform();
+            }
+            if (source.isSetClassCount()) {
+                transform.setClassCount(transform.getClassCount() + source.getClassCount());
+            }
+            if (source.isSetIndexMissCount()) {
+                transform.setIndexMissCount(transform.getIndexMissCount() + source.getIndexMissCount());
+            }
+            if (source.isSetTransformCount()) {
+                transform.setTransformCount(transform.getTransformCount() + source.getTransformCount());
+            }
+        }
+
+        private boolean isEmpty() {
+            return count == 0;
+        }
+
+        private TAgentStat toAgentStat() {
+            final TAgentStat agentStat = new TAgentStat();
+            agentStat.setAgentId(agentId);
+            agentStat.setStartTimestamp(startTimestamp);
+            agentStat.setTimestamp(slotTimestamp);
+            agentStat.setCollectInterval(collectInterval);
+            if (latestGc != null) {
+                final TJvmGc gc = new TJvmGc();
+                gc.setType(latestGc.getType());
+                gc.setJvmGcOldCount(latestGc.getJvmGcOldCount());
+                gc.setJvmGcOldTime(latestGc.getJvmGcOldTime());
+                gc.setJvmMemoryHeapUsed(heapUsedSum / gcCount);
+                gc.setJvmMemoryHeapMax(heapMax);
+                gc.setJvmMemoryNonHeapUsed(nonHeapUsedSum / gcCount);
+                gc.setJvmMemoryNonHeapMax(nonHeapMax);
+                agentStat.setGc(gc);
+            }
+            if (jvmCpuLoadCount > 0 || systemCpuLoadCount > 0) {
+                final TCpuLoad cpuLoad = new TCpuLoad();
+                if (jvmCpuLoadCount > 0) {
+                    cpuLoad.setJvmCpuLoad(jvmCpuLoadSum / jvmCpuLoadCount);
+                }
+                if (systemCpuLoadCount > 0) {
+                    cpuLoad.setSystemCpuLoad(systemCpuLoadSum / systemCpuLoadCount);
+                }
+                agentStat.setCpuLoad(cpuLoad);
+            }
+            if (transaction != null) {
+                agentStat.setTransaction(transaction);
+            }
+            if (latestActiveTrace != null) {
+                agentStat.setActiveTrace(latestActiveTrace);
+            }
+            if (allocation != null) {
+                agentStat.setAllocation(allocation);
+            }
+            if (spill != null) {
+                agentStat.setSpill(spill);
+            }
+            if (transform != null) {
+                agentStat.setTransform(transform);
+            }
+            return agentStat;
+        }
+    }
+}
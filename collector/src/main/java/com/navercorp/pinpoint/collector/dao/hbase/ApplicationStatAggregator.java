@@ -0,0 +1,266 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import com.navercorp.pinpoint.common.server.bo.ApplicationStatBo;
+import com.navercorp.pinpoint.thrift.dto.TActiveTraceHistogram;
+import com.navercorp.pinpoint.thrift.dto.TAgentStat;
+import com.navercorp.pinpoint.thrift.dto.TCpuLoad;
+import com.navercorp.pinpoint.thrift.dto.TJvmGc;
+import com.navercorp.pinpoint.thrift.dto.TTransaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Folds the agent stats of every agent of an application into per time slot summaries ({@link ApplicationStatBo}).
+ * <p>
+ * Every agent stat is a sample of each summary. Gc counters are cumulative on the agent,
+ * so the increment since the previous stat of the same agent is sampled instead.
+ * A slot is completed by {@link #drain(long)} once it has been closed for a whole interval,
+ * agent stats arriving later than that are dropped.
+ */
+public class ApplicationStatAggregator {
+
+    public static final long DEFAULT_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    // agents without any stat for this many intervals are forgotten
+    private static final int AGENT_EXPIRE_INTERVAL_COUNT = 10;
+
+    private final long interval;
+
+    private final ConcurrentMap<SlotKey, Slot> slots = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AgentState> agentStates = new ConcurrentHashMap<>();
+
+    public ApplicationStatAggregator() {
+        this(DEFAULT_INTERVAL);
+    }
+
+    public ApplicationStatAggregator(long interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+        this.interval = interval;
+    }
+
+    /**
+     * @return false if the agent stat is too late to be aggregated
+     */
+    public boolean add(String applicationName, TAgentStat agentStat, long currentTimeMillis) {
+        if (applicationName == null) {
+            throw new NullPointerException("applicationName must not be null");
+        }
+        if (agentStat == null) {
+            throw new NullPointerException("agentStat must not be null");
+        }
+        final String agentId = agentStat.getAgentId();
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        final long slotTimestamp = getSlotTimestamp(agentStat.getTimestamp());
+        if (isCompleted(slotTimestamp, currentTimeMillis)) {
+            return false;
+        }
+
+        final SlotKey slotKey = new SlotKey(applicationName, slotTimestamp);
+        Slot slot = slots.get(slotKey);
+        if (slot == null) {
+            final Slot newSlot = new Slot(new ApplicationStatBo(applicationName, slotTimestamp));
+            final Slot oldSlot = slots.putIfAbsent(slotKey, newSlot);
+            slot = (oldSlot == null) ? newSlot : oldSlot;
+        }
+        synchronized (slot) {
+            if (slot.removed) {
+                // completed by a concurrent drain()
+                return false;
+            }
+            addSamples(slot.applicationStatBo, agentStat, currentTimeMillis);
+            return true;
+        }
+    }
+
+    private void addSamples(ApplicationStatBo applicationStatBo, TAgentStat agentStat, long currentTimeMillis) {
+        final String agentId = agentStat.getAgentId();
+        if (agentStat.isSetGc()) {
+            final TJvmGc gc = agentStat.getGc();
+            applicationStatBo.add(ApplicationStatBo.Type.HEAP_USED, agentId, gc.getJvmMemoryHeapUsed());
+            applicationStatBo.add(ApplicationStatBo.Type.NON_HEAP_USED, agentId, gc.getJvmMemoryNonHeapUsed());
+            addGcSamples(applicationStatBo, agentStat, gc, currentTimeMillis);
+        }
+        if (agentStat.isSetCpuLoad()) {
+            final TCpuLoad cpuLoad = agentStat.getCpuLoad();
+            // negative values are sent when the load is not available
+            if (cpuLoad.isSetJvmCpuLoad() && cpuLoad.getJvmCpuLoad() >= 0) {
+                applicationStatBo.add(ApplicationStatBo.Type.JVM_CPU_LOAD, agentId, cpuLoad.getJvmCpuLoad());
+            }
+            if (cpuLoad.isSetSystemCpuLoad() && cpuLoad.getSystemCpuLoad() >= 0) {
+                applicationStatBo.add(ApplicationStatBo.Type.SYSTEM_CPU_LOAD, agentId, cpuLoad.getSystemCpuLoad());
+            }
+        }
+        if (agentStat.isSetTransaction() && agentStat.getCollectInterval() > 0) {
+            final TTransaction transaction = agentStat.getTransaction();
+            final long count = transaction.getSampledNewCount() + transaction.getSampledContinuationCount()
+                    + transaction.getUnsampledNewCount() + transaction.getUnsampledContinuationCount();
+            final double tps = count * 1000D / agentStat.getCollectInterval();
+            applicationStatBo.add(ApplicationStatBo.Type.TPS, agentId, tps);
+        }
+        if (agentStat.isSetActiveTrace() && agentStat.getActiveTrace().isSetHistogram()) {
+            final TActiveTraceHistogram histogram = agentStat.getActiveTrace().getHistogram();
+            if (histogram.isSetActiveTraceCount()) {
+                int activeTraceCount = 0;
+                for (Integer count : histogram.getActiveTraceCount()) {
+                    if (count != null) {
+                        activeTraceCount += count;
+                    }
+                }
+                applicationStatBo.add(ApplicationStatBo.Type.ACTIVE_TRACE_COUNT, agentId, activeTraceCount);
+            }
+        }
+    }
+
+    private void addGcSamples(ApplicationStatBo applicationStatBo, TAgentStat agentStat, TJvmGc gc, long currentTimeMillis) {
+        final String agentId = agentStat.getAgentId();
+        AgentState agentState = agentStates.get(agentId);
+        if (agentState == null) {
+            final AgentState newAgentState = new AgentState();
+            final AgentState oldAgentState = agentStates.putIfAbsent(agentId, newAgentState);
+            agentState = (oldAgentState == null) ? newAgentState : oldAgentState;
+        }
+        synchronized (agentState) {
+            agentState.lastUpdateTime = currentTimeMillis;
+            final boolean restarted = agentState.startTimestamp != agentStat.getStartTimestamp();
+            if (!restarted) {
+                if (agentStat.getTimestamp() <= agentState.timestamp) {
+                    // out of order, the increment has been sampled by a later stat
+                    return;
+                }
+                final long gcOldCount = gc.getJvmGcOldCount() - agentState.gcOldCount;
+                final long gcOldTime = gc.getJvmGcOldTime() - agentState.gcOldTime;
+                if (gcOldCount >= 0 && gcOldTime >= 0) {
+                    applicationStatBo.add(ApplicationStatBo.Type.GC_OLD_COUNT, agentId, gcOldCount);
+                    applicationStatBo.add(ApplicationStatBo.Type.GC_OLD_TIME, agentId, gcOldTime);
+                }
+            }
+            agentState.startTimestamp = agentStat.getStartTimestamp();
+            agentState.timestamp = agentStat.getTimestamp();
+            agentState.gcOldCount = gc.getJvmGcOldCount();
+            agentState.gcOldTime = gc.getJvmGcOldTime();
+        }
+    }
+
+    /**
+     * @return the summaries of the completed slots
+     */
+    public List<ApplicationStatBo> drain(long currentTimeMillis) {
+        final List<ApplicationStatBo> result = new ArrayList<>();
+        for (Map.Entry<SlotKey, Slot> entry : slots.entrySet()) {
+            final SlotKey slotKey = entry.getKey();
+            if (!isCompleted(slotKey.slotTimestamp, currentTimeMillis)) {
+                continue;
+            }
+            final Slot slot = entry.getValue();
+            synchronized (slot) {
+                slot.removed = true;
+                slots.remove(slotKey, slot);
+                if (!slot.applicationStatBo.isEmpty()) {
+                    result.add(slot.applicationStatBo);
+                }
+            }
+        }
+
+        final long expireTime = currentTimeMillis - interval * AGENT_EXPIRE_INTERVAL_COUNT;
+        for (Map.Entry<String, AgentState> entry : agentStates.entrySet()) {
+            if (entry.getValue().lastUpdateTime < expireTime) {
+                agentStates.remove(entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Completes every slot regardless of its time, e.g. on shutdown.
+     */
+    public List<ApplicationStatBo> drainAll() {
+        return drain(Long.MAX_VALUE);
+    }
+
+    private boolean isCompleted(long slotTimestamp, long currentTimeMillis) {
+        return slotTimestamp + interval * 2 <= currentTimeMillis;
+    }
+
+    private long getSlotTimestamp(long timestamp) {
+        return (timestamp / interval) * interval;
+    }
+
+    int getSlotCount() {
+        return slots.size();
+    }
+
+    int getAgentCount() {
+        return agentStates.size();
+    }
+
+    private static class Slot {
+        private final ApplicationStatBo applicationStatBo;
+        private boolean removed;
+
+        private Slot(ApplicationStatBo applicationStatBo) {
+            this.applicationStatBo = applicationStatBo;
+        }
+    }
+
+    private static class AgentState {
+        private long startTimestamp = -1;
+        private long timestamp = Long.MIN_VALUE;
+        private long gcOldCount;
+        private long gcOldTime;
+        private volatile long lastUpdateTime;
+    }
+
+    private static final class SlotKey {
+        private final String applicationName;
+        private final long slotTimestamp;
+
+        private SlotKey(String applicationName, long slotTimestamp) {
+            this.applicationName = applicationName;
+            this.slotTimestamp = slotTimestamp;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            SlotKey slotKey = (SlotKey) o;
+
+            if (slotTimestamp != slotKey.slotTimestamp) return false;
+            return applicationName.equals(slotKey.applicationName);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = applicationName.hashCode();
+            result = 31 * result + (int) (slotTimestamp ^ (slotTimestamp >>> 32));
+            return result;
+        }
+    }
+}
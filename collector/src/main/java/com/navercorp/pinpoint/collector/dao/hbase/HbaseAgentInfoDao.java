@@ -23,6 +23,7 @@ import com.navercorp.pinpoint.common.server.bo.JvmInfoBo;
 import com.navercorp.pinpoint.common.server.bo.ServerMetaDataBo;
 import com.navercorp.pinpoint.common.hbase.HBaseTables;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.RowMapper;
 import com.navercorp.pinpoint.common.util.RowKeyUtils;
 import com.navercorp.pinpoint.common.util.TimeUtils;
 import com.navercorp.pinpoint.thrift.dto.TAgentInfo;
@@ -30,6 +31,7 @@ import com.navercorp.pinpoint.thrift.dto.TJvmInfo;
 import com.navercorp.pinpoint.thrift.dto.TServerMetaData;
 
 import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,6 +62,18 @@ public class HbaseAgentInfoDao implements AgentInfoDao {
     @Qualifier("jvmInfoBoMapper")
     private ThriftBoMapper<JvmInfoBo, TJvmInfo> jvmInfoBoMapper;
 
+    private final RowMapper<String> applicationNameMapper = new RowMapper<String>() {
+        @Override
+        public String mapRow(Result result, int rowNum) throws Exception {
+            final byte[] serializedAgentInfo = result.getValue(HBaseTables.AGENTINFO_CF_INFO, HBaseTables.AGENTINFO_CF_INFO_IDENTIFIER);
+            if (serializedAgentInfo == null) {
+                return null;
+            }
+            final AgentInfoBo agentInfoBo = new AgentInfoBo.Builder(serializedAgentInfo).build();
+            return agentInfoBo.getApplicationName();
+        }
+    };
+
     @Override
     public void insert(TAgentInfo agentInfo) {
 
@@ -95,4 +109,13 @@ public class HbaseAgentInfoDao implements AgentInfoDao {
 
         hbaseTemplate.put(HBaseTables.AGENTINFO, put);
     }
+
+    @Override
+    public String selectApplicationName(String agentId, long agentStartTime) {
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        byte[] rowKey = RowKeyUtils.concatFixedByteAndLong(Bytes.toBytes(agentId), HBaseTables.AGENT_NAME_MAX_LEN, TimeUtils.reverseTimeMillis(agentStartTime));
+        return hbaseTemplate.get(HBaseTables.AGENTINFO, rowKey, HBaseTables.AGENTINFO_CF_INFO, HBaseTables.AGENTINFO_CF_INFO_IDENTIFIER, applicationNameMapper);
+    }
 }
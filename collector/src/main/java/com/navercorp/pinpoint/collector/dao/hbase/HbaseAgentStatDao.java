@@ -18,11 +18,15 @@ package com.navercorp.pinpoint.collector.dao.hbase;
 
 import static com.navercorp.pinpoint.common.hbase.HBaseTables.*;
 
+import com.navercorp.pinpoint.collector.dao.CachedStatisticsDao;
 import com.navercorp.pinpoint.collector.mapper.thrift.ActiveTraceHistogramBoMapper;
+import com.navercorp.pinpoint.collector.util.CollectorUtils;
 import com.navercorp.pinpoint.common.server.bo.ActiveTraceHistogramBo;
 import com.navercorp.pinpoint.thrift.dto.TActiveTrace;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.util.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
@@ -33,19 +37,28 @@ import com.navercorp.pinpoint.common.util.BytesUtils;
 import com.navercorp.pinpoint.common.util.RowKeyUtils;
 import com.navercorp.pinpoint.common.util.TimeUtils;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
+import com.navercorp.pinpoint.thrift.dto.TAllocation;
 import com.navercorp.pinpoint.thrift.dto.TCpuLoad;
 import com.navercorp.pinpoint.thrift.dto.TJvmGc;
 import com.navercorp.pinpoint.thrift.dto.TJvmGcType;
+import com.navercorp.pinpoint.thrift.dto.TSpill;
 import com.navercorp.pinpoint.thrift.dto.TTransaction;
+import com.navercorp.pinpoint.thrift.dto.TTransform;
 import com.sematext.hbase.wd.AbstractRowKeyDistributor;
 
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author harebox
  * @author emeroad
  * @author HyunGil Jeong
  */
 @Repository
-public class HbaseAgentStatDao implements AgentStatDao {
+public class HbaseAgentStatDao implements AgentStatDao, CachedStatisticsDao {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     @Autowired
     private HbaseOperations2 hbaseTemplate;
@@ -57,64 +70,133 @@ public class HbaseAgentStatDao implements AgentStatDao {
     @Autowired
     private ActiveTraceHistogramBoMapper activeTraceHistogramBoMapper;
 
+    // rolls stats up into AGENT_STAT_AGGR, which is read by the web for long ranges
+    private final AgentStatAggregator agentStatAggregator = new AgentStatAggregator();
+
+    // pid@hostname, unique for each collector process
+    private final String collectorId = CollectorUtils.getServerIdentifier();
+
     public void insert(final TAgentStat agentStat) {
         if (agentStat == null) {
             throw new NullPointerException("agentStat must not be null");
         }
-        Put put = createPut(agentStat);
+        Put put = createPut(agentStat, null);
 
         boolean success = hbaseTemplate.asyncPut(AGENT_STAT, put);
         if (!success) {
             hbaseTemplate.put(AGENT_STAT, put);
         }
+
+        agentStatAggregator.add(agentStat);
+    }
+
+    @Override
+    public void flushAll() {
+        flushAggregatedAgentStats(agentStatAggregator.drain(System.currentTimeMillis()));
+    }
+
+    /**
+     * Writes the slots that are still open, they would be lost otherwise.
+     */
+    @PreDestroy
+    public void destroy() {
+        logger.info("flush open {} slots", AGENT_STAT_AGGR);
+        flushAggregatedAgentStats(agentStatAggregator.drainAll());
+    }
+
+    private void flushAggregatedAgentStats(List<TAgentStat> aggregatedAgentStats) {
+        if (aggregatedAgentStats.isEmpty()) {
+            return;
+        }
+        final List<Put> puts = new ArrayList<>(aggregatedAgentStats.size());
+        for (TAgentStat aggregatedAgentStat : aggregatedAgentStats) {
+            // an agent may move to another collector or restart within a slot, so each run and collector writes its own columns
+            final String qualifierSuffix = "" + AGENT_STAT_AGGR_COL_DELIMITER + aggregatedAgentStat.getStartTimestamp() + AGENT_STAT_AGGR_COL_DELIMITER + collectorId;
+            puts.add(createPut(aggregatedAgentStat, Bytes.toBytes(qualifierSuffix)));
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("flush {} Put:{}", AGENT_STAT_AGGR, puts.size());
+        }
+        hbaseTemplate.put(AGENT_STAT_AGGR, puts);
     }
 
-    private Put createPut(TAgentStat agentStat) {
+    /**
+     * @param qualifierSuffix appended to every qualifier, null for none
+     */
+    private Put createPut(TAgentStat agentStat, byte[] qualifierSuffix) {
         long timestamp = agentStat.getTimestamp();
         byte[] key = getDistributedRowKey(agentStat, timestamp);
 
         Put put = new Put(key);
 
         final long collectInterval = agentStat.getCollectInterval();
-        put.addColumn(AGENT_STAT_CF_STATISTICS, AGENT_STAT_COL_INTERVAL, Bytes.toBytes(collectInterval));
+        put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_INTERVAL, qualifierSuffix), Bytes.toBytes(collectInterval));
         // GC, Memory
         if (agentStat.isSetGc()) {
             TJvmGc gc = agentStat.getGc();
-            put.addColumn(AGENT_STAT_CF_STATISTICS, AGENT_STAT_COL_GC_TYPE, Bytes.toBytes(gc.getType().name()));
-            put.addColumn(AGENT_STAT_CF_STATISTICS, AGENT_STAT_COL_GC_OLD_COUNT, Bytes.toBytes(gc.getJvmGcOldCount()));
-            put.addColumn(AGENT_STAT_CF_STATISTICS, AGENT_STAT_COL_GC_OLD_TIME, Bytes.toBytes(gc.getJvmGcOldTime()));
-            put.addColumn(AGENT_STAT_CF_STATISTICS, AGENT_STAT_COL_HEAP_USED, Bytes.toBytes(gc.getJvmMemoryHeapUsed()));
-            put.addColumn(AGENT_STAT_CF_STATISTICS, AGENT_STAT_COL_HEAP_MAX, Bytes.toBytes(gc.getJvmMemoryHeapMax()));
-            put.addColumn(AGENT_STAT_CF_STATISTICS, AGENT_STAT_COL_NON_HEAP_USED, Bytes.toBytes(gc.getJvmMemoryNonHeapUsed()));
-            put.addColumn(AGENT_STAT_CF_STATISTICS, AGENT_STAT_COL_NON_HEAP_MAX, Bytes.toBytes(gc.getJvmMemoryNonHeapMax()));
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_GC_TYPE, qualifierSuffix), Bytes.toBytes(gc.getType().name()));
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_GC_OLD_COUNT, qualifierSuffix), Bytes.toBytes(gc.getJvmGcOldCount()));
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_GC_OLD_TIME, qualifierSuffix), Bytes.toBytes(gc.getJvmGcOldTime()));
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_HEAP_USED, qualifierSuffix), Bytes.toBytes(gc.getJvmMemoryHeapUsed()));
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_HEAP_MAX, qualifierSuffix), Bytes.toBytes(gc.getJvmMemoryHeapMax()));
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_NON_HEAP_USED, qualifierSuffix), Bytes.toBytes(gc.getJvmMemoryNonHeapUsed()));
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_NON_HEAP_MAX, qualifierSuffix), Bytes.toBytes(gc.getJvmMemoryNonHeapMax()));
         } else {
-            put.addColumn(AGENT_STAT_CF_STATISTICS, AGENT_STAT_COL_GC_TYPE, Bytes.toBytes(TJvmGcType.UNKNOWN.name()));
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_GC_TYPE, qualifierSuffix), Bytes.toBytes(TJvmGcType.UNKNOWN.name()));
         }
         // CPU
         if (agentStat.isSetCpuLoad()) {
             TCpuLoad cpuLoad = agentStat.getCpuLoad();
-            put.addColumn(AGENT_STAT_CF_STATISTICS, AGENT_STAT_COL_JVM_CPU, Bytes.toBytes(cpuLoad.getJvmCpuLoad()));
-            put.addColumn(AGENT_STAT_CF_STATISTICS, AGENT_STAT_COL_SYS_CPU, Bytes.toBytes(cpuLoad.getSystemCpuLoad()));
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_JVM_CPU, qualifierSuffix), Bytes.toBytes(cpuLoad.getJvmCpuLoad()));
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_SYS_CPU, qualifierSuffix), Bytes.toBytes(cpuLoad.getSystemCpuLoad()));
         }
         // Transaction
         if (agentStat.isSetTransaction()) {
             TTransaction transaction = agentStat.getTransaction();
-            put.addColumn(AGENT_STAT_CF_STATISTICS, AGENT_STAT_COL_TRANSACTION_SAMPLED_NEW, Bytes.toBytes(transaction.getSampledNewCount()));
-            put.addColumn(AGENT_STAT_CF_STATISTICS, AGENT_STAT_COL_TRANSACTION_SAMPLED_CONTINUATION, Bytes.toBytes(transaction.getSampledContinuationCount()));
-            put.addColumn(AGENT_STAT_CF_STATISTICS, AGENT_STAT_COL_TRANSACTION_UNSAMPLED_NEW, Bytes.toBytes(transaction.getUnsampledNewCount()));
-            put.addColumn(AGENT_STAT_CF_STATISTICS, AGENT_STAT_COL_TRANSACTION_UNSAMPLED_CONTINUATION, Bytes.toBytes(transaction.getUnsampledContinuationCount()));
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_TRANSACTION_SAMPLED_NEW, qualifierSuffix), Bytes.toBytes(transaction.getSampledNewCount()));
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_TRANSACTION_SAMPLED_CONTINUATION, qualifierSuffix), Bytes.toBytes(transaction.getSampledContinuationCount()));
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_TRANSACTION_UNSAMPLED_NEW, qualifierSuffix), Bytes.toBytes(transaction.getUnsampledNewCount()));
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_TRANSACTION_UNSAMPLED_CONTINUATION, qualifierSuffix), Bytes.toBytes(transaction.getUnsampledContinuationCount()));
         }
         // Active Trace
         if (agentStat.isSetActiveTrace()) {
             TActiveTrace activeTrace = agentStat.getActiveTrace();
             if (activeTrace.isSetHistogram()) {
                 ActiveTraceHistogramBo activeTraceHistogramBo = this.activeTraceHistogramBoMapper.map(activeTrace.getHistogram());
-                put.addColumn(AGENT_STAT_CF_STATISTICS, AGENT_STAT_COL_ACTIVE_TRACE_HISTOGRAM, activeTraceHistogramBo.writeValue());
+                put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_ACTIVE_TRACE_HISTOGRAM, qualifierSuffix), activeTraceHistogramBo.writeValue());
             }
         }
+        // Allocation
+        if (agentStat.isSetAllocation()) {
+            TAllocation allocation = agentStat.getAllocation();
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_ALLOCATED_BYTES, qualifierSuffix), Bytes.toBytes(allocation.getAllocatedBytes()));
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_SPAN_EVENT_NEW, qualifierSuffix), Bytes.toBytes(allocation.getSpanEventNewCount()));
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_SPAN_EVENT_REUSE, qualifierSuffix), Bytes.toBytes(allocation.getSpanEventReuseCount()));
+        }
+        // Spill
+        if (agentStat.isSetSpill()) {
+            TSpill spill = agentStat.getSpill();
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_SPILL, qualifierSuffix), Bytes.toBytes(spill.getSpillCount()));
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_SPILL_DRAIN, qualifierSuffix), Bytes.toBytes(spill.getDrainCount()));
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_SPILL_DROP, qualifierSuffix), Bytes.toBytes(spill.getDropCount()));
+        }
+        // Transform
+        if (agentStat.isSetTransform()) {
+            TTransform transform = agentStat.getTransform();
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_TRANSFORM_CLASS, qualifierSuffix), Bytes.toBytes(transform.getClassCount()));
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_TRANSFORM_INDEX_MISS, qualifierSuffix), Bytes.toBytes(transform.getIndexMissCount()));
+            put.addColumn(AGENT_STAT_CF_STATISTICS, qualifier(AGENT_STAT_COL_TRANSFORM, qualifierSuffix), Bytes.toBytes(transform.getTransformCount()));
+        }
         return put;
     }
 
+    private byte[] qualifier(byte[] column, byte[] qualifierSuffix) {
+        if (qualifierSuffix == null) {
+            return column;
+        }
+        return Bytes.add(column, qualifierSuffix);
+    }
+
     /**
      * Create row key based on the timestamp
      */
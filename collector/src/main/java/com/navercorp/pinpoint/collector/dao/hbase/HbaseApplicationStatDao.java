@@ -0,0 +1,168 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import static com.navercorp.pinpoint.common.hbase.HBaseTables.*;
+
+import com.navercorp.pinpoint.collector.dao.AgentInfoDao;
+import com.navercorp.pinpoint.collector.dao.ApplicationStatDao;
+import com.navercorp.pinpoint.collector.dao.CachedStatisticsDao;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.server.bo.ApplicationStatBo;
+import com.navercorp.pinpoint.common.util.BytesUtils;
+import com.navercorp.pinpoint.common.util.RowKeyUtils;
+import com.navercorp.pinpoint.common.util.TimeUtils;
+import com.navercorp.pinpoint.thrift.dto.TAgentStat;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores the summaries of the agent stats of every agent of an application.
+ * <p>
+ * Agents of an application may send their stats to different collectors,
+ * so every collector writes its summary to its own column of the row and the web merges the columns.
+ */
+@Repository
+public class HbaseApplicationStatDao implements ApplicationStatDao, CachedStatisticsDao {
+
+    private static final long AGENT_APPLICATION_EXPIRE_TIME = ApplicationStatAggregator.DEFAULT_INTERVAL * 10;
+
+    // agent info is usually written right before the first agent stat, so a missing one is looked up again soon
+    private static final long AGENT_APPLICATION_NOT_FOUND_EXPIRE_TIME = TimeUnit.SECONDS.toMillis(10);
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private HbaseOperations2 hbaseTemplate;
+
+    @Autowired
+    private AgentInfoDao agentInfoDao;
+
+    private final ApplicationStatAggregator applicationStatAggregator = new ApplicationStatAggregator();
+
+    // agentId -> application name of the running agent, null if the agent info was not found
+    private final ConcurrentMap<String, AgentApplication> agentApplications = new ConcurrentHashMap<>();
+
+    // pid@hostname, unique for each collector process
+    private final byte[] collectorQualifier = Bytes.toBytes(ManagementFactory.getRuntimeMXBean().getName());
+
+    @Override
+    public void insert(TAgentStat agentStat) {
+        if (agentStat == null) {
+            throw new NullPointerException("agentStat must not be null");
+        }
+        final String applicationName = getApplicationName(agentStat.getAgentId(), agentStat.getStartTimestamp());
+        if (applicationName == null) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("application not found. agentId:{} startTimestamp:{}", agentStat.getAgentId(), agentStat.getStartTimestamp());
+            }
+            return;
+        }
+        final boolean added = applicationStatAggregator.add(applicationName, agentStat, System.currentTimeMillis());
+        if (!added && logger.isDebugEnabled()) {
+            logger.debug("late agent stat. agentId:{} timestamp:{}", agentStat.getAgentId(), agentStat.getTimestamp());
+        }
+    }
+
+    private String getApplicationName(String agentId, long agentStartTime) {
+        final long currentTimeMillis = System.currentTimeMillis();
+        final AgentApplication agentApplication = agentApplications.get(agentId);
+        if (agentApplication != null && agentApplication.agentStartTime == agentStartTime) {
+            if (agentApplication.applicationName != null) {
+                agentApplication.lastAccessTime = currentTimeMillis;
+                return agentApplication.applicationName;
+            }
+            // lastAccessTime of a not found entry is the time of the lookup
+            if (agentApplication.lastAccessTime + AGENT_APPLICATION_NOT_FOUND_EXPIRE_TIME > currentTimeMillis) {
+                return null;
+            }
+        }
+
+        final String applicationName = agentInfoDao.selectApplicationName(agentId, agentStartTime);
+        agentApplications.put(agentId, new AgentApplication(agentStartTime, applicationName, currentTimeMillis));
+        return applicationName;
+    }
+
+    @Override
+    public void flushAll() {
+        final long currentTimeMillis = System.currentTimeMillis();
+        flushApplicationStats(applicationStatAggregator.drain(currentTimeMillis));
+
+        final long expireTime = currentTimeMillis - AGENT_APPLICATION_EXPIRE_TIME;
+        for (Map.Entry<String, AgentApplication> entry : agentApplications.entrySet()) {
+            if (entry.getValue().lastAccessTime < expireTime) {
+                agentApplications.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Writes the slots that are still open, they would be lost otherwise.
+     */
+    @PreDestroy
+    public void destroy() {
+        logger.info("flush open {} slots", APPLICATION_STAT_AGGR);
+        flushApplicationStats(applicationStatAggregator.drainAll());
+    }
+
+    private void flushApplicationStats(List<ApplicationStatBo> applicationStatBos) {
+        if (applicationStatBos.isEmpty()) {
+            return;
+        }
+        final List<Put> puts = new ArrayList<>(applicationStatBos.size());
+        for (ApplicationStatBo applicationStatBo : applicationStatBos) {
+            final Put put = new Put(getRowKey(applicationStatBo.getApplicationName(), applicationStatBo.getTimestamp()));
+            put.addColumn(APPLICATION_STAT_AGGR_CF_STATISTICS, collectorQualifier, applicationStatBo.writeValue());
+            puts.add(put);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("flush {} Put:{}", APPLICATION_STAT_AGGR, puts.size());
+        }
+        hbaseTemplate.put(APPLICATION_STAT_AGGR, puts);
+    }
+
+    private byte[] getRowKey(String applicationName, long timestamp) {
+        final byte[] bApplicationName = BytesUtils.toBytes(applicationName);
+        return RowKeyUtils.concatFixedByteAndLong(bApplicationName, APPLICATION_NAME_MAX_LEN, TimeUtils.reverseTimeMillis(timestamp));
+    }
+
+    private static class AgentApplication {
+        private final long agentStartTime;
+        private final String applicationName;
+        private volatile long lastAccessTime;
+
+        private AgentApplication(long agentStartTime, String applicationName, long lastAccessTime) {
+            this.agentStartTime = agentStartTime;
+            this.applicationName = applicationName;
+            this.lastAccessTime = lastAccessTime;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes the {@link Put}s produced while handling spans.
+ * <p>
+ * When batching is enabled, each table gets its own {@link TablePutBatcher} so that the puts of many spans
+ * reach {@link com.navercorp.pinpoint.common.hbase.HBaseAsyncOperation} as one multi-row request.
+ * If a table queue stays full for {@code offerTimeout}, the put is written synchronously on the calling
+ * dispatch thread. This slows down the handler workers, which in turn fills the receiver worker queue and
+ * makes the receiver reject packets.
+ */
+public class HbaseBatchPutWriter implements TablePutBatcher.Flusher {
+
+    private static final long STOP_TIMEOUT = 3000;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final HbaseOperations2 hbaseTemplate;
+    private final boolean enable;
+    private final int batchSize;
+    private final long flushInterval;
+    private final int queueSize;
+    private final long offerTimeout;
+
+    private final ConcurrentMap<TableName, TablePutBatcher> batcherMap = new ConcurrentHashMap<>();
+    private final ThreadFactory threadFactory = PinpointThreadFactory.createThreadFactory("Pinpoint-HbaseBatchPutWriter", true);
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    private volatile boolean stopped = false;
+
+    public HbaseBatchPutWriter(HbaseOperations2 hbaseTemplate, boolean enable, int batchSize, long flushInterval, int queueSize, long offerTimeout) {
+        if (hbaseTemplate == null) {
+            throw new NullPointerException("hbaseTemplate must not be null");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize");
+        }
+        if (flushInterval <= 0) {
+            throw new IllegalArgumentException("flushInterval");
+        }
+        if (queueSize <= 0) {
+            throw new IllegalArgumentException("queueSize");
+        }
+        if (offerTimeout < 0) {
+            throw new IllegalArgumentException("offerTimeout");
+        }
+        this.hbaseTemplate = hbaseTemplate;
+        this.enable = enable;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.queueSize = queueSize;
+        this.offerTimeout = offerTimeout;
+    }
+
+    public void put(TableName tableName, Put put) {
+        if (tableName == null) {
+            throw new NullPointerException("tableName must not be null");
+        }
+        if (put == null) {
+            throw new NullPointerException("put must not be null");
+        }
+        if (!enable) {
+            writeDirect(tableName, put);
+            return;
+        }
+        if (stopped) {
+            // the async operation may already be closed while shutting down.
+            hbaseTemplate.put(tableName, put);
+            return;
+        }
+
+        final TablePutBatcher batcher = getBatcher(tableName);
+        if (batcher == null) {
+            hbaseTemplate.put(tableName, put);
+            return;
+        }
+        boolean offered = false;
+        try {
+            offered = batcher.offer(put, offerTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!offered) {
+            final long count = rejectedCount.incrementAndGet();
+            if (logger.isDebugEnabled()) {
+                logger.debug("{} batch queue is full or stopped. write directly. rejectedCount:{}", tableName.getNameAsString(), count);
+            }
+            hbaseTemplate.put(tableName, put);
+        }
+    }
+
+    private void writeDirect(TableName tableName, Put put) {
+        boolean success = hbaseTemplate.asyncPut(tableName, put);
+        if (!success) {
+            hbaseTemplate.put(tableName, put);
+        }
+    }
+
+    /**
+     * @return null if the writer has been stopped
+     */
+    private TablePutBatcher getBatcher(TableName tableName) {
+        final TablePutBatcher batcher = batcherMap.get(tableName);
+        if (batcher != null) {
+            return batcher;
+        }
+        // synchronized with stop() so that a batcher is never started after the batchers have been stopped.
+        synchronized (this) {
+            if (stopped) {
+                return null;
+            }
+            final TablePutBatcher exist = batcherMap.get(tableName);
+            if (exist != null) {
+                return exist;
+            }
+            final TablePutBatcher newBatcher = new TablePutBatcher(tableName, this, batchSize, flushInterval, queueSize);
+            batcherMap.put(tableName, newBatcher);
+            newBatcher.start(threadFactory);
+            logger.info("{} batch writer started. batchSize:{} flushInterval:{}", tableName.getNameAsString(), batchSize, flushInterval);
+            return newBatcher;
+        }
+    }
+
+    @Override
+    public void flush(TableName tableName, List<Put> puts) {
+        final List<Put> rejectedPuts = hbaseTemplate.asyncPut(tableName, puts);
+        if (rejectedPuts != null && !rejectedPuts.isEmpty()) {
+            hbaseTemplate.put(tableName, rejectedPuts);
+        }
+    }
+
+    public void stop() {
+        logger.info("Shutdown HbaseBatchPutWriter.");
+        synchronized (this) {
+            this.stopped = true;
+        }
+        for (TablePutBatcher batcher : batcherMap.values()) {
+            batcher.stop(STOP_TIMEOUT);
+        }
+    }
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+}
@@ -19,13 +19,13 @@ package com.navercorp.pinpoint.collector.dao.hbase;
 import com.navercorp.pinpoint.collector.dao.TracesDao;
 import com.navercorp.pinpoint.collector.dao.hbase.filter.SpanEventFilter;
 import com.navercorp.pinpoint.common.server.bo.serializer.AnnotationSerializer;
+import com.navercorp.pinpoint.common.server.bo.serializer.SpanEventListSerializer;
 import com.navercorp.pinpoint.common.server.bo.serializer.SpanEventSerializer;
 import com.navercorp.pinpoint.common.server.bo.serializer.SpanSerializer;
 import com.navercorp.pinpoint.common.server.util.AcceptedTimeService;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
 import static com.navercorp.pinpoint.common.hbase.HBaseTables.*;
-import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.util.SpanUtils;
 import com.navercorp.pinpoint.thrift.dto.TSpan;
 import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
@@ -37,8 +37,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -50,7 +52,7 @@ public class HbaseTraceDao implements TracesDao {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     @Autowired
-    private HbaseOperations2 hbaseTemplate;
+    private HbaseBatchPutWriter putWriter;
 
     @Autowired
     private AcceptedTimeService acceptedTimeService;
@@ -64,9 +66,16 @@ public class HbaseTraceDao implements TracesDao {
     @Autowired
     private SpanEventSerializer spanEventSerializer;
 
+    @Autowired
+    private SpanEventListSerializer spanEventListSerializer;
+
     @Autowired
     private AnnotationSerializer annotationSerializer;
 
+    // write all span events of a span/span chunk into a single cell. the web must be able to read the format first.
+    @Value("#{pinpoint_collector_properties['collector.spanEvent.columnar.enable'] ?: false}")
+    private boolean columnarSpanEvent;
+
     @Autowired
     @Qualifier("traceDistributor")
     private AbstractRowKeyDistributor rowKeyDistributor;
@@ -91,10 +100,7 @@ public class HbaseTraceDao implements TracesDao {
 
         addNestedSpanEvent(put, span);
 
-        boolean success = hbaseTemplate.asyncPut(TRACES, put);
-        if (!success) {
-            hbaseTemplate.put(TRACES, put);
-        }
+        putWriter.put(TRACES, put);
     }
 
     private byte[] getDistributeRowKey(byte[] transactionId) {
@@ -108,10 +114,14 @@ public class HbaseTraceDao implements TracesDao {
         }
 
 
+        final List<SpanEventBo> filteredList = new ArrayList<>(spanEventBoList.size());
         for (TSpanEvent spanEvent : spanEventBoList) {
             final SpanEventBo spanEventBo = new SpanEventBo(span, spanEvent);
-            addColumn(put, spanEventBo);
+            if (spanEventFilter.filter(spanEventBo)) {
+                filteredList.add(spanEventBo);
+            }
         }
+        addColumn(put, filteredList);
     }
 
     @Override
@@ -126,24 +136,31 @@ public class HbaseTraceDao implements TracesDao {
         }
 
 
+        final List<SpanEventBo> filteredList = new ArrayList<>(spanEventBoList.size());
         for (TSpanEvent spanEvent : spanEventBoList) {
             final SpanEventBo spanEventBo = new SpanEventBo(spanChunk, spanEvent);
-            addColumn(put, spanEventBo);
+            if (spanEventFilter.filter(spanEventBo)) {
+                filteredList.add(spanEventBo);
+            }
         }
+        addColumn(put, filteredList);
 
         if (!put.isEmpty()) {
-            boolean success = hbaseTemplate.asyncPut(TRACES, put);
-            if (!success) {
-                hbaseTemplate.put(TRACES, put);
-            }
+            putWriter.put(TRACES, put);
         }
     }
 
-    private void addColumn(Put put, SpanEventBo spanEventBo) {
-        if (!spanEventFilter.filter(spanEventBo)) {
+    private void addColumn(Put put, List<SpanEventBo> spanEventBoList) {
+        if (spanEventBoList.isEmpty()) {
             return;
         }
-        this.spanEventSerializer.serialize(spanEventBo, put, null);
+        if (columnarSpanEvent) {
+            this.spanEventListSerializer.serialize(spanEventBoList, put, null);
+            return;
+        }
+        for (SpanEventBo spanEventBo : spanEventBoList) {
+            this.spanEventSerializer.serialize(spanEventBo, put, null);
+        }
     }
 
 
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Coalesces the {@link Put}s of a single table into multi-row batches.
+ * A batch is flushed when it reaches {@code batchSize} or when {@code flushInterval} has elapsed
+ * since its first put was taken from the queue, whichever comes first.
+ */
+class TablePutBatcher {
+
+    interface Flusher {
+        void flush(TableName tableName, List<Put> puts);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final TableName tableName;
+    private final Flusher flusher;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<Put> queue;
+
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong putCount = new AtomicLong();
+
+    // offer() holds the read lock so that no put can enter the queue once stop() has flipped running.
+    private final ReadWriteLock stopLock = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    private Thread writerThread;
+
+    TablePutBatcher(TableName tableName, Flusher flusher, int batchSize, long flushIntervalMillis, int queueSize) {
+        if (tableName == null) {
+            throw new NullPointerException("tableName must not be null");
+        }
+        if (flusher == null) {
+            throw new NullPointerException("flusher must not be null");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize");
+        }
+        if (flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("flushIntervalMillis");
+        }
+        this.tableName = tableName;
+        this.flusher = flusher;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+    }
+
+    synchronized void start(ThreadFactory threadFactory) {
+        if (running) {
+            return;
+        }
+        this.running = true;
+        this.writerThread = threadFactory.newThread(new Runnable() {
+            @Override
+            public void run() {
+                doWrite();
+            }
+        });
+        this.writerThread.start();
+    }
+
+    /**
+     * @return false if the batcher is stopped or the queue stayed full for {@code timeoutMillis}
+     */
+    boolean offer(Put put, long timeoutMillis) throws InterruptedException {
+        stopLock.readLock().lock();
+        try {
+            if (!running) {
+                return false;
+            }
+            return queue.offer(put, timeoutMillis, TimeUnit.MILLISECONDS);
+        } finally {
+            stopLock.readLock().unlock();
+        }
+    }
+
+    private void doWrite() {
+        List<Put> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                final Put first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch);
+                flush(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        } catch (InterruptedException e) {
+            // woken up by stop(). the interrupt status is consumed here so that the final flush is not aborted.
+            logger.debug("{} writer interrupted.", tableName.getNameAsString());
+        }
+        // flush whatever is left after stop()
+        queue.drainTo(batch);
+        flush(batch);
+        logger.info("{} writer stopped.", tableName.getNameAsString());
+    }
+
+    private void fillBatch(List<Put> batch) throws InterruptedException {
+        final long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            if (batch.size() >= batchSize) {
+                return;
+            }
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            final Put next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Put> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            flusher.flush(tableName, batch);
+            flushCount.incrementAndGet();
+            putCount.addAndGet(batch.size());
+        } catch (Throwable th) {
+            logger.warn("{} batch flush failed. size:{} Caused:{}", tableName.getNameAsString(), batch.size(), th.getMessage(), th);
+        }
+    }
+
+    void stop(long timeoutMillis) {
+        final Thread thread;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            stopLock.writeLock().lock();
+            try {
+                running = false;
+            } finally {
+                stopLock.writeLock().unlock();
+            }
+            thread = writerThread;
+        }
+        thread.interrupt();
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // the writer has flushed what it saw. pick up anything it missed, e.g. when the join timed out.
+        final List<Put> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        flush(remaining);
+    }
+
+    TableName getTableName() {
+        return tableName;
+    }
+
+    int getQueueSize() {
+        return queue.size();
+    }
+
+    long getFlushCount() {
+        return flushCount.get();
+    }
+
+    long getPutCount() {
+        return putCount.get();
+    }
+}
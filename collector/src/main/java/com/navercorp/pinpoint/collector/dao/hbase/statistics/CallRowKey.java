@@ -28,6 +28,8 @@ public class CallRowKey implements RowKey {
 
     // WARNING - cached hash value should not be included for equals/hashCode
     private int hash;
+    // cached encoded row key, an interned key is encoded once per flush interval at most
+    private volatile byte[] rowKey;
 
     public CallRowKey(String callApplicationName, short callServiceType, long rowTimeSlot) {
         if (callApplicationName == null) {
@@ -38,7 +40,12 @@ public class CallRowKey implements RowKey {
         this.rowTimeSlot = rowTimeSlot;
     }
     public byte[] getRowKey() {
-        return ApplicationMapStatisticsUtils.makeRowKey(callApplicationName, callServiceType, rowTimeSlot);
+        byte[] rowKey = this.rowKey;
+        if (rowKey == null) {
+            rowKey = ApplicationMapStatisticsUtils.makeRowKey(callApplicationName, callServiceType, rowTimeSlot);
+            this.rowKey = rowKey;
+        }
+        return rowKey;
     }
 
     @Override
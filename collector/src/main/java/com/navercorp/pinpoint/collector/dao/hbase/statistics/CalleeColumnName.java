@@ -32,6 +32,8 @@ public class CalleeColumnName implements ColumnName {
 
     // WARNING - cached hash value should not be included for equals/hashCode
     private int hash;
+    // cached encoded column name
+    private volatile byte[] columnName;
 
     private long callCount;
 
@@ -61,13 +63,18 @@ public class CalleeColumnName implements ColumnName {
     }
 
     public byte[] getColumnName() {
-        final Buffer buffer = new AutomaticBuffer(64);
-        buffer.putShort(calleeServiceType);
-        buffer.putPrefixedString(calleeApplicationName);
-        buffer.putPrefixedString(callHost);
-        buffer.putShort(columnSlotNumber);
-        buffer.putPrefixedString(callerAgentId);
-        return buffer.getBuffer();
+        byte[] columnName = this.columnName;
+        if (columnName == null) {
+            final Buffer buffer = new AutomaticBuffer(64);
+            buffer.putShort(calleeServiceType);
+            buffer.putPrefixedString(calleeApplicationName);
+            buffer.putPrefixedString(callHost);
+            buffer.putShort(columnSlotNumber);
+            buffer.putPrefixedString(callerAgentId);
+            columnName = buffer.getBuffer();
+            this.columnName = columnName;
+        }
+        return columnName;
     }
 
     @Override
@@ -77,7 +84,6 @@ public class CalleeColumnName implements ColumnName {
 
         CalleeColumnName that = (CalleeColumnName) o;
 
-        if (callCount != that.callCount) return false;
         if (calleeServiceType != that.calleeServiceType) return false;
         if (columnSlotNumber != that.columnSlotNumber) return false;
         if (!callHost.equals(that.callHost)) return false;
@@ -98,8 +104,6 @@ public class CalleeColumnName implements ColumnName {
         result = 31 * result + calleeApplicationName.hashCode();
         result = 31 * result + callHost.hashCode();
         result = 31 * result + (int) columnSlotNumber;
-        result = 31 * result + hash;
-        result = 31 * result + (int) (callCount ^ (callCount >>> 32));
         this.hash = result;
         return result;
     }
@@ -30,6 +30,8 @@ public class CallerColumnName implements ColumnName {
 
     // WARNING - cached hash value should not be included for equals/hashCode
     private int hash;
+    // cached encoded column name
+    private volatile byte[] columnName;
 
     private long callCount;
 
@@ -55,7 +57,12 @@ public class CallerColumnName implements ColumnName {
     }
 
     public byte[] getColumnName() {
-        return ApplicationMapStatisticsUtils.makeColumnName(callerServiceType, callerApplicationName, callHost, columnSlotNumber);
+        byte[] columnName = this.columnName;
+        if (columnName == null) {
+            columnName = ApplicationMapStatisticsUtils.makeColumnName(callerServiceType, callerApplicationName, callHost, columnSlotNumber);
+            this.columnName = columnName;
+        }
+        return columnName;
     }
 
     @Override
@@ -28,6 +28,8 @@ public class ResponseColumnName implements ColumnName {
 
  // WARNING - cached hash value should not be included for equals/hashCode
     private int hash;
+    // cached encoded column name
+    private volatile byte[] columnName;
 
     private long callCount;
 
@@ -48,7 +50,12 @@ public class ResponseColumnName implements ColumnName {
     }
 
     public byte[] getColumnName() {
-        return ApplicationMapStatisticsUtils.makeColumnName(agentId, columnSlotNumber);
+        byte[] columnName = this.columnName;
+        if (columnName == null) {
+            columnName = ApplicationMapStatisticsUtils.makeColumnName(agentId, columnSlotNumber);
+            this.columnName = columnName;
+        }
+        return columnName;
     }
 
     @Override
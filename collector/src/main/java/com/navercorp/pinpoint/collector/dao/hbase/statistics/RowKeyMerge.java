@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.collector.dao.hbase.statistics;
 
 import com.navercorp.pinpoint.collector.util.ConcurrentCounterMap;
+import com.navercorp.pinpoint.collector.util.StripedCounterMap;
 
 import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
 import org.apache.hadoop.hbase.client.Increment;
@@ -54,6 +55,40 @@ public class RowKeyMerge {
         return incrementList;
     }
 
+    /**
+     * Flushes the counter and groups its columns by row key directly into {@link Increment}s,
+     * without an intermediate copy of the counter.
+     */
+    public List<Increment> createBulkIncrement(StripedCounterMap<RowInfo> counter, final RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix) {
+        if (counter == null) {
+            throw new NullPointerException("counter must not be null");
+        }
+        final Map<RowKey, Increment> rowKeyMerge = new HashMap<>();
+        counter.flush(new StripedCounterMap.FlushHandler<RowInfo>() {
+            @Override
+            public void handle(RowInfo rowInfo, long callCount) {
+                final RowKey rowKey = rowInfo.getRowKey();
+                Increment increment = rowKeyMerge.get(rowKey);
+                if (increment == null) {
+                    increment = new Increment(getDistributedKey(rowKey, rowKeyDistributorByHashPrefix));
+                    rowKeyMerge.put(rowKey, increment);
+                }
+                increment.addColumn(family, rowInfo.getColumnName().getColumnName(), callCount);
+            }
+        });
+        if (rowKeyMerge.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(rowKeyMerge.values());
+    }
+
+    private byte[] getDistributedKey(RowKey rowKey, RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix) {
+        if (rowKeyDistributorByHashPrefix == null) {
+            return rowKey.getRowKey();
+        }
+        return rowKeyDistributorByHashPrefix.getDistributedKey(rowKey.getRowKey());
+    }
+
     private Increment createIncrement(Map.Entry<RowKey, List<ColumnName>> rowKeyEntry, RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix) {
         RowKey rowKey = rowKeyEntry.getKey();
         byte[] key = null;
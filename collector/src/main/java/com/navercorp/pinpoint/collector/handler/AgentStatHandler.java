@@ -23,6 +23,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.navercorp.pinpoint.collector.dao.AgentStatDao;
+import com.navercorp.pinpoint.collector.dao.ApplicationStatDao;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
 import com.navercorp.pinpoint.thrift.dto.TAgentStatBatch;
 
@@ -38,6 +39,9 @@ public class AgentStatHandler implements Handler {
     @Autowired
     private AgentStatDao agentStatDao;
 
+    @Autowired
+    private ApplicationStatDao applicationStatDao;
+
     public void handle(TBase<?, ?> tbase) {
         // FIXME (2014.08) Legacy - TAgentStats should not be sent over the wire.
         if (tbase instanceof TAgentStat) {
@@ -57,6 +61,7 @@ public class AgentStatHandler implements Handler {
             agentStat.setAgentId(agentId);
             agentStat.setStartTimestamp(startTimestamp);
             agentStatDao.insert(agentStat);
+            applicationStatDao.insert(agentStat);
         } catch (Exception e) {
             logger.warn("AgentStat handle error. Caused:{}", e.getMessage());
         }
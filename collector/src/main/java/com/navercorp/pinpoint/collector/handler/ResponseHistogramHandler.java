@@ -0,0 +1,154 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.handler;
+
+import com.navercorp.pinpoint.common.service.ServiceTypeRegistryService;
+import com.navercorp.pinpoint.common.trace.HistogramSchema;
+import com.navercorp.pinpoint.common.trace.HistogramSlot;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.thrift.dto.TResponseHistogram;
+import com.navercorp.pinpoint.thrift.dto.TResponseHistogramBatch;
+import com.navercorp.pinpoint.thrift.dto.TResult;
+
+import org.apache.thrift.TBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Writes the server map statistics aggregated on the agent.
+ * Spans of such agents are marked with statisticsAggregated and are not replayed into the statistics tables.
+ * Agents send the batch as a request and keep it until the collector acknowledges it.
+ */
+@Service("responseHistogramHandler")
+public class ResponseHistogramHandler implements Handler, RequestResponseHandler {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private StatisticsHandler statisticsHandler;
+
+    @Autowired
+    private ServiceTypeRegistryService registry;
+
+    @Override
+    public void handle(TBase<?, ?> tbase) {
+        if (!(tbase instanceof TResponseHistogramBatch)) {
+            throw new IllegalArgumentException("unexpected tbase:" + tbase + " expected:" + TResponseHistogramBatch.class.getName());
+        }
+
+        try {
+            insert((TResponseHistogramBatch) tbase);
+        } catch (Exception e) {
+            logger.warn("ResponseHistogram handle error. Caused:{}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public TBase<?, ?> handleRequest(TBase<?, ?> tbase) {
+        if (!(tbase instanceof TResponseHistogramBatch)) {
+            logger.error("invalid tbase:{}", tbase);
+            return null;
+        }
+
+        try {
+            insert((TResponseHistogramBatch) tbase);
+        } catch (Exception e) {
+            logger.warn("ResponseHistogram handle error. Caused:{}", e.getMessage(), e);
+            TResult result = new TResult(false);
+            result.setMessage(e.getMessage());
+            return result;
+        }
+        return new TResult(true);
+    }
+
+    private void insert(TResponseHistogramBatch batch) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Received ResponseHistograms={}", batch);
+        }
+
+        insertResponseHistogram(batch);
+        if (batch.isSetCallerHistograms()) {
+            for (TResponseHistogram callerHistogram : batch.getCallerHistograms()) {
+                insertCallerHistogram(batch, callerHistogram);
+            }
+        }
+        if (batch.isSetCalleeHistograms()) {
+            for (TResponseHistogram calleeHistogram : batch.getCalleeHistograms()) {
+                insertCalleeHistogram(calleeHistogram);
+            }
+        }
+    }
+
+    private void insertResponseHistogram(TResponseHistogramBatch batch) {
+        if (!batch.isSetResponseHistogram()) {
+            return;
+        }
+        final ServiceType applicationServiceType = registry.findServiceType(batch.getApplicationServiceType());
+        final HistogramSlot[] slots = getHistogramSlots(applicationServiceType);
+        final List<Long> histogram = batch.getResponseHistogram();
+        for (int i = 0; i < slots.length && i < histogram.size(); i++) {
+            final long count = histogram.get(i);
+            if (count > 0) {
+                statisticsHandler.updateResponseTime(batch.getApplicationName(), applicationServiceType, batch.getAgentId(), slots[i].getSlotTime(), count);
+            }
+        }
+    }
+
+    private void insertCallerHistogram(TResponseHistogramBatch batch, TResponseHistogram callerHistogram) {
+        final ServiceType callerServiceType = registry.findServiceType(callerHistogram.getServiceType());
+        final ServiceType calleeServiceType = registry.findServiceType(callerHistogram.getTargetServiceType());
+        final String callerAgentId = callerHistogram.isSetAgentId() ? callerHistogram.getAgentId() : batch.getAgentId();
+
+        final HistogramSlot[] slots = getHistogramSlots(calleeServiceType);
+        final List<Long> histogram = callerHistogram.getHistogram();
+        for (int i = 0; i < slots.length && i < histogram.size(); i++) {
+            final long count = histogram.get(i);
+            if (count > 0) {
+                statisticsHandler.updateCaller(callerHistogram.getApplicationName(), callerServiceType, callerAgentId, callerHistogram.getTargetApplicationName(), calleeServiceType, callerHistogram.getHost(), slots[i].getSlotTime(), count);
+            }
+        }
+    }
+
+    private void insertCalleeHistogram(TResponseHistogram calleeHistogram) {
+        final ServiceType calleeServiceType = registry.findServiceType(calleeHistogram.getServiceType());
+        final ServiceType callerServiceType = registry.findServiceType(calleeHistogram.getTargetServiceType());
+
+        final HistogramSlot[] slots = getHistogramSlots(calleeServiceType);
+        final List<Long> histogram = calleeHistogram.getHistogram();
+        for (int i = 0; i < slots.length && i < histogram.size(); i++) {
+            final long count = histogram.get(i);
+            if (count > 0) {
+                statisticsHandler.updateCallee(calleeHistogram.getApplicationName(), calleeServiceType, calleeHistogram.getTargetApplicationName(), callerServiceType, calleeHistogram.getHost(), slots[i].getSlotTime(), count);
+            }
+        }
+    }
+
+    /**
+     * slot order of TResponseHistogram.histogram
+     */
+    private HistogramSlot[] getHistogramSlots(ServiceType serviceType) {
+        final HistogramSchema schema = serviceType.getHistogramSchema();
+        return new HistogramSlot[] {
+                schema.getFastSlot(), schema.getNormalSlot(), schema.getSlowSlot(), schema.getVerySlowSlot(),
+                schema.getFastErrorSlot(), schema.getNormalErrorSlot(), schema.getSlowErrorSlot(), schema.getVerySlowErrorSlot()
+        };
+    }
+}
@@ -68,7 +68,8 @@ public class SpanChunkHandler implements SimpleHandler {
 
             final ServiceType applicationServiceType = getApplicationServiceType(spanChunk);
             List<TSpanEvent> spanEventList = spanChunk.getSpanEventList();
-            if (spanEventList != null) {
+            // statistics are aggregated on the agent and sent as TResponseHistogramBatch
+            if (spanEventList != null && !spanChunk.isStatisticsAggregated()) {
                 logger.debug("SpanChunk Size:{}", spanEventList.size());
                 // TODO need to batch update later.
                 for (TSpanEvent spanEvent : spanEventList) {
@@ -93,7 +94,9 @@ public class SpanChunkHandler implements SimpleHandler {
                 }
             }
         } catch (Exception e) {
-            logger.warn("SpanChunk handle error Caused:{}", e.getMessage(), e);
+            logger.warn("SpanChunk handle error Caused:{}", e.getMessage());
+            // the tcp receiver must not ack a span chunk that was not stored
+            throw e;
         }
     }
     
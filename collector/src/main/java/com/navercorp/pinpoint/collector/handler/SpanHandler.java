@@ -77,10 +77,17 @@ public class SpanHandler implements SimpleHandler {
 
             // insert statistics info for server map
             insertAcceptorHost(span);
-            insertSpanStat(span);
-            insertSpanEventStat(span);
+            if (span.isStatisticsAggregated()) {
+                // statistics are aggregated on the agent and sent as TResponseHistogramBatch
+                insertVirtualQueueAcceptorHost(span);
+            } else {
+                insertSpanStat(span);
+                insertSpanEventStat(span);
+            }
         } catch (Exception e) {
-            logger.warn("Span handle error. Caused:{}. Span:{}",e.getMessage(), tbase, e);
+            logger.warn("Span handle error. Caused:{}. Span:{}",e.getMessage(), tbase);
+            // the tcp receiver must not ack a span that was not stored
+            throw e;
         }
     }
 
@@ -198,6 +205,23 @@ public class SpanHandler implements SimpleHandler {
         }
     }
     
+    private void insertVirtualQueueAcceptorHost(TSpan span) {
+        // same as the virtual queue node of insertSpanStat()
+        final String parentApplicationName = span.getParentApplicationName();
+        if (parentApplicationName == null) {
+            return;
+        }
+        final ServiceType spanServiceType = registry.findServiceType(span.getServiceType());
+        if (!spanServiceType.isQueue()) {
+            return;
+        }
+        final ServiceType applicationServiceType = getApplicationServiceType(span);
+        final ServiceType parentApplicationType = registry.findServiceType(span.getParentApplicationType());
+        if (!applicationServiceType.isQueue() && !parentApplicationType.isQueue()) {
+            hostApplicationMapDao.insert(span.getRemoteAddr(), span.getAcceptorHost(), spanServiceType.getCode(), parentApplicationName, parentApplicationType.getCode());
+        }
+    }
+
     private ServiceType getApplicationServiceType(TSpan span) {
         // Check if applicationServiceType is set. If not, use span's service type. 
         final short applicationServiceTypeCode = span.isSetApplicationServiceType() ? span.getApplicationServiceType() : span.getServiceType();
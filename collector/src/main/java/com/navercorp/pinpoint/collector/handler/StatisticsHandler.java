@@ -80,4 +80,16 @@ public class StatisticsHandler {
     public void updateResponseTime(String applicationName, ServiceType serviceType, String agentId, int elapsed, boolean isError) {
         mapResponseTimeDao.received(applicationName, serviceType, agentId, elapsed, isError);
     }
+
+    public void updateCaller(String callerApplicationName, ServiceType callerServiceType, String callerAgentId, String calleeApplicationName, ServiceType calleeServiceType, String calleeHost, short calleeSlotNumber, long count) {
+        mapStatisticsCallerDao.update(callerApplicationName, callerServiceType, callerAgentId, calleeApplicationName, calleeServiceType, calleeHost, calleeSlotNumber, count);
+    }
+
+    public void updateCallee(String calleeApplicationName, ServiceType calleeServiceType, String callerApplicationName, ServiceType callerServiceType, String callerHost, short callerSlotNumber, long count) {
+        mapStatisticsCalleeDao.update(calleeApplicationName, calleeServiceType, callerApplicationName, callerServiceType, callerHost, callerSlotNumber, count);
+    }
+
+    public void updateResponseTime(String applicationName, ServiceType serviceType, String agentId, short slotNumber, long count) {
+        mapResponseTimeDao.received(applicationName, serviceType, agentId, slotNumber, count);
+    }
 }
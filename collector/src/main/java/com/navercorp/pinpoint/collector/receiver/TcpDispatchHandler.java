@@ -17,7 +17,9 @@
 package com.navercorp.pinpoint.collector.receiver;
 
 import com.navercorp.pinpoint.collector.handler.AgentInfoHandler;
+import com.navercorp.pinpoint.collector.handler.Handler;
 import com.navercorp.pinpoint.collector.handler.RequestResponseHandler;
+import com.navercorp.pinpoint.collector.handler.ResponseHistogramHandler;
 import com.navercorp.pinpoint.collector.handler.SimpleHandler;
 import com.navercorp.pinpoint.thrift.dto.*;
 
@@ -48,6 +50,17 @@ public class TcpDispatchHandler extends AbstractDispatchHandler {
     @Qualifier("stringMetaDataHandler")
     private RequestResponseHandler stringMetaDataHandler;
 
+    @Autowired()
+    @Qualifier("spanHandler")
+    private SimpleHandler spanDataHandler;
+
+    @Autowired()
+    @Qualifier("spanChunkHandler")
+    private SimpleHandler spanChunkHandler;
+
+    @Autowired()
+    @Qualifier("responseHistogramHandler")
+    private ResponseHistogramHandler responseHistogramHandler;
 
 
     public TcpDispatchHandler() {
@@ -69,6 +82,19 @@ public class TcpDispatchHandler extends AbstractDispatchHandler {
         if (tBase instanceof TAgentInfo) {
             return agentInfoHandler;
         }
+        // acknowledged, so that the agent keeps the statistics of the spans flagged as aggregated until they are stored
+        if (tBase instanceof TResponseHistogramBatch) {
+            return responseHistogramHandler;
+        }
+        return null;
+    }
+
+    @Override
+    Handler getHandler(TBase<?, ?> tBase) {
+        // sent over tcp so that the statistics of the spans flagged as aggregated are not lost with a udp packet
+        if (tBase instanceof TResponseHistogramBatch) {
+            return responseHistogramHandler;
+        }
         return null;
     }
 
@@ -78,6 +104,13 @@ public class TcpDispatchHandler extends AbstractDispatchHandler {
         if (tBase instanceof TAgentInfo) {
             return agentInfoHandler;
         }
+        // spans sent with TraceSendPacket
+        if (tBase instanceof TSpan) {
+            return spanDataHandler;
+        }
+        if (tBase instanceof TSpanChunk) {
+            return spanChunkHandler;
+        }
 
         return null;
     }
@@ -186,6 +186,10 @@ public class TCPReceiver {
 
     private void receive(SendPacket sendPacket, PinpointSocket pinpointSocket) {
         try {
+            if (sendPacket instanceof TraceSendPacket) {
+                worker.execute(new TraceDispatch((TraceSendPacket) sendPacket, pinpointSocket));
+                return;
+            }
             worker.execute(new Dispatch(sendPacket.getPayload(), pinpointSocket.getRemoteAddress()));
         } catch (RejectedExecutionException e) {
             // cause is clear - full stack trace not necessary 
@@ -251,6 +255,65 @@ public class TCPReceiver {
         }
     }
 
+    /**
+     * acks the packet once the handler has stored it.
+     * nothing is sent back when the handler fails or the worker queue is full; the agent retransmits the packet.
+     * a packet that can't be deserialized or has no handler would fail again, so it is acked and dropped.
+     */
+    private class TraceDispatch implements Runnable {
+        private final TraceSendPacket traceSendPacket;
+        private final PinpointSocket pinpointSocket;
+
+        private TraceDispatch(TraceSendPacket traceSendPacket, PinpointSocket pinpointSocket) {
+            if (traceSendPacket == null) {
+                throw new NullPointerException("traceSendPacket");
+            }
+            this.traceSendPacket = traceSendPacket;
+            this.pinpointSocket = pinpointSocket;
+        }
+
+        @Override
+        public void run() {
+            byte[] bytes = traceSendPacket.getPayload();
+            SocketAddress remoteAddress = pinpointSocket.getRemoteAddress();
+            final TBase<?, ?> tBase;
+            try {
+                tBase = SerializationUtils.deserialize(bytes, deserializerFactory);
+            } catch (TException e) {
+                if (logger.isWarnEnabled()) {
+                    logger.warn("packet serialize error, packet dropped. SendSocketAddress:{} Cause:{}", remoteAddress, e.getMessage(), e);
+                }
+                if (logger.isDebugEnabled()) {
+                    logger.debug("packet dump hex:{}", PacketUtils.dumpByteArray(bytes));
+                }
+                sendTraceAck();
+                return;
+            }
+            try {
+                dispatchHandler.dispatchSendMessage(tBase);
+                sendTraceAck();
+            } catch (UnsupportedOperationException e) {
+                if (logger.isWarnEnabled()) {
+                    logger.warn("unsupported packet dropped. SendSocketAddress:{} Cause:{}", remoteAddress, e.getMessage());
+                }
+                sendTraceAck();
+            } catch (Exception e) {
+                if (logger.isWarnEnabled()) {
+                    logger.warn("Unexpected error, packet not acked. SendSocketAddress:{} Cause:{}", remoteAddress, e.getMessage(), e);
+                }
+                if (logger.isDebugEnabled()) {
+                    logger.debug("packet dump hex:{}", PacketUtils.dumpByteArray(bytes));
+                }
+            }
+        }
+
+        private void sendTraceAck() {
+            if (pinpointSocket instanceof PinpointServer) {
+                ((PinpointServer) pinpointSocket).sendTraceAck(traceSendPacket.getTraceId());
+            }
+        }
+    }
+
     private class RequestResponseDispatch implements Runnable {
         private final RequestPacket requestPacket;
         private final PinpointSocket pinpointSocket;
@@ -113,6 +113,10 @@ public class BaseUDPHandlerFactory<T extends DatagramPacket> implements PacketHa
             TBase<?, ?> tBase = null;
             
             try {
+                if (MultiMessageReader.isMultiMessage(packet.getData(), packet.getOffset(), packet.getLength())) {
+                    receiveMultiMessage(deserializer, packet, socketAddress);
+                    return;
+                }
                 tBase = deserializer.deserialize(packet.getData());
                 if (filter.filter(tBase, socketAddress) == TBaseFilter.BREAK) {
                     return;
@@ -137,6 +141,31 @@ public class BaseUDPHandlerFactory<T extends DatagramPacket> implements PacketHa
             }
         }
         
+        private void receiveMultiMessage(HeaderTBaseDeserializer deserializer, T packet, SocketAddress socketAddress) throws TException {
+            final byte[] buffer = packet.getData();
+            // a broken message frame can not be skipped. the rest of the packet is dropped.
+            final MultiMessageReader reader = new MultiMessageReader(buffer, packet.getOffset(), packet.getLength());
+            while (reader.next()) {
+                TBase<?, ?> tBase = null;
+                try {
+                    tBase = deserializer.deserialize(buffer, reader.getMessageOffset(), reader.getMessageLength());
+                    if (filter.filter(tBase, socketAddress) == TBaseFilter.BREAK) {
+                        continue;
+                    }
+                    dispatchHandler.dispatchSendMessage(tBase);
+                } catch (TException e) {
+                    // one broken message must not drop the rest of the packet
+                    if (logger.isWarnEnabled()) {
+                        logger.warn("packet serialize error. SendSocketAddress:{} Cause:{}", socketAddress, e.getMessage(), e);
+                    }
+                } catch (Exception e) {
+                    if (logger.isWarnEnabled()) {
+                        logger.warn("Unexpected error. SendSocketAddress:{} Cause:{} tBase:{}", socketAddress, e.getMessage(), tBase, e);
+                    }
+                }
+            }
+        }
+
         private boolean isIgnoreAddress(InetAddress remoteAddress) {
             if (ignoreAddresses == null) {
                 return false;
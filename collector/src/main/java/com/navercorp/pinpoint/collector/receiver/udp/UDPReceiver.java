@@ -38,12 +38,18 @@ import org.springframework.util.Assert;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import java.io.IOException;
+import java.lang.reflect.Field;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.SocketException;
+import java.net.SocketOption;
 import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
@@ -76,7 +82,7 @@ public class UDPReceiver implements DataReceiver {
     private Counter rejectedCounter;
 
     // increasing ioThread size wasn't very effective
-    private final int ioThreadSize = CpuUtils.cpuCount();
+    private final int ioThreadSize;
     private ThreadPoolExecutor io;
 
     // modify thread pool size appropriately when modifying queue capacity 
@@ -93,6 +99,13 @@ public class UDPReceiver implements DataReceiver {
 
     private final DatagramSocket socket;
 
+    private final UDPReceiverIoType ioType;
+    private final int receiverBufferSize;
+    // NIO only. each channel has its own reader thread and kernel receive queue
+    private final DatagramChannel[] channels;
+    private Counter[] receivedCounters;
+    private Counter[] droppedCounters;
+
     private final PacketHandlerFactory<DatagramPacket> packetHandlerFactory;
 
     private final AtomicInteger rejectedExecutionCount = new AtomicInteger(0);
@@ -104,6 +117,10 @@ public class UDPReceiver implements DataReceiver {
     }
 
     public UDPReceiver(String receiverName, PacketHandlerFactory<DatagramPacket> packetHandlerFactory, String bindAddress, int port, int receiverBufferSize, String workerType, int workerThreadSize, int workerThreadQueueSize,  boolean enableCollectorMetric) {
+        this(receiverName, packetHandlerFactory, bindAddress, port, receiverBufferSize, workerType, workerThreadSize, workerThreadQueueSize, enableCollectorMetric, "OIO", 1);
+    }
+
+    public UDPReceiver(String receiverName, PacketHandlerFactory<DatagramPacket> packetHandlerFactory, String bindAddress, int port, int receiverBufferSize, String workerType, int workerThreadSize, int workerThreadQueueSize,  boolean enableCollectorMetric, String ioType, int socketCount) {
         if (receiverName != null) {
             this.logger = LoggerFactory.getLogger(receiverName);
         } else {
@@ -119,7 +136,17 @@ public class UDPReceiver implements DataReceiver {
         this.receiverName = receiverName;
         this.bindAddress = bindAddress;
         this.port = port;
-        this.socket = createSocket(receiverBufferSize);
+        this.receiverBufferSize = receiverBufferSize;
+        this.ioType = UDPReceiverIoType.getValue(ioType);
+        if (this.ioType == UDPReceiverIoType.NIO) {
+            this.socket = null;
+            this.channels = new DatagramChannel[adaptSocketCount(socketCount)];
+            this.ioThreadSize = channels.length;
+        } else {
+            this.socket = createSocket(receiverBufferSize);
+            this.channels = null;
+            this.ioThreadSize = CpuUtils.cpuCount();
+        }
 
         this.workerType = PinpointExecutorType.getValue(workerType);
         this.workerThreadSize = workerThreadSize;
@@ -128,6 +155,17 @@ public class UDPReceiver implements DataReceiver {
         this.enableCollectorMetric = enableCollectorMetric;
     }
 
+    private int adaptSocketCount(int socketCount) {
+        if (socketCount <= 1) {
+            return 1;
+        }
+        if (ReusePort.OPTION == null) {
+            logger.warn("SO_REUSEPORT is not supported by this JVM. socketCount changed {} -> 1", socketCount);
+            return 1;
+        }
+        return socketCount;
+    }
+
     private int adaptQueueSize(PinpointExecutorType workerType, int workerThreadQueueSize) {
         if (workerType == PinpointExecutorType.DISRUPTOR_EXECUTOR) {
             int adaptedQueueSize = DisruptorExecutors.nextPowerOfTwo(workerThreadQueueSize);
@@ -148,6 +186,14 @@ public class UDPReceiver implements DataReceiver {
 
         this.timer = metricRegistry.timer(receiverName + "-timer");
         this.rejectedCounter = metricRegistry.counter(receiverName + "-rejected");
+        if (ioType == UDPReceiverIoType.NIO) {
+            this.receivedCounters = new Counter[channels.length];
+            this.droppedCounters = new Counter[channels.length];
+            for (int i = 0; i < channels.length; i++) {
+                this.receivedCounters[i] = metricRegistry.counter(receiverName + "-socket-" + i + "-received");
+                this.droppedCounters[i] = metricRegistry.counter(receiverName + "-socket-" + i + "-dropped");
+            }
+        }
         this.io = (ThreadPoolExecutor) Executors.newCachedThreadPool(new PinpointThreadFactory(receiverName + "-Io", true));
     }
 
@@ -192,6 +238,80 @@ public class UDPReceiver implements DataReceiver {
         }
     }
 
+    private void receive(final DatagramChannel channel, final int socketIndex) {
+        final SocketAddress localSocketAddress = getLocalAddress(channel);
+        if (logger.isInfoEnabled()) {
+            logger.info("start ioThread localAddress:{}, socketIndex:{}, IoThread:{}", localSocketAddress, socketIndex, Thread.currentThread().getName());
+        }
+        // direct buffer avoids the temporary copy DatagramChannel does for heap buffers. thread confined.
+        final ByteBuffer receiveBuffer = ByteBuffer.allocateDirect(DatagramPacketFactory.UDP_MAX_PACKET_LENGTH);
+        final Counter receivedCounter = receivedCounters[socketIndex];
+        final Counter droppedCounter = droppedCounters[socketIndex];
+        final boolean debugEnabled = logger.isDebugEnabled();
+
+        while (state.get() && channel.isOpen()) {
+            final SocketAddress remoteAddress = read0(channel, receiveBuffer);
+            if (remoteAddress == null) {
+                continue;
+            }
+            receivedCounter.inc();
+            final int length = receiveBuffer.remaining();
+            if (length == 0) {
+                if (debugEnabled) {
+                    logger.debug("length is 0 remoteAddress:{}", remoteAddress);
+                }
+                continue;
+            }
+
+            // DefaultObjectPool never runs dry. it creates a new packet when the pool is empty.
+            // handlers decode from DatagramPacket.getData(), so the direct buffer is copied into a pooled heap packet.
+            final PooledObject<DatagramPacket> pooledPacket = datagramPacketPool.getObject();
+            final DatagramPacket packet = pooledPacket.getObject();
+            receiveBuffer.get(packet.getData(), 0, length);
+            packet.setLength(length);
+            packet.setSocketAddress(remoteAddress);
+            try {
+                Runnable dispatchTask = wrapDispatchTask(pooledPacket);
+                worker.execute(dispatchTask);
+            } catch (RejectedExecutionException ree) {
+                pooledPacket.returnObject();
+                droppedCounter.inc();
+                handleRejectedExecutionException(ree);
+            }
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info("stop ioThread localAddress:{}, socketIndex:{}, IoThread:{}", localSocketAddress, socketIndex, Thread.currentThread().getName());
+        }
+    }
+
+    private SocketAddress read0(final DatagramChannel channel, final ByteBuffer receiveBuffer) {
+        receiveBuffer.clear();
+        try {
+            final SocketAddress remoteAddress = channel.receive(receiveBuffer);
+            receiveBuffer.flip();
+            if (logger.isDebugEnabled() && remoteAddress != null) {
+                logger.debug("DatagramChannel SocketAddress:{} read size:{}", remoteAddress, receiveBuffer.remaining());
+            }
+            return remoteAddress;
+        } catch (ClosedChannelException e) {
+            if (state.get()) {
+                logger.error("DatagramChannel closed unexpectedly. Caused:{}", e.getMessage(), e);
+            }
+            return null;
+        } catch (IOException e) {
+            if (!state.get()) {
+                // shutdown
+            } else {
+                logger.error("IoError, Caused:", e.getMessage(), e);
+            }
+            return null;
+        }
+    }
+
+    private SocketAddress getLocalAddress(DatagramChannel channel) {
+        return channel.socket().getLocalSocketAddress();
+    }
+
     private void handleRejectedExecutionException(RejectedExecutionException ree) {
         rejectedCounter.inc();
         final int error = rejectedExecutionCount.incrementAndGet();
@@ -272,6 +392,48 @@ public class UDPReceiver implements DataReceiver {
         }
     }
 
+    private DatagramChannel createChannel(int receiveBufferSize, boolean reusePort) {
+        DatagramChannel channel = null;
+        try {
+            channel = DatagramChannel.open();
+            channel.configureBlocking(true);
+            channel.setOption(StandardSocketOptions.SO_RCVBUF, receiveBufferSize);
+            if (logger.isWarnEnabled()) {
+                final int checkReceiveBufferSize = channel.getOption(StandardSocketOptions.SO_RCVBUF);
+                if (receiveBufferSize != checkReceiveBufferSize) {
+                    logger.warn("DatagramChannel.setOption(SO_RCVBUF) error. {}!={}", receiveBufferSize, checkReceiveBufferSize);
+                }
+            }
+            if (reusePort) {
+                channel.setOption(ReusePort.OPTION, Boolean.TRUE);
+            }
+            return channel;
+        } catch (IOException ex) {
+            closeChannel(channel);
+            throw new RuntimeException("DatagramChannel create Fail. Caused:" + ex.getMessage(), ex);
+        }
+    }
+
+    private void bindChannel(DatagramChannel channel, String bindAddress, int port) {
+        try {
+            logger.info("DatagramChannel.bind() {}/{}", bindAddress, port);
+            channel.bind(new InetSocketAddress(bindAddress, port));
+        } catch (IOException ex) {
+            throw new IllegalStateException("DatagramChannel bind Fail. port:" + port + " Caused:" + ex.getMessage(), ex);
+        }
+    }
+
+    private void closeChannel(DatagramChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignore) {
+            // skip
+        }
+    }
+
     private void bindSocket(DatagramSocket socket, String bindAddress, int port) {
         if (socket == null) {
             throw new NullPointerException("socket must not be null");
@@ -293,6 +455,10 @@ public class UDPReceiver implements DataReceiver {
     public void start() {
         logger.info("{} start.", receiverName);
         afterPropertiesSet();
+        if (ioType == UDPReceiverIoType.NIO) {
+            startChannelReader();
+            return;
+        }
         final DatagramSocket socket = this.socket;
         if (socket == null) {
             throw new IllegalStateException("socket is null.");
@@ -311,6 +477,27 @@ public class UDPReceiver implements DataReceiver {
 
     }
 
+    private void startChannelReader() {
+        final boolean reusePort = channels.length > 1;
+        for (int i = 0; i < channels.length; i++) {
+            final DatagramChannel channel = createChannel(receiverBufferSize, reusePort);
+            channels[i] = channel;
+            bindChannel(channel, bindAddress, port);
+        }
+
+        logger.info("UDP Channel reader:{} started. SO_REUSEPORT:{}", channels.length, reusePort);
+        for (int i = 0; i < channels.length; i++) {
+            final DatagramChannel channel = channels[i];
+            final int socketIndex = i;
+            io.execute(new Runnable() {
+                @Override
+                public void run() {
+                    receive(channel, socketIndex);
+                }
+            });
+        }
+    }
+
     @PreDestroy
     @Override
     public void shutdown() {
@@ -320,6 +507,11 @@ public class UDPReceiver implements DataReceiver {
         if (socket != null) {
             socket.close();
         }
+        if (channels != null) {
+            for (DatagramChannel channel : channels) {
+                closeChannel(channel);
+            }
+        }
         shutdownExecutor(io, "IoExecutor");
         shutdownExecutor(worker, "WorkerExecutor");
     }
@@ -335,4 +527,19 @@ public class UDPReceiver implements DataReceiver {
         }
     }
 
+    // StandardSocketOptions.SO_REUSEPORT exists since jdk 9. looked up lazily to keep running on older jvm.
+    private static class ReusePort {
+        private static final SocketOption<Boolean> OPTION = findOption();
+
+        @SuppressWarnings("unchecked")
+        private static SocketOption<Boolean> findOption() {
+            try {
+                final Field field = StandardSocketOptions.class.getField("SO_REUSEPORT");
+                return (SocketOption<Boolean>) field.get(null);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+    }
+
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.udp;
+
+/**
+ * OIO : cpuCount threads read one {@link java.net.DatagramSocket}
+ * NIO : one thread per {@link java.nio.channels.DatagramChannel}, several channels share the port with SO_REUSEPORT
+ */
+public enum UDPReceiverIoType {
+
+    OIO,
+    NIO;
+
+    public static UDPReceiverIoType getValue(String value) {
+        for (UDPReceiverIoType each : UDPReceiverIoType.values()) {
+            if (each.name().equalsIgnoreCase(value)) {
+                return each;
+            }
+        }
+
+        return OIO;
+    }
+
+}
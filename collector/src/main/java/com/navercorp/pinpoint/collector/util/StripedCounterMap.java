@@ -0,0 +1,160 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter map for statistics aggregation.
+ * <p>
+ * Unlike {@link ConcurrentCounterMap}, a key always lives in the stripe selected by its hash code,
+ * so flushing visits each stripe in place instead of merging every stripe into a new map.
+ * Increments are lock-free. A counter that has been flushed stays in the map, together with its key,
+ * until a flush finds it idle, so keys that are hit on every flush interval keep the same instance
+ * (and whatever the key caches, e.g. its encoded form) instead of being re-created on every interval.
+ */
+public class StripedCounterMap<K> {
+
+    // counter value of an entry that has been removed by flush(). increments must re-insert the key.
+    private static final long RETIRED = Long.MIN_VALUE;
+
+    private final ConcurrentMap<K, AtomicLong>[] stripes;
+    private final int stripeMask;
+
+    public StripedCounterMap() {
+        this(16);
+    }
+
+    @SuppressWarnings("unchecked")
+    public StripedCounterMap(int concurrencyLevel) {
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("concurrencyLevel must be positive");
+        }
+        final int stripeSize = stripeSize(concurrencyLevel);
+        this.stripes = new ConcurrentMap[stripeSize];
+        for (int i = 0; i < stripeSize; i++) {
+            stripes[i] = new ConcurrentHashMap<>(64, 0.75f, 4);
+        }
+        this.stripeMask = stripeSize - 1;
+    }
+
+    private static int stripeSize(int concurrencyLevel) {
+        int size = 1;
+        while (size < concurrencyLevel) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    public void increment(K key, long increment) {
+        if (key == null) {
+            throw new NullPointerException("key must not be null");
+        }
+        final ConcurrentMap<K, AtomicLong> stripe = getStripe(key);
+        while (true) {
+            AtomicLong counter = stripe.get(key);
+            if (counter == null) {
+                final AtomicLong newCounter = new AtomicLong(increment);
+                final AtomicLong oldCounter = stripe.putIfAbsent(key, newCounter);
+                if (oldCounter == null) {
+                    return;
+                }
+                counter = oldCounter;
+            }
+            if (add(counter, increment)) {
+                return;
+            }
+            // retired by a concurrent flush
+            stripe.remove(key, counter);
+        }
+    }
+
+    private boolean add(AtomicLong counter, long increment) {
+        while (true) {
+            final long current = counter.get();
+            if (current == RETIRED) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current + increment)) {
+                return true;
+            }
+        }
+    }
+
+    private ConcurrentMap<K, AtomicLong> getStripe(K key) {
+        return stripes[spread(key.hashCode()) & stripeMask];
+    }
+
+    private static int spread(int hash) {
+        // the low bits select the stripe, mix in the high bits as HashMap does
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Hands the count accumulated since the previous flush of every key to the handler and resets it.
+     * Keys without any increment since the previous flush are removed.
+     * Must not be called concurrently with itself.
+     */
+    public void flush(FlushHandler<K> handler) {
+        if (handler == null) {
+            throw new NullPointerException("handler must not be null");
+        }
+        for (ConcurrentMap<K, AtomicLong> stripe : stripes) {
+            for (Map.Entry<K, AtomicLong> entry : stripe.entrySet()) {
+                final K key = entry.getKey();
+                final AtomicLong counter = entry.getValue();
+                final long count = drain(counter);
+                if (count == 0) {
+                    stripe.remove(key, counter);
+                } else if (count != RETIRED) {
+                    handler.handle(key, count);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the drained count, 0 if the counter has been retired by this call
+     */
+    private long drain(AtomicLong counter) {
+        while (true) {
+            final long current = counter.get();
+            if (current == RETIRED) {
+                return RETIRED;
+            }
+            final long next = (current == 0) ? RETIRED : 0;
+            if (counter.compareAndSet(current, next)) {
+                return current;
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentMap<K, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    public interface FlushHandler<K> {
+        void handle(K key, long count);
+    }
+}
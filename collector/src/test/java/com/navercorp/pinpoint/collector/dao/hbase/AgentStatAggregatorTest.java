@@ -0,0 +1,127 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import com.navercorp.pinpoint.thrift.dto.TAgentStat;
+import com.navercorp.pinpoint.thrift.dto.TCpuLoad;
+import com.navercorp.pinpoint.thrift.dto.TJvmGc;
+import com.navercorp.pinpoint.thrift.dto.TTransaction;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class AgentStatAggregatorTest {
+
+    private static final long INTERVAL = 60000;
+
+    @Test
+    public void aggregate() {
+        AgentStatAggregator aggregator = new AgentStatAggregator(INTERVAL);
+        aggregator.add(createAgentStat("agent", INTERVAL + 5000, 100, 0.1, 10, 1));
+        aggregator.add(createAgentStat("agent", INTERVAL + 10000, 300, 0.3, 20, 2));
+        Assert.assertTrue(aggregator.drain(INTERVAL + 15000).isEmpty());
+
+        // the next slot completes the previous one
+        aggregator.add(createAgentStat("agent", INTERVAL * 2, 500, 0.5, 30, 3));
+        List<TAgentStat> aggregated = aggregator.drain(INTERVAL * 2);
+        Assert.assertEquals(1, aggregated.size());
+
+        TAgentStat agentStat = aggregated.get(0);
+        Assert.assertEquals("agent", agentStat.getAgentId());
+        Assert.assertEquals(INTERVAL, agentStat.getTimestamp());
+        Assert.assertEquals(10000, agentStat.getCollectInterval());
+        Assert.assertEquals(200, agentStat.getGc().getJvmMemoryHeapUsed());
+        Assert.assertEquals(1000, agentStat.getGc().getJvmMemoryHeapMax());
+        Assert.assertEquals(2, agentStat.getGc().getJvmGcOldCount());
+        Assert.assertEquals(0.2, agentStat.getCpuLoad().getJvmCpuLoad(), 0.0001);
+        Assert.assertFalse(agentStat.getCpuLoad().isSetSystemCpuLoad());
+        Assert.assertEquals(30, agentStat.getTransaction().getSampledNewCount());
+    }
+
+    @Test
+    public void idleSlot() {
+        AgentStatAggregator aggregator = new AgentStatAggregator(INTERVAL);
+        aggregator.add(createAgentStat("agent1", 1000, 100, 0.1, 10, 1));
+        aggregator.add(createAgentStat("agent2", 1000, 100, 0.1, 10, 1));
+        Assert.assertEquals(2, aggregator.getSlotCount());
+
+        Assert.assertTrue(aggregator.drain(INTERVAL).isEmpty());
+        Assert.assertEquals(2, aggregator.drain(INTERVAL * 2).size());
+        Assert.assertEquals(0, aggregator.getSlotCount());
+    }
+
+    @Test
+    public void lateAgentStat() {
+        AgentStatAggregator aggregator = new AgentStatAggregator(INTERVAL);
+        aggregator.add(createAgentStat("agent", INTERVAL + 1000, 100, 0.1, 10, 1));
+        aggregator.add(createAgentStat("agent", 1000, 100, 0.1, 10, 1));
+
+        List<TAgentStat> aggregated = aggregator.drainAll();
+        Assert.assertEquals(1, aggregated.size());
+        Assert.assertEquals(10, aggregated.get(0).getTransaction().getSampledNewCount());
+    }
+
+    @Test
+    public void restartedAgent() {
+        AgentStatAggregator aggregator = new AgentStatAggregator(INTERVAL);
+        aggregator.add(createAgentStat("agent", 0, 1000, 100, 0.1, 10, 1));
+        // the restarted agent starts over from gcOldCount 0 and must not be mixed into the previous run
+        aggregator.add(createAgentStat("agent", 2000, 3000, 300, 0.3, 20, 0));
+        Assert.assertEquals(2, aggregator.getSlotCount());
+
+        List<TAgentStat> aggregated = aggregator.drainAll();
+        Assert.assertEquals(2, aggregated.size());
+        for (TAgentStat agentStat : aggregated) {
+            Assert.assertEquals(5000, agentStat.getCollectInterval());
+            if (agentStat.getStartTimestamp() == 0) {
+                Assert.assertEquals(1, agentStat.getGc().getJvmGcOldCount());
+            } else {
+                Assert.assertEquals(0, agentStat.getGc().getJvmGcOldCount());
+            }
+        }
+    }
+
+    private TAgentStat createAgentStat(String agentId, long timestamp, long heapUsed, double jvmCpuLoad, long sampledNewCount, long gcOldCount) {
+        return createAgentStat(agentId, 0, timestamp, heapUsed, jvmCpuLoad, sampledNewCount, gcOldCount);
+    }
+
+    private TAgentStat createAgentStat(String agentId, long startTimestamp, long timestamp, long heapUsed, double jvmCpuLoad, long sampledNewCount, long gcOldCount) {
+        TAgentStat agentStat = new TAgentStat();
+        agentStat.setAgentId(agentId);
+        agentStat.setStartTimestamp(startTimestamp);
+        agentStat.setTimestamp(timestamp);
+        agentStat.setCollectInterval(5000);
+
+        TJvmGc gc = new TJvmGc();
+        gc.setJvmMemoryHeapUsed(heapUsed);
+        gc.setJvmMemoryHeapMax(1000);
+        gc.setJvmGcOldCount(gcOldCount);
+        agentStat.setGc(gc);
+
+        TCpuLoad cpuLoad = new TCpuLoad();
+        cpuLoad.setJvmCpuLoad(jvmCpuLoad);
+        cpuLoad.setSystemCpuLoad(-1);
+        agentStat.setCpuLoad(cpuLoad);
+
+        TTransaction transaction = new TTransaction();
+        transaction.setSampledNewCount(sampledNewCount);
+        agentStat.setTransaction(transaction);
+        return agentStat;
+    }
+}
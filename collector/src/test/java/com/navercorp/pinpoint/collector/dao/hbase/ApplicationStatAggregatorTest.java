@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import com.navercorp.pinpoint.common.server.bo.ApplicationStatBo;
+import com.navercorp.pinpoint.thrift.dto.TAgentStat;
+import com.navercorp.pinpoint.thrift.dto.TJvmGc;
+import com.navercorp.pinpoint.thrift.dto.TTransaction;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class ApplicationStatAggregatorTest {
+
+    private static final long INTERVAL = 60000;
+
+    @Test
+    public void aggregate() {
+        ApplicationStatAggregator aggregator = new ApplicationStatAggregator(INTERVAL);
+        final long now = INTERVAL;
+        Assert.assertTrue(aggregator.add("app", createAgentStat("agent1", INTERVAL, 100, 1, 50), now));
+        Assert.assertTrue(aggregator.add("app", createAgentStat("agent1", INTERVAL + 5000, 300, 3, 100), now));
+        Assert.assertTrue(aggregator.add("app", createAgentStat("agent2", INTERVAL + 5000, 200, 5, 0), now));
+        Assert.assertTrue(aggregator.add("other", createAgentStat("agent3", INTERVAL + 5000, 200, 5, 0), now));
+
+        Assert.assertTrue(aggregator.drain(INTERVAL * 2).isEmpty());
+        List<ApplicationStatBo> applicationStats = aggregator.drain(INTERVAL * 3);
+        Assert.assertEquals(2, applicationStats.size());
+        Assert.assertEquals(0, aggregator.getSlotCount());
+
+        ApplicationStatBo app = "app".equals(applicationStats.get(0).getApplicationName()) ? applicationStats.get(0) : applicationStats.get(1);
+        Assert.assertEquals(INTERVAL, app.getTimestamp());
+
+        ApplicationStatBo.Summary heapUsed = app.getSummary(ApplicationStatBo.Type.HEAP_USED);
+        Assert.assertEquals(3, heapUsed.getCount());
+        Assert.assertEquals(200, heapUsed.getAvg(), 0.0001);
+        Assert.assertEquals("agent1", heapUsed.getMaxAgentId());
+
+        // only the second stat of agent1 has a previous stat
+        ApplicationStatBo.Summary gcOldCount = app.getSummary(ApplicationStatBo.Type.GC_OLD_COUNT);
+        Assert.assertEquals(1, gcOldCount.getCount());
+        Assert.assertEquals(2, gcOldCount.getSum(), 0.0001);
+
+        ApplicationStatBo.Summary tps = app.getSummary(ApplicationStatBo.Type.TPS);
+        Assert.assertEquals(20, tps.getMax(), 0.0001);
+    }
+
+    @Test
+    public void lateAgentStat() {
+        ApplicationStatAggregator aggregator = new ApplicationStatAggregator(INTERVAL);
+        Assert.assertFalse(aggregator.add("app", createAgentStat("agent1", 0, 100, 1, 0), INTERVAL * 2));
+        Assert.assertEquals(0, aggregator.getSlotCount());
+    }
+
+    @Test
+    public void expireAgent() {
+        ApplicationStatAggregator aggregator = new ApplicationStatAggregator(INTERVAL);
+        aggregator.add("app", createAgentStat("agent1", 0, 100, 1, 0), 0);
+        Assert.assertEquals(1, aggregator.getAgentCount());
+        aggregator.drain(INTERVAL * 11);
+        Assert.assertEquals(0, aggregator.getAgentCount());
+    }
+
+    @Test
+    public void drainAll() {
+        ApplicationStatAggregator aggregator = new ApplicationStatAggregator(INTERVAL);
+        aggregator.add("app", createAgentStat("agent1", INTERVAL, 100, 1, 0), INTERVAL);
+        Assert.assertTrue(aggregator.drain(INTERVAL).isEmpty());
+
+        // the open slot is not dropped
+        Assert.assertEquals(1, aggregator.drainAll().size());
+        Assert.assertEquals(0, aggregator.getSlotCount());
+    }
+
+    private TAgentStat createAgentStat(String agentId, long timestamp, long heapUsed, long gcOldCount, long sampledNewCount) {
+        TAgentStat agentStat = new TAgentStat();
+        agentStat.setAgentId(agentId);
+        agentStat.setStartTimestamp(0);
+        agentStat.setTimestamp(timestamp);
+        agentStat.setCollectInterval(5000);
+
+        TJvmGc gc = new TJvmGc();
+        gc.setJvmMemoryHeapUsed(heapUsed);
+        gc.setJvmGcOldCount(gcOldCount);
+        agentStat.setGc(gc);
+
+        TTransaction transaction = new TTransaction();
+        transaction.setSampledNewCount(sampledNewCount);
+        agentStat.setTransaction(transaction);
+        return agentStat;
+    }
+}
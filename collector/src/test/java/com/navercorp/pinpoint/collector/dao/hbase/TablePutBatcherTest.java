@@ -0,0 +1,157 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class TablePutBatcherTest {
+
+    private static final TableName TABLE_NAME = TableName.valueOf("TEST");
+
+    @Test
+    public void flushWhenBatchIsFull() throws Exception {
+        RecordingFlusher flusher = new RecordingFlusher();
+        TablePutBatcher batcher = new TablePutBatcher(TABLE_NAME, flusher, 10, 60 * 1000, 100);
+        batcher.start(PinpointThreadFactory.createThreadFactory("test", true));
+        try {
+            for (int i = 0; i < 10; i++) {
+                Assert.assertTrue(batcher.offer(newPut(i), 100));
+            }
+            flusher.await(10);
+
+            Assert.assertEquals(1, flusher.getBatchSizeList().size());
+            Assert.assertEquals(10, (int) flusher.getBatchSizeList().get(0));
+        } finally {
+            batcher.stop(1000);
+        }
+    }
+
+    @Test
+    public void flushWhenIntervalElapsed() throws Exception {
+        RecordingFlusher flusher = new RecordingFlusher();
+        TablePutBatcher batcher = new TablePutBatcher(TABLE_NAME, flusher, 100, 50, 100);
+        batcher.start(PinpointThreadFactory.createThreadFactory("test", true));
+        try {
+            for (int i = 0; i < 3; i++) {
+                Assert.assertTrue(batcher.offer(newPut(i), 100));
+            }
+            flusher.await(3);
+
+            Assert.assertEquals(3, batcher.getPutCount());
+        } finally {
+            batcher.stop(1000);
+        }
+    }
+
+    @Test
+    public void stopFlushesRemainingPuts() throws Exception {
+        RecordingFlusher flusher = new RecordingFlusher();
+        TablePutBatcher batcher = new TablePutBatcher(TABLE_NAME, flusher, 1000, 60 * 1000, 1000);
+        batcher.start(PinpointThreadFactory.createThreadFactory("test", true));
+        for (int i = 0; i < 5; i++) {
+            Assert.assertTrue(batcher.offer(newPut(i), 100));
+        }
+        batcher.stop(5000);
+
+        Assert.assertEquals(5, flusher.getPutCount());
+        Assert.assertFalse(batcher.offer(newPut(6), 100));
+    }
+
+    @Test
+    public void offerTimeoutWhenQueueIsFull() throws Exception {
+        TablePutBatcher batcher = new TablePutBatcher(TABLE_NAME, new RecordingFlusher(), 10, 100, 2);
+        // the writer thread is started without being run, so nothing drains the queue
+        batcher.start(new java.util.concurrent.ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                return new Thread();
+            }
+        });
+
+        Assert.assertTrue(batcher.offer(newPut(0), 10));
+        Assert.assertTrue(batcher.offer(newPut(1), 10));
+        Assert.assertFalse(batcher.offer(newPut(2), 10));
+        Assert.assertEquals(2, batcher.getQueueSize());
+    }
+
+    @Test
+    public void stopFlushesPutsMissedByWriter() throws Exception {
+        RecordingFlusher flusher = new RecordingFlusher();
+        TablePutBatcher batcher = new TablePutBatcher(TABLE_NAME, flusher, 10, 100, 10);
+        // the writer thread is started without being run, so only stop() can drain the queue
+        batcher.start(new java.util.concurrent.ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                return new Thread();
+            }
+        });
+        Assert.assertTrue(batcher.offer(newPut(0), 10));
+        Assert.assertTrue(batcher.offer(newPut(1), 10));
+
+        batcher.stop(100);
+
+        Assert.assertEquals(2, flusher.getPutCount());
+        Assert.assertEquals(0, batcher.getQueueSize());
+    }
+
+    private Put newPut(int i) {
+        return new Put(Bytes.toBytes(i));
+    }
+
+    private static class RecordingFlusher implements TablePutBatcher.Flusher {
+        private final List<Integer> batchSizeList = new CopyOnWriteArrayList<>();
+        private final List<Put> putList = new CopyOnWriteArrayList<>();
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile int expected = Integer.MAX_VALUE;
+
+        @Override
+        public void flush(TableName tableName, List<Put> puts) {
+            batchSizeList.add(puts.size());
+            putList.addAll(puts);
+            if (putList.size() >= expected) {
+                latch.countDown();
+            }
+        }
+
+        void await(int expected) throws InterruptedException {
+            this.expected = expected;
+            if (putList.size() >= expected) {
+                return;
+            }
+            Assert.assertTrue(latch.await(5000, TimeUnit.MILLISECONDS));
+        }
+
+        List<Integer> getBatchSizeList() {
+            return new ArrayList<>(batchSizeList);
+        }
+
+        int getPutCount() {
+            return putList.size();
+        }
+    }
+}
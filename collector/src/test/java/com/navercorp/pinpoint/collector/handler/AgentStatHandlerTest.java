@@ -29,6 +29,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import com.navercorp.pinpoint.collector.dao.AgentStatDao;
+import com.navercorp.pinpoint.collector.dao.ApplicationStatDao;
 import com.navercorp.pinpoint.collector.handler.AgentStatHandler;
 import com.navercorp.pinpoint.thrift.dto.TAgentInfo;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
@@ -44,6 +45,9 @@ public class AgentStatHandlerTest {
     @Mock
     private AgentStatDao agentStatDao;
 
+    @Mock
+    private ApplicationStatDao applicationStatDao;
+
     @InjectMocks
     private AgentStatHandler agentStatHandler = new AgentStatHandler();
 
@@ -62,6 +66,7 @@ public class AgentStatHandlerTest {
         agentStatHandler.handle(agentStat);
         // Then
         verify(agentStatDao).insert(any(TAgentStat.class));
+        verify(applicationStatDao).insert(any(TAgentStat.class));
     }
 
     @Test
@@ -75,6 +80,7 @@ public class AgentStatHandlerTest {
         agentStatHandler.handle(agentStatBatch);
         // Then
         verify(agentStatDao, times(numBatches)).insert(any(TAgentStat.class));
+        verify(applicationStatDao, times(numBatches)).insert(any(TAgentStat.class));
     }
 
     @Test(expected=IllegalArgumentException.class)
@@ -22,6 +22,9 @@ import java.net.DatagramSocket;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Assert;
 import org.junit.Ignore;
@@ -29,7 +32,9 @@ import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.codahale.metrics.MetricRegistry;
 import com.navercorp.pinpoint.collector.receiver.DataReceiver;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.util.SocketUtils;
 
 /**
@@ -61,6 +66,37 @@ public class UDPReceiverTest {
         }
     }
 
+    @Test
+    public void nioReceive() throws Exception {
+        final int port = SocketUtils.findAvailableUdpPort(11999);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicInteger receivedLength = new AtomicInteger();
+        UDPReceiver receiver = new UDPReceiver("test", new PacketHandlerFactory<DatagramPacket>() {
+            @Override
+            public PacketHandler<DatagramPacket> createPacketHandler() {
+                return new PacketHandler<DatagramPacket>() {
+                    @Override
+                    public void receive(DatagramPacket packet) {
+                        receivedLength.set(packet.getLength());
+                        latch.countDown();
+                    }
+                };
+            }
+        }, "127.0.0.1", port, 1024 * 64, "DEFAULT_EXECUTOR", 1, 10, false, "NIO", 1);
+        ReflectionTestUtils.setField(receiver, "metricRegistry", new MetricRegistry());
+
+        DatagramSocket sender = new DatagramSocket();
+        try {
+            receiver.start();
+            sender.send(new DatagramPacket(new byte[10], 10, new InetSocketAddress("127.0.0.1", port)));
+            Assert.assertTrue(latch.await(3000, TimeUnit.MILLISECONDS));
+            Assert.assertEquals(10, receivedLength.get());
+        } finally {
+            sender.close();
+            receiver.shutdown();
+        }
+    }
+
     @Test
     public void hostNullCheck() {
         InetSocketAddress address = new InetSocketAddress((InetAddress) null, 90);
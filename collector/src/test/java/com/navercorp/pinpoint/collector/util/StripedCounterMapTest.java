@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class StripedCounterMapTest {
+
+    @Test
+    public void testIncrement() throws Exception {
+        StripedCounterMap<String> counter = new StripedCounterMap<>();
+        counter.increment("a", 1L);
+        counter.increment("a", 2L);
+        counter.increment("b", 5L);
+
+        Map<String, Long> flush = flush(counter);
+        Assert.assertEquals(2, flush.size());
+        Assert.assertEquals(3L, (long) flush.get("a"));
+        Assert.assertEquals(5L, (long) flush.get("b"));
+
+        counter.increment("a", 1L);
+        Map<String, Long> flush2 = flush(counter);
+        Assert.assertEquals(1, flush2.size());
+        Assert.assertEquals(1L, (long) flush2.get("a"));
+    }
+
+    @Test
+    public void idleKeyIsRemoved() throws Exception {
+        StripedCounterMap<String> counter = new StripedCounterMap<>(4);
+        counter.increment("a", 1L);
+        counter.increment("b", 1L);
+        flush(counter);
+        // flushed keys are kept for the next interval
+        Assert.assertEquals(2, counter.size());
+
+        counter.increment("a", 1L);
+        Map<String, Long> flush = flush(counter);
+        Assert.assertEquals(1, flush.size());
+        Assert.assertEquals(1, counter.size());
+
+        // the retired key is inserted again
+        counter.increment("b", 3L);
+        Map<String, Long> flush2 = flush(counter);
+        Assert.assertEquals(3L, (long) flush2.get("b"));
+    }
+
+    @Test
+    public void concurrentIncrementWhileFlushing() throws Exception {
+        final StripedCounterMap<Integer> counter = new StripedCounterMap<>(4);
+        final int threadCount = 4;
+        final int incrementCount = 100000;
+        final int keyCount = 16;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        final CountDownLatch done = new CountDownLatch(threadCount);
+        try {
+            for (int i = 0; i < threadCount; i++) {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int j = 0; j < incrementCount; j++) {
+                            counter.increment(j % keyCount, 1L);
+                        }
+                        done.countDown();
+                    }
+                });
+            }
+
+            final AtomicBoolean finished = new AtomicBoolean();
+            long total = 0;
+            while (!finished.get()) {
+                finished.set(done.await(1, TimeUnit.MILLISECONDS));
+                for (long count : flush(counter).values()) {
+                    total += count;
+                }
+            }
+            Assert.assertEquals((long) threadCount * incrementCount, total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private <K> Map<K, Long> flush(StripedCounterMap<K> counter) {
+        final Map<K, Long> result = new HashMap<>();
+        counter.flush(new StripedCounterMap.FlushHandler<K>() {
+            @Override
+            public void handle(K key, long count) {
+                Assert.assertNull("key flushed twice", result.put(key, count));
+            }
+        });
+        return result;
+    }
+}
@@ -57,7 +57,21 @@ public final class HBaseTables {
     public static final byte[] AGENT_STAT_COL_TRANSACTION_UNSAMPLED_NEW = Bytes.toBytes("tUnSN"); // qualifier for unsampled new count
     public static final byte[] AGENT_STAT_COL_TRANSACTION_UNSAMPLED_CONTINUATION = Bytes.toBytes("tUnSC"); // qualifier for unsampled continuation count
     public static final byte[] AGENT_STAT_COL_ACTIVE_TRACE_HISTOGRAM = Bytes.toBytes("aH"); // qualifier for active trace histogram
+    public static final byte[] AGENT_STAT_COL_ALLOCATED_BYTES = Bytes.toBytes("alB"); // qualifier for allocated bytes
+    public static final byte[] AGENT_STAT_COL_SPAN_EVENT_NEW = Bytes.toBytes("seN"); // qualifier for span event new count
+    public static final byte[] AGENT_STAT_COL_SPAN_EVENT_REUSE = Bytes.toBytes("seR"); // qualifier for span event reuse count
+    public static final byte[] AGENT_STAT_COL_SPILL = Bytes.toBytes("spS"); // qualifier for data sender spill count
+    public static final byte[] AGENT_STAT_COL_SPILL_DRAIN = Bytes.toBytes("spD"); // qualifier for data sender spill drain count
+    public static final byte[] AGENT_STAT_COL_SPILL_DROP = Bytes.toBytes("spX"); // qualifier for data sender drop count
+    public static final byte[] AGENT_STAT_COL_TRANSFORM_CLASS = Bytes.toBytes("trC"); // qualifier for classes handed to the class file transformer
+    public static final byte[] AGENT_STAT_COL_TRANSFORM_INDEX_MISS = Bytes.toBytes("trM"); // qualifier for classes rejected by the class name index
+    public static final byte[] AGENT_STAT_COL_TRANSFORM = Bytes.toBytes("trT"); // qualifier for transformed classes
     public static final int AGENT_STAT_ROW_DISTRIBUTE_SIZE = 1; // agent statistics hash size
+    // AgentStatAggr qualifiers are <column>/<agent start timestamp>/<collector>, one set of columns for each agent run and collector
+    public static final char AGENT_STAT_AGGR_COL_DELIMITER = '/';
+
+    public static final TableName APPLICATION_STAT_AGGR = TableName.valueOf("ApplicationStatAggr");
+    public static final byte[] APPLICATION_STAT_AGGR_CF_STATISTICS = Bytes.toBytes("S"); // application statistics column family, qualified by collector
 
     public static final TableName TRACES = TableName.valueOf("Traces");
     public static final byte[] TRACES_CF_SPAN = Bytes.toBytes("S");  //Span
@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.common.server.bo;
 
 import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
 import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.FixedBuffer;
 
 import java.util.Comparator;
 
@@ -218,6 +219,27 @@ public class AgentInfoBo {
         public Builder() {
         }
 
+        /**
+         * Reads the value written by {@link AgentInfoBo#writeValue()}. agentId is not a part of the value.
+         */
+        public Builder(final byte[] value) {
+            final Buffer buffer = new FixedBuffer(value);
+            this.hostName = buffer.readPrefixedString();
+            this.ip = buffer.readPrefixedString();
+            this.ports = buffer.readPrefixedString();
+            this.applicationName = buffer.readPrefixedString();
+            this.serviceTypeCode = buffer.readShort();
+            this.pid = buffer.readInt();
+            this.agentVersion = buffer.readPrefixedString();
+            this.startTime = buffer.readLong();
+            this.endTimeStamp = buffer.readLong();
+            this.endStatus = buffer.readInt();
+            // FIXME - 2015.09 v1.5.0 added vmVersion (check for compatibility)
+            if (buffer.hasRemaining()) {
+                this.vmVersion = buffer.readPrefixedString();
+            }
+        }
+
         public void setHostName(String hostName) {
             this.hostName = hostName;
         }
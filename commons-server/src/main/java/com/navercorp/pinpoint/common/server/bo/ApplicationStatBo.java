@@ -0,0 +1,271 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo;
+
+import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.FixedBuffer;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Summaries of the agent stats of every agent of an application within a time slot.
+ * <p>
+ * The application name and the timestamp are part of the row key, only the summaries are serialized.
+ */
+public class ApplicationStatBo {
+
+    private static final byte VERSION = 0;
+
+    private final String applicationName;
+    private final long timestamp;
+    private final Map<Type, Summary> summaries = new EnumMap<>(Type.class);
+
+    public ApplicationStatBo(String applicationName, long timestamp) {
+        if (applicationName == null) {
+            throw new NullPointerException("applicationName must not be null");
+        }
+        this.applicationName = applicationName;
+        this.timestamp = timestamp;
+    }
+
+    public ApplicationStatBo(String applicationName, long timestamp, byte[] serializedApplicationStatBo) {
+        this(applicationName, timestamp);
+        if (serializedApplicationStatBo == null) {
+            throw new NullPointerException("serializedApplicationStatBo must not be null");
+        }
+        final Buffer buffer = new FixedBuffer(serializedApplicationStatBo);
+        final byte version = buffer.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("unsupported version:" + version);
+        }
+        final int size = buffer.readVInt();
+        for (int i = 0; i < size; i++) {
+            final byte code = buffer.readByte();
+            final Summary summary = Summary.readValue(buffer);
+            final Type type = Type.findByCode(code);
+            // skip the types added by a newer collector
+            if (type != null) {
+                summaries.put(type, summary);
+            }
+        }
+    }
+
+    public String getApplicationName() {
+        return applicationName;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void add(Type type, String agentId, double value) {
+        if (type == null) {
+            throw new NullPointerException("type must not be null");
+        }
+        Summary summary = summaries.get(type);
+        if (summary == null) {
+            summary = new Summary();
+            summaries.put(type, summary);
+        }
+        summary.add(agentId, value);
+    }
+
+    public void merge(ApplicationStatBo applicationStatBo) {
+        if (applicationStatBo == null) {
+            throw new NullPointerException("applicationStatBo must not be null");
+        }
+        for (Map.Entry<Type, Summary> entry : applicationStatBo.summaries.entrySet()) {
+            Summary summary = summaries.get(entry.getKey());
+            if (summary == null) {
+                summary = new Summary();
+                summaries.put(entry.getKey(), summary);
+            }
+            summary.merge(entry.getValue());
+        }
+    }
+
+    public Summary getSummary(Type type) {
+        return summaries.get(type);
+    }
+
+    public Map<Type, Summary> getSummaries() {
+        return Collections.unmodifiableMap(summaries);
+    }
+
+    public boolean isEmpty() {
+        return summaries.isEmpty();
+    }
+
+    public byte[] writeValue() {
+        final Buffer buffer = new AutomaticBuffer(8 + summaries.size() * 64);
+        buffer.putByte(VERSION);
+        buffer.putVInt(summaries.size());
+        for (Map.Entry<Type, Summary> entry : summaries.entrySet()) {
+            buffer.putByte(entry.getKey().getCode());
+            entry.getValue().writeValue(buffer);
+        }
+        return buffer.getBuffer();
+    }
+
+    @Override
+    public String toString() {
+        return "ApplicationStatBo{" +
+                "applicationName='" + applicationName + '\'' +
+                ", timestamp=" + timestamp +
+                ", summaries=" + summaries +
+                '}';
+    }
+
+    public enum Type {
+        HEAP_USED(1),
+        NON_HEAP_USED(2),
+        JVM_CPU_LOAD(3),
+        SYSTEM_CPU_LOAD(4),
+        TPS(5),
+        // per sample increments, the sum is the total of the application
+        GC_OLD_COUNT(6),
+        GC_OLD_TIME(7),
+        ACTIVE_TRACE_COUNT(8);
+
+        private final byte code;
+
+        Type(int code) {
+            this.code = (byte) code;
+        }
+
+        public byte getCode() {
+            return code;
+        }
+
+        public static Type findByCode(byte code) {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Count, sum, min and max of the sampled values, with the agents that sent the min and the max.
+     */
+    public static class Summary {
+        private int count;
+        private double sum;
+        private double min;
+        private double max;
+        private String minAgentId;
+        private String maxAgentId;
+
+        public void add(String agentId, double value) {
+            if (count == 0 || value < min) {
+                min = value;
+                minAgentId = agentId;
+            }
+            if (count == 0 || value > max) {
+                max = value;
+                maxAgentId = agentId;
+            }
+            count++;
+            sum += value;
+        }
+
+        public void merge(Summary summary) {
+            if (summary.count == 0) {
+                return;
+            }
+            if (count == 0 || summary.min < min) {
+                min = summary.min;
+                minAgentId = summary.minAgentId;
+            }
+            if (count == 0 || summary.max > max) {
+                max = summary.max;
+                maxAgentId = summary.maxAgentId;
+            }
+            count += summary.count;
+            sum += summary.sum;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public double getSum() {
+            return sum;
+        }
+
+        public double getMin() {
+            return min;
+        }
+
+        public double getMax() {
+            return max;
+        }
+
+        public double getAvg() {
+            if (count == 0) {
+                return 0;
+            }
+            return sum / count;
+        }
+
+        public String getMinAgentId() {
+            return minAgentId;
+        }
+
+        public String getMaxAgentId() {
+            return maxAgentId;
+        }
+
+        private void writeValue(Buffer buffer) {
+            buffer.putVInt(count);
+            buffer.putDouble(sum);
+            buffer.putDouble(min);
+            buffer.putDouble(max);
+            buffer.putPrefixedString(minAgentId);
+            buffer.putPrefixedString(maxAgentId);
+        }
+
+        private static Summary readValue(Buffer buffer) {
+            final Summary summary = new Summary();
+            summary.count = buffer.readVInt();
+            summary.sum = buffer.readDouble();
+            summary.min = buffer.readDouble();
+            summary.max = buffer.readDouble();
+            summary.minAgentId = buffer.readPrefixedString();
+            summary.maxAgentId = buffer.readPrefixedString();
+            return summary;
+        }
+
+        @Override
+        public String toString() {
+            return "Summary{" +
+                    "count=" + count +
+                    ", sum=" + sum +
+                    ", min=" + min +
+                    ", max=" + max +
+                    ", minAgentId='" + minAgentId + '\'' +
+                    ", maxAgentId='" + maxAgentId + '\'' +
+                    '}';
+        }
+    }
+}
@@ -321,6 +321,10 @@ public class SpanBo implements Span {
         return spanEventBoList;
     }
 
+    public void setSpanEventBoList(List<SpanEventBo> spanEventBoList) {
+        this.spanEventBoList = spanEventBoList;
+    }
+
     public short getServiceType() {
         return serviceType;
     }
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo;
+
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.server.bo.serializer.SpanEventListSerializer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads the span event cell written by {@link SpanEventListSerializer}.
+ */
+public class SpanEventBoListDecoder {
+
+    private final AnnotationBoDecoder annotationBoDecoder = new AnnotationBoDecoder();
+
+    public List<SpanEventBo> decode(long spanId, Buffer buffer) {
+        final byte version = buffer.readByte();
+        if (version != SpanEventListSerializer.VERSION) {
+            throw new IllegalArgumentException("unsupported span event list version:" + version);
+        }
+
+        final String agentId = buffer.readPrefixedString();
+        final String applicationId = buffer.readPrefixedString();
+        final long agentStartTime = buffer.readVLong();
+
+        final int size = buffer.readVInt();
+        final SpanEventBo[] spanEvents = new SpanEventBo[size];
+        for (int i = 0; i < size; i++) {
+            final SpanEventBo spanEvent = new SpanEventBo();
+            spanEvent.setAgentId(agentId);
+            spanEvent.setApplicationId(applicationId);
+            spanEvent.setAgentStartTime(agentStartTime);
+            spanEvent.setSpanId(spanId);
+            spanEvents[i] = spanEvent;
+        }
+
+        int sequence = 0;
+        for (SpanEventBo spanEvent : spanEvents) {
+            sequence += buffer.readSVInt();
+            spanEvent.setSequence((short) sequence);
+        }
+        int depth = 0;
+        for (SpanEventBo spanEvent : spanEvents) {
+            depth += buffer.readSVInt();
+            spanEvent.setDepth(depth);
+        }
+        int startElapsed = 0;
+        for (SpanEventBo spanEvent : spanEvents) {
+            startElapsed += buffer.readSVInt();
+            spanEvent.setStartElapsed(startElapsed);
+        }
+        for (SpanEventBo spanEvent : spanEvents) {
+            spanEvent.setEndElapsed(buffer.readVInt());
+        }
+        for (SpanEventBo spanEvent : spanEvents) {
+            spanEvent.setServiceType((short) buffer.readSVInt());
+        }
+        for (SpanEventBo spanEvent : spanEvents) {
+            spanEvent.setApiId(buffer.readSVInt());
+        }
+        for (SpanEventBo spanEvent : spanEvents) {
+            spanEvent.setNextSpanId(buffer.readSVLong());
+        }
+        for (SpanEventBo spanEvent : spanEvents) {
+            spanEvent.setAsyncId(buffer.readSVInt());
+        }
+        for (SpanEventBo spanEvent : spanEvents) {
+            spanEvent.setAsyncSequence((short) buffer.readSVInt());
+        }
+        for (SpanEventBo spanEvent : spanEvents) {
+            spanEvent.setNextAsyncId(buffer.readSVInt());
+        }
+        for (SpanEventBo spanEvent : spanEvents) {
+            spanEvent.setRpc(buffer.readPrefixedString());
+        }
+        for (SpanEventBo spanEvent : spanEvents) {
+            spanEvent.setEndPoint(buffer.readPrefixedString());
+        }
+        for (SpanEventBo spanEvent : spanEvents) {
+            spanEvent.setDestinationId(buffer.readPrefixedString());
+        }
+        for (SpanEventBo spanEvent : spanEvents) {
+            final boolean hasException = buffer.readBoolean();
+            if (hasException) {
+                spanEvent.setExceptionInfo(buffer.readSVInt(), buffer.readPrefixedString());
+            }
+        }
+        for (SpanEventBo spanEvent : spanEvents) {
+            spanEvent.setAnnotationBoList(annotationBoDecoder.decode(buffer));
+        }
+
+        return new ArrayList<>(Arrays.asList(spanEvents));
+    }
+}
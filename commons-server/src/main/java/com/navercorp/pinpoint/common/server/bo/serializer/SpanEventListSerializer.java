@@ -0,0 +1,154 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.serializer;
+
+import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import org.apache.hadoop.hbase.client.Put;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static com.navercorp.pinpoint.common.hbase.HBaseTables.TRACES_CF_TERMINALSPAN;
+
+/**
+ * Writes all span events of a span or span chunk into a single cell.
+ * <p>
+ * qualifier : spanId(long) + sequence(short) + asyncId(int) + asyncSequence(short) of the first span event + version(byte).
+ * The qualifier is one byte longer than the one written by {@link SpanEventSerializer}, which is how readers tell the formats apart.
+ * <p>
+ * value : agentId, applicationId and agentStartTime once, followed by one column per field.
+ * sequence, depth and startElapsed are delta encoded against the previous span event.
+ */
+@Component
+public class SpanEventListSerializer implements HbaseSerializer<List<SpanEventBo>, Put> {
+
+    public static final byte VERSION = 1;
+
+    public static final int QUALIFIER_SIZE = 8 + 2 + 4 + 2 + 1;
+
+    private AnnotationSerializer annotationSerializer;
+
+    @Autowired
+    public void setAnnotationSerializer(AnnotationSerializer annotationSerializer) {
+        this.annotationSerializer = annotationSerializer;
+    }
+
+    @Override
+    public void serialize(List<SpanEventBo> spanEventBoList, Put put, SerializationContext context) {
+        if (spanEventBoList == null || spanEventBoList.isEmpty()) {
+            return;
+        }
+
+        final ByteBuffer qualifier = writeQualifier(spanEventBoList.get(0));
+
+        final ByteBuffer value = writeValue(spanEventBoList);
+
+        final long acceptedTime = put.getTimeStamp();
+
+        put.addColumn(TRACES_CF_TERMINALSPAN, qualifier, acceptedTime, value);
+    }
+
+    private ByteBuffer writeQualifier(SpanEventBo first) {
+        final Buffer qualifier = new AutomaticBuffer(QUALIFIER_SIZE);
+        qualifier.putLong(first.getSpanId());
+        qualifier.putShort(first.getSequence());
+        qualifier.putInt(first.getAsyncId());
+        qualifier.putShort(first.getAsyncSequence());
+        qualifier.putByte(VERSION);
+        return qualifier.wrapByteBuffer();
+    }
+
+    public ByteBuffer writeValue(List<SpanEventBo> spanEventBoList) {
+        final int size = spanEventBoList.size();
+        final Buffer buffer = new AutomaticBuffer(64 + size * 32);
+
+        buffer.putByte(VERSION);
+
+        // same for every span event of a span/span chunk
+        final SpanEventBo first = spanEventBoList.get(0);
+        buffer.putPrefixedString(first.getAgentId());
+        buffer.putPrefixedString(first.getApplicationId());
+        buffer.putVLong(first.getAgentStartTime());
+
+        buffer.putVInt(size);
+
+        int prevSequence = 0;
+        for (SpanEventBo spanEventBo : spanEventBoList) {
+            buffer.putSVInt(spanEventBo.getSequence() - prevSequence);
+            prevSequence = spanEventBo.getSequence();
+        }
+        int prevDepth = 0;
+        for (SpanEventBo spanEventBo : spanEventBoList) {
+            buffer.putSVInt(spanEventBo.getDepth() - prevDepth);
+            prevDepth = spanEventBo.getDepth();
+        }
+        int prevStartElapsed = 0;
+        for (SpanEventBo spanEventBo : spanEventBoList) {
+            buffer.putSVInt(spanEventBo.getStartElapsed() - prevStartElapsed);
+            prevStartElapsed = spanEventBo.getStartElapsed();
+        }
+        for (SpanEventBo spanEventBo : spanEventBoList) {
+            buffer.putVInt(spanEventBo.getEndElapsed());
+        }
+        for (SpanEventBo spanEventBo : spanEventBoList) {
+            buffer.putSVInt(spanEventBo.getServiceType());
+        }
+        for (SpanEventBo spanEventBo : spanEventBoList) {
+            buffer.putSVInt(spanEventBo.getApiId());
+        }
+        for (SpanEventBo spanEventBo : spanEventBoList) {
+            buffer.putSVLong(spanEventBo.getNextSpanId());
+        }
+        for (SpanEventBo spanEventBo : spanEventBoList) {
+            buffer.putSVInt(spanEventBo.getAsyncId());
+        }
+        for (SpanEventBo spanEventBo : spanEventBoList) {
+            buffer.putSVInt(spanEventBo.getAsyncSequence());
+        }
+        for (SpanEventBo spanEventBo : spanEventBoList) {
+            buffer.putSVInt(spanEventBo.getNextAsyncId());
+        }
+        for (SpanEventBo spanEventBo : spanEventBoList) {
+            buffer.putPrefixedString(spanEventBo.getRpc());
+        }
+        for (SpanEventBo spanEventBo : spanEventBoList) {
+            buffer.putPrefixedString(spanEventBo.getEndPoint());
+        }
+        for (SpanEventBo spanEventBo : spanEventBoList) {
+            buffer.putPrefixedString(spanEventBo.getDestinationId());
+        }
+        for (SpanEventBo spanEventBo : spanEventBoList) {
+            if (spanEventBo.hasException()) {
+                buffer.putBoolean(true);
+                buffer.putSVInt(spanEventBo.getExceptionId());
+                buffer.putPrefixedString(spanEventBo.getExceptionMessage());
+            } else {
+                buffer.putBoolean(false);
+            }
+        }
+        for (SpanEventBo spanEventBo : spanEventBoList) {
+            this.annotationSerializer.writeAnnotationList(spanEventBo.getAnnotationBoList(), buffer);
+        }
+
+        return buffer.wrapByteBuffer();
+    }
+}
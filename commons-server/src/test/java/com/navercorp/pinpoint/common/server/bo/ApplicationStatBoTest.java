@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ApplicationStatBoTest {
+
+    @Test
+    public void serialize() {
+        ApplicationStatBo applicationStatBo = new ApplicationStatBo("app", 60000);
+        applicationStatBo.add(ApplicationStatBo.Type.JVM_CPU_LOAD, "agent1", 0.5);
+        applicationStatBo.add(ApplicationStatBo.Type.JVM_CPU_LOAD, "agent2", 0.1);
+        applicationStatBo.add(ApplicationStatBo.Type.JVM_CPU_LOAD, "agent3", 0.3);
+        applicationStatBo.add(ApplicationStatBo.Type.TPS, "agent1", 10);
+
+        ApplicationStatBo deserialized = new ApplicationStatBo("app", 60000, applicationStatBo.writeValue());
+        Assert.assertEquals(2, deserialized.getSummaries().size());
+
+        ApplicationStatBo.Summary cpu = deserialized.getSummary(ApplicationStatBo.Type.JVM_CPU_LOAD);
+        Assert.assertEquals(3, cpu.getCount());
+        Assert.assertEquals(0.3, cpu.getAvg(), 0.0001);
+        Assert.assertEquals(0.1, cpu.getMin(), 0.0001);
+        Assert.assertEquals("agent2", cpu.getMinAgentId());
+        Assert.assertEquals(0.5, cpu.getMax(), 0.0001);
+        Assert.assertEquals("agent1", cpu.getMaxAgentId());
+    }
+
+    @Test
+    public void merge() {
+        ApplicationStatBo collector1 = new ApplicationStatBo("app", 60000);
+        collector1.add(ApplicationStatBo.Type.GC_OLD_TIME, "agent1", 100);
+        collector1.add(ApplicationStatBo.Type.GC_OLD_TIME, "agent2", 0);
+        ApplicationStatBo collector2 = new ApplicationStatBo("app", 60000);
+        collector2.add(ApplicationStatBo.Type.GC_OLD_TIME, "agent3", 300);
+        collector2.add(ApplicationStatBo.Type.HEAP_USED, "agent3", 1024);
+
+        ApplicationStatBo merged = new ApplicationStatBo("app", 60000);
+        merged.merge(collector1);
+        merged.merge(collector2);
+
+        ApplicationStatBo.Summary gcOldTime = merged.getSummary(ApplicationStatBo.Type.GC_OLD_TIME);
+        Assert.assertEquals(3, gcOldTime.getCount());
+        Assert.assertEquals(400, gcOldTime.getSum(), 0.0001);
+        Assert.assertEquals("agent2", gcOldTime.getMinAgentId());
+        Assert.assertEquals("agent3", gcOldTime.getMaxAgentId());
+        Assert.assertEquals(1, merged.getSummary(ApplicationStatBo.Type.HEAP_USED).getCount());
+    }
+}
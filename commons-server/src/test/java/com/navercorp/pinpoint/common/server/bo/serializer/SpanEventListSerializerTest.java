@@ -0,0 +1,137 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.serializer;
+
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.OffsetFixedBuffer;
+import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBoListDecoder;
+import com.navercorp.pinpoint.thrift.dto.TAnnotation;
+import com.navercorp.pinpoint.thrift.dto.TAnnotationValue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class SpanEventListSerializerTest {
+
+    private final SpanEventListSerializer serializer = new SpanEventListSerializer();
+    private final SpanEventBoListDecoder decoder = new SpanEventBoListDecoder();
+
+    public SpanEventListSerializerTest() {
+        serializer.setAnnotationSerializer(new AnnotationSerializer());
+    }
+
+    @Test
+    public void serialize() {
+        final List<SpanEventBo> spanEventBoList = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            SpanEventBo spanEventBo = createSpanEventBo(i);
+            spanEventBoList.add(spanEventBo);
+        }
+        SpanEventBo exception = spanEventBoList.get(2);
+        exception.setExceptionInfo(1000, "exception");
+        exception.setNextSpanId(Long.MAX_VALUE);
+        exception.setAnnotationBoList(Collections.singletonList(createAnnotationBo(12, "value")));
+        SpanEventBo async = spanEventBoList.get(4);
+        async.setAsyncId(3);
+        async.setAsyncSequence((short) 1);
+        async.setNextAsyncId(4);
+        async.setDepth(1);
+
+        final List<SpanEventBo> decodedList = decode(1234L, serializer.writeValue(spanEventBoList));
+
+        Assert.assertEquals(spanEventBoList.size(), decodedList.size());
+        for (int i = 0; i < spanEventBoList.size(); i++) {
+            assertSpanEvent(spanEventBoList.get(i), decodedList.get(i));
+            Assert.assertEquals(1234L, decodedList.get(i).getSpanId());
+        }
+        Assert.assertEquals("value", decodedList.get(2).getAnnotationBoList().get(0).getValue());
+    }
+
+    @Test
+    public void unorderedSequence() {
+        final List<SpanEventBo> spanEventBoList = new ArrayList<>();
+        spanEventBoList.add(createSpanEventBo(10));
+        spanEventBoList.add(createSpanEventBo(3));
+        spanEventBoList.add(createSpanEventBo(Short.MAX_VALUE));
+
+        final List<SpanEventBo> decodedList = decode(1L, serializer.writeValue(spanEventBoList));
+        for (int i = 0; i < spanEventBoList.size(); i++) {
+            assertSpanEvent(spanEventBoList.get(i), decodedList.get(i));
+        }
+    }
+
+    private List<SpanEventBo> decode(long spanId, ByteBuffer byteBuffer) {
+        Buffer buffer = new OffsetFixedBuffer(byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(), byteBuffer.remaining());
+        List<SpanEventBo> decodedList = decoder.decode(spanId, buffer);
+        Assert.assertFalse(buffer.hasRemaining());
+        return decodedList;
+    }
+
+    private AnnotationBo createAnnotationBo(int key, String value) {
+        TAnnotation annotation = new TAnnotation(key);
+        annotation.setValue(TAnnotationValue.stringValue(value));
+        return new AnnotationBo(annotation);
+    }
+
+    private SpanEventBo createSpanEventBo(int sequence) {
+        SpanEventBo spanEventBo = new SpanEventBo();
+        spanEventBo.setAgentId("agentId");
+        spanEventBo.setApplicationId("applicationId");
+        spanEventBo.setAgentStartTime(1L);
+        spanEventBo.setSequence((short) sequence);
+        spanEventBo.setDepth(sequence + 1);
+        spanEventBo.setStartElapsed(sequence * 10);
+        spanEventBo.setEndElapsed(sequence);
+        spanEventBo.setServiceType((short) 5000);
+        spanEventBo.setApiId(-sequence);
+        spanEventBo.setRpc("rpc" + sequence);
+        spanEventBo.setEndPoint(sequence % 2 == 0 ? null : "endPoint");
+        spanEventBo.setDestinationId("destinationId");
+        return spanEventBo;
+    }
+
+    private void assertSpanEvent(SpanEventBo expected, SpanEventBo actual) {
+        Assert.assertEquals(expected.getAgentId(), actual.getAgentId());
+        Assert.assertEquals(expected.getApplicationId(), actual.getApplicationId());
+        Assert.assertEquals(expected.getAgentStartTime(), actual.getAgentStartTime());
+        Assert.assertEquals(expected.getSequence(), actual.getSequence());
+        Assert.assertEquals(expected.getDepth(), actual.getDepth());
+        Assert.assertEquals(expected.getStartElapsed(), actual.getStartElapsed());
+        Assert.assertEquals(expected.getEndElapsed(), actual.getEndElapsed());
+        Assert.assertEquals(expected.getServiceType(), actual.getServiceType());
+        Assert.assertEquals(expected.getApiId(), actual.getApiId());
+        Assert.assertEquals(expected.getNextSpanId(), actual.getNextSpanId());
+        Assert.assertEquals(expected.getAsyncId(), actual.getAsyncId());
+        Assert.assertEquals(expected.getAsyncSequence(), actual.getAsyncSequence());
+        Assert.assertEquals(expected.getNextAsyncId(), actual.getNextAsyncId());
+        Assert.assertEquals(expected.getRpc(), actual.getRpc());
+        Assert.assertEquals(expected.getEndPoint(), actual.getEndPoint());
+        Assert.assertEquals(expected.getDestinationId(), actual.getDestinationId());
+        Assert.assertEquals(expected.hasException(), actual.hasException());
+        Assert.assertEquals(expected.getExceptionId(), actual.getExceptionId());
+        Assert.assertEquals(expected.getExceptionMessage(), actual.getExceptionMessage());
+        int expectedAnnotationSize = expected.getAnnotationBoList() == null ? 0 : expected.getAnnotationBoList().size();
+        Assert.assertEquals(expectedAnnotationSize, actual.getAnnotationBoList().size());
+    }
+}
@@ -16,9 +16,6 @@
 
 package com.navercorp.pinpoint.plugin.cassandra.interceptor;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.RegularStatement;
 import com.navercorp.pinpoint.bootstrap.context.DatabaseInfo;
@@ -36,6 +33,7 @@ import com.navercorp.pinpoint.bootstrap.plugin.jdbc.BindValueAccessor;
 import com.navercorp.pinpoint.bootstrap.plugin.jdbc.DatabaseInfoAccessor;
 import com.navercorp.pinpoint.bootstrap.plugin.jdbc.ParsingResultAccessor;
 import com.navercorp.pinpoint.bootstrap.plugin.jdbc.UnKnownDatabaseInfo;
+import com.navercorp.pinpoint.bootstrap.plugin.jdbc.bindvalue.BindValueHolder;
 import com.navercorp.pinpoint.bootstrap.plugin.jdbc.bindvalue.BindValueUtils;
 
 /**
@@ -111,7 +109,7 @@ public class CassandraStatementExecuteQueryInterceptor implements AroundIntercep
                 }
             }
 
-            Map<Integer, String> bindValue = ((BindValueAccessor) target)._$PINPOINT$_getBindValue();
+            BindValueHolder bindValue = ((BindValueAccessor) target)._$PINPOINT$_getBindValue();
             // TODO Add bind variable interceptors to BoundStatement's setter methods and bind method and pass it down
             // Extracting bind variables from already-serialized is too risky
             if (bindValue != null && !bindValue.isEmpty()) {
@@ -133,11 +131,14 @@ public class CassandraStatementExecuteQueryInterceptor implements AroundIntercep
 
     private void clean(Object target) {
         if (target instanceof BindValueAccessor) {
-            ((BindValueAccessor) target)._$PINPOINT$_setBindValue(new HashMap<Integer, String>());
+            final BindValueHolder bindValue = ((BindValueAccessor) target)._$PINPOINT$_getBindValue();
+            if (bindValue != null) {
+                bindValue.clear();
+            }
         }
     }
 
-    private String toBindVariable(Map<Integer, String> bindValue) {
+    private String toBindVariable(BindValueHolder bindValue) {
         return BindValueUtils.bindValueToString(bindValue, maxSqlBindValueLength);
     }
 
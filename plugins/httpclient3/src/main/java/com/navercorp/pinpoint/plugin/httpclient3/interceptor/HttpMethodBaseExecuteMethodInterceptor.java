@@ -50,6 +50,7 @@ import com.navercorp.pinpoint.bootstrap.util.InterceptorUtils;
 import com.navercorp.pinpoint.bootstrap.util.SimpleSampler;
 import com.navercorp.pinpoint.bootstrap.util.SimpleSamplerFactory;
 import com.navercorp.pinpoint.bootstrap.util.StringUtils;
+import com.navercorp.pinpoint.bootstrap.util.TraceHeaderUtils;
 import com.navercorp.pinpoint.common.trace.AnnotationKey;
 import com.navercorp.pinpoint.plugin.httpclient3.HttpClient3CallContext;
 import com.navercorp.pinpoint.plugin.httpclient3.HttpClient3CallContextFactory;
@@ -193,10 +194,10 @@ public class HttpMethodBaseExecuteMethodInterceptor implements AroundInterceptor
     private void setHttpTraceHeader(final Object target, final Object[] args, TraceId nextId) {
         if (target instanceof HttpMethod) {
             final HttpMethod httpMethod = (HttpMethod) target;
-            httpMethod.setRequestHeader(Header.HTTP_TRACE_ID.toString(), nextId.getTransactionId());
-            httpMethod.setRequestHeader(Header.HTTP_SPAN_ID.toString(), String.valueOf(nextId.getSpanId()));
-            httpMethod.setRequestHeader(Header.HTTP_PARENT_SPAN_ID.toString(), String.valueOf(nextId.getParentSpanId()));
-            httpMethod.setRequestHeader(Header.HTTP_FLAGS.toString(), String.valueOf(nextId.getFlags()));
+            httpMethod.setRequestHeader(Header.HTTP_TRACE_ID.toString(), TraceHeaderUtils.getTransactionId(nextId));
+            httpMethod.setRequestHeader(Header.HTTP_SPAN_ID.toString(), TraceHeaderUtils.getSpanId(nextId));
+            httpMethod.setRequestHeader(Header.HTTP_PARENT_SPAN_ID.toString(), TraceHeaderUtils.getParentSpanId(nextId));
+            httpMethod.setRequestHeader(Header.HTTP_FLAGS.toString(), TraceHeaderUtils.getFlags(nextId));
             httpMethod.setRequestHeader(Header.HTTP_PARENT_APPLICATION_NAME.toString(), traceContext.getApplicationName());
             httpMethod.setRequestHeader(Header.HTTP_PARENT_APPLICATION_TYPE.toString(), Short.toString(traceContext.getServerTypeCode()));
             final String host = getHost(httpMethod, args);
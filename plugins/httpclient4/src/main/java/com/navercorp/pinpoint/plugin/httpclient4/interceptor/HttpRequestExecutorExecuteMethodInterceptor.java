@@ -53,6 +53,7 @@ import com.navercorp.pinpoint.bootstrap.util.InterceptorUtils;
 import com.navercorp.pinpoint.bootstrap.util.SimpleSampler;
 import com.navercorp.pinpoint.bootstrap.util.SimpleSamplerFactory;
 import com.navercorp.pinpoint.bootstrap.util.StringUtils;
+import com.navercorp.pinpoint.bootstrap.util.TraceHeaderUtils;
 import com.navercorp.pinpoint.common.trace.AnnotationKey;
 import com.navercorp.pinpoint.plugin.httpclient4.HttpClient4Constants;
 
@@ -139,12 +140,12 @@ public class HttpRequestExecutorExecuteMethodInterceptor implements AroundInterc
         recorder.recordServiceType(HttpClient4Constants.HTTP_CLIENT_4);
 
         if (httpRequest != null) {
-            httpRequest.setHeader(Header.HTTP_TRACE_ID.toString(), nextId.getTransactionId());
-            httpRequest.setHeader(Header.HTTP_SPAN_ID.toString(), String.valueOf(nextId.getSpanId()));
+            httpRequest.setHeader(Header.HTTP_TRACE_ID.toString(), TraceHeaderUtils.getTransactionId(nextId));
+            httpRequest.setHeader(Header.HTTP_SPAN_ID.toString(), TraceHeaderUtils.getSpanId(nextId));
 
-            httpRequest.setHeader(Header.HTTP_PARENT_SPAN_ID.toString(), String.valueOf(nextId.getParentSpanId()));
+            httpRequest.setHeader(Header.HTTP_PARENT_SPAN_ID.toString(), TraceHeaderUtils.getParentSpanId(nextId));
 
-            httpRequest.setHeader(Header.HTTP_FLAGS.toString(), String.valueOf(nextId.getFlags()));
+            httpRequest.setHeader(Header.HTTP_FLAGS.toString(), TraceHeaderUtils.getFlags(nextId));
             httpRequest.setHeader(Header.HTTP_PARENT_APPLICATION_NAME.toString(), traceContext.getApplicationName());
             httpRequest.setHeader(Header.HTTP_PARENT_APPLICATION_TYPE.toString(), Short.toString(traceContext.getServerTypeCode()));
             final NameIntValuePair<String> host = getHost();
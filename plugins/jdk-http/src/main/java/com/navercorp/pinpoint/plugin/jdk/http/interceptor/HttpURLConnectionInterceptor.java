@@ -34,6 +34,7 @@ import com.navercorp.pinpoint.bootstrap.logging.PLogger;
 import com.navercorp.pinpoint.bootstrap.logging.PLoggerFactory;
 import com.navercorp.pinpoint.bootstrap.sampler.SamplingFlagUtils;
 import com.navercorp.pinpoint.bootstrap.util.InterceptorUtils;
+import com.navercorp.pinpoint.bootstrap.util.TraceHeaderUtils;
 import com.navercorp.pinpoint.common.trace.AnnotationKey;
 import com.navercorp.pinpoint.plugin.jdk.http.ConnectedGetter;
 import com.navercorp.pinpoint.plugin.jdk.http.ConnectingGetter;
@@ -112,11 +113,11 @@ public class HttpURLConnectionInterceptor implements AroundInterceptor {
         // TODO How to represent protocol?
         String endpoint = getEndpoint(host, port);
 
-        request.setRequestProperty(Header.HTTP_TRACE_ID.toString(), nextId.getTransactionId());
-        request.setRequestProperty(Header.HTTP_SPAN_ID.toString(), String.valueOf(nextId.getSpanId()));
-        request.setRequestProperty(Header.HTTP_PARENT_SPAN_ID.toString(), String.valueOf(nextId.getParentSpanId()));
+        request.setRequestProperty(Header.HTTP_TRACE_ID.toString(), TraceHeaderUtils.getTransactionId(nextId));
+        request.setRequestProperty(Header.HTTP_SPAN_ID.toString(), TraceHeaderUtils.getSpanId(nextId));
+        request.setRequestProperty(Header.HTTP_PARENT_SPAN_ID.toString(), TraceHeaderUtils.getParentSpanId(nextId));
 
-        request.setRequestProperty(Header.HTTP_FLAGS.toString(), String.valueOf(nextId.getFlags()));
+        request.setRequestProperty(Header.HTTP_FLAGS.toString(), TraceHeaderUtils.getFlags(nextId));
         request.setRequestProperty(Header.HTTP_PARENT_APPLICATION_NAME.toString(), traceContext.getApplicationName());
         request.setRequestProperty(Header.HTTP_PARENT_APPLICATION_TYPE.toString(), Short.toString(traceContext.getServerTypeCode()));
         if(host != null) {
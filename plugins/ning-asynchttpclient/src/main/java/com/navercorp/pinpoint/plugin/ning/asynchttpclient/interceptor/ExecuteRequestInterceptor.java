@@ -38,6 +38,7 @@ import com.navercorp.pinpoint.bootstrap.util.InterceptorUtils;
 import com.navercorp.pinpoint.bootstrap.util.SimpleSampler;
 import com.navercorp.pinpoint.bootstrap.util.SimpleSamplerFactory;
 import com.navercorp.pinpoint.bootstrap.util.StringUtils;
+import com.navercorp.pinpoint.bootstrap.util.TraceHeaderUtils;
 import com.navercorp.pinpoint.common.trace.AnnotationKey;
 import com.navercorp.pinpoint.plugin.ning.asynchttpclient.NingAsyncHttpClientPlugin;
 import com.navercorp.pinpoint.plugin.ning.asynchttpclient.NingAsyncHttpClientPluginConfig;
@@ -116,10 +117,10 @@ public class ExecuteRequestInterceptor implements AroundInterceptor {
 
         if (httpRequest != null) {
             final FluentCaseInsensitiveStringsMap httpRequestHeaders = httpRequest.getHeaders();
-            putHeader(httpRequestHeaders, Header.HTTP_TRACE_ID.toString(), nextId.getTransactionId());
-            putHeader(httpRequestHeaders, Header.HTTP_SPAN_ID.toString(), String.valueOf(nextId.getSpanId()));
-            putHeader(httpRequestHeaders, Header.HTTP_PARENT_SPAN_ID.toString(), String.valueOf(nextId.getParentSpanId()));
-            putHeader(httpRequestHeaders, Header.HTTP_FLAGS.toString(), String.valueOf(nextId.getFlags()));
+            putHeader(httpRequestHeaders, Header.HTTP_TRACE_ID.toString(), TraceHeaderUtils.getTransactionId(nextId));
+            putHeader(httpRequestHeaders, Header.HTTP_SPAN_ID.toString(), TraceHeaderUtils.getSpanId(nextId));
+            putHeader(httpRequestHeaders, Header.HTTP_PARENT_SPAN_ID.toString(), TraceHeaderUtils.getParentSpanId(nextId));
+            putHeader(httpRequestHeaders, Header.HTTP_FLAGS.toString(), TraceHeaderUtils.getFlags(nextId));
             putHeader(httpRequestHeaders, Header.HTTP_PARENT_APPLICATION_NAME.toString(), traceContext.getApplicationName());
             putHeader(httpRequestHeaders, Header.HTTP_PARENT_APPLICATION_TYPE.toString(), Short.toString(traceContext.getServerTypeCode()));
             final String hostString = getEndpoint(httpRequest.getURI().getHost(), httpRequest.getURI().getPort());
@@ -24,6 +24,7 @@ import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScopeInvoca
 import com.navercorp.pinpoint.bootstrap.logging.PLogger;
 import com.navercorp.pinpoint.bootstrap.logging.PLoggerFactory;
 import com.navercorp.pinpoint.bootstrap.sampler.SamplingFlagUtils;
+import com.navercorp.pinpoint.bootstrap.util.TraceHeaderUtils;
 import com.navercorp.pinpoint.plugin.okhttp.OkHttpConstants;
 import com.navercorp.pinpoint.plugin.okhttp.UrlGetter;
 import com.squareup.okhttp.Request;
@@ -79,12 +80,12 @@ public class RequestBuilderBuildMethodBackwardCompatibilityInterceptor implement
             }
 
             final TraceId nextId = (TraceId) invocation.getAttachment();
-            builder.header(Header.HTTP_TRACE_ID.toString(), nextId.getTransactionId());
-            builder.header(Header.HTTP_SPAN_ID.toString(), String.valueOf(nextId.getSpanId()));
+            builder.header(Header.HTTP_TRACE_ID.toString(), TraceHeaderUtils.getTransactionId(nextId));
+            builder.header(Header.HTTP_SPAN_ID.toString(), TraceHeaderUtils.getSpanId(nextId));
 
-            builder.header(Header.HTTP_PARENT_SPAN_ID.toString(), String.valueOf(nextId.getParentSpanId()));
+            builder.header(Header.HTTP_PARENT_SPAN_ID.toString(), TraceHeaderUtils.getParentSpanId(nextId));
 
-            builder.header(Header.HTTP_FLAGS.toString(), String.valueOf(nextId.getFlags()));
+            builder.header(Header.HTTP_FLAGS.toString(), TraceHeaderUtils.getFlags(nextId));
             builder.header(Header.HTTP_PARENT_APPLICATION_NAME.toString(), traceContext.getApplicationName());
             builder.header(Header.HTTP_PARENT_APPLICATION_TYPE.toString(), Short.toString(traceContext.getServerTypeCode()));
 
@@ -20,12 +20,15 @@ import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.IllegalClassFormatException;
 import java.security.ProtectionDomain;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.navercorp.pinpoint.bootstrap.instrument.RequestHandle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.navercorp.pinpoint.bootstrap.config.Filter;
+import com.navercorp.pinpoint.bootstrap.config.SkipFilter;
 import com.navercorp.pinpoint.bootstrap.instrument.DynamicTransformRequestListener;
 import com.navercorp.pinpoint.profiler.instrument.LegacyProfilerPluginClassInjector;
 import com.navercorp.pinpoint.profiler.instrument.transformer.DebugTransformer;
@@ -50,10 +53,16 @@ public class ClassFileTransformerDispatcher implements ClassFileTransformer, Dyn
     
     private final DefaultProfilerPluginContext globalContext;
     private final Filter<String> debugTargetFilter;
+    private final boolean debugTargetEnable;
     private final DebugTransformer debugTransformer;
 
     private final ClassFileFilter pinpointClassFilter;
     private final ClassFileFilter unmodifiableFilter;
+
+    private final AtomicLong transformCount = new AtomicLong();
+    private final AtomicLong transformHitCount = new AtomicLong();
+    private final AtomicLong indexMissCount = new AtomicLong();
+    private final AtomicLong transformTimeNanos = new AtomicLong();
     
     public ClassFileTransformerDispatcher(DefaultAgent agent, List<DefaultProfilerPluginContext> pluginContexts) {
         if (agent == null) {
@@ -62,6 +71,7 @@ public class ClassFileTransformerDispatcher implements ClassFileTransformer, Dyn
         
         this.globalContext = new DefaultProfilerPluginContext(agent, new LegacyProfilerPluginClassInjector(getClass().getClassLoader()));
         this.debugTargetFilter = agent.getProfilerConfig().getProfilableClassFilter();
+        this.debugTargetEnable = !(debugTargetFilter instanceof SkipFilter);
         this.debugTransformer = new DebugTransformer(globalContext);
 
         this.pinpointClassFilter = new PinpointClassFilter(agentClassLoader);
@@ -73,6 +83,11 @@ public class ClassFileTransformerDispatcher implements ClassFileTransformer, Dyn
 
     @Override
     public byte[] transform(ClassLoader classLoader, String jvmClassName, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classFileBuffer) throws IllegalClassFormatException {
+        transformCount.incrementAndGet();
+        if (!isTransformTarget(jvmClassName)) {
+            indexMissCount.incrementAndGet();
+            return null;
+        }
         if (!pinpointClassFilter.accept(classLoader, jvmClassName, classBeingRedefined, protectionDomain, classFileBuffer)) {
             return null;
         }
@@ -101,7 +116,34 @@ public class ClassFileTransformerDispatcher implements ClassFileTransformer, Dyn
         return transform0(classLoader, jvmClassName, classBeingRedefined, protectionDomain, classFileBuffer, transformer);
     }
 
+    /**
+     * rejects most of the loaded classes before the filter chain and the registry lookups.
+     * the dynamically registered classes and the debug targets are not in the index, so they are checked separately.
+     */
+    private boolean isTransformTarget(String jvmClassName) {
+        if (jvmClassName == null) {
+            return false;
+        }
+        if (transformerRegistry.mightContain(jvmClassName)) {
+            return true;
+        }
+        if (!dynamicTransformerRegistry.isEmpty()) {
+            return true;
+        }
+        return debugTargetEnable && debugTargetFilter.filter(jvmClassName);
+    }
+
     private byte[] transform0(ClassLoader classLoader, String jvmClassName, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classFileBuffer, ClassFileTransformer transformer) {
+        transformHitCount.incrementAndGet();
+        final long startTime = System.nanoTime();
+        try {
+            return transform1(classLoader, jvmClassName, classBeingRedefined, protectionDomain, classFileBuffer, transformer);
+        } finally {
+            transformTimeNanos.addAndGet(System.nanoTime() - startTime);
+        }
+    }
+
+    private byte[] transform1(ClassLoader classLoader, String jvmClassName, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classFileBuffer, ClassFileTransformer transformer) {
         final String javaClassName = JavaAssistUtils.jvmNameToJavaName(jvmClassName);
 
         if (isDebug) {
@@ -140,6 +182,34 @@ public class ClassFileTransformerDispatcher implements ClassFileTransformer, Dyn
         this.dynamicTransformerRegistry.onTransformRequest(classLoader, targetClassName, transformer);
     }
 
+    /**
+     * @return the number of classes handed to this transformer
+     */
+    public long getTransformCount() {
+        return transformCount.get();
+    }
+
+    /**
+     * @return the number of classes handed to a transformer
+     */
+    public long getTransformHitCount() {
+        return transformHitCount.get();
+    }
+
+    /**
+     * @return the number of classes rejected by the class name index before the filter chain
+     */
+    public long getIndexMissCount() {
+        return indexMissCount.get();
+    }
+
+    /**
+     * @return the time spent in the transformers in milliseconds
+     */
+    public long getTransformTime() {
+        return TimeUnit.NANOSECONDS.toMillis(transformTimeNanos.get());
+    }
+
     private ClassLoader getContextClassLoader(Thread thread) throws Throwable {
         try {
             return thread.getContextClassLoader();
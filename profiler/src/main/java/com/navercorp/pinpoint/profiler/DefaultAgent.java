@@ -19,9 +19,11 @@ package com.navercorp.pinpoint.profiler;
 import com.navercorp.pinpoint.ProductInfo;
 import com.navercorp.pinpoint.bootstrap.Agent;
 import com.navercorp.pinpoint.bootstrap.AgentOption;
+import com.navercorp.pinpoint.bootstrap.config.DefaultProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.context.ServerMetaDataHolder;
 import com.navercorp.pinpoint.bootstrap.context.TraceContext;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentClassPool;
 import com.navercorp.pinpoint.bootstrap.interceptor.InterceptorInvokerHelper;
 import com.navercorp.pinpoint.bootstrap.logging.PLogger;
 import com.navercorp.pinpoint.bootstrap.logging.PLoggerBinder;
@@ -30,30 +32,41 @@ import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
 import com.navercorp.pinpoint.common.service.ServiceTypeRegistryService;
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.profiler.context.DefaultServerMetaDataHolder;
+import com.navercorp.pinpoint.profiler.context.DefaultSpanEventFactory;
 import com.navercorp.pinpoint.profiler.context.DefaultTraceContext;
+import com.navercorp.pinpoint.profiler.context.RecyclingSpanEventFactory;
+import com.navercorp.pinpoint.profiler.context.SpanEventFactory;
 import com.navercorp.pinpoint.profiler.context.TransactionCounter;
 import com.navercorp.pinpoint.profiler.context.active.ActiveTraceLocator;
 import com.navercorp.pinpoint.profiler.context.storage.BufferedStorageFactory;
 import com.navercorp.pinpoint.profiler.context.storage.SpanStorageFactory;
+import com.navercorp.pinpoint.profiler.context.storage.StatisticsStorageFactory;
 import com.navercorp.pinpoint.profiler.context.storage.StorageFactory;
 import com.navercorp.pinpoint.profiler.instrument.ASMBytecodeDumpService;
 import com.navercorp.pinpoint.profiler.instrument.BytecodeDumpTransformer;
+import com.navercorp.pinpoint.profiler.instrument.ASMClassPool;
 import com.navercorp.pinpoint.profiler.instrument.JavassistClassPool;
 import com.navercorp.pinpoint.profiler.interceptor.registry.DefaultInterceptorRegistryBinder;
 import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
 import com.navercorp.pinpoint.profiler.logging.Slf4jLoggerBinder;
 import com.navercorp.pinpoint.profiler.monitor.AgentStatMonitor;
+import com.navercorp.pinpoint.profiler.monitor.ResponseHistogramMonitor;
 import com.navercorp.pinpoint.profiler.monitor.codahale.AgentStatCollectorFactory;
+import com.navercorp.pinpoint.profiler.monitor.metric.ResponseHistogramAggregator;
 import com.navercorp.pinpoint.profiler.plugin.DefaultProfilerPluginContext;
 import com.navercorp.pinpoint.profiler.plugin.ProfilerPluginLoader;
 import com.navercorp.pinpoint.profiler.receiver.CommandDispatcher;
 import com.navercorp.pinpoint.profiler.receiver.service.ActiveThreadService;
 import com.navercorp.pinpoint.profiler.receiver.service.EchoService;
 import com.navercorp.pinpoint.profiler.receiver.service.ThreadDumpService;
+import com.navercorp.pinpoint.profiler.sampler.AdaptiveSampler;
 import com.navercorp.pinpoint.profiler.sampler.SamplerFactory;
+import com.navercorp.pinpoint.profiler.sender.AbstractDataSender;
+import com.navercorp.pinpoint.profiler.sender.AsyncQueueFactory;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
 import com.navercorp.pinpoint.profiler.sender.EnhancedDataSender;
 import com.navercorp.pinpoint.profiler.sender.TcpDataSender;
+import com.navercorp.pinpoint.profiler.sender.TcpSpanDataSender;
 import com.navercorp.pinpoint.profiler.sender.UdpDataSenderFactory;
 import com.navercorp.pinpoint.profiler.util.ApplicationServerTypeResolver;
 import com.navercorp.pinpoint.profiler.util.RuntimeMXBeanUtils;
@@ -66,6 +79,7 @@ import org.slf4j.LoggerFactory;
 
 import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.Instrumentation;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -88,6 +102,7 @@ public class DefaultAgent implements Agent {
 
     private final AgentInfoSender agentInfoSender;
     private final AgentStatMonitor agentStatMonitor;
+    private final ResponseHistogramMonitor responseHistogramMonitor;
 
     private final TraceContext traceContext;
 
@@ -98,6 +113,9 @@ public class DefaultAgent implements Agent {
     private final DataSender statDataSender;
     private final DataSender spanDataSender;
 
+    private final SpanEventFactory spanEventFactory;
+    private final ResponseHistogramAggregator responseHistogramAggregator;
+
     private final AgentInformation agentInformation;
     private final ServerMetaDataHolder serverMetaDataHolder;
     private final AgentOption agentOption;
@@ -108,7 +126,7 @@ public class DefaultAgent implements Agent {
     private final ServiceTypeRegistryService serviceTypeRegistryService;
     
     private final Instrumentation instrumentation;
-    private final JavassistClassPool classPool;
+    private final InstrumentClassPool classPool;
     private final DynamicTransformService dynamicTransformService;
     private final List<DefaultProfilerPluginContext> pluginContexts;
     
@@ -168,7 +186,7 @@ public class DefaultAgent implements Agent {
         this.profilerConfig = agentOption.getProfilerConfig();
         this.instrumentation = agentOption.getInstrumentation();
         this.agentOption = agentOption;
-        this.classPool = new JavassistClassPool(interceptorRegistryBinder, agentOption.getBootStrapCoreJarPath());
+        this.classPool = createInstrumentClassPool(profilerConfig, interceptorRegistryBinder, agentOption.getBootStrapCoreJarPath());
         
         if (logger.isInfoEnabled()) {
             logger.info("DefaultAgent classLoader:{}", this.getClass().getClassLoader());
@@ -197,24 +215,36 @@ public class DefaultAgent implements Agent {
 
         this.serverMetaDataHolder = createServerMetaDataHolder();
 
-        this.spanDataSender = createUdpSpanDataSender(this.profilerConfig.getCollectorSpanServerPort(), "Pinpoint-UdpSpanDataExecutor",
-                this.profilerConfig.getSpanDataSenderWriteQueueSize(), this.profilerConfig.getSpanDataSenderSocketTimeout(),
-                this.profilerConfig.getSpanDataSenderSocketSendBufferSize());
+        if (this.profilerConfig.isTcpSpanDataSenderEnable()) {
+            this.spanDataSender = createTcpSpanDataSender("Pinpoint-TcpSpanDataExecutor", this.profilerConfig.getSpanDataSenderWriteQueueSize());
+        } else {
+            this.spanDataSender = createUdpSpanDataSender(this.profilerConfig.getCollectorSpanServerPort(), "Pinpoint-UdpSpanDataExecutor",
+                    this.profilerConfig.getSpanDataSenderWriteQueueSize(), this.profilerConfig.getSpanDataSenderSocketTimeout(),
+                    this.profilerConfig.getSpanDataSenderSocketSendBufferSize());
+        }
         this.statDataSender = createUdpStatDataSender(this.profilerConfig.getCollectorStatServerPort(), "Pinpoint-UdpStatDataExecutor",
                 this.profilerConfig.getStatDataSenderWriteQueueSize(), this.profilerConfig.getStatDataSenderSocketTimeout(),
                 this.profilerConfig.getStatDataSenderSocketSendBufferSize());
 
+        this.spanEventFactory = createSpanEventFactory();
+        this.responseHistogramAggregator = createResponseHistogramAggregator();
         this.traceContext = createTraceContext();
 
         addCommandService(commandDispatcher, traceContext);
 
-        AgentStatCollectorFactory agentStatCollectorFactory = new AgentStatCollectorFactory(this.traceContext);
+        List<DataSender> dataSenderList = Arrays.<DataSender>asList(this.tcpDataSender, this.spanDataSender, this.statDataSender);
+        AgentStatCollectorFactory agentStatCollectorFactory = new AgentStatCollectorFactory(this.traceContext, dataSenderList, this.classFileTransformer);
 
         JvmInformationFactory jvmInformationFactory = new JvmInformationFactory(agentStatCollectorFactory.getGarbageCollector());
 
         this.agentInfoSender = new AgentInfoSender.Builder(tcpDataSender, this.agentInformation, jvmInformationFactory.createJvmInformation()).sendInterval(profilerConfig.getAgentInfoSendRetryInterval()).build();
         this.serverMetaDataHolder.addListener(this.agentInfoSender);
         this.agentStatMonitor = new AgentStatMonitor(this.statDataSender, this.agentInformation.getAgentId(), this.agentInformation.getStartTime(), agentStatCollectorFactory);
+        if (this.responseHistogramAggregator != null) {
+            this.responseHistogramMonitor = new ResponseHistogramMonitor(this.tcpDataSender, this.agentInformation.getAgentId(), this.agentInformation.getStartTime(), this.responseHistogramAggregator, profilerConfig.getStatisticsAggregationInterval());
+        } else {
+            this.responseHistogramMonitor = null;
+        }
         
         InterceptorInvokerHelper.setPropagateException(profilerConfig.isPropagateInterceptorException());
     }
@@ -268,7 +298,7 @@ public class DefaultAgent implements Agent {
         return classFileTransformer;
     }
     
-    public JavassistClassPool getClassPool() {
+    public InstrumentClassPool getClassPool() {
         return classPool;
     }
 
@@ -318,27 +348,65 @@ public class DefaultAgent implements Agent {
         
         final int jdbcSqlCacheSize = profilerConfig.getJdbcSqlCacheSize();
         final boolean traceActiveThread = profilerConfig.isTraceAgentActiveThread();
-        final DefaultTraceContext traceContext = new DefaultTraceContext(jdbcSqlCacheSize, this.agentInformation, storageFactory, sampler, this.serverMetaDataHolder, traceActiveThread);
+        logger.info("SpanEventFactoryType:{}", spanEventFactory);
+        final DefaultTraceContext traceContext = new DefaultTraceContext(jdbcSqlCacheSize, this.agentInformation, storageFactory, sampler, this.serverMetaDataHolder, traceActiveThread, this.spanEventFactory, this.responseHistogramAggregator);
         traceContext.setPriorityDataSender(this.tcpDataSender);
         traceContext.setProfilerConfig(profilerConfig);
+        if (sampler instanceof AdaptiveSampler) {
+            ((AdaptiveSampler) sampler).setTransactionCounter(traceContext.getTransactionCounter());
+        }
 
         return traceContext;
     }
 
     protected StorageFactory createStorageFactory() {
+        final StorageFactory storageFactory;
         if (profilerConfig.isIoBufferingEnable()) {
-            return new BufferedStorageFactory(this.spanDataSender, this.profilerConfig, this.agentInformation);
+            storageFactory = new BufferedStorageFactory(this.spanDataSender, this.profilerConfig, this.agentInformation, this.spanEventFactory);
         } else {
-            return new SpanStorageFactory(spanDataSender);
+            storageFactory = new SpanStorageFactory(spanDataSender);
+        }
+        if (this.responseHistogramAggregator != null) {
+            return new StatisticsStorageFactory(storageFactory, this.serviceTypeRegistryService, this.responseHistogramAggregator);
+        }
+        return storageFactory;
+    }
 
+    protected ResponseHistogramAggregator createResponseHistogramAggregator() {
+        if (profilerConfig.isStatisticsAggregationEnable()) {
+            return new ResponseHistogramAggregator(this.agentInformation.getApplicationName(), this.agentInformation.getServerType(), this.agentInformation.getAgentId());
+        }
+        return null;
+    }
+
+    protected SpanEventFactory createSpanEventFactory() {
+        if (profilerConfig.isSpanEventRecycleEnable()) {
+            return new RecyclingSpanEventFactory(profilerConfig.getSpanEventRecyclePoolSize());
+        } else {
+            return DefaultSpanEventFactory.DEFAULT_FACTORY;
         }
     }
 
+    private InstrumentClassPool createInstrumentClassPool(ProfilerConfig profilerConfig, InterceptorRegistryBinder interceptorRegistryBinder, String bootStrapCoreJarPath) {
+        final String instrumentEngine = profilerConfig.getProfileInstrumentEngine();
+        if (DefaultProfilerConfig.INSTRUMENT_ENGINE_ASM.equalsIgnoreCase(instrumentEngine)) {
+            logger.info("instrument engine:ASM");
+            return new ASMClassPool(interceptorRegistryBinder, bootStrapCoreJarPath);
+        }
+        logger.info("instrument engine:JAVASSIST");
+        return new JavassistClassPool(interceptorRegistryBinder, bootStrapCoreJarPath);
+    }
+
     private Sampler createSampler() {
         boolean samplingEnable = this.profilerConfig.isSamplingEnable();
         int samplingRate = this.profilerConfig.getSamplingRate();
 
         SamplerFactory samplerFactory = new SamplerFactory();
+        if (this.profilerConfig.isAdaptiveSamplingEnable()) {
+            final int maxTps = this.profilerConfig.getAdaptiveSamplingMaxTps();
+            final long updateInterval = this.profilerConfig.getAdaptiveSamplingUpdateInterval();
+            return samplerFactory.createAdaptiveSampler(samplingEnable, samplingRate, maxTps, updateInterval);
+        }
         return samplerFactory.createSampler(samplingEnable, samplingRate);
     }
     
@@ -372,17 +440,38 @@ public class DefaultAgent implements Agent {
     protected EnhancedDataSender createTcpDataSender(CommandDispatcher commandDispatcher) {
         this.clientFactory = createPinpointClientFactory(commandDispatcher);
         this.client = ClientFactoryUtils.createPinpointClient(this.profilerConfig.getCollectorTcpServerIp(), this.profilerConfig.getCollectorTcpServerPort(), clientFactory);
-        return new TcpDataSender(client);
+        return new TcpDataSender(client, createAsyncQueueFactory());
     }
 
     protected DataSender createUdpStatDataSender(int port, String threadName, int writeQueueSize, int timeout, int sendBufferSize) {
-        UdpDataSenderFactory factory = new UdpDataSenderFactory(this.profilerConfig.getCollectorStatServerIp(), port, threadName, writeQueueSize, timeout, sendBufferSize);
-        return factory.create(profilerConfig.getStatDataSenderSocketType());
+        UdpDataSenderFactory factory = new UdpDataSenderFactory(this.profilerConfig.getCollectorStatServerIp(), port, threadName, writeQueueSize, timeout, sendBufferSize, createAsyncQueueFactory());
+        DataSender dataSender = factory.create(profilerConfig.getStatDataSenderSocketType());
+        setCollectorClient(dataSender);
+        return dataSender;
     }
     
     protected DataSender createUdpSpanDataSender(int port, String threadName, int writeQueueSize, int timeout, int sendBufferSize) {
-        UdpDataSenderFactory factory = new UdpDataSenderFactory(this.profilerConfig.getCollectorSpanServerIp(), port, threadName, writeQueueSize, timeout, sendBufferSize);
-        return factory.create(profilerConfig.getSpanDataSenderSocketType());
+        UdpDataSenderFactory factory = new UdpDataSenderFactory(this.profilerConfig.getCollectorSpanServerIp(), port, threadName, writeQueueSize, timeout, sendBufferSize, createAsyncQueueFactory());
+        DataSender dataSender = factory.create(profilerConfig.getSpanDataSenderSocketType());
+        setCollectorClient(dataSender);
+        return dataSender;
+    }
+
+    private void setCollectorClient(DataSender dataSender) {
+        // udp senders cannot tell whether the collector is up, so they drain spilled data only while the tcp connection is alive
+        if (dataSender instanceof AbstractDataSender) {
+            ((AbstractDataSender) dataSender).setCollectorClient(this.client);
+        }
+    }
+
+    protected DataSender createTcpSpanDataSender(String threadName, int writeQueueSize) {
+        return new TcpSpanDataSender(this.client, threadName, writeQueueSize, profilerConfig.getTcpSpanDataSenderWindowSize(),
+                profilerConfig.getTcpSpanDataSenderWindowBytes(), profilerConfig.getTcpSpanDataSenderAckTimeout(), createAsyncQueueFactory());
+    }
+
+    private AsyncQueueFactory createAsyncQueueFactory() {
+        final int spillCapacity = profilerConfig.isDataSenderSpillEnable() ? profilerConfig.getDataSenderSpillCapacity() : 0;
+        return AsyncQueueFactory.create(profilerConfig.getDataSenderQueueType(), profilerConfig.getDataSenderQueueWaitStrategy(), profilerConfig.getDataSenderQueueMaxDrainSize(), spillCapacity);
     }
 
     protected EnhancedDataSender getTcpDataSender() {
@@ -422,6 +511,9 @@ public class DefaultAgent implements Agent {
         logger.info("Starting {} Agent.", ProductInfo.NAME);
         this.agentInfoSender.start();
         this.agentStatMonitor.start();
+        if (this.responseHistogramMonitor != null) {
+            this.responseHistogramMonitor.start();
+        }
     }
 
     @Override
@@ -439,9 +531,14 @@ public class DefaultAgent implements Agent {
             }
         }
         logger.info("Stopping {} Agent.", ProductInfo.NAME);
+        logger.info("ClassFileTransformer transformCount:{} indexMissCount:{} hitCount:{} transformTime:{}ms",
+                classFileTransformer.getTransformCount(), classFileTransformer.getIndexMissCount(), classFileTransformer.getTransformHitCount(), classFileTransformer.getTransformTime());
 
         this.agentInfoSender.stop();
         this.agentStatMonitor.stop();
+        if (this.responseHistogramMonitor != null) {
+            this.responseHistogramMonitor.stop();
+        }
 
         // Need to process stop
         this.spanDataSender.stop();
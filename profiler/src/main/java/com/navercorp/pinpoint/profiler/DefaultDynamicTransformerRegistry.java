@@ -105,6 +105,11 @@ public class DefaultDynamicTransformerRegistry implements DynamicTransformerRegi
         return transformer;
     }
 
+    @Override
+    public boolean isEmpty() {
+        return transformerMap.isEmpty();
+    }
+
     int size() {
         return transformerMap.size();
     }
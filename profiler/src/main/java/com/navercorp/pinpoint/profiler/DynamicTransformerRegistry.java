@@ -25,4 +25,9 @@ import com.navercorp.pinpoint.bootstrap.instrument.DynamicTransformRequestListen
  */
 public interface DynamicTransformerRegistry extends DynamicTransformRequestListener {
     ClassFileTransformer getTransformer(ClassLoader classLoader, String targetClassName);
+
+    /**
+     * transformers are removed once applied, so the registry is empty most of the time.
+     */
+    boolean isEmpty();
 }
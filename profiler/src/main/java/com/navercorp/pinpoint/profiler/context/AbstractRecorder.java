@@ -20,6 +20,8 @@ import com.navercorp.pinpoint.bootstrap.context.TraceContext;
 import com.navercorp.pinpoint.bootstrap.util.StringUtils;
 import com.navercorp.pinpoint.common.trace.AnnotationKey;
 import com.navercorp.pinpoint.common.util.AnnotationKeyUtils;
+import com.navercorp.pinpoint.profiler.util.AnnotationValueMapper;
+import com.navercorp.pinpoint.thrift.dto.TAnnotationValue;
 
 /**
  * 
@@ -29,9 +31,18 @@ import com.navercorp.pinpoint.common.util.AnnotationKeyUtils;
 public abstract class AbstractRecorder {
 
     protected final TraceContext traceContext;
+    protected final SpanEventFactory spanEventFactory;
     
     public AbstractRecorder(final TraceContext traceContext) {
+        this(traceContext, DefaultSpanEventFactory.DEFAULT_FACTORY);
+    }
+
+    public AbstractRecorder(final TraceContext traceContext, final SpanEventFactory spanEventFactory) {
+        if (spanEventFactory == null) {
+            throw new NullPointerException("spanEventFactory must not be null");
+        }
         this.traceContext = traceContext;
+        this.spanEventFactory = spanEventFactory;
     }
     
     public void recordException(Throwable throwable) {
@@ -119,15 +130,21 @@ public abstract class AbstractRecorder {
     }
     
     public void recordAttribute(AnnotationKey key, String value) {
-        addAnnotation(new Annotation(key.getCode(), value));
+        final Annotation annotation = spanEventFactory.newAnnotation(key.getCode());
+        annotation.setValue(TAnnotationValue.stringValue(value));
+        addAnnotation(annotation);
     }
 
     public void recordAttribute(AnnotationKey key, int value) {
-        addAnnotation(new Annotation(key.getCode(), value));
+        final Annotation annotation = spanEventFactory.newAnnotation(key.getCode());
+        annotation.setValue(TAnnotationValue.intValue(value));
+        addAnnotation(annotation);
     }
 
     public void recordAttribute(AnnotationKey key, Object value) {
-        addAnnotation(new Annotation(key.getCode(), value));
+        final Annotation annotation = spanEventFactory.newAnnotation(key.getCode());
+        AnnotationValueMapper.mappingValue(annotation, value);
+        addAnnotation(annotation);
     }
 
     abstract void addAnnotation(Annotation annotation);
@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.profiler.context;
 
 import com.navercorp.pinpoint.profiler.util.AnnotationValueMapper;
+import com.navercorp.pinpoint.profiler.util.Recycler;
 import com.navercorp.pinpoint.thrift.dto.TAnnotation;
 import com.navercorp.pinpoint.thrift.dto.TAnnotationValue;
 import com.navercorp.pinpoint.thrift.dto.TIntStringStringValue;
@@ -28,32 +29,47 @@ import com.navercorp.pinpoint.thrift.dto.TIntStringValue;
  */
 public class Annotation extends TAnnotation {
 
+    private final Recycler.Handle<Annotation> handle;
+
+    Annotation(Recycler.Handle<Annotation> handle) {
+        if (handle == null) {
+            throw new NullPointerException("handle must not be null");
+        }
+        this.handle = handle;
+    }
+
     public Annotation(int key) {
         super(key);
+        this.handle = null;
     }
 
     public Annotation(int key, Object value) {
         super(key);
+        this.handle = null;
         AnnotationValueMapper.mappingValue(this, value);
     }
 
     public Annotation(int key, TIntStringValue value) {
         super(key);
+        this.handle = null;
         this.setValue(TAnnotationValue.intStringValue(value));
     }
 
     public Annotation(int key, TIntStringStringValue value) {
         super(key);
+        this.handle = null;
         this.setValue(TAnnotationValue.intStringStringValue(value));
     }
 
     public Annotation(int key, String value) {
         super(key);
+        this.handle = null;
         this.setValue(TAnnotationValue.stringValue(value));
     }
 
     public Annotation(int key, int value) {
         super(key);
+        this.handle = null;
         this.setValue(TAnnotationValue.intValue(value));
     }
 
@@ -61,4 +77,16 @@ public class Annotation extends TAnnotation {
         return this.getKey();
     }
 
+    boolean isRecyclable() {
+        return handle != null;
+    }
+
+    void recycle() {
+        if (handle == null) {
+            return;
+        }
+        clear();
+        handle.recycle();
+    }
+
 }
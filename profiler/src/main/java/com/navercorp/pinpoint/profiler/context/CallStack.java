@@ -35,6 +35,8 @@ public class CallStack {
     private int overflowIndex = 0;
     private short sequence;
     private int latestStackIndex = 0;
+    // stands in for every frame beyond maxDepth. its data is discarded
+    private SpanEvent overflowSpanEvent;
 
     public CallStack(Span span) {
         this(span, -1);
@@ -74,6 +76,15 @@ public class CallStack {
         return index;
     }
 
+    /**
+     * Pushes a frame beyond maxDepth.
+     * @return the span event standing in for every such frame. its data is discarded
+     */
+    SpanEvent pushOverflow() {
+        overflowIndex++;
+        return getOverflowSpanEvent();
+    }
+
     private void checkExtend(final int size) {
         final SpanEvent[] originalStack = this.stack;
         if (size >= originalStack.length) {
@@ -87,7 +98,10 @@ public class CallStack {
     public SpanEvent pop() {
         if(isOverflow() && overflowIndex > 0) {
             overflowIndex--;
-            return new SpanEvent(span);
+            final SpanEvent overflowSpanEvent = getOverflowSpanEvent();
+            overflowSpanEvent.clear();
+            overflowSpanEvent.detachFrameObject();
+            return overflowSpanEvent;
         }
         
         final SpanEvent spanEvent = peek();
@@ -105,12 +119,26 @@ public class CallStack {
         }
         
         if(isOverflow() && overflowIndex > 0) {
-            return new SpanEvent(span);
+            return getOverflowSpanEvent();
         }
 
         return stack[index - 1];
     }
 
+    private SpanEvent getOverflowSpanEvent() {
+        if (overflowSpanEvent == null) {
+            overflowSpanEvent = new SpanEvent(span);
+        }
+        return overflowSpanEvent;
+    }
+
+    /**
+     * @return true if the given SpanEvent has been returned for a frame beyond maxDepth and must not be stored
+     */
+    public boolean isOverflowSpanEvent(SpanEvent spanEvent) {
+        return spanEvent != null && spanEvent == overflowSpanEvent;
+    }
+
     public boolean empty() {
         return index == DEFAULT_INDEX;
     }
@@ -1,6 +1,7 @@
 package com.navercorp.pinpoint.profiler.context;
 
 import com.navercorp.pinpoint.bootstrap.context.AsyncTraceId;
+import com.navercorp.pinpoint.bootstrap.context.EncodedTransactionId;
 import com.navercorp.pinpoint.bootstrap.context.TraceId;
 
 public class DefaultAsyncTraceId implements AsyncTraceId {
@@ -40,6 +41,11 @@ public class DefaultAsyncTraceId implements AsyncTraceId {
         return traceId.getTransactionId();
     }
 
+    @Override
+    public EncodedTransactionId getEncodedTransactionId() {
+        return traceId.getEncodedTransactionId();
+    }
+
     @Override
     public String getAgentId() {
         return traceId.getAgentId();
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Allocates a new object on every call.
+ */
+public class DefaultSpanEventFactory implements SpanEventFactory {
+
+    public static final SpanEventFactory DEFAULT_FACTORY = new DefaultSpanEventFactory();
+
+    @Override
+    public SpanEvent newSpanEvent(Span span) {
+        return new SpanEvent(span);
+    }
+
+    @Override
+    public Annotation newAnnotation(int key) {
+        return new Annotation(key);
+    }
+
+    @Override
+    public List<SpanEvent> newSpanEventList(int initialCapacity) {
+        return new ArrayList<SpanEvent>(initialCapacity);
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultSpanEventFactory";
+    }
+}
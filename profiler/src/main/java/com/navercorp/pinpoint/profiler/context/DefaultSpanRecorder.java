@@ -38,7 +38,11 @@ public class DefaultSpanRecorder extends AbstractRecorder implements SpanRecorde
     private final boolean sampling;
     
     public DefaultSpanRecorder(final TraceContext traceContext, final Span span, final TraceId traceId, final boolean sampling) {
-        super(traceContext);
+        this(traceContext, DefaultSpanEventFactory.DEFAULT_FACTORY, span, traceId, sampling);
+    }
+
+    public DefaultSpanRecorder(final TraceContext traceContext, final SpanEventFactory spanEventFactory, final Span span, final TraceId traceId, final boolean sampling) {
+        super(traceContext, spanEventFactory);
 
         this.span = span;
         this.traceId = traceId;
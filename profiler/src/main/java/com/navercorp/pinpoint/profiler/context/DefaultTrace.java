@@ -46,6 +46,7 @@ public final class DefaultTrace implements Trace {
     private Storage storage;
 
     private final TraceContext traceContext;
+    private final SpanEventFactory spanEventFactory;
     private final WrappedSpanEventRecorder spanEventRecorder;
     private final DefaultSpanRecorder spanRecorder;
     private boolean closed = false;
@@ -54,38 +55,54 @@ public final class DefaultTrace implements Trace {
     private final DefaultTraceScopePool scopePool = new DefaultTraceScopePool();
 
     public DefaultTrace(final TraceContext traceContext, long transactionId, boolean sampling) {
+        this(traceContext, DefaultSpanEventFactory.DEFAULT_FACTORY, transactionId, sampling);
+    }
+
+    public DefaultTrace(final TraceContext traceContext, SpanEventFactory spanEventFactory, long transactionId, boolean sampling) {
         if (traceContext == null) {
             throw new NullPointerException("traceContext must not be null");
         }
+        if (spanEventFactory == null) {
+            throw new NullPointerException("spanEventFactory must not be null");
+        }
         this.traceContext = traceContext;
+        this.spanEventFactory = spanEventFactory;
         this.traceId = new DefaultTraceId(traceContext.getAgentId(), traceContext.getAgentStartTime(), transactionId);
         this.id = this.traceId.getTransactionSequence();
         this.sampling = sampling;
 
         final Span span = createSpan();
-        this.spanRecorder = new DefaultSpanRecorder(traceContext, span, traceId, sampling);
+        this.spanRecorder = new DefaultSpanRecorder(traceContext, spanEventFactory, span, traceId, sampling);
         this.spanRecorder.recordTraceId(traceId);
-        this.spanEventRecorder = new WrappedSpanEventRecorder(traceContext);
+        this.spanEventRecorder = new WrappedSpanEventRecorder(traceContext, spanEventFactory);
         this.callStack = createCallStack(traceContext.getProfilerConfig(), span);
         setCurrentThread();
     }
 
     public DefaultTrace(TraceContext traceContext, TraceId continueTraceId, long transactionId, boolean sampling) {
+        this(traceContext, DefaultSpanEventFactory.DEFAULT_FACTORY, continueTraceId, transactionId, sampling);
+    }
+
+    public DefaultTrace(TraceContext traceContext, SpanEventFactory spanEventFactory, TraceId continueTraceId, long transactionId, boolean sampling) {
         if (traceContext == null) {
             throw new NullPointerException("traceContext must not be null");
         }
+        if (spanEventFactory == null) {
+            throw new NullPointerException("spanEventFactory must not be null");
+        }
         if (continueTraceId == null) {
             throw new NullPointerException("continueTraceId must not be null");
         }
         this.traceContext = traceContext;
+        this.spanEventFactory = spanEventFactory;
         this.traceId = continueTraceId;
         this.id = transactionId;
         this.sampling = sampling;
 
         final Span span = createSpan();
-        this.spanRecorder = new DefaultSpanRecorder(traceContext, span, traceId, sampling);
+        this.spanRecorder = new DefaultSpanRecorder(traceContext, spanEventFactory, span, traceId, sampling);
         this.spanRecorder.recordTraceId(traceId);
-        this.spanEventRecorder = new WrappedSpanEventRecorder(traceContext);
+        this.spanEventRecorder = new WrappedSpanEventRecorder(traceContext, spanEventFactory);
         this.callStack = createCallStack(traceContext.getProfilerConfig(), span);
         setCurrentThread();
     }
@@ -127,20 +144,28 @@ public final class DefaultTrace implements Trace {
 
     @Override
     public SpanEventRecorder traceBlockBegin(final int stackId) {
-        // Set properties for the case when stackFrame is not used as part of Span.
-        final SpanEvent spanEvent = new SpanEvent(spanRecorder.getSpan());
-        spanEvent.markStartTime();
-        spanEvent.setStackId(stackId);
-
         if (this.closed) {
             if (isWarn) {
                 PinpointException exception = new PinpointException("already closed trace.");
                 logger.warn("[DefaultTrace] Corrupted call stack found.", exception);
             }
-        } else {
-            callStack.push(spanEvent);
+            // never stored, so it is not taken from the span event factory. it could not be recycled
+            final SpanEvent spanEvent = new SpanEvent(spanRecorder.getSpan());
+            spanEvent.markStartTime();
+            spanEvent.setStackId(stackId);
+            return wrappedSpanEventRecorder(spanEvent);
+        }
+        if (callStack.isOverflow()) {
+            // frames beyond the max depth are not recorded.
+            return wrappedSpanEventRecorder(callStack.pushOverflow());
         }
 
+        // Set properties for the case when stackFrame is not used as part of Span.
+        final SpanEvent spanEvent = spanEventFactory.newSpanEvent(spanRecorder.getSpan());
+        spanEvent.markStartTime();
+        spanEvent.setStackId(stackId);
+        callStack.push(spanEvent);
+
         return wrappedSpanEventRecorder(spanEvent);
     }
 
@@ -167,6 +192,10 @@ public final class DefaultTrace implements Trace {
             }
             return;
         }
+        if (callStack.isOverflowSpanEvent(spanEvent)) {
+            // frames beyond the max depth are not recorded.
+            return;
+        }
 
         if (spanEvent.getStackId() != stackId) {
             // stack dump will make debugging easy.
@@ -38,6 +38,7 @@ import com.navercorp.pinpoint.profiler.context.storage.StorageFactory;
 import com.navercorp.pinpoint.profiler.metadata.LRUCache;
 import com.navercorp.pinpoint.profiler.metadata.Result;
 import com.navercorp.pinpoint.profiler.metadata.SimpleCache;
+import com.navercorp.pinpoint.profiler.monitor.metric.ResponseHistogramAggregator;
 import com.navercorp.pinpoint.profiler.sampler.TrueSampler;
 import com.navercorp.pinpoint.profiler.sender.EnhancedDataSender;
 import com.navercorp.pinpoint.profiler.util.RuntimeMXBeanUtils;
@@ -78,12 +79,25 @@ public class DefaultTraceContext implements TraceContext {
 
     private final TransactionCounter transactionCounter = new DefaultTransactionCounter(this.idGenerator);
 
+    private final SpanEventFactory spanEventFactory;
+
     // for test
     public DefaultTraceContext(final AgentInformation agentInformation) {
         this(LRUCache.DEFAULT_CACHE_SIZE, agentInformation, new LogStorageFactory(), new TrueSampler(), new DefaultServerMetaDataHolder(RuntimeMXBeanUtils.getVmArgs()), TRACE_ACTIVE_THREAD);
     }
 
     public DefaultTraceContext(final int sqlCacheSize, final AgentInformation agentInformation, StorageFactory storageFactory, Sampler sampler, ServerMetaDataHolder serverMetaDataHolder, final boolean traceActiveThread) {
+        this(sqlCacheSize, agentInformation, storageFactory, sampler, serverMetaDataHolder, traceActiveThread, DefaultSpanEventFactory.DEFAULT_FACTORY);
+    }
+
+    public DefaultTraceContext(final int sqlCacheSize, final AgentInformation agentInformation, StorageFactory storageFactory, Sampler sampler, ServerMetaDataHolder serverMetaDataHolder, final boolean traceActiveThread, SpanEventFactory spanEventFactory) {
+        this(sqlCacheSize, agentInformation, storageFactory, sampler, serverMetaDataHolder, traceActiveThread, spanEventFactory, null);
+    }
+
+    /**
+     * @param responseHistogramAggregator records the response time of unsampled transactions if not null
+     */
+    public DefaultTraceContext(final int sqlCacheSize, final AgentInformation agentInformation, StorageFactory storageFactory, Sampler sampler, ServerMetaDataHolder serverMetaDataHolder, final boolean traceActiveThread, SpanEventFactory spanEventFactory, ResponseHistogramAggregator responseHistogramAggregator) {
         if (agentInformation == null) {
             throw new NullPointerException("agentInformation must not be null");
         }
@@ -93,18 +107,25 @@ public class DefaultTraceContext implements TraceContext {
         if (sampler == null) {
             throw new NullPointerException("sampler must not be null");
         }
+        if (spanEventFactory == null) {
+            throw new NullPointerException("spanEventFactory must not be null");
+        }
         this.agentInformation = agentInformation;
+        this.spanEventFactory = spanEventFactory;
 
         this.cachingSqlNormalizer = new DefaultCachingSqlNormalizer(sqlCacheSize);
 
-        this.traceFactory = createTraceFactory(storageFactory, sampler, traceActiveThread);
+        this.traceFactory = createTraceFactory(storageFactory, sampler, traceActiveThread, responseHistogramAggregator);
 
         this.serverMetaDataHolder = serverMetaDataHolder;
     }
 
-    private TraceFactory createTraceFactory(StorageFactory storageFactory, Sampler sampler, boolean recordActiveThread) {
+    private TraceFactory createTraceFactory(StorageFactory storageFactory, Sampler sampler, boolean recordActiveThread, ResponseHistogramAggregator responseHistogramAggregator) {
         // TODO extract chain TraceFactory??
-        final TraceFactory threadLocalTraceFactory = new ThreadLocalTraceFactory(this, storageFactory, sampler, this.idGenerator);
+        TraceFactory threadLocalTraceFactory = new ThreadLocalTraceFactory(this, storageFactory, sampler, this.idGenerator, this.spanEventFactory, responseHistogramAggregator);
+        if (responseHistogramAggregator != null) {
+            threadLocalTraceFactory = StatisticsTraceFactory.wrap(threadLocalTraceFactory, responseHistogramAggregator);
+        }
         if (recordActiveThread) {
             ActiveTraceFactory activeTraceFactory = (ActiveTraceFactory) ActiveTraceFactory.wrap(threadLocalTraceFactory);
             return activeTraceFactory;
@@ -136,6 +157,18 @@ public class DefaultTraceContext implements TraceContext {
         return traceFactory.currentRawTraceObject();
     }
 
+    @Override
+    public Trace currentStatisticsTraceObject() {
+        final Trace trace = traceFactory.currentRawTraceObject();
+        if (trace == null) {
+            return null;
+        }
+        if (trace.canSampled() || trace instanceof StatisticsDisableTrace) {
+            return trace;
+        }
+        return null;
+    }
+
     @Override
     public Trace disableSampling() {
         // return null; is bug. #93
@@ -318,4 +351,8 @@ public class DefaultTraceContext implements TraceContext {
         return this.transactionCounter;
     }
 
+    public SpanEventFactory getSpanEventFactory() {
+        return this.spanEventFactory;
+    }
+
 }
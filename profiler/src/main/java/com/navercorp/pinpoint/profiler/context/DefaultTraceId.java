@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.profiler.context;
 
+import com.navercorp.pinpoint.bootstrap.context.EncodedTransactionId;
 import com.navercorp.pinpoint.bootstrap.context.SpanId;
 import com.navercorp.pinpoint.bootstrap.context.TraceId;
 import com.navercorp.pinpoint.common.util.TransactionId;
@@ -34,6 +35,9 @@ public class DefaultTraceId implements TraceId {
     private final long spanId;
     private final short flags;
 
+    // shared by the next trace ids of the trace
+    private final EncodedTransactionId encodedTransactionId;
+
     public DefaultTraceId(String agentId, long agentStartTime, long transactionId) {
         this(agentId, agentStartTime, transactionId, SpanId.NULL, SpanId.newSpanId(), (short) 0);
     }
@@ -43,17 +47,26 @@ public class DefaultTraceId implements TraceId {
             throw new NullPointerException("transactionId must not be null");
         }
         final TransactionId parseId = TransactionIdUtils.parseTransactionId(transactionId);
-        return new DefaultTraceId(parseId.getAgentId(), parseId.getAgentStartTime(), parseId.getTransactionSequence(), parentSpanID, spanID, flags);
+        final EncodedTransactionId encodedTransactionId = new EncodedTransactionId(parseId.getAgentId(), parseId.getAgentStartTime(), parseId.getTransactionSequence(), transactionId);
+        return new DefaultTraceId(encodedTransactionId, parseId.getAgentId(), parseId.getAgentStartTime(), parseId.getTransactionSequence(), parentSpanID, spanID, flags);
     }
 
     public TraceId getNextTraceId() {
-        return new DefaultTraceId(this.agentId, this.agentStartTime, transactionSequence, spanId, SpanId.nextSpanID(spanId, parentSpanId), flags);
+        return new DefaultTraceId(this.encodedTransactionId, this.agentId, this.agentStartTime, transactionSequence, spanId, SpanId.nextSpanID(spanId, parentSpanId), flags);
     }
 
     public DefaultTraceId(String agentId, long agentStartTime, long transactionId, long parentSpanId, long spanId, short flags) {
+        this(new EncodedTransactionId(agentId, agentStartTime, transactionId), agentId, agentStartTime, transactionId, parentSpanId, spanId, flags);
+    }
+
+    private DefaultTraceId(EncodedTransactionId encodedTransactionId, String agentId, long agentStartTime, long transactionId, long parentSpanId, long spanId, short flags) {
+        if (encodedTransactionId == null) {
+            throw new NullPointerException("encodedTransactionId must not be null");
+        }
         if (agentId == null) {
             throw new NullPointerException("agentId must not be null");
         }
+        this.encodedTransactionId = encodedTransactionId;
         this.agentId = agentId;
         this.agentStartTime = agentStartTime;
         this.transactionSequence = transactionId;
@@ -64,7 +77,11 @@ public class DefaultTraceId implements TraceId {
     }
 
     public String getTransactionId() {
-        return TransactionIdUtils.formatString(agentId, agentStartTime, transactionSequence);
+        return encodedTransactionId.getValue();
+    }
+
+    public EncodedTransactionId getEncodedTransactionId() {
+        return encodedTransactionId;
     }
 
     public String getAgentId() {
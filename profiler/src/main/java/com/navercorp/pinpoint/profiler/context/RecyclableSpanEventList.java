@@ -0,0 +1,42 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.profiler.util.Recycler;
+
+import java.util.ArrayList;
+
+/**
+ * Span event list of a {@link RecyclingSpanEventFactory}.
+ */
+final class RecyclableSpanEventList extends ArrayList<SpanEvent> {
+
+    private final transient Recycler.Handle<RecyclableSpanEventList> handle;
+
+    RecyclableSpanEventList(Recycler.Handle<RecyclableSpanEventList> handle) {
+        if (handle == null) {
+            throw new NullPointerException("handle must not be null");
+        }
+        this.handle = handle;
+    }
+
+    void recycle() {
+        clear();
+        handle.recycle();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.profiler.util.Recycler;
+
+import java.util.List;
+
+/**
+ * Takes {@link SpanEvent}s, {@link Annotation}s and span event lists from per-thread pools.
+ * The sender returns them with {@link SpanRecycleUtils#recycle(Object)} once the span or span chunk has been serialized.
+ */
+public class RecyclingSpanEventFactory implements SpanEventFactory {
+
+    private final Recycler<SpanEvent> spanEventRecycler;
+    private final Recycler<Annotation> annotationRecycler;
+    private final Recycler<RecyclableSpanEventList> spanEventListRecycler;
+
+    public RecyclingSpanEventFactory() {
+        this(Recycler.DEFAULT_MAX_CAPACITY);
+    }
+
+    public RecyclingSpanEventFactory(int maxCapacity) {
+        this.spanEventRecycler = new Recycler<SpanEvent>(maxCapacity) {
+            @Override
+            protected SpanEvent newObject(Handle<SpanEvent> handle) {
+                return new SpanEvent(handle);
+            }
+        };
+        this.annotationRecycler = new Recycler<Annotation>(maxCapacity * 2) {
+            @Override
+            protected Annotation newObject(Handle<Annotation> handle) {
+                return new Annotation(handle);
+            }
+        };
+        // lists are handed over to the sender in chunks, a few are enough
+        this.spanEventListRecycler = new Recycler<RecyclableSpanEventList>(Math.max(maxCapacity / 16, 4)) {
+            @Override
+            protected RecyclableSpanEventList newObject(Handle<RecyclableSpanEventList> handle) {
+                return new RecyclableSpanEventList(handle);
+            }
+        };
+    }
+
+    @Override
+    public SpanEvent newSpanEvent(Span span) {
+        final SpanEvent spanEvent = spanEventRecycler.get();
+        spanEvent.init(span);
+        return spanEvent;
+    }
+
+    @Override
+    public Annotation newAnnotation(int key) {
+        final Annotation annotation = annotationRecycler.get();
+        annotation.setKey(key);
+        return annotation;
+    }
+
+    @Override
+    public List<SpanEvent> newSpanEventList(int initialCapacity) {
+        final RecyclableSpanEventList spanEventList = spanEventListRecycler.get();
+        spanEventList.ensureCapacity(initialCapacity);
+        return spanEventList;
+    }
+
+    public long getSpanEventNewCount() {
+        return spanEventRecycler.getNewCount();
+    }
+
+    public long getSpanEventReuseCount() {
+        return spanEventRecycler.getReuseCount();
+    }
+
+    @Override
+    public String toString() {
+        return "RecyclingSpanEventFactory{" +
+                "maxCapacity=" + spanEventRecycler.getMaxCapacity() +
+                '}';
+    }
+}
@@ -68,6 +68,9 @@ public class SpanChunkFactory {
         spanChunk.setSpanId(parentSpan.getSpanId());
 
         spanChunk.setEndPoint(parentSpan.getEndPoint());
+        if (parentSpan.isStatisticsAggregated()) {
+            spanChunk.setStatisticsAggregated(true);
+        }
         return spanChunk;
     }
 }
@@ -17,9 +17,13 @@
 package com.navercorp.pinpoint.profiler.context;
 
 import com.navercorp.pinpoint.bootstrap.context.FrameAttachment;
+import com.navercorp.pinpoint.profiler.util.Recycler;
+import com.navercorp.pinpoint.thrift.dto.TAnnotation;
 import com.navercorp.pinpoint.thrift.dto.TIntStringValue;
 import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
 
+import java.util.List;
+
 /**
  * Span represent RPC
  *
@@ -28,16 +32,35 @@ import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
  */
 public class SpanEvent extends TSpanEvent implements FrameAttachment {
 
-    private final Span span;
+    private Span span;
     private int stackId;
     private boolean timeRecording = true;
     private Object frameObject;
 
+    private final Recycler.Handle<SpanEvent> handle;
+    // annotation list kept from the previous use of a recycled instance
+    private List<TAnnotation> spareAnnotations;
+
     public SpanEvent(Span span) {
         if (span == null) {
             throw new NullPointerException("span must not be null");
         }
         this.span = span;
+        this.handle = null;
+    }
+
+    SpanEvent(Recycler.Handle<SpanEvent> handle) {
+        if (handle == null) {
+            throw new NullPointerException("handle must not be null");
+        }
+        this.handle = handle;
+    }
+
+    void init(Span span) {
+        if (span == null) {
+            throw new NullPointerException("span must not be null");
+        }
+        this.span = span;
     }
 
     public Span getSpan() {
@@ -45,9 +68,43 @@ public class SpanEvent extends TSpanEvent implements FrameAttachment {
     }
 
     public void addAnnotation(Annotation annotation) {
+        if (this.spareAnnotations != null && !isSetAnnotations()) {
+            this.setAnnotations(this.spareAnnotations);
+            this.spareAnnotations = null;
+        }
         this.addToAnnotations(annotation);
     }
 
+    boolean isRecyclable() {
+        return handle != null;
+    }
+
+    /**
+     * Returns this instance and its annotations to the pool they were taken from.
+     * Does nothing for an instance that has not been created by a {@link RecyclingSpanEventFactory}.
+     */
+    void recycle() {
+        if (handle == null) {
+            return;
+        }
+        final List<TAnnotation> annotations = getAnnotations();
+        if (annotations != null) {
+            for (TAnnotation annotation : annotations) {
+                if (annotation instanceof Annotation) {
+                    ((Annotation) annotation).recycle();
+                }
+            }
+            annotations.clear();
+            this.spareAnnotations = annotations;
+        }
+        clear();
+        this.span = null;
+        this.stackId = 0;
+        this.timeRecording = true;
+        this.frameObject = null;
+        handle.recycle();
+    }
+
     public void setExceptionInfo(int exceptionClassId, String exceptionMessage) {
         final TIntStringValue exceptionInfo = new TIntStringValue(exceptionClassId);
         if (exceptionMessage != null && !exceptionMessage.isEmpty()) {
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context;
+
+import java.util.List;
+
+/**
+ * Creates the {@link SpanEvent}s and {@link Annotation}s recorded by a trace and the span event lists of the storage.
+ */
+public interface SpanEventFactory {
+
+    SpanEvent newSpanEvent(Span span);
+
+    Annotation newAnnotation(int key);
+
+    List<SpanEvent> newSpanEventList(int initialCapacity);
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.thrift.dto.TAnnotation;
+import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
+
+import java.util.List;
+
+/**
+ * Returns the pooled objects of a serialized {@link Span} or {@link SpanChunk} to the {@link RecyclingSpanEventFactory}.
+ * Must be called only once the message is not referenced anymore, i.e. by the sender after serialization.
+ */
+public final class SpanRecycleUtils {
+
+    private SpanRecycleUtils() {
+    }
+
+    public static void recycle(Object message) {
+        if (message instanceof Span) {
+            final Span span = (Span) message;
+            recycleAnnotations(span.getAnnotations());
+            recycleSpanEvents(span.getSpanEventList());
+        } else if (message instanceof SpanChunk) {
+            final SpanChunk spanChunk = (SpanChunk) message;
+            recycleSpanEvents(spanChunk.getSpanEventList());
+        }
+    }
+
+    private static void recycleAnnotations(List<TAnnotation> annotations) {
+        if (annotations == null || annotations.isEmpty()) {
+            return;
+        }
+        // every annotation of a trace comes from the same factory
+        final TAnnotation first = annotations.get(0);
+        if (!(first instanceof Annotation) || !((Annotation) first).isRecyclable()) {
+            return;
+        }
+        for (TAnnotation annotation : annotations) {
+            ((Annotation) annotation).recycle();
+        }
+    }
+
+    private static void recycleSpanEvents(List<TSpanEvent> spanEventList) {
+        if (spanEventList == null || spanEventList.isEmpty()) {
+            return;
+        }
+        // every span event of a trace comes from the same factory
+        final TSpanEvent first = spanEventList.get(0);
+        if (!(first instanceof SpanEvent) || !((SpanEvent) first).isRecyclable()) {
+            return;
+        }
+        for (TSpanEvent spanEvent : spanEventList) {
+            ((SpanEvent) spanEvent).recycle();
+        }
+        final Object list = spanEventList;
+        if (list instanceof RecyclableSpanEventList) {
+            ((RecyclableSpanEventList) list).recycle();
+        }
+    }
+}
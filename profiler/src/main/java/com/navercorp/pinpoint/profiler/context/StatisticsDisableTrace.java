@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.bootstrap.context.SpanEventRecorder;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.profiler.monitor.metric.ResponseHistogramAggregator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unsampled trace which records the calls of its span events into the server map statistics.
+ * <p>
+ * The span events are not stored. Only the service type, destination, end point, exception and elapsed time
+ * of each block are kept until {@link #traceBlockEnd()}, where they are added to the caller and callee histograms
+ * as {@link com.navercorp.pinpoint.profiler.context.storage.StatisticsStorage} does for sampled spans.
+ * Interceptors get this trace from {@link com.navercorp.pinpoint.bootstrap.context.TraceContext#currentStatisticsTraceObject()}.
+ */
+public class StatisticsDisableTrace extends DisableTrace {
+
+    static final int MAX_DEPTH = 64;
+
+    private final ResponseHistogramAggregator aggregator;
+
+    private final List<StatisticsSpanEventRecorder> stack = new ArrayList<StatisticsSpanEventRecorder>();
+    // blocks begun beyond MAX_DEPTH share this recorder and are not recorded
+    private StatisticsSpanEventRecorder overflowRecorder;
+    private int overflowDepth;
+
+    public StatisticsDisableTrace(long id, ResponseHistogramAggregator aggregator) {
+        super(id);
+        if (aggregator == null) {
+            throw new NullPointerException("aggregator must not be null");
+        }
+        this.aggregator = aggregator;
+    }
+
+    @Override
+    public SpanEventRecorder traceBlockBegin() {
+        if (stack.size() >= MAX_DEPTH) {
+            if (overflowRecorder == null) {
+                overflowRecorder = new StatisticsSpanEventRecorder(0);
+            }
+            overflowDepth++;
+            return overflowRecorder;
+        }
+        final StatisticsSpanEventRecorder recorder = new StatisticsSpanEventRecorder(System.currentTimeMillis());
+        stack.add(recorder);
+        return recorder;
+    }
+
+    @Override
+    public SpanEventRecorder traceBlockBegin(int stackId) {
+        return traceBlockBegin();
+    }
+
+    @Override
+    public void traceBlockEnd() {
+        if (overflowDepth > 0) {
+            overflowDepth--;
+            return;
+        }
+        if (stack.isEmpty()) {
+            return;
+        }
+        final StatisticsSpanEventRecorder recorder = stack.remove(stack.size() - 1);
+        recordSpanEventStat(recorder);
+    }
+
+    @Override
+    public void traceBlockEnd(int stackId) {
+        traceBlockEnd();
+    }
+
+    @Override
+    public SpanEventRecorder currentSpanEventRecorder() {
+        if (overflowDepth > 0) {
+            return overflowRecorder;
+        }
+        if (stack.isEmpty()) {
+            return null;
+        }
+        return stack.get(stack.size() - 1);
+    }
+
+    @Override
+    public int getCallStackFrameId() {
+        return stack.size() + overflowDepth;
+    }
+
+    private void recordSpanEventStat(StatisticsSpanEventRecorder recorder) {
+        final ServiceType spanEventType = recorder.getServiceType();
+        if (spanEventType == null || !spanEventType.isRecordStatistics()) {
+            return;
+        }
+        final String destinationId = recorder.getDestinationId();
+        final String applicationName = aggregator.getApplicationName();
+        final ServiceType applicationServiceType = aggregator.getApplicationServiceType();
+        final int elapsed = (int) (System.currentTimeMillis() - recorder.getStartTime());
+        final boolean hasException = recorder.hasException();
+
+        aggregator.updateCaller(applicationName, applicationServiceType, aggregator.getAgentId(), destinationId, spanEventType, recorder.getEndPoint(), elapsed, hasException);
+        // the end point of the unsampled span is not recorded
+        aggregator.updateCallee(destinationId, spanEventType, applicationName, applicationServiceType, null, elapsed, hasException);
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.bootstrap.context.MethodDescriptor;
+import com.navercorp.pinpoint.bootstrap.context.ParsingResult;
+import com.navercorp.pinpoint.bootstrap.context.SpanEventRecorder;
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+
+/**
+ * Keeps what the server map statistics need of a span event of a {@link StatisticsDisableTrace}, and ignores the rest.
+ */
+class StatisticsSpanEventRecorder implements SpanEventRecorder {
+
+    private final long startTime;
+
+    private ServiceType serviceType;
+    private String destinationId;
+    private String endPoint;
+    private boolean hasException;
+    private Object frameObject;
+
+    StatisticsSpanEventRecorder(long startTime) {
+        this.startTime = startTime;
+    }
+
+    long getStartTime() {
+        return startTime;
+    }
+
+    ServiceType getServiceType() {
+        return serviceType;
+    }
+
+    String getDestinationId() {
+        return destinationId;
+    }
+
+    String getEndPoint() {
+        return endPoint;
+    }
+
+    boolean hasException() {
+        return hasException;
+    }
+
+    @Override
+    public void recordTime(boolean time) {
+    }
+
+    @Override
+    public void recordException(Throwable throwable) {
+        recordException(true, throwable);
+    }
+
+    @Override
+    public void recordException(boolean markError, Throwable throwable) {
+        if (throwable != null) {
+            this.hasException = true;
+        }
+    }
+
+    @Override
+    public void recordApiId(int apiId) {
+    }
+
+    @Override
+    public void recordApi(MethodDescriptor methodDescriptor) {
+    }
+
+    @Override
+    public void recordApi(MethodDescriptor methodDescriptor, Object[] args) {
+    }
+
+    @Override
+    public void recordApi(MethodDescriptor methodDescriptor, Object args, int index) {
+    }
+
+    @Override
+    public void recordApi(MethodDescriptor methodDescriptor, Object[] args, int start, int end) {
+    }
+
+    @Override
+    public void recordApiCachedString(MethodDescriptor methodDescriptor, String args, int index) {
+    }
+
+    @Override
+    public ParsingResult recordSqlInfo(String sql) {
+        return null;
+    }
+
+    @Override
+    public void recordSqlParsingResult(ParsingResult parsingResult) {
+    }
+
+    @Override
+    public void recordSqlParsingResult(ParsingResult parsingResult, String bindValue) {
+    }
+
+    @Override
+    public void recordAttribute(AnnotationKey key, String value) {
+    }
+
+    @Override
+    public void recordAttribute(AnnotationKey key, int value) {
+    }
+
+    @Override
+    public void recordAttribute(AnnotationKey key, Object value) {
+    }
+
+    @Override
+    public void recordServiceType(ServiceType serviceType) {
+        this.serviceType = serviceType;
+    }
+
+    @Override
+    public void recordRpcName(String rpc) {
+    }
+
+    @Override
+    public void recordDestinationId(String destinationId) {
+        this.destinationId = destinationId;
+    }
+
+    @Override
+    public void recordEndPoint(String endPoint) {
+        this.endPoint = endPoint;
+    }
+
+    @Override
+    public void recordNextSpanId(long spanId) {
+    }
+
+    @Override
+    public void recordAsyncId(int asyncId) {
+    }
+
+    @Override
+    public void recordNextAsyncId(int asyncId) {
+    }
+
+    @Override
+    public void recordAsyncSequence(short sequence) {
+    }
+
+    @Override
+    public Object attachFrameObject(Object frameObject) {
+        final Object before = this.frameObject;
+        this.frameObject = frameObject;
+        return before;
+    }
+
+    @Override
+    public Object getFrameObject() {
+        return this.frameObject;
+    }
+
+    @Override
+    public Object detachFrameObject() {
+        final Object delete = this.frameObject;
+        this.frameObject = null;
+        return delete;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.bootstrap.context.AsyncTraceId;
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+import com.navercorp.pinpoint.profiler.monitor.metric.ResponseHistogramAggregator;
+
+/**
+ * Records the response time of unsampled transactions, which never reach the storage.
+ * Their outgoing calls are recorded by {@link StatisticsDisableTrace}.
+ * Sampled transactions are recorded by {@link com.navercorp.pinpoint.profiler.context.storage.StatisticsStorage}.
+ */
+public class StatisticsTraceFactory implements TraceFactory, TraceFactoryWrapper {
+
+    private final TraceFactory delegate;
+    private final ResponseHistogramAggregator aggregator;
+
+    private StatisticsTraceFactory(TraceFactory delegate, ResponseHistogramAggregator aggregator) {
+        if (delegate == null) {
+            throw new NullPointerException("delegate must not be null");
+        }
+        if (aggregator == null) {
+            throw new NullPointerException("aggregator must not be null");
+        }
+        this.delegate = delegate;
+        this.aggregator = aggregator;
+    }
+
+    public static TraceFactory wrap(TraceFactory traceFactory, ResponseHistogramAggregator aggregator) {
+        return new StatisticsTraceFactory(traceFactory, aggregator);
+    }
+
+    @Override
+    public TraceFactory unwrap() {
+        final TraceFactory copy = this.delegate;
+        if (copy instanceof TraceFactoryWrapper) {
+            return ((TraceFactoryWrapper) copy).unwrap();
+        }
+        return copy;
+    }
+
+    @Override
+    public Trace currentTraceObject() {
+        return this.delegate.currentTraceObject();
+    }
+
+    @Override
+    public Trace currentRpcTraceObject() {
+        return this.delegate.currentRpcTraceObject();
+    }
+
+    @Override
+    public Trace currentRawTraceObject() {
+        return this.delegate.currentRawTraceObject();
+    }
+
+    @Override
+    public Trace disableSampling() {
+        return this.delegate.disableSampling();
+    }
+
+    @Override
+    public Trace continueTraceObject(TraceId traceID) {
+        return this.delegate.continueTraceObject(traceID);
+    }
+
+    @Override
+    public Trace continueTraceObject(Trace trace) {
+        return this.delegate.continueTraceObject(trace);
+    }
+
+    @Override
+    public Trace continueAsyncTraceObject(AsyncTraceId traceId, int asyncId, long startTime) {
+        return this.delegate.continueAsyncTraceObject(traceId, asyncId, startTime);
+    }
+
+    @Override
+    public Trace newTraceObject() {
+        return this.delegate.newTraceObject();
+    }
+
+    @Override
+    public Trace removeTraceObject() {
+        final Trace trace = this.delegate.removeTraceObject();
+        recordUnsampled(trace);
+        return trace;
+    }
+
+    private void recordUnsampled(Trace trace) {
+        if (trace == null || trace.canSampled()) {
+            return;
+        }
+        // skip an unsampled trace handed over to another thread by continueTraceObject(Trace)
+        if (trace.getBindThread() != Thread.currentThread()) {
+            return;
+        }
+        final int elapsed = (int) (System.currentTimeMillis() - trace.getStartTime());
+        // the error flag is not recorded for unsampled transactions
+        aggregator.updateResponseTime(elapsed, false);
+    }
+}
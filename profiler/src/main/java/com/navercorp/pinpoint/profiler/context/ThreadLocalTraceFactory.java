@@ -25,6 +25,7 @@ import com.navercorp.pinpoint.exception.PinpointException;
 import com.navercorp.pinpoint.profiler.context.storage.AsyncStorage;
 import com.navercorp.pinpoint.profiler.context.storage.Storage;
 import com.navercorp.pinpoint.profiler.context.storage.StorageFactory;
+import com.navercorp.pinpoint.profiler.monitor.metric.ResponseHistogramAggregator;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,7 +48,20 @@ public class ThreadLocalTraceFactory implements TraceFactory {
 
     private final IdGenerator idGenerator;
 
+    private final SpanEventFactory spanEventFactory;
+
+    // records the calls of unsampled traces if not null
+    private final ResponseHistogramAggregator responseHistogramAggregator;
+
     public ThreadLocalTraceFactory(TraceContext traceContext, StorageFactory storageFactory, Sampler sampler, IdGenerator idGenerator) {
+        this(traceContext, storageFactory, sampler, idGenerator, DefaultSpanEventFactory.DEFAULT_FACTORY);
+    }
+
+    public ThreadLocalTraceFactory(TraceContext traceContext, StorageFactory storageFactory, Sampler sampler, IdGenerator idGenerator, SpanEventFactory spanEventFactory) {
+        this(traceContext, storageFactory, sampler, idGenerator, spanEventFactory, null);
+    }
+
+    public ThreadLocalTraceFactory(TraceContext traceContext, StorageFactory storageFactory, Sampler sampler, IdGenerator idGenerator, SpanEventFactory spanEventFactory, ResponseHistogramAggregator responseHistogramAggregator) {
         if (traceContext == null) {
             throw new NullPointerException("traceContext must not be null");
         }
@@ -60,10 +74,15 @@ public class ThreadLocalTraceFactory implements TraceFactory {
         if (idGenerator == null) {
             throw new NullPointerException("idGenerator must not be null");
         }
+        if (spanEventFactory == null) {
+            throw new NullPointerException("spanEventFactory must not be null");
+        }
         this.traceContext = traceContext;
         this.storageFactory = storageFactory;
         this.sampler = sampler;
         this.idGenerator = idGenerator;
+        this.spanEventFactory = spanEventFactory;
+        this.responseHistogramAggregator = responseHistogramAggregator;
     }
 
 
@@ -104,7 +123,7 @@ public class ThreadLocalTraceFactory implements TraceFactory {
     @Override
     public Trace disableSampling() {
         checkBeforeTraceObject();
-        final Trace metricTrace = new DisableTrace(this.idGenerator.nextContinuedDisabledId());
+        final Trace metricTrace = newDisableTrace(this.idGenerator.nextContinuedDisabledId());
         bind(metricTrace);
 
         return metricTrace;
@@ -119,7 +138,7 @@ public class ThreadLocalTraceFactory implements TraceFactory {
         // always set true because the decision of sampling has been  made on previous nodes
         // TODO need to consider as a target to sample in case Trace object has a sampling flag (true) marked on previous node.
         final boolean sampling = true;
-        final DefaultTrace trace = new DefaultTrace(traceContext, traceId, this.idGenerator.nextContinuedTransactionId(), sampling);
+        final DefaultTrace trace = new DefaultTrace(traceContext, spanEventFactory, traceId, this.idGenerator.nextContinuedTransactionId(), sampling);
         // final Storage storage = storageFactory.createStorage();
         final Storage storage = storageFactory.createStorage();
         trace.setStorage(storage);
@@ -153,18 +172,25 @@ public class ThreadLocalTraceFactory implements TraceFactory {
         // TODO need to modify how to inject a datasender
         final boolean sampling = sampler.isSampling();
         if (sampling) {
-            final DefaultTrace trace = new DefaultTrace(traceContext, idGenerator.nextTransactionId(), sampling);
+            final DefaultTrace trace = new DefaultTrace(traceContext, spanEventFactory, idGenerator.nextTransactionId(), sampling);
             final Storage storage = storageFactory.createStorage();
             trace.setStorage(storage);
             bind(trace);
             return trace;
         } else {
-            final DisableTrace disableTrace = new DisableTrace(this.idGenerator.nextDisabledId());
+            final DisableTrace disableTrace = newDisableTrace(this.idGenerator.nextDisabledId());
             bind(disableTrace);
             return disableTrace;
         }
     }
 
+    private DisableTrace newDisableTrace(long id) {
+        if (responseHistogramAggregator != null) {
+            return new StatisticsDisableTrace(id, responseHistogramAggregator);
+        }
+        return new DisableTrace(id);
+    }
+
     private void bind(Trace trace) {
         threadLocalBinder.set(trace);
 
@@ -196,7 +222,7 @@ public class ThreadLocalTraceFactory implements TraceFactory {
         
         final TraceId parentTraceId = traceId.getParentTraceId();
         final boolean sampling = true;
-        final DefaultTrace trace = new DefaultTrace(traceContext, parentTraceId, IdGenerator.UNTRACKED_ID, sampling);
+        final DefaultTrace trace = new DefaultTrace(traceContext, spanEventFactory, parentTraceId, IdGenerator.UNTRACKED_ID, sampling);
         final Storage storage = storageFactory.createStorage();
         trace.setStorage(new AsyncStorage(storage));
 
@@ -23,6 +23,7 @@ import com.navercorp.pinpoint.bootstrap.context.TraceContext;
 import com.navercorp.pinpoint.common.trace.AnnotationKey;
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.bootstrap.context.ParsingResult;
+import com.navercorp.pinpoint.thrift.dto.TAnnotationValue;
 import com.navercorp.pinpoint.thrift.dto.TIntStringStringValue;
 
 /**
@@ -40,6 +41,10 @@ public class WrappedSpanEventRecorder extends AbstractRecorder implements SpanEv
         super(traceContext);
     }
 
+    public WrappedSpanEventRecorder(final TraceContext traceContext, final SpanEventFactory spanEventFactory) {
+        super(traceContext, spanEventFactory);
+    }
+
     public void setWrapped(final SpanEvent spanEvent) {
         this.spanEvent = spanEvent;
     }
@@ -89,7 +94,9 @@ public class WrappedSpanEventRecorder extends AbstractRecorder implements SpanEv
     }
 
     private void recordSqlParam(TIntStringStringValue tIntStringStringValue) {
-        spanEvent.addAnnotation(new Annotation(AnnotationKey.SQL_ID.getCode(), tIntStringStringValue));
+        final Annotation annotation = spanEventFactory.newAnnotation(AnnotationKey.SQL_ID.getCode());
+        annotation.setValue(TAnnotationValue.intStringStringValue(tIntStringStringValue));
+        spanEvent.addAnnotation(annotation);
     }
 
     @Override
@@ -23,9 +23,7 @@ import com.navercorp.pinpoint.common.trace.SlotType;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * @author Taejin Koo
@@ -55,42 +53,24 @@ public class ActiveTraceHistogramFactory {
     }
 
     public ActiveTraceHistogram createHistogram() {
-        Map<SlotType, IntAdder> mappedSlot = new LinkedHashMap<SlotType, IntAdder>(activeTraceSlotsCount);
-        for (SlotType slotType : ACTIVE_TRACE_SLOTS_ORDER) {
-            mappedSlot.put(slotType, new IntAdder(0));
-        }
-
-        long currentTime = System.currentTimeMillis();
-
-        List<ActiveTraceInfo> collectedActiveTraceInfo = activeTraceLocator.collect();
-        for (ActiveTraceInfo activeTraceInfo : collectedActiveTraceInfo) {
-            HistogramSlot slot = histogramSchema.findHistogramSlot((int) (currentTime - activeTraceInfo.getStartTime()), false);
-            mappedSlot.get(slot.getSlotType()).incrementAndGet();
-        }
+        final int[] slotCounts = new int[activeTraceSlotsCount];
+        final long currentTime = System.currentTimeMillis();
+
+        activeTraceLocator.visit(new ActiveTraceVisitor() {
+            @Override
+            public void visit(long id, long startTime, Thread thread) {
+                final HistogramSlot slot = histogramSchema.findHistogramSlot((int) (currentTime - startTime), false);
+                slotCounts[ACTIVE_TRACE_SLOTS_ORDER.indexOf(slot.getSlotType())]++;
+            }
+        });
 
-        List<Integer> activeTraceCount = new ArrayList<Integer>(activeTraceSlotsCount);
-        for (IntAdder statusCount : mappedSlot.values()) {
-            activeTraceCount.add(statusCount.get());
+        final List<Integer> activeTraceCount = new ArrayList<Integer>(activeTraceSlotsCount);
+        for (int slotCount : slotCounts) {
+            activeTraceCount.add(slotCount);
         }
         return new ActiveTraceHistogram(this.histogramSchema, activeTraceCount);
     }
 
-    private static class IntAdder {
-        private int value = 0;
-
-        public IntAdder(int defaultValue) {
-            this.value = defaultValue;
-        }
-
-        public int incrementAndGet() {
-            return ++value;
-        }
-
-        public int get() {
-            return this.value;
-        }
-    }
-
     public static class ActiveTraceHistogram {
 
         private final HistogramSchema histogramSchema;
@@ -28,4 +28,7 @@ public interface ActiveTraceLocator {
 
     List<ActiveTraceInfo> collect();
 
+    // @ThreadSafe
+    void visit(ActiveTraceVisitor visitor);
+
 }
@@ -16,8 +16,6 @@
 
 package com.navercorp.pinpoint.profiler.context.active;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.navercorp.pinpoint.profiler.context.ActiveTrace;
 
 import org.slf4j.Logger;
@@ -25,12 +23,21 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
- * @author Taejin Koo
+ * Open addressing table of the active traces keyed by the primitive trace id.
+ * <p>
+ * A trace claims the first free slot within {@link #MAX_PROBE} slots from its hash with a single CAS, and releases it on removal,
+ * so {@link #put(ActiveTrace)} and {@link #remove(long)} take no lock and create no garbage.
+ * Released slots are marked as removed and never become empty again, which keeps the probe sequence of the other traces valid.
+ * Traces that find no free slot are not tracked (memory leak defense).
+ * <p>
+ * A trace whose bind thread died without detaching it is stale. It is skipped and its slot is reclaimed
+ * by {@link #visit(ActiveTraceVisitor)}, and by {@link #put(ActiveTrace)} when no free slot is found.
+ * Until then the trace stays referenced.
  */
 public class ActiveTraceRepository implements ActiveTraceLocator {
 
@@ -38,34 +45,127 @@ public class ActiveTraceRepository implements ActiveTraceLocator {
 
     // memory leak defense threshold
     private static final int DEFAULT_MAX_ACTIVE_TRACE_SIZE = 1024 * 10;
-    // oom safe cache
-    private final ConcurrentMap<Long, ActiveTrace> activeTraceInfoMap;
+    private static final int MAX_PROBE = 64;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final long REMOVED = Long.MIN_VALUE + 1;
+
+    private final int mask;
+    private final AtomicLongArray keys;
+    private final AtomicReferenceArray<ActiveTrace> values;
 
     public ActiveTraceRepository() {
         this(DEFAULT_MAX_ACTIVE_TRACE_SIZE);
     }
+
     public ActiveTraceRepository(int maxActiveTraceSize) {
-        this.activeTraceInfoMap = createCache(maxActiveTraceSize);
+        if (maxActiveTraceSize <= 0) {
+            throw new IllegalArgumentException("maxActiveTraceSize must be positive");
+        }
+        final int tableSize = tableSizeFor(maxActiveTraceSize);
+        this.mask = tableSize - 1;
+        this.keys = new AtomicLongArray(tableSize);
+        for (int i = 0; i < tableSize; i++) {
+            this.keys.set(i, EMPTY);
+        }
+        this.values = new AtomicReferenceArray<ActiveTrace>(tableSize);
     }
 
-    private ConcurrentMap<Long, ActiveTrace> createCache(int maxActiveTraceSize) {
-        final CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
-        cacheBuilder.concurrencyLevel(64);
-        cacheBuilder.initialCapacity(maxActiveTraceSize);
-        cacheBuilder.maximumSize(maxActiveTraceSize);
-        // OOM defense
-        cacheBuilder.weakValues();
+    private static int tableSizeFor(int size) {
+        final int tableSize = Integer.highestOneBit(size);
+        if (tableSize == size || tableSize == 1 << 30) {
+            return tableSize;
+        }
+        return tableSize << 1;
+    }
+
+    private int index(long id) {
+        final int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    public boolean put(ActiveTrace activeTrace) {
+        if (activeTrace == null) {
+            throw new NullPointerException("activeTrace must not be null");
+        }
+        final long id = activeTrace.getId();
+        if (id == EMPTY || id == REMOVED) {
+            return false;
+        }
+        final int start = index(id);
+        final int probe = Math.min(MAX_PROBE, mask + 1);
+        if (claim(id, activeTrace, start, probe)) {
+            return true;
+        }
+        if (reclaimStale(start, probe) > 0 && claim(id, activeTrace, start, probe)) {
+            return true;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("activeTrace table is full. id:{}", id);
+        }
+        return false;
+    }
 
-        final Cache<Long, ActiveTrace> localCache = cacheBuilder.build();
-        return localCache.asMap();
+    private boolean claim(long id, ActiveTrace activeTrace, int start, int probe) {
+        for (int i = 0; i < probe; i++) {
+            final int slot = (start + i) & mask;
+            final long key = keys.get(slot);
+            if ((key == EMPTY || key == REMOVED) && keys.compareAndSet(slot, key, id)) {
+                values.set(slot, activeTrace);
+                return true;
+            }
+        }
+        return false;
     }
 
-    public void put(ActiveTrace activeTrace) {
-        this.activeTraceInfoMap.put(activeTrace.getId(), activeTrace);
+    private int reclaimStale(int start, int probe) {
+        int reclaimed = 0;
+        for (int i = 0; i < probe; i++) {
+            final int slot = (start + i) & mask;
+            final ActiveTrace trace = values.get(slot);
+            if (trace != null && isStale(trace) && release(slot, trace)) {
+                reclaimed++;
+            }
+        }
+        return reclaimed;
     }
 
-    private ActiveTrace get(Long key) {
-        return this.activeTraceInfoMap.get(key);
+    private static boolean isStale(ActiveTrace trace) {
+        final Thread bindThread = trace.getBindThread();
+        return bindThread != null && !bindThread.isAlive();
+    }
+
+    private boolean release(int slot, ActiveTrace trace) {
+        // clear the value before the key so that the slot is never reused while still holding the trace
+        if (!values.compareAndSet(slot, trace, null)) {
+            return false;
+        }
+        keys.compareAndSet(slot, trace.getId(), REMOVED);
+        return true;
+    }
+
+    private int find(long id) {
+        final int start = index(id);
+        final int probe = Math.min(MAX_PROBE, mask + 1);
+        for (int i = 0; i < probe; i++) {
+            final int slot = (start + i) & mask;
+            final long key = keys.get(slot);
+            if (key == id) {
+                return slot;
+            }
+            if (key == EMPTY) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private ActiveTrace get(long id) {
+        final int slot = find(id);
+        if (slot == -1) {
+            return null;
+        }
+        return values.get(slot);
     }
 
 
@@ -89,24 +189,59 @@ public class ActiveTraceRepository implements ActiveTraceLocator {
         return null;
     }
 
-    public ActiveTrace remove(Long key) {
-        return this.activeTraceInfoMap.remove(key);
+    public ActiveTrace remove(long id) {
+        if (id == EMPTY || id == REMOVED) {
+            return null;
+        }
+        final int slot = find(id);
+        if (slot == -1) {
+            return null;
+        }
+        final ActiveTrace activeTrace = values.get(slot);
+        if (activeTrace == null || !release(slot, activeTrace)) {
+            // reclaimed as stale
+            return null;
+        }
+        return activeTrace;
     }
 
     // @ThreadSafe
     @Override
     public List<ActiveTraceInfo> collect() {
-        List<ActiveTraceInfo> collectData = new ArrayList<ActiveTraceInfo>();
-        final Collection<ActiveTrace> copied = this.activeTraceInfoMap.values();
-        for (ActiveTrace trace : copied) {
+        final List<ActiveTraceInfo> collectData = new ArrayList<ActiveTraceInfo>();
+        visit(new ActiveTraceVisitor() {
+            @Override
+            public void visit(long id, long startTime, Thread thread) {
+                // clear Trace reference
+                collectData.add(new ActiveTraceInfo(id, startTime, thread));
+            }
+        });
+        return collectData;
+    }
+
+    // @ThreadSafe
+    @Override
+    public void visit(ActiveTraceVisitor visitor) {
+        if (visitor == null) {
+            throw new NullPointerException("visitor must not be null");
+        }
+        final int length = values.length();
+        for (int i = 0; i < length; i++) {
+            final ActiveTrace trace = values.get(i);
+            if (trace == null) {
+                continue;
+            }
+            if (isStale(trace)) {
+                if (release(i, trace) && logger.isDebugEnabled()) {
+                    logger.debug("stale activeTrace reclaimed. id:{}", trace.getId());
+                }
+                continue;
+            }
             final long startTime = trace.getStartTime();
             // not started
             if (startTime > 0) {
-                // clear Trace reference
-                ActiveTraceInfo activeTraceInfo = new ActiveTraceInfo(trace.getId(), startTime, trace.getBindThread());
-                collectData.add(activeTraceInfo);
+                visitor.visit(trace.getId(), startTime, trace.getBindThread());
             }
         }
-        return collectData;
     }
 }
@@ -22,7 +22,6 @@ import com.navercorp.pinpoint.profiler.sender.DataSender;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -37,35 +36,49 @@ public class BufferedStorage implements Storage {
 
     private final int bufferSize;
 
+    // created on the first store(SpanEvent) and handed over to the sender together with its SpanEvents
     private List<SpanEvent> storage;
     private final DataSender dataSender;
     private final SpanChunkFactory spanChunkFactory;
+    private final SpanEventFactory spanEventFactory;
 
     public BufferedStorage(DataSender dataSender, SpanChunkFactory spanChunkFactory) {
         this(dataSender, spanChunkFactory, DEFAULT_BUFFER_SIZE);
     }
 
     public BufferedStorage(DataSender dataSender, SpanChunkFactory spanChunkFactory, int bufferSize) {
+        this(dataSender, spanChunkFactory, bufferSize, DefaultSpanEventFactory.DEFAULT_FACTORY);
+    }
+
+    public BufferedStorage(DataSender dataSender, SpanChunkFactory spanChunkFactory, int bufferSize, SpanEventFactory spanEventFactory) {
         if (dataSender == null) {
             throw new NullPointerException("dataSender must not be null");
         }
         if (spanChunkFactory == null) {
             throw new NullPointerException("spanChunkFactory must not be null");
         }
+        if (spanEventFactory == null) {
+            throw new NullPointerException("spanEventFactory must not be null");
+        }
         this.dataSender = dataSender;
         this.spanChunkFactory = spanChunkFactory;
         this.bufferSize = bufferSize;
-        this.storage = new ArrayList<SpanEvent>(bufferSize);
+        this.spanEventFactory = spanEventFactory;
     }
 
     @Override
     public void store(SpanEvent spanEvent) {
+        List<SpanEvent> storage = this.storage;
+        if (storage == null) {
+            storage = spanEventFactory.newSpanEventList(bufferSize);
+            this.storage = storage;
+        }
         List<SpanEvent> flushData = null;
         storage.add(spanEvent);
         if (storage.size() >= bufferSize) {
-            // data copy
+            // hand over the list
             flushData = storage;
-            storage = new ArrayList<SpanEvent>(bufferSize);
+            this.storage = null;
         }
 
         if (flushData != null) {
@@ -79,9 +92,8 @@ public class BufferedStorage implements Storage {
 
     @Override
     public void store(Span span) {
-        List<SpanEvent> spanEventList;
-        spanEventList = storage;
-        this.storage = new ArrayList<SpanEvent>(bufferSize);
+        final List<SpanEvent> spanEventList = this.storage;
+        this.storage = null;
 
         if (spanEventList != null && !spanEventList.isEmpty()) {
             span.setSpanEventList((List) spanEventList);
@@ -94,9 +106,8 @@ public class BufferedStorage implements Storage {
     }
 
     public void flush() {
-        List<SpanEvent> spanEventList;
-        spanEventList = storage;
-        this.storage = new ArrayList<SpanEvent>(bufferSize);
+        final List<SpanEvent> spanEventList = this.storage;
+        this.storage = null;
 
         if (spanEventList != null && !spanEventList.isEmpty()) {
             final SpanChunk spanChunk = spanChunkFactory.create(spanEventList);
@@ -18,7 +18,9 @@ package com.navercorp.pinpoint.profiler.context.storage;
 
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.profiler.AgentInformation;
+import com.navercorp.pinpoint.profiler.context.DefaultSpanEventFactory;
 import com.navercorp.pinpoint.profiler.context.SpanChunkFactory;
+import com.navercorp.pinpoint.profiler.context.SpanEventFactory;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
 
 /**
@@ -29,15 +31,24 @@ public class BufferedStorageFactory implements StorageFactory {
     private final DataSender dataSender;
     private final int bufferSize;
     private final SpanChunkFactory spanChunkFactory;
+    private final SpanEventFactory spanEventFactory;
 
     public BufferedStorageFactory(DataSender dataSender, ProfilerConfig config, AgentInformation agentInformation) {
+        this(dataSender, config, agentInformation, DefaultSpanEventFactory.DEFAULT_FACTORY);
+    }
+
+    public BufferedStorageFactory(DataSender dataSender, ProfilerConfig config, AgentInformation agentInformation, SpanEventFactory spanEventFactory) {
         if (dataSender == null) {
             throw new NullPointerException("dataSender must not be null");
         }
         if (config == null) {
             throw new NullPointerException("config must not be null");
         }
+        if (spanEventFactory == null) {
+            throw new NullPointerException("spanEventFactory must not be null");
+        }
         this.dataSender = dataSender;
+        this.spanEventFactory = spanEventFactory;
 
         this.bufferSize = config.getIoBufferingBufferSize();
 
@@ -47,7 +58,7 @@ public class BufferedStorageFactory implements StorageFactory {
 
     @Override
     public Storage createStorage() {
-        BufferedStorage bufferedStorage = new BufferedStorage(this.dataSender, spanChunkFactory, this.bufferSize);
+        BufferedStorage bufferedStorage = new BufferedStorage(this.dataSender, spanChunkFactory, this.bufferSize, spanEventFactory);
         return bufferedStorage;
     }
 
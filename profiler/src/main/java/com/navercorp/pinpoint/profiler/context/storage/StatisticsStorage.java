@@ -0,0 +1,131 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+import com.navercorp.pinpoint.common.service.ServiceTypeRegistryService;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.util.SpanEventUtils;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.monitor.metric.ResponseHistogramAggregator;
+
+/**
+ * Records the server map statistics of the stored span and span events, as the collector's SpanHandler would,
+ * and marks the span so that the collector does not record them again.
+ */
+public class StatisticsStorage implements Storage {
+
+    private final Storage delegate;
+    private final ServiceTypeRegistryService registry;
+    private final ResponseHistogramAggregator aggregator;
+
+    public StatisticsStorage(Storage delegate, ServiceTypeRegistryService registry, ResponseHistogramAggregator aggregator) {
+        if (delegate == null) {
+            throw new NullPointerException("delegate must not be null");
+        }
+        if (registry == null) {
+            throw new NullPointerException("registry must not be null");
+        }
+        if (aggregator == null) {
+            throw new NullPointerException("aggregator must not be null");
+        }
+        this.delegate = delegate;
+        this.registry = registry;
+        this.aggregator = aggregator;
+    }
+
+    @Override
+    public void store(SpanEvent spanEvent) {
+        final Span span = spanEvent.getSpan();
+        // the span event may be sent in a SpanChunk before the span is stored
+        span.setStatisticsAggregated(true);
+        recordSpanEventStat(span, spanEvent);
+
+        delegate.store(spanEvent);
+    }
+
+    @Override
+    public void store(Span span) {
+        span.setStatisticsAggregated(true);
+        recordSpanStat(span);
+
+        delegate.store(span);
+    }
+
+    private void recordSpanEventStat(Span span, SpanEvent spanEvent) {
+        final ServiceType spanEventType = registry.findServiceType(spanEvent.getServiceType());
+        if (!spanEventType.isRecordStatistics()) {
+            return;
+        }
+        final String destinationId = spanEvent.getDestinationId();
+        final String applicationName = aggregator.getApplicationName();
+        final ServiceType applicationServiceType = aggregator.getApplicationServiceType();
+        final int elapsed = spanEvent.getEndElapsed();
+        final boolean hasException = SpanEventUtils.hasException(spanEvent);
+
+        aggregator.updateCaller(applicationName, applicationServiceType, aggregator.getAgentId(), destinationId, spanEventType, spanEvent.getEndPoint(), elapsed, hasException);
+        aggregator.updateCallee(destinationId, spanEventType, applicationName, applicationServiceType, span.getEndPoint(), elapsed, hasException);
+    }
+
+    private void recordSpanStat(Span span) {
+        final String applicationName = aggregator.getApplicationName();
+        final ServiceType applicationServiceType = aggregator.getApplicationServiceType();
+        final String agentId = aggregator.getAgentId();
+        final ServiceType spanServiceType = registry.findServiceType(span.getServiceType());
+        final boolean isError = span.getErr() != 0;
+        final int elapsed = span.getElapsed();
+
+        if (span.getParentSpanId() == -1) {
+            if (spanServiceType.isQueue()) {
+                // virtual queue node
+                aggregator.updateCaller(span.getAcceptorHost(), spanServiceType, span.getRemoteAddr(), applicationName, applicationServiceType, span.getEndPoint(), elapsed, isError);
+                aggregator.updateCallee(applicationName, applicationServiceType, span.getAcceptorHost(), spanServiceType, agentId, elapsed, isError);
+            } else {
+                // virtual user
+                aggregator.updateCaller(applicationName, ServiceType.USER, agentId, applicationName, applicationServiceType, agentId, elapsed, isError);
+                aggregator.updateCallee(applicationName, applicationServiceType, applicationName, ServiceType.USER, agentId, elapsed, isError);
+            }
+        }
+
+        String parentApplicationName = span.getParentApplicationName();
+        if (parentApplicationName != null) {
+            ServiceType parentApplicationType = registry.findServiceType(span.getParentApplicationType());
+            if (spanServiceType.isQueue()) {
+                if (!applicationServiceType.isQueue() && !parentApplicationType.isQueue()) {
+                    // virtual queue node between the parent and this node. the collector records its acceptor host
+                    aggregator.updateCaller(span.getAcceptorHost(), spanServiceType, span.getRemoteAddr(), applicationName, applicationServiceType, span.getEndPoint(), elapsed, isError);
+
+                    parentApplicationName = span.getAcceptorHost();
+                    parentApplicationType = spanServiceType;
+                }
+            }
+            aggregator.updateCallee(applicationName, applicationServiceType, parentApplicationName, parentApplicationType, agentId, elapsed, isError);
+        }
+
+        aggregator.updateResponseTime(elapsed, isError);
+    }
+
+    @Override
+    public void flush() {
+        delegate.flush();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
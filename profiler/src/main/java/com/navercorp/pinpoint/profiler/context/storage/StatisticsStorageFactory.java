@@ -0,0 +1,58 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+import com.navercorp.pinpoint.common.service.ServiceTypeRegistryService;
+import com.navercorp.pinpoint.profiler.monitor.metric.ResponseHistogramAggregator;
+
+/**
+ * Wraps the storages of the given factory to aggregate the server map statistics of the stored spans on the agent.
+ */
+public class StatisticsStorageFactory implements StorageFactory {
+
+    private final StorageFactory delegate;
+    private final ServiceTypeRegistryService registry;
+    private final ResponseHistogramAggregator aggregator;
+
+    public StatisticsStorageFactory(StorageFactory delegate, ServiceTypeRegistryService registry, ResponseHistogramAggregator aggregator) {
+        if (delegate == null) {
+            throw new NullPointerException("delegate must not be null");
+        }
+        if (registry == null) {
+            throw new NullPointerException("registry must not be null");
+        }
+        if (aggregator == null) {
+            throw new NullPointerException("aggregator must not be null");
+        }
+        this.delegate = delegate;
+        this.registry = registry;
+        this.aggregator = aggregator;
+    }
+
+    @Override
+    public Storage createStorage() {
+        final Storage storage = delegate.createStorage();
+        return new StatisticsStorage(storage, registry, aggregator);
+    }
+
+    @Override
+    public String toString() {
+        return "StatisticsStorageFactory{" +
+                "delegate=" + delegate +
+                '}';
+    }
+}
@@ -0,0 +1,798 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.instrument;
+
+import com.navercorp.pinpoint.bootstrap.context.TraceContext;
+import com.navercorp.pinpoint.bootstrap.instrument.ClassFilter;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentClass;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentException;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentMethod;
+import com.navercorp.pinpoint.bootstrap.instrument.MethodFilter;
+import com.navercorp.pinpoint.bootstrap.instrument.MethodFilters;
+import com.navercorp.pinpoint.bootstrap.instrument.NotFoundInstrumentException;
+import com.navercorp.pinpoint.bootstrap.interceptor.annotation.TargetConstructor;
+import com.navercorp.pinpoint.bootstrap.interceptor.annotation.TargetConstructors;
+import com.navercorp.pinpoint.bootstrap.interceptor.annotation.TargetFilter;
+import com.navercorp.pinpoint.bootstrap.interceptor.annotation.TargetMethod;
+import com.navercorp.pinpoint.bootstrap.interceptor.annotation.TargetMethods;
+import com.navercorp.pinpoint.bootstrap.interceptor.scope.ExecutionPolicy;
+import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScope;
+import com.navercorp.pinpoint.bootstrap.plugin.ObjectFactory;
+import com.navercorp.pinpoint.common.util.Asserts;
+import com.navercorp.pinpoint.exception.PinpointException;
+import com.navercorp.pinpoint.profiler.instrument.AccessorAnalyzer.AccessorDetails;
+import com.navercorp.pinpoint.profiler.instrument.GetterAnalyzer.GetterDetails;
+import com.navercorp.pinpoint.profiler.instrument.SetterAnalyzer.SetterDetails;
+import com.navercorp.pinpoint.profiler.instrument.aspect.ASMAspectWeaver;
+import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
+import com.navercorp.pinpoint.profiler.objectfactory.AutoBindingObjectFactory;
+import com.navercorp.pinpoint.profiler.objectfactory.InterceptorArgumentProvider;
+import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.InnerClassNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.VarInsnNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link InstrumentClass} backed by an ASM {@link ClassNode}.
+ * Behaves as {@link JavassistClass}, the members added to the class have the same names and modifiers.
+ */
+public class ASMClass implements InstrumentClass {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private static final String FIELD_PREFIX = "_$PINPOINT$_";
+    private static final String CONSTRUCTOR_NAME = "<init>";
+    private static final String CLASS_INITIALIZER_NAME = "<clinit>";
+
+    private final InstrumentContext pluginContext;
+    private final InterceptorRegistryBinder interceptorRegistryBinder;
+    private final ClassLoader classLoader;
+    private final ClassNode classNode;
+    // the super types parsed on the first lookup. an ASMClass lives for one transform only.
+    private List<ClassNode> classHierarchy;
+
+    private boolean modified = false;
+
+    public ASMClass(InstrumentContext pluginContext, InterceptorRegistryBinder interceptorRegistryBinder, ClassLoader classLoader, ClassNode classNode) {
+        if (classNode == null) {
+            throw new NullPointerException("classNode must not be null");
+        }
+        this.pluginContext = pluginContext;
+        this.interceptorRegistryBinder = interceptorRegistryBinder;
+        this.classLoader = classLoader;
+        this.classNode = classNode;
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    void markModified() {
+        this.modified = true;
+    }
+
+    @Override
+    public boolean isInterceptable() {
+        return !isInterface() && !isAnnotation() && !modified;
+    }
+
+    private boolean isAnnotation() {
+        return (classNode.access & Opcodes.ACC_ANNOTATION) != 0;
+    }
+
+    @Override
+    public boolean isInterface() {
+        return (classNode.access & Opcodes.ACC_INTERFACE) != 0;
+    }
+
+    @Override
+    public String getName() {
+        return JavaAssistUtils.jvmNameToJavaName(classNode.name);
+    }
+
+    @Override
+    public String getSuperClass() {
+        if (classNode.superName == null) {
+            return null;
+        }
+        return JavaAssistUtils.jvmNameToJavaName(classNode.superName);
+    }
+
+    @Override
+    public String[] getInterfaces() {
+        final List<String> interfaces = classNode.interfaces;
+        final String[] interfaceNames = new String[interfaces.size()];
+        for (int i = 0; i < interfaceNames.length; i++) {
+            interfaceNames[i] = JavaAssistUtils.jvmNameToJavaName(interfaces.get(i));
+        }
+        return interfaceNames;
+    }
+
+    private static MethodNode findMethodNode(ClassNode classNode, String methodName, String[] parameterTypes) {
+        final String jvmSignature = JavaAssistUtils.javaTypeToJvmSignature(parameterTypes);
+        return findMethodNodeBySignature(classNode, methodName, jvmSignature);
+    }
+
+    private static MethodNode findMethodNodeBySignature(ClassNode classNode, String methodName, String jvmSignature) {
+        for (MethodNode methodNode : classNode.methods) {
+            if (!methodNode.name.equals(methodName)) {
+                continue;
+            }
+            // skip return type check
+            if (methodNode.desc.startsWith(jvmSignature)) {
+                return methodNode;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public InstrumentMethod getDeclaredMethod(String name, String... parameterTypes) {
+        if (CONSTRUCTOR_NAME.equals(name) || CLASS_INITIALIZER_NAME.equals(name)) {
+            return null;
+        }
+        final MethodNode methodNode = findMethodNode(classNode, name, parameterTypes);
+        return methodNode == null ? null : new ASMMethod(pluginContext, interceptorRegistryBinder, this, methodNode);
+    }
+
+    @Override
+    public List<InstrumentMethod> getDeclaredMethods() {
+        return getDeclaredMethods(MethodFilters.ACCEPT_ALL);
+    }
+
+    @Override
+    public List<InstrumentMethod> getDeclaredMethods(MethodFilter methodFilter) {
+        if (methodFilter == null) {
+            throw new NullPointerException("methodFilter must not be null");
+        }
+        final List<InstrumentMethod> candidateList = new ArrayList<InstrumentMethod>(classNode.methods.size());
+        for (MethodNode methodNode : classNode.methods) {
+            if (CONSTRUCTOR_NAME.equals(methodNode.name) || CLASS_INITIALIZER_NAME.equals(methodNode.name)) {
+                continue;
+            }
+            final InstrumentMethod method = new ASMMethod(pluginContext, interceptorRegistryBinder, this, methodNode);
+            if (methodFilter.accept(method)) {
+                candidateList.add(method);
+            }
+        }
+        return candidateList;
+    }
+
+    @Override
+    public InstrumentMethod getConstructor(String... parameterTypes) {
+        final MethodNode methodNode = findMethodNode(classNode, CONSTRUCTOR_NAME, parameterTypes);
+        return methodNode == null ? null : new ASMMethod(pluginContext, interceptorRegistryBinder, this, methodNode);
+    }
+
+    @Override
+    public boolean hasDeclaredMethod(String methodName, String... parameterTypes) {
+        return getDeclaredMethod(methodName, parameterTypes) != null;
+    }
+
+    @Override
+    public boolean hasMethod(String methodName, String... parameterTypes) {
+        final String jvmSignature = JavaAssistUtils.javaTypeToJvmSignature(parameterTypes);
+        // non-private methods of the class and its super types, same as CtClass.getMethods()
+        for (ClassNode hierarchyNode : getClassHierarchy()) {
+            final MethodNode methodNode = findMethodNodeBySignature(hierarchyNode, methodName, jvmSignature);
+            if (methodNode != null && (methodNode.access & Opcodes.ACC_PRIVATE) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasEnclosingMethod(String methodName, String... parameterTypes) {
+        if (classNode.outerMethod == null || !classNode.outerMethod.equals(methodName)) {
+            return false;
+        }
+        final String jvmSignature = JavaAssistUtils.javaTypeToJvmSignature(parameterTypes);
+        return classNode.outerMethodDesc.startsWith(jvmSignature);
+    }
+
+    @Override
+    public boolean hasConstructor(String... parameterTypeArray) {
+        final String signature = JavaAssistUtils.javaTypeToJvmSignature(parameterTypeArray, "void");
+        for (MethodNode methodNode : classNode.methods) {
+            if (CONSTRUCTOR_NAME.equals(methodNode.name) && methodNode.desc.equals(signature)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasField(String name, String type) {
+        final String desc = type == null ? null : JavaAssistUtils.toJvmSignature(type);
+        return findField(name, desc) != null;
+    }
+
+    @Override
+    public boolean hasField(String name) {
+        return hasField(name, null);
+    }
+
+    /**
+     * Same lookup as CtClass.getField(), the class, its interfaces and super classes.
+     */
+    private FieldNode findField(String name, String desc) {
+        for (ClassNode hierarchyNode : getClassHierarchy()) {
+            for (FieldNode fieldNode : hierarchyNode.fields) {
+                if (fieldNode.name.equals(name) && (desc == null || fieldNode.desc.equals(desc))) {
+                    return fieldNode;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return this class followed by its super classes and interfaces whose class files are found
+     */
+    private List<ClassNode> getClassHierarchy() {
+        if (classHierarchy == null) {
+            classHierarchy = readClassHierarchy();
+        }
+        return classHierarchy;
+    }
+
+    private List<ClassNode> readClassHierarchy() {
+        final List<ClassNode> hierarchy = new ArrayList<ClassNode>();
+        final Set<String> visited = new HashSet<String>();
+        final LinkedList<ClassNode> queue = new LinkedList<ClassNode>();
+        queue.add(classNode);
+        visited.add(classNode.name);
+        while (!queue.isEmpty()) {
+            final ClassNode current = queue.removeFirst();
+            hierarchy.add(current);
+            if (current.superName != null) {
+                addClassNode(queue, visited, current.superName);
+            }
+            for (String interfaceName : current.interfaces) {
+                addClassNode(queue, visited, interfaceName);
+            }
+        }
+        return hierarchy;
+    }
+
+    private void addClassNode(List<ClassNode> queue, Set<String> visited, String jvmInternalClassName) {
+        if (!visited.add(jvmInternalClassName)) {
+            return;
+        }
+        final ClassNode classNode = ASMClassNodeLoader.readClassNode(classLoader, jvmInternalClassName);
+        if (classNode == null) {
+            logger.debug("class file not found. className:{}", jvmInternalClassName);
+            return;
+        }
+        queue.add(classNode);
+    }
+
+    private ClassNode findSuperClassNode() {
+        if (classNode.superName == null) {
+            return null;
+        }
+        for (ClassNode hierarchyNode : getClassHierarchy()) {
+            if (hierarchyNode.name.equals(classNode.superName)) {
+                return hierarchyNode;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void weave(String adviceClassName) throws InstrumentException {
+        final Class<?> adviceClass = pluginContext.injectClass(classLoader, adviceClassName);
+
+        final String adviceInternalName = JavaAssistUtils.javaNameToJvmName(adviceClassName);
+        ClassNode adviceClassNode = ASMClassNodeLoader.readClassNode(classLoader, adviceInternalName);
+        if (adviceClassNode == null) {
+            adviceClassNode = ASMClassNodeLoader.readClassNode(adviceClass.getClassLoader(), adviceInternalName);
+        }
+        if (adviceClassNode == null) {
+            throw new NotFoundInstrumentException(adviceClassName + " not found.");
+        }
+        try {
+            final ASMAspectWeaver aspectWeaver = new ASMAspectWeaver(classLoader);
+            aspectWeaver.weaving(classNode, adviceClassNode);
+            markModified();
+        } catch (RuntimeException e) {
+            throw new InstrumentException("weaving fail. sourceClassName:" + getName() + " adviceClassName:" + adviceClassName + " Caused:" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public InstrumentMethod addDelegatorMethod(String methodName, String... paramTypes) throws InstrumentException {
+        if (findMethodNode(classNode, methodName, paramTypes) != null) {
+            throw new InstrumentException(getName() + "already have method(" + methodName + ").");
+        }
+        final ClassNode superClassNode = findSuperClassNode();
+        if (superClassNode == null) {
+            throw new InstrumentException(getName() + "don't have super class(" + getSuperClass() + ").");
+        }
+        final MethodNode superMethod = findMethodNode(superClassNode, methodName, paramTypes);
+        if (superMethod == null) {
+            throw new NotFoundInstrumentException(methodName + Arrays.toString(paramTypes) + " is not found in " + getSuperClass());
+        }
+
+        final boolean isStatic = (superMethod.access & Opcodes.ACC_STATIC) != 0;
+        final int access = superMethod.access & ~(Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE);
+        final String[] exceptions = superMethod.exceptions.toArray(new String[superMethod.exceptions.size()]);
+        final MethodNode delegatorMethod = new MethodNode(access, superMethod.name, superMethod.desc, superMethod.signature, exceptions);
+
+        final InsnList instructions = delegatorMethod.instructions;
+        int localIndex = 0;
+        if (!isStatic) {
+            instructions.add(new VarInsnNode(Opcodes.ALOAD, 0));
+            localIndex++;
+        }
+        for (Type argumentType : Type.getArgumentTypes(superMethod.desc)) {
+            instructions.add(new VarInsnNode(argumentType.getOpcode(Opcodes.ILOAD), localIndex));
+            localIndex += argumentType.getSize();
+        }
+        final int opcode = isStatic ? Opcodes.INVOKESTATIC : Opcodes.INVOKESPECIAL;
+        instructions.add(new MethodInsnNode(opcode, superClassNode.name, superMethod.name, superMethod.desc, false));
+        instructions.add(new InsnNode(Type.getReturnType(superMethod.desc).getOpcode(Opcodes.IRETURN)));
+        delegatorMethod.maxLocals = localIndex;
+
+        classNode.methods.add(delegatorMethod);
+        markModified();
+        return new ASMMethod(pluginContext, interceptorRegistryBinder, this, delegatorMethod);
+    }
+
+    @Override
+    public byte[] toBytecode() {
+        try {
+            final ClassWriter classWriter = new ASMClassWriter(classLoader, ClassWriter.COMPUTE_FRAMES);
+            classNode.accept(classWriter);
+            return classWriter.toByteArray();
+        } catch (RuntimeException e) {
+            // e.g. the class hierarchy needed for the stack map frames can't be read. the class is loaded unmodified
+            logger.warn("Failed to write class:{}, transform skipped. Caused:{}", getName(), e.getMessage(), e);
+        }
+        return null;
+    }
+
+    @Override
+    public void addField(String accessorTypeName) throws InstrumentException {
+        try {
+            final Class<?> accessorType = pluginContext.injectClass(classLoader, accessorTypeName);
+            final AccessorAnalyzer accessorAnalyzer = new AccessorAnalyzer();
+            final AccessorDetails accessorDetails = accessorAnalyzer.analyze(accessorType);
+
+            final String fieldName = FIELD_PREFIX + accessorTypeName.replace('.', '_').replace('$', '_');
+            final FieldNode fieldNode = new FieldNode(Opcodes.ACC_PRIVATE, fieldName, Type.getDescriptor(accessorDetails.getFieldType()), null, null);
+            if (findField(fieldName, null) != null) {
+                throw new IllegalStateException("field already exists. fieldName:" + fieldName);
+            }
+            classNode.fields.add(fieldNode);
+
+            addInterface(accessorTypeName);
+            addGetterMethod(accessorDetails.getGetter().getName(), fieldNode);
+            addSetterMethod(accessorDetails.getSetter().getName(), fieldNode);
+            markModified();
+        } catch (Exception e) {
+            throw new InstrumentException("Failed to add field with accessor [" + accessorTypeName + "]. Cause:" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void addGetter(String getterTypeName, String fieldName) throws InstrumentException {
+        try {
+            final Class<?> getterType = pluginContext.injectClass(classLoader, getterTypeName);
+
+            final GetterDetails getterDetails = new GetterAnalyzer().analyze(getterType);
+
+            final FieldNode fieldNode = getField(fieldName);
+            final String fieldTypeDesc = Type.getDescriptor(getterDetails.getFieldType());
+            if (!fieldNode.desc.equals(fieldTypeDesc)) {
+                throw new IllegalArgumentException("Return type of the getter is different with the field type. getterMethod: " + getterDetails.getGetter() + ", fieldType: " + Type.getType(fieldNode.desc).getClassName());
+            }
+
+            addGetterMethod(getterDetails.getGetter().getName(), fieldNode);
+            addInterface(getterTypeName);
+            markModified();
+        } catch (Exception e) {
+            throw new InstrumentException("Failed to add getter: " + getterTypeName, e);
+        }
+    }
+
+    @Override
+    public void addSetter(String setterTypeName, String fieldName) throws InstrumentException {
+        this.addSetter(setterTypeName, fieldName, false);
+    }
+
+    @Override
+    public void addSetter(String setterTypeName, String fieldName, boolean removeFinalFlag) throws InstrumentException {
+        try {
+            final Class<?> setterType = pluginContext.injectClass(classLoader, setterTypeName);
+
+            final SetterDetails setterDetails = new SetterAnalyzer().analyze(setterType);
+
+            final FieldNode fieldNode = getField(fieldName);
+            final String fieldTypeDesc = Type.getDescriptor(setterDetails.getFieldType());
+            if (!fieldNode.desc.equals(fieldTypeDesc)) {
+                throw new IllegalArgumentException("Argument type of the setter is different with the field type. setterMethod: " + setterDetails.getSetter() + ", fieldType: " + Type.getType(fieldNode.desc).getClassName());
+            }
+
+            if ((fieldNode.access & Opcodes.ACC_STATIC) != 0) {
+                throw new IllegalArgumentException("Cannot add setter to static fields. setterMethod: " + setterDetails.getSetter().getName() + ", fieldName: " + fieldName);
+            }
+
+            if ((fieldNode.access & Opcodes.ACC_FINAL) != 0) {
+                if (!removeFinalFlag) {
+                    throw new IllegalArgumentException("Cannot add setter to final field. setterMethod: " + setterDetails.getSetter().getName() + ", fieldName: " + fieldName);
+                }
+                if (!classNode.fields.contains(fieldNode)) {
+                    throw new IllegalArgumentException("Cannot remove final modifier of the inherited field. setterMethod: " + setterDetails.getSetter().getName() + ", fieldName: " + fieldName);
+                }
+            }
+
+            addSetterMethod(setterDetails.getSetter().getName(), fieldNode);
+            addInterface(setterTypeName);
+            // removed after the setter has been added successfully
+            fieldNode.access &= ~Opcodes.ACC_FINAL;
+            markModified();
+        } catch (Exception e) {
+            throw new InstrumentException("Failed to add setter: " + setterTypeName, e);
+        }
+    }
+
+    private FieldNode getField(String fieldName) throws NotFoundInstrumentException {
+        final FieldNode fieldNode = findField(fieldName, null);
+        if (fieldNode == null) {
+            throw new NotFoundInstrumentException("field not found. fieldName:" + fieldName + " class:" + getName());
+        }
+        return fieldNode;
+    }
+
+    private void addInterface(String interfaceName) {
+        final String internalName = JavaAssistUtils.javaNameToJvmName(interfaceName);
+        if (!classNode.interfaces.contains(internalName)) {
+            classNode.interfaces.add(internalName);
+            // the new interface is a super type as well
+            classHierarchy = null;
+        }
+    }
+
+    private void addGetterMethod(String methodName, FieldNode fieldNode) {
+        final Type fieldType = Type.getType(fieldNode.desc);
+        final MethodNode getterMethod = newMethodNode(methodName, Type.getMethodDescriptor(fieldType));
+
+        final InsnList instructions = getterMethod.instructions;
+        if ((fieldNode.access & Opcodes.ACC_STATIC) != 0) {
+            instructions.add(new FieldInsnNode(Opcodes.GETSTATIC, classNode.name, fieldNode.name, fieldNode.desc));
+        } else {
+            instructions.add(new VarInsnNode(Opcodes.ALOAD, 0));
+            instructions.add(new FieldInsnNode(Opcodes.GETFIELD, classNode.name, fieldNode.name, fieldNode.desc));
+        }
+        instructions.add(new InsnNode(fieldType.getOpcode(Opcodes.IRETURN)));
+        getterMethod.maxLocals = 1;
+        classNode.methods.add(getterMethod);
+    }
+
+    private void addSetterMethod(String methodName, FieldNode fieldNode) {
+        final Type fieldType = Type.getType(fieldNode.desc);
+        final MethodNode setterMethod = newMethodNode(methodName, Type.getMethodDescriptor(Type.VOID_TYPE, fieldType));
+
+        final InsnList instructions = setterMethod.instructions;
+        instructions.add(new VarInsnNode(Opcodes.ALOAD, 0));
+        instructions.add(new VarInsnNode(fieldType.getOpcode(Opcodes.ILOAD), 1));
+        instructions.add(new FieldInsnNode(Opcodes.PUTFIELD, classNode.name, fieldNode.name, fieldNode.desc));
+        instructions.add(new InsnNode(Opcodes.RETURN));
+        setterMethod.maxLocals = 1 + fieldType.getSize();
+        classNode.methods.add(setterMethod);
+    }
+
+    private MethodNode newMethodNode(String methodName, String desc) {
+        if (findMethodNodeBySignature(classNode, methodName, desc) != null) {
+            throw new IllegalStateException("method already exists. method:" + methodName + desc);
+        }
+        return new MethodNode(Opcodes.ACC_PUBLIC, methodName, desc, null, null);
+    }
+
+    @Override
+    public int addInterceptor(String interceptorClassName) throws InstrumentException {
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        return addInterceptor0(interceptorClassName, null, null, null);
+    }
+
+    @Override
+    public int addInterceptor(String interceptorClassName, Object[] constructorArgs) throws InstrumentException {
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(constructorArgs, "constructorArgs");
+        return addInterceptor0(interceptorClassName, constructorArgs, null, null);
+    }
+
+    @Override
+    public int addScopedInterceptor(String interceptorClassName, String scopeName) throws InstrumentException {
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(scopeName, "scopeName");
+        final InterceptorScope interceptorScope = pluginContext.getInterceptorScope(scopeName);
+        return addInterceptor0(interceptorClassName, null, interceptorScope, ExecutionPolicy.BOUNDARY);
+    }
+
+    @Override
+    public int addScopedInterceptor(String interceptorClassName, InterceptorScope scope) throws InstrumentException {
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(scope, "scope");
+        return addInterceptor0(interceptorClassName, null, scope, ExecutionPolicy.BOUNDARY);
+    }
+
+    @Override
+    public int addScopedInterceptor(String interceptorClassName, Object[] constructorArgs, String scopeName) throws InstrumentException {
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(constructorArgs, "constructorArgs");
+        Asserts.notNull(scopeName, "scopeName");
+        final InterceptorScope interceptorScope = pluginContext.getInterceptorScope(scopeName);
+        return addInterceptor0(interceptorClassName, constructorArgs, interceptorScope, ExecutionPolicy.BOUNDARY);
+    }
+
+    @Override
+    public int addScopedInterceptor(String interceptorClassName, Object[] constructorArgs, InterceptorScope scope) throws InstrumentException {
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(constructorArgs, "constructorArgs");
+        Asserts.notNull(scope, "scope");
+        return addInterceptor0(interceptorClassName, constructorArgs, scope, ExecutionPolicy.BOUNDARY);
+    }
+
+    @Override
+    public int addScopedInterceptor(String interceptorClassName, String scopeName, ExecutionPolicy executionPolicy) throws InstrumentException {
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(scopeName, "scopeName");
+        Asserts.notNull(executionPolicy, "executionPolicy");
+        final InterceptorScope interceptorScope = pluginContext.getInterceptorScope(scopeName);
+        return addInterceptor0(interceptorClassName, null, interceptorScope, executionPolicy);
+    }
+
+    @Override
+    public int addScopedInterceptor(String interceptorClassName, InterceptorScope scope, ExecutionPolicy executionPolicy) throws InstrumentException {
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(scope, "scope");
+        Asserts.notNull(executionPolicy, "executionPolicy");
+        return addInterceptor0(interceptorClassName, null, scope, executionPolicy);
+    }
+
+    @Override
+    public int addScopedInterceptor(String interceptorClassName, Object[] constructorArgs, String scopeName, ExecutionPolicy executionPolicy) throws InstrumentException {
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(constructorArgs, "constructorArgs");
+        Asserts.notNull(scopeName, "scopeName");
+        Asserts.notNull(executionPolicy, "executionPolicy");
+        final InterceptorScope interceptorScope = pluginContext.getInterceptorScope(scopeName);
+        return addInterceptor0(interceptorClassName, constructorArgs, interceptorScope, executionPolicy);
+    }
+
+    @Override
+    public int addScopedInterceptor(String interceptorClassName, Object[] constructorArgs, InterceptorScope scope, ExecutionPolicy executionPolicy) throws InstrumentException {
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(constructorArgs, "constructorArgs");
+        Asserts.notNull(scope, "scope");
+        Asserts.notNull(executionPolicy, "executionPolicy");
+        return addInterceptor0(interceptorClassName, constructorArgs, scope, executionPolicy);
+    }
+
+    private int addInterceptor0(String interceptorClassName, Object[] constructorArgs, InterceptorScope scope, ExecutionPolicy executionPolicy) throws InstrumentException {
+        int interceptorId = -1;
+        final Class<?> interceptorType = pluginContext.injectClass(classLoader, interceptorClassName);
+
+        final TargetMethods targetMethods = interceptorType.getAnnotation(TargetMethods.class);
+        if (targetMethods != null) {
+            for (TargetMethod m : targetMethods.value()) {
+                interceptorId = addInterceptor0(m, interceptorClassName, constructorArgs, scope, executionPolicy);
+            }
+        }
+
+        final TargetMethod targetMethod = interceptorType.getAnnotation(TargetMethod.class);
+        if (targetMethod != null) {
+            interceptorId = addInterceptor0(targetMethod, interceptorClassName, constructorArgs, scope, executionPolicy);
+        }
+
+        final TargetConstructors targetConstructors = interceptorType.getAnnotation(TargetConstructors.class);
+        if (targetConstructors != null) {
+            for (TargetConstructor c : targetConstructors.value()) {
+                interceptorId = addInterceptor0(c, interceptorClassName, scope, executionPolicy, constructorArgs);
+            }
+        }
+
+        final TargetConstructor targetConstructor = interceptorType.getAnnotation(TargetConstructor.class);
+        if (targetConstructor != null) {
+            interceptorId = addInterceptor0(targetConstructor, interceptorClassName, scope, executionPolicy, constructorArgs);
+        }
+
+        final TargetFilter targetFilter = interceptorType.getAnnotation(TargetFilter.class);
+        if (targetFilter != null) {
+            interceptorId = addInterceptor0(targetFilter, interceptorClassName, scope, executionPolicy, constructorArgs);
+        }
+
+        if (interceptorId == -1) {
+            throw new PinpointException("No target is specified. At least one of @Targets, @TargetMethod, @TargetConstructor, @TargetFilter must present. interceptor: " + interceptorClassName);
+        }
+
+        return interceptorId;
+    }
+
+    private int addInterceptor0(TargetConstructor c, String interceptorClassName, InterceptorScope scope, ExecutionPolicy executionPolicy, Object... constructorArgs) throws InstrumentException {
+        final InstrumentMethod constructor = getConstructor(c.value());
+
+        if (constructor == null) {
+            throw new NotFoundInstrumentException("Cannot find constructor with parameter types: " + Arrays.toString(c.value()));
+        }
+        return ((ASMMethod) constructor).addInterceptorInternal(interceptorClassName, constructorArgs, scope, executionPolicy);
+    }
+
+    private int addInterceptor0(TargetMethod m, String interceptorClassName, Object[] constructorArgs, InterceptorScope scope, ExecutionPolicy executionPolicy) throws InstrumentException {
+        final InstrumentMethod method = getDeclaredMethod(m.name(), m.paramTypes());
+
+        if (method == null) {
+            throw new NotFoundInstrumentException("Cannot find method " + m.name() + " with parameter types: " + Arrays.toString(m.paramTypes()));
+        }
+        return ((ASMMethod) method).addInterceptorInternal(interceptorClassName, constructorArgs, scope, executionPolicy);
+    }
+
+    private int addInterceptor0(TargetFilter annotation, String interceptorClassName, InterceptorScope scope, ExecutionPolicy executionPolicy, Object[] constructorArgs) throws InstrumentException {
+        final String filterTypeName = annotation.type();
+        Asserts.notNull(filterTypeName, "type of @TargetFilter");
+
+        final TraceContext traceContext = pluginContext.getTraceContext();
+        final InterceptorArgumentProvider interceptorArgumentProvider = new InterceptorArgumentProvider(traceContext, this);
+        final AutoBindingObjectFactory filterFactory = new AutoBindingObjectFactory(pluginContext, classLoader, interceptorArgumentProvider);
+        final ObjectFactory objectFactory = ObjectFactory.byConstructor(filterTypeName, (Object[]) annotation.constructorArguments());
+        final MethodFilter filter = (MethodFilter) filterFactory.createInstance(objectFactory);
+
+        final boolean singleton = annotation.singleton();
+        int interceptorId = -1;
+
+        for (InstrumentMethod m : getDeclaredMethods(filter)) {
+            if (singleton && interceptorId != -1) {
+                m.addInterceptor(interceptorId);
+            } else {
+                interceptorId = ((ASMMethod) m).addInterceptorInternal(interceptorClassName, constructorArgs, scope, executionPolicy);
+            }
+        }
+
+        if (interceptorId == -1) {
+            logger.warn("No methods are intercepted. target: {}, interceptor: {}, methodFilter: {}", getName(), interceptorClassName, filterTypeName);
+        }
+
+        return interceptorId;
+    }
+
+    @Override
+    public int addInterceptor(MethodFilter filter, String interceptorClassName) throws InstrumentException {
+        Asserts.notNull(filter, "filter");
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        return addScopedInterceptor0(filter, interceptorClassName, null, null, null);
+    }
+
+    @Override
+    public int addInterceptor(MethodFilter filter, String interceptorClassName, Object[] constructorArgs) throws InstrumentException {
+        Asserts.notNull(filter, "filter");
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(constructorArgs, "constructorArgs");
+        return addScopedInterceptor0(filter, interceptorClassName, constructorArgs, null, null);
+    }
+
+    @Override
+    public int addScopedInterceptor(MethodFilter filter, String interceptorClassName, String scopeName, ExecutionPolicy executionPolicy) throws InstrumentException {
+        Asserts.notNull(filter, "filter");
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(scopeName, "scopeName");
+        Asserts.notNull(executionPolicy, "executionPolicy");
+        final InterceptorScope interceptorScope = pluginContext.getInterceptorScope(scopeName);
+        return addScopedInterceptor0(filter, interceptorClassName, null, interceptorScope, executionPolicy);
+    }
+
+    @Override
+    public int addScopedInterceptor(MethodFilter filter, String interceptorClassName, InterceptorScope scope, ExecutionPolicy executionPolicy) throws InstrumentException {
+        Asserts.notNull(filter, "filter");
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(scope, "scope");
+        Asserts.notNull(executionPolicy, "executionPolicy");
+        return addScopedInterceptor0(filter, interceptorClassName, null, scope, executionPolicy);
+    }
+
+    @Override
+    public int addScopedInterceptor(MethodFilter filter, String interceptorClassName, Object[] constructorArgs, String scopeName, ExecutionPolicy executionPolicy) throws InstrumentException {
+        Asserts.notNull(filter, "filter");
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(constructorArgs, "constructorArgs");
+        Asserts.notNull(scopeName, "scopeName");
+        Asserts.notNull(executionPolicy, "executionPolicy");
+        final InterceptorScope interceptorScope = pluginContext.getInterceptorScope(scopeName);
+        return addScopedInterceptor0(filter, interceptorClassName, constructorArgs, interceptorScope, executionPolicy);
+    }
+
+    @Override
+    public int addScopedInterceptor(MethodFilter filter, String interceptorClassName, Object[] constructorArgs, InterceptorScope scope, ExecutionPolicy executionPolicy) throws InstrumentException {
+        Asserts.notNull(filter, "filter");
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(constructorArgs, "constructorArgs");
+        Asserts.notNull(scope, "scope");
+        Asserts.notNull(executionPolicy, "executionPolicy");
+        return addScopedInterceptor0(filter, interceptorClassName, constructorArgs, scope, executionPolicy);
+    }
+
+    private int addScopedInterceptor0(MethodFilter filter, String interceptorClassName, Object[] constructorArgs, InterceptorScope scope, ExecutionPolicy executionPolicy) throws InstrumentException {
+        int interceptorId = -1;
+
+        for (InstrumentMethod m : getDeclaredMethods(filter)) {
+            if (interceptorId != -1) {
+                m.addInterceptor(interceptorId);
+            } else {
+                interceptorId = ((ASMMethod) m).addInterceptorInternal(interceptorClassName, constructorArgs, scope, executionPolicy);
+            }
+        }
+
+        if (interceptorId == -1) {
+            logger.warn("No methods are intercepted. target: {}, interceptor: {}, methodFilter: {}", getName(), interceptorClassName, filter.getClass().getName());
+        }
+
+        return interceptorId;
+    }
+
+    @Override
+    public List<InstrumentClass> getNestedClasses(ClassFilter filter) {
+        final List<InstrumentClass> list = new ArrayList<InstrumentClass>();
+        for (InnerClassNode innerClass : classNode.innerClasses) {
+            if (!isNestedClass(innerClass)) {
+                continue;
+            }
+            final ClassNode nestedClassNode = ASMClassNodeLoader.readClassNode(classLoader, innerClass.name);
+            if (nestedClassNode == null) {
+                continue;
+            }
+            final InstrumentClass clazz = new ASMClass(pluginContext, interceptorRegistryBinder, classLoader, nestedClassNode);
+            if (filter.accept(clazz)) {
+                list.add(clazz);
+            }
+        }
+        return list;
+    }
+
+    private boolean isNestedClass(InnerClassNode innerClass) {
+        if (innerClass.name.equals(classNode.name)) {
+            return false;
+        }
+        if (innerClass.outerName != null) {
+            return innerClass.outerName.equals(classNode.name);
+        }
+        // local or anonymous class
+        return innerClass.name.startsWith(classNode.name + "$");
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.instrument;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.commons.JSRInlinerAdapter;
+import org.objectweb.asm.tree.ClassNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+/**
+ * Reads {@link ClassNode}s without loading the classes.
+ * Frames are skipped since they are recomputed when the class is written, and JSR/RET subroutines are inlined
+ * so that code can be inserted into the methods of old class files.
+ */
+public final class ASMClassNodeLoader {
+
+    // resources of the bootstrap class loader only. ClassLoader.getSystemResource() would also search the application class path.
+    private static final BootstrapResourceLoader BOOTSTRAP_RESOURCE_LOADER = new BootstrapResourceLoader();
+
+    private ASMClassNodeLoader() {
+    }
+
+    /**
+     * Jars appended to the bootstrap class loader by the agent are not always visible as bootstrap resources, so they are searched as well.
+     */
+    public static void appendToBootstrapClassPath(String jar) {
+        if (jar == null) {
+            throw new NullPointerException("jar must not be null");
+        }
+        BOOTSTRAP_RESOURCE_LOADER.appendJar(jar);
+    }
+
+    public static ClassNode readClassNode(byte[] classFileBuffer) {
+        if (classFileBuffer == null) {
+            throw new NullPointerException("classFileBuffer must not be null");
+        }
+        final ClassReader classReader = new ClassReader(classFileBuffer);
+        final ClassNode classNode = new JSRInlinerClassNode();
+        classReader.accept(classNode, ClassReader.SKIP_FRAMES);
+        return classNode;
+    }
+
+    /**
+     * @param classLoader null means the bootstrap class loader
+     * @return null if the class file is not found
+     */
+    public static ClassNode readClassNode(ClassLoader classLoader, String jvmInternalClassName) {
+        final byte[] classFileBuffer = readClassFile(classLoader, jvmInternalClassName);
+        if (classFileBuffer == null) {
+            return null;
+        }
+        return readClassNode(classFileBuffer);
+    }
+
+    /**
+     * @param classLoader null means the bootstrap class loader
+     * @return null if the class file is not found
+     */
+    public static byte[] readClassFile(ClassLoader classLoader, String jvmInternalClassName) {
+        if (jvmInternalClassName == null) {
+            throw new NullPointerException("jvmInternalClassName must not be null");
+        }
+        final String classPath = jvmInternalClassName + ".class";
+        final InputStream in = getResourceLoader(classLoader).getResourceAsStream(classPath);
+        if (in == null) {
+            return null;
+        }
+        try {
+            return readFully(in);
+        } catch (IOException e) {
+            return null;
+        } finally {
+            try {
+                in.close();
+            } catch (IOException ignore) {
+                // skip
+            }
+        }
+    }
+
+    public static boolean hasClassFile(ClassLoader classLoader, String jvmInternalClassName) {
+        final String classPath = jvmInternalClassName + ".class";
+        return getResourceLoader(classLoader).getResource(classPath) != null;
+    }
+
+    private static ClassLoader getResourceLoader(ClassLoader classLoader) {
+        if (classLoader == null) {
+            return BOOTSTRAP_RESOURCE_LOADER;
+        }
+        return classLoader;
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        final byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static class BootstrapResourceLoader extends URLClassLoader {
+
+        private BootstrapResourceLoader() {
+            // no parent, resources are looked up in the bootstrap class loader and then in the appended jars
+            super(new URL[0], null);
+        }
+
+        private void appendJar(String jar) {
+            try {
+                addURL(new File(jar).toURI().toURL());
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException("invalid jar:" + jar, e);
+            }
+        }
+    }
+
+    private static class JSRInlinerClassNode extends ClassNode {
+
+        private JSRInlinerClassNode() {
+            super(Opcodes.ASM5);
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+            final MethodVisitor methodVisitor = super.visitMethod(access, name, desc, signature, exceptions);
+            return new JSRInlinerAdapter(methodVisitor, access, name, desc, signature, exceptions);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.instrument;
+
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentClass;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentClassPool;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
+import com.navercorp.pinpoint.bootstrap.instrument.NotFoundInstrumentException;
+import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
+import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
+import org.objectweb.asm.tree.ClassNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link InstrumentClassPool} backed by the ASM tree api.
+ * Unlike {@link JavassistClassPool}, no class pool is kept per class loader, class files are parsed on demand
+ * and dropped with the {@link ASMClass}.
+ */
+public class ASMClassPool implements InstrumentClassPool {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final InterceptorRegistryBinder interceptorRegistryBinder;
+
+    public ASMClassPool(InterceptorRegistryBinder interceptorRegistryBinder, String bootStrapJar) {
+        if (interceptorRegistryBinder == null) {
+            throw new NullPointerException("interceptorRegistryBinder must not be null");
+        }
+        this.interceptorRegistryBinder = interceptorRegistryBinder;
+        if (bootStrapJar != null) {
+            // append bootstrap-core
+            appendToBootstrapClassPath(bootStrapJar);
+        }
+    }
+
+    @Override
+    public InstrumentClass getClass(InstrumentContext instrumentContext, ClassLoader classLoader, String jvmInternalClassName, byte[] classFileBuffer) throws NotFoundInstrumentException {
+        if (jvmInternalClassName == null) {
+            throw new NullPointerException("jvmInternalClassName must not be null");
+        }
+        final String internalName = JavaAssistUtils.javaNameToJvmName(jvmInternalClassName);
+        final ClassNode classNode;
+        if (classFileBuffer == null) {
+            // compatibility code
+            logger.info("classFileBuffer is null className:{}", jvmInternalClassName);
+            classNode = ASMClassNodeLoader.readClassNode(classLoader, internalName);
+        } else {
+            classNode = ASMClassNodeLoader.readClassNode(classFileBuffer);
+        }
+        if (classNode == null) {
+            throw new NotFoundInstrumentException(jvmInternalClassName + " class not found.");
+        }
+        return new ASMClass(instrumentContext, interceptorRegistryBinder, classLoader, classNode);
+    }
+
+    @Override
+    public boolean hasClass(ClassLoader classLoader, String classBinaryName) {
+        if (classBinaryName == null) {
+            throw new NullPointerException("classBinaryName must not be null");
+        }
+        return ASMClassNodeLoader.hasClassFile(classLoader, JavaAssistUtils.javaNameToJvmName(classBinaryName));
+    }
+
+    @Override
+    public void appendToBootstrapClassPath(String jar) {
+        ASMClassNodeLoader.appendToBootstrapClassPath(jar);
+    }
+}
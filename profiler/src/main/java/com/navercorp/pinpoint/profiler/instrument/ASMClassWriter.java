@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.instrument;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * {@link ClassWriter} computing frames without loading classes.
+ * The default {@link ClassWriter#getCommonSuperClass(String, String)} uses Class.forName(), which would load
+ * (and possibly initialize) classes of the application in the middle of a transformation.
+ * The class hierarchy is read from the class files of the target class loader instead.
+ * If a class file of the hierarchy can't be read, an {@link IllegalStateException} is thrown rather than guessing
+ * java/lang/Object, which would fail verification once the merged value is used as its real class.
+ */
+public class ASMClassWriter extends ClassWriter {
+
+    private static final String OBJECT_CLASS_INTERNAL_NAME = "java/lang/Object";
+
+    private final ClassLoader classLoader;
+
+    public ASMClassWriter(ClassLoader classLoader, int flags) {
+        super(flags);
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    protected String getCommonSuperClass(String type1, String type2) {
+        if (type1.equals(type2)) {
+            return type1;
+        }
+        if (OBJECT_CLASS_INTERNAL_NAME.equals(type1) || OBJECT_CLASS_INTERNAL_NAME.equals(type2)) {
+            return OBJECT_CLASS_INTERNAL_NAME;
+        }
+        final ClassReader classReader1 = getClassReader(type1);
+        final ClassReader classReader2 = getClassReader(type2);
+        if (isInterface(classReader1) || isInterface(classReader2)) {
+            // the verifier checks assignability to interfaces at runtime
+            return OBJECT_CLASS_INTERNAL_NAME;
+        }
+
+        final Set<String> superClassNames = new HashSet<String>();
+        String className = type1;
+        ClassReader classReader = classReader1;
+        while (true) {
+            superClassNames.add(className);
+            className = classReader.getSuperName();
+            if (className == null) {
+                break;
+            }
+            classReader = getClassReader(className);
+        }
+
+        className = type2;
+        classReader = classReader2;
+        while (className != null) {
+            if (superClassNames.contains(className)) {
+                return className;
+            }
+            className = classReader.getSuperName();
+            if (className == null) {
+                break;
+            }
+            classReader = getClassReader(className);
+        }
+        return OBJECT_CLASS_INTERNAL_NAME;
+    }
+
+    private boolean isInterface(ClassReader classReader) {
+        return (classReader.getAccess() & Opcodes.ACC_INTERFACE) != 0;
+    }
+
+    private ClassReader getClassReader(String jvmInternalClassName) {
+        byte[] classFileBuffer = ASMClassNodeLoader.readClassFile(classLoader, jvmInternalClassName);
+        if (classFileBuffer == null && classLoader != null) {
+            // classes of the agent itself (interceptors, accessors) are not visible to the target class loader as resources
+            classFileBuffer = ASMClassNodeLoader.readClassFile(ASMClassWriter.class.getClassLoader(), jvmInternalClassName);
+        }
+        if (classFileBuffer == null) {
+            throw new IllegalStateException("class file not found. className:" + jvmInternalClassName + " classLoader:" + classLoader);
+        }
+        return new ClassReader(classFileBuffer);
+    }
+}
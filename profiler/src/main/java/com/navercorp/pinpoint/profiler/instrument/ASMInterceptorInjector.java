@@ -0,0 +1,499 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.instrument;
+
+import com.navercorp.pinpoint.bootstrap.context.TraceContext;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentClass;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentMethod;
+import com.navercorp.pinpoint.bootstrap.interceptor.Interceptor;
+import com.navercorp.pinpoint.bootstrap.interceptor.InterceptorInvokerHelper;
+import com.navercorp.pinpoint.bootstrap.interceptor.registry.InterceptorRegistry;
+import com.navercorp.pinpoint.profiler.instrument.interceptor.CaptureType;
+import com.navercorp.pinpoint.profiler.instrument.interceptor.InterceptorDefinition;
+import com.navercorp.pinpoint.profiler.instrument.interceptor.InterceptorType;
+import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.IntInsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+import org.objectweb.asm.tree.TypeInsnNode;
+import org.objectweb.asm.tree.VarInsnNode;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts the invocation of an interceptor into a {@link MethodNode}.
+ * The generated code is the bytecode equivalent of the source generated by
+ * {@link com.navercorp.pinpoint.profiler.instrument.interceptor.InvokeBeforeCodeGenerator} and
+ * {@link com.navercorp.pinpoint.profiler.instrument.interceptor.InvokeAfterCodeGenerator}:
+ * <pre>
+ * _$PINPOINT$_interceptor13 = null;
+ * try {
+ *     _$PINPOINT$_interceptor13 = InterceptorRegistry.getInterceptor(13);
+ *     ((AroundInterceptor) _$PINPOINT$_interceptor13).before(this, args);
+ * } catch (Throwable t) {
+ *     InterceptorInvokerHelper.handleException(t);
+ * }
+ * try {
+ *     // original code. before every return:
+ *     try {
+ *         ((AroundInterceptor) _$PINPOINT$_interceptor13).after(this, args, result, null);
+ *     } catch (Throwable t) {
+ *         InterceptorInvokerHelper.handleException(t);
+ *     }
+ * } catch (Throwable e) {
+ *     try {
+ *         ((AroundInterceptor) _$PINPOINT$_interceptor13).after(this, args, null, e);
+ *     } catch (Throwable t) {
+ *         InterceptorInvokerHelper.handleException(t);
+ *     }
+ *     throw e;
+ * }
+ * </pre>
+ * Frames are not maintained, the class must be written with {@link org.objectweb.asm.ClassWriter#COMPUTE_FRAMES}.
+ */
+public class ASMInterceptorInjector {
+
+    private static final int THIS_RETURN_EXCEPTION_SIZE = 3;
+
+    private static final String THROWABLE_INTERNAL_NAME = Type.getInternalName(Throwable.class);
+    private static final String OBJECT_INTERNAL_NAME = Type.getInternalName(Object.class);
+    private static final String INTERCEPTOR_REGISTRY_INTERNAL_NAME = Type.getInternalName(InterceptorRegistry.class);
+    private static final String GET_INTERCEPTOR_DESCRIPTOR = Type.getMethodDescriptor(Type.getType(Interceptor.class), Type.INT_TYPE);
+    private static final String INTERCEPTOR_INVOKER_HELPER_INTERNAL_NAME = Type.getInternalName(InterceptorInvokerHelper.class);
+    private static final String HANDLE_EXCEPTION_DESCRIPTOR = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Throwable.class));
+
+    private final int interceptorId;
+    private final InterceptorDefinition interceptorDefinition;
+    private final InstrumentClass targetClass;
+    private final InstrumentMethod targetMethod;
+    private final TraceContext traceContext;
+
+    public ASMInterceptorInjector(int interceptorId, InterceptorDefinition interceptorDefinition, InstrumentClass targetClass, InstrumentMethod targetMethod, TraceContext traceContext) {
+        if (interceptorDefinition == null) {
+            throw new NullPointerException("interceptorDefinition must not be null");
+        }
+        if (targetClass == null) {
+            throw new NullPointerException("targetClass must not be null");
+        }
+        if (targetMethod == null) {
+            throw new NullPointerException("targetMethod must not be null");
+        }
+        if (traceContext == null) {
+            throw new NullPointerException("traceContext must not be null");
+        }
+        this.interceptorId = interceptorId;
+        this.interceptorDefinition = interceptorDefinition;
+        this.targetClass = targetClass;
+        this.targetMethod = targetMethod;
+        this.traceContext = traceContext;
+    }
+
+    public void inject(MethodNode methodNode) {
+        if (methodNode == null) {
+            throw new NullPointerException("methodNode must not be null");
+        }
+        if (methodNode.instructions.size() == 0) {
+            throw new IllegalArgumentException("abstract or native method. method:" + methodNode.name + methodNode.desc);
+        }
+        final Method beforeMethod = isBeforeInterceptor() ? interceptorDefinition.getBeforeMethod() : null;
+        final Method afterMethod = isAfterInterceptor() ? interceptorDefinition.getAfterMethod() : null;
+
+        final InsnList instructions = methodNode.instructions;
+        final List<AbstractInsnNode> returnList = findReturnInstructions(instructions);
+
+        final int interceptorVar = newLocal(methodNode, Type.getType(Interceptor.class));
+        final InsnList initCode = new InsnList();
+        initCode.add(new InsnNode(Opcodes.ACONST_NULL));
+        initCode.add(new VarInsnNode(Opcodes.ASTORE, interceptorVar));
+
+        final InsnList beforeCode = new InsnList();
+        if (beforeMethod != null) {
+            beforeCode.add(invokeBefore(methodNode, interceptorVar, beforeMethod));
+        }
+        final LabelNode bodyStart = new LabelNode();
+        beforeCode.add(bodyStart);
+
+        if (targetMethod.isConstructor()) {
+            instructions.insert(initCode);
+            instructions.insert(findSuperConstructorCall(instructions), beforeCode);
+        } else {
+            initCode.add(beforeCode);
+            instructions.insert(initCode);
+        }
+
+        if (afterMethod == null) {
+            return;
+        }
+        final boolean localVarsInitialized = beforeMethod != null;
+
+        final List<LabelNode> bodyRanges = new ArrayList<LabelNode>();
+        bodyRanges.add(bodyStart);
+        final Type returnType = Type.getReturnType(methodNode.desc);
+        final int returnVar = returnType.getSort() == Type.VOID ? -1 : newLocal(methodNode, returnType);
+        for (AbstractInsnNode returnInsn : returnList) {
+            final LabelNode exitStart = new LabelNode();
+            final LabelNode exitEnd = new LabelNode();
+            final InsnList afterCode = new InsnList();
+            afterCode.add(exitStart);
+            if (returnVar != -1) {
+                afterCode.add(new VarInsnNode(returnType.getOpcode(Opcodes.ISTORE), returnVar));
+            }
+            afterCode.add(invokeAfter(methodNode, interceptorVar, afterMethod, localVarsInitialized, returnVar, -1));
+            if (returnVar != -1) {
+                afterCode.add(new VarInsnNode(returnType.getOpcode(Opcodes.ILOAD), returnVar));
+            }
+            afterCode.add(exitEnd);
+            instructions.insertBefore(returnInsn, afterCode);
+
+            bodyRanges.add(exitStart);
+            bodyRanges.add(exitEnd);
+        }
+
+        final LabelNode bodyEnd = new LabelNode();
+        final LabelNode handler = new LabelNode();
+        final int exceptionVar = newLocal(methodNode, Type.getType(Throwable.class));
+        instructions.add(bodyEnd);
+        instructions.add(handler);
+        instructions.add(new VarInsnNode(Opcodes.ASTORE, exceptionVar));
+        instructions.add(invokeAfter(methodNode, interceptorVar, afterMethod, localVarsInitialized, -1, exceptionVar));
+        instructions.add(new VarInsnNode(Opcodes.ALOAD, exceptionVar));
+        instructions.add(new InsnNode(Opcodes.ATHROW));
+        bodyRanges.add(bodyEnd);
+
+        // the code invoking after() must not be covered by the catch clause of the method body
+        for (int i = 0; i < bodyRanges.size(); i += 2) {
+            final LabelNode start = bodyRanges.get(i);
+            final LabelNode end = bodyRanges.get(i + 1);
+            if (hasCode(start, end)) {
+                // appended, the catch clause of the method body must come after the existing (inner) catch clauses
+                methodNode.tryCatchBlocks.add(new TryCatchBlockNode(start, end, handler, THROWABLE_INTERNAL_NAME));
+            }
+        }
+    }
+
+    private boolean isBeforeInterceptor() {
+        final CaptureType captureType = interceptorDefinition.getCaptureType();
+        return CaptureType.BEFORE == captureType || CaptureType.AROUND == captureType;
+    }
+
+    private boolean isAfterInterceptor() {
+        final CaptureType captureType = interceptorDefinition.getCaptureType();
+        return CaptureType.AFTER == captureType || CaptureType.AROUND == captureType;
+    }
+
+    private List<AbstractInsnNode> findReturnInstructions(InsnList instructions) {
+        final List<AbstractInsnNode> returnList = new ArrayList<AbstractInsnNode>();
+        for (AbstractInsnNode insn = instructions.getFirst(); insn != null; insn = insn.getNext()) {
+            final int opcode = insn.getOpcode();
+            if (opcode >= Opcodes.IRETURN && opcode <= Opcodes.RETURN) {
+                returnList.add(insn);
+            }
+        }
+        return returnList;
+    }
+
+    /**
+     * Same as javassist CodeIterator.skipSuperConstructor(), objects created by NEW are initialized before the super constructor is called.
+     */
+    private AbstractInsnNode findSuperConstructorCall(InsnList instructions) {
+        int newCount = 0;
+        for (AbstractInsnNode insn = instructions.getFirst(); insn != null; insn = insn.getNext()) {
+            final int opcode = insn.getOpcode();
+            if (opcode == Opcodes.NEW) {
+                newCount++;
+            } else if (opcode == Opcodes.INVOKESPECIAL && "<init>".equals(((MethodInsnNode) insn).name)) {
+                if (newCount == 0) {
+                    return insn;
+                }
+                newCount--;
+            }
+        }
+        throw new IllegalStateException("super constructor call not found. class:" + targetClass.getName());
+    }
+
+    private boolean hasCode(LabelNode start, LabelNode end) {
+        for (AbstractInsnNode insn = start.getNext(); insn != null && insn != end; insn = insn.getNext()) {
+            if (insn.getOpcode() != -1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int newLocal(MethodNode methodNode, Type type) {
+        final int index = methodNode.maxLocals;
+        methodNode.maxLocals += type.getSize();
+        return index;
+    }
+
+    private InsnList invokeBefore(MethodNode methodNode, int interceptorVar, Method beforeMethod) {
+        final InsnList code = new InsnList();
+        code.add(loadInterceptor(interceptorVar));
+        code.add(new VarInsnNode(Opcodes.ALOAD, interceptorVar));
+        code.add(new TypeInsnNode(Opcodes.CHECKCAST, getInterceptorType()));
+        appendBeforeArguments(code, methodNode, beforeMethod);
+        code.add(invokeInterceptor(beforeMethod));
+        return tryCatch(methodNode, code);
+    }
+
+    private InsnList invokeAfter(MethodNode methodNode, int interceptorVar, Method afterMethod, boolean localVarsInitialized, int returnVar, int exceptionVar) {
+        final InsnList code = new InsnList();
+        if (!localVarsInitialized) {
+            code.add(loadInterceptor(interceptorVar));
+        }
+        code.add(new VarInsnNode(Opcodes.ALOAD, interceptorVar));
+        code.add(new TypeInsnNode(Opcodes.CHECKCAST, getInterceptorType()));
+        appendAfterArguments(code, methodNode, afterMethod, returnVar, exceptionVar);
+        code.add(invokeInterceptor(afterMethod));
+        return tryCatch(methodNode, code);
+    }
+
+    private InsnList loadInterceptor(int interceptorVar) {
+        final InsnList code = new InsnList();
+        code.add(pushInt(interceptorId));
+        code.add(new MethodInsnNode(Opcodes.INVOKESTATIC, INTERCEPTOR_REGISTRY_INTERNAL_NAME, "getInterceptor", GET_INTERCEPTOR_DESCRIPTOR, false));
+        code.add(new VarInsnNode(Opcodes.ASTORE, interceptorVar));
+        return code;
+    }
+
+    private MethodInsnNode invokeInterceptor(Method interceptorMethod) {
+        final Class<?> interceptorType = interceptorDefinition.getInterceptorBaseClass();
+        final boolean isInterface = interceptorType.isInterface();
+        final int opcode = isInterface ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL;
+        return new MethodInsnNode(opcode, getInterceptorType(), interceptorMethod.getName(), Type.getMethodDescriptor(interceptorMethod), isInterface);
+    }
+
+    private String getInterceptorType() {
+        return Type.getInternalName(interceptorDefinition.getInterceptorBaseClass());
+    }
+
+    private InsnList tryCatch(MethodNode methodNode, InsnList code) {
+        final LabelNode tryStart = new LabelNode();
+        final LabelNode tryEnd = new LabelNode();
+        final LabelNode handler = new LabelNode();
+        final LabelNode end = new LabelNode();
+
+        final InsnList tryCatch = new InsnList();
+        tryCatch.add(tryStart);
+        tryCatch.add(code);
+        tryCatch.add(tryEnd);
+        tryCatch.add(new JumpInsnNode(Opcodes.GOTO, end));
+        tryCatch.add(handler);
+        tryCatch.add(new MethodInsnNode(Opcodes.INVOKESTATIC, INTERCEPTOR_INVOKER_HELPER_INTERNAL_NAME, "handleException", HANDLE_EXCEPTION_DESCRIPTOR, false));
+        tryCatch.add(end);
+
+        // inserted first, the catch clause of the method body must not handle exceptions of the interceptor
+        methodNode.tryCatchBlocks.add(0, new TryCatchBlockNode(tryStart, tryEnd, handler, THROWABLE_INTERNAL_NAME));
+        return tryCatch;
+    }
+
+    private void appendBeforeArguments(InsnList code, MethodNode methodNode, Method beforeMethod) {
+        final InterceptorType type = interceptorDefinition.getInterceptorType();
+        switch (type) {
+            case ARRAY_ARGS:
+                code.add(loadTarget());
+                code.add(loadArguments(methodNode));
+                break;
+            case STATIC:
+                appendStaticArguments(code, methodNode);
+                break;
+            case API_ID_AWARE:
+                code.add(loadTarget());
+                code.add(pushInt(getApiId()));
+                code.add(loadArguments(methodNode));
+                break;
+            case BASIC:
+                final int interceptorArgNum = beforeMethod.getParameterTypes().length - 1;
+                if (interceptorArgNum < 0) {
+                    return;
+                }
+                code.add(loadTarget());
+                appendParameters(code, methodNode, interceptorArgNum);
+                break;
+        }
+    }
+
+    private void appendAfterArguments(InsnList code, MethodNode methodNode, Method afterMethod, int returnVar, int exceptionVar) {
+        final InterceptorType type = interceptorDefinition.getInterceptorType();
+        switch (type) {
+            case ARRAY_ARGS:
+                code.add(loadTarget());
+                code.add(loadArguments(methodNode));
+                break;
+            case STATIC:
+                appendStaticArguments(code, methodNode);
+                break;
+            case API_ID_AWARE:
+                code.add(loadTarget());
+                code.add(pushInt(getApiId()));
+                code.add(loadArguments(methodNode));
+                break;
+            case BASIC:
+                final int interceptorParamNum = afterMethod.getParameterTypes().length;
+                if (interceptorParamNum == 0) {
+                    return;
+                }
+                final int interceptorArgNum = interceptorParamNum - THIS_RETURN_EXCEPTION_SIZE;
+                if (interceptorArgNum < 0) {
+                    throw new IllegalStateException("interceptor arguments not matched. interceptorSize:" + interceptorParamNum);
+                }
+                code.add(loadTarget());
+                appendParameters(code, methodNode, interceptorArgNum);
+                break;
+        }
+        code.add(loadReturnValue(methodNode, returnVar));
+        code.add(loadException(exceptionVar));
+    }
+
+    private void appendStaticArguments(InsnList code, MethodNode methodNode) {
+        code.add(loadTarget());
+        code.add(new LdcInsnNode(targetClass.getName()));
+        code.add(new LdcInsnNode(targetMethod.getName()));
+        code.add(new LdcInsnNode(JavaAssistUtils.getParameterDescription(targetMethod.getParameterTypes())));
+        code.add(loadArguments(methodNode));
+    }
+
+    private void appendParameters(InsnList code, MethodNode methodNode, int interceptorArgNum) {
+        final Type[] argumentTypes = Type.getArgumentTypes(methodNode.desc);
+        final int matchNum = Math.min(argumentTypes.length, interceptorArgNum);
+        int localIndex = getFirstArgumentIndex();
+        int i = 0;
+        for (; i < matchNum; i++) {
+            code.add(loadBoxedLocal(argumentTypes[i], localIndex));
+            localIndex += argumentTypes[i].getSize();
+        }
+        for (; i < interceptorArgNum; i++) {
+            code.add(new InsnNode(Opcodes.ACONST_NULL));
+        }
+    }
+
+    private int getApiId() {
+        return traceContext.cacheApi(targetMethod.getDescriptor());
+    }
+
+    private boolean isStatic() {
+        return Modifier.isStatic(targetMethod.getModifiers());
+    }
+
+    private int getFirstArgumentIndex() {
+        return isStatic() ? 0 : 1;
+    }
+
+    private AbstractInsnNode loadTarget() {
+        if (isStatic()) {
+            return new InsnNode(Opcodes.ACONST_NULL);
+        }
+        return new VarInsnNode(Opcodes.ALOAD, 0);
+    }
+
+    private InsnList loadArguments(MethodNode methodNode) {
+        final InsnList code = new InsnList();
+        final Type[] argumentTypes = Type.getArgumentTypes(methodNode.desc);
+        if (argumentTypes.length == 0) {
+            code.add(new InsnNode(Opcodes.ACONST_NULL));
+            return code;
+        }
+        code.add(pushInt(argumentTypes.length));
+        code.add(new TypeInsnNode(Opcodes.ANEWARRAY, OBJECT_INTERNAL_NAME));
+        int localIndex = getFirstArgumentIndex();
+        for (int i = 0; i < argumentTypes.length; i++) {
+            code.add(new InsnNode(Opcodes.DUP));
+            code.add(pushInt(i));
+            code.add(loadBoxedLocal(argumentTypes[i], localIndex));
+            code.add(new InsnNode(Opcodes.AASTORE));
+            localIndex += argumentTypes[i].getSize();
+        }
+        return code;
+    }
+
+    private InsnList loadReturnValue(MethodNode methodNode, int returnVar) {
+        final InsnList code = new InsnList();
+        if (returnVar == -1) {
+            code.add(new InsnNode(Opcodes.ACONST_NULL));
+        } else {
+            code.add(loadBoxedLocal(Type.getReturnType(methodNode.desc), returnVar));
+        }
+        return code;
+    }
+
+    private AbstractInsnNode loadException(int exceptionVar) {
+        if (exceptionVar == -1) {
+            return new InsnNode(Opcodes.ACONST_NULL);
+        }
+        return new VarInsnNode(Opcodes.ALOAD, exceptionVar);
+    }
+
+    private InsnList loadBoxedLocal(Type type, int localIndex) {
+        final InsnList code = new InsnList();
+        code.add(new VarInsnNode(type.getOpcode(Opcodes.ILOAD), localIndex));
+        final Type boxType = getBoxType(type);
+        if (boxType != null) {
+            final String descriptor = Type.getMethodDescriptor(boxType, type);
+            code.add(new MethodInsnNode(Opcodes.INVOKESTATIC, boxType.getInternalName(), "valueOf", descriptor, false));
+        }
+        return code;
+    }
+
+    private Type getBoxType(Type type) {
+        switch (type.getSort()) {
+            case Type.BOOLEAN:
+                return Type.getType(Boolean.class);
+            case Type.CHAR:
+                return Type.getType(Character.class);
+            case Type.BYTE:
+                return Type.getType(Byte.class);
+            case Type.SHORT:
+                return Type.getType(Short.class);
+            case Type.INT:
+                return Type.getType(Integer.class);
+            case Type.FLOAT:
+                return Type.getType(Float.class);
+            case Type.LONG:
+                return Type.getType(Long.class);
+            case Type.DOUBLE:
+                return Type.getType(Double.class);
+            default:
+                return null;
+        }
+    }
+
+    private AbstractInsnNode pushInt(int value) {
+        if (value >= -1 && value <= 5) {
+            return new InsnNode(Opcodes.ICONST_0 + value);
+        }
+        if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            return new IntInsnNode(Opcodes.BIPUSH, value);
+        }
+        if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            return new IntInsnNode(Opcodes.SIPUSH, value);
+        }
+        return new LdcInsnNode(value);
+    }
+}
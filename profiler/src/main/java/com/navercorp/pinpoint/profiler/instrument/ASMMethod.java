@@ -0,0 +1,345 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.instrument;
+
+import com.navercorp.pinpoint.bootstrap.context.MethodDescriptor;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentException;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentMethod;
+import com.navercorp.pinpoint.bootstrap.interceptor.Interceptor;
+import com.navercorp.pinpoint.bootstrap.interceptor.annotation.Scope;
+import com.navercorp.pinpoint.bootstrap.interceptor.registry.InterceptorRegistry;
+import com.navercorp.pinpoint.bootstrap.interceptor.scope.ExecutionPolicy;
+import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScope;
+import com.navercorp.pinpoint.common.util.Asserts;
+import com.navercorp.pinpoint.profiler.context.DefaultMethodDescriptor;
+import com.navercorp.pinpoint.profiler.instrument.interceptor.InterceptorDefinition;
+import com.navercorp.pinpoint.profiler.instrument.interceptor.InterceptorDefinitionFactory;
+import com.navercorp.pinpoint.profiler.interceptor.factory.AnnotatedInterceptorFactory;
+import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.LineNumberNode;
+import org.objectweb.asm.tree.LocalVariableNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.util.List;
+
+/**
+ * {@link InstrumentMethod} of {@link ASMClass}, the interceptor code is inserted by {@link ASMInterceptorInjector}.
+ */
+public class ASMMethod implements InstrumentMethod {
+
+    private static final String CONSTRUCTOR_NAME = "<init>";
+
+    private final InstrumentContext pluginContext;
+    private final InterceptorRegistryBinder interceptorRegistryBinder;
+
+    private final ASMClass declaringClass;
+    private final MethodNode methodNode;
+    private final MethodDescriptor descriptor;
+
+    // TODO fix inject InterceptorDefinitionFactory
+    private static final InterceptorDefinitionFactory interceptorDefinitionFactory = new InterceptorDefinitionFactory();
+
+    public ASMMethod(InstrumentContext pluginContext, InterceptorRegistryBinder interceptorRegistryBinder, ASMClass declaringClass, MethodNode methodNode) {
+        this.pluginContext = pluginContext;
+        this.interceptorRegistryBinder = interceptorRegistryBinder;
+        this.declaringClass = declaringClass;
+        this.methodNode = methodNode;
+
+        final String[] parameterVariableNames = getParameterVariableNames();
+        final DefaultMethodDescriptor descriptor = new DefaultMethodDescriptor(declaringClass.getName(), getName(), getParameterTypes(), parameterVariableNames);
+        descriptor.setLineNumber(getLineNumber());
+
+        this.descriptor = descriptor;
+    }
+
+    MethodNode getMethodNode() {
+        return methodNode;
+    }
+
+    @Override
+    public String getName() {
+        if (isConstructor()) {
+            // same as CtConstructor.getName()
+            final String className = declaringClass.getName();
+            return className.substring(className.lastIndexOf('.') + 1);
+        }
+        return methodNode.name;
+    }
+
+    @Override
+    public String[] getParameterTypes() {
+        final Type[] argumentTypes = Type.getArgumentTypes(methodNode.desc);
+        final String[] parameterTypes = new String[argumentTypes.length];
+        for (int i = 0; i < argumentTypes.length; i++) {
+            parameterTypes[i] = argumentTypes[i].getClassName();
+        }
+        return parameterTypes;
+    }
+
+    @Override
+    public String getReturnType() {
+        if (isConstructor()) {
+            return null;
+        }
+        return Type.getReturnType(methodNode.desc).getClassName();
+    }
+
+    @Override
+    public int getModifiers() {
+        // ACC_DEPRECATED is an ASM pseudo access flag
+        return methodNode.access & ~Opcodes.ACC_DEPRECATED;
+    }
+
+    @Override
+    public boolean isConstructor() {
+        return CONSTRUCTOR_NAME.equals(methodNode.name);
+    }
+
+    @Override
+    public MethodDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    private String[] getParameterVariableNames() {
+        final Type[] argumentTypes = Type.getArgumentTypes(methodNode.desc);
+        final String[] parameterVariableNames = new String[argumentTypes.length];
+        final List<LocalVariableNode> localVariables = methodNode.localVariables;
+
+        int localIndex = (methodNode.access & Opcodes.ACC_STATIC) != 0 ? 0 : 1;
+        for (int i = 0; i < argumentTypes.length; i++) {
+            final String variableName = findLocalVariableName(localVariables, localIndex);
+            if (variableName == null) {
+                // not compiled with debug option
+                return getParameterDefaultVariableNames();
+            }
+            parameterVariableNames[i] = variableName;
+            localIndex += argumentTypes[i].getSize();
+        }
+        return parameterVariableNames;
+    }
+
+    private String findLocalVariableName(List<LocalVariableNode> localVariables, int localIndex) {
+        if (localVariables == null) {
+            return null;
+        }
+        for (LocalVariableNode localVariable : localVariables) {
+            if (localVariable.index == localIndex) {
+                return localVariable.name;
+            }
+        }
+        return null;
+    }
+
+    private String[] getParameterDefaultVariableNames() {
+        final String[] parameterTypes = getParameterTypes();
+        final String[] variableNames = new String[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            final String parameterType = parameterTypes[i];
+            variableNames[i] = parameterType.substring(parameterType.lastIndexOf('.') + 1).toLowerCase();
+        }
+        return variableNames;
+    }
+
+    private int getLineNumber() {
+        for (AbstractInsnNode insn = methodNode.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+            if (insn instanceof LineNumberNode) {
+                return ((LineNumberNode) insn).line;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int addInterceptor(String interceptorClassName) throws InstrumentException {
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        return addInterceptor0(interceptorClassName, null, null, null);
+    }
+
+    @Override
+    public int addInterceptor(String interceptorClassName, Object[] constructorArgs) throws InstrumentException {
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(constructorArgs, "constructorArgs");
+        return addInterceptor0(interceptorClassName, constructorArgs, null, null);
+    }
+
+    @Override
+    public int addScopedInterceptor(String interceptorClassName, String scopeName) throws InstrumentException {
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(scopeName, "scopeName");
+        final InterceptorScope interceptorScope = this.pluginContext.getInterceptorScope(scopeName);
+        return addInterceptor0(interceptorClassName, null, interceptorScope, null);
+    }
+
+    @Override
+    public int addScopedInterceptor(String interceptorClassName, InterceptorScope scope) throws InstrumentException {
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(scope, "scope");
+        return addInterceptor0(interceptorClassName, null, scope, null);
+    }
+
+    @Override
+    public int addScopedInterceptor(String interceptorClassName, String scopeName, ExecutionPolicy executionPolicy) throws InstrumentException {
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(scopeName, "scopeName");
+        Asserts.notNull(executionPolicy, "executionPolicy");
+        final InterceptorScope interceptorScope = this.pluginContext.getInterceptorScope(scopeName);
+        return addInterceptor0(interceptorClassName, null, interceptorScope, executionPolicy);
+    }
+
+    @Override
+    public int addScopedInterceptor(String interceptorClassName, InterceptorScope scope, ExecutionPolicy executionPolicy) throws InstrumentException {
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(scope, "scope");
+        Asserts.notNull(executionPolicy, "executionPolicy");
+        return addInterceptor0(interceptorClassName, null, scope, executionPolicy);
+    }
+
+    @Override
+    public int addScopedInterceptor(String interceptorClassName, Object[] constructorArgs, String scopeName) throws InstrumentException {
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(constructorArgs, "constructorArgs");
+        Asserts.notNull(scopeName, "scopeName");
+        final InterceptorScope interceptorScope = this.pluginContext.getInterceptorScope(scopeName);
+        return addInterceptor0(interceptorClassName, constructorArgs, interceptorScope, null);
+    }
+
+    @Override
+    public int addScopedInterceptor(String interceptorClassName, Object[] constructorArgs, InterceptorScope scope) throws InstrumentException {
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(constructorArgs, "constructorArgs");
+        Asserts.notNull(scope, "scope");
+        return addInterceptor0(interceptorClassName, constructorArgs, scope, null);
+    }
+
+    @Override
+    public int addScopedInterceptor(String interceptorClassName, Object[] constructorArgs, String scopeName, ExecutionPolicy executionPolicy) throws InstrumentException {
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(constructorArgs, "constructorArgs");
+        Asserts.notNull(scopeName, "scopeName");
+        Asserts.notNull(executionPolicy, "executionPolicy");
+        final InterceptorScope interceptorScope = this.pluginContext.getInterceptorScope(scopeName);
+        return addInterceptor0(interceptorClassName, constructorArgs, interceptorScope, executionPolicy);
+    }
+
+    @Override
+    public int addScopedInterceptor(String interceptorClassName, Object[] constructorArgs, InterceptorScope scope, ExecutionPolicy executionPolicy) throws InstrumentException {
+        Asserts.notNull(interceptorClassName, "interceptorClassName");
+        Asserts.notNull(constructorArgs, "constructorArgs");
+        Asserts.notNull(scope, "scope");
+        Asserts.notNull(executionPolicy, "executionPolicy");
+        return addInterceptor0(interceptorClassName, constructorArgs, scope, executionPolicy);
+    }
+
+    @Override
+    public void addInterceptor(int interceptorId) throws InstrumentException {
+        final Interceptor interceptor = InterceptorRegistry.getInterceptor(interceptorId);
+
+        try {
+            addInterceptor0(interceptor, interceptorId);
+        } catch (Exception e) {
+            throw new InstrumentException("Failed to add interceptor " + interceptor.getClass().getName() + " to " + getLongName(), e);
+        }
+    }
+
+    // for internal api
+    int addInterceptorInternal(String interceptorClassName, Object[] constructorArgs, InterceptorScope scope, ExecutionPolicy executionPolicy) throws InstrumentException {
+        if (interceptorClassName == null) {
+            throw new NullPointerException("interceptorClassName must not be null");
+        }
+        return addInterceptor0(interceptorClassName, constructorArgs, scope, executionPolicy);
+    }
+
+    private int addInterceptor0(String interceptorClassName, Object[] constructorArgs, InterceptorScope scope, ExecutionPolicy executionPolicy) throws InstrumentException {
+        try {
+            final ScopeInfo scopeInfo = resolveScopeInfo(interceptorClassName, scope, executionPolicy);
+            final Interceptor interceptor = createInterceptor(interceptorClassName, scopeInfo, constructorArgs);
+            final int interceptorId = interceptorRegistryBinder.getInterceptorRegistryAdaptor().addInterceptor(interceptor);
+
+            addInterceptor0(interceptor, interceptorId);
+            return interceptorId;
+        } catch (RuntimeException ex) {
+            throw new InstrumentException("Failed to add interceptor " + interceptorClassName + " to " + getLongName(), ex);
+        }
+    }
+
+    private ScopeInfo resolveScopeInfo(String interceptorClassName, InterceptorScope scope, ExecutionPolicy policy) {
+        final Class<? extends Interceptor> interceptorType = pluginContext.injectClass(declaringClass.getClassLoader(), interceptorClassName);
+
+        if (scope == null) {
+            Scope interceptorScope = interceptorType.getAnnotation(Scope.class);
+
+            if (interceptorScope != null) {
+                String scopeName = interceptorScope.value();
+                scope = pluginContext.getInterceptorScope(scopeName);
+                policy = interceptorScope.executionPolicy();
+            }
+        }
+
+        if (scope == null) {
+            policy = null;
+        } else if (policy == null) {
+            policy = ExecutionPolicy.BOUNDARY;
+        }
+
+        return new ScopeInfo(scope, policy);
+    }
+
+    private static class ScopeInfo {
+        private final InterceptorScope scope;
+        private final ExecutionPolicy policy;
+
+        public ScopeInfo(InterceptorScope scope, ExecutionPolicy policy) {
+            this.scope = scope;
+            this.policy = policy;
+        }
+
+        public InterceptorScope getScope() {
+            return scope;
+        }
+
+        public ExecutionPolicy getPolicy() {
+            return policy;
+        }
+    }
+
+    private Interceptor createInterceptor(String interceptorClassName, ScopeInfo scopeInfo, Object[] constructorArgs) {
+        final ClassLoader classLoader = declaringClass.getClassLoader();
+
+        final AnnotatedInterceptorFactory factory = new AnnotatedInterceptorFactory(pluginContext);
+        return factory.getInterceptor(classLoader, interceptorClassName, constructorArgs, scopeInfo.getScope(), scopeInfo.getPolicy(), declaringClass, this);
+    }
+
+    private void addInterceptor0(Interceptor interceptor, int interceptorId) {
+        if (interceptor == null) {
+            throw new NullPointerException("interceptor must not be null");
+        }
+
+        final InterceptorDefinition interceptorDefinition = interceptorDefinitionFactory.createInterceptorDefinition(interceptor.getClass());
+        final ASMInterceptorInjector injector = new ASMInterceptorInjector(interceptorId, interceptorDefinition, declaringClass, this, pluginContext.getTraceContext());
+        injector.inject(methodNode);
+        declaringClass.markModified();
+    }
+
+    private String getLongName() {
+        return declaringClass.getName() + "." + methodNode.name + methodNode.desc;
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.instrument.aspect;
+
+import com.navercorp.pinpoint.bootstrap.instrument.aspect.Aspect;
+import com.navercorp.pinpoint.bootstrap.instrument.aspect.JointPoint;
+import com.navercorp.pinpoint.bootstrap.instrument.aspect.PointCut;
+import com.navercorp.pinpoint.profiler.instrument.ASMClassNodeLoader;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AnnotationNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ASM version of {@link AspectWeaverClass}.
+ * The original body of a @PointCut method is moved to a private method named by
+ * {@link AspectWeaverClass.DefaultMethodNameReplacer}, the body of the advice replaces it,
+ * and calls of @JointPoint methods in the advice invoke the moved original body.
+ */
+public class ASMAspectWeaver {
+
+    private static final String OBJECT_CLASS_INTERNAL_NAME = "java/lang/Object";
+    private static final String ASPECT_DESCRIPTOR = Type.getDescriptor(Aspect.class);
+    private static final String POINT_CUT_DESCRIPTOR = Type.getDescriptor(PointCut.class);
+    private static final String JOINT_POINT_DESCRIPTOR = Type.getDescriptor(JointPoint.class);
+
+    private static final AspectWeaverClass.MethodNameReplacer DEFAULT_METHOD_NAME_REPLACER = new AspectWeaverClass.DefaultMethodNameReplacer();
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ClassLoader classLoader;
+    private final AspectWeaverClass.MethodNameReplacer methodNameReplacer;
+
+    public ASMAspectWeaver(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+        this.methodNameReplacer = DEFAULT_METHOD_NAME_REPLACER;
+    }
+
+    public void weaving(ClassNode sourceClass, ClassNode adviceClass) {
+        if (sourceClass == null) {
+            throw new NullPointerException("sourceClass must not be null");
+        }
+        if (adviceClass == null) {
+            throw new NullPointerException("adviceClass must not be null");
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info("weaving sourceClass:{} advice:{}", sourceClass.name, adviceClass.name);
+        }
+        // @Aspect, @PointCut and @JointPoint are not visible at runtime
+        if (!hasAnnotation(adviceClass.invisibleAnnotations, ASPECT_DESCRIPTOR) && !hasAnnotation(adviceClass.visibleAnnotations, ASPECT_DESCRIPTOR)) {
+            throw new IllegalArgumentException("@Aspect not found. adviceClass:" + adviceClass.name);
+        }
+        // advice class hierarchy check,
+        final boolean isSubClass = isSubClass(adviceClass, sourceClass);
+        if (!isSubClass && !OBJECT_CLASS_INTERNAL_NAME.equals(adviceClass.superName)) {
+            throw new IllegalArgumentException("invalid class hierarchy. " + sourceClass.name + " adviceSuperClass:" + adviceClass.superName);
+        }
+
+        final List<MethodNode> pointCutMethodList = new ArrayList<MethodNode>();
+        final List<MethodNode> jointPointList = new ArrayList<MethodNode>();
+        final List<MethodNode> utilMethodList = new ArrayList<MethodNode>();
+        for (MethodNode method : adviceClass.methods) {
+            if ("<init>".equals(method.name) || "<clinit>".equals(method.name)) {
+                continue;
+            }
+            if (hasMethodAnnotation(method, POINT_CUT_DESCRIPTOR)) {
+                pointCutMethodList.add(method);
+            } else if (hasMethodAnnotation(method, JOINT_POINT_DESCRIPTOR)) {
+                jointPointList.add(method);
+            } else {
+                if ((method.access & Opcodes.ACC_PRIVATE) == 0) {
+                    throw new IllegalArgumentException("non private UtilMethod unsupported. method:" + adviceClass.name + "." + method.name + method.desc);
+                }
+                utilMethodList.add(method);
+            }
+        }
+
+        final List<MethodNode> weavingList = new ArrayList<MethodNode>();
+        for (MethodNode adviceMethod : pointCutMethodList) {
+            final MethodNode sourceMethod = findSourceMethod(sourceClass, adviceMethod);
+            if (logger.isInfoEnabled()) {
+                logger.info("weaving method:{}{}", sourceMethod.name, sourceMethod.desc);
+            }
+            weaveMethod(sourceClass, adviceClass, sourceMethod, adviceMethod, jointPointList, weavingList);
+        }
+
+        for (MethodNode utilMethod : utilMethodList) {
+            final MethodNode copyMethod = newMethodNode(utilMethod.access, utilMethod.name, utilMethod);
+            utilMethod.accept(new AdviceMethodAdapter(copyMethod, sourceClass, adviceClass, null, null));
+            weavingList.add(copyMethod);
+        }
+        sourceClass.methods.addAll(weavingList);
+    }
+
+    private MethodNode findSourceMethod(ClassNode sourceClass, MethodNode adviceMethod) {
+        final String parameterDescriptor = adviceMethod.desc.substring(0, adviceMethod.desc.indexOf(')') + 1);
+        for (MethodNode method : sourceClass.methods) {
+            if (method.name.equals(adviceMethod.name) && method.desc.startsWith(parameterDescriptor)) {
+                if (!method.desc.equals(adviceMethod.desc)) {
+                    throw new IllegalArgumentException("Signature miss match. method:" + adviceMethod.name + " source:" + method.desc + " advice:" + adviceMethod.desc);
+                }
+                return method;
+            }
+        }
+        throw new IllegalArgumentException("PointCut method not found. method:" + sourceClass.name + "." + adviceMethod.name + adviceMethod.desc);
+    }
+
+    private void weaveMethod(ClassNode sourceClass, ClassNode adviceClass, MethodNode sourceMethod, MethodNode adviceMethod, List<MethodNode> jointPointList, List<MethodNode> weavingList) {
+        final String copyMethodName = methodNameReplacer.replaceMethodName(sourceMethod.name);
+        // set private
+        final int copyAccess = (sourceMethod.access & ~(Opcodes.ACC_PUBLIC | Opcodes.ACC_PROTECTED)) | Opcodes.ACC_PRIVATE;
+        final MethodNode copyMethod = newMethodNode(copyAccess, copyMethodName, sourceMethod);
+        sourceMethod.accept(copyMethod);
+        weavingList.add(copyMethod);
+
+        final MethodNode adviceBody = newMethodNode(sourceMethod.access, sourceMethod.name, sourceMethod);
+        adviceMethod.accept(new AdviceMethodAdapter(adviceBody, sourceClass, adviceClass, jointPointList, copyMethod));
+
+        sourceMethod.instructions = adviceBody.instructions;
+        sourceMethod.tryCatchBlocks = adviceBody.tryCatchBlocks;
+        sourceMethod.localVariables = adviceBody.localVariables;
+        sourceMethod.maxStack = adviceBody.maxStack;
+        sourceMethod.maxLocals = adviceBody.maxLocals;
+    }
+
+    private MethodNode newMethodNode(int access, String name, MethodNode method) {
+        final String[] exceptions = method.exceptions.toArray(new String[method.exceptions.size()]);
+        return new MethodNode(Opcodes.ASM5, access, name, method.desc, method.signature, exceptions);
+    }
+
+    private boolean isSubClass(ClassNode adviceClass, ClassNode sourceClass) {
+        String superName = adviceClass.superName;
+        while (superName != null) {
+            if (superName.equals(sourceClass.name)) {
+                return true;
+            }
+            if (OBJECT_CLASS_INTERNAL_NAME.equals(superName)) {
+                return false;
+            }
+            final ClassNode superClass = ASMClassNodeLoader.readClassNode(classLoader, superName);
+            if (superClass == null) {
+                return false;
+            }
+            superName = superClass.superName;
+        }
+        return false;
+    }
+
+    private boolean hasMethodAnnotation(MethodNode method, String annotationDescriptor) {
+        return hasAnnotation(method.invisibleAnnotations, annotationDescriptor) || hasAnnotation(method.visibleAnnotations, annotationDescriptor);
+    }
+
+    private boolean hasAnnotation(List<AnnotationNode> annotations, String annotationDescriptor) {
+        if (annotations == null) {
+            return false;
+        }
+        for (AnnotationNode annotation : annotations) {
+            if (annotation.desc.equals(annotationDescriptor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Copies the code of an advice method, members of the advice class are resolved against the source class
+     * and the calls of @JointPoint methods are replaced with the call of the original method.
+     */
+    private class AdviceMethodAdapter extends MethodVisitor {
+        private final ClassNode sourceClass;
+        private final ClassNode adviceClass;
+        private final List<MethodNode> jointPointList;
+        private final MethodNode replaceMethod;
+
+        private AdviceMethodAdapter(MethodNode methodNode, ClassNode sourceClass, ClassNode adviceClass, List<MethodNode> jointPointList, MethodNode replaceMethod) {
+            super(Opcodes.ASM5, methodNode);
+            this.sourceClass = sourceClass;
+            this.adviceClass = adviceClass;
+            this.jointPointList = jointPointList;
+            this.replaceMethod = replaceMethod;
+        }
+
+        @Override
+        public void visitMethodInsn(int opcode, String owner, String name, String desc, boolean itf) {
+            if (isJointPointMethod(owner, name, desc)) {
+                if (!desc.equals(replaceMethod.desc)) {
+                    throw new IllegalArgumentException("Signature miss match. method:" + name + " source:" + replaceMethod.desc + " jointPoint:" + desc);
+                }
+                if (logger.isDebugEnabled()) {
+                    logger.debug("JointPoint method {}{} -> invokeOriginal:{}", name, desc, replaceMethod.name);
+                }
+                final int invokeOpcode = (replaceMethod.access & Opcodes.ACC_STATIC) != 0 ? Opcodes.INVOKESTATIC : Opcodes.INVOKESPECIAL;
+                super.visitMethodInsn(invokeOpcode, sourceClass.name, replaceMethod.name, desc, false);
+                return;
+            }
+            super.visitMethodInsn(opcode, mapType(owner), name, mapDesc(desc), itf);
+        }
+
+        private boolean isJointPointMethod(String owner, String name, String desc) {
+            if (jointPointList == null || !owner.equals(adviceClass.name)) {
+                return false;
+            }
+            for (MethodNode method : jointPointList) {
+                if (method.name.equals(name) && method.desc.equals(desc)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void visitFieldInsn(int opcode, String owner, String name, String desc) {
+            super.visitFieldInsn(opcode, mapType(owner), name, mapDesc(desc));
+        }
+
+        @Override
+        public void visitTypeInsn(int opcode, String type) {
+            super.visitTypeInsn(opcode, mapType(type));
+        }
+
+        @Override
+        public void visitLdcInsn(Object cst) {
+            if (cst instanceof Type) {
+                super.visitLdcInsn(Type.getType(mapDesc(((Type) cst).getDescriptor())));
+                return;
+            }
+            super.visitLdcInsn(cst);
+        }
+
+        @Override
+        public void visitLocalVariable(String name, String desc, String signature, Label start, Label end, int index) {
+            super.visitLocalVariable(name, mapDesc(desc), null, start, end, index);
+        }
+
+        @Override
+        public void visitFrame(int type, int nLocal, Object[] local, int nStack, Object[] stack) {
+            // recomputed by ASMClassWriter
+        }
+
+        private String mapType(String type) {
+            if (type.equals(adviceClass.name)) {
+                return sourceClass.name;
+            }
+            return type;
+        }
+
+        private String mapDesc(String desc) {
+            return desc.replace("L" + adviceClass.name + ";", "L" + sourceClass.name + ";");
+        }
+    }
+}
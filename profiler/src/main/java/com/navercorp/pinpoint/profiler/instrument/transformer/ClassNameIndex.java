@@ -0,0 +1,127 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+/**
+ * Compact index of the internal names of the transformer target classes.
+ * <p>
+ * {@link #mightContain(String)} rejects most non-target classes by looking at the length and the last few characters
+ * of the name only, so a class name that is not a target is never fully hashed nor compared.
+ * False positives are possible, a positive answer has to be confirmed with the registry itself.
+ * Not thread safe for {@link #add(String)}. Lookups must start after every name has been added.
+ */
+public final class ClassNameIndex {
+
+    // the tail of a class name (simple name) is what differs most between classes of the same package
+    private static final int HASH_SAMPLE_LENGTH = 8;
+    private static final int MAX_LENGTH_BIT = 512;
+    private static final int DEFAULT_BLOOM_BITS = 1 << 15;
+
+    private final long[] lengthBits = new long[MAX_LENGTH_BIT / 64];
+    private final long[] bloomBits;
+    private final int bloomMask;
+
+    private int size;
+
+    public ClassNameIndex() {
+        this(DEFAULT_BLOOM_BITS);
+    }
+
+    ClassNameIndex(int bloomBitSize) {
+        if (bloomBitSize < 64 || Integer.bitCount(bloomBitSize) != 1) {
+            throw new IllegalArgumentException("bloomBitSize must be a power of 2 and >= 64. bloomBitSize:" + bloomBitSize);
+        }
+        this.bloomBits = new long[bloomBitSize / 64];
+        this.bloomMask = bloomBitSize - 1;
+    }
+
+    public void add(String jvmClassName) {
+        if (jvmClassName == null) {
+            throw new NullPointerException("jvmClassName must not be null");
+        }
+        final int length = jvmClassName.length();
+        if (length < MAX_LENGTH_BIT) {
+            setBit(lengthBits, length);
+        } else {
+            // every name longer than the length bitmap shares the last bit
+            setBit(lengthBits, MAX_LENGTH_BIT - 1);
+        }
+
+        final int hash = sampleHash(jvmClassName);
+        setBit(bloomBits, hash & bloomMask);
+        setBit(bloomBits, secondHash(hash) & bloomMask);
+        setBit(bloomBits, thirdHash(hash) & bloomMask);
+        size++;
+    }
+
+    public boolean mightContain(String jvmClassName) {
+        if (jvmClassName == null) {
+            return false;
+        }
+        final int length = jvmClassName.length();
+        if (!isBitSet(lengthBits, Math.min(length, MAX_LENGTH_BIT - 1))) {
+            return false;
+        }
+
+        final int hash = sampleHash(jvmClassName);
+        return isBitSet(bloomBits, hash & bloomMask)
+                && isBitSet(bloomBits, secondHash(hash) & bloomMask)
+                && isBitSet(bloomBits, thirdHash(hash) & bloomMask);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int sampleHash(String jvmClassName) {
+        final int length = jvmClassName.length();
+        int hash = length;
+        for (int i = Math.max(0, length - HASH_SAMPLE_LENGTH); i < length; i++) {
+            hash = 31 * hash + jvmClassName.charAt(i);
+        }
+        // spread the bits, the masks only use the low bits
+        hash ^= (hash >>> 16);
+        hash *= 0x85ebca6b;
+        hash ^= (hash >>> 13);
+        return hash;
+    }
+
+    private static int secondHash(int hash) {
+        return (hash >>> 11) | (hash << 21);
+    }
+
+    private static int thirdHash(int hash) {
+        return (hash * 0xc2b2ae35) >>> 7;
+    }
+
+    private static void setBit(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static boolean isBitSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassNameIndex{" +
+                "size=" + size +
+                ", bloomBitSize=" + (bloomMask + 1) +
+                '}';
+    }
+}
@@ -38,11 +38,18 @@ public class DefaultTransformerRegistry implements TransformerRegistry {
     // No concurrent issue because only one thread put entries to the map and get operations are started AFTER the map is completely build.
     // Set the map size big intentionally to keep hash collision low.
     private final Map<String, ClassFileTransformer> registry = new HashMap<String, ClassFileTransformer>(512);
+    // rejects most of the non-target classes without hashing the whole class name
+    private final ClassNameIndex classNameIndex = new ClassNameIndex();
 
     @Override
     public ClassFileTransformer findTransformer(String className) {
         return registry.get(className);
     }
+
+    @Override
+    public boolean mightContain(String className) {
+        return classNameIndex.mightContain(className);
+    }
     
     public void addTransformer(Matcher matcher, ClassFileTransformer transformer) {
         // TODO extract matcher process
@@ -68,5 +75,6 @@ public class DefaultTransformerRegistry implements TransformerRegistry {
         if (old != null) {
             throw new IllegalStateException("Transformer already exist. className:" + jvmClassName + " new:" + transformer.getClass() + " old:" + old.getClass());
         }
+        classNameIndex.add(jvmClassName);
     }
 }
@@ -25,4 +25,9 @@ public interface TransformerRegistry {
 
     ClassFileTransformer findTransformer(String className);
 
+    /**
+     * cheap pre-check before the filter chain. false if no transformer is registered for the class, true if there might be one.
+     */
+    boolean mightContain(String className);
+
 }
@@ -25,16 +25,22 @@ import java.util.concurrent.TimeUnit;
 import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
 import com.navercorp.pinpoint.profiler.monitor.codahale.AgentStatCollectorFactory;
 import com.navercorp.pinpoint.profiler.monitor.codahale.activetrace.ActiveTraceMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.codahale.allocation.AllocationMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.codahale.cpu.CpuLoadCollector;
 import com.navercorp.pinpoint.profiler.monitor.codahale.gc.GarbageCollector;
+import com.navercorp.pinpoint.profiler.monitor.codahale.spill.SpillMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.codahale.tps.TransactionMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.codahale.transform.TransformMetricCollector;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
 import com.navercorp.pinpoint.thrift.dto.TActiveTrace;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
 import com.navercorp.pinpoint.thrift.dto.TAgentStatBatch;
+import com.navercorp.pinpoint.thrift.dto.TAllocation;
 import com.navercorp.pinpoint.thrift.dto.TCpuLoad;
 import com.navercorp.pinpoint.thrift.dto.TJvmGc;
+import com.navercorp.pinpoint.thrift.dto.TSpill;
 import com.navercorp.pinpoint.thrift.dto.TTransaction;
+import com.navercorp.pinpoint.thrift.dto.TTransform;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -107,6 +113,9 @@ public class AgentStatMonitor {
         private final CpuLoadCollector cpuLoadCollector;
         private final TransactionMetricCollector transactionMetricCollector;
         private final ActiveTraceMetricCollector activeTraceMetricCollector;
+        private final AllocationMetricCollector allocationMetricCollector;
+        private final SpillMetricCollector spillMetricCollector;
+        private final TransformMetricCollector transformMetricCollector;
 
         // Not thread safe. For use with single thread ONLY
         private final int numStatsPerBatch;
@@ -119,6 +128,9 @@ public class AgentStatMonitor {
             this.cpuLoadCollector = agentStatCollectorFactory.getCpuLoadCollector();
             this.transactionMetricCollector = agentStatCollectorFactory.getTransactionMetricCollector();
             this.activeTraceMetricCollector = agentStatCollectorFactory.getActiveTraceMetricCollector();
+            this.allocationMetricCollector = agentStatCollectorFactory.getAllocationMetricCollector();
+            this.spillMetricCollector = agentStatCollectorFactory.getSpillMetricCollector();
+            this.transformMetricCollector = agentStatCollectorFactory.getTransformMetricCollector();
             this.numStatsPerBatch = numStatsPerBatch;
             this.agentStats = new ArrayList<TAgentStat>(this.numStatsPerBatch);
         }
@@ -153,6 +165,12 @@ public class AgentStatMonitor {
             agentStat.setTransaction(transaction);
             final TActiveTrace activeTrace = activeTraceMetricCollector.collect();
             agentStat.setActiveTrace(activeTrace);
+            final TAllocation allocation = allocationMetricCollector.collect();
+            agentStat.setAllocation(allocation);
+            final TSpill spill = spillMetricCollector.collect();
+            agentStat.setSpill(spill);
+            final TTransform transform = transformMetricCollector.collect();
+            agentStat.setTransform(transform);
             return agentStat;
         }
 
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import com.navercorp.pinpoint.profiler.monitor.metric.ResponseHistogramAggregator;
+import com.navercorp.pinpoint.profiler.sender.EnhancedDataSender;
+import com.navercorp.pinpoint.rpc.Future;
+import com.navercorp.pinpoint.rpc.FutureListener;
+import com.navercorp.pinpoint.rpc.ResponseMessage;
+import com.navercorp.pinpoint.thrift.dto.TResponseHistogramBatch;
+import com.navercorp.pinpoint.thrift.dto.TResult;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializerFactory;
+import com.navercorp.pinpoint.thrift.util.SerializationUtils;
+
+import org.apache.thrift.TBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Periodically sends the server map statistics aggregated by {@link ResponseHistogramAggregator}.
+ * <p>
+ * The spans of the interval are already flagged as aggregated, so the collector will not rebuild the statistics from them.
+ * A batch is therefore sent as a tcp request and kept until the collector acknowledges it.
+ * Unacknowledged batches are sent again on the next collection, up to {@link #MAX_PENDING_BATCH_COUNT} batches.
+ */
+public class ResponseHistogramMonitor {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final boolean isTrace = logger.isTraceEnabled();
+
+    static final int MAX_PENDING_BATCH_COUNT = 30;
+
+    private final ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1, new PinpointThreadFactory("Pinpoint-response-histogram-monitor", true));
+
+    private final EnhancedDataSender dataSender;
+    private final String agentId;
+    private final long agentStartTime;
+    private final ResponseHistogramAggregator aggregator;
+    private final long collectionIntervalMs;
+    private final CollectJob collectJob;
+
+    public ResponseHistogramMonitor(EnhancedDataSender dataSender, String agentId, long startTime, ResponseHistogramAggregator aggregator, long collectionInterval) {
+        if (dataSender == null) {
+            throw new NullPointerException("dataSender must not be null");
+        }
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        if (aggregator == null) {
+            throw new NullPointerException("aggregator must not be null");
+        }
+        if (collectionInterval <= 0) {
+            throw new IllegalArgumentException("collectionInterval must be positive");
+        }
+        this.dataSender = dataSender;
+        this.agentId = agentId;
+        this.agentStartTime = startTime;
+        this.aggregator = aggregator;
+        this.collectionIntervalMs = collectionInterval;
+        this.collectJob = new CollectJob();
+    }
+
+    public void start() {
+        executor.scheduleAtFixedRate(this.collectJob, this.collectionIntervalMs, this.collectionIntervalMs, TimeUnit.MILLISECONDS);
+        logger.info("ResponseHistogram monitor started");
+    }
+
+    public void stop() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(3000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // spans of the last interval are marked as aggregated, so send what is left before the sender stops
+        if (executor.isTerminated()) {
+            this.collectJob.run();
+        }
+        logger.info("ResponseHistogram monitor stopped. unacknowledged batches:{}", this.collectJob.pendingList.size());
+    }
+
+    // NotThreadSafe
+    private class CollectJob implements Runnable {
+
+        private long prevCollectionTimestamp = System.currentTimeMillis();
+        // batches not acknowledged by the collector yet, oldest first
+        private final LinkedList<PendingBatch> pendingList = new LinkedList<PendingBatch>();
+
+        @Override
+        public void run() {
+            final long currentCollectionTimestamp = System.currentTimeMillis();
+            final long collectInterval = currentCollectionTimestamp - this.prevCollectionTimestamp;
+            try {
+                final TResponseHistogramBatch batch = aggregator.collect();
+                if (batch.isSetResponseHistogram() || batch.isSetCallerHistograms() || batch.isSetCalleeHistograms()) {
+                    batch.setAgentId(agentId);
+                    batch.setStartTimestamp(agentStartTime);
+                    batch.setApplicationName(aggregator.getApplicationName());
+                    batch.setApplicationServiceType(aggregator.getApplicationServiceType().getCode());
+                    batch.setTimestamp(currentCollectionTimestamp);
+                    batch.setCollectInterval(collectInterval);
+                    if (isTrace) {
+                        logger.trace("collect responseHistogram:{}", batch);
+                    }
+                    addPendingBatch(batch);
+                }
+                sendPendingBatch();
+            } catch (Exception ex) {
+                logger.warn("ResponseHistogram collect failed. Caused:{}", ex.getMessage(), ex);
+            } finally {
+                this.prevCollectionTimestamp = currentCollectionTimestamp;
+            }
+        }
+
+        private void addPendingBatch(TResponseHistogramBatch batch) {
+            pendingList.add(new PendingBatch(batch));
+            if (pendingList.size() > MAX_PENDING_BATCH_COUNT) {
+                final PendingBatch discard = pendingList.removeFirst();
+                logger.warn("ResponseHistogram batch discarded. unacknowledged for too long. timestamp:{}", discard.batch.getTimestamp());
+            }
+        }
+
+        private void sendPendingBatch() {
+            final Iterator<PendingBatch> iterator = pendingList.iterator();
+            while (iterator.hasNext()) {
+                final PendingBatch pendingBatch = iterator.next();
+                final int state = pendingBatch.state;
+                if (state == PendingBatch.ACKNOWLEDGED) {
+                    iterator.remove();
+                } else if (state == PendingBatch.READY) {
+                    pendingBatch.state = PendingBatch.SENDING;
+                    if (!dataSender.request(pendingBatch.batch, pendingBatch)) {
+                        pendingBatch.state = PendingBatch.READY;
+                    }
+                }
+                // SENDING : wait for the response. the request times out if the collector does not answer
+            }
+        }
+    }
+
+    private class PendingBatch implements FutureListener<ResponseMessage> {
+        private static final int READY = 0;
+        private static final int SENDING = 1;
+        private static final int ACKNOWLEDGED = 2;
+
+        private final TResponseHistogramBatch batch;
+        // set by the collecting thread, and by the io thread when the response arrives
+        private volatile int state = READY;
+
+        private PendingBatch(TResponseHistogramBatch batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void onComplete(Future<ResponseMessage> future) {
+            if (isAcknowledged(future)) {
+                this.state = ACKNOWLEDGED;
+            } else {
+                this.state = READY;
+            }
+        }
+
+        private boolean isAcknowledged(Future<ResponseMessage> future) {
+            try {
+                if (future == null || !future.isSuccess()) {
+                    return false;
+                }
+                final byte[] message = future.getResult().getMessage();
+                final TBase<?, ?> tbase = SerializationUtils.deserialize(message, HeaderTBaseDeserializerFactory.DEFAULT_FACTORY, null);
+                if (tbase instanceof TResult) {
+                    final TResult result = (TResult) tbase;
+                    if (result.isSuccess()) {
+                        return true;
+                    }
+                    logger.warn("ResponseHistogram request fail. Caused:{}", result.getMessage());
+                }
+            } catch (Exception e) {
+                logger.warn("ResponseHistogram request fail. Caused:{}", e.getMessage());
+            }
+            return false;
+        }
+    }
+}
@@ -19,13 +19,18 @@ package com.navercorp.pinpoint.profiler.monitor.codahale;
 import com.navercorp.pinpoint.bootstrap.config.DefaultProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.context.TraceContext;
+import com.navercorp.pinpoint.profiler.ClassFileTransformerDispatcher;
 import com.navercorp.pinpoint.profiler.context.DefaultTraceContext;
+import com.navercorp.pinpoint.profiler.context.SpanEventFactory;
 import com.navercorp.pinpoint.profiler.context.TransactionCounter;
 import com.navercorp.pinpoint.profiler.context.active.ActiveTraceLocator;
 import com.navercorp.pinpoint.profiler.monitor.MonitorName;
 import com.navercorp.pinpoint.profiler.monitor.codahale.activetrace.DefaultActiveTraceMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.codahale.activetrace.ActiveTraceMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.codahale.activetrace.metric.ActiveTraceMetricSet;
+import com.navercorp.pinpoint.profiler.monitor.codahale.allocation.AllocationMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.codahale.allocation.DefaultAllocationMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.codahale.allocation.metric.AllocationMetricSet;
 import com.navercorp.pinpoint.profiler.monitor.codahale.cpu.DefaultCpuLoadCollector;
 import com.navercorp.pinpoint.profiler.monitor.codahale.cpu.CpuLoadCollector;
 import com.navercorp.pinpoint.profiler.monitor.codahale.cpu.metric.CpuLoadMetricSet;
@@ -39,11 +44,20 @@ import com.navercorp.pinpoint.profiler.monitor.codahale.gc.ParallelDetailedMetri
 import com.navercorp.pinpoint.profiler.monitor.codahale.gc.SerialCollector;
 import com.navercorp.pinpoint.profiler.monitor.codahale.gc.SerialDetailedMetricsCollector;
 import com.navercorp.pinpoint.profiler.monitor.codahale.gc.UnknownGarbageCollector;
+import com.navercorp.pinpoint.profiler.monitor.codahale.spill.DefaultSpillMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.codahale.spill.SpillMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.codahale.tps.DefaultTransactionMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.codahale.tps.TransactionMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.codahale.tps.metric.TransactionMetricSet;
+import com.navercorp.pinpoint.profiler.monitor.codahale.transform.DefaultTransformMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.codahale.transform.TransformMetricCollector;
+import com.navercorp.pinpoint.profiler.sender.AbstractDataSender;
+import com.navercorp.pinpoint.profiler.sender.DataSender;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -63,8 +77,18 @@ public class AgentStatCollectorFactory {
     private final CpuLoadCollector cpuLoadCollector;
     private final TransactionMetricCollector transactionMetricCollector;
     private final ActiveTraceMetricCollector activeTraceMetricCollector;
+    private final AllocationMetricCollector allocationMetricCollector;
+    private final SpillMetricCollector spillMetricCollector;
+    private final TransformMetricCollector transformMetricCollector;
 
     public AgentStatCollectorFactory(TraceContext traceContext) {
+        this(traceContext, Collections.<DataSender>emptyList(), null);
+    }
+
+    /**
+     * @param classFileTransformer null if the class file transformer statistics are not collected
+     */
+    public AgentStatCollectorFactory(TraceContext traceContext, List<DataSender> dataSenderList, ClassFileTransformerDispatcher classFileTransformer) {
         if (traceContext == null) {
             throw new NullPointerException("traceContext must not be null");
         }
@@ -77,6 +101,9 @@ public class AgentStatCollectorFactory {
         this.cpuLoadCollector = createCpuLoadCollector(profilerConfig.getProfilerJvmVendorName());
         this.transactionMetricCollector = createTransactionMetricCollector(traceContext);
         this.activeTraceMetricCollector = createActiveTraceCollector(traceContext, profilerConfig.isTraceAgentActiveThread());
+        this.allocationMetricCollector = createAllocationMetricCollector(traceContext);
+        this.spillMetricCollector = createSpillMetricCollector(dataSenderList);
+        this.transformMetricCollector = createTransformMetricCollector(classFileTransformer);
     }
 
     private MetricMonitorRegistry createRegistry() {
@@ -163,6 +190,42 @@ public class AgentStatCollectorFactory {
         return ActiveTraceMetricCollector.EMPTY_ACTIVE_TRACE_COLLECTOR;
     }
 
+    private AllocationMetricCollector createAllocationMetricCollector(TraceContext traceContext) {
+        if (traceContext instanceof DefaultTraceContext) {
+            SpanEventFactory spanEventFactory = ((DefaultTraceContext) traceContext).getSpanEventFactory();
+            AllocationMetricSet allocationMetricSet = this.monitorRegistry.registerAllocationMonitor(new MonitorName(MetricMonitorValues.ALLOCATION), spanEventFactory);
+            if (logger.isInfoEnabled()) {
+                logger.info("loaded : {}", allocationMetricSet);
+            }
+            return new DefaultAllocationMetricCollector(allocationMetricSet);
+        } else {
+            return AllocationMetricCollector.EMPTY_ALLOCATION_METRIC_COLLECTOR;
+        }
+    }
+
+    private SpillMetricCollector createSpillMetricCollector(List<DataSender> dataSenderList) {
+        if (dataSenderList == null) {
+            throw new NullPointerException("dataSenderList must not be null");
+        }
+        final List<AbstractDataSender> abstractDataSenderList = new ArrayList<AbstractDataSender>();
+        for (DataSender dataSender : dataSenderList) {
+            if (dataSender instanceof AbstractDataSender) {
+                abstractDataSenderList.add((AbstractDataSender) dataSender);
+            }
+        }
+        if (abstractDataSenderList.isEmpty()) {
+            return SpillMetricCollector.EMPTY_SPILL_METRIC_COLLECTOR;
+        }
+        return new DefaultSpillMetricCollector(abstractDataSenderList);
+    }
+
+    private TransformMetricCollector createTransformMetricCollector(ClassFileTransformerDispatcher classFileTransformer) {
+        if (classFileTransformer == null) {
+            return TransformMetricCollector.EMPTY_TRANSFORM_METRIC_COLLECTOR;
+        }
+        return new DefaultTransformMetricCollector(classFileTransformer);
+    }
+
     public GarbageCollector getGarbageCollector() {
         return this.garbageCollector;
     }
@@ -179,4 +242,16 @@ public class AgentStatCollectorFactory {
         return this.activeTraceMetricCollector;
     }
 
+    public AllocationMetricCollector getAllocationMetricCollector() {
+        return this.allocationMetricCollector;
+    }
+
+    public SpillMetricCollector getSpillMetricCollector() {
+        return this.spillMetricCollector;
+    }
+
+    public TransformMetricCollector getTransformMetricCollector() {
+        return this.transformMetricCollector;
+    }
+
 }
@@ -24,6 +24,7 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.jvm.GarbageCollectorMetricSet;
 import com.codahale.metrics.jvm.MemoryUsageGaugeSet;
 import com.codahale.metrics.jvm.ThreadStatesGaugeSet;
+import com.navercorp.pinpoint.profiler.context.SpanEventFactory;
 import com.navercorp.pinpoint.profiler.context.TransactionCounter;
 import com.navercorp.pinpoint.profiler.context.active.ActiveTraceLocator;
 import com.navercorp.pinpoint.profiler.monitor.CounterMonitor;
@@ -32,6 +33,7 @@ import com.navercorp.pinpoint.profiler.monitor.HistogramMonitor;
 import com.navercorp.pinpoint.profiler.monitor.MonitorName;
 import com.navercorp.pinpoint.profiler.monitor.MonitorRegistry;
 import com.navercorp.pinpoint.profiler.monitor.codahale.activetrace.metric.ActiveTraceMetricSet;
+import com.navercorp.pinpoint.profiler.monitor.codahale.allocation.metric.AllocationMetricSet;
 import com.navercorp.pinpoint.profiler.monitor.codahale.cpu.CpuLoadMetricSetSelector;
 import com.navercorp.pinpoint.profiler.monitor.codahale.cpu.metric.CpuLoadMetricSet;
 import com.navercorp.pinpoint.profiler.monitor.codahale.tps.metric.TransactionMetricSet;
@@ -106,6 +108,11 @@ public class MetricMonitorRegistry implements MonitorRegistry {
         return this.delegate.register(monitorName.getName(), new ActiveTraceMetricSet(activeTraceLocator));
     }
 
+    public AllocationMetricSet registerAllocationMonitor(MonitorName monitorName, SpanEventFactory spanEventFactory) {
+        validateMonitorName(monitorName);
+        return this.delegate.register(monitorName.getName(), new AllocationMetricSet(spanEventFactory));
+    }
+
     public ThreadStatesGaugeSet registerJvmThreadStatesMonitor(MonitorName monitorName) {
         validateMonitorName(monitorName);
         return this.delegate.register(monitorName.getName(), new ThreadStatesGaugeSet());
@@ -114,6 +114,11 @@ public final class MetricMonitorValues {
     public static final String ACTIVE_TRACE = "active.trace";
     public static final String ACTIVE_TRACE_COUNT = ACTIVE_TRACE + ".count";
 
+    public static final String ALLOCATION = "allocation";
+    public static final String ALLOCATION_ALLOCATED_BYTES = ALLOCATION + ".bytes";
+    public static final String ALLOCATION_SPAN_EVENT_NEW = ALLOCATION + ".spanevent.new";
+    public static final String ALLOCATION_SPAN_EVENT_REUSE = ALLOCATION + ".spanevent.reuse";
+
     private MetricMonitorValues() {
     }
 
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.monitor.codahale.allocation;
+
+import static com.navercorp.pinpoint.profiler.monitor.codahale.MetricMonitorValues.*;
+
+import java.util.Map;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.navercorp.pinpoint.profiler.monitor.codahale.MetricMonitorValues;
+import com.navercorp.pinpoint.profiler.monitor.codahale.allocation.metric.AllocationMetricSet;
+import com.navercorp.pinpoint.thrift.dto.TAllocation;
+
+public class DefaultAllocationMetricCollector implements AllocationMetricCollector {
+
+    private static final long UNSUPPORTED_ALLOCATION_METRIC = -1;
+    private static final Gauge<Long> UNSUPPORTED_GAUGE = new EmptyGauge<Long>(UNSUPPORTED_ALLOCATION_METRIC);
+
+    private final Gauge<Long> allocatedBytesGauge;
+    private final Gauge<Long> spanEventNewGauge;
+    private final Gauge<Long> spanEventReuseGauge;
+
+    @SuppressWarnings("unchecked")
+    public DefaultAllocationMetricCollector(AllocationMetricSet allocationMetricSet) {
+        if (allocationMetricSet == null) {
+            throw new NullPointerException("allocationMetricSet must not be null");
+        }
+        Map<String, Metric> metrics = allocationMetricSet.getMetrics();
+        this.allocatedBytesGauge = (Gauge<Long>) MetricMonitorValues.getMetric(metrics, ALLOCATION_ALLOCATED_BYTES, UNSUPPORTED_GAUGE);
+        this.spanEventNewGauge = (Gauge<Long>) MetricMonitorValues.getMetric(metrics, ALLOCATION_SPAN_EVENT_NEW, UNSUPPORTED_GAUGE);
+        this.spanEventReuseGauge = (Gauge<Long>) MetricMonitorValues.getMetric(metrics, ALLOCATION_SPAN_EVENT_REUSE, UNSUPPORTED_GAUGE);
+    }
+
+    @Override
+    public TAllocation collect() {
+        TAllocation allocation = new TAllocation();
+        allocation.setAllocatedBytes(this.allocatedBytesGauge.getValue());
+        allocation.setSpanEventNewCount(this.spanEventNewGauge.getValue());
+        allocation.setSpanEventReuseCount(this.spanEventReuseGauge.getValue());
+        return allocation;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.monitor.codahale.allocation.metric;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import com.navercorp.pinpoint.profiler.context.RecyclingSpanEventFactory;
+import com.navercorp.pinpoint.profiler.context.SpanEventFactory;
+import com.navercorp.pinpoint.profiler.monitor.codahale.MetricMonitorValues;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Allocation since the previous collection.
+ * <ul>
+ *     <li>bytes allocated by the live threads of the JVM, if the JVM supports thread allocation accounting</li>
+ *     <li>SpanEvents created and reused by the {@link RecyclingSpanEventFactory}, if span event recycling is enabled</li>
+ * </ul>
+ */
+public class AllocationMetricSet implements MetricSet {
+
+    private static final Logger logger = LoggerFactory.getLogger(AllocationMetricSet.class);
+
+    private final Gauge<Long> allocatedBytesGauge;
+    private final Gauge<Long> spanEventNewGauge;
+    private final Gauge<Long> spanEventReuseGauge;
+
+    public AllocationMetricSet(SpanEventFactory spanEventFactory) {
+        if (spanEventFactory == null) {
+            throw new NullPointerException("spanEventFactory must not be null");
+        }
+        this.allocatedBytesGauge = createAllocatedBytesGauge();
+        if (spanEventFactory instanceof RecyclingSpanEventFactory) {
+            final RecyclingSpanEventFactory recyclingSpanEventFactory = (RecyclingSpanEventFactory) spanEventFactory;
+            this.spanEventNewGauge = new DeltaGauge() {
+                @Override
+                protected long getCount() {
+                    return recyclingSpanEventFactory.getSpanEventNewCount();
+                }
+            };
+            this.spanEventReuseGauge = new DeltaGauge() {
+                @Override
+                protected long getCount() {
+                    return recyclingSpanEventFactory.getSpanEventReuseCount();
+                }
+            };
+        } else {
+            this.spanEventNewGauge = null;
+            this.spanEventReuseGauge = null;
+        }
+    }
+
+    private static Gauge<Long> createAllocatedBytesGauge() {
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        try {
+            // com.sun.management.ThreadMXBean is not available on every JVM
+            final Class<?> extendedMXBean = Class.forName("com.sun.management.ThreadMXBean");
+            if (!extendedMXBean.isInstance(threadMXBean)) {
+                return null;
+            }
+            final Method isSupported = extendedMXBean.getMethod("isThreadAllocatedMemorySupported");
+            final Method isEnabled = extendedMXBean.getMethod("isThreadAllocatedMemoryEnabled");
+            if (!(Boolean) isSupported.invoke(threadMXBean) || !(Boolean) isEnabled.invoke(threadMXBean)) {
+                return null;
+            }
+            final Method getThreadAllocatedBytes = extendedMXBean.getMethod("getThreadAllocatedBytes", long[].class);
+            return new AllocatedBytesGauge(threadMXBean, getThreadAllocatedBytes);
+        } catch (Exception e) {
+            logger.info("thread allocated bytes not supported. Caused:{}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        final Map<String, Metric> gauges = new HashMap<String, Metric>();
+        if (this.allocatedBytesGauge != null) {
+            gauges.put(MetricMonitorValues.ALLOCATION_ALLOCATED_BYTES, this.allocatedBytesGauge);
+        }
+        if (this.spanEventNewGauge != null) {
+            gauges.put(MetricMonitorValues.ALLOCATION_SPAN_EVENT_NEW, this.spanEventNewGauge);
+        }
+        if (this.spanEventReuseGauge != null) {
+            gauges.put(MetricMonitorValues.ALLOCATION_SPAN_EVENT_REUSE, this.spanEventReuseGauge);
+        }
+        return Collections.unmodifiableMap(gauges);
+    }
+
+    @Override
+    public String toString() {
+        return "AllocationMetricSet{" +
+                "allocatedBytes=" + (allocatedBytesGauge != null) +
+                ", spanEvent=" + (spanEventNewGauge != null) +
+                '}';
+    }
+
+    private static abstract class DeltaGauge implements Gauge<Long> {
+        private static final long UNINITIALIZED = -1L;
+
+        private long prevCount = UNINITIALIZED;
+
+        protected abstract long getCount();
+
+        @Override
+        public final Long getValue() {
+            final long count = getCount();
+            if (count < 0) {
+                return 0L;
+            }
+            if (this.prevCount == UNINITIALIZED) {
+                this.prevCount = count;
+                return 0L;
+            }
+            // the sum of the live threads decreases when a thread terminates
+            final long delta = Math.max(count - this.prevCount, 0);
+            this.prevCount = count;
+            return delta;
+        }
+    }
+
+    private static class AllocatedBytesGauge extends DeltaGauge {
+
+        private final ThreadMXBean threadMXBean;
+        private final Method getThreadAllocatedBytes;
+
+        private AllocatedBytesGauge(ThreadMXBean threadMXBean, Method getThreadAllocatedBytes) {
+            this.threadMXBean = threadMXBean;
+            this.getThreadAllocatedBytes = getThreadAllocatedBytes;
+        }
+
+        @Override
+        protected long getCount() {
+            final long[] threadIds = threadMXBean.getAllThreadIds();
+            final long[] allocatedBytes;
+            try {
+                allocatedBytes = (long[]) getThreadAllocatedBytes.invoke(threadMXBean, (Object) threadIds);
+            } catch (Exception e) {
+                return -1L;
+            }
+            long sum = 0;
+            for (long bytes : allocatedBytes) {
+                // -1 for a thread that is not alive anymore
+                if (bytes > 0) {
+                    sum += bytes;
+                }
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.monitor.codahale.spill;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.navercorp.pinpoint.profiler.sender.AbstractDataSender;
+import com.navercorp.pinpoint.thrift.dto.TSpill;
+
+/**
+ * Messages spilled, drained back from the spill store and dropped by the data senders during the collect interval.
+ */
+public class DefaultSpillMetricCollector implements SpillMetricCollector {
+
+    private final List<AbstractDataSender> dataSenderList;
+
+    // collect() runs on the agent stat thread only
+    private long prevSpillCount;
+    private long prevDrainCount;
+    private long prevDropCount;
+
+    public DefaultSpillMetricCollector(List<AbstractDataSender> dataSenderList) {
+        if (dataSenderList == null) {
+            throw new NullPointerException("dataSenderList must not be null");
+        }
+        this.dataSenderList = new ArrayList<AbstractDataSender>(dataSenderList);
+    }
+
+    @Override
+    public TSpill collect() {
+        long spillCount = 0;
+        long drainCount = 0;
+        long dropCount = 0;
+        for (AbstractDataSender dataSender : dataSenderList) {
+            spillCount += dataSender.getSpillCount();
+            drainCount += dataSender.getDrainCount();
+            dropCount += dataSender.getDropCount();
+        }
+        final TSpill spill = new TSpill();
+        spill.setSpillCount(spillCount - prevSpillCount);
+        spill.setDrainCount(drainCount - prevDrainCount);
+        spill.setDropCount(dropCount - prevDropCount);
+        this.prevSpillCount = spillCount;
+        this.prevDrainCount = drainCount;
+        this.prevDropCount = dropCount;
+        return spill;
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultSpillMetricCollector{" +
+                "dataSenderList=" + dataSenderList +
+                '}';
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.monitor.codahale.transform;
+
+import com.navercorp.pinpoint.profiler.ClassFileTransformerDispatcher;
+import com.navercorp.pinpoint.thrift.dto.TTransform;
+
+/**
+ * Classes handed to the class file transformer, rejected by the class name index and transformed during the collect interval.
+ */
+public class DefaultTransformMetricCollector implements TransformMetricCollector {
+
+    private final ClassFileTransformerDispatcher classFileTransformer;
+
+    // collect() runs on the agent stat thread only
+    private long prevClassCount;
+    private long prevIndexMissCount;
+    private long prevTransformCount;
+
+    public DefaultTransformMetricCollector(ClassFileTransformerDispatcher classFileTransformer) {
+        if (classFileTransformer == null) {
+            throw new NullPointerException("classFileTransformer must not be null");
+        }
+        this.classFileTransformer = classFileTransformer;
+    }
+
+    @Override
+    public TTransform collect() {
+        final long classCount = classFileTransformer.getTransformCount();
+        final long indexMissCount = classFileTransformer.getIndexMissCount();
+        final long transformCount = classFileTransformer.getTransformHitCount();
+
+        final TTransform transform = new TTransform();
+        transform.setClassCount(classCount - prevClassCount);
+        transform.setIndexMissCount(indexMissCount - prevIndexMissCount);
+        transform.setTransformCount(transformCount - prevTransformCount);
+        this.prevClassCount = classCount;
+        this.prevIndexMissCount = indexMissCount;
+        this.prevTransformCount = transformCount;
+        return transform;
+    }
+}
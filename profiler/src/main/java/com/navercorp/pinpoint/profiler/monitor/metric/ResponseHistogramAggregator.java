@@ -0,0 +1,287 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.metric;
+
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.thrift.dto.TResponseHistogram;
+import com.navercorp.pinpoint.thrift.dto.TResponseHistogramBatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Aggregates the server map statistics which the collector would otherwise derive from every received span.
+ * The update methods mirror the collector's StatisticsHandler.
+ * <p>
+ * {@link #collect()} reports the difference from the previous call, and must be called from a single thread.
+ * Caller and callee entries which stayed idle for {@link #EVICT_IDLE_COLLECT_COUNT} collections are evicted.
+ */
+public class ResponseHistogramAggregator {
+
+    private final String applicationName;
+    private final ServiceType applicationServiceType;
+    private final String agentId;
+
+    static final int EVICT_IDLE_COLLECT_COUNT = 3;
+
+    private final HistogramEntry responseHistogram;
+
+    private final HistogramTable callerHistogramTable = new HistogramTable();
+    private final HistogramTable calleeHistogramTable = new HistogramTable();
+
+    public ResponseHistogramAggregator(String applicationName, ServiceType applicationServiceType, String agentId) {
+        if (applicationName == null) {
+            throw new NullPointerException("applicationName must not be null");
+        }
+        if (applicationServiceType == null) {
+            throw new NullPointerException("applicationServiceType must not be null");
+        }
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        this.applicationName = applicationName;
+        this.applicationServiceType = applicationServiceType;
+        this.agentId = agentId;
+        this.responseHistogram = new HistogramEntry(new LongAdderHistogram(applicationServiceType));
+    }
+
+    public String getApplicationName() {
+        return applicationName;
+    }
+
+    public ServiceType getApplicationServiceType() {
+        return applicationServiceType;
+    }
+
+    public String getAgentId() {
+        return agentId;
+    }
+
+    public void updateCaller(String callerApplicationName, ServiceType callerServiceType, String callerAgentId, String calleeApplicationName, ServiceType calleeServiceType, String calleeHost, int elapsed, boolean isError) {
+        if (callerApplicationName == null || calleeApplicationName == null) {
+            // dropped by the collector as well
+            return;
+        }
+        final CallKey key = new CallKey(callerApplicationName, callerServiceType.getCode(), callerAgentId, calleeApplicationName, calleeServiceType.getCode(), calleeHost);
+        // the slot is chosen by the callee's histogram schema, same as the collector
+        final Histogram histogram = callerHistogramTable.getHistogram(key, calleeServiceType);
+        histogram.addResponseTime(elapsed, isError);
+    }
+
+    public void updateCallee(String calleeApplicationName, ServiceType calleeServiceType, String callerApplicationName, ServiceType callerServiceType, String callerHost, int elapsed, boolean isError) {
+        if (calleeApplicationName == null || callerApplicationName == null) {
+            return;
+        }
+        final CallKey key = new CallKey(calleeApplicationName, calleeServiceType.getCode(), null, callerApplicationName, callerServiceType.getCode(), callerHost);
+        final Histogram histogram = calleeHistogramTable.getHistogram(key, calleeServiceType);
+        histogram.addResponseTime(elapsed, isError);
+    }
+
+    public void updateResponseTime(int elapsed, boolean isError) {
+        this.responseHistogram.histogram.addResponseTime(elapsed, isError);
+    }
+
+    /**
+     * @return histograms of the response times added since the previous call. agent fields and timestamps are not set
+     */
+    public TResponseHistogramBatch collect() {
+        final TResponseHistogramBatch batch = new TResponseHistogramBatch();
+
+        final List<Long> response = responseHistogram.collect();
+        if (response != null) {
+            batch.setResponseHistogram(response);
+        }
+        final List<TResponseHistogram> callerHistograms = callerHistogramTable.collect();
+        if (!callerHistograms.isEmpty()) {
+            batch.setCallerHistograms(callerHistograms);
+        }
+        final List<TResponseHistogram> calleeHistograms = calleeHistogramTable.collect();
+        if (!calleeHistograms.isEmpty()) {
+            batch.setCalleeHistograms(calleeHistograms);
+        }
+        return batch;
+    }
+
+    int size() {
+        return callerHistogramTable.histogramMap.size() + calleeHistogramTable.histogramMap.size();
+    }
+
+    private static final class HistogramTable {
+        private final ConcurrentMap<CallKey, HistogramEntry> histogramMap = new ConcurrentHashMap<CallKey, HistogramEntry>();
+        // evicted by the previous collect(). an updater may still have been holding one of them while it was removed,
+        // so they are reported once more before being dropped. accessed by the collecting thread only
+        private List<Map.Entry<CallKey, HistogramEntry>> evictedList = new ArrayList<Map.Entry<CallKey, HistogramEntry>>();
+
+        private Histogram getHistogram(CallKey key, ServiceType histogramServiceType) {
+            final HistogramEntry hit = histogramMap.get(key);
+            if (hit != null) {
+                return hit.histogram;
+            }
+            final HistogramEntry entry = new HistogramEntry(new LongAdderHistogram(histogramServiceType));
+            final HistogramEntry exist = histogramMap.putIfAbsent(key, entry);
+            if (exist != null) {
+                return exist.histogram;
+            }
+            return entry.histogram;
+        }
+
+        private List<TResponseHistogram> collect() {
+            final List<TResponseHistogram> histogramList = new ArrayList<TResponseHistogram>();
+            for (Map.Entry<CallKey, HistogramEntry> evicted : evictedList) {
+                final List<Long> histogram = evicted.getValue().collect();
+                if (histogram != null) {
+                    histogramList.add(newResponseHistogram(evicted.getKey(), histogram));
+                }
+            }
+            final List<Map.Entry<CallKey, HistogramEntry>> newEvictedList = new ArrayList<Map.Entry<CallKey, HistogramEntry>>();
+            for (Map.Entry<CallKey, HistogramEntry> entry : histogramMap.entrySet()) {
+                final HistogramEntry histogramEntry = entry.getValue();
+                final List<Long> histogram = histogramEntry.collect();
+                if (histogram != null) {
+                    histogramEntry.idleCount = 0;
+                    histogramList.add(newResponseHistogram(entry.getKey(), histogram));
+                    continue;
+                }
+                if (++histogramEntry.idleCount >= EVICT_IDLE_COLLECT_COUNT) {
+                    if (histogramMap.remove(entry.getKey(), histogramEntry)) {
+                        newEvictedList.add(entry);
+                    }
+                }
+            }
+            this.evictedList = newEvictedList;
+            return histogramList;
+        }
+
+        private TResponseHistogram newResponseHistogram(CallKey key, List<Long> histogram) {
+            final TResponseHistogram responseHistogram = new TResponseHistogram();
+            responseHistogram.setApplicationName(key.applicationName);
+            responseHistogram.setServiceType(key.serviceType);
+            if (key.agentId != null) {
+                responseHistogram.setAgentId(key.agentId);
+            }
+            responseHistogram.setTargetApplicationName(key.targetApplicationName);
+            responseHistogram.setTargetServiceType(key.targetServiceType);
+            if (key.host != null) {
+                responseHistogram.setHost(key.host);
+            }
+            responseHistogram.setHistogram(histogram);
+            return responseHistogram;
+        }
+    }
+
+    private static final class HistogramEntry {
+        private final LongAdderHistogram histogram;
+        // accessed by the collecting thread only
+        private HistogramSnapshot lastSnapshot;
+        private int idleCount;
+
+        private HistogramEntry(LongAdderHistogram histogram) {
+            this.histogram = histogram;
+        }
+
+        /**
+         * LongAdder.sumThenReset() may lose concurrent updates, so the difference of the cumulative sums is reported instead.
+         * @return slot counts in TResponseHistogram.histogram order, null if nothing has been added
+         */
+        private List<Long> collect() {
+            final HistogramSnapshot snapshot = histogram.createSnapshot();
+            final HistogramSnapshot last = this.lastSnapshot;
+            this.lastSnapshot = snapshot;
+
+            final long[] counts = new long[] {
+                    snapshot.getFastCount(), snapshot.getNormalCount(), snapshot.getSlowCount(), snapshot.getVerySlowCount(),
+                    snapshot.getFastErrorCount(), snapshot.getNormalErrorCount(), snapshot.getSlowErrorCount(), snapshot.getVerySlowErrorCount()
+            };
+            if (last != null) {
+                counts[0] -= last.getFastCount();
+                counts[1] -= last.getNormalCount();
+                counts[2] -= last.getSlowCount();
+                counts[3] -= last.getVerySlowCount();
+                counts[4] -= last.getFastErrorCount();
+                counts[5] -= last.getNormalErrorCount();
+                counts[6] -= last.getSlowErrorCount();
+                counts[7] -= last.getVerySlowErrorCount();
+            }
+
+            boolean empty = true;
+            final List<Long> histogram = new ArrayList<Long>(counts.length);
+            for (long count : counts) {
+                if (count != 0) {
+                    empty = false;
+                }
+                histogram.add(count);
+            }
+            if (empty) {
+                return null;
+            }
+            return histogram;
+        }
+    }
+
+    private static final class CallKey {
+        private final String applicationName;
+        private final short serviceType;
+        private final String agentId;
+        private final String targetApplicationName;
+        private final short targetServiceType;
+        private final String host;
+
+        private CallKey(String applicationName, short serviceType, String agentId, String targetApplicationName, short targetServiceType, String host) {
+            if (applicationName == null) {
+                throw new NullPointerException("applicationName must not be null");
+            }
+            if (targetApplicationName == null) {
+                throw new NullPointerException("targetApplicationName must not be null");
+            }
+            this.applicationName = applicationName;
+            this.serviceType = serviceType;
+            this.agentId = agentId;
+            this.targetApplicationName = targetApplicationName;
+            this.targetServiceType = targetServiceType;
+            this.host = host;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            CallKey that = (CallKey) o;
+
+            if (serviceType != that.serviceType) return false;
+            if (targetServiceType != that.targetServiceType) return false;
+            if (!applicationName.equals(that.applicationName)) return false;
+            if (!targetApplicationName.equals(that.targetApplicationName)) return false;
+            if (agentId != null ? !agentId.equals(that.agentId) : that.agentId != null) return false;
+            return host != null ? host.equals(that.host) : that.host == null;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = applicationName.hashCode();
+            result = 31 * result + (int) serviceType;
+            result = 31 * result + (agentId != null ? agentId.hashCode() : 0);
+            result = 31 * result + targetApplicationName.hashCode();
+            result = 31 * result + (int) targetServiceType;
+            result = 31 * result + (host != null ? host.hashCode() : 0);
+            return result;
+        }
+    }
+}
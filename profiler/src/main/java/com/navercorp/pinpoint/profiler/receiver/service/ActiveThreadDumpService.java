@@ -19,15 +19,13 @@
 
 package com.navercorp.pinpoint.profiler.receiver.service;
 
-import com.navercorp.pinpoint.profiler.context.active.ActiveTraceInfo;
 import com.navercorp.pinpoint.profiler.context.active.ActiveTraceLocator;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceVisitor;
 import com.navercorp.pinpoint.profiler.receiver.ProfilerRequestCommandService;
 import com.navercorp.pinpoint.profiler.util.ThreadDumpUtils;
 import com.navercorp.pinpoint.thrift.dto.command.*;
 import org.apache.thrift.TBase;
 
-import java.util.List;
-
 /**
  * @Author Taejin Koo
  */
@@ -43,20 +41,23 @@ public class ActiveThreadDumpService implements ProfilerRequestCommandService {
     public TBase<?, ?> requestCommandService(TBase tBase) {
         TCmdActiveThreadDumpRes threadDump = new TCmdActiveThreadDumpRes();
 
-        long currentTime = System.currentTimeMillis();
+        final long currentTime = System.currentTimeMillis();
+        final long minExecTime = ((TCmdActiveThreadDump) tBase).getExecTime();
 
-        List<ActiveTraceInfo> collectedActiveTraceInfo = activeTraceLocator.collect();
-        for (ActiveTraceInfo activeTraceInfo : collectedActiveTraceInfo) {
-            long execTime = currentTime - activeTraceInfo.getStartTime();
-            if (execTime >= ((TCmdActiveThreadDump)tBase).getExecTime()) {
-                TThreadDump dump = ThreadDumpUtils.createTThreadDump(activeTraceInfo.getThread());
-                if (dump != null) {
-                    TActiveThreadDump activeThreadDump = new TActiveThreadDump();
-                    activeThreadDump.setExecTime(execTime);
-                    activeThreadDump.setThreadDump(dump);
+        activeTraceLocator.visit(new ActiveTraceVisitor() {
+            @Override
+            public void visit(long id, long startTime, Thread thread) {
+                long execTime = currentTime - startTime;
+                if (execTime >= minExecTime) {
+                    TThreadDump dump = ThreadDumpUtils.createTThreadDump(thread);
+                    if (dump != null) {
+                        TActiveThreadDump activeThreadDump = new TActiveThreadDump();
+                        activeThreadDump.setExecTime(execTime);
+                        activeThreadDump.setThreadDump(dump);
+                    }
                 }
             }
-        }
+        });
 
         return threadDump;
     }
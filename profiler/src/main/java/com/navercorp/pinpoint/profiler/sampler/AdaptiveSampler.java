@@ -0,0 +1,169 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
+import com.navercorp.pinpoint.profiler.context.TransactionCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Samples 1 out of n new transactions where n is adjusted so that at most {@code maxSampledPerSecond} transactions
+ * are sampled per second, but never falls below the configured sampling rate.
+ * <p>
+ * The rate is recomputed lazily, at most once per {@code updateIntervalMillis}, from the number of new transactions
+ * (sampled or not) reported by the {@link TransactionCounter} since the previous update.
+ * Unlike {@link SamplingRateSampler}, requests are counted on one of several counters selected by thread id,
+ * so concurrent requests rarely update the same counter.
+ */
+public class AdaptiveSampler implements Sampler {
+
+    private static final int DEFAULT_STRIPE_SIZE = 16;
+    // keep each counter on its own cache line
+    private static final int STRIPE_PADDING = 16;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final int minSamplingRate;
+    private final int maxSampledPerSecond;
+    private final long updateIntervalMillis;
+
+    private final AtomicLongArray counters;
+    private final int stripeMask;
+
+    private volatile int samplingRate;
+
+    private volatile TransactionCounter transactionCounter;
+    private final AtomicLong nextUpdateTime = new AtomicLong();
+    // written only by the thread that advanced nextUpdateTime
+    private volatile long lastUpdateTime = -1;
+    private volatile long lastTransactionCount;
+
+    public AdaptiveSampler(int minSamplingRate, int maxSampledPerSecond, long updateIntervalMillis) {
+        this(minSamplingRate, maxSampledPerSecond, updateIntervalMillis, DEFAULT_STRIPE_SIZE);
+    }
+
+    AdaptiveSampler(int minSamplingRate, int maxSampledPerSecond, long updateIntervalMillis, int stripeSize) {
+        if (minSamplingRate <= 0) {
+            throw new IllegalArgumentException("Invalid minSamplingRate " + minSamplingRate);
+        }
+        if (maxSampledPerSecond <= 0) {
+            throw new IllegalArgumentException("Invalid maxSampledPerSecond " + maxSampledPerSecond);
+        }
+        if (updateIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Invalid updateIntervalMillis " + updateIntervalMillis);
+        }
+        if (stripeSize <= 0 || Integer.bitCount(stripeSize) != 1) {
+            throw new IllegalArgumentException("stripeSize must be a power of 2. stripeSize:" + stripeSize);
+        }
+        this.minSamplingRate = minSamplingRate;
+        this.maxSampledPerSecond = maxSampledPerSecond;
+        this.updateIntervalMillis = updateIntervalMillis;
+        this.counters = new AtomicLongArray(stripeSize * STRIPE_PADDING);
+        this.stripeMask = stripeSize - 1;
+        this.samplingRate = minSamplingRate;
+    }
+
+    /**
+     * the transaction counter is owned by the trace context, which is created after the sampler.
+     * the sampling rate stays at the minimum rate until it is set.
+     */
+    public void setTransactionCounter(TransactionCounter transactionCounter) {
+        if (transactionCounter == null) {
+            throw new NullPointerException("transactionCounter must not be null");
+        }
+        this.transactionCounter = transactionCounter;
+    }
+
+    @Override
+    public boolean isSampling() {
+        updateSamplingRate(System.currentTimeMillis());
+
+        final int samplingRate = this.samplingRate;
+        if (samplingRate == 1) {
+            return true;
+        }
+        final int index = ((int) Thread.currentThread().getId() & stripeMask) * STRIPE_PADDING;
+        final long count = counters.getAndIncrement(index);
+        return (count % samplingRate) == 0;
+    }
+
+    void updateSamplingRate(long currentTimeMillis) {
+        final TransactionCounter transactionCounter = this.transactionCounter;
+        if (transactionCounter == null) {
+            return;
+        }
+        final long nextUpdateTime = this.nextUpdateTime.get();
+        if (currentTimeMillis < nextUpdateTime) {
+            return;
+        }
+        if (!this.nextUpdateTime.compareAndSet(nextUpdateTime, currentTimeMillis + updateIntervalMillis)) {
+            // updated by another thread
+            return;
+        }
+
+        final long transactionCount = transactionCounter.getTransactionCount(TransactionCounter.SamplingType.SAMPLED_NEW)
+                + transactionCounter.getTransactionCount(TransactionCounter.SamplingType.UNSAMPLED_NEW);
+        final long lastUpdateTime = this.lastUpdateTime;
+        final long lastTransactionCount = this.lastTransactionCount;
+        this.lastUpdateTime = currentTimeMillis;
+        this.lastTransactionCount = transactionCount;
+        if (lastUpdateTime == -1) {
+            return;
+        }
+
+        final long elapsed = currentTimeMillis - lastUpdateTime;
+        if (elapsed <= 0) {
+            return;
+        }
+        final long newTransactions = transactionCount - lastTransactionCount;
+        final int newSamplingRate = computeSamplingRate(newTransactions, elapsed);
+        if (newSamplingRate != this.samplingRate) {
+            if (logger.isInfoEnabled()) {
+                logger.info("sampling rate changed {} -> {}. newTransactions:{} elapsed:{}ms", this.samplingRate, newSamplingRate, newTransactions, elapsed);
+            }
+            this.samplingRate = newSamplingRate;
+        }
+    }
+
+    private int computeSamplingRate(long newTransactions, long elapsedMillis) {
+        // max number of transactions allowed to be sampled during the elapsed time
+        final long budget = Math.max(1, maxSampledPerSecond * elapsedMillis / 1000);
+        final long rate = (newTransactions + budget - 1) / budget;
+        if (rate <= minSamplingRate) {
+            return minSamplingRate;
+        }
+        return (int) Math.min(rate, Integer.MAX_VALUE);
+    }
+
+    int getSamplingRate() {
+        return samplingRate;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveSampler{" +
+                "minSamplingRate=" + minSamplingRate +
+                ", maxSampledPerSecond=" + maxSampledPerSecond +
+                ", updateIntervalMillis=" + updateIntervalMillis +
+                ", samplingRate=" + samplingRate +
+                '}';
+    }
+}
@@ -31,4 +31,15 @@ public class SamplerFactory {
         }
         return new SamplingRateSampler(samplingRate);
     }
+
+    /**
+     * @param maxSampledPerSecond the sampling rate is raised above {@code samplingRate} to keep the sampled transactions per second under this value.
+     * @param updateIntervalMillis how often the sampling rate is recomputed
+     */
+    public Sampler createAdaptiveSampler(boolean sampling, int samplingRate, int maxSampledPerSecond, long updateIntervalMillis) {
+        if (!sampling || samplingRate <= 0) {
+            return new FalseSampler();
+        }
+        return new AdaptiveSampler(samplingRate, maxSampledPerSecond, updateIntervalMillis);
+    }
 }
@@ -22,8 +22,10 @@ import org.apache.thrift.TBase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.navercorp.pinpoint.profiler.context.SpanRecycleUtils;
 import com.navercorp.pinpoint.rpc.FutureListener;
 import com.navercorp.pinpoint.rpc.ResponseMessage;
+import com.navercorp.pinpoint.rpc.client.PinpointClient;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializer;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
 import com.navercorp.pinpoint.thrift.util.SerializationUtils;
@@ -36,8 +38,17 @@ public abstract class AbstractDataSender implements DataSender {
 
     private Logger logger = LoggerFactory.getLogger(this.getClass());
 
+    private volatile AsyncQueueingExecutor<Object> queueingExecutor;
+    // connection to the collector this sender sends to, for senders that cannot detect a dead collector themselves
+    private volatile PinpointClient collectorClient;
+
     abstract protected void sendPacket(Object dto);
 
+    /**
+     * Whether spilled messages can be delivered now. Called by the executor thread before the spilled messages are sent again.
+     */
+    abstract protected boolean canDrain();
+
     protected void sendPacketN(Collection<Object> messageList) {
         // Cannot use toArray(T[] array) because passed messageList doesn't implement it properly. 
         Object[] dataList = messageList.toArray();
@@ -56,21 +67,83 @@ public abstract class AbstractDataSender implements DataSender {
     }
 
     protected AsyncQueueingExecutor<Object> createAsyncQueueingExecutor(int queueSize, String executorName) {
-        final AsyncQueueingExecutor<Object> executor = new AsyncQueueingExecutor<Object>(queueSize, executorName);
+        return createAsyncQueueingExecutor(queueSize, executorName, AsyncQueueFactory.DEFAULT_FACTORY);
+    }
+
+    protected AsyncQueueingExecutor<Object> createAsyncQueueingExecutor(int queueSize, String executorName, AsyncQueueFactory queueFactory) {
+        final AsyncQueueingExecutor<Object> executor = new AsyncQueueingExecutor<Object>(queueSize, executorName, queueFactory);
         executor.setListener(new AsyncQueueingExecutorListener<Object>() {
             @Override
             public void execute(Collection<Object> messageList) {
-                sendPacketN(messageList);
+                try {
+                    sendPacketN(messageList);
+                } finally {
+                    recycle(messageList);
+                }
             }
 
             @Override
             public void execute(Object message) {
-                sendPacket(message);
+                try {
+                    sendPacket(message);
+                } finally {
+                    // the message has been serialized, pooled span events can be reused
+                    SpanRecycleUtils.recycle(message);
+                }
             }
         });
+        if (queueFactory.isSpillEnable()) {
+            executor.setSpillStore(new TBaseSpillStore(queueFactory.getSpillCapacity()), new SpillDrainCondition() {
+                @Override
+                public boolean canDrain() {
+                    return AbstractDataSender.this.canDrain();
+                }
+            });
+        }
+        this.queueingExecutor = executor;
         return executor;
     }
 
+    public void setCollectorClient(PinpointClient collectorClient) {
+        this.collectorClient = collectorClient;
+    }
+
+    /**
+     * UDP sends do not fail while the collector is down, so the tcp connection to the same collector is used instead.
+     * Returns true if no connection has been set.
+     */
+    protected boolean isCollectorConnected() {
+        final PinpointClient collectorClient = this.collectorClient;
+        if (collectorClient == null) {
+            return true;
+        }
+        return collectorClient.isConnected();
+    }
+
+    public long getSpillCount() {
+        final AsyncQueueingExecutor<Object> queueingExecutor = this.queueingExecutor;
+        return queueingExecutor == null ? 0 : queueingExecutor.getSpillCount();
+    }
+
+    public long getDrainCount() {
+        final AsyncQueueingExecutor<Object> queueingExecutor = this.queueingExecutor;
+        return queueingExecutor == null ? 0 : queueingExecutor.getDrainCount();
+    }
+
+    public long getDropCount() {
+        final AsyncQueueingExecutor<Object> queueingExecutor = this.queueingExecutor;
+        return queueingExecutor == null ? 0 : queueingExecutor.getDropCount();
+    }
+
+    private void recycle(Collection<Object> messageList) {
+        // the drained collection does not support iterator()
+        final Object[] dataList = messageList.toArray();
+        final int size = messageList.size();
+        for (int i = 0; i < size; i++) {
+            SpanRecycleUtils.recycle(dataList[i]);
+        }
+    }
+
     protected byte[] serialize(HeaderTBaseSerializer serializer, TBase tBase) {
         return SerializationUtils.serialize(tBase, serializer, null);
     }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+/**
+ * Creates the queue of {@link AsyncQueueingExecutor}.
+ * The queue is backed by a spill store of {@code spillCapacity} bytes if {@code spillCapacity} is positive.
+ */
+public class AsyncQueueFactory {
+
+    public static final int DEFAULT_MAX_DRAIN_SIZE = 10;
+
+    public static final AsyncQueueFactory DEFAULT_FACTORY = new AsyncQueueFactory(AsyncQueueType.LINKED_BLOCKING, WaitStrategy.SLEEPING, DEFAULT_MAX_DRAIN_SIZE);
+
+    private final AsyncQueueType queueType;
+    private final WaitStrategy waitStrategy;
+    private final int maxDrainSize;
+    private final int spillCapacity;
+
+    public AsyncQueueFactory(AsyncQueueType queueType, WaitStrategy waitStrategy, int maxDrainSize) {
+        this(queueType, waitStrategy, maxDrainSize, 0);
+    }
+
+    public AsyncQueueFactory(AsyncQueueType queueType, WaitStrategy waitStrategy, int maxDrainSize, int spillCapacity) {
+        if (queueType == null) {
+            throw new NullPointerException("queueType must not be null");
+        }
+        if (waitStrategy == null) {
+            throw new NullPointerException("waitStrategy must not be null");
+        }
+        if (maxDrainSize <= 0) {
+            throw new IllegalArgumentException("maxDrainSize");
+        }
+        if (spillCapacity < 0) {
+            throw new IllegalArgumentException("spillCapacity");
+        }
+        this.queueType = queueType;
+        this.waitStrategy = waitStrategy;
+        this.maxDrainSize = maxDrainSize;
+        this.spillCapacity = spillCapacity;
+    }
+
+    public static AsyncQueueFactory create(String queueTypeName, String waitStrategyName, int maxDrainSize) {
+        return create(queueTypeName, waitStrategyName, maxDrainSize, 0);
+    }
+
+    public static AsyncQueueFactory create(String queueTypeName, String waitStrategyName, int maxDrainSize, int spillCapacity) {
+        final AsyncQueueType queueType = AsyncQueueType.valueOf(queueTypeName.toUpperCase());
+        final WaitStrategy waitStrategy = WaitStrategy.valueOf(waitStrategyName.toUpperCase());
+        return new AsyncQueueFactory(queueType, waitStrategy, maxDrainSize, spillCapacity);
+    }
+
+    public <T> AsyncQueue<T> createQueue(int queueSize) {
+        if (queueType == AsyncQueueType.RING_BUFFER) {
+            return new MpscRingBufferQueue<T>(queueSize, waitStrategy);
+        } else if (queueType == AsyncQueueType.LINKED_BLOCKING) {
+            return new LinkedBlockingAsyncQueue<T>(queueSize);
+        } else {
+            throw new IllegalArgumentException("Unknown type.");
+        }
+    }
+
+    public AsyncQueueType getQueueType() {
+        return queueType;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public int getMaxDrainSize() {
+        return maxDrainSize;
+    }
+
+    public boolean isSpillEnable() {
+        return spillCapacity > 0;
+    }
+
+    public int getSpillCapacity() {
+        return spillCapacity;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("AsyncQueueFactory{");
+        sb.append("queueType=").append(queueType);
+        sb.append(", waitStrategy=").append(waitStrategy);
+        sb.append(", maxDrainSize=").append(maxDrainSize);
+        sb.append(", spillCapacity=").append(spillCapacity);
+        sb.append('}');
+        return sb.toString();
+    }
+}
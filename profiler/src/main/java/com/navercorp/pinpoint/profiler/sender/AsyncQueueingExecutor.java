@@ -17,10 +17,10 @@
 package com.navercorp.pinpoint.profiler.sender;
 
 import java.util.Collection;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,7 +37,10 @@ public class AsyncQueueingExecutor<T> implements Runnable {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final boolean isWarn = logger.isWarnEnabled();
 
-    private final LinkedBlockingQueue<T> queue;
+    private final AsyncQueue<T> queue;
+    private final AtomicLong dropCount = new AtomicLong();
+    private final AtomicLong spillCount = new AtomicLong();
+    private final AtomicLong drainCount = new AtomicLong();
     private final AtomicBoolean isRun = new AtomicBoolean(true);
     private final Thread executeThread;
     private final String executorName;
@@ -48,19 +51,29 @@ public class AsyncQueueingExecutor<T> implements Runnable {
 
     private AsyncQueueingExecutorListener<T> listener = EMPTY_LISTENER;
 
+    private SpillStore<T> spillStore;
+    private SpillDrainCondition spillDrainCondition = SpillDrainCondition.ALWAYS;
+
 
     public AsyncQueueingExecutor() {
         this(1024 * 5, "Pinpoint-AsyncQueueingExecutor");
     }
 
     public AsyncQueueingExecutor(int queueSize, String executorName) {
+        this(queueSize, executorName, AsyncQueueFactory.DEFAULT_FACTORY);
+    }
+
+    public AsyncQueueingExecutor(int queueSize, String executorName, AsyncQueueFactory queueFactory) {
         if (executorName == null) {
             throw new NullPointerException("executorName must not be null");
         }
+        if (queueFactory == null) {
+            throw new NullPointerException("queueFactory must not be null");
+        }
         // BEFORE executeThread start
-        this.maxDrainSize = 10;
+        this.maxDrainSize = queueFactory.getMaxDrainSize();
         this.drain = new UnsafeArrayCollection<T>(maxDrainSize);
-        this.queue = new LinkedBlockingQueue<T>(queueSize);
+        this.queue = queueFactory.createQueue(queueSize);
 
         this.executeThread = this.createExecuteThread(executorName);
         this.executorName = executeThread.getName();
@@ -89,6 +102,10 @@ public class AsyncQueueingExecutor<T> implements Runnable {
                     doExecute(dtoList);
                     continue;
                 }
+                // the queue is empty. spilled data is sent before waiting for new data
+                if (executeSpilled() > 0) {
+                    continue;
+                }
 
                 while (isRun()) {
                     T dto = takeOne();
@@ -96,6 +113,10 @@ public class AsyncQueueingExecutor<T> implements Runnable {
                         doExecute(dto);
                         continue drainStartEntry;
                     }
+                    // the collector may have become reachable again while the queue was idle
+                    if (canExecuteSpilled()) {
+                        continue drainStartEntry;
+                    }
                 }
             } catch (Throwable th) {
                 logger.warn("{} doExecute(). Unexpected Error. Cause:{}", executorName, th.getMessage(), th);
@@ -113,7 +134,15 @@ public class AsyncQueueingExecutor<T> implements Runnable {
             Collection<T> dtoList = getDrainQueue();
            int drainSize = takeN(dtoList, this.maxDrainSize);
             if (drainSize == 0) {
-                break;
+                // spilled data is discarded by stop(), so send it before the thread exits if it can be delivered
+                final int spilledSize = executeSpilled();
+                if (spilledSize == 0) {
+                    break;
+                }
+                if (debugEnabled) {
+                    logger.debug("flushSpilledData size {}", spilledSize);
+                }
+                continue;
             }
             if (debugEnabled) {
                 logger.debug("flushData size {}", drainSize);
@@ -122,6 +151,37 @@ public class AsyncQueueingExecutor<T> implements Runnable {
         }
     }
 
+    private int executeSpilled() {
+        if (!canExecuteSpilled()) {
+            return 0;
+        }
+        final SpillStore<T> spillStore = this.spillStore;
+        int count = 0;
+        while (count < maxDrainSize) {
+            final T dto = spillStore.poll();
+            if (dto == null) {
+                break;
+            }
+            drainCount.incrementAndGet();
+            doExecute(dto);
+            count++;
+        }
+        return count;
+    }
+
+    private boolean canExecuteSpilled() {
+        final SpillStore<T> spillStore = this.spillStore;
+        if (spillStore == null || spillStore.isEmpty()) {
+            return false;
+        }
+        try {
+            return spillDrainCondition.canDrain();
+        } catch (Throwable th) {
+            logger.warn("{} canDrain() fail. Cause:{}", executorName, th.getMessage(), th);
+            return false;
+        }
+    }
+
     protected T takeOne() {
         try {
             return queue.poll(1000 * 2, TimeUnit.MILLISECONDS);
@@ -150,8 +210,12 @@ public class AsyncQueueingExecutor<T> implements Runnable {
         }
         boolean offer = queue.offer(data);
         if (!offer) {
+            if (spill(data)) {
+                return true;
+            }
+            final long drop = dropCount.incrementAndGet();
             if (isWarn) {
-                logger.warn("{} Drop data. queue is full. size:{}", executorName, queue.size());
+                logger.warn("{} Drop data. queue is full. size:{}, dropCount:{}", executorName, queue.size(), drop);
             }
         }
         return offer;
@@ -164,6 +228,38 @@ public class AsyncQueueingExecutor<T> implements Runnable {
         this.listener = listener;
     }
 
+    private boolean spill(T data) {
+        final SpillStore<T> spillStore = this.spillStore;
+        if (spillStore == null) {
+            return false;
+        }
+        try {
+            if (spillStore.spill(data)) {
+                spillCount.incrementAndGet();
+                return true;
+            }
+            return false;
+        } catch (Throwable th) {
+            logger.warn("{} spill fail. Cause:{}", executorName, th.getMessage(), th);
+            return false;
+        }
+    }
+
+    /**
+     * Messages rejected by the full queue are handed to the spillStore
+     * and executed by the executor thread when the queue is empty and the drainCondition allows it.
+     */
+    public void setSpillStore(SpillStore<T> spillStore, SpillDrainCondition drainCondition) {
+        if (spillStore == null) {
+            throw new NullPointerException("spillStore must not be null");
+        }
+        if (drainCondition == null) {
+            throw new NullPointerException("drainCondition must not be null");
+        }
+        this.spillDrainCondition = drainCondition;
+        this.spillStore = spillStore;
+    }
+
     private void doExecute(Collection<T> dtoList) {
         this.listener.execute(dtoList);
     }
@@ -176,6 +272,22 @@ public class AsyncQueueingExecutor<T> implements Runnable {
         return queue.isEmpty();
     }
 
+    public int size() {
+        return queue.size();
+    }
+
+    public long getDropCount() {
+        return dropCount.get();
+    }
+
+    public long getSpillCount() {
+        return spillCount.get();
+    }
+
+    public long getDrainCount() {
+        return drainCount.get();
+    }
+
     public boolean isRun() {
         return isRun.get();
     }
@@ -193,6 +305,10 @@ public class AsyncQueueingExecutor<T> implements Runnable {
             Thread.currentThread().interrupt();
             logger.warn("{} stopped incompletely.", executorName);
         }
+        if (spillStore != null) {
+            // the executor thread has flushed the spilled data unless the join timed out
+            spillStore.close();
+        }
 
         logger.info("{} stopped.", executorName);
     }
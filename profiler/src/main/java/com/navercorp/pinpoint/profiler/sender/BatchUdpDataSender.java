@@ -0,0 +1,138 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import java.io.IOException;
+import java.util.Collection;
+
+import org.apache.thrift.TBase;
+
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import com.navercorp.pinpoint.thrift.io.MultiMessageBuffer;
+
+/**
+ * packs the messages drained together by {@link AsyncQueueingExecutor} into as few datagrams as possible.
+ *
+ * only use pair collector-BaseUDPHandlerFactory which understands MultiMessage
+ */
+public class BatchUdpDataSender extends UdpDataSender {
+
+    // Caution. not thread safe
+    // created lazily by the executor thread, which super(...) starts before this class's fields are initialized.
+    private HeaderTBaseSerializer batchSerializer;
+
+    // Caution. not thread safe
+    private MultiMessageBuffer multiMessageBuffer;
+
+    public BatchUdpDataSender(String host, int port, String threadName, int queueSize) {
+        this(host, port, threadName, queueSize, SOCKET_TIMEOUT, SEND_BUFFER_SIZE);
+    }
+
+    public BatchUdpDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize) {
+        this(host, port, threadName, queueSize, timeout, sendBufferSize, AsyncQueueFactory.DEFAULT_FACTORY);
+    }
+
+    public BatchUdpDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize, AsyncQueueFactory queueFactory) {
+        super(host, port, threadName, queueSize, timeout, sendBufferSize, queueFactory);
+    }
+
+    @Override
+    protected void sendPacketN(Collection<Object> messageList) {
+        final int size = messageList.size();
+        if (size == 1) {
+            super.sendPacketN(messageList);
+            return;
+        }
+        // Cannot use toArray(T[] array) because passed messageList doesn't implement it properly.
+        final Object[] dataList = messageList.toArray();
+
+        if (multiMessageBuffer == null) {
+            this.batchSerializer = new HeaderTBaseSerializerFactory(false, UDP_MAX_PACKET_LENGTH, false).createSerializer();
+            this.multiMessageBuffer = new MultiMessageBuffer(UDP_MAX_PACKET_LENGTH);
+        }
+        multiMessageBuffer.reset();
+        for (int i = 0; i < size; i++) {
+            try {
+                append(dataList[i]);
+            } catch (Throwable th) {
+                logger.warn("Unexpected Error. Cause:{}", th.getMessage(), th);
+            }
+        }
+        flush();
+    }
+
+    private void append(Object message) {
+        if (!(message instanceof TBase)) {
+            logger.warn("sendPacket fail. invalid type:{}", message != null ? message.getClass() : null);
+            return;
+        }
+        final TBase dto = (TBase) message;
+        // do not copy bytes because it's single threaded
+        final byte[] internalBufferData = serialize(this.batchSerializer, dto);
+        if (internalBufferData == null) {
+            logger.warn("interBufferData is null");
+            return;
+        }
+        final int internalBufferSize = this.batchSerializer.getInterBufferSize();
+        if (multiMessageBuffer.append(internalBufferData, 0, internalBufferSize)) {
+            return;
+        }
+
+        flush();
+        if (multiMessageBuffer.append(internalBufferData, 0, internalBufferSize)) {
+            return;
+        }
+        // too large for an envelope. send it as it is.
+        if (isLimit(internalBufferSize)) {
+            logger.warn("discard packet. Caused:too large message. size:{}, {}", internalBufferSize, dto);
+            return;
+        }
+        send(internalBufferData, 0, internalBufferSize, 1);
+    }
+
+    private void flush() {
+        final int messageCount = multiMessageBuffer.getMessageCount();
+        if (messageCount == 0) {
+            return;
+        }
+        final byte[] buffer = multiMessageBuffer.getBuffer();
+        if (messageCount == 1) {
+            // a lone message does not need the envelope.
+            final int offset = multiMessageBuffer.getFirstMessageOffset();
+            send(buffer, offset, multiMessageBuffer.getLength() - offset, messageCount);
+        } else {
+            send(buffer, 0, multiMessageBuffer.getLength(), messageCount);
+        }
+        multiMessageBuffer.reset();
+    }
+
+    private void send(byte[] buffer, int offset, int length, int messageCount) {
+        // it's safe to reuse because it's single threaded
+        reusePacket.setData(buffer, offset, length);
+        try {
+            udpSocket.send(reusePacket);
+            lastSendFailed = false;
+            if (isDebug) {
+                logger.debug("Data sent. size:{}, messageCount:{}", length, messageCount);
+            }
+        } catch (IOException e) {
+            lastSendFailed = true;
+            logger.info("packet send error. size:{}, messageCount:{}", length, messageCount, e);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer / single-consumer queue on a preallocated ring.
+ * offer() does not allocate. The capacity is rounded up to a power of two.
+ * Caution. poll() and drainTo() must be called from a single consumer thread.
+ */
+public class MpscRingBufferQueue<T> implements AsyncQueue<T> {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final AtomicReferenceArray<T> buffer;
+    private final int capacity;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+
+    // next sequence to claim by producers
+    private final AtomicLong tail = new AtomicLong();
+    // next sequence to consume. written by the consumer thread only
+    private final AtomicLong head = new AtomicLong();
+    // producer side cache of head, avoids reading the consumer's counter on every offer
+    private volatile long headCache = 0;
+
+    public MpscRingBufferQueue(int queueSize) {
+        this(queueSize, WaitStrategy.SLEEPING);
+    }
+
+    public MpscRingBufferQueue(int queueSize, WaitStrategy waitStrategy) {
+        if (queueSize <= 0) {
+            throw new IllegalArgumentException("queueSize");
+        }
+        if (waitStrategy == null) {
+            throw new NullPointerException("waitStrategy must not be null");
+        }
+        this.capacity = roundToPowerOfTwo(queueSize);
+        this.mask = capacity - 1;
+        this.buffer = new AtomicReferenceArray<T>(capacity);
+        this.waitStrategy = waitStrategy;
+    }
+
+    static int roundToPowerOfTwo(int value) {
+        if (value > MAX_CAPACITY) {
+            throw new IllegalArgumentException("queueSize too large. queueSize:" + value);
+        }
+        final int highestOneBit = Integer.highestOneBit(value);
+        if (highestOneBit == value) {
+            return value;
+        }
+        return highestOneBit << 1;
+    }
+
+    @Override
+    public boolean offer(T data) {
+        if (data == null) {
+            throw new NullPointerException("data must not be null");
+        }
+        while (true) {
+            final long currentTail = tail.get();
+            final long wrapPoint = currentTail - capacity;
+            if (headCache <= wrapPoint) {
+                final long currentHead = head.get();
+                if (currentHead <= wrapPoint) {
+                    return false;
+                }
+                headCache = currentHead;
+            }
+            if (tail.compareAndSet(currentTail, currentTail + 1)) {
+                buffer.lazySet(index(currentTail), data);
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        T data = poll();
+        if (data != null) {
+            return data;
+        }
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int idleCount = 0;
+        while (true) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            data = poll();
+            if (data != null) {
+                return data;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+            idleCount = waitStrategy.idle(idleCount);
+        }
+    }
+
+    T poll() {
+        final long currentHead = head.get();
+        final int index = index(currentHead);
+        final T data = buffer.get(index);
+        if (data == null) {
+            // empty, or a producer claimed the slot and has not published yet.
+            return null;
+        }
+        // clear the slot before moving head so that producers never overwrite an unconsumed slot
+        buffer.lazySet(index, null);
+        head.lazySet(currentHead + 1);
+        return data;
+    }
+
+    @Override
+    public int drainTo(Collection<T> drain, int maxDrainSize) {
+        int drainSize = 0;
+        while (drainSize < maxDrainSize) {
+            final T data = poll();
+            if (data == null) {
+                break;
+            }
+            drain.add(data);
+            drainSize++;
+        }
+        return drainSize;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head.get() >= tail.get();
+    }
+
+    @Override
+    public int size() {
+        // read head first. tail only grows so the result is never negative.
+        final long currentHead = head.get();
+        final long currentTail = tail.get();
+        final long size = currentTail - currentHead;
+        if (size > capacity) {
+            return capacity;
+        }
+        return (int) size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private int index(long sequence) {
+        return (int) sequence & mask;
+    }
+
+}
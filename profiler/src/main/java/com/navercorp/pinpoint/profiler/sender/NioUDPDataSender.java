@@ -38,11 +38,18 @@ public class NioUDPDataSender extends AbstractDataSender implements DataSender {
 
     private volatile boolean closed = false;
 
+    // a connected channel reports PortUnreachableException once the collector is gone. accessed by the executor thread only
+    private boolean lastSendFailed = false;
+
     public NioUDPDataSender(String host, int port, String threadName, int queueSize) {
         this(host, port, threadName, queueSize, SOCKET_TIMEOUT, SEND_BUFFER_SIZE);
     }
 
     public NioUDPDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize) {
+        this(host, port, threadName, queueSize, timeout, sendBufferSize, AsyncQueueFactory.DEFAULT_FACTORY);
+    }
+
+    public NioUDPDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize, AsyncQueueFactory queueFactory) {
         if (host == null ) {
             throw new NullPointerException("host must not be null");
         }
@@ -58,6 +65,9 @@ public class NioUDPDataSender extends AbstractDataSender implements DataSender {
         if (sendBufferSize <= 0) {
             throw new IllegalArgumentException("sendBufferSize");
         }
+        if (queueFactory == null) {
+            throw new NullPointerException("queueFactory must not be null");
+        }
 
         // TODO If fail to create socket, stop agent start
         logger.info("NioUDPDataSender initialized. host={}, port={}", host, port);
@@ -70,7 +80,7 @@ public class NioUDPDataSender extends AbstractDataSender implements DataSender {
         ByteBuffer byteBuffer = bufferFactory.getBuffer(UDP_MAX_PACKET_LENGTH);
         this.byteBufferOutputStream = new ByteBufferOutputStream(byteBuffer);
 
-        this.executor = createAsyncQueueingExecutor(queueSize, threadName);
+        this.executor = createAsyncQueueingExecutor(queueSize, threadName, queueFactory);
     }
 
     private DatagramChannel createChannel(String host, int port, int timeout, int sendBufferSize) {
@@ -148,7 +158,9 @@ public class NioUDPDataSender extends AbstractDataSender implements DataSender {
             int bufferSize = byteBuffer.remaining();
             try {
                 datagramChannel.write(byteBuffer);
+                lastSendFailed = false;
             } catch (IOException e) {
+                lastSendFailed = true;
                 final Thread currentThread = Thread.currentThread();
                 if (currentThread.isInterrupted()) {
                     logger.warn("{} thread interrupted.", currentThread.getName());
@@ -163,4 +175,9 @@ public class NioUDPDataSender extends AbstractDataSender implements DataSender {
         }
     }
 
+    @Override
+    protected boolean canDrain() {
+        return !closed && !lastSendFailed && isCollectorConnected();
+    }
+
 }
@@ -174,6 +174,11 @@ public class SpanStreamUdpSender extends AbstractDataSender {
         }
     }
 
+    @Override
+    protected boolean canDrain() {
+        return isCollectorConnected();
+    }
+
     private String messageToString(Object message) {
         if(message == null) {
             return null;
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.common.util.BytesUtils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Bounded FIFO of byte arrays kept in a direct memory ring so that spilled messages do not add to the heap.
+ * Each record is stored as a 4 byte length followed by its bytes, wrapping around the end of the ring.
+ * The ring is allocated on the first {@link #offer(byte[])}.
+ */
+public class SpillBuffer {
+
+    private static final int LENGTH_SIZE = 4;
+
+    private final int capacity;
+
+    private ByteBuffer ring;
+    // read position
+    private int head;
+    private int usedBytes;
+    private int size;
+
+    public SpillBuffer(int capacity) {
+        if (capacity <= LENGTH_SIZE) {
+            throw new IllegalArgumentException("capacity must be greater than " + LENGTH_SIZE + ". capacity:" + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return false if there is not enough free space for the record
+     */
+    public synchronized boolean offer(byte[] record) {
+        if (record == null) {
+            throw new NullPointerException("record must not be null");
+        }
+        final int recordSize = LENGTH_SIZE + record.length;
+        if (recordSize > capacity - usedBytes) {
+            return false;
+        }
+        if (ring == null) {
+            ring = ByteBuffer.allocateDirect(capacity);
+        }
+        final int tail = (head + usedBytes) % capacity;
+        final byte[] length = new byte[LENGTH_SIZE];
+        BytesUtils.writeInt(record.length, length, 0);
+        final int next = write(tail, length);
+        write(next, record);
+        usedBytes += recordSize;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return the oldest record, or null if the buffer is empty
+     */
+    public synchronized byte[] poll() {
+        if (size == 0) {
+            return null;
+        }
+        final byte[] length = new byte[LENGTH_SIZE];
+        final int next = read(head, length);
+        final byte[] record = new byte[BytesUtils.bytesToInt(length, 0)];
+        head = read(next, record);
+        usedBytes -= LENGTH_SIZE + record.length;
+        size--;
+        if (size == 0) {
+            head = 0;
+        }
+        return record;
+    }
+
+    private int write(int position, byte[] bytes) {
+        final int first = Math.min(bytes.length, capacity - position);
+        ring.position(position);
+        ring.put(bytes, 0, first);
+        if (first < bytes.length) {
+            ring.position(0);
+            ring.put(bytes, first, bytes.length - first);
+        }
+        return (position + bytes.length) % capacity;
+    }
+
+    private int read(int position, byte[] bytes) {
+        final int first = Math.min(bytes.length, capacity - position);
+        ring.position(position);
+        ring.get(bytes, 0, first);
+        if (first < bytes.length) {
+            ring.position(0);
+            ring.get(bytes, first, bytes.length - first);
+        }
+        return (position + bytes.length) % capacity;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    public synchronized int getUsedBytes() {
+        return usedBytes;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Discards every record and releases the ring.
+     * @return the number of discarded records
+     */
+    public synchronized int clear() {
+        final int discarded = size;
+        ring = null;
+        head = 0;
+        usedBytes = 0;
+        size = 0;
+        return discarded;
+    }
+}
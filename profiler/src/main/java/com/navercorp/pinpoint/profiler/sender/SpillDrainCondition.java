@@ -0,0 +1,37 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sender;
+
+/**
+ * Tells the {@link AsyncQueueingExecutor} whether spilled messages can be delivered.
+ * Spilled messages stay in the {@link SpillStore} otherwise, instead of being sent into the same outage again.
+ */
+public interface SpillDrainCondition {
+
+    SpillDrainCondition ALWAYS = new SpillDrainCondition() {
+        @Override
+        public boolean canDrain() {
+            return true;
+        }
+    };
+
+    /**
+     * called by the executor thread only.
+     */
+    boolean canDrain();
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sender;
+
+/**
+ * Keeps the messages rejected by a full {@link AsyncQueueingExecutor} queue until the executor has drained the queue.
+ */
+public interface SpillStore<T> {
+
+    /**
+     * may be called by any thread.
+     * @return false if the message could not be stored
+     */
+    boolean spill(T message);
+
+    /**
+     * called by the executor thread only.
+     * @return the oldest spilled message, or null if there is none
+     */
+    T poll();
+
+    boolean isEmpty();
+
+    /**
+     * Discards the remaining messages.
+     */
+    void close();
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.profiler.context.SpanRecycleUtils;
+import com.navercorp.pinpoint.profiler.util.NamedThreadLocal;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializerFactory;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import com.navercorp.pinpoint.thrift.util.SerializationUtils;
+import org.apache.thrift.TBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serializes spilled {@link TBase} messages into a {@link SpillBuffer}.
+ * Other messages, e.g. requests waiting for a response, are not spilled.
+ * <p>
+ * Spilling runs on the application thread that found the queue full, so each thread serializes with its own serializer
+ * instead of contending for a shared one while the agent is overloaded.
+ */
+public class TBaseSpillStore implements SpillStore<Object> {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final SpillBuffer buffer;
+
+    private final ThreadLocal<HeaderTBaseSerializer> serializer = new NamedThreadLocal<HeaderTBaseSerializer>("TBaseSpillStore.serializer") {
+        @Override
+        protected HeaderTBaseSerializer initialValue() {
+            return HeaderTBaseSerializerFactory.DEFAULT_FACTORY.createSerializer();
+        }
+    };
+    // executor thread only
+    private final HeaderTBaseDeserializer deserializer = HeaderTBaseDeserializerFactory.DEFAULT_FACTORY.createDeserializer();
+
+    private final AtomicLong spillCount = new AtomicLong();
+    private final AtomicLong drainCount = new AtomicLong();
+    private final AtomicLong overflowCount = new AtomicLong();
+
+    public TBaseSpillStore(int capacity) {
+        this.buffer = new SpillBuffer(capacity);
+    }
+
+    @Override
+    public boolean spill(Object message) {
+        if (!(message instanceof TBase<?, ?>)) {
+            return false;
+        }
+        final byte[] bytes = SerializationUtils.serialize((TBase<?, ?>) message, serializer.get(), null);
+        if (bytes == null) {
+            return false;
+        }
+        if (!buffer.offer(bytes)) {
+            overflowCount.incrementAndGet();
+            return false;
+        }
+        spillCount.incrementAndGet();
+        // the serialized message is not referenced anymore
+        SpanRecycleUtils.recycle(message);
+        return true;
+    }
+
+    @Override
+    public Object poll() {
+        while (true) {
+            final byte[] bytes = buffer.poll();
+            if (bytes == null) {
+                return null;
+            }
+            final TBase<?, ?> message = SerializationUtils.deserialize(bytes, deserializer, null);
+            if (message != null) {
+                drainCount.incrementAndGet();
+                return message;
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return buffer.isEmpty();
+    }
+
+    @Override
+    public void close() {
+        final int discarded = buffer.clear();
+        logger.info("spill store closed. discarded:{} {}", discarded, this);
+    }
+
+    public long getSpillCount() {
+        return spillCount.get();
+    }
+
+    public long getDrainCount() {
+        return drainCount.get();
+    }
+
+    public int size() {
+        return buffer.size();
+    }
+
+    @Override
+    public String toString() {
+        return "TBaseSpillStore{" +
+                "size=" + buffer.size() +
+                ", usedBytes=" + buffer.getUsedBytes() +
+                ", capacity=" + buffer.getCapacity() +
+                ", spillCount=" + spillCount.get() +
+                ", drainCount=" + drainCount.get() +
+                ", overflowCount=" + overflowCount.get() +
+                '}';
+    }
+}
@@ -69,10 +69,17 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
     private AsyncQueueingExecutor<Object> executor;
 
     public TcpDataSender(PinpointClient client) {
+        this(client, AsyncQueueFactory.DEFAULT_FACTORY);
+    }
+
+    public TcpDataSender(PinpointClient client, AsyncQueueFactory queueFactory) {
+        if (queueFactory == null) {
+            throw new NullPointerException("queueFactory must not be null");
+        }
         this.client = client;
         this.timer = createTimer();
         writeFailFutureListener = new WriteFailFutureListener(logger, "io write fail.", "host", -1);
-        this.executor = createAsyncQueueingExecutor(1024 * 5, "Pinpoint-TcpDataExecutor");
+        this.executor = createAsyncQueueingExecutor(1024 * 5, "Pinpoint-TcpDataExecutor", queueFactory);
     }
     
     private Timer createTimer() {
@@ -157,6 +164,11 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
         }
     }
 
+    @Override
+    protected boolean canDrain() {
+        return client.isConnected();
+    }
+
     private void doSend(byte[] copy) {
         Future write = this.client.sendAsync(copy);
         write.setListener(writeFailFutureListener);
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.rpc.PinpointSocketException;
+import com.navercorp.pinpoint.rpc.client.PinpointClient;
+import com.navercorp.pinpoint.rpc.client.PinpointClientReconnectEventListener;
+import com.navercorp.pinpoint.rpc.client.TraceSendAckListener;
+import com.navercorp.pinpoint.rpc.util.TimerFactory;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import org.apache.thrift.TBase;
+import org.jboss.netty.util.HashedWheelTimer;
+import org.jboss.netty.util.Timeout;
+import org.jboss.netty.util.Timer;
+import org.jboss.netty.util.TimerTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends spans and span chunks over the agent's TCP connection with {@code TraceSendPacket}.
+ * <p>
+ * Every packet stays in a bounded in-flight window until the collector acks it.
+ * Packets without an ack are retransmitted after the ack timeout, and the whole window is resent after a reconnect,
+ * so a span is delivered at least once unless the window stays full for longer than the ack timeout
+ * or the packet has been retransmitted {@link #MAX_RETRANSMIT_COUNT} times.
+ */
+public class TcpSpanDataSender extends AbstractDataSender {
+
+    static final int MAX_RETRANSMIT_COUNT = 3;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final boolean isDebug = logger.isDebugEnabled();
+
+    private final PinpointClient client;
+    private final long ackTimeout;
+    private final TraceSendWindow window;
+
+    private final HeaderTBaseSerializer serializer = HeaderTBaseSerializerFactory.DEFAULT_FACTORY.createSerializer();
+    private final AsyncQueueingExecutor<Object> executor;
+    private final Timer timer;
+
+    private final TraceSendAckListener ackListener = new TraceSendAckListener() {
+        @Override
+        public void ackReceived(int traceId) {
+            window.ack(traceId);
+        }
+    };
+
+    private final PinpointClientReconnectEventListener reconnectEventListener = new PinpointClientReconnectEventListener() {
+        @Override
+        public void reconnectPerformed(PinpointClient client) {
+            resendAll();
+        }
+    };
+
+    // executor thread only
+    private int traceIdSequence;
+
+    private volatile boolean stopped;
+
+    public TcpSpanDataSender(PinpointClient client, String executorName, int queueSize, int windowSize, long windowBytes, long ackTimeout, AsyncQueueFactory queueFactory) {
+        if (client == null) {
+            throw new NullPointerException("client must not be null");
+        }
+        if (executorName == null) {
+            throw new NullPointerException("executorName must not be null");
+        }
+        if (queueFactory == null) {
+            throw new NullPointerException("queueFactory must not be null");
+        }
+        if (ackTimeout <= 0) {
+            throw new IllegalArgumentException("ackTimeout must be positive");
+        }
+        this.client = client;
+        this.ackTimeout = ackTimeout;
+        this.window = new TraceSendWindow(windowSize, windowBytes);
+
+        this.client.addTraceSendAckListener(ackListener);
+        this.client.addPinpointClientReconnectEventListener(reconnectEventListener);
+
+        this.timer = createTimer();
+        this.timer.newTimeout(new RetransmitTask(), ackTimeout, TimeUnit.MILLISECONDS);
+        this.executor = createAsyncQueueingExecutor(queueSize, executorName, queueFactory);
+    }
+
+    private Timer createTimer() {
+        HashedWheelTimer timer = TimerFactory.createHashedWheelTimer("Pinpoint-TcpSpanDataSender-Timer", 100, TimeUnit.MILLISECONDS, 512);
+        timer.start();
+        return timer;
+    }
+
+    @Override
+    public boolean send(TBase<?, ?> data) {
+        return executor.execute(data);
+    }
+
+    @Override
+    protected void sendPacket(Object message) {
+        if (!(message instanceof TBase<?, ?>)) {
+            logger.warn("sendPacket fail. invalid dto type:{}", message.getClass());
+            return;
+        }
+        final byte[] payload = serialize(serializer, (TBase<?, ?>) message);
+        if (payload == null) {
+            return;
+        }
+        final int traceId = traceIdSequence++;
+        try {
+            if (!window.add(traceId, payload, System.currentTimeMillis(), ackTimeout, TimeUnit.MILLISECONDS)) {
+                logger.warn("span dropped. in-flight window is full. size:{} bytes:{}", window.size(), window.bytes());
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        write(traceId, payload);
+    }
+
+    @Override
+    protected boolean canDrain() {
+        return client.isConnected();
+    }
+
+    private void write(int traceId, byte[] payload) {
+        try {
+            client.sendTrace(traceId, payload);
+        } catch (PinpointSocketException e) {
+            // kept in the window, resent by the retransmit task or after reconnect
+            if (isDebug) {
+                logger.debug("sendTrace fail. traceId:{} Caused:{}", traceId, e.getMessage());
+            }
+        }
+    }
+
+    private void retransmit() {
+        if (!client.isConnected()) {
+            // everything is resent by reconnectPerformed()
+            return;
+        }
+        final List<TraceSendWindow.InFlight> dropList = new ArrayList<TraceSendWindow.InFlight>();
+        final List<TraceSendWindow.InFlight> retransmitList = window.retransmit(System.currentTimeMillis(), ackTimeout, MAX_RETRANSMIT_COUNT, dropList);
+        if (!dropList.isEmpty()) {
+            logger.warn("{} spans dropped. no ack after {} retransmits", dropList.size(), MAX_RETRANSMIT_COUNT);
+        }
+        if (!retransmitList.isEmpty() && isDebug) {
+            logger.debug("retransmit {} spans", retransmitList.size());
+        }
+        for (TraceSendWindow.InFlight inFlight : retransmitList) {
+            write(inFlight.getTraceId(), inFlight.getPayload());
+        }
+    }
+
+    private void resendAll() {
+        final List<TraceSendWindow.InFlight> resendList = window.resendAll(System.currentTimeMillis());
+        if (resendList.isEmpty()) {
+            return;
+        }
+        logger.info("resend {} unacknowledged spans after reconnect", resendList.size());
+        for (TraceSendWindow.InFlight inFlight : resendList) {
+            write(inFlight.getTraceId(), inFlight.getPayload());
+        }
+    }
+
+    @Override
+    public void stop() {
+        this.stopped = true;
+        executor.stop();
+
+        Set<Timeout> stop = timer.stop();
+        if (!stop.isEmpty()) {
+            logger.info("stop Timeout:{}", stop.size());
+        }
+
+        client.removeTraceSendAckListener(ackListener);
+        client.removePinpointClientReconnectEventListener(reconnectEventListener);
+
+        final int unacknowledged = window.clear();
+        if (unacknowledged > 0) {
+            logger.info("{} spans were not acknowledged before stop", unacknowledged);
+        }
+    }
+
+    private class RetransmitTask implements TimerTask {
+        @Override
+        public void run(Timeout timeout) throws Exception {
+            if (stopped) {
+                return;
+            }
+            try {
+                retransmit();
+            } catch (Throwable th) {
+                logger.warn("retransmit fail. Caused:{}", th.getMessage(), th);
+            } finally {
+                if (!stopped) {
+                    timer.newTimeout(this, ackTimeout, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Packets sent with {@link TcpSpanDataSender} that have not been acknowledged by the collector yet.
+ * The window is bounded by packet count and by payload bytes, a producer waits for acks when it is full.
+ */
+class TraceSendWindow {
+
+    private final int maxSize;
+    private final long maxBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+
+    // insertion order == send order
+    private final Map<Integer, InFlight> inFlightMap = new LinkedHashMap<Integer, InFlight>();
+    private long bytes;
+
+    TraceSendWindow(int maxSize, long maxBytes) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        this.maxSize = maxSize;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return false if the window is still full after the timeout
+     */
+    boolean add(int traceId, byte[] payload, long currentTimeMillis, long timeout, TimeUnit unit) throws InterruptedException {
+        if (payload == null) {
+            throw new NullPointerException("payload must not be null");
+        }
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (isFull(payload.length)) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            final InFlight old = inFlightMap.put(traceId, new InFlight(traceId, payload, currentTimeMillis));
+            if (old != null) {
+                // traceId wrapped around while the old packet was still waiting for its ack
+                bytes -= old.payload.length;
+            }
+            bytes += payload.length;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isFull(int length) {
+        if (inFlightMap.isEmpty()) {
+            // a payload larger than maxBytes must not block forever
+            return false;
+        }
+        return inFlightMap.size() >= maxSize || bytes + length > maxBytes;
+    }
+
+    boolean ack(int traceId) {
+        lock.lock();
+        try {
+            final InFlight inFlight = inFlightMap.remove(traceId);
+            if (inFlight == null) {
+                return false;
+            }
+            bytes -= inFlight.payload.length;
+            notFull.signalAll();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Collects the packets that have not been acknowledged within the ack timeout and marks them as sent again.
+     * Packets that have already been retransmitted {@code maxRetransmitCount} times are removed and added to {@code dropList}.
+     */
+    List<InFlight> retransmit(long currentTimeMillis, long ackTimeout, int maxRetransmitCount, List<InFlight> dropList) {
+        lock.lock();
+        try {
+            List<InFlight> retransmitList = null;
+            final Iterator<InFlight> iterator = inFlightMap.values().iterator();
+            while (iterator.hasNext()) {
+                final InFlight inFlight = iterator.next();
+                if (currentTimeMillis - inFlight.sentTime < ackTimeout) {
+                    continue;
+                }
+                if (inFlight.retransmitCount >= maxRetransmitCount) {
+                    iterator.remove();
+                    bytes -= inFlight.payload.length;
+                    dropList.add(inFlight);
+                    continue;
+                }
+                inFlight.retransmitCount++;
+                inFlight.sentTime = currentTimeMillis;
+                if (retransmitList == null) {
+                    retransmitList = new ArrayList<InFlight>();
+                }
+                retransmitList.add(inFlight);
+            }
+            if (!dropList.isEmpty()) {
+                notFull.signalAll();
+            }
+            if (retransmitList == null) {
+                return Collections.emptyList();
+            }
+            return retransmitList;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks every packet as sent again without counting it as a retransmission, used after a reconnect.
+     */
+    List<InFlight> resendAll(long currentTimeMillis) {
+        lock.lock();
+        try {
+            final List<InFlight> resendList = new ArrayList<InFlight>(inFlightMap.values());
+            for (InFlight inFlight : resendList) {
+                inFlight.sentTime = currentTimeMillis;
+            }
+            return resendList;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return inFlightMap.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long bytes() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int clear() {
+        lock.lock();
+        try {
+            final int size = inFlightMap.size();
+            inFlightMap.clear();
+            bytes = 0;
+            notFull.signalAll();
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static class InFlight {
+        private final int traceId;
+        private final byte[] payload;
+        // guarded by the window lock
+        private long sentTime;
+        private int retransmitCount;
+
+        private InFlight(int traceId, byte[] payload, long sentTime) {
+            this.traceId = traceId;
+            this.payload = payload;
+            this.sentTime = sentTime;
+        }
+
+        int getTraceId() {
+            return traceId;
+        }
+
+        byte[] getPayload() {
+            return payload;
+        }
+    }
+}
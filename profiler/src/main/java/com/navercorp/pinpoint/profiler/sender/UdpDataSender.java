@@ -52,11 +52,18 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
 
     private final AsyncQueueingExecutor<Object> executor;
 
+    // a connected socket reports PortUnreachableException once the collector is gone. accessed by the executor thread only
+    protected boolean lastSendFailed = false;
+
     public UdpDataSender(String host, int port, String threadName, int queueSize) {
         this(host, port, threadName, queueSize, SOCKET_TIMEOUT, SEND_BUFFER_SIZE);
     }
 
     public UdpDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize) {
+        this(host, port, threadName, queueSize, timeout, sendBufferSize, AsyncQueueFactory.DEFAULT_FACTORY);
+    }
+
+    public UdpDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize, AsyncQueueFactory queueFactory) {
         if (host == null ) {
             throw new NullPointerException("host must not be null");
         }
@@ -72,12 +79,15 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
         if (sendBufferSize <= 0) {
             throw new IllegalArgumentException("sendBufferSize");
         }
+        if (queueFactory == null) {
+            throw new NullPointerException("queueFactory must not be null");
+        }
 
         // TODO If fail to create socket, stop agent start
         logger.info("UdpDataSender initialized. host={}, port={}", host, port);
         this.udpSocket = createSocket(host, port, timeout, sendBufferSize);
 
-        this.executor = createAsyncQueueingExecutor(queueSize, threadName);
+        this.executor = createAsyncQueueingExecutor(queueSize, threadName, queueFactory);
     }
 
     @Override
@@ -132,10 +142,12 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
 
             try {
                 udpSocket.send(reusePacket);
+                lastSendFailed = false;
                 if (isDebug) {
                     logger.debug("Data sent. size:{}, {}", internalBufferSize, dto);
                 }
             } catch (IOException e) {
+                lastSendFailed = true;
                 logger.info("packet send error. size:{}, {}", internalBufferSize, dto, e);
             }
         } else {
@@ -144,6 +156,11 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
         }
     }
 
+    @Override
+    protected boolean canDrain() {
+        return !lastSendFailed && isCollectorConnected();
+    }
+
     // for test
     protected boolean isLimit(int interBufferSize) {
         if (interBufferSize > UDP_MAX_PACKET_LENGTH) {
@@ -13,14 +13,23 @@ public final class UdpDataSenderFactory {
     private final int queueSize;
     private final int timeout;
     private final int sendBufferSize;
+    private final AsyncQueueFactory queueFactory;
 
     public UdpDataSenderFactory(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize) {
+        this(host, port, threadName, queueSize, timeout, sendBufferSize, AsyncQueueFactory.DEFAULT_FACTORY);
+    }
+
+    public UdpDataSenderFactory(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize, AsyncQueueFactory queueFactory) {
+        if (queueFactory == null) {
+            throw new NullPointerException("queueFactory must not be null");
+        }
         this.host = host;
         this.port = port;
         this.threadName = threadName;
         this.queueSize = queueSize;
         this.timeout = timeout;
         this.sendBufferSize = sendBufferSize;
+        this.queueFactory = queueFactory;
     }
 
     public DataSender create(String typeName) {
@@ -29,9 +38,11 @@ public final class UdpDataSenderFactory {
 
     public DataSender create(UdpDataSenderType type) {
         if (type == UdpDataSenderType.NIO) {
-            return new NioUDPDataSender(host, port, threadName, queueSize, timeout, sendBufferSize);
+            return new NioUDPDataSender(host, port, threadName, queueSize, timeout, sendBufferSize, queueFactory);
         } else if (type == UdpDataSenderType.OIO) {
-            return new UdpDataSender(host, port, threadName, queueSize, timeout, sendBufferSize);
+            return new UdpDataSender(host, port, threadName, queueSize, timeout, sendBufferSize, queueFactory);
+        } else if (type == UdpDataSenderType.BATCH) {
+            return new BatchUdpDataSender(host, port, threadName, queueSize, timeout, sendBufferSize, queueFactory);
         } else {
             throw new IllegalArgumentException("Unknown type.");
         }
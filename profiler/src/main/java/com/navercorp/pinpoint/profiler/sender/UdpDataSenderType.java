@@ -6,6 +6,7 @@ package com.navercorp.pinpoint.profiler.sender;
 public enum UdpDataSenderType {
 
     OIO,
-    NIO;
+    NIO,
+    BATCH;
 
 }
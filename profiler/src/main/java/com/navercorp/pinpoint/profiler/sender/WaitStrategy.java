@@ -0,0 +1,69 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Idle strategy of the consumer thread when {@link MpscRingBufferQueue} is empty.
+ */
+public enum WaitStrategy {
+
+    BUSY_SPIN {
+        @Override
+        public int idle(int idleCount) {
+            return idleCount + 1;
+        }
+    },
+
+    YIELDING {
+        @Override
+        public int idle(int idleCount) {
+            if (idleCount < SPIN_TRIES) {
+                return idleCount + 1;
+            }
+            Thread.yield();
+            return idleCount;
+        }
+    },
+
+    SLEEPING {
+        @Override
+        public int idle(int idleCount) {
+            if (idleCount < SPIN_TRIES) {
+                return idleCount + 1;
+            }
+            if (idleCount < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+                return idleCount + 1;
+            }
+            LockSupport.parkNanos(SLEEP_NANOS);
+            return idleCount;
+        }
+    };
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long SLEEP_NANOS = 1000 * 1000;
+
+    /**
+     * @param idleCount number of empty polls in a row
+     * @return idleCount for the next call
+     */
+    public abstract int idle(int idleCount);
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.util;
+
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-thread object pool.
+ * <p>
+ * {@link #get()} takes an object from the pool of the calling thread and creates one when the pool is empty.
+ * {@link Handle#recycle()} returns the object to the pool of the thread that created it. An object recycled by
+ * another thread (e.g. the sender thread) goes through a bounded queue that the owner thread drains
+ * when its own pool runs dry, so neither side takes a lock on the fast path or allocates to return an object.
+ * Objects that do not fit into a full pool are left to the garbage collector.
+ */
+public abstract class Recycler<T> {
+
+    public static final int DEFAULT_MAX_CAPACITY = 256;
+
+    // per-thread counts are published to the shared counters in batches
+    private static final int COUNT_FLUSH_THRESHOLD = 64;
+
+    private final int maxCapacity;
+
+    private final AtomicLong newCount = new AtomicLong();
+    private final AtomicLong reuseCount = new AtomicLong();
+
+    private final ThreadLocal<Pool<T>> threadLocalPool = new ThreadLocal<Pool<T>>() {
+        @Override
+        protected Pool<T> initialValue() {
+            return new Pool<T>(Recycler.this, Thread.currentThread(), maxCapacity);
+        }
+    };
+
+    public Recycler() {
+        this(DEFAULT_MAX_CAPACITY);
+    }
+
+    public Recycler(int maxCapacity) {
+        if (maxCapacity <= 0) {
+            throw new IllegalArgumentException("maxCapacity must be positive");
+        }
+        this.maxCapacity = maxCapacity;
+    }
+
+    public final T get() {
+        final Pool<T> pool = threadLocalPool.get();
+        Handle<T> handle = pool.pop();
+        if (handle == null) {
+            handle = new Handle<T>(pool);
+            handle.value = newObject(handle);
+            pool.countNew();
+        } else {
+            pool.countReuse();
+        }
+        return handle.value;
+    }
+
+    protected abstract T newObject(Handle<T> handle);
+
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    /**
+     * @return approximate number of objects created by {@link #get()}
+     */
+    public long getNewCount() {
+        return newCount.get();
+    }
+
+    /**
+     * @return approximate number of objects reused by {@link #get()}
+     */
+    public long getReuseCount() {
+        return reuseCount.get();
+    }
+
+    public static final class Handle<T> {
+
+        private final Pool<T> pool;
+        private T value;
+        private boolean recycled;
+
+        private Handle(Pool<T> pool) {
+            this.pool = pool;
+        }
+
+        /**
+         * Returns the object to the pool of its owner thread.
+         * The object must not be used by the caller afterwards. Recycling an object that is already recycled does nothing.
+         */
+        public void recycle() {
+            if (recycled) {
+                // e.g. a message recycled by the sender after a failed send as well
+                return;
+            }
+            recycled = true;
+            pool.push(this);
+        }
+    }
+
+    private static final class Pool<T> {
+
+        private final Recycler<T> parent;
+        private final Thread owner;
+        private final int maxCapacity;
+
+        // accessed by the owner thread only
+        private final ArrayList<Handle<T>> stack;
+        private int newCount;
+        private int reuseCount;
+
+        // objects recycled by other threads
+        private final BlockingQueue<Handle<T>> returnQueue;
+
+        private Pool(Recycler<T> parent, Thread owner, int maxCapacity) {
+            this.parent = parent;
+            this.owner = owner;
+            this.maxCapacity = maxCapacity;
+            this.stack = new ArrayList<Handle<T>>(maxCapacity);
+            this.returnQueue = new ArrayBlockingQueue<Handle<T>>(maxCapacity);
+        }
+
+        private Handle<T> pop() {
+            final ArrayList<Handle<T>> stack = this.stack;
+            int size = stack.size();
+            if (size == 0) {
+                if (returnQueue.isEmpty()) {
+                    return null;
+                }
+                returnQueue.drainTo(stack, maxCapacity);
+                size = stack.size();
+                if (size == 0) {
+                    return null;
+                }
+            }
+            final Handle<T> handle = stack.remove(size - 1);
+            handle.recycled = false;
+            return handle;
+        }
+
+        private void push(Handle<T> handle) {
+            if (Thread.currentThread() == owner) {
+                if (stack.size() < maxCapacity) {
+                    stack.add(handle);
+                }
+            } else {
+                // dropped if the queue is full
+                returnQueue.offer(handle);
+            }
+        }
+
+        private void countNew() {
+            if (++newCount == COUNT_FLUSH_THRESHOLD) {
+                parent.newCount.addAndGet(newCount);
+                newCount = 0;
+            }
+        }
+
+        private void countReuse() {
+            if (++reuseCount == COUNT_FLUSH_THRESHOLD) {
+                parent.reuseCount.addAndGet(reuseCount);
+                reuseCount = 0;
+            }
+        }
+    }
+}
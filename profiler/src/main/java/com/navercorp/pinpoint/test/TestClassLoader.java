@@ -23,14 +23,17 @@ import com.navercorp.pinpoint.profiler.plugin.MatchableClassFileTransformerGuard
 import javassist.CannotCompileException;
 import javassist.ClassPool;
 import javassist.Loader;
+import javassist.LoaderClassPath;
 import javassist.NotFoundException;
 
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentClassPool;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matcher;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matchers;
 import com.navercorp.pinpoint.bootstrap.instrument.transformer.TransformCallback;
 import com.navercorp.pinpoint.common.util.Asserts;
 import com.navercorp.pinpoint.profiler.DefaultAgent;
+import com.navercorp.pinpoint.profiler.instrument.JavassistClassPool;
 import com.navercorp.pinpoint.profiler.instrument.LegacyProfilerPluginClassInjector;
 import com.navercorp.pinpoint.profiler.plugin.DefaultProfilerPluginContext;
 
@@ -117,7 +120,7 @@ public class TestClassLoader extends Loader {
 
     private void addTranslator() {
         try {
-            ClassPool classPool = agent.getClassPool().getClassPool(this);
+            ClassPool classPool = getClassPool();
             addTranslator(classPool, instrumentTranslator);
         } catch (NotFoundException e) {
             throw new RuntimeException(e.getMessage(), e);
@@ -126,6 +129,20 @@ public class TestClassLoader extends Loader {
         }
     }
 
+    /**
+     * javassist.Loader reads and defines the classes through a ClassPool whatever the instrument engine is.
+     * The instrument engine only transforms the class files in {@link InstrumentTranslator}.
+     */
+    private ClassPool getClassPool() {
+        final InstrumentClassPool instrumentClassPool = agent.getClassPool();
+        if (instrumentClassPool instanceof JavassistClassPool) {
+            return ((JavassistClassPool) instrumentClassPool).getClassPool(this);
+        }
+        final ClassPool classPool = new ClassPool(true);
+        classPool.appendClassPath(new LoaderClassPath(this));
+        return classPool;
+    }
+
     public void runTest(String className, String methodName) throws Throwable {
         Class<?> c = loadClass(className);
         Object o = c.newInstance();
@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.profiler.context;
 
+import com.navercorp.pinpoint.bootstrap.config.DefaultProfilerConfig;
 import com.navercorp.pinpoint.profiler.context.DefaultTrace;
 import com.navercorp.pinpoint.profiler.context.DefaultTraceContext;
 import com.navercorp.pinpoint.profiler.context.storage.SpanStorage;
@@ -54,4 +55,38 @@ public class DefaultTraceTest {
         trace.traceBlockEnd();
         trace.close();
     }
+
+    @Test
+    public void noSpanEventTakenForDiscardedFrames() {
+        DefaultTraceContext defaultTraceContext = new DefaultTraceContext(new TestAgentInformation());
+        DefaultProfilerConfig profilerConfig = new DefaultProfilerConfig();
+        profilerConfig.setCallStackMaxDepth(2);
+        defaultTraceContext.setProfilerConfig(profilerConfig);
+        CountingSpanEventFactory spanEventFactory = new CountingSpanEventFactory();
+        DefaultTrace trace = new DefaultTrace(defaultTraceContext, spanEventFactory, 1, true);
+        trace.setStorage(new SpanStorage(LoggingDataSender.DEFAULT_LOGGING_DATA_SENDER));
+
+        for (int i = 0; i < 5; i++) {
+            trace.traceBlockBegin();
+        }
+        // frames beyond the max depth share the overflow span event
+        Assert.assertEquals(3, spanEventFactory.spanEventCount);
+        for (int i = 0; i < 5; i++) {
+            trace.traceBlockEnd();
+        }
+        trace.close();
+
+        trace.traceBlockBegin();
+        Assert.assertEquals(3, spanEventFactory.spanEventCount);
+    }
+
+    private static class CountingSpanEventFactory extends DefaultSpanEventFactory {
+        private int spanEventCount;
+
+        @Override
+        public SpanEvent newSpanEvent(Span span) {
+            spanEventCount++;
+            return super.newSpanEvent(span);
+        }
+    }
 }
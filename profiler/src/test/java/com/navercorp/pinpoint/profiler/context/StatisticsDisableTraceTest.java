@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context;
+
+import static com.navercorp.pinpoint.common.trace.ServiceTypeProperty.*;
+
+import com.navercorp.pinpoint.bootstrap.context.SpanEventRecorder;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.trace.ServiceTypeFactory;
+import com.navercorp.pinpoint.profiler.monitor.metric.ResponseHistogramAggregator;
+import com.navercorp.pinpoint.thrift.dto.TResponseHistogram;
+import com.navercorp.pinpoint.thrift.dto.TResponseHistogramBatch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StatisticsDisableTraceTest {
+
+    private static final ServiceType ASYNC_HTTP_CLIENT = ServiceTypeFactory.of(9056, "ASYNC_HTTP_CLIENT", RECORD_STATISTICS);
+
+    @Test
+    public void recordCall() throws Exception {
+        ResponseHistogramAggregator aggregator = new ResponseHistogramAggregator("app", ServiceType.STAND_ALONE, "agent");
+        StatisticsDisableTrace trace = new StatisticsDisableTrace(1, aggregator);
+        Assert.assertFalse(trace.canSampled());
+
+        SpanEventRecorder recorder = trace.traceBlockBegin();
+        recorder.recordServiceType(ASYNC_HTTP_CLIENT);
+        recorder.recordDestinationId("backend");
+        recorder.recordEndPoint("backend:8080");
+        // not recorded
+        trace.traceBlockBegin().recordServiceType(ServiceType.INTERNAL_METHOD);
+        trace.traceBlockEnd();
+        Assert.assertSame(recorder, trace.currentSpanEventRecorder());
+        recorder.recordException(new RuntimeException());
+        trace.traceBlockEnd();
+        Assert.assertNull(trace.currentSpanEventRecorder());
+
+        TResponseHistogramBatch batch = aggregator.collect();
+        Assert.assertFalse(batch.isSetResponseHistogram());
+        Assert.assertEquals(1, batch.getCallerHistogramsSize());
+        TResponseHistogram caller = batch.getCallerHistograms().get(0);
+        Assert.assertEquals("app", caller.getApplicationName());
+        Assert.assertEquals("backend", caller.getTargetApplicationName());
+        Assert.assertEquals("backend:8080", caller.getHost());
+        Assert.assertEquals(1L, (long) caller.getHistogram().get(4));
+
+        Assert.assertEquals(1, batch.getCalleeHistogramsSize());
+        TResponseHistogram callee = batch.getCalleeHistograms().get(0);
+        Assert.assertEquals("backend", callee.getApplicationName());
+        Assert.assertEquals("app", callee.getTargetApplicationName());
+    }
+
+    @Test
+    public void maxDepth() throws Exception {
+        ResponseHistogramAggregator aggregator = new ResponseHistogramAggregator("app", ServiceType.STAND_ALONE, "agent");
+        StatisticsDisableTrace trace = new StatisticsDisableTrace(1, aggregator);
+
+        for (int i = 0; i < StatisticsDisableTrace.MAX_DEPTH + 10; i++) {
+            trace.traceBlockBegin().recordServiceType(ASYNC_HTTP_CLIENT);
+        }
+        Assert.assertEquals(StatisticsDisableTrace.MAX_DEPTH + 10, trace.getCallStackFrameId());
+        for (int i = 0; i < StatisticsDisableTrace.MAX_DEPTH + 10; i++) {
+            trace.traceBlockEnd();
+        }
+        Assert.assertEquals(0, trace.getCallStackFrameId());
+        // blocks beyond the max depth are not recorded, the others have no destination
+        Assert.assertFalse(aggregator.collect().isSetCallerHistograms());
+    }
+}
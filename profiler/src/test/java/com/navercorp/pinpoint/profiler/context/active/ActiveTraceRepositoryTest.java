@@ -35,6 +35,8 @@ import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.navercorp.pinpoint.bootstrap.context.Trace;
 import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
+import com.navercorp.pinpoint.profiler.context.ActiveTrace;
+import com.navercorp.pinpoint.profiler.context.DefaultTrace;
 import com.navercorp.pinpoint.profiler.context.DefaultServerMetaDataHolder;
 import com.navercorp.pinpoint.profiler.context.DefaultTraceContext;
 import com.navercorp.pinpoint.profiler.context.DefaultTraceId;
@@ -112,6 +114,67 @@ public class ActiveTraceRepositoryTest {
         }
     }
 
+    @Test
+    public void putAndRemove() {
+        ActiveTraceRepository repository = new ActiveTraceRepository(16);
+        for (int i = 1; i <= 10; i++) {
+            assertTrue(repository.put(createActiveTrace(i)));
+        }
+        assertEquals(10, repository.collect().size());
+
+        for (int i = 1; i <= 5; i++) {
+            assertNotNull(repository.remove(i));
+        }
+        assertNull(repository.remove(1));
+        assertEquals(5, repository.collect().size());
+
+        // removed slots are reused
+        for (int i = 11; i <= 16; i++) {
+            assertTrue(repository.put(createActiveTrace(i)));
+        }
+        assertEquals(11, repository.collect().size());
+        for (ActiveTraceInfo activeTraceInfo : repository.collect()) {
+            assertTrue(activeTraceInfo.getId() > 5);
+        }
+    }
+
+    @Test
+    public void maxActiveTraceSize() {
+        ActiveTraceRepository repository = new ActiveTraceRepository(4);
+        for (int i = 1; i <= 4; i++) {
+            assertTrue(repository.put(createActiveTrace(i)));
+        }
+        assertFalse(repository.put(createActiveTrace(5)));
+        assertNull(repository.remove(5));
+        assertEquals(4, repository.collect().size());
+    }
+
+    @Test
+    public void staleActiveTraceIsReclaimed() throws Exception {
+        ActiveTraceRepository repository = new ActiveTraceRepository(1);
+        final ActiveTrace[] staleTrace = new ActiveTrace[1];
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                staleTrace[0] = createActiveTrace(1);
+            }
+        });
+        thread.start();
+        thread.join();
+        assertTrue(repository.put(staleTrace[0]));
+
+        // the bind thread is dead. the slot is reclaimed for the next trace
+        assertTrue(repository.put(createActiveTrace(2)));
+        assertNull(repository.remove(1));
+        List<ActiveTraceInfo> activeTraceInfos = repository.collect();
+        assertEquals(1, activeTraceInfos.size());
+        assertEquals(2, activeTraceInfos.get(0).getId());
+    }
+
+    private ActiveTrace createActiveTrace(long id) {
+        return new ActiveTrace(new DefaultTrace(traceContext, id, true));
+    }
+
     private ListenableFuture<List<TraceThreadTuple>> executeTransactions(CountDownLatch awaitLatch, CountDownLatch executeLatch, int newTransactionCount, int sampledContinuationCount, int unsampledContinuationCount) {
         final int totalTransactionCount = newTransactionCount + sampledContinuationCount + unsampledContinuationCount;
         final ListeningExecutorService executor = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(totalTransactionCount));
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.objectweb.asm.tree.ClassNode;
+
+public class ASMClassNodeLoaderTest {
+
+    @Test
+    public void readBootstrapClass() {
+        final ClassNode classNode = ASMClassNodeLoader.readClassNode(null, "java/lang/String");
+        Assert.assertNotNull(classNode);
+        Assert.assertEquals("java/lang/String", classNode.name);
+        Assert.assertTrue(ASMClassNodeLoader.hasClassFile(null, "java/lang/String"));
+    }
+
+    @Test
+    public void bootstrapClassLoaderDoesNotSearchClassPath() {
+        final String jvmInternalClassName = ASMClassNodeLoaderTest.class.getName().replace('.', '/');
+
+        Assert.assertNotNull(ASMClassNodeLoader.readClassFile(ASMClassNodeLoaderTest.class.getClassLoader(), jvmInternalClassName));
+        Assert.assertNull(ASMClassNodeLoader.readClassFile(null, jvmInternalClassName));
+        Assert.assertFalse(ASMClassNodeLoader.hasClassFile(null, jvmInternalClassName));
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.instrument;
+
+import com.navercorp.pinpoint.bootstrap.context.TraceContext;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentClass;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentException;
+import com.navercorp.pinpoint.bootstrap.instrument.aspect.Aspect;
+import com.navercorp.pinpoint.bootstrap.instrument.aspect.JointPoint;
+import com.navercorp.pinpoint.bootstrap.instrument.aspect.PointCut;
+import com.navercorp.pinpoint.bootstrap.instrument.transformer.TransformCallback;
+import com.navercorp.pinpoint.bootstrap.interceptor.AroundInterceptor;
+import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScope;
+import com.navercorp.pinpoint.profiler.interceptor.bci.ObjectTraceValue;
+import com.navercorp.pinpoint.profiler.interceptor.registry.DefaultInterceptorRegistryBinder;
+import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+
+public class ASMClassTest {
+
+    private final InterceptorRegistryBinder interceptorRegistryBinder = new DefaultInterceptorRegistryBinder();
+    private final TraceContext traceContext = mock(TraceContext.class);
+
+    @Before
+    public void setUp() {
+        interceptorRegistryBinder.bind();
+        RecordInterceptor.clear();
+    }
+
+    @After
+    public void tearDown() {
+        interceptorRegistryBinder.unbind();
+    }
+
+    @Test
+    public void addInterceptor() throws Exception {
+        final InstrumentClass instrumentClass = getInstrumentClass(TargetObject.class);
+        Assert.assertTrue(instrumentClass.isInterceptable());
+        instrumentClass.getDeclaredMethod("sum", "int", "long").addInterceptor(RecordInterceptor.class.getName());
+        instrumentClass.getConstructor("java.lang.String").addInterceptor(RecordInterceptor.class.getName());
+        Assert.assertFalse(instrumentClass.isInterceptable());
+
+        final Class<?> targetClass = defineClass(instrumentClass);
+        final Object target = targetClass.getConstructor(String.class).newInstance("name");
+        Assert.assertEquals(2, RecordInterceptor.records.size());
+        Assert.assertEquals("before", RecordInterceptor.records.get(0).event);
+        Assert.assertEquals("after", RecordInterceptor.records.get(1).event);
+        Assert.assertSame(target, RecordInterceptor.records.get(1).target);
+        RecordInterceptor.clear();
+
+        final Method sum = targetClass.getMethod("sum", int.class, long.class);
+        Assert.assertEquals(3L, sum.invoke(target, 1, 2L));
+
+        Assert.assertEquals(2, RecordInterceptor.records.size());
+        final Record before = RecordInterceptor.records.get(0);
+        Assert.assertEquals("before", before.event);
+        Assert.assertSame(target, before.target);
+        Assert.assertArrayEquals(new Object[]{1, 2L}, before.args);
+
+        final Record after = RecordInterceptor.records.get(1);
+        Assert.assertEquals("after", after.event);
+        Assert.assertEquals(3L, after.result);
+        Assert.assertNull(after.throwable);
+    }
+
+    @Test
+    public void addInterceptor_throwable() throws Exception {
+        final InstrumentClass instrumentClass = getInstrumentClass(TargetObject.class);
+        instrumentClass.getDeclaredMethod("fail", "java.lang.String").addInterceptor(RecordInterceptor.class.getName());
+
+        final Class<?> targetClass = defineClass(instrumentClass);
+        final Object target = targetClass.getConstructor(String.class).newInstance("name");
+        try {
+            targetClass.getMethod("fail", String.class).invoke(target, "message");
+            Assert.fail();
+        } catch (InvocationTargetException e) {
+            Assert.assertEquals("message", e.getCause().getMessage());
+        }
+
+        Assert.assertEquals(2, RecordInterceptor.records.size());
+        final Record after = RecordInterceptor.records.get(1);
+        Assert.assertNull(after.result);
+        Assert.assertTrue(after.throwable instanceof IllegalStateException);
+    }
+
+    @Test
+    public void addField() throws Exception {
+        final InstrumentClass instrumentClass = getInstrumentClass(TargetObject.class);
+        instrumentClass.addField(ObjectTraceValue.class.getName());
+
+        final Class<?> targetClass = defineClass(instrumentClass);
+        final Object target = targetClass.getConstructor(String.class).newInstance("name");
+        Assert.assertTrue(target instanceof ObjectTraceValue);
+        ((ObjectTraceValue) target)._$PINPOINT$_setTraceObject("value");
+        Assert.assertEquals("value", ((ObjectTraceValue) target)._$PINPOINT$_getTraceObject());
+    }
+
+    @Test
+    public void weave() throws Exception {
+        final InstrumentClass instrumentClass = getInstrumentClass(TargetObject.class);
+        instrumentClass.weave(TargetObjectAspect.class.getName());
+
+        final Class<?> targetClass = defineClass(instrumentClass);
+        final Object target = targetClass.getConstructor(String.class).newInstance("name");
+        Assert.assertEquals("aspect-hello name", targetClass.getMethod("hello").invoke(target));
+    }
+
+    private InstrumentClass getInstrumentClass(Class<?> clazz) throws Exception {
+        final ASMClassPool classPool = new ASMClassPool(interceptorRegistryBinder, null);
+        final ClassLoader classLoader = clazz.getClassLoader();
+        final String internalName = clazz.getName().replace('.', '/');
+        final byte[] classFileBuffer = ASMClassNodeLoader.readClassFile(classLoader, internalName);
+        return classPool.getClass(new TestInstrumentContext(), classLoader, internalName, classFileBuffer);
+    }
+
+    private Class<?> defineClass(InstrumentClass instrumentClass) throws InstrumentException {
+        final byte[] bytecode = instrumentClass.toBytecode();
+        Assert.assertNotNull(bytecode);
+        return new DefineClassLoader(getClass().getClassLoader()).define(instrumentClass.getName(), bytecode);
+    }
+
+    private static class DefineClassLoader extends ClassLoader {
+        private DefineClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        private Class<?> define(String name, byte[] bytecode) {
+            return defineClass(name, bytecode, 0, bytecode.length);
+        }
+    }
+
+    private class TestInstrumentContext implements InstrumentContext {
+        @Override
+        public TraceContext getTraceContext() {
+            return traceContext;
+        }
+
+        @Override
+        public InstrumentClass getInstrumentClass(ClassLoader classLoader, String className, byte[] classfileBuffer) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean exist(ClassLoader classLoader, String className) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public InterceptorScope getInterceptorScope(String name) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Class<? extends T> injectClass(ClassLoader targetClassLoader, String className) {
+            try {
+                return (Class<? extends T>) Class.forName(className, false, ASMClassTest.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public void addClassFileTransformer(ClassLoader classLoader, String targetClassName, TransformCallback transformCallback) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void addClassFileTransformer(String targetClassName, TransformCallback transformCallback) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void retransform(Class<?> target, TransformCallback transformCallback) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    public static class TargetObject {
+        private final String name;
+
+        public TargetObject(String name) {
+            this.name = name;
+        }
+
+        public long sum(int a, long b) {
+            return a + b;
+        }
+
+        public String fail(String message) {
+            if (message != null) {
+                throw new IllegalStateException(message);
+            }
+            return name;
+        }
+
+        public String hello() {
+            return "hello " + name;
+        }
+    }
+
+    @Aspect
+    public static class TargetObjectAspect {
+        @PointCut
+        public String hello() {
+            return "aspect-" + __hello();
+        }
+
+        @JointPoint
+        String __hello() {
+            return null;
+        }
+    }
+
+    private static class Record {
+        private final String event;
+        private final Object target;
+        private final Object[] args;
+        private final Object result;
+        private final Throwable throwable;
+
+        private Record(String event, Object target, Object[] args, Object result, Throwable throwable) {
+            this.event = event;
+            this.target = target;
+            this.args = args;
+            this.result = result;
+            this.throwable = throwable;
+        }
+    }
+
+    public static class RecordInterceptor implements AroundInterceptor {
+        private static final List<Record> records = new ArrayList<Record>();
+
+        private static void clear() {
+            records.clear();
+        }
+
+        @Override
+        public void before(Object target, Object[] args) {
+            records.add(new Record("before", target, args, null, null));
+        }
+
+        @Override
+        public void after(Object target, Object[] args, Object result, Throwable throwable) {
+            records.add(new Record("after", target, args, result, throwable));
+        }
+    }
+}
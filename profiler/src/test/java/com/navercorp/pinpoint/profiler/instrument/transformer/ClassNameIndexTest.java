@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ClassNameIndexTest {
+
+    @Test
+    public void mightContain() {
+        ClassNameIndex index = new ClassNameIndex();
+        index.add("org/apache/catalina/core/StandardHostValve");
+        index.add("com/mysql/jdbc/ConnectionImpl");
+
+        Assert.assertEquals(2, index.size());
+        Assert.assertTrue(index.mightContain("org/apache/catalina/core/StandardHostValve"));
+        Assert.assertTrue(index.mightContain("com/mysql/jdbc/ConnectionImpl"));
+
+        Assert.assertFalse(index.mightContain(null));
+        Assert.assertFalse(index.mightContain(""));
+        Assert.assertFalse(index.mightContain("com/mysql/jdbc/Connection"));
+    }
+
+    @Test
+    public void longClassName() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            builder.append("pkg").append(i).append('/');
+        }
+        final String longClassName = builder.append("LongClassName").toString();
+
+        ClassNameIndex index = new ClassNameIndex();
+        index.add(longClassName);
+        Assert.assertTrue(index.mightContain(longClassName));
+    }
+
+    @Test
+    public void falsePositiveRate() {
+        ClassNameIndex index = new ClassNameIndex();
+        for (int i = 0; i < 1000; i++) {
+            final String className = "com/navercorp/target/Target" + i;
+            index.add(className);
+            Assert.assertTrue(index.mightContain(className));
+        }
+
+        int falsePositive = 0;
+        final int testCount = 100000;
+        for (int i = 0; i < testCount; i++) {
+            if (index.mightContain("com/navercorp/other/Class$$EnhancerByCGLIB$$" + i)) {
+                falsePositive++;
+            }
+        }
+        Assert.assertTrue("falsePositive:" + falsePositive, falsePositive < testCount / 100);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidBloomBitSize() {
+        new ClassNameIndex(100);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.metric;
+
+import static com.navercorp.pinpoint.common.trace.ServiceTypeProperty.*;
+
+import com.navercorp.pinpoint.common.trace.HistogramSchema;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.trace.ServiceTypeFactory;
+import com.navercorp.pinpoint.thrift.dto.TResponseHistogram;
+import com.navercorp.pinpoint.thrift.dto.TResponseHistogramBatch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class ResponseHistogramAggregatorTest {
+
+    private static final ServiceType ASYNC_HTTP_CLIENT = ServiceTypeFactory.of(9056, "ASYNC_HTTP_CLIENT", RECORD_STATISTICS);
+
+    @Test
+    public void collectResponseHistogram() throws Exception {
+        ResponseHistogramAggregator aggregator = new ResponseHistogramAggregator("app", ServiceType.STAND_ALONE, "agent");
+        HistogramSchema schema = ServiceType.STAND_ALONE.getHistogramSchema();
+
+        aggregator.updateResponseTime(schema.getFastSlot().getSlotTime(), false);
+        aggregator.updateResponseTime(schema.getFastSlot().getSlotTime(), false);
+        aggregator.updateResponseTime(schema.getSlowSlot().getSlotTime() + 1, true);
+
+        TResponseHistogramBatch batch = aggregator.collect();
+        Assert.assertEquals(Arrays.asList(2L, 0L, 0L, 0L, 0L, 0L, 0L, 1L), batch.getResponseHistogram());
+        Assert.assertFalse(batch.isSetCallerHistograms());
+        Assert.assertFalse(batch.isSetCalleeHistograms());
+
+        // only the difference from the previous collect() is reported
+        Assert.assertFalse(aggregator.collect().isSetResponseHistogram());
+
+        aggregator.updateResponseTime(schema.getNormalSlot().getSlotTime(), false);
+        Assert.assertEquals(Arrays.asList(0L, 1L, 0L, 0L, 0L, 0L, 0L, 0L), aggregator.collect().getResponseHistogram());
+    }
+
+    @Test
+    public void collectCallerHistogram() throws Exception {
+        ResponseHistogramAggregator aggregator = new ResponseHistogramAggregator("app", ServiceType.STAND_ALONE, "agent");
+        HistogramSchema schema = ASYNC_HTTP_CLIENT.getHistogramSchema();
+
+        aggregator.updateCaller("app", ServiceType.STAND_ALONE, "agent", "remote", ASYNC_HTTP_CLIENT, "host1", schema.getFastSlot().getSlotTime(), false);
+        aggregator.updateCaller("app", ServiceType.STAND_ALONE, "agent", "remote", ASYNC_HTTP_CLIENT, "host1", schema.getFastSlot().getSlotTime(), true);
+        aggregator.updateCaller("app", ServiceType.STAND_ALONE, "agent", "remote", ASYNC_HTTP_CLIENT, "host2", schema.getFastSlot().getSlotTime(), false);
+        aggregator.updateCaller("app", ServiceType.STAND_ALONE, "agent", null, ASYNC_HTTP_CLIENT, "host2", schema.getFastSlot().getSlotTime(), false);
+
+        List<TResponseHistogram> callerHistograms = aggregator.collect().getCallerHistograms();
+        Assert.assertEquals(2, callerHistograms.size());
+        for (TResponseHistogram callerHistogram : callerHistograms) {
+            Assert.assertEquals("app", callerHistogram.getApplicationName());
+            Assert.assertEquals("agent", callerHistogram.getAgentId());
+            Assert.assertEquals("remote", callerHistogram.getTargetApplicationName());
+            Assert.assertEquals(ASYNC_HTTP_CLIENT.getCode(), callerHistogram.getTargetServiceType());
+            if ("host1".equals(callerHistogram.getHost())) {
+                Assert.assertEquals(Arrays.asList(1L, 0L, 0L, 0L, 1L, 0L, 0L, 0L), callerHistogram.getHistogram());
+            } else {
+                Assert.assertEquals(Arrays.asList(1L, 0L, 0L, 0L, 0L, 0L, 0L, 0L), callerHistogram.getHistogram());
+            }
+        }
+        Assert.assertFalse(aggregator.collect().isSetCallerHistograms());
+    }
+
+    @Test
+    public void collectCalleeHistogram() throws Exception {
+        ResponseHistogramAggregator aggregator = new ResponseHistogramAggregator("app", ServiceType.STAND_ALONE, "agent");
+
+        aggregator.updateCallee("app", ServiceType.STAND_ALONE, "app", ServiceType.USER, "agent", 10, false);
+
+        List<TResponseHistogram> calleeHistograms = aggregator.collect().getCalleeHistograms();
+        Assert.assertEquals(1, calleeHistograms.size());
+        TResponseHistogram calleeHistogram = calleeHistograms.get(0);
+        Assert.assertFalse(calleeHistogram.isSetAgentId());
+        Assert.assertEquals(ServiceType.USER.getCode(), calleeHistogram.getTargetServiceType());
+        Assert.assertEquals("agent", calleeHistogram.getHost());
+    }
+
+    @Test
+    public void evictIdleHistogram() throws Exception {
+        ResponseHistogramAggregator aggregator = new ResponseHistogramAggregator("app", ServiceType.STAND_ALONE, "agent");
+
+        aggregator.updateCaller("app", ServiceType.STAND_ALONE, "agent", "remote", ASYNC_HTTP_CLIENT, "host1", 10, false);
+        aggregator.updateCallee("app", ServiceType.STAND_ALONE, "app", ServiceType.USER, "agent", 10, false);
+        aggregator.collect();
+        Assert.assertEquals(2, aggregator.size());
+
+        for (int i = 0; i < ResponseHistogramAggregator.EVICT_IDLE_COLLECT_COUNT - 1; i++) {
+            aggregator.collect();
+        }
+        Assert.assertEquals(2, aggregator.size());
+        aggregator.collect();
+        Assert.assertEquals(0, aggregator.size());
+
+        aggregator.updateCaller("app", ServiceType.STAND_ALONE, "agent", "remote", ASYNC_HTTP_CLIENT, "host1", 10, false);
+        List<TResponseHistogram> callerHistograms = aggregator.collect().getCallerHistograms();
+        Assert.assertEquals(1, callerHistograms.size());
+        Assert.assertEquals(Arrays.asList(1L, 0L, 0L, 0L, 0L, 0L, 0L, 0L), callerHistograms.get(0).getHistogram());
+    }
+}
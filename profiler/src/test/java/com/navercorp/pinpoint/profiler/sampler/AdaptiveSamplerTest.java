@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.profiler.context.TransactionCounter;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AdaptiveSamplerTest {
+
+    @Test
+    public void samplingRateFollowsLoad() {
+        AdaptiveSampler sampler = new AdaptiveSampler(2, 10, 1000);
+        TestTransactionCounter transactionCounter = new TestTransactionCounter();
+        sampler.setTransactionCounter(transactionCounter);
+
+        sampler.updateSamplingRate(0);
+        Assert.assertEquals(2, sampler.getSamplingRate());
+
+        // 100 tps, 10 tps allowed
+        transactionCounter.newTransactions += 100;
+        sampler.updateSamplingRate(1000);
+        Assert.assertEquals(10, sampler.getSamplingRate());
+
+        // not yet time to update
+        transactionCounter.newTransactions += 1000;
+        sampler.updateSamplingRate(1500);
+        Assert.assertEquals(10, sampler.getSamplingRate());
+
+        // 1000 transactions in 1s
+        sampler.updateSamplingRate(2000);
+        Assert.assertEquals(100, sampler.getSamplingRate());
+
+        // idle, back to the configured rate
+        sampler.updateSamplingRate(3000);
+        Assert.assertEquals(2, sampler.getSamplingRate());
+    }
+
+    @Test
+    public void samplingRateWithoutTransactionCounter() {
+        AdaptiveSampler sampler = new AdaptiveSampler(3, 10, 1000);
+        sampler.updateSamplingRate(0);
+        sampler.updateSamplingRate(10000);
+        Assert.assertEquals(3, sampler.getSamplingRate());
+
+        Assert.assertTrue(sampler.isSampling());
+        Assert.assertFalse(sampler.isSampling());
+        Assert.assertFalse(sampler.isSampling());
+        Assert.assertTrue(sampler.isSampling());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidStripeSize() {
+        new AdaptiveSampler(1, 10, 1000, 3);
+    }
+
+    private static class TestTransactionCounter implements TransactionCounter {
+        private long newTransactions;
+
+        @Override
+        public long getTransactionCount(SamplingType samplingType) {
+            if (samplingType == SamplingType.SAMPLED_NEW) {
+                return newTransactions;
+            }
+            return 0;
+        }
+
+        @Override
+        public long getTotalTransactionCount() {
+            return newTransactions;
+        }
+    }
+}
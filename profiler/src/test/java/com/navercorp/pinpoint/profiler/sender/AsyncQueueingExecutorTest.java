@@ -0,0 +1,171 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class AsyncQueueingExecutorTest {
+
+    @Test
+    public void stopFlushesSpilledData() throws Exception {
+        final AsyncQueueingExecutor<Object> executor = new AsyncQueueingExecutor<Object>(1, "AsyncQueueingExecutorTest");
+        final MemorySpillStore spillStore = new MemorySpillStore();
+        executor.setSpillStore(spillStore, SpillDrainCondition.ALWAYS);
+        final BlockingListener listener = new BlockingListener();
+        executor.setListener(listener);
+
+        // blocks the executor thread
+        Assert.assertTrue(executor.execute(0L));
+        Assert.assertTrue(listener.executing.await(3000, TimeUnit.MILLISECONDS));
+        // fills the queue
+        Assert.assertTrue(executor.execute(1L));
+        // spilled
+        Assert.assertTrue(executor.execute(2L));
+        Assert.assertTrue(executor.execute(3L));
+        Assert.assertEquals(2, spillStore.spillCount);
+
+        Thread stopThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                executor.stop();
+            }
+        });
+        stopThread.start();
+        while (executor.isRun()) {
+            Thread.sleep(10);
+        }
+        listener.release.countDown();
+        stopThread.join(10000);
+
+        Assert.assertTrue(spillStore.isEmpty());
+        Assert.assertEquals(Arrays.<Object>asList(0L, 1L, 2L, 3L), listener.messageList);
+    }
+
+    @Test
+    public void drainSpilledDataOnlyWhenDeliverable() throws Exception {
+        final AsyncQueueingExecutor<Object> executor = new AsyncQueueingExecutor<Object>(1, "AsyncQueueingExecutorTest");
+        final MemorySpillStore spillStore = new MemorySpillStore();
+        final AtomicBoolean connected = new AtomicBoolean(false);
+        executor.setSpillStore(spillStore, new SpillDrainCondition() {
+            @Override
+            public boolean canDrain() {
+                return connected.get();
+            }
+        });
+        final BlockingListener listener = new BlockingListener();
+        executor.setListener(listener);
+        try {
+            Assert.assertTrue(executor.execute(0L));
+            Assert.assertTrue(listener.executing.await(3000, TimeUnit.MILLISECONDS));
+            Assert.assertTrue(executor.execute(1L));
+            // spilled
+            Assert.assertTrue(executor.execute(2L));
+            Assert.assertEquals(1, executor.getSpillCount());
+
+            listener.release.countDown();
+            Thread.sleep(500);
+            // the queue is empty, but the spilled message is kept while it can't be delivered
+            Assert.assertFalse(spillStore.isEmpty());
+            Assert.assertEquals(Arrays.<Object>asList(0L, 1L), listener.messageList);
+
+            connected.set(true);
+            final long deadline = System.currentTimeMillis() + 10000;
+            while (!spillStore.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertTrue(spillStore.isEmpty());
+            Assert.assertEquals(1, executor.getDrainCount());
+        } finally {
+            executor.stop();
+        }
+        Assert.assertEquals(Arrays.<Object>asList(0L, 1L, 2L), listener.messageList);
+    }
+
+    private static class MemorySpillStore implements SpillStore<Object> {
+
+        private final Queue<Object> queue = new ConcurrentLinkedQueue<Object>();
+        private volatile int spillCount;
+
+        @Override
+        public boolean spill(Object message) {
+            spillCount++;
+            return queue.offer(message);
+        }
+
+        @Override
+        public Object poll() {
+            return queue.poll();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return queue.isEmpty();
+        }
+
+        @Override
+        public void close() {
+            queue.clear();
+        }
+    }
+
+    private static class BlockingListener implements AsyncQueueingExecutorListener<Object> {
+
+        private final CountDownLatch executing = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<Object> messageList = Collections.synchronizedList(new ArrayList<Object>());
+
+        @Override
+        public void execute(Collection<Object> messageList) {
+            // the drain collection only supports toArray()
+            final Object[] messageArray = messageList.toArray();
+            for (int i = 0; i < messageList.size(); i++) {
+                execute(messageArray[i]);
+            }
+        }
+
+        @Override
+        public void execute(Object message) {
+            messageList.add(message);
+            executing.countDown();
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    release.await();
+                    break;
+                } catch (InterruptedException e) {
+                    // stop() interrupts the executor thread
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class MpscRingBufferQueueTest {
+
+    @Test
+    public void capacity() {
+        Assert.assertEquals(8, new MpscRingBufferQueue<Object>(8).getCapacity());
+        Assert.assertEquals(8192, new MpscRingBufferQueue<Object>(1024 * 5).getCapacity());
+        Assert.assertEquals(1, new MpscRingBufferQueue<Object>(1).getCapacity());
+    }
+
+    @Test
+    public void offerFull() {
+        MpscRingBufferQueue<Integer> queue = new MpscRingBufferQueue<Integer>(4);
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(queue.offer(i));
+        }
+        Assert.assertFalse(queue.offer(4));
+        Assert.assertEquals(4, queue.size());
+
+        Assert.assertEquals(Integer.valueOf(0), queue.poll());
+        Assert.assertTrue(queue.offer(4));
+        Assert.assertFalse(queue.offer(5));
+    }
+
+    @Test
+    public void drainTo() {
+        MpscRingBufferQueue<Integer> queue = new MpscRingBufferQueue<Integer>(16);
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+        }
+        List<Integer> drain = new ArrayList<Integer>();
+        Assert.assertEquals(3, queue.drainTo(drain, 3));
+        Assert.assertEquals(Integer.valueOf(0), drain.get(0));
+        Assert.assertEquals(Integer.valueOf(2), drain.get(2));
+
+        drain.clear();
+        Assert.assertEquals(7, queue.drainTo(drain, 10));
+        Assert.assertEquals(Integer.valueOf(9), drain.get(6));
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void pollTimeout() throws InterruptedException {
+        MpscRingBufferQueue<Integer> queue = new MpscRingBufferQueue<Integer>(4, WaitStrategy.SLEEPING);
+        Assert.assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        queue.offer(1);
+        Assert.assertEquals(Integer.valueOf(1), queue.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void multiProducer() throws InterruptedException {
+        final int producerCount = 4;
+        final int messageCount = 10000;
+        final MpscRingBufferQueue<Integer> queue = new MpscRingBufferQueue<Integer>(128, WaitStrategy.YIELDING);
+        final CountDownLatch latch = new CountDownLatch(producerCount);
+        for (int i = 0; i < producerCount; i++) {
+            Thread producer = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < messageCount; j++) {
+                        while (!queue.offer(j)) {
+                            Thread.yield();
+                        }
+                    }
+                    latch.countDown();
+                }
+            });
+            producer.start();
+        }
+
+        long sum = 0;
+        int received = 0;
+        while (received < producerCount * messageCount) {
+            Integer data = queue.poll(1, TimeUnit.SECONDS);
+            Assert.assertNotNull(data);
+            sum += data;
+            received++;
+        }
+        Assert.assertTrue(latch.await(1, TimeUnit.SECONDS));
+        Assert.assertTrue(queue.isEmpty());
+
+        long expected = (long) producerCount * messageCount * (messageCount - 1) / 2;
+        Assert.assertEquals(expected, sum);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.thrift.dto.TAgentStat;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SpillBufferTest {
+
+    @Test
+    public void offerAndPoll() {
+        SpillBuffer buffer = new SpillBuffer(64);
+        Assert.assertNull(buffer.poll());
+
+        Assert.assertTrue(buffer.offer(new byte[]{1, 2, 3}));
+        Assert.assertTrue(buffer.offer(new byte[0]));
+        Assert.assertEquals(2, buffer.size());
+        Assert.assertEquals(4 + 3 + 4, buffer.getUsedBytes());
+
+        Assert.assertArrayEquals(new byte[]{1, 2, 3}, buffer.poll());
+        Assert.assertArrayEquals(new byte[0], buffer.poll());
+        Assert.assertNull(buffer.poll());
+        Assert.assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void wrapAround() {
+        SpillBuffer buffer = new SpillBuffer(20);
+        Assert.assertTrue(buffer.offer(new byte[]{1, 2, 3, 4, 5, 6}));
+        Assert.assertTrue(buffer.offer(new byte[]{7, 8}));
+        // full
+        Assert.assertFalse(buffer.offer(new byte[]{9, 10, 11}));
+
+        Assert.assertArrayEquals(new byte[]{1, 2, 3, 4, 5, 6}, buffer.poll());
+        // split across the end of the ring
+        Assert.assertTrue(buffer.offer(new byte[]{9, 10, 11, 12, 13}));
+
+        Assert.assertArrayEquals(new byte[]{7, 8}, buffer.poll());
+        Assert.assertArrayEquals(new byte[]{9, 10, 11, 12, 13}, buffer.poll());
+        Assert.assertEquals(0, buffer.getUsedBytes());
+    }
+
+    @Test
+    public void clear() {
+        SpillBuffer buffer = new SpillBuffer(64);
+        buffer.offer(new byte[]{1});
+        buffer.offer(new byte[]{2});
+        Assert.assertEquals(2, buffer.clear());
+        Assert.assertNull(buffer.poll());
+
+        Assert.assertTrue(buffer.offer(new byte[]{3}));
+        Assert.assertArrayEquals(new byte[]{3}, buffer.poll());
+    }
+
+    @Test
+    public void spillTBase() {
+        TBaseSpillStore spillStore = new TBaseSpillStore(1024);
+        TAgentStat agentStat = new TAgentStat();
+        agentStat.setAgentId("agentId");
+        agentStat.setTimestamp(1000L);
+
+        Assert.assertTrue(spillStore.spill(agentStat));
+        // not a TBase
+        Assert.assertFalse(spillStore.spill("message"));
+        Assert.assertEquals(1, spillStore.size());
+
+        Assert.assertEquals(agentStat, spillStore.poll());
+        Assert.assertNull(spillStore.poll());
+        Assert.assertEquals(1, spillStore.getSpillCount());
+        Assert.assertEquals(1, spillStore.getDrainCount());
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class TraceSendWindowTest {
+
+    @Test
+    public void ack() throws Exception {
+        TraceSendWindow window = new TraceSendWindow(2, 1024);
+        Assert.assertTrue(window.add(0, new byte[10], 0, 0, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(window.add(1, new byte[20], 0, 0, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(30, window.bytes());
+
+        // count limit
+        Assert.assertFalse(window.add(2, new byte[10], 0, 10, TimeUnit.MILLISECONDS));
+
+        Assert.assertTrue(window.ack(0));
+        Assert.assertFalse(window.ack(0));
+        Assert.assertEquals(1, window.size());
+        Assert.assertEquals(20, window.bytes());
+        Assert.assertTrue(window.add(2, new byte[10], 0, 0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void byteLimit() throws Exception {
+        TraceSendWindow window = new TraceSendWindow(100, 100);
+        // an empty window always accepts a payload
+        Assert.assertTrue(window.add(0, new byte[200], 0, 0, TimeUnit.MILLISECONDS));
+        Assert.assertFalse(window.add(1, new byte[1], 0, 0, TimeUnit.MILLISECONDS));
+        window.ack(0);
+        Assert.assertTrue(window.add(1, new byte[60], 0, 0, TimeUnit.MILLISECONDS));
+        Assert.assertFalse(window.add(2, new byte[60], 0, 0, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(window.add(2, new byte[40], 0, 0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void ackReleasesWaitingProducer() throws Exception {
+        final TraceSendWindow window = new TraceSendWindow(1, 1024);
+        window.add(0, new byte[1], 0, 0, TimeUnit.MILLISECONDS);
+
+        final CountDownLatch added = new CountDownLatch(1);
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    if (window.add(1, new byte[1], 0, 10, TimeUnit.SECONDS)) {
+                        added.countDown();
+                    }
+                } catch (InterruptedException ignore) {
+                }
+            }
+        });
+        producer.start();
+        Assert.assertFalse(added.await(50, TimeUnit.MILLISECONDS));
+
+        window.ack(0);
+        Assert.assertTrue(added.await(5, TimeUnit.SECONDS));
+        producer.join();
+    }
+
+    @Test
+    public void retransmit() throws Exception {
+        TraceSendWindow window = new TraceSendWindow(10, 1024);
+        window.add(0, new byte[1], 1000, 0, TimeUnit.MILLISECONDS);
+        window.add(1, new byte[1], 2000, 0, TimeUnit.MILLISECONDS);
+
+        List<TraceSendWindow.InFlight> dropList = new ArrayList<TraceSendWindow.InFlight>();
+        List<TraceSendWindow.InFlight> retransmitList = window.retransmit(2500, 1000, 1, dropList);
+        Assert.assertEquals(1, retransmitList.size());
+        Assert.assertEquals(0, retransmitList.get(0).getTraceId());
+        Assert.assertTrue(dropList.isEmpty());
+
+        // traceId 0 has been retransmitted once already
+        retransmitList = window.retransmit(3500, 1000, 1, dropList);
+        Assert.assertEquals(1, retransmitList.size());
+        Assert.assertEquals(1, retransmitList.get(0).getTraceId());
+        Assert.assertEquals(1, dropList.size());
+        Assert.assertEquals(0, dropList.get(0).getTraceId());
+        Assert.assertEquals(1, window.size());
+
+        // resend after reconnect does not count as a retransmission
+        Assert.assertEquals(1, window.resendAll(4000).size());
+        Assert.assertTrue(window.retransmit(4500, 1000, 1, dropList).isEmpty());
+    }
+}
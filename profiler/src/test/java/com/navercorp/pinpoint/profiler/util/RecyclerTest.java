@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+public class RecyclerTest {
+
+    @Test
+    public void reuseOnOwnerThread() {
+        TestRecycler recycler = new TestRecycler(4);
+        TestObject first = recycler.get();
+        first.handle.recycle();
+
+        TestObject second = recycler.get();
+        Assert.assertSame(first, second);
+        Assert.assertNotSame(second, recycler.get());
+    }
+
+    @Test
+    public void recycleFromOtherThread() throws Exception {
+        TestRecycler recycler = new TestRecycler(4);
+        final TestObject object = recycler.get();
+
+        final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        Thread sender = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    object.handle.recycle();
+                } catch (Throwable th) {
+                    error.set(th);
+                }
+            }
+        });
+        sender.start();
+        sender.join();
+        Assert.assertNull(error.get());
+
+        Assert.assertSame(object, recycler.get());
+    }
+
+    @Test
+    public void recycleTwice() {
+        TestRecycler recycler = new TestRecycler(4);
+        TestObject object = recycler.get();
+        object.handle.recycle();
+        object.handle.recycle();
+
+        // pooled only once
+        Assert.assertSame(object, recycler.get());
+        Assert.assertNotSame(object, recycler.get());
+    }
+
+    @Test
+    public void maxCapacity() {
+        TestRecycler recycler = new TestRecycler(2);
+        TestObject[] objects = new TestObject[3];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = recycler.get();
+        }
+        for (TestObject object : objects) {
+            object.handle.recycle();
+        }
+        // the third one has been dropped
+        Assert.assertSame(objects[1], recycler.get());
+        Assert.assertSame(objects[0], recycler.get());
+        Assert.assertNotSame(objects[2], recycler.get());
+    }
+
+    private static class TestRecycler extends Recycler<TestObject> {
+
+        private TestRecycler(int maxCapacity) {
+            super(maxCapacity);
+        }
+
+        @Override
+        protected TestObject newObject(Handle<TestObject> handle) {
+            return new TestObject(handle);
+        }
+    }
+
+    private static class TestObject {
+        private final Recycler.Handle<TestObject> handle;
+
+        private TestObject(Recycler.Handle<TestObject> handle) {
+            this.handle = handle;
+        }
+    }
+}
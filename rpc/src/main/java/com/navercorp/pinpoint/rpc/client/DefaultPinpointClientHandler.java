@@ -262,6 +262,17 @@ public class DefaultPinpointClientHandler extends SimpleChannelHandler implement
         future.addListener(sendWriteFailFutureListener);
     }
 
+    @Override
+    public void sendTrace(int traceId, byte[] bytes) {
+        if (bytes == null) {
+            throw new NullPointerException("bytes");
+        }
+
+        ensureOpen();
+        TraceSendPacket traceSend = new TraceSendPacket(traceId, bytes);
+        write0(traceSend, sendWriteFailFutureListener);
+    }
+
     @Override
     public Future sendAsync(byte[] bytes) {
         ChannelFuture channelFuture = send0(bytes);
@@ -392,6 +403,9 @@ public class DefaultPinpointClientHandler extends SimpleChannelHandler implement
                 case PacketType.APPLICATION_SEND:
                     this.messageListener.handleSend((SendPacket) message, pinpointClient);
                     return;
+                case PacketType.APPLICATION_TRACE_SEND_ACK:
+                    this.pinpointClient.handleTraceSendAck((TraceSendAckPacket) message);
+                    return;
                 case PacketType.APPLICATION_STREAM_CREATE:
                 case PacketType.APPLICATION_STREAM_CLOSE:
                 case PacketType.APPLICATION_STREAM_CREATE_SUCCESS:
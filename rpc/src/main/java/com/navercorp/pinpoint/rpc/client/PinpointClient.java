@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.rpc.client;
 import com.navercorp.pinpoint.rpc.*;
 import com.navercorp.pinpoint.rpc.cluster.ClusterOption;
 import com.navercorp.pinpoint.rpc.packet.RequestPacket;
+import com.navercorp.pinpoint.rpc.packet.TraceSendAckPacket;
 import com.navercorp.pinpoint.rpc.stream.*;
 import com.navercorp.pinpoint.rpc.util.AssertUtils;
 import org.slf4j.Logger;
@@ -43,6 +44,8 @@ public class PinpointClient implements PinpointSocket {
     private volatile boolean closed;
     
     private List<PinpointClientReconnectEventListener> reconnectEventListeners = new CopyOnWriteArrayList<PinpointClientReconnectEventListener>();
+
+    private List<TraceSendAckListener> traceSendAckListeners = new CopyOnWriteArrayList<TraceSendAckListener>();
     
     public PinpointClient() {
         this(new ReconnectStateClientHandler());
@@ -91,6 +94,29 @@ public class PinpointClient implements PinpointSocket {
         return this.reconnectEventListeners.remove(eventListener);
     }
 
+    public boolean addTraceSendAckListener(TraceSendAckListener ackListener) {
+        if (ackListener == null) {
+            return false;
+        }
+
+        return this.traceSendAckListeners.add(ackListener);
+    }
+
+    public boolean removeTraceSendAckListener(TraceSendAckListener ackListener) {
+        if (ackListener == null) {
+            return false;
+        }
+
+        return this.traceSendAckListeners.remove(ackListener);
+    }
+
+    void handleTraceSendAck(TraceSendAckPacket traceSendAckPacket) {
+        final int traceId = traceSendAckPacket.getTraceId();
+        for (TraceSendAckListener eachListener : this.traceSendAckListeners) {
+            eachListener.ackReceived(traceId);
+        }
+    }
+
     private void notifyReconnectEvent() {
         for (PinpointClientReconnectEventListener eachListener : this.reconnectEventListeners) {
             eachListener.reconnectPerformed(this);
@@ -113,6 +139,15 @@ public class PinpointClient implements PinpointSocket {
         pinpointClientHandler.send(bytes);
     }
 
+    /**
+     * sends a packet that the server acknowledges with the given traceId.
+     * the ack is delivered to the {@link TraceSendAckListener}s.
+     */
+    public void sendTrace(int traceId, byte[] bytes) {
+        ensureOpen();
+        pinpointClientHandler.sendTrace(traceId, bytes);
+    }
+
     @Override
     public Future<ResponseMessage> request(byte[] bytes) {
         if (pinpointClientHandler == null) {
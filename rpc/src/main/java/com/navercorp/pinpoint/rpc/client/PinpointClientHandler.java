@@ -46,6 +46,8 @@ public interface PinpointClientHandler {
 
     void send(byte[] bytes);
 
+    void sendTrace(int traceId, byte[] bytes);
+
     Future<ResponseMessage> request(byte[] bytes);
 
     void response(int requestId, byte[] payload);
@@ -68,6 +68,11 @@ public class ReconnectStateClientHandler implements PinpointClientHandler {
         return reconnectFailureFuture();
     }
 
+    @Override
+    public void sendTrace(int traceId, byte[] bytes) {
+        throw newReconnectException();
+    }
+
     private DefaultFuture<ResponseMessage> reconnectFailureFuture() {
         DefaultFuture<ResponseMessage> reconnect = new DefaultFuture<ResponseMessage>();
         reconnect.setFailure(newReconnectException());
@@ -35,6 +35,8 @@ import com.navercorp.pinpoint.rpc.packet.RequestPacket;
 import com.navercorp.pinpoint.rpc.packet.ResponsePacket;
 import com.navercorp.pinpoint.rpc.packet.SendPacket;
 import com.navercorp.pinpoint.rpc.packet.ServerClosePacket;
+import com.navercorp.pinpoint.rpc.packet.TraceSendAckPacket;
+import com.navercorp.pinpoint.rpc.packet.TraceSendPacket;
 import com.navercorp.pinpoint.rpc.packet.stream.StreamClosePacket;
 import com.navercorp.pinpoint.rpc.packet.stream.StreamCreateFailPacket;
 import com.navercorp.pinpoint.rpc.packet.stream.StreamCreatePacket;
@@ -62,6 +64,10 @@ public class PacketDecoder extends FrameDecoder {
         switch (packetType) {
             case PacketType.APPLICATION_SEND:
                 return readSend(packetType, buffer);
+            case PacketType.APPLICATION_TRACE_SEND:
+                return readTraceSend(packetType, buffer);
+            case PacketType.APPLICATION_TRACE_SEND_ACK:
+                return readTraceSendAck(packetType, buffer);
             case PacketType.APPLICATION_REQUEST:
                 return readRequest(packetType, buffer);
             case PacketType.APPLICATION_RESPONSE:
@@ -137,6 +143,14 @@ public class PacketDecoder extends FrameDecoder {
         return SendPacket.readBuffer(packetType, buffer);
     }
 
+    private Object readTraceSend(short packetType, ChannelBuffer buffer) {
+        return TraceSendPacket.readBuffer(packetType, buffer);
+    }
+
+    private Object readTraceSendAck(short packetType, ChannelBuffer buffer) {
+        return TraceSendAckPacket.readBuffer(packetType, buffer);
+    }
+
 
     private Object readRequest(short packetType, ChannelBuffer buffer) {
         return RequestPacket.readBuffer(packetType, buffer);
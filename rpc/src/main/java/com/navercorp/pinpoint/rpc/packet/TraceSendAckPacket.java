@@ -33,6 +33,10 @@ public class TraceSendAckPacket implements Packet {
         this.traceId = traceId;
     }
 
+    public int getTraceId() {
+        return traceId;
+    }
+
     @Override
     public short getPacketType() {
         return PacketType.APPLICATION_TRACE_SEND_ACK;
@@ -71,6 +71,7 @@ public class DefaultPinpointServer implements PinpointServer {
 
     private final ChannelFutureListener serverCloseWriteListener;
     private final ChannelFutureListener responseWriteFailListener;
+    private final ChannelFutureListener traceSendAckWriteFailListener;
     
     private final WriteFailFutureListener pongWriteFutureListener = new WriteFailFutureListener(logger, "pong write fail.", "pong write success.");
     
@@ -107,6 +108,7 @@ public class DefaultPinpointServer implements PinpointServer {
         
         this.serverCloseWriteListener = new WriteFailFutureListener(logger, objectUniqName + " sendClosePacket() write fail.", "serverClosePacket write success");
         this.responseWriteFailListener = new WriteFailFutureListener(logger, objectUniqName + " response() write fail.");
+        this.traceSendAckWriteFailListener = new WriteFailFutureListener(logger, objectUniqName + " sendTraceAck() write fail.");
 
         this.state = new DefaultPinpointServerState(this, this.stateChangeEventListeners);
         this.stateChecker = new CyclicStateChecker(5);
@@ -196,6 +198,16 @@ public class DefaultPinpointServer implements PinpointServer {
         ResponsePacket responsePacket = new ResponsePacket(requestId, payload);
         write0(responsePacket, responseWriteFailListener);
     }
+
+    @Override
+    public void sendTraceAck(int traceId) {
+        if (!isEnableCommunication()) {
+            throw new IllegalStateException("TraceSendAck fail. Error: Illegal State. pinpointServer:" + toString());
+        }
+
+        TraceSendAckPacket traceSendAckPacket = new TraceSendAckPacket(traceId);
+        write0(traceSendAckPacket, traceSendAckWriteFailListener);
+    }
     
     private ChannelFuture write0(Object message) {
         return write0(message, null);
@@ -283,7 +295,8 @@ public class DefaultPinpointServer implements PinpointServer {
         
         final short packetType = getPacketType(message);
         switch (packetType) {
-            case PacketType.APPLICATION_SEND: {
+            case PacketType.APPLICATION_SEND:
+            case PacketType.APPLICATION_TRACE_SEND: {
                 handleSend((SendPacket) message);
                 return;
             }
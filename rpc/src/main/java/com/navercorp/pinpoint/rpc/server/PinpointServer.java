@@ -31,5 +31,10 @@ public interface PinpointServer extends PinpointSocket {
     SocketStateCode getCurrentStateCode();
 
     Map<Object, Object> getChannelProperties();
+
+    /**
+     * acknowledges a {@link com.navercorp.pinpoint.rpc.packet.TraceSendPacket} received through {@link ServerMessageListener#handleSend}.
+     */
+    void sendTraceAck(int traceId);
     
 }
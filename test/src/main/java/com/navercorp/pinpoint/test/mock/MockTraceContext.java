@@ -55,6 +55,11 @@ public class MockTraceContext implements TraceContext {
         return trace;
     }
 
+    @Override
+    public Trace currentStatisticsTraceObject() {
+        return currentTraceObject();
+    }
+
     @Override
     public Trace continueTraceObject(TraceId traceID) {
         return trace;
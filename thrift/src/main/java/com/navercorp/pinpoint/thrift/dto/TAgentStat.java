@@ -34,7 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @SuppressWarnings({"cast", "rawtypes", "serial", "unchecked"})
-@Generated(value = "Autogenerated by Thrift Compiler (0.9.2)", date = "2016-1-29")
+@Generated(value = "Autogenerated by Thrift Compiler (0.9.2)", date = "2026-10-18")
 public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentStat._Fields>, java.io.Serializable, Cloneable, Comparable<TAgentStat> {
   private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("TAgentStat");
 
@@ -46,6 +46,9 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
   private static final org.apache.thrift.protocol.TField CPU_LOAD_FIELD_DESC = new org.apache.thrift.protocol.TField("cpuLoad", org.apache.thrift.protocol.TType.STRUCT, (short)20);
   private static final org.apache.thrift.protocol.TField TRANSACTION_FIELD_DESC = new org.apache.thrift.protocol.TField("transaction", org.apache.thrift.protocol.TType.STRUCT, (short)30);
   private static final org.apache.thrift.protocol.TField ACTIVE_TRACE_FIELD_DESC = new org.apache.thrift.protocol.TField("activeTrace", org.apache.thrift.protocol.TType.STRUCT, (short)40);
+  private static final org.apache.thrift.protocol.TField ALLOCATION_FIELD_DESC = new org.apache.thrift.protocol.TField("allocation", org.apache.thrift.protocol.TType.STRUCT, (short)50);
+  private static final org.apache.thrift.protocol.TField SPILL_FIELD_DESC = new org.apache.thrift.protocol.TField("spill", org.apache.thrift.protocol.TType.STRUCT, (short)60);
+  private static final org.apache.thrift.protocol.TField TRANSFORM_FIELD_DESC = new org.apache.thrift.protocol.TField("transform", org.apache.thrift.protocol.TType.STRUCT, (short)70);
   private static final org.apache.thrift.protocol.TField METADATA_FIELD_DESC = new org.apache.thrift.protocol.TField("metadata", org.apache.thrift.protocol.TType.STRING, (short)200);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
@@ -62,6 +65,9 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
   private TCpuLoad cpuLoad; // optional
   private TTransaction transaction; // optional
   private TActiveTrace activeTrace; // optional
+  private TAllocation allocation; // optional
+  private TSpill spill; // optional
+  private TTransform transform; // optional
   private String metadata; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
@@ -74,6 +80,9 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     CPU_LOAD((short)20, "cpuLoad"),
     TRANSACTION((short)30, "transaction"),
     ACTIVE_TRACE((short)40, "activeTrace"),
+    ALLOCATION((short)50, "allocation"),
+    SPILL((short)60, "spill"),
+    TRANSFORM((short)70, "transform"),
     METADATA((short)200, "metadata");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
@@ -105,6 +114,12 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
           return TRANSACTION;
         case 40: // ACTIVE_TRACE
           return ACTIVE_TRACE;
+        case 50: // ALLOCATION
+          return ALLOCATION;
+        case 60: // SPILL
+          return SPILL;
+        case 70: // TRANSFORM
+          return TRANSFORM;
         case 200: // METADATA
           return METADATA;
         default:
@@ -151,7 +166,7 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
   private static final int __TIMESTAMP_ISSET_ID = 1;
   private static final int __COLLECTINTERVAL_ISSET_ID = 2;
   private byte __isset_bitfield = 0;
-  private static final _Fields optionals[] = {_Fields.AGENT_ID,_Fields.START_TIMESTAMP,_Fields.TIMESTAMP,_Fields.COLLECT_INTERVAL,_Fields.GC,_Fields.CPU_LOAD,_Fields.TRANSACTION,_Fields.ACTIVE_TRACE,_Fields.METADATA};
+  private static final _Fields optionals[] = {_Fields.AGENT_ID,_Fields.START_TIMESTAMP,_Fields.TIMESTAMP,_Fields.COLLECT_INTERVAL,_Fields.GC,_Fields.CPU_LOAD,_Fields.TRANSACTION,_Fields.ACTIVE_TRACE,_Fields.ALLOCATION,_Fields.SPILL,_Fields.TRANSFORM,_Fields.METADATA};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -171,6 +186,12 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TTransaction.class)));
     tmpMap.put(_Fields.ACTIVE_TRACE, new org.apache.thrift.meta_data.FieldMetaData("activeTrace", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
         new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TActiveTrace.class)));
+    tmpMap.put(_Fields.ALLOCATION, new org.apache.thrift.meta_data.FieldMetaData("allocation", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAllocation.class)));
+    tmpMap.put(_Fields.SPILL, new org.apache.thrift.meta_data.FieldMetaData("spill", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TSpill.class)));
+    tmpMap.put(_Fields.TRANSFORM, new org.apache.thrift.meta_data.FieldMetaData("transform", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TTransform.class)));
     tmpMap.put(_Fields.METADATA, new org.apache.thrift.meta_data.FieldMetaData("metadata", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
@@ -203,6 +224,15 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     if (other.isSetActiveTrace()) {
       this.activeTrace = new TActiveTrace(other.activeTrace);
     }
+    if (other.isSetAllocation()) {
+      this.allocation = new TAllocation(other.allocation);
+    }
+    if (other.isSetSpill()) {
+      this.spill = new TSpill(other.spill);
+    }
+    if (other.isSetTransform()) {
+      this.transform = new TTransform(other.transform);
+    }
     if (other.isSetMetadata()) {
       this.metadata = other.metadata;
     }
@@ -225,6 +255,9 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     this.cpuLoad = null;
     this.transaction = null;
     this.activeTrace = null;
+    this.allocation = null;
+    this.spill = null;
+    this.transform = null;
     this.metadata = null;
   }
 
@@ -409,6 +442,75 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     }
   }
 
+  public TAllocation getAllocation() {
+    return this.allocation;
+  }
+
+  public void setAllocation(TAllocation allocation) {
+    this.allocation = allocation;
+  }
+
+  public void unsetAllocation() {
+    this.allocation = null;
+  }
+
+  /** Returns true if field allocation is set (has been assigned a value) and false otherwise */
+  public boolean isSetAllocation() {
+    return this.allocation != null;
+  }
+
+  public void setAllocationIsSet(boolean value) {
+    if (!value) {
+      this.allocation = null;
+    }
+  }
+
+  public TSpill getSpill() {
+    return this.spill;
+  }
+
+  public void setSpill(TSpill spill) {
+    this.spill = spill;
+  }
+
+  public void unsetSpill() {
+    this.spill = null;
+  }
+
+  /** Returns true if field spill is set (has been assigned a value) and false otherwise */
+  public boolean isSetSpill() {
+    return this.spill != null;
+  }
+
+  public void setSpillIsSet(boolean value) {
+    if (!value) {
+      this.spill = null;
+    }
+  }
+
+  public TTransform getTransform() {
+    return this.transform;
+  }
+
+  public void setTransform(TTransform transform) {
+    this.transform = transform;
+  }
+
+  public void unsetTransform() {
+    this.transform = null;
+  }
+
+  /** Returns true if field transform is set (has been assigned a value) and false otherwise */
+  public boolean isSetTransform() {
+    return this.transform != null;
+  }
+
+  public void setTransformIsSet(boolean value) {
+    if (!value) {
+      this.transform = null;
+    }
+  }
+
   public String getMetadata() {
     return this.metadata;
   }
@@ -498,6 +600,30 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       }
       break;
 
+    case ALLOCATION:
+      if (value == null) {
+        unsetAllocation();
+      } else {
+        setAllocation((TAllocation)value);
+      }
+      break;
+
+    case SPILL:
+      if (value == null) {
+        unsetSpill();
+      } else {
+        setSpill((TSpill)value);
+      }
+      break;
+
+    case TRANSFORM:
+      if (value == null) {
+        unsetTransform();
+      } else {
+        setTransform((TTransform)value);
+      }
+      break;
+
     case METADATA:
       if (value == null) {
         unsetMetadata();
@@ -535,6 +661,15 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     case ACTIVE_TRACE:
       return getActiveTrace();
 
+    case ALLOCATION:
+      return getAllocation();
+
+    case SPILL:
+      return getSpill();
+
+    case TRANSFORM:
+      return getTransform();
+
     case METADATA:
       return getMetadata();
 
@@ -565,6 +700,12 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       return isSetTransaction();
     case ACTIVE_TRACE:
       return isSetActiveTrace();
+    case ALLOCATION:
+      return isSetAllocation();
+    case SPILL:
+      return isSetSpill();
+    case TRANSFORM:
+      return isSetTransform();
     case METADATA:
       return isSetMetadata();
     }
@@ -656,6 +797,33 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         return false;
     }
 
+    boolean this_present_allocation = true && this.isSetAllocation();
+    boolean that_present_allocation = true && that.isSetAllocation();
+    if (this_present_allocation || that_present_allocation) {
+      if (!(this_present_allocation && that_present_allocation))
+        return false;
+      if (!this.allocation.equals(that.allocation))
+        return false;
+    }
+
+    boolean this_present_spill = true && this.isSetSpill();
+    boolean that_present_spill = true && that.isSetSpill();
+    if (this_present_spill || that_present_spill) {
+      if (!(this_present_spill && that_present_spill))
+        return false;
+      if (!this.spill.equals(that.spill))
+        return false;
+    }
+
+    boolean this_present_transform = true && this.isSetTransform();
+    boolean that_present_transform = true && that.isSetTransform();
+    if (this_present_transform || that_present_transform) {
+      if (!(this_present_transform && that_present_transform))
+        return false;
+      if (!this.transform.equals(that.transform))
+        return false;
+    }
+
     boolean this_present_metadata = true && this.isSetMetadata();
     boolean that_present_metadata = true && that.isSetMetadata();
     if (this_present_metadata || that_present_metadata) {
@@ -712,6 +880,21 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     if (present_activeTrace)
       list.add(activeTrace);
 
+    boolean present_allocation = true && (isSetAllocation());
+    list.add(present_allocation);
+    if (present_allocation)
+      list.add(allocation);
+
+    boolean present_spill = true && (isSetSpill());
+    list.add(present_spill);
+    if (present_spill)
+      list.add(spill);
+
+    boolean present_transform = true && (isSetTransform());
+    list.add(present_transform);
+    if (present_transform)
+      list.add(transform);
+
     boolean present_metadata = true && (isSetMetadata());
     list.add(present_metadata);
     if (present_metadata)
@@ -808,6 +991,36 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetAllocation()).compareTo(other.isSetAllocation());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetAllocation()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.allocation, other.allocation);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetSpill()).compareTo(other.isSetSpill());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetSpill()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.spill, other.spill);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetTransform()).compareTo(other.isSetTransform());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetTransform()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.transform, other.transform);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     lastComparison = Boolean.valueOf(isSetMetadata()).compareTo(other.isSetMetadata());
     if (lastComparison != 0) {
       return lastComparison;
@@ -905,6 +1118,36 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       }
       first = false;
     }
+    if (isSetAllocation()) {
+      if (!first) sb.append(", ");
+      sb.append("allocation:");
+      if (this.allocation == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.allocation);
+      }
+      first = false;
+    }
+    if (isSetSpill()) {
+      if (!first) sb.append(", ");
+      sb.append("spill:");
+      if (this.spill == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.spill);
+      }
+      first = false;
+    }
+    if (isSetTransform()) {
+      if (!first) sb.append(", ");
+      sb.append("transform:");
+      if (this.transform == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.transform);
+      }
+      first = false;
+    }
     if (isSetMetadata()) {
       if (!first) sb.append(", ");
       sb.append("metadata:");
@@ -934,6 +1177,15 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     if (activeTrace != null) {
       activeTrace.validate();
     }
+    if (allocation != null) {
+      allocation.validate();
+    }
+    if (spill != null) {
+      spill.validate();
+    }
+    if (transform != null) {
+      transform.validate();
+    }
   }
 
   private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -1040,6 +1292,33 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 50: // ALLOCATION
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.allocation = new TAllocation();
+              struct.allocation.read(iprot);
+              struct.setAllocationIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 60: // SPILL
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.spill = new TSpill();
+              struct.spill.read(iprot);
+              struct.setSpillIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 70: // TRANSFORM
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.transform = new TTransform();
+              struct.transform.read(iprot);
+              struct.setTransformIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           case 200: // METADATA
             if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
               struct.metadata = iprot.readString();
@@ -1111,6 +1390,27 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
           oprot.writeFieldEnd();
         }
       }
+      if (struct.allocation != null) {
+        if (struct.isSetAllocation()) {
+          oprot.writeFieldBegin(ALLOCATION_FIELD_DESC);
+          struct.allocation.write(oprot);
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.spill != null) {
+        if (struct.isSetSpill()) {
+          oprot.writeFieldBegin(SPILL_FIELD_DESC);
+          struct.spill.write(oprot);
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.transform != null) {
+        if (struct.isSetTransform()) {
+          oprot.writeFieldBegin(TRANSFORM_FIELD_DESC);
+          struct.transform.write(oprot);
+          oprot.writeFieldEnd();
+        }
+      }
       if (struct.metadata != null) {
         if (struct.isSetMetadata()) {
           oprot.writeFieldBegin(METADATA_FIELD_DESC);
@@ -1160,10 +1460,19 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       if (struct.isSetActiveTrace()) {
         optionals.set(7);
       }
-      if (struct.isSetMetadata()) {
+      if (struct.isSetAllocation()) {
         optionals.set(8);
       }
-      oprot.writeBitSet(optionals, 9);
+      if (struct.isSetSpill()) {
+        optionals.set(9);
+      }
+      if (struct.isSetTransform()) {
+        optionals.set(10);
+      }
+      if (struct.isSetMetadata()) {
+        optionals.set(11);
+      }
+      oprot.writeBitSet(optionals, 12);
       if (struct.isSetAgentId()) {
         oprot.writeString(struct.agentId);
       }
@@ -1188,6 +1497,15 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       if (struct.isSetActiveTrace()) {
         struct.activeTrace.write(oprot);
       }
+      if (struct.isSetAllocation()) {
+        struct.allocation.write(oprot);
+      }
+      if (struct.isSetSpill()) {
+        struct.spill.write(oprot);
+      }
+      if (struct.isSetTransform()) {
+        struct.transform.write(oprot);
+      }
       if (struct.isSetMetadata()) {
         oprot.writeString(struct.metadata);
       }
@@ -1196,7 +1514,7 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, TAgentStat struct) throws org.apache.thrift.TException {
       TTupleProtocol iprot = (TTupleProtocol) prot;
-      BitSet incoming = iprot.readBitSet(9);
+      BitSet incoming = iprot.readBitSet(12);
       if (incoming.get(0)) {
         struct.agentId = iprot.readString();
         struct.setAgentIdIsSet(true);
@@ -1234,6 +1552,21 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         struct.setActiveTraceIsSet(true);
       }
       if (incoming.get(8)) {
+        struct.allocation = new TAllocation();
+        struct.allocation.read(iprot);
+        struct.setAllocationIsSet(true);
+      }
+      if (incoming.get(9)) {
+        struct.spill = new TSpill();
+        struct.spill.read(iprot);
+        struct.setSpillIsSet(true);
+      }
+      if (incoming.get(10)) {
+        struct.transform = new TTransform();
+        struct.transform.read(iprot);
+        struct.setTransformIsSet(true);
+      }
+      if (incoming.get(11)) {
         struct.metadata = iprot.readString();
         struct.setMetadataIsSet(true);
       }
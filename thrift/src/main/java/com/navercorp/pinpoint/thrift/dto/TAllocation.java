@@ -0,0 +1,588 @@
+/**
+ * Autogenerated by Thrift Compiler (0.9.2)
+ *
+ * DO NOT EDIT UNLESS YOU ARE SURE THAT YOU KNOW WHAT YOU ARE DOING
+ *  @generated
+ */
+package com.navercorp.pinpoint.thrift.dto;
+
+import org.apache.thrift.scheme.IScheme;
+import org.apache.thrift.scheme.SchemeFactory;
+import org.apache.thrift.scheme.StandardScheme;
+
+import org.apache.thrift.scheme.TupleScheme;
+import org.apache.thrift.protocol.TTupleProtocol;
+import org.apache.thrift.protocol.TProtocolException;
+import org.apache.thrift.EncodingUtils;
+import org.apache.thrift.TException;
+import org.apache.thrift.async.AsyncMethodCallback;
+import org.apache.thrift.server.AbstractNonblockingServer.*;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.Set;
+import java.util.HashSet;
+import java.util.EnumSet;
+import java.util.Collections;
+import java.util.BitSet;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import javax.annotation.Generated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@SuppressWarnings({"cast", "rawtypes", "serial", "unchecked"})
+@Generated(value = "Autogenerated by Thrift Compiler (0.9.2)", date = "2026-10-18")
+public class TAllocation implements org.apache.thrift.TBase<TAllocation, TAllocation._Fields>, java.io.Serializable, Cloneable, Comparable<TAllocation> {
+  private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("TAllocation");
+
+  private static final org.apache.thrift.protocol.TField ALLOCATED_BYTES_FIELD_DESC = new org.apache.thrift.protocol.TField("allocatedBytes", org.apache.thrift.protocol.TType.I64, (short)1);
+  private static final org.apache.thrift.protocol.TField SPAN_EVENT_NEW_COUNT_FIELD_DESC = new org.apache.thrift.protocol.TField("spanEventNewCount", org.apache.thrift.protocol.TType.I64, (short)2);
+  private static final org.apache.thrift.protocol.TField SPAN_EVENT_REUSE_COUNT_FIELD_DESC = new org.apache.thrift.protocol.TField("spanEventReuseCount", org.apache.thrift.protocol.TType.I64, (short)3);
+
+  private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+  static {
+    schemes.put(StandardScheme.class, new TAllocationStandardSchemeFactory());
+    schemes.put(TupleScheme.class, new TAllocationTupleSchemeFactory());
+  }
+
+  private long allocatedBytes; // optional
+  private long spanEventNewCount; // optional
+  private long spanEventReuseCount; // optional
+
+  /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+  public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+    ALLOCATED_BYTES((short)1, "allocatedBytes"),
+    SPAN_EVENT_NEW_COUNT((short)2, "spanEventNewCount"),
+    SPAN_EVENT_REUSE_COUNT((short)3, "spanEventReuseCount");
+
+    private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+    static {
+      for (_Fields field : EnumSet.allOf(_Fields.class)) {
+        byName.put(field.getFieldName(), field);
+      }
+    }
+
+    /**
+     * Find the _Fields constant that matches fieldId, or null if its not found.
+     */
+    public static _Fields findByThriftId(int fieldId) {
+      switch(fieldId) {
+        case 1: // ALLOCATED_BYTES
+          return ALLOCATED_BYTES;
+        case 2: // SPAN_EVENT_NEW_COUNT
+          return SPAN_EVENT_NEW_COUNT;
+        case 3: // SPAN_EVENT_REUSE_COUNT
+          return SPAN_EVENT_REUSE_COUNT;
+        default:
+          return null;
+      }
+    }
+
+    /**
+     * Find the _Fields constant that matches fieldId, throwing an exception
+     * if it is not found.
+     */
+    public static _Fields findByThriftIdOrThrow(int fieldId) {
+      _Fields fields = findByThriftId(fieldId);
+      if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+      return fields;
+    }
+
+    /**
+     * Find the _Fields constant that matches name, or null if its not found.
+     */
+    public static _Fields findByName(String name) {
+      return byName.get(name);
+    }
+
+    private final short _thriftId;
+    private final String _fieldName;
+
+    _Fields(short thriftId, String fieldName) {
+      _thriftId = thriftId;
+      _fieldName = fieldName;
+    }
+
+    public short getThriftFieldId() {
+      return _thriftId;
+    }
+
+    public String getFieldName() {
+      return _fieldName;
+    }
+  }
+
+  // isset id assignments
+  private static final int __ALLOCATEDBYTES_ISSET_ID = 0;
+  private static final int __SPANEVENTNEWCOUNT_ISSET_ID = 1;
+  private static final int __SPANEVENTREUSECOUNT_ISSET_ID = 2;
+  private byte __isset_bitfield = 0;
+  private static final _Fields optionals[] = {_Fields.ALLOCATED_BYTES,_Fields.SPAN_EVENT_NEW_COUNT,_Fields.SPAN_EVENT_REUSE_COUNT};
+  public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+  static {
+    Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+    tmpMap.put(_Fields.ALLOCATED_BYTES, new org.apache.thrift.meta_data.FieldMetaData("allocatedBytes", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.SPAN_EVENT_NEW_COUNT, new org.apache.thrift.meta_data.FieldMetaData("spanEventNewCount", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.SPAN_EVENT_REUSE_COUNT, new org.apache.thrift.meta_data.FieldMetaData("spanEventReuseCount", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    metaDataMap = Collections.unmodifiableMap(tmpMap);
+    org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TAllocation.class, metaDataMap);
+  }
+
+  public TAllocation() {
+  }
+
+  /**
+   * Performs a deep copy on <i>other</i>.
+   */
+  public TAllocation(TAllocation other) {
+    __isset_bitfield = other.__isset_bitfield;
+    this.allocatedBytes = other.allocatedBytes;
+    this.spanEventNewCount = other.spanEventNewCount;
+    this.spanEventReuseCount = other.spanEventReuseCount;
+  }
+
+  public TAllocation deepCopy() {
+    return new TAllocation(this);
+  }
+
+  @Override
+  public void clear() {
+    setAllocatedBytesIsSet(false);
+    this.allocatedBytes = 0;
+    setSpanEventNewCountIsSet(false);
+    this.spanEventNewCount = 0;
+    setSpanEventReuseCountIsSet(false);
+    this.spanEventReuseCount = 0;
+  }
+
+  public long getAllocatedBytes() {
+    return this.allocatedBytes;
+  }
+
+  public void setAllocatedBytes(long allocatedBytes) {
+    this.allocatedBytes = allocatedBytes;
+    setAllocatedBytesIsSet(true);
+  }
+
+  public void unsetAllocatedBytes() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __ALLOCATEDBYTES_ISSET_ID);
+  }
+
+  /** Returns true if field allocatedBytes is set (has been assigned a value) and false otherwise */
+  public boolean isSetAllocatedBytes() {
+    return EncodingUtils.testBit(__isset_bitfield, __ALLOCATEDBYTES_ISSET_ID);
+  }
+
+  public void setAllocatedBytesIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __ALLOCATEDBYTES_ISSET_ID, value);
+  }
+
+  public long getSpanEventNewCount() {
+    return this.spanEventNewCount;
+  }
+
+  public void setSpanEventNewCount(long spanEventNewCount) {
+    this.spanEventNewCount = spanEventNewCount;
+    setSpanEventNewCountIsSet(true);
+  }
+
+  public void unsetSpanEventNewCount() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __SPANEVENTNEWCOUNT_ISSET_ID);
+  }
+
+  /** Returns true if field spanEventNewCount is set (has been assigned a value) and false otherwise */
+  public boolean isSetSpanEventNewCount() {
+    return EncodingUtils.testBit(__isset_bitfield, __SPANEVENTNEWCOUNT_ISSET_ID);
+  }
+
+  public void setSpanEventNewCountIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __SPANEVENTNEWCOUNT_ISSET_ID, value);
+  }
+
+  public long getSpanEventReuseCount() {
+    return this.spanEventReuseCount;
+  }
+
+  public void setSpanEventReuseCount(long spanEventReuseCount) {
+    this.spanEventReuseCount = spanEventReuseCount;
+    setSpanEventReuseCountIsSet(true);
+  }
+
+  public void unsetSpanEventReuseCount() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __SPANEVENTREUSECOUNT_ISSET_ID);
+  }
+
+  /** Returns true if field spanEventReuseCount is set (has been assigned a value) and false otherwise */
+  public boolean isSetSpanEventReuseCount() {
+    return EncodingUtils.testBit(__isset_bitfield, __SPANEVENTREUSECOUNT_ISSET_ID);
+  }
+
+  public void setSpanEventReuseCountIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __SPANEVENTREUSECOUNT_ISSET_ID, value);
+  }
+
+  public void setFieldValue(_Fields field, Object value) {
+    switch (field) {
+    case ALLOCATED_BYTES:
+      if (value == null) {
+        unsetAllocatedBytes();
+      } else {
+        setAllocatedBytes((Long)value);
+      }
+      break;
+
+    case SPAN_EVENT_NEW_COUNT:
+      if (value == null) {
+        unsetSpanEventNewCount();
+      } else {
+        setSpanEventNewCount((Long)value);
+      }
+      break;
+
+    case SPAN_EVENT_REUSE_COUNT:
+      if (value == null) {
+        unsetSpanEventReuseCount();
+      } else {
+        setSpanEventReuseCount((Long)value);
+      }
+      break;
+
+    }
+  }
+
+  public Object getFieldValue(_Fields field) {
+    switch (field) {
+    case ALLOCATED_BYTES:
+      return Long.valueOf(getAllocatedBytes());
+
+    case SPAN_EVENT_NEW_COUNT:
+      return Long.valueOf(getSpanEventNewCount());
+
+    case SPAN_EVENT_REUSE_COUNT:
+      return Long.valueOf(getSpanEventReuseCount());
+
+    }
+    throw new IllegalStateException();
+  }
+
+  /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+  public boolean isSet(_Fields field) {
+    if (field == null) {
+      throw new IllegalArgumentException();
+    }
+
+    switch (field) {
+    case ALLOCATED_BYTES:
+      return isSetAllocatedBytes();
+    case SPAN_EVENT_NEW_COUNT:
+      return isSetSpanEventNewCount();
+    case SPAN_EVENT_REUSE_COUNT:
+      return isSetSpanEventReuseCount();
+    }
+    throw new IllegalStateException();
+  }
+
+  @Override
+  public boolean equals(Object that) {
+    if (that == null)
+      return false;
+    if (that instanceof TAllocation)
+      return this.equals((TAllocation)that);
+    return false;
+  }
+
+  public boolean equals(TAllocation that) {
+    if (that == null)
+      return false;
+
+    boolean this_present_allocatedBytes = true && this.isSetAllocatedBytes();
+    boolean that_present_allocatedBytes = true && that.isSetAllocatedBytes();
+    if (this_present_allocatedBytes || that_present_allocatedBytes) {
+      if (!(this_present_allocatedBytes && that_present_allocatedBytes))
+        return false;
+      if (this.allocatedBytes != that.allocatedBytes)
+        return false;
+    }
+
+    boolean this_present_spanEventNewCount = true && this.isSetSpanEventNewCount();
+    boolean that_present_spanEventNewCount = true && that.isSetSpanEventNewCount();
+    if (this_present_spanEventNewCount || that_present_spanEventNewCount) {
+      if (!(this_present_spanEventNewCount && that_present_spanEventNewCount))
+        return false;
+      if (this.spanEventNewCount != that.spanEventNewCount)
+        return false;
+    }
+
+    boolean this_present_spanEventReuseCount = true && this.isSetSpanEventReuseCount();
+    boolean that_present_spanEventReuseCount = true && that.isSetSpanEventReuseCount();
+    if (this_present_spanEventReuseCount || that_present_spanEventReuseCount) {
+      if (!(this_present_spanEventReuseCount && that_present_spanEventReuseCount))
+        return false;
+      if (this.spanEventReuseCount != that.spanEventReuseCount)
+        return false;
+    }
+
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    List<Object> list = new ArrayList<Object>();
+
+    boolean present_allocatedBytes = true && (isSetAllocatedBytes());
+    list.add(present_allocatedBytes);
+    if (present_allocatedBytes)
+      list.add(allocatedBytes);
+
+    boolean present_spanEventNewCount = true && (isSetSpanEventNewCount());
+    list.add(present_spanEventNewCount);
+    if (present_spanEventNewCount)
+      list.add(spanEventNewCount);
+
+    boolean present_spanEventReuseCount = true && (isSetSpanEventReuseCount());
+    list.add(present_spanEventReuseCount);
+    if (present_spanEventReuseCount)
+      list.add(spanEventReuseCount);
+
+    return list.hashCode();
+  }
+
+  @Override
+  public int compareTo(TAllocation other) {
+    if (!getClass().equals(other.getClass())) {
+      return getClass().getName().compareTo(other.getClass().getName());
+    }
+
+    int lastComparison = 0;
+
+    lastComparison = Boolean.valueOf(isSetAllocatedBytes()).compareTo(other.isSetAllocatedBytes());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetAllocatedBytes()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.allocatedBytes, other.allocatedBytes);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetSpanEventNewCount()).compareTo(other.isSetSpanEventNewCount());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetSpanEventNewCount()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.spanEventNewCount, other.spanEventNewCount);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetSpanEventReuseCount()).compareTo(other.isSetSpanEventReuseCount());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetSpanEventReuseCount()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.spanEventReuseCount, other.spanEventReuseCount);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    return 0;
+  }
+
+  public _Fields fieldForId(int fieldId) {
+    return _Fields.findByThriftId(fieldId);
+  }
+
+  public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+    schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+  }
+
+  public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+    schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("TAllocation(");
+    boolean first = true;
+
+    if (isSetAllocatedBytes()) {
+      sb.append("allocatedBytes:");
+      sb.append(this.allocatedBytes);
+      first = false;
+    }
+    if (isSetSpanEventNewCount()) {
+      if (!first) sb.append(", ");
+      sb.append("spanEventNewCount:");
+      sb.append(this.spanEventNewCount);
+      first = false;
+    }
+    if (isSetSpanEventReuseCount()) {
+      if (!first) sb.append(", ");
+      sb.append("spanEventReuseCount:");
+      sb.append(this.spanEventReuseCount);
+      first = false;
+    }
+    sb.append(")");
+    return sb.toString();
+  }
+
+  public void validate() throws org.apache.thrift.TException {
+    // check for required fields
+    // check for sub-struct validity
+  }
+
+  private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+    try {
+      write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+    } catch (org.apache.thrift.TException te) {
+      throw new java.io.IOException(te);
+    }
+  }
+
+  private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+    try {
+      // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+      __isset_bitfield = 0;
+      read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+    } catch (org.apache.thrift.TException te) {
+      throw new java.io.IOException(te);
+    }
+  }
+
+  private static class TAllocationStandardSchemeFactory implements SchemeFactory {
+    public TAllocationStandardScheme getScheme() {
+      return new TAllocationStandardScheme();
+    }
+  }
+
+  private static class TAllocationStandardScheme extends StandardScheme<TAllocation> {
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot, TAllocation struct) throws org.apache.thrift.TException {
+      org.apache.thrift.protocol.TField schemeField;
+      iprot.readStructBegin();
+      while (true)
+      {
+        schemeField = iprot.readFieldBegin();
+        if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+          break;
+        }
+        switch (schemeField.id) {
+          case 1: // ALLOCATED_BYTES
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.allocatedBytes = iprot.readI64();
+              struct.setAllocatedBytesIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 2: // SPAN_EVENT_NEW_COUNT
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.spanEventNewCount = iprot.readI64();
+              struct.setSpanEventNewCountIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 3: // SPAN_EVENT_REUSE_COUNT
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.spanEventReuseCount = iprot.readI64();
+              struct.setSpanEventReuseCountIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          default:
+            org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+        }
+        iprot.readFieldEnd();
+      }
+      iprot.readStructEnd();
+      struct.validate();
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot, TAllocation struct) throws org.apache.thrift.TException {
+      struct.validate();
+
+      oprot.writeStructBegin(STRUCT_DESC);
+      if (struct.isSetAllocatedBytes()) {
+        oprot.writeFieldBegin(ALLOCATED_BYTES_FIELD_DESC);
+        oprot.writeI64(struct.allocatedBytes);
+        oprot.writeFieldEnd();
+      }
+      if (struct.isSetSpanEventNewCount()) {
+        oprot.writeFieldBegin(SPAN_EVENT_NEW_COUNT_FIELD_DESC);
+        oprot.writeI64(struct.spanEventNewCount);
+        oprot.writeFieldEnd();
+      }
+      if (struct.isSetSpanEventReuseCount()) {
+        oprot.writeFieldBegin(SPAN_EVENT_REUSE_COUNT_FIELD_DESC);
+        oprot.writeI64(struct.spanEventReuseCount);
+        oprot.writeFieldEnd();
+      }
+      oprot.writeFieldStop();
+      oprot.writeStructEnd();
+    }
+
+  }
+
+  private static class TAllocationTupleSchemeFactory implements SchemeFactory {
+    public TAllocationTupleScheme getScheme() {
+      return new TAllocationTupleScheme();
+    }
+  }
+
+  private static class TAllocationTupleScheme extends TupleScheme<TAllocation> {
+
+    @Override
+    public void write(org.apache.thrift.protocol.TProtocol prot, TAllocation struct) throws org.apache.thrift.TException {
+      TTupleProtocol oprot = (TTupleProtocol) prot;
+      BitSet optionals = new BitSet();
+      if (struct.isSetAllocatedBytes()) {
+        optionals.set(0);
+      }
+      if (struct.isSetSpanEventNewCount()) {
+        optionals.set(1);
+      }
+      if (struct.isSetSpanEventReuseCount()) {
+        optionals.set(2);
+      }
+      oprot.writeBitSet(optionals, 3);
+      if (struct.isSetAllocatedBytes()) {
+        oprot.writeI64(struct.allocatedBytes);
+      }
+      if (struct.isSetSpanEventNewCount()) {
+        oprot.writeI64(struct.spanEventNewCount);
+      }
+      if (struct.isSetSpanEventReuseCount()) {
+        oprot.writeI64(struct.spanEventReuseCount);
+      }
+    }
+
+    @Override
+    public void read(org.apache.thrift.protocol.TProtocol prot, TAllocation struct) throws org.apache.thrift.TException {
+      TTupleProtocol iprot = (TTupleProtocol) prot;
+      BitSet incoming = iprot.readBitSet(3);
+      if (incoming.get(0)) {
+        struct.allocatedBytes = iprot.readI64();
+        struct.setAllocatedBytesIsSet(true);
+      }
+      if (incoming.get(1)) {
+        struct.spanEventNewCount = iprot.readI64();
+        struct.setSpanEventNewCountIsSet(true);
+      }
+      if (incoming.get(2)) {
+        struct.spanEventReuseCount = iprot.readI64();
+        struct.setSpanEventReuseCountIsSet(true);
+      }
+    }
+  }
+
+}
+
@@ -61,6 +61,7 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
   private static final org.apache.thrift.protocol.TField EXCEPTION_INFO_FIELD_DESC = new org.apache.thrift.protocol.TField("exceptionInfo", org.apache.thrift.protocol.TType.STRUCT, (short)26);
   private static final org.apache.thrift.protocol.TField APPLICATION_SERVICE_TYPE_FIELD_DESC = new org.apache.thrift.protocol.TField("applicationServiceType", org.apache.thrift.protocol.TType.I16, (short)30);
   private static final org.apache.thrift.protocol.TField LOGGING_TRANSACTION_INFO_FIELD_DESC = new org.apache.thrift.protocol.TField("loggingTransactionInfo", org.apache.thrift.protocol.TType.BYTE, (short)31);
+  private static final org.apache.thrift.protocol.TField STATISTICS_AGGREGATED_FIELD_DESC = new org.apache.thrift.protocol.TField("statisticsAggregated", org.apache.thrift.protocol.TType.BOOL, (short)32);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
   static {
@@ -91,6 +92,7 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
   public TIntStringValue exceptionInfo; // optional
   public short applicationServiceType; // optional
   public byte loggingTransactionInfo; // optional
+  public boolean statisticsAggregated; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -116,7 +118,8 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
     API_ID((short)25, "apiId"),
     EXCEPTION_INFO((short)26, "exceptionInfo"),
     APPLICATION_SERVICE_TYPE((short)30, "applicationServiceType"),
-    LOGGING_TRANSACTION_INFO((short)31, "loggingTransactionInfo");
+    LOGGING_TRANSACTION_INFO((short)31, "loggingTransactionInfo"),
+    STATISTICS_AGGREGATED((short)32, "statisticsAggregated");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -177,6 +180,8 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
           return APPLICATION_SERVICE_TYPE;
         case 31: // LOGGING_TRANSACTION_INFO
           return LOGGING_TRANSACTION_INFO;
+        case 32: // STATISTICS_AGGREGATED
+          return STATISTICS_AGGREGATED;
         default:
           return null;
       }
@@ -229,8 +234,9 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
   private static final int __APIID_ISSET_ID = 9;
   private static final int __APPLICATIONSERVICETYPE_ISSET_ID = 10;
   private static final int __LOGGINGTRANSACTIONINFO_ISSET_ID = 11;
+  private static final int __STATISTICSAGGREGATED_ISSET_ID = 12;
   private short __isset_bitfield = 0;
-  private static final _Fields optionals[] = {_Fields.PARENT_SPAN_ID,_Fields.ELAPSED,_Fields.RPC,_Fields.END_POINT,_Fields.REMOTE_ADDR,_Fields.ANNOTATIONS,_Fields.FLAG,_Fields.ERR,_Fields.SPAN_EVENT_LIST,_Fields.PARENT_APPLICATION_NAME,_Fields.PARENT_APPLICATION_TYPE,_Fields.ACCEPTOR_HOST,_Fields.API_ID,_Fields.EXCEPTION_INFO,_Fields.APPLICATION_SERVICE_TYPE,_Fields.LOGGING_TRANSACTION_INFO};
+  private static final _Fields optionals[] = {_Fields.PARENT_SPAN_ID,_Fields.ELAPSED,_Fields.RPC,_Fields.END_POINT,_Fields.REMOTE_ADDR,_Fields.ANNOTATIONS,_Fields.FLAG,_Fields.ERR,_Fields.SPAN_EVENT_LIST,_Fields.PARENT_APPLICATION_NAME,_Fields.PARENT_APPLICATION_TYPE,_Fields.ACCEPTOR_HOST,_Fields.API_ID,_Fields.EXCEPTION_INFO,_Fields.APPLICATION_SERVICE_TYPE,_Fields.LOGGING_TRANSACTION_INFO,_Fields.STATISTICS_AGGREGATED};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -282,6 +288,8 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I16)));
     tmpMap.put(_Fields.LOGGING_TRANSACTION_INFO, new org.apache.thrift.meta_data.FieldMetaData("loggingTransactionInfo", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BYTE)));
+    tmpMap.put(_Fields.STATISTICS_AGGREGATED, new org.apache.thrift.meta_data.FieldMetaData("statisticsAggregated", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BOOL)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TSpan.class, metaDataMap);
   }
@@ -376,6 +384,7 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
     }
     this.applicationServiceType = other.applicationServiceType;
     this.loggingTransactionInfo = other.loggingTransactionInfo;
+    this.statisticsAggregated = other.statisticsAggregated;
   }
 
   public TSpan deepCopy() {
@@ -419,6 +428,8 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
     this.applicationServiceType = 0;
     setLoggingTransactionInfoIsSet(false);
     this.loggingTransactionInfo = 0;
+    setStatisticsAggregatedIsSet(false);
+    this.statisticsAggregated = false;
   }
 
   public String getAgentId() {
@@ -1001,6 +1012,29 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
     __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __LOGGINGTRANSACTIONINFO_ISSET_ID, value);
   }
 
+  public boolean isStatisticsAggregated() {
+    return this.statisticsAggregated;
+  }
+
+  public TSpan setStatisticsAggregated(boolean statisticsAggregated) {
+    this.statisticsAggregated = statisticsAggregated;
+    setStatisticsAggregatedIsSet(true);
+    return this;
+  }
+
+  public void unsetStatisticsAggregated() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __STATISTICSAGGREGATED_ISSET_ID);
+  }
+
+  /** Returns true if field statisticsAggregated is set (has been assigned a value) and false otherwise */
+  public boolean isSetStatisticsAggregated() {
+    return EncodingUtils.testBit(__isset_bitfield, __STATISTICSAGGREGATED_ISSET_ID);
+  }
+
+  public void setStatisticsAggregatedIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __STATISTICSAGGREGATED_ISSET_ID, value);
+  }
+
   public void setFieldValue(_Fields field, Object value) {
     switch (field) {
     case AGENT_ID:
@@ -1187,6 +1221,14 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
       }
       break;
 
+    case STATISTICS_AGGREGATED:
+      if (value == null) {
+        unsetStatisticsAggregated();
+      } else {
+        setStatisticsAggregated((Boolean)value);
+      }
+      break;
+
     }
   }
 
@@ -1261,6 +1303,9 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
     case LOGGING_TRANSACTION_INFO:
       return Byte.valueOf(getLoggingTransactionInfo());
 
+    case STATISTICS_AGGREGATED:
+      return Boolean.valueOf(isStatisticsAggregated());
+
     }
     throw new IllegalStateException();
   }
@@ -1318,6 +1363,8 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
       return isSetApplicationServiceType();
     case LOGGING_TRANSACTION_INFO:
       return isSetLoggingTransactionInfo();
+    case STATISTICS_AGGREGATED:
+      return isSetStatisticsAggregated();
     }
     throw new IllegalStateException();
   }
@@ -1542,6 +1589,15 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
         return false;
     }
 
+    boolean this_present_statisticsAggregated = true && this.isSetStatisticsAggregated();
+    boolean that_present_statisticsAggregated = true && that.isSetStatisticsAggregated();
+    if (this_present_statisticsAggregated || that_present_statisticsAggregated) {
+      if (!(this_present_statisticsAggregated && that_present_statisticsAggregated))
+        return false;
+      if (this.statisticsAggregated != that.statisticsAggregated)
+        return false;
+    }
+
     return true;
   }
 
@@ -1664,6 +1720,11 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
     if (present_loggingTransactionInfo)
       list.add(loggingTransactionInfo);
 
+    boolean present_statisticsAggregated = true && (isSetStatisticsAggregated());
+    list.add(present_statisticsAggregated);
+    if (present_statisticsAggregated)
+      list.add(statisticsAggregated);
+
     return list.hashCode();
   }
 
@@ -1905,6 +1966,16 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetStatisticsAggregated()).compareTo(other.isSetStatisticsAggregated());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetStatisticsAggregated()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.statisticsAggregated, other.statisticsAggregated);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -2092,6 +2163,12 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
       sb.append(this.loggingTransactionInfo);
       first = false;
     }
+    if (isSetStatisticsAggregated()) {
+      if (!first) sb.append(", ");
+      sb.append("statisticsAggregated:");
+      sb.append(this.statisticsAggregated);
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -2347,6 +2424,14 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 32: // STATISTICS_AGGREGATED
+            if (schemeField.type == org.apache.thrift.protocol.TType.BOOL) {
+              struct.statisticsAggregated = iprot.readBool();
+              struct.setStatisticsAggregatedIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -2499,6 +2584,11 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
         oprot.writeByte(struct.loggingTransactionInfo);
         oprot.writeFieldEnd();
       }
+      if (struct.isSetStatisticsAggregated()) {
+        oprot.writeFieldBegin(STATISTICS_AGGREGATED_FIELD_DESC);
+        oprot.writeBool(struct.statisticsAggregated);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -2586,7 +2676,10 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
       if (struct.isSetLoggingTransactionInfo()) {
         optionals.set(22);
       }
-      oprot.writeBitSet(optionals, 23);
+      if (struct.isSetStatisticsAggregated()) {
+        optionals.set(23);
+      }
+      oprot.writeBitSet(optionals, 24);
       if (struct.isSetAgentId()) {
         oprot.writeString(struct.agentId);
       }
@@ -2668,12 +2761,15 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
       if (struct.isSetLoggingTransactionInfo()) {
         oprot.writeByte(struct.loggingTransactionInfo);
       }
+      if (struct.isSetStatisticsAggregated()) {
+        oprot.writeBool(struct.statisticsAggregated);
+      }
     }
 
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, TSpan struct) throws org.apache.thrift.TException {
       TTupleProtocol iprot = (TTupleProtocol) prot;
-      BitSet incoming = iprot.readBitSet(23);
+      BitSet incoming = iprot.readBitSet(24);
       if (incoming.get(0)) {
         struct.agentId = iprot.readString();
         struct.setAgentIdIsSet(true);
@@ -2787,6 +2883,10 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
         struct.loggingTransactionInfo = iprot.readByte();
         struct.setLoggingTransactionInfoIsSet(true);
       }
+      if (incoming.get(23)) {
+        struct.statisticsAggregated = iprot.readBool();
+        struct.setStatisticsAggregatedIsSet(true);
+      }
     }
   }
 
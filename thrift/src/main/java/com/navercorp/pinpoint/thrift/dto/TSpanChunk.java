@@ -47,6 +47,7 @@ public class TSpanChunk implements org.apache.thrift.TBase<TSpanChunk, TSpanChun
   private static final org.apache.thrift.protocol.TField END_POINT_FIELD_DESC = new org.apache.thrift.protocol.TField("endPoint", org.apache.thrift.protocol.TType.STRING, (short)9);
   private static final org.apache.thrift.protocol.TField SPAN_EVENT_LIST_FIELD_DESC = new org.apache.thrift.protocol.TField("spanEventList", org.apache.thrift.protocol.TType.LIST, (short)10);
   private static final org.apache.thrift.protocol.TField APPLICATION_SERVICE_TYPE_FIELD_DESC = new org.apache.thrift.protocol.TField("applicationServiceType", org.apache.thrift.protocol.TType.I16, (short)11);
+  private static final org.apache.thrift.protocol.TField STATISTICS_AGGREGATED_FIELD_DESC = new org.apache.thrift.protocol.TField("statisticsAggregated", org.apache.thrift.protocol.TType.BOOL, (short)12);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
   static {
@@ -63,6 +64,7 @@ public class TSpanChunk implements org.apache.thrift.TBase<TSpanChunk, TSpanChun
   private String endPoint; // optional
   private List<TSpanEvent> spanEventList; // required
   private short applicationServiceType; // optional
+  private boolean statisticsAggregated; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -74,7 +76,8 @@ public class TSpanChunk implements org.apache.thrift.TBase<TSpanChunk, TSpanChun
     SPAN_ID((short)8, "spanId"),
     END_POINT((short)9, "endPoint"),
     SPAN_EVENT_LIST((short)10, "spanEventList"),
-    APPLICATION_SERVICE_TYPE((short)11, "applicationServiceType");
+    APPLICATION_SERVICE_TYPE((short)11, "applicationServiceType"),
+    STATISTICS_AGGREGATED((short)12, "statisticsAggregated");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -107,6 +110,8 @@ public class TSpanChunk implements org.apache.thrift.TBase<TSpanChunk, TSpanChun
           return SPAN_EVENT_LIST;
         case 11: // APPLICATION_SERVICE_TYPE
           return APPLICATION_SERVICE_TYPE;
+        case 12: // STATISTICS_AGGREGATED
+          return STATISTICS_AGGREGATED;
         default:
           return null;
       }
@@ -151,8 +156,9 @@ public class TSpanChunk implements org.apache.thrift.TBase<TSpanChunk, TSpanChun
   private static final int __SERVICETYPE_ISSET_ID = 1;
   private static final int __SPANID_ISSET_ID = 2;
   private static final int __APPLICATIONSERVICETYPE_ISSET_ID = 3;
+  private static final int __STATISTICSAGGREGATED_ISSET_ID = 4;
   private byte __isset_bitfield = 0;
-  private static final _Fields optionals[] = {_Fields.END_POINT,_Fields.APPLICATION_SERVICE_TYPE};
+  private static final _Fields optionals[] = {_Fields.END_POINT,_Fields.APPLICATION_SERVICE_TYPE,_Fields.STATISTICS_AGGREGATED};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -175,6 +181,8 @@ public class TSpanChunk implements org.apache.thrift.TBase<TSpanChunk, TSpanChun
             new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TSpanEvent.class))));
     tmpMap.put(_Fields.APPLICATION_SERVICE_TYPE, new org.apache.thrift.meta_data.FieldMetaData("applicationServiceType", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I16)));
+    tmpMap.put(_Fields.STATISTICS_AGGREGATED, new org.apache.thrift.meta_data.FieldMetaData("statisticsAggregated", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BOOL)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TSpanChunk.class, metaDataMap);
   }
@@ -232,6 +240,7 @@ public class TSpanChunk implements org.apache.thrift.TBase<TSpanChunk, TSpanChun
       this.spanEventList = __this__spanEventList;
     }
     this.applicationServiceType = other.applicationServiceType;
+    this.statisticsAggregated = other.statisticsAggregated;
   }
 
   public TSpanChunk deepCopy() {
@@ -253,6 +262,8 @@ public class TSpanChunk implements org.apache.thrift.TBase<TSpanChunk, TSpanChun
     this.spanEventList = null;
     setApplicationServiceTypeIsSet(false);
     this.applicationServiceType = 0;
+    setStatisticsAggregatedIsSet(false);
+    this.statisticsAggregated = false;
   }
 
   public String getAgentId() {
@@ -482,6 +493,28 @@ public class TSpanChunk implements org.apache.thrift.TBase<TSpanChunk, TSpanChun
     __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __APPLICATIONSERVICETYPE_ISSET_ID, value);
   }
 
+  public boolean isStatisticsAggregated() {
+    return this.statisticsAggregated;
+  }
+
+  public void setStatisticsAggregated(boolean statisticsAggregated) {
+    this.statisticsAggregated = statisticsAggregated;
+    setStatisticsAggregatedIsSet(true);
+  }
+
+  public void unsetStatisticsAggregated() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __STATISTICSAGGREGATED_ISSET_ID);
+  }
+
+  /** Returns true if field statisticsAggregated is set (has been assigned a value) and false otherwise */
+  public boolean isSetStatisticsAggregated() {
+    return EncodingUtils.testBit(__isset_bitfield, __STATISTICSAGGREGATED_ISSET_ID);
+  }
+
+  public void setStatisticsAggregatedIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __STATISTICSAGGREGATED_ISSET_ID, value);
+  }
+
   public void setFieldValue(_Fields field, Object value) {
     switch (field) {
     case AGENT_ID:
@@ -556,6 +589,14 @@ public class TSpanChunk implements org.apache.thrift.TBase<TSpanChunk, TSpanChun
       }
       break;
 
+    case STATISTICS_AGGREGATED:
+      if (value == null) {
+        unsetStatisticsAggregated();
+      } else {
+        setStatisticsAggregated((Boolean)value);
+      }
+      break;
+
     }
   }
 
@@ -588,6 +629,9 @@ public class TSpanChunk implements org.apache.thrift.TBase<TSpanChunk, TSpanChun
     case APPLICATION_SERVICE_TYPE:
       return Short.valueOf(getApplicationServiceType());
 
+    case STATISTICS_AGGREGATED:
+      return Boolean.valueOf(isStatisticsAggregated());
+
     }
     throw new IllegalStateException();
   }
@@ -617,6 +661,8 @@ public class TSpanChunk implements org.apache.thrift.TBase<TSpanChunk, TSpanChun
       return isSetSpanEventList();
     case APPLICATION_SERVICE_TYPE:
       return isSetApplicationServiceType();
+    case STATISTICS_AGGREGATED:
+      return isSetStatisticsAggregated();
     }
     throw new IllegalStateException();
   }
@@ -715,6 +761,15 @@ public class TSpanChunk implements org.apache.thrift.TBase<TSpanChunk, TSpanChun
         return false;
     }
 
+    boolean this_present_statisticsAggregated = true && this.isSetStatisticsAggregated();
+    boolean that_present_statisticsAggregated = true && that.isSetStatisticsAggregated();
+    if (this_present_statisticsAggregated || that_present_statisticsAggregated) {
+      if (!(this_present_statisticsAggregated && that_present_statisticsAggregated))
+        return false;
+      if (this.statisticsAggregated != that.statisticsAggregated)
+        return false;
+    }
+
     return true;
   }
 
@@ -767,6 +822,11 @@ public class TSpanChunk implements org.apache.thrift.TBase<TSpanChunk, TSpanChun
     if (present_applicationServiceType)
       list.add(applicationServiceType);
 
+    boolean present_statisticsAggregated = true && (isSetStatisticsAggregated());
+    list.add(present_statisticsAggregated);
+    if (present_statisticsAggregated)
+      list.add(statisticsAggregated);
+
     return list.hashCode();
   }
 
@@ -868,6 +928,16 @@ public class TSpanChunk implements org.apache.thrift.TBase<TSpanChunk, TSpanChun
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetStatisticsAggregated()).compareTo(other.isSetStatisticsAggregated());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetStatisticsAggregated()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.statisticsAggregated, other.statisticsAggregated);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -947,6 +1017,12 @@ public class TSpanChunk implements org.apache.thrift.TBase<TSpanChunk, TSpanChun
       sb.append(this.applicationServiceType);
       first = false;
     }
+    if (isSetStatisticsAggregated()) {
+      if (!first) sb.append(", ");
+      sb.append("statisticsAggregated:");
+      sb.append(this.statisticsAggregated);
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -1075,6 +1151,14 @@ public class TSpanChunk implements org.apache.thrift.TBase<TSpanChunk, TSpanChun
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 12: // STATISTICS_AGGREGATED
+            if (schemeField.type == org.apache.thrift.protocol.TType.BOOL) {
+              struct.statisticsAggregated = iprot.readBool();
+              struct.setStatisticsAggregatedIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -1136,6 +1220,11 @@ public class TSpanChunk implements org.apache.thrift.TBase<TSpanChunk, TSpanChun
         oprot.writeI16(struct.applicationServiceType);
         oprot.writeFieldEnd();
       }
+      if (struct.isSetStatisticsAggregated()) {
+        oprot.writeFieldBegin(STATISTICS_AGGREGATED_FIELD_DESC);
+        oprot.writeBool(struct.statisticsAggregated);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -1181,7 +1270,10 @@ public class TSpanChunk implements org.apache.thrift.TBase<TSpanChunk, TSpanChun
       if (struct.isSetApplicationServiceType()) {
         optionals.set(8);
       }
-      oprot.writeBitSet(optionals, 9);
+      if (struct.isSetStatisticsAggregated()) {
+        optionals.set(9);
+      }
+      oprot.writeBitSet(optionals, 10);
       if (struct.isSetAgentId()) {
         oprot.writeString(struct.agentId);
       }
@@ -1215,12 +1307,15 @@ public class TSpanChunk implements org.apache.thrift.TBase<TSpanChunk, TSpanChun
       if (struct.isSetApplicationServiceType()) {
         oprot.writeI16(struct.applicationServiceType);
       }
+      if (struct.isSetStatisticsAggregated()) {
+        oprot.writeBool(struct.statisticsAggregated);
+      }
     }
 
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, TSpanChunk struct) throws org.apache.thrift.TException {
       TTupleProtocol iprot = (TTupleProtocol) prot;
-      BitSet incoming = iprot.readBitSet(9);
+      BitSet incoming = iprot.readBitSet(10);
       if (incoming.get(0)) {
         struct.agentId = iprot.readString();
         struct.setAgentIdIsSet(true);
@@ -1267,6 +1362,10 @@ public class TSpanChunk implements org.apache.thrift.TBase<TSpanChunk, TSpanChun
         struct.applicationServiceType = iprot.readI16();
         struct.setApplicationServiceTypeIsSet(true);
       }
+      if (incoming.get(9)) {
+        struct.statisticsAggregated = iprot.readBool();
+        struct.setStatisticsAggregatedIsSet(true);
+      }
     }
   }
 
@@ -56,8 +56,19 @@ public class HeaderTBaseDeserializer {
      * @param bytes   The array to read from
      */
     public TBase<?, ?> deserialize(byte[] bytes) throws TException {
+        return deserialize(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Deserialize the Thrift object from a region of a byte array.
+     *
+     * @param bytes   The array to read from
+     * @param offset  The offset of the message
+     * @param length  The length of the message
+     */
+    public TBase<?, ?> deserialize(byte[] bytes, int offset, int length) throws TException {
         try {
-            trans.reset(bytes);
+            trans.reset(bytes, offset, length);
             Header header = readHeader();
             final int validate = validate(header);
             if (validate == HeaderUtils.OK) {
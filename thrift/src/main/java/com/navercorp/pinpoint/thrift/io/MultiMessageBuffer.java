@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.thrift.io;
+
+/**
+ * Packs serialized messages into one {@link MultiMessageConstants} envelope.
+ * Caution. not thread safe
+ */
+public class MultiMessageBuffer {
+
+    private final byte[] buffer;
+    private int position;
+    private int messageCount;
+
+    public MultiMessageBuffer(int bufferSize) {
+        if (bufferSize < MultiMessageConstants.HEADER_SIZE + MultiMessageConstants.LENGTH_FIELD_SIZE) {
+            throw new IllegalArgumentException("bufferSize too small. bufferSize:" + bufferSize);
+        }
+        this.buffer = new byte[bufferSize];
+        reset();
+    }
+
+    public boolean isAppendable(int length) {
+        if (length > MultiMessageConstants.MAX_MESSAGE_LENGTH) {
+            return false;
+        }
+        if (messageCount >= MultiMessageConstants.MAX_MESSAGE_COUNT) {
+            return false;
+        }
+        return position + MultiMessageConstants.LENGTH_FIELD_SIZE + length <= buffer.length;
+    }
+
+    public boolean append(byte[] data, int offset, int length) {
+        if (data == null) {
+            throw new NullPointerException("data must not be null");
+        }
+        if (!isAppendable(length)) {
+            return false;
+        }
+        writeShort(position, length);
+        position += MultiMessageConstants.LENGTH_FIELD_SIZE;
+        System.arraycopy(data, offset, buffer, position, length);
+        position += length;
+        messageCount++;
+        return true;
+    }
+
+    /**
+     * @return internal buffer. valid up to {@link #getLength()}
+     */
+    public byte[] getBuffer() {
+        writeShort(2, messageCount);
+        return buffer;
+    }
+
+    public int getLength() {
+        return position;
+    }
+
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    public boolean isEmpty() {
+        return messageCount == 0;
+    }
+
+    /**
+     * offset of the first message body. used to send a lone message without the envelope.
+     */
+    public int getFirstMessageOffset() {
+        return MultiMessageConstants.HEADER_SIZE + MultiMessageConstants.LENGTH_FIELD_SIZE;
+    }
+
+    public void reset() {
+        buffer[0] = MultiMessageConstants.SIGNATURE;
+        buffer[1] = MultiMessageConstants.VERSION;
+        this.position = MultiMessageConstants.HEADER_SIZE;
+        this.messageCount = 0;
+    }
+
+    private void writeShort(int index, int value) {
+        buffer[index] = (byte) (value >>> 8);
+        buffer[index + 1] = (byte) value;
+    }
+}
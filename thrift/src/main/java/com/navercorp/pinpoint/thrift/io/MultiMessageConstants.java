@@ -0,0 +1,36 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.thrift.io;
+
+/**
+ * Layout of a datagram packing several header+TBase messages.
+ * <pre>
+ * signature(1) version(1) messageCount(2) { messageLength(2) message(messageLength) }*
+ * </pre>
+ */
+public class MultiMessageConstants {
+
+    public static final byte SIGNATURE = (byte) 0xCB;
+    public static final byte VERSION = (byte) 0x10;
+
+    public static final int HEADER_SIZE = 4;
+    public static final int LENGTH_FIELD_SIZE = 2;
+
+    public static final int MAX_MESSAGE_COUNT = 0xFFFF;
+    public static final int MAX_MESSAGE_LENGTH = 0xFFFF;
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.thrift.io;
+
+import org.apache.thrift.TException;
+
+/**
+ * Iterates over the messages of a {@link MultiMessageConstants} envelope without copying.
+ * <pre>
+ * while (reader.next()) {
+ *     deserializer.deserialize(buffer, reader.getMessageOffset(), reader.getMessageLength());
+ * }
+ * </pre>
+ */
+public class MultiMessageReader {
+
+    private final byte[] buffer;
+    private final int endOffset;
+    private final int messageCount;
+
+    private int readCount = 0;
+    private int position;
+
+    private int messageOffset;
+    private int messageLength;
+
+    public MultiMessageReader(byte[] buffer, int offset, int length) throws TException {
+        if (buffer == null) {
+            throw new NullPointerException("buffer must not be null");
+        }
+        if (!isMultiMessage(buffer, offset, length)) {
+            throw new TException("Invalid MultiMessage signature");
+        }
+        final byte version = buffer[offset + 1];
+        if (version != MultiMessageConstants.VERSION) {
+            throw new TException("Unsupported MultiMessage version:" + version);
+        }
+        this.buffer = buffer;
+        this.endOffset = offset + length;
+        this.messageCount = readShort(offset + 2);
+        this.position = offset + MultiMessageConstants.HEADER_SIZE;
+    }
+
+    public static boolean isMultiMessage(byte[] buffer, int offset, int length) {
+        if (buffer == null) {
+            return false;
+        }
+        if (length < MultiMessageConstants.HEADER_SIZE) {
+            return false;
+        }
+        return buffer[offset] == MultiMessageConstants.SIGNATURE;
+    }
+
+    public boolean next() throws TException {
+        if (readCount >= messageCount) {
+            return false;
+        }
+        if (position + MultiMessageConstants.LENGTH_FIELD_SIZE > endOffset) {
+            throw new TException("MultiMessage truncated. readCount:" + readCount + " messageCount:" + messageCount);
+        }
+        final int length = readShort(position);
+        position += MultiMessageConstants.LENGTH_FIELD_SIZE;
+        if (position + length > endOffset) {
+            throw new TException("MultiMessage truncated. length:" + length + " remaining:" + (endOffset - position));
+        }
+        this.messageOffset = position;
+        this.messageLength = length;
+        position += length;
+        readCount++;
+        return true;
+    }
+
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    public int getMessageOffset() {
+        return messageOffset;
+    }
+
+    public int getMessageLength() {
+        return messageLength;
+    }
+
+    private int readShort(int index) {
+        return ((buffer[index] & 0xff) << 8) | (buffer[index + 1] & 0xff);
+    }
+}
@@ -91,6 +91,24 @@ struct TActiveTrace {
 	1: optional TActiveTraceHistogram   histogram
 }
 
+struct TAllocation {
+    1: optional i64     allocatedBytes
+    2: optional i64     spanEventNewCount
+    3: optional i64     spanEventReuseCount
+}
+
+struct TSpill {
+    1: optional i64     spillCount
+    2: optional i64     drainCount
+    3: optional i64     dropCount
+}
+
+struct TTransform {
+    1: optional i64     classCount
+    2: optional i64     indexMissCount
+    3: optional i64     transformCount
+}
+
 struct TAgentStat {
     1: optional string      agentId
     2: optional i64         startTimestamp
@@ -100,6 +118,9 @@ struct TAgentStat {
     20: optional TCpuLoad   cpuLoad
     30: optional TTransaction   transaction
     40: optional TActiveTrace   activeTrace
+    50: optional TAllocation    allocation
+    60: optional TSpill         spill
+    70: optional TTransform     transform
     200: optional string    metadata    
 }
 
@@ -108,3 +129,27 @@ struct TAgentStatBatch {
     2: i64                      startTimestamp
     10: list<TAgentStat>        agentStats
 }
+
+// histogram: counts of the fast, normal, slow, verySlow, fastError, normalError, slowError, verySlowError slots in order
+struct TResponseHistogram {
+    1: string           applicationName
+    2: i16              serviceType
+    3: optional string  agentId
+    4: string           targetApplicationName
+    5: i16              targetServiceType
+    6: optional string  host
+    10: list<i64>       histogram
+}
+
+// server map statistics aggregated on the agent for sampled and unsampled transactions
+struct TResponseHistogramBatch {
+    1: string                               agentId
+    2: i64                                  startTimestamp
+    3: string                               applicationName
+    4: i16                                  applicationServiceType
+    5: i64                                  timestamp
+    6: i64                                  collectInterval
+    10: optional list<i64>                  responseHistogram
+    20: optional list<TResponseHistogram>   callerHistograms
+    30: optional list<TResponseHistogram>   calleeHistograms
+}
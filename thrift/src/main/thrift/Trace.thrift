@@ -102,6 +102,9 @@ struct TSpan {
   
   30: optional i16 applicationServiceType;
   31: optional byte loggingTransactionInfo;
+
+  // server map statistics of this span are aggregated and sent by the agent
+  32: optional bool statisticsAggregated;
 }
 
 struct TSpanChunk {
@@ -124,6 +127,8 @@ struct TSpanChunk {
   10: list<TSpanEvent> spanEventList
   
   11: optional i16 applicationServiceType
+
+  12: optional bool statisticsAggregated
 }
 
 
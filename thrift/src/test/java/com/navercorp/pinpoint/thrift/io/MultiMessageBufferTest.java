@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.thrift.io;
+
+import org.apache.thrift.TException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class MultiMessageBufferTest {
+
+    @Test
+    public void appendAndRead() throws TException {
+        MultiMessageBuffer buffer = new MultiMessageBuffer(1024);
+        byte[] message1 = new byte[] {1, 2, 3};
+        byte[] message2 = new byte[] {4, 5, 6, 7, 8};
+        Assert.assertTrue(buffer.append(message1, 0, message1.length));
+        Assert.assertTrue(buffer.append(message2, 1, 3));
+        Assert.assertEquals(2, buffer.getMessageCount());
+
+        byte[] packet = buffer.getBuffer();
+        int length = buffer.getLength();
+        Assert.assertTrue(MultiMessageReader.isMultiMessage(packet, 0, length));
+
+        MultiMessageReader reader = new MultiMessageReader(packet, 0, length);
+        Assert.assertEquals(2, reader.getMessageCount());
+
+        Assert.assertTrue(reader.next());
+        Assert.assertArrayEquals(message1, copy(packet, reader));
+        Assert.assertTrue(reader.next());
+        Assert.assertArrayEquals(new byte[] {5, 6, 7}, copy(packet, reader));
+        Assert.assertFalse(reader.next());
+    }
+
+    @Test
+    public void full() {
+        MultiMessageBuffer buffer = new MultiMessageBuffer(MultiMessageConstants.HEADER_SIZE + MultiMessageConstants.LENGTH_FIELD_SIZE + 4);
+        Assert.assertFalse(buffer.append(new byte[5], 0, 5));
+        Assert.assertTrue(buffer.append(new byte[4], 0, 4));
+        Assert.assertFalse(buffer.isAppendable(0));
+
+        buffer.reset();
+        Assert.assertTrue(buffer.isEmpty());
+        Assert.assertTrue(buffer.isAppendable(4));
+    }
+
+    @Test
+    public void headerTBasePacket() {
+        byte[] packet = new byte[] {Header.SIGNATURE, 0x10, 0, 40};
+        Assert.assertFalse(MultiMessageReader.isMultiMessage(packet, 0, packet.length));
+    }
+
+    @Test(expected = TException.class)
+    public void truncated() throws TException {
+        MultiMessageBuffer buffer = new MultiMessageBuffer(1024);
+        buffer.append(new byte[10], 0, 10);
+        byte[] packet = buffer.getBuffer();
+
+        MultiMessageReader reader = new MultiMessageReader(packet, 0, buffer.getLength() - 1);
+        reader.next();
+    }
+
+    private byte[] copy(byte[] packet, MultiMessageReader reader) {
+        return Arrays.copyOfRange(packet, reader.getMessageOffset(), reader.getMessageOffset() + reader.getMessageLength());
+    }
+}
@@ -82,9 +82,9 @@ public class AgentTimeHistogram {
         final List<AgentResponseTimeViewModel> result = new ArrayList<>();
         for (AgentHistogram agentHistogram : agentHistogramList.getAgentHistogramList()) {
             Application agentId = agentHistogram.getAgentId();
-            List<TimeHistogram> timeList = sortTimeHistogram(agentHistogram.getTimeHistogram());
-            AgentResponseTimeViewModel model = createAgentResponseTimeViewModel(agentId, timeList);
-            result.add(model);
+            // time stamps of the array are already sorted
+            List<ResponseTimeViewModel> responseTimeViewModel = createResponseTimeViewModel(agentHistogram.getTimeHistogramArray());
+            result.add(new AgentResponseTimeViewModel(agentId, responseTimeViewModel));
         }
         Collections.sort(result, new Comparator<AgentResponseTimeViewModel>() {
             @Override
@@ -95,17 +95,16 @@ public class AgentTimeHistogram {
         return result;
     }
 
-    private List<TimeHistogram> sortTimeHistogram(Collection<TimeHistogram> timeMap) {
-        List<TimeHistogram> timeList = new ArrayList<>(timeMap);
-        Collections.sort(timeList, TimeHistogram.TIME_STAMP_ASC_COMPARATOR);
-        return timeList;
-    }
-
-
-    private AgentResponseTimeViewModel createAgentResponseTimeViewModel(Application agentName, List<TimeHistogram> timeHistogramList) {
-        List<ResponseTimeViewModel> responseTimeViewModel = createResponseTimeViewModel(timeHistogramList);
-        AgentResponseTimeViewModel agentResponseTimeViewModel = new AgentResponseTimeViewModel(agentName, responseTimeViewModel);
-        return agentResponseTimeViewModel;
+    private List<ResponseTimeViewModel> createResponseTimeViewModel(TimeHistogramArray histogramArray) {
+        final List<ResponseTimeViewModel> value = new ArrayList<>(5);
+        ServiceType serviceType = application.getServiceType();
+        HistogramSchema schema = serviceType.getHistogramSchema();
+        value.add(new ResponseTimeViewModel(schema.getFastSlot().getSlotName(), histogramArray, SlotType.FAST));
+        value.add(new ResponseTimeViewModel(schema.getNormalSlot().getSlotName(), histogramArray, SlotType.NORMAL));
+        value.add(new ResponseTimeViewModel(schema.getSlowSlot().getSlotName(), histogramArray, SlotType.SLOW));
+        value.add(new ResponseTimeViewModel(schema.getVerySlowSlot().getSlotName(), histogramArray, SlotType.VERY_SLOW));
+        value.add(new ResponseTimeViewModel(schema.getErrorSlot().getSlotName(), histogramArray, SlotType.ERROR));
+        return value;
     }
 
     public List<ResponseTimeViewModel> createResponseTimeViewModel(List<TimeHistogram> timeHistogramList) {
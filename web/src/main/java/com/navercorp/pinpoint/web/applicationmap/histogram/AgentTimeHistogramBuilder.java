@@ -87,26 +87,21 @@ public class AgentTimeHistogramBuilder {
             return new AgentHistogramList();
         }
 
-        // create window space. Prior to using a AgentHistogramList, we used a raw data structure.
-        // could've been a list, but since range overflow may occur when applying filters, we use a map instead.
-        // TODO: find better structure
+        // create window space. time stamps outside of the window are kept
+        // since range overflow may occur when applying filters.
+        final int windowCount = (int) window.getWindowRangeCount();
         final AgentHistogramList resultAgentHistogramList = new AgentHistogramList();
         for (AgentHistogram agentHistogram : agentHistogramList.getAgentHistogramList()) {
-            List<TimeHistogram> timeHistogramList = new ArrayList<>();
+            final TimeHistogramArray histogramArray = agentHistogram.getTimeHistogramArray();
+            final TimeHistogramArray windowHistogramArray = new TimeHistogramArray(histogramArray.getHistogramSchema(), windowCount);
             for (Long time : window) {
-                timeHistogramList.add(new TimeHistogram(application.getServiceType(), time));
+                windowHistogramArray.addTimeStamp(time);
             }
-            resultAgentHistogramList.addTimeHistogram(agentHistogram.getAgentId(), timeHistogramList);
-        }
-
-        for (AgentHistogram agentHistogram : agentHistogramList.getAgentHistogramList()) {
-            for (TimeHistogram timeHistogram : agentHistogram.getTimeHistogram()) {
-                final Long time = window.refineTimestamp(timeHistogram.getTimeStamp());
-                Application agentId = agentHistogram.getAgentId();
-                TimeHistogram windowHistogram = new TimeHistogram(timeHistogram.getHistogramSchema(), time);
-                windowHistogram.add(timeHistogram);
-                resultAgentHistogramList.addTimeHistogram(agentId, windowHistogram);
+            for (int index = 0; index < histogramArray.size(); index++) {
+                final long time = window.refineTimestamp(histogramArray.getTimeStamp(index));
+                windowHistogramArray.add(time, histogramArray, index);
             }
+            resultAgentHistogramList.addTimeHistogram(agentHistogram.getAgentId(), windowHistogramArray);
         }
 
         return resultAgentHistogramList;
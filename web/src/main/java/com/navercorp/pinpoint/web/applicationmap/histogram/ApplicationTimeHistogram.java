@@ -38,7 +38,7 @@ public class ApplicationTimeHistogram {
     private final Application application;
     private final Range range;
 
-    private List<TimeHistogram> histogramList;
+    private final TimeHistogramArray histogramArray;
 
     public ApplicationTimeHistogram(Application application, Range range) {
         this(application, range, Collections.<TimeHistogram>emptyList());
@@ -56,32 +56,50 @@ public class ApplicationTimeHistogram {
         }
         this.application = application;
         this.range = range;
-        this.histogramList = histogramList;
+        this.histogramArray = new TimeHistogramArray(application.getServiceType().getHistogramSchema(), histogramList.size());
+        for (TimeHistogram timeHistogram : histogramList) {
+            this.histogramArray.add(timeHistogram);
+        }
+    }
+
+    public ApplicationTimeHistogram(Application application, Range range, TimeHistogramArray histogramArray) {
+        if (application == null) {
+            throw new NullPointerException("application must not be null");
+        }
+        if (range == null) {
+            throw new NullPointerException("range must not be null");
+        }
+        if (histogramArray == null) {
+            throw new NullPointerException("histogramArray must not be null");
+        }
+        this.application = application;
+        this.range = range;
+        this.histogramArray = histogramArray;
     }
 
     public List<ResponseTimeViewModel> createViewModel() {
         final List<ResponseTimeViewModel> value = new ArrayList<>(5);
         ServiceType serviceType = application.getServiceType();
         HistogramSchema schema = serviceType.getHistogramSchema();
-        value.add(new ResponseTimeViewModel(schema.getFastSlot().getSlotName(), getColumnValue(SlotType.FAST)));
+        value.add(new ResponseTimeViewModel(schema.getFastSlot().getSlotName(), histogramArray, SlotType.FAST));
 //        value.add(new ResponseTimeViewModel(schema.getFastErrorSlot().getSlotName(), getColumnValue(SlotType.FAST_ERROR)));
-        value.add(new ResponseTimeViewModel(schema.getNormalSlot().getSlotName(), getColumnValue(SlotType.NORMAL)));
+        value.add(new ResponseTimeViewModel(schema.getNormalSlot().getSlotName(), histogramArray, SlotType.NORMAL));
 //        value.add(new ResponseTimeViewModel(schema.getNormalErrorSlot().getSlotName(), getColumnValue(SlotType.NORMAL_ERROR)));
-        value.add(new ResponseTimeViewModel(schema.getSlowSlot().getSlotName(), getColumnValue(SlotType.SLOW)));
+        value.add(new ResponseTimeViewModel(schema.getSlowSlot().getSlotName(), histogramArray, SlotType.SLOW));
 //        value.add(new ResponseTimeViewModel(schema.getSlowErrorSlot().getSlotName(), getColumnValue(SlotType.SLOW_ERROR)));
-        value.add(new ResponseTimeViewModel(schema.getVerySlowSlot().getSlotName(), getColumnValue(SlotType.VERY_SLOW)));
+        value.add(new ResponseTimeViewModel(schema.getVerySlowSlot().getSlotName(), histogramArray, SlotType.VERY_SLOW));
 //        value.add(new ResponseTimeViewModel(schema.getVerySlowErrorSlot().getSlotName(), getColumnValue(SlotType.VERY_SLOW_ERROR)));
-        value.add(new ResponseTimeViewModel(schema.getErrorSlot().getSlotName(), getColumnValue(SlotType.ERROR)));
+        value.add(new ResponseTimeViewModel(schema.getErrorSlot().getSlotName(), histogramArray, SlotType.ERROR));
 
         return value;
     }
 
     public List<ResponseTimeViewModel.TimeCount> getColumnValue(SlotType slotType) {
-        List<ResponseTimeViewModel.TimeCount> result = new ArrayList<>(histogramList.size());
-        for (TimeHistogram timeHistogram : histogramList) {
-            final long timeStamp = timeHistogram.getTimeStamp();
+        List<ResponseTimeViewModel.TimeCount> result = new ArrayList<>(histogramArray.size());
+        for (int index = 0; index < histogramArray.size(); index++) {
+            final long timeStamp = histogramArray.getTimeStamp(index);
 
-            ResponseTimeViewModel.TimeCount TimeCount = new ResponseTimeViewModel.TimeCount(timeStamp, getCount(timeHistogram, slotType));
+            ResponseTimeViewModel.TimeCount TimeCount = new ResponseTimeViewModel.TimeCount(timeStamp, histogramArray.getCount(slotType, index));
             result.add(TimeCount);
         }
         return result;
@@ -57,81 +57,50 @@ public class ApplicationTimeHistogramBuilder {
             throw new NullPointerException("responseHistogramList must not be null");
         }
 
-        Map<Long, TimeHistogram> applicationLevelHistogram = new HashMap<>();
-
+        final TimeHistogramArray histogramArray = createWindowHistogramArray();
         for (ResponseTime responseTime : responseHistogramList) {
-            final Long timeStamp = responseTime.getTimeStamp();
-            TimeHistogram timeHistogram = applicationLevelHistogram.get(timeStamp);
-            if (timeHistogram == null) {
-                timeHistogram = new TimeHistogram(application.getServiceType(), timeStamp);
-                applicationLevelHistogram.put(timeStamp, timeHistogram);
-            }
+            final long timeStamp = window.refineTimestamp(responseTime.getTimeStamp());
             // add each agent-level data
             Histogram applicationResponseHistogram = responseTime.getApplicationResponseHistogram();
-            timeHistogram.add(applicationResponseHistogram);
+            histogramArray.add(timeStamp, applicationResponseHistogram);
         }
 
-
-//        Collections.sort(histogramList, TimeHistogram.TIME_STAMP_ASC_COMPARATOR);
-        List<TimeHistogram> histogramList = interpolation(applicationLevelHistogram.values());
         if (logger.isTraceEnabled()) {
-            for (TimeHistogram histogram : histogramList) {
-                logger.trace("applicationLevel histogram:{}", histogram);
-            }
+            logger.trace("applicationLevel histogram:{}", histogramArray.getTimeHistogramList());
         }
-        ApplicationTimeHistogram applicationTimeHistogram = new ApplicationTimeHistogram(application, range, histogramList);
+        ApplicationTimeHistogram applicationTimeHistogram = new ApplicationTimeHistogram(application, range, histogramArray);
         return applicationTimeHistogram;
     }
 
     public ApplicationTimeHistogram build(Collection<LinkCallData> linkCallDataMapList) {
-        Map<Long, TimeHistogram> applicationLevelHistogram = new HashMap<>();
+        final TimeHistogramArray histogramArray = createWindowHistogramArray();
         for (LinkCallData linkCallData : linkCallDataMapList) {
-            for (TimeHistogram timeHistogram : linkCallData.getTimeHistogram()) {
-                Long timeStamp = timeHistogram.getTimeStamp();
-                TimeHistogram histogram = applicationLevelHistogram.get(timeStamp);
-                if (histogram == null) {
-                    histogram = new TimeHistogram(timeHistogram.getHistogramSchema(), timeStamp);
-                    applicationLevelHistogram.put(timeStamp, histogram);
-                }
-                histogram.add(timeHistogram);
+            final TimeHistogramArray linkHistogramArray = linkCallData.getTimeHistogramArray();
+            for (int index = 0; index < linkHistogramArray.size(); index++) {
+                final long timeStamp = window.refineTimestamp(linkHistogramArray.getTimeStamp(index));
+                histogramArray.add(timeStamp, linkHistogramArray, index);
             }
         }
 
-        List<TimeHistogram> histogramList = interpolation(applicationLevelHistogram.values());
         if (logger.isTraceEnabled()) {
-            for (TimeHistogram histogram : histogramList) {
-                logger.trace("applicationLevel histogram:{}", histogram);
-            }
+            logger.trace("applicationLevel histogram:{}", histogramArray.getTimeHistogramList());
         }
-        ApplicationTimeHistogram applicationTimeHistogram = new ApplicationTimeHistogram(application, range, histogramList);
+        ApplicationTimeHistogram applicationTimeHistogram = new ApplicationTimeHistogram(application, range, histogramArray);
         return applicationTimeHistogram;
 
     }
 
-    private List<TimeHistogram> interpolation(Collection<TimeHistogram> histogramList) {
-        // upon individual span query, "window time" alone may not be enough
-        //
-        Map<Long, TimeHistogram> resultMap = new HashMap<>();
+    /**
+     * upon individual span query, "window time" alone may not be enough
+     * so every window slot is present even if it has no data.
+     */
+    private TimeHistogramArray createWindowHistogramArray() {
+        final int windowCount = (int) window.getWindowRangeCount();
+        final TimeHistogramArray histogramArray = new TimeHistogramArray(application.getServiceType().getHistogramSchema(), windowCount);
         for (Long time : window) {
-            resultMap.put(time, new TimeHistogram(application.getServiceType(), time));
-        }
-
-
-        for (TimeHistogram timeHistogram : histogramList) {
-            long time = window.refineTimestamp(timeHistogram.getTimeStamp());
-
-            TimeHistogram windowHistogram = resultMap.get(time);
-            if (windowHistogram == null) {
-                windowHistogram = new TimeHistogram(application.getServiceType(), time);
-                resultMap.put(time, windowHistogram);
-            }
-            windowHistogram.add(timeHistogram);
+            histogramArray.addTimeStamp(time);
         }
-
-
-        List<TimeHistogram> resultList = new ArrayList<>(resultMap.values());
-        Collections.sort(resultList, TimeHistogram.TIME_STAMP_ASC_COMPARATOR);
-        return resultList;
+        return histogramArray;
     }
 
 }
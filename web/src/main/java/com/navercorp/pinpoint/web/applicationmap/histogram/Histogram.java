@@ -64,55 +64,92 @@ public class Histogram {
 
     // TODO one may extract slot number from this class
     public void addCallCount(final short slotTime, final long count) {
-        final HistogramSchema schema = this.schema;
+        final SlotType slotType = findSlotType(this.schema, slotTime);
+        if (slotType == null) {
+            throw new IllegalArgumentException("slot not found slotTime=" + slotTime + ", count=" + count + ", schema=" + schema);
+        }
+        addSlotCount(slotType, count);
+    }
 
+    /**
+     * @return the slot the slotTime is counted in, {@link SlotType#ERROR} for the legacy error slot.
+     * null if the schema does not have a matching slot
+     */
+    static SlotType findSlotType(HistogramSchema schema, short slotTime) {
         if (slotTime <= schema.getVerySlowErrorSlot().getSlotTime()) {
-            this.verySlowErrorCount += count;
-            return;
+            return SlotType.VERY_SLOW_ERROR;
         }
-
         if (slotTime <= schema.getSlowErrorSlot().getSlotTime()) {
-            this.slowErrorCount += count;
-            return;
+            return SlotType.SLOW_ERROR;
         }
-
-
         if (slotTime <= schema.getNormalErrorSlot().getSlotTime()) {
-            this.normalErrorCount += count;
-            return;
+            return SlotType.NORMAL_ERROR;
         }
-
         if (slotTime <= schema.getFastErrorSlot().getSlotTime()) {
-            this.fastErrorCount += count;
-            return;
+            return SlotType.FAST_ERROR;
         }
-
         if (slotTime <= schema.getErrorSlot().getSlotTime()) {
-            this.errorCount += count;
-            return;
+            return SlotType.ERROR;
         }
-
         if (slotTime == schema.getVerySlowSlot().getSlotTime()) { // 0 is slow slotTime
-            this.verySlowCount += count;
-            return;
+            return SlotType.VERY_SLOW;
         }
-
         if (slotTime <= schema.getFastSlot().getSlotTime()) {
-            this.fastCount += count;
-            return;
+            return SlotType.FAST;
         }
-
         if (slotTime <= schema.getNormalSlot().getSlotTime()) {
-            this.normalCount += count;
-            return;
+            return SlotType.NORMAL;
         }
-
         if (slotTime <= schema.getSlowSlot().getSlotTime()) {
-            this.slowCount += count;
-            return;
+            return SlotType.SLOW;
+        }
+        return null;
+    }
+
+    /**
+     * unlike {@link #getCount(SlotType)}, {@link SlotType#ERROR} only refers to the legacy error slot.
+     */
+    void addSlotCount(SlotType slotType, long count) {
+        switch (slotType) {
+            case FAST:
+                this.fastCount += count;
+                return;
+            case FAST_ERROR:
+                this.fastErrorCount += count;
+                return;
+            case NORMAL:
+                this.normalCount += count;
+                return;
+            case NORMAL_ERROR:
+                this.normalErrorCount += count;
+                return;
+            case SLOW:
+                this.slowCount += count;
+                return;
+            case SLOW_ERROR:
+                this.slowErrorCount += count;
+                return;
+            case VERY_SLOW:
+                this.verySlowCount += count;
+                return;
+            case VERY_SLOW_ERROR:
+                this.verySlowErrorCount += count;
+                return;
+            case ERROR:
+                this.errorCount += count;
+                return;
         }
+        throw new IllegalArgumentException("slotType:" + slotType);
+    }
 
-        throw new IllegalArgumentException("slot not found slotTime=" + slotTime + ", count=" + count + ", schema=" + schema);
+    /**
+     * unlike {@link #getCount(SlotType)}, {@link SlotType#ERROR} only refers to the legacy error slot.
+     */
+    long getSlotCount(SlotType slotType) {
+        if (slotType == SlotType.ERROR) {
+            return errorCount;
+        }
+        return getCount(slotType);
     }
 
     public HistogramSchema getHistogramSchema() {
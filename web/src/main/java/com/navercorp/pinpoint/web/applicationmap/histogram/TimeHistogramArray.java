@@ -0,0 +1,340 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.applicationmap.histogram;
+
+import com.navercorp.pinpoint.common.trace.HistogramSchema;
+import com.navercorp.pinpoint.common.trace.SlotType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Response histograms of a time series stored as primitive arrays.
+ * <p>
+ * Time stamps are kept in ascending order and the count of each slot is stored in its own row,
+ * indexed the same way as the time stamps, so a series holds 10 arrays no matter how many time slots it has
+ * instead of a boxed key and a {@link TimeHistogram} per time slot.
+ * {@link SlotType#ERROR} rows only hold the legacy error slot, as {@link Histogram} does.
+ */
+public class TimeHistogramArray {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private static final SlotType[] SLOT_TYPES = SlotType.values();
+
+    private final HistogramSchema schema;
+
+    private long[] timeStamps;
+    // [slotType.ordinal()][time stamp index]
+    private long[][] counts;
+    private int size;
+
+    public TimeHistogramArray(HistogramSchema schema) {
+        this(schema, DEFAULT_CAPACITY);
+    }
+
+    public TimeHistogramArray(HistogramSchema schema, int initialCapacity) {
+        if (schema == null) {
+            throw new NullPointerException("schema must not be null");
+        }
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("negative initialCapacity");
+        }
+        this.schema = schema;
+        this.timeStamps = new long[initialCapacity];
+        this.counts = new long[SLOT_TYPES.length][initialCapacity];
+    }
+
+    public TimeHistogramArray(TimeHistogramArray copy) {
+        if (copy == null) {
+            throw new NullPointerException("copy must not be null");
+        }
+        this.schema = copy.schema;
+        this.size = copy.size;
+        this.timeStamps = Arrays.copyOf(copy.timeStamps, copy.size);
+        this.counts = new long[SLOT_TYPES.length][];
+        for (int slot = 0; slot < SLOT_TYPES.length; slot++) {
+            this.counts[slot] = Arrays.copyOf(copy.counts[slot], copy.size);
+        }
+    }
+
+    public HistogramSchema getHistogramSchema() {
+        return schema;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getTimeStamp(int index) {
+        checkIndex(index);
+        return timeStamps[index];
+    }
+
+    /**
+     * @see Histogram#getCount(SlotType)
+     */
+    public long getCount(SlotType slotType, int index) {
+        if (slotType == null) {
+            throw new NullPointerException("slotType must not be null");
+        }
+        checkIndex(index);
+        if (slotType == SlotType.ERROR) {
+            // for backward compatibility.
+            return counts[SlotType.ERROR.ordinal()][index] + counts[SlotType.FAST_ERROR.ordinal()][index] + counts[SlotType.NORMAL_ERROR.ordinal()][index]
+                    + counts[SlotType.SLOW_ERROR.ordinal()][index] + counts[SlotType.VERY_SLOW_ERROR.ordinal()][index];
+        }
+        return counts[slotType.ordinal()][index];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index:" + index + ", size:" + size);
+        }
+    }
+
+    /**
+     * adds an empty entry for the time stamp if there is none.
+     */
+    public void addTimeStamp(long timeStamp) {
+        indexOf(timeStamp);
+    }
+
+    public void addCallCount(long timeStamp, short slotTime, long count) {
+        final SlotType slotType = Histogram.findSlotType(schema, slotTime);
+        if (slotType == null) {
+            throw new IllegalArgumentException("slot not found slotTime=" + slotTime + ", count=" + count + ", schema=" + schema);
+        }
+        final int index = indexOf(timeStamp);
+        counts[slotType.ordinal()][index] += count;
+    }
+
+    public void add(TimeHistogram timeHistogram) {
+        if (timeHistogram == null) {
+            throw new NullPointerException("timeHistogram must not be null");
+        }
+        add(timeHistogram.getTimeStamp(), timeHistogram);
+    }
+
+    public void add(long timeStamp, Histogram histogram) {
+        if (histogram == null) {
+            throw new NullPointerException("histogram must not be null");
+        }
+        checkSchema(histogram.getHistogramSchema());
+        final int index = indexOf(timeStamp);
+        for (int slot = 0; slot < SLOT_TYPES.length; slot++) {
+            counts[slot][index] += histogram.getSlotCount(SLOT_TYPES[slot]);
+        }
+    }
+
+    /**
+     * adds the entry at {@code sourceIndex} of the source to the entry of the given time stamp.
+     */
+    public void add(long timeStamp, TimeHistogramArray source, int sourceIndex) {
+        if (source == null) {
+            throw new NullPointerException("source must not be null");
+        }
+        checkSchema(source.schema);
+        source.checkIndex(sourceIndex);
+        final int index = indexOf(timeStamp);
+        for (int slot = 0; slot < SLOT_TYPES.length; slot++) {
+            counts[slot][index] += source.counts[slot][sourceIndex];
+        }
+    }
+
+    /**
+     * merges both series in a single pass over their time stamps.
+     */
+    public void add(TimeHistogramArray histogramArray) {
+        if (histogramArray == null) {
+            throw new NullPointerException("histogramArray must not be null");
+        }
+        checkSchema(histogramArray.schema);
+        if (histogramArray.size == 0) {
+            return;
+        }
+
+        final int mergeSize = mergedSize(histogramArray);
+        if (mergeSize == this.size) {
+            // every time stamp exists already, add in place
+            int index = 0;
+            for (int sourceIndex = 0; sourceIndex < histogramArray.size; sourceIndex++) {
+                final long timeStamp = histogramArray.timeStamps[sourceIndex];
+                while (timeStamps[index] != timeStamp) {
+                    index++;
+                }
+                for (int slot = 0; slot < SLOT_TYPES.length; slot++) {
+                    counts[slot][index] += histogramArray.counts[slot][sourceIndex];
+                }
+            }
+            return;
+        }
+
+        final long[] mergeTimeStamps = new long[mergeSize];
+        final long[][] mergeCounts = new long[SLOT_TYPES.length][mergeSize];
+        int thisIndex = 0;
+        int sourceIndex = 0;
+        for (int index = 0; index < mergeSize; index++) {
+            final boolean fromThis = thisIndex < this.size
+                    && (sourceIndex >= histogramArray.size || this.timeStamps[thisIndex] <= histogramArray.timeStamps[sourceIndex]);
+            final boolean fromSource = sourceIndex < histogramArray.size
+                    && (thisIndex >= this.size || histogramArray.timeStamps[sourceIndex] <= this.timeStamps[thisIndex]);
+            if (fromThis) {
+                mergeTimeStamps[index] = this.timeStamps[thisIndex];
+                for (int slot = 0; slot < SLOT_TYPES.length; slot++) {
+                    mergeCounts[slot][index] += this.counts[slot][thisIndex];
+                }
+                thisIndex++;
+            }
+            if (fromSource) {
+                mergeTimeStamps[index] = histogramArray.timeStamps[sourceIndex];
+                for (int slot = 0; slot < SLOT_TYPES.length; slot++) {
+                    mergeCounts[slot][index] += histogramArray.counts[slot][sourceIndex];
+                }
+                sourceIndex++;
+            }
+        }
+        this.timeStamps = mergeTimeStamps;
+        this.counts = mergeCounts;
+        this.size = mergeSize;
+    }
+
+    private int mergedSize(TimeHistogramArray histogramArray) {
+        int mergeSize = 0;
+        int thisIndex = 0;
+        int sourceIndex = 0;
+        while (thisIndex < this.size || sourceIndex < histogramArray.size) {
+            if (sourceIndex >= histogramArray.size) {
+                thisIndex++;
+            } else if (thisIndex >= this.size) {
+                sourceIndex++;
+            } else {
+                final long thisTimeStamp = this.timeStamps[thisIndex];
+                final long sourceTimeStamp = histogramArray.timeStamps[sourceIndex];
+                if (thisTimeStamp <= sourceTimeStamp) {
+                    thisIndex++;
+                }
+                if (sourceTimeStamp <= thisTimeStamp) {
+                    sourceIndex++;
+                }
+            }
+            mergeSize++;
+        }
+        return mergeSize;
+    }
+
+    private void checkSchema(HistogramSchema schema) {
+        if (this.schema != schema) {
+            throw new IllegalArgumentException("schema not equals. this=" + this.schema + ", schema=" + schema);
+        }
+    }
+
+    /**
+     * @return the index of the time stamp, inserting an empty entry if there is none
+     */
+    private int indexOf(long timeStamp) {
+        // time stamps mostly arrive in ascending order
+        if (size == 0 || timeStamps[size - 1] < timeStamp) {
+            insert(size, timeStamp);
+            return size - 1;
+        }
+        if (timeStamps[size - 1] == timeStamp) {
+            return size - 1;
+        }
+        final int search = Arrays.binarySearch(timeStamps, 0, size, timeStamp);
+        if (search >= 0) {
+            return search;
+        }
+        final int insertionPoint = -(search + 1);
+        insert(insertionPoint, timeStamp);
+        return insertionPoint;
+    }
+
+    private void insert(int index, long timeStamp) {
+        if (size == timeStamps.length) {
+            final int newCapacity = Math.max(DEFAULT_CAPACITY, size + (size >> 1));
+            timeStamps = Arrays.copyOf(timeStamps, newCapacity);
+            for (int slot = 0; slot < SLOT_TYPES.length; slot++) {
+                counts[slot] = Arrays.copyOf(counts[slot], newCapacity);
+            }
+        }
+        final int moved = size - index;
+        if (moved > 0) {
+            System.arraycopy(timeStamps, index, timeStamps, index + 1, moved);
+            for (int slot = 0; slot < SLOT_TYPES.length; slot++) {
+                System.arraycopy(counts[slot], index, counts[slot], index + 1, moved);
+                counts[slot][index] = 0;
+            }
+        }
+        timeStamps[index] = timeStamp;
+        size++;
+    }
+
+    public long getTotalCount() {
+        long totalCount = 0;
+        for (int slot = 0; slot < SLOT_TYPES.length; slot++) {
+            final long[] slotCounts = counts[slot];
+            for (int index = 0; index < size; index++) {
+                totalCount += slotCounts[index];
+            }
+        }
+        return totalCount;
+    }
+
+    /**
+     * @return sum of every time slot
+     */
+    public Histogram getHistogram() {
+        final Histogram histogram = new Histogram(schema);
+        for (int slot = 0; slot < SLOT_TYPES.length; slot++) {
+            final long[] slotCounts = counts[slot];
+            long slotCount = 0;
+            for (int index = 0; index < size; index++) {
+                slotCount += slotCounts[index];
+            }
+            histogram.addSlotCount(SLOT_TYPES[slot], slotCount);
+        }
+        return histogram;
+    }
+
+    /**
+     * @return a {@link TimeHistogram} per time slot in ascending time order
+     */
+    public List<TimeHistogram> getTimeHistogramList() {
+        final List<TimeHistogram> timeHistogramList = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            final TimeHistogram timeHistogram = new TimeHistogram(schema, timeStamps[index]);
+            for (int slot = 0; slot < SLOT_TYPES.length; slot++) {
+                timeHistogram.addSlotCount(SLOT_TYPES[slot], counts[slot][index]);
+            }
+            timeHistogramList.add(timeHistogram);
+        }
+        return timeHistogramList;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("TimeHistogramArray{");
+        sb.append("schema=").append(schema);
+        sb.append(", size=").append(size);
+        sb.append(", timeStamps=").append(Arrays.toString(Arrays.copyOf(timeStamps, size)));
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -19,13 +19,12 @@ package com.navercorp.pinpoint.web.applicationmap.rawdata;
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.web.applicationmap.histogram.Histogram;
 import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogram;
+import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogramArray;
 import com.navercorp.pinpoint.web.vo.Application;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  *
@@ -39,7 +38,7 @@ public class AgentHistogram {
      */
     private final Application agentId;
 
-    private final Map<Long, TimeHistogram> timeHistogramMap;
+    private final TimeHistogramArray timeHistogramArray;
 
     public AgentHistogram(Application agentId) {
         if (agentId == null) {
@@ -47,7 +46,7 @@ public class AgentHistogram {
         }
 
         this.agentId = agentId;
-        this.timeHistogramMap = new HashMap<>();
+        this.timeHistogramArray = new TimeHistogramArray(agentId.getServiceType().getHistogramSchema());
     }
 
     public AgentHistogram(AgentHistogram copyAgentHistogram) {
@@ -57,8 +56,7 @@ public class AgentHistogram {
 
         this.agentId = copyAgentHistogram.agentId;
 
-        this.timeHistogramMap = new HashMap<>();
-        addTimeHistogram(copyAgentHistogram.timeHistogramMap.values());
+        this.timeHistogramArray = new TimeHistogramArray(copyAgentHistogram.timeHistogramArray);
     }
 
     @JsonProperty("name")
@@ -78,25 +76,31 @@ public class AgentHistogram {
 
     @JsonProperty("histogram")
     public Histogram getHistogram() {
-        Histogram histogram = new Histogram(agentId.getServiceType());
-        for (TimeHistogram timeHistogram : timeHistogramMap.values()) {
-            histogram.add(timeHistogram);
-        }
-        return histogram;
+        return timeHistogramArray.getHistogram();
     }
 
+    /**
+     * @return a copy of each time slot in ascending time order
+     */
     @JsonIgnore
     public Collection<TimeHistogram> getTimeHistogram() {
-        return timeHistogramMap.values();
+        return timeHistogramArray.getTimeHistogramList();
+    }
+
+    @JsonIgnore
+    public TimeHistogramArray getTimeHistogramArray() {
+        return timeHistogramArray;
     }
 
     public void addTimeHistogram(TimeHistogram timeHistogram) {
-        TimeHistogram find = this.timeHistogramMap.get(timeHistogram.getTimeStamp());
-        if (find == null) {
-            find = new TimeHistogram(agentId.getServiceType(), timeHistogram.getTimeStamp());
-            this.timeHistogramMap.put(timeHistogram.getTimeStamp(), find);
+        this.timeHistogramArray.add(timeHistogram);
+    }
+
+    public void addTimeHistogram(TimeHistogramArray histogramArray) {
+        if (histogramArray == null) {
+            throw new NullPointerException("histogramArray must not be null");
         }
-        find.add(timeHistogram);
+        this.timeHistogramArray.add(histogramArray);
     }
 
     public void addTimeHistogram(Collection<TimeHistogram> histogramList) {
@@ -116,7 +120,7 @@ public class AgentHistogram {
         sb.append("agent='").append(agentId.getName()).append('\'');
         sb.append(", serviceType=").append(agentId.getServiceType());
         // FIXME temporarily hard-coded due to a change in the data structure
-        sb.append(", ").append(timeHistogramMap);
+        sb.append(", ").append(timeHistogramArray);
         sb.append('}');
         return sb.toString();
     }
@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.web.applicationmap.rawdata;
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.web.applicationmap.histogram.Histogram;
 import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogram;
+import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogramArray;
 import com.navercorp.pinpoint.web.vo.Application;
 import com.navercorp.pinpoint.web.vo.ResponseTime;
 
@@ -76,11 +77,27 @@ public class AgentHistogramList {
         agentHistogram.addTimeHistogram(timeHistogram);
     }
 
+    public void addTimeHistogram(Application agentId, TimeHistogramArray histogramArray) {
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        if (histogramArray == null) {
+            throw new NullPointerException("histogramArray must not be null");
+        }
+        AgentHistogram agentHistogram = getAgentHistogram(agentId);
+        agentHistogram.addTimeHistogram(histogramArray);
+    }
+
     public void addAgentHistogram(String agentName, ServiceType serviceType, Collection<TimeHistogram> histogramList) {
         Application agentId = new Application(agentName, serviceType);
         addTimeHistogram(agentId, histogramList);
     }
 
+    public void addAgentHistogram(String agentName, ServiceType serviceType, TimeHistogramArray histogramArray) {
+        Application agentId = new Application(agentName, serviceType);
+        addTimeHistogram(agentId, histogramArray);
+    }
+
     public void addAgentHistogram(String agentName, ServiceType serviceType, TimeHistogram timeHistogram) {
         Application agentId = new Application(agentName, serviceType);
         addTimeHistogram(agentId, timeHistogram);
@@ -120,7 +137,7 @@ public class AgentHistogramList {
 
         Application agentId = new Application(hostName, serviceType);
         AgentHistogram findAgentHistogram = getAgentHistogram(agentId);
-        findAgentHistogram.addTimeHistogram(agentHistogram.getTimeHistogram());
+        findAgentHistogram.addTimeHistogram(agentHistogram.getTimeHistogramArray());
     }
 
     public void addAgentHistogram(AgentHistogramList addAgentHistogramList) {
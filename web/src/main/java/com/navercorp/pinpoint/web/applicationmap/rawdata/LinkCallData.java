@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.web.applicationmap.rawdata;
 
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogram;
+import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogramArray;
 import com.navercorp.pinpoint.web.util.TimeWindow;
 import com.navercorp.pinpoint.web.vo.LinkKey;
 
@@ -35,7 +36,7 @@ public class LinkCallData {
     private final String target;
     private final ServiceType targetServiceType;
 
-    private final Map<Long, TimeHistogram> targetHistogramTimeMap;
+    private final TimeHistogramArray targetHistogramArray;
     private final TimeWindow timeWindow;
 
     public LinkCallData(LinkKey linkKey) {
@@ -51,7 +52,7 @@ public class LinkCallData {
         this.target = linkKey.getToApplication();
         this.targetServiceType = linkKey.getToServiceType();
 
-        this.targetHistogramTimeMap = new HashMap<>();
+        this.targetHistogramArray = new TimeHistogramArray(targetServiceType.getHistogramSchema());
         this.timeWindow = timeWindow;
     }
 
@@ -71,19 +72,24 @@ public class LinkCallData {
         return targetServiceType;
     }
 
+    /**
+     * @return a copy of each time slot in ascending time order
+     */
     public Collection<TimeHistogram> getTimeHistogram() {
-        return targetHistogramTimeMap.values();
+        return targetHistogramArray.getTimeHistogramList();
+    }
+
+    public TimeHistogramArray getTimeHistogramArray() {
+        return targetHistogramArray;
     }
 
     public void addCallData(long timestamp, short slot, long count) {
-        TimeHistogram histogram = getTimeHistogram(timestamp);
-        histogram.addCallCount(slot, count);
+        targetHistogramArray.addCallCount(refineTimestamp(timestamp), slot, count);
     }
 
     public void addCallData(Collection<TimeHistogram> timeHistogramList) {
         for (TimeHistogram timeHistogram : timeHistogramList) {
-            TimeHistogram histogram = getTimeHistogram(timeHistogram.getTimeStamp());
-            histogram.add(timeHistogram);
+            targetHistogramArray.add(refineTimestamp(timeHistogram.getTimeStamp()), timeHistogram);
         }
     }
 
@@ -104,29 +110,33 @@ public class LinkCallData {
             throw new IllegalArgumentException("targetServiceType not equals");
         }
 
-        for (Map.Entry<Long, TimeHistogram> copyEntry : copyLinkCallData.targetHistogramTimeMap.entrySet()) {
-            final Long timeStamp = copyEntry.getKey();
-            TimeHistogram histogram = getTimeHistogram(timeStamp);
-            histogram.add(copyEntry.getValue());
+        final TimeHistogramArray copyHistogramArray = copyLinkCallData.targetHistogramArray;
+        if (isRefined(copyLinkCallData.timeWindow)) {
+            targetHistogramArray.add(copyHistogramArray);
+            return;
+        }
+        for (int index = 0; index < copyHistogramArray.size(); index++) {
+            final long timeStamp = refineTimestamp(copyHistogramArray.getTimeStamp(index));
+            targetHistogramArray.add(timeStamp, copyHistogramArray, index);
         }
     }
 
-    private TimeHistogram getTimeHistogram(Long timeStamp) {
-        long key = timeWindow != null ? timeWindow.refineTimestamp(timeStamp) : timeStamp;
-        TimeHistogram histogram = targetHistogramTimeMap.get(key);
-        if (histogram == null) {
-            histogram = new TimeHistogram(targetServiceType, key);
-            targetHistogramTimeMap.put(key, histogram);
+    /**
+     * @return true if time stamps refined by the given window need no further refinement by this window
+     */
+    private boolean isRefined(TimeWindow copyTimeWindow) {
+        if (timeWindow == null) {
+            return true;
         }
-        return histogram;
+        return copyTimeWindow != null && copyTimeWindow.getWindowSlotSize() == timeWindow.getWindowSlotSize();
+    }
+
+    private long refineTimestamp(long timeStamp) {
+        return timeWindow != null ? timeWindow.refineTimestamp(timeStamp) : timeStamp;
     }
 
     public long getTotalCount() {
-        long totalCount = 0;
-        for (TimeHistogram timeHistogram : targetHistogramTimeMap.values()) {
-            totalCount += timeHistogram.getTotalCount();
-        }
-        return totalCount;
+        return targetHistogramArray.getTotalCount();
     }
 
     @Override
@@ -31,9 +31,11 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import com.navercorp.pinpoint.common.server.bo.ApplicationStatBo;
 import com.navercorp.pinpoint.web.service.AgentEventService;
 import com.navercorp.pinpoint.web.service.AgentInfoService;
 import com.navercorp.pinpoint.web.service.AgentStatService;
+import com.navercorp.pinpoint.web.service.ApplicationStatService;
 import com.navercorp.pinpoint.web.util.TimeWindow;
 import com.navercorp.pinpoint.web.util.TimeWindowSlotCentricSampler;
 import com.navercorp.pinpoint.web.vo.AgentEvent;
@@ -65,6 +67,9 @@ public class AgentStatController {
     @Autowired
     private AgentEventService agentEventService;
 
+    @Autowired
+    private ApplicationStatService applicationStatService;
+
     @RequestMapping(value = "/getAgentStat", method = RequestMethod.GET)
     @ResponseBody
     public AgentStatChartGroup getAgentStat(
@@ -107,6 +112,19 @@ public class AgentStatController {
         return chartGroup;
     }
 
+    /**
+     * summaries of the agent stats of every agent of the application, one for each minute
+     */
+    @PreAuthorize("hasPermission(#applicationName, 'application', 'inspector')")
+    @RequestMapping(value = "/getApplicationStat", method = RequestMethod.GET)
+    @ResponseBody
+    public List<ApplicationStatBo> getApplicationStat(
+            @RequestParam("application") String applicationName,
+            @RequestParam("from") long from,
+            @RequestParam("to") long to) {
+        return this.applicationStatService.selectApplicationStatList(applicationName, new Range(from, to));
+    }
+
     @RequestMapping(value = "/getAgentList", method = RequestMethod.GET, params = {"!application"})
     @ResponseBody
     public ApplicationAgentList getAgentList() {
@@ -19,10 +19,16 @@ package com.navercorp.pinpoint.web.dao;
 import java.util.List;
 
 import com.navercorp.pinpoint.common.server.bo.ApiMetaDataBo;
+import com.navercorp.pinpoint.web.vo.MetaDataKey;
 
 /**
  * @author emeroad
  */
 public interface ApiMetaDataDao {
     List<ApiMetaDataBo> getApiMetaData(String agentId, long time, int apiId);
+
+    /**
+     * @return metadata lists in the same order as {@code keyList}, fetched with a single multi-get
+     */
+    List<List<ApiMetaDataBo>> getApiMetaData(List<MetaDataKey> keyList);
 }
@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.web.dao;
 
 import com.navercorp.pinpoint.common.server.bo.SqlMetaDataBo;
+import com.navercorp.pinpoint.web.vo.MetaDataKey;
 
 import java.util.List;
 
@@ -25,4 +26,9 @@ import java.util.List;
  */
 public interface SqlMetaDataDao {
     List<SqlMetaDataBo> getSqlMetaData(String agentId, long time, int hashCode);
+
+    /**
+     * @return metadata lists in the same order as {@code keyList}, fetched with a single multi-get
+     */
+    List<List<SqlMetaDataBo>> getSqlMetaData(List<MetaDataKey> keyList);
 }
@@ -36,6 +36,12 @@ public interface TraceDao {
     
     List<List<SpanBo>> selectAllSpans(Collection<TransactionId> transactionIdList);
 
+    /**
+     * streams the spans of each transaction to the handler instead of returning all of them at once.
+     * span events are decoded on first access, and only a small batch of rows is held in memory at a time.
+     */
+    void selectAllSpans(Collection<TransactionId> transactionIdList, TraceHandler traceHandler);
+
     List<SpanBo> selectSpans(TransactionId transactionId);
     
 }
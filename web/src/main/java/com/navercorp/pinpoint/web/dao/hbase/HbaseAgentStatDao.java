@@ -128,19 +128,22 @@ public class HbaseAgentStatDao implements AgentStatDao {
         
         
         List<Range> missingRanges = new ArrayList<>();
-        long last = range.getFrom();
+        // slots start at multiples of AGGR_SAMPLE_INTERVAL, anything between the end of a slot and the start of the next one is missing
+        long next = range.getFrom();
         
         for (AgentStat stat : merged) {
-            if (last + AgentStat.AGGR_SAMPLE_INTERVAL * 2 < stat.getTimestamp()) {
-                Range r = new Range(last, stat.getTimestamp() - stat.getCollectInterval());
+            if (next < stat.getTimestamp()) {
+                // the scan includes the end of a range, which belongs to this slot
+                Range r = new Range(next, stat.getTimestamp() - 1);
                 missingRanges.add(r);
             }
             
-            last = stat.getTimestamp();
+            next = Math.max(next, stat.getTimestamp() + AgentStat.AGGR_SAMPLE_INTERVAL);
         }
         
-        if (last + AgentStat.AGGR_SAMPLE_INTERVAL * 2 < range.getTo()) {
-            Range r = new Range(last, range.getTo());
+        // includes the slot still open in the collector
+        if (next < range.getTo()) {
+            Range r = new Range(next, range.getTo());
             missingRanges.add(r);
         }
         
@@ -157,6 +160,9 @@ public class HbaseAgentStatDao implements AgentStatDao {
             List<AgentStat> aggregated = AgentStats.aggregate(list, AgentStat.AGGR_SAMPLE_INTERVAL);
             merged.addAll(aggregated);
         }
+        if (!missingRanges.isEmpty()) {
+            Collections.sort(merged, AgentStats.TIMESTAMP_COMPARATOR);
+        }
 
         return merged;
     }
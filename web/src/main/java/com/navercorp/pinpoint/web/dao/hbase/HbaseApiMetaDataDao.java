@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.web.dao.hbase;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
@@ -31,6 +32,7 @@ import com.navercorp.pinpoint.common.hbase.HBaseTables;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.hbase.RowMapper;
 import com.navercorp.pinpoint.web.dao.ApiMetaDataDao;
+import com.navercorp.pinpoint.web.vo.MetaDataKey;
 
 /**
  * @author emeroad
@@ -65,6 +67,25 @@ public class HbaseApiMetaDataDao implements ApiMetaDataDao {
         return hbaseOperations2.get(HBaseTables.API_METADATA, get, apiMetaDataMapper);
     }
 
+    @Override
+    public List<List<ApiMetaDataBo>> getApiMetaData(List<MetaDataKey> keyList) {
+        if (keyList == null) {
+            throw new NullPointerException("keyList must not be null");
+        }
+        if (keyList.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        final List<Get> getList = new ArrayList<>(keyList.size());
+        for (MetaDataKey key : keyList) {
+            ApiMetaDataBo apiMetaDataBo = new ApiMetaDataBo(key.getAgentId(), key.getAgentStartTime(), key.getId());
+            Get get = new Get(getDistributedKey(apiMetaDataBo.toRowKey()));
+            get.addFamily(HBaseTables.API_METADATA_CF_API);
+            getList.add(get);
+        }
+        return hbaseOperations2.get(HBaseTables.API_METADATA, getList, apiMetaDataMapper);
+    }
+
     private byte[] getDistributedKey(byte[] rowKey) {
         return rowKeyDistributorByHashPrefix.getDistributedKey(rowKey);
     }
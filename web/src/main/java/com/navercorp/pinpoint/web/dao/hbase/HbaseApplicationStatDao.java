@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.dao.hbase;
+
+import static com.navercorp.pinpoint.common.hbase.HBaseTables.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.hadoop.hbase.client.Scan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.RowMapper;
+import com.navercorp.pinpoint.common.server.bo.ApplicationStatBo;
+import com.navercorp.pinpoint.common.util.BytesUtils;
+import com.navercorp.pinpoint.common.util.RowKeyUtils;
+import com.navercorp.pinpoint.common.util.TimeUtils;
+import com.navercorp.pinpoint.web.dao.ApplicationStatDao;
+import com.navercorp.pinpoint.web.vo.Range;
+
+@Repository
+public class HbaseApplicationStatDao implements ApplicationStatDao {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private HbaseOperations2 hbaseOperations2;
+
+    @Autowired
+    @Qualifier("applicationStatMapper")
+    private RowMapper<ApplicationStatBo> applicationStatMapper;
+
+    private int scanCacheSize = 256;
+
+    public void setScanCacheSize(int scanCacheSize) {
+        this.scanCacheSize = scanCacheSize;
+    }
+
+    @Override
+    public List<ApplicationStatBo> getApplicationStatList(String applicationName, Range range) {
+        if (applicationName == null) {
+            throw new NullPointerException("applicationName must not be null");
+        }
+        if (range == null) {
+            throw new NullPointerException("range must not be null");
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("scanApplicationStat : applicationName={}, {}", applicationName, range);
+        }
+
+        final Scan scan = createScan(applicationName, range);
+        final List<ApplicationStatBo> scanned = hbaseOperations2.find(APPLICATION_STAT_AGGR, scan, applicationStatMapper);
+
+        // rows are in reverse time order
+        final List<ApplicationStatBo> result = new ArrayList<>(scanned.size());
+        for (ApplicationStatBo applicationStatBo : scanned) {
+            if (applicationStatBo != null) {
+                result.add(applicationStatBo);
+            }
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private byte[] getRowKey(String applicationName, long timestamp) {
+        final byte[] bApplicationName = BytesUtils.toBytes(applicationName);
+        return RowKeyUtils.concatFixedByteAndLong(bApplicationName, APPLICATION_NAME_MAX_LEN, TimeUtils.reverseTimeMillis(timestamp));
+    }
+
+    private Scan createScan(String applicationName, Range range) {
+        Scan scan = new Scan();
+        scan.setCaching(this.scanCacheSize);
+
+        byte[] startKey = getRowKey(applicationName, range.getFrom());
+        byte[] endKey = getRowKey(applicationName, range.getTo());
+
+        // start key is replaced by end key because key has been reversed
+        scan.setStartRow(endKey);
+        scan.setStopRow(startKey);
+
+        scan.addFamily(APPLICATION_STAT_AGGR_CF_STATISTICS);
+        scan.setId("ApplicationStatScan");
+        return scan;
+    }
+}
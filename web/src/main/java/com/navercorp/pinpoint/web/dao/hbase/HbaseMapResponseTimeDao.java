@@ -20,6 +20,10 @@ import com.navercorp.pinpoint.common.hbase.HBaseTables;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.hbase.RowMapper;
 import com.navercorp.pinpoint.common.util.ApplicationMapStatisticsUtils;
+import com.navercorp.pinpoint.web.dao.hbase.cache.TimeSlotCache;
+import com.navercorp.pinpoint.web.dao.hbase.cache.TimeSlotCacheFactory;
+import com.navercorp.pinpoint.web.dao.hbase.cache.TimeSlotLoader;
+import com.navercorp.pinpoint.web.dao.hbase.cache.TimeSlotRowMapper;
 import com.navercorp.pinpoint.web.dao.MapResponseDao;
 import com.navercorp.pinpoint.web.vo.Application;
 import com.navercorp.pinpoint.web.vo.Range;
@@ -34,6 +38,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
+import javax.annotation.PostConstruct;
+
 import java.util.*;
 
 /**
@@ -64,6 +70,31 @@ public class HbaseMapResponseTimeDao implements MapResponseDao {
     @Qualifier("statisticsSelfRowKeyDistributor")
     private RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
 
+    @Autowired
+    private TimeSlotCacheFactory timeSlotCacheFactory;
+
+    private TimeSlotCache<ResponseTime> timeSlotCache;
+
+    private TimeSlotLoader<ResponseTime> timeSlotLoader;
+
+    @PostConstruct
+    public void initTimeSlotCache() {
+        if (!timeSlotCacheFactory.isEnable()) {
+            return;
+        }
+        this.timeSlotCache = timeSlotCacheFactory.createCache("MapResponseTime");
+        this.timeSlotLoader = new TimeSlotLoader<ResponseTime>() {
+            private final TimeSlotRowMapper<ResponseTime> rowMapper = new TimeSlotRowMapper<>(responseTimeMapper, rowKeyDistributorByHashPrefix);
+
+            @Override
+            public Map<Long, List<ResponseTime>> load(Application application, long fromTimeSlot, long toTimeSlot) {
+                final Scan scan = createScan(application, new Range(fromTimeSlot, toTimeSlot), HBaseTables.MAP_STATISTICS_SELF_VER2_CF_COUNTER);
+                List<TimeSlotRowMapper.TimeSlotRow<ResponseTime>> rowList = hbaseOperations2.findParallel(HBaseTables.MAP_STATISTICS_SELF_VER2, scan, rowKeyDistributorByHashPrefix, rowMapper, MAP_STATISTICS_SELF_VER2_NUM_PARTITIONS);
+                return TimeSlotRowMapper.groupByTimeSlot(rowList);
+            }
+        };
+    }
+
 
     @Override
     public List<ResponseTime> selectResponseTime(Application application, Range range) {
@@ -74,6 +105,10 @@ public class HbaseMapResponseTimeDao implements MapResponseDao {
             logger.debug("selectResponseTime applicationName:{}, {}", application, range);
         }
 
+        if (timeSlotCache != null) {
+            return timeSlotCache.select(application, range, timeSlotLoader);
+        }
+
         Scan scan = createScan(application, range, HBaseTables.MAP_STATISTICS_SELF_VER2_CF_COUNTER);
 
         List<ResponseTime> responseTimeList = hbaseOperations2.findParallel(HBaseTables.MAP_STATISTICS_SELF_VER2, scan, rowKeyDistributorByHashPrefix, responseTimeMapper, MAP_STATISTICS_SELF_VER2_NUM_PARTITIONS);
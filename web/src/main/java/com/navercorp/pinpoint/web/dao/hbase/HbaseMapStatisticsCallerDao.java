@@ -22,6 +22,10 @@ import com.navercorp.pinpoint.common.hbase.ResultsExtractor;
 import com.navercorp.pinpoint.common.hbase.RowMapper;
 import com.navercorp.pinpoint.common.util.ApplicationMapStatisticsUtils;
 import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
+import com.navercorp.pinpoint.web.dao.hbase.cache.TimeSlotCache;
+import com.navercorp.pinpoint.web.dao.hbase.cache.TimeSlotCacheFactory;
+import com.navercorp.pinpoint.web.dao.hbase.cache.TimeSlotLoader;
+import com.navercorp.pinpoint.web.dao.hbase.cache.TimeSlotRowMapper;
 import com.navercorp.pinpoint.web.dao.MapStatisticsCallerDao;
 import com.navercorp.pinpoint.web.mapper.*;
 import com.navercorp.pinpoint.web.util.TimeWindow;
@@ -38,6 +42,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.Map;
+
 /**
  * @author netspider
  * @author emeroad
@@ -64,6 +72,31 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
     @Qualifier("statisticsCallerRowKeyDistributor")
     private RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
 
+    @Autowired
+    private TimeSlotCacheFactory timeSlotCacheFactory;
+
+    private TimeSlotCache<LinkDataMap> timeSlotCache;
+
+    private TimeSlotLoader<LinkDataMap> timeSlotLoader;
+
+    @PostConstruct
+    public void initTimeSlotCache() {
+        if (!timeSlotCacheFactory.isEnable()) {
+            return;
+        }
+        this.timeSlotCache = timeSlotCacheFactory.createCache("MapStatisticsCaller");
+        this.timeSlotLoader = new TimeSlotLoader<LinkDataMap>() {
+            private final TimeSlotRowMapper<LinkDataMap> rowMapper = new TimeSlotRowMapper<>(mapStatisticsCallerMapper, rowKeyDistributorByHashPrefix);
+
+            @Override
+            public Map<Long, List<LinkDataMap>> load(Application application, long fromTimeSlot, long toTimeSlot) {
+                final Scan scan = createScan(application, new Range(fromTimeSlot, toTimeSlot), HBaseTables.MAP_STATISTICS_CALLEE_VER2_CF_COUNTER);
+                List<TimeSlotRowMapper.TimeSlotRow<LinkDataMap>> rowList = hbaseOperations2.findParallel(HBaseTables.MAP_STATISTICS_CALLEE_VER2, scan, rowKeyDistributorByHashPrefix, rowMapper, MAP_STATISTICS_CALLEE_VER2_NUM_PARTITIONS);
+                return TimeSlotRowMapper.groupByTimeSlot(rowList);
+            }
+        };
+    }
+
 
     @Override
     public LinkDataMap selectCaller(Application callerApplication, Range range) {
@@ -75,6 +108,14 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
         }
 
         final TimeWindow timeWindow = new TimeWindow(range, TimeWindowDownSampler.SAMPLER);
+        if (timeSlotCache != null) {
+            final LinkDataMap linkDataMap = new LinkDataMap(timeWindow);
+            for (LinkDataMap rowLinkDataMap : timeSlotCache.select(callerApplication, range, timeSlotLoader)) {
+                linkDataMap.addLinkDataMap(rowLinkDataMap);
+            }
+            logger.debug("Caller data. {}, {}", linkDataMap, range);
+            return linkDataMap;
+        }
         // find distributed key.
         final Scan scan = createScan(callerApplication, range, HBaseTables.MAP_STATISTICS_CALLEE_VER2_CF_COUNTER);
         ResultsExtractor<LinkDataMap> resultExtractor = new RowMapReduceResultExtractor<>(mapStatisticsCallerMapper, new MapStatisticsTimeWindowReducer(timeWindow));
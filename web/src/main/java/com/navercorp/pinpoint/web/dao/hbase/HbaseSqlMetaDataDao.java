@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.web.dao.hbase;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
@@ -28,6 +29,7 @@ import com.navercorp.pinpoint.common.hbase.HBaseTables;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.hbase.RowMapper;
 import com.navercorp.pinpoint.web.dao.SqlMetaDataDao;
+import com.navercorp.pinpoint.web.vo.MetaDataKey;
 
 /**
  * @author emeroad
@@ -62,6 +64,25 @@ public class HbaseSqlMetaDataDao implements SqlMetaDataDao {
         return hbaseOperations2.get(HBaseTables.SQL_METADATA_VER2, get, sqlMetaDataMapper);
     }
 
+    @Override
+    public List<List<SqlMetaDataBo>> getSqlMetaData(List<MetaDataKey> keyList) {
+        if (keyList == null) {
+            throw new NullPointerException("keyList must not be null");
+        }
+        if (keyList.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        final List<Get> getList = new ArrayList<>(keyList.size());
+        for (MetaDataKey key : keyList) {
+            SqlMetaDataBo sqlMetaDataBo = new SqlMetaDataBo(key.getAgentId(), key.getAgentStartTime(), key.getId());
+            Get get = new Get(getDistributedKey(sqlMetaDataBo.toRowKey()));
+            get.addFamily(HBaseTables.SQL_METADATA_VER2_CF_SQL);
+            getList.add(get);
+        }
+        return hbaseOperations2.get(HBaseTables.SQL_METADATA_VER2, getList, sqlMetaDataMapper);
+    }
+
     private byte[] getDistributedKey(byte[] rowKey) {
         return rowKeyDistributorByHashPrefix.getDistributedKey(rowKey);
     }
@@ -21,6 +21,7 @@ import com.navercorp.pinpoint.common.hbase.HBaseTables;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.hbase.RowMapper;
 import com.navercorp.pinpoint.web.dao.TraceDao;
+import com.navercorp.pinpoint.web.dao.TraceHandler;
 import com.navercorp.pinpoint.web.vo.TransactionId;
 import com.sematext.hbase.wd.AbstractRowKeyDistributor;
 import org.apache.hadoop.hbase.client.Get;
@@ -56,12 +57,19 @@ public class HbaseTraceDao implements TraceDao {
     @Qualifier("spanAnnotationMapper")
     private RowMapper<List<SpanBo>> spanAnnotationMapper;
 
+    @Autowired
+    @Qualifier("lazySpanMapper")
+    private RowMapper<List<SpanBo>> lazySpanMapper;
+
     @Value("#{pinpointWebProps['web.hbase.selectSpans.limit'] ?: 500}")
     private int selectSpansLimit;
 
     @Value("#{pinpointWebProps['web.hbase.selectAllSpans.limit'] ?: 500}")
     private int selectAllSpansLimit;
 
+    @Value("#{pinpointWebProps['web.hbase.selectAllSpans.fetchSize'] ?: 50}")
+    private int selectAllSpansFetchSize;
+
     @Override
     public List<SpanBo> selectSpan(TransactionId transactionId) {
         if (transactionId == null) {
@@ -123,6 +131,30 @@ public class HbaseTraceDao implements TraceDao {
         return getSpans(splitTransactionIdList, hBaseFamilyList);
     }
 
+    @Override
+    public void selectAllSpans(Collection<TransactionId> transactionIdList, TraceHandler traceHandler) {
+        if (transactionIdList == null) {
+            throw new NullPointerException("transactionIdList must not be null");
+        }
+        if (traceHandler == null) {
+            throw new NullPointerException("traceHandler must not be null");
+        }
+
+        List<List<TransactionId>> splitTransactionIdList = splitTransactionIdList(collectionToList(transactionIdList), selectAllSpansFetchSize);
+
+        List<byte[]> hBaseFamilyList = new ArrayList<>(2);
+        hBaseFamilyList.add(HBaseTables.TRACES_CF_SPAN);
+        hBaseFamilyList.add(HBaseTables.TRACES_CF_TERMINALSPAN);
+
+        for (List<TransactionId> fetchList : splitTransactionIdList) {
+            // only one fetch is referenced at a time
+            final List<List<SpanBo>> traceList = getSpans0(fetchList, hBaseFamilyList, lazySpanMapper);
+            for (List<SpanBo> trace : traceList) {
+                traceHandler.handle(trace);
+            }
+        }
+    }
+
     private List<TransactionId> collectionToList(Collection<TransactionId> transactionIdList) {
         TransactionId[] transactionIds = new TransactionId[transactionIdList.size()];
         transactionIdList.toArray(transactionIds);
@@ -155,12 +187,12 @@ public class HbaseTraceDao implements TraceDao {
 
         List<List<SpanBo>> spanBoList = new ArrayList<>();
         for (List<TransactionId> transactionIdList : splitTransactionIdList) {
-            spanBoList.addAll(getSpans0(transactionIdList, hBaseFamiliyList));
+            spanBoList.addAll(getSpans0(transactionIdList, hBaseFamiliyList, spanMapper));
         }
         return spanBoList;
     }
 
-    private List<List<SpanBo>> getSpans0(List<TransactionId> transactionIdList, List<byte[]> hBaseFamiliyList) {
+    private List<List<SpanBo>> getSpans0(List<TransactionId> transactionIdList, List<byte[]> hBaseFamiliyList, RowMapper<List<SpanBo>> mapper) {
         if (transactionIdList == null || transactionIdList.isEmpty()) {
             return Collections.emptyList();
         }
@@ -178,7 +210,7 @@ public class HbaseTraceDao implements TraceDao {
             }
             getList.add(get);
         }
-        return template2.get(HBaseTables.TRACES, getList, spanMapper);
+        return template2.get(HBaseTables.TRACES, getList, mapper);
     }
 
     @Override
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.dao.hbase.cache;
+
+import com.navercorp.pinpoint.web.vo.Application;
+import com.navercorp.pinpoint.web.vo.Range;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches map statistics rows by (application, time slot).
+ * <p>
+ * Only sealed slots - slots older than {@code sealedDelay}, which the collector no longer writes to - are cached.
+ * A query serves the sealed slots from the cache and reads the remaining slots, usually the open tail of the range,
+ * from hbase with a single scan. Slots without rows are cached as empty so that they are not scanned again.
+ * The least recently used slots are evicted once the cache holds {@code maxSize} slots.
+ */
+public class TimeSlotCache<V> {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final String name;
+    private final long timeSlotSize;
+    private final long sealedDelay;
+
+    private final Map<TimeSlotKey, List<V>> cache;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public TimeSlotCache(String name, long timeSlotSize, long sealedDelay, final int maxSize) {
+        if (name == null) {
+            throw new NullPointerException("name must not be null");
+        }
+        if (timeSlotSize <= 0) {
+            throw new IllegalArgumentException("timeSlotSize");
+        }
+        if (sealedDelay < 0) {
+            throw new IllegalArgumentException("sealedDelay");
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize");
+        }
+        this.name = name;
+        this.timeSlotSize = timeSlotSize;
+        this.sealedDelay = sealedDelay;
+        this.cache = new LinkedHashMap<TimeSlotKey, List<V>>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TimeSlotKey, List<V>> eldest) {
+                if (size() > maxSize) {
+                    evictionCount.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public List<V> select(Application application, Range range, TimeSlotLoader<V> loader) {
+        return select(application, range, loader, System.currentTimeMillis());
+    }
+
+    List<V> select(Application application, Range range, TimeSlotLoader<V> loader, long currentTime) {
+        if (application == null) {
+            throw new NullPointerException("application must not be null");
+        }
+        if (range == null) {
+            throw new NullPointerException("range must not be null");
+        }
+        if (loader == null) {
+            throw new NullPointerException("loader must not be null");
+        }
+        final long fromTimeSlot = getTimeSlot(range.getFrom());
+        final long toTimeSlot = getTimeSlot(range.getTo());
+        // slots before openTimeSlot are sealed
+        final long openTimeSlot = getTimeSlot(currentTime - sealedDelay);
+
+        final Map<Long, List<V>> hitMap = new HashMap<>();
+        long firstMissTimeSlot = -1;
+        long lastMissTimeSlot = -1;
+        synchronized (cache) {
+            for (long timeSlot = fromTimeSlot; timeSlot <= toTimeSlot; timeSlot += timeSlotSize) {
+                final List<V> cached = (timeSlot < openTimeSlot) ? cache.get(new TimeSlotKey(application, timeSlot)) : null;
+                if (cached != null) {
+                    hitMap.put(timeSlot, cached);
+                    continue;
+                }
+                if (firstMissTimeSlot == -1) {
+                    firstMissTimeSlot = timeSlot;
+                }
+                lastMissTimeSlot = timeSlot;
+            }
+        }
+
+        final List<V> result = new ArrayList<>();
+        int hit = 0;
+        int miss = 0;
+        for (Map.Entry<Long, List<V>> entry : hitMap.entrySet()) {
+            final long timeSlot = entry.getKey();
+            // cached slots between two missing slots are read again by the scan below
+            if (firstMissTimeSlot != -1 && firstMissTimeSlot <= timeSlot && timeSlot <= lastMissTimeSlot) {
+                continue;
+            }
+            result.addAll(entry.getValue());
+            hit++;
+        }
+
+        if (firstMissTimeSlot != -1) {
+            final Map<Long, List<V>> loaded = loader.load(application, firstMissTimeSlot, lastMissTimeSlot);
+            for (long timeSlot = firstMissTimeSlot; timeSlot <= lastMissTimeSlot; timeSlot += timeSlotSize) {
+                final List<V> valueList = loaded.get(timeSlot);
+                if (valueList != null) {
+                    result.addAll(valueList);
+                }
+                miss++;
+            }
+            synchronized (cache) {
+                for (long timeSlot = firstMissTimeSlot; timeSlot <= lastMissTimeSlot && timeSlot < openTimeSlot; timeSlot += timeSlotSize) {
+                    final List<V> valueList = loaded.get(timeSlot);
+                    cache.put(new TimeSlotKey(application, timeSlot), valueList == null ? Collections.<V>emptyList() : valueList);
+                }
+            }
+        }
+
+        hitCount.addAndGet(hit);
+        missCount.addAndGet(miss);
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} select {} hit:{} miss:{} {}", name, application, hit, miss, this);
+        }
+        return result;
+    }
+
+    private long getTimeSlot(long time) {
+        return (time / timeSlotSize) * timeSlotSize;
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "TimeSlotCache{" +
+                "name='" + name + '\'' +
+                ", size=" + size() +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                '}';
+    }
+
+    private static final class TimeSlotKey {
+        private final Application application;
+        private final long timeSlot;
+
+        private TimeSlotKey(Application application, long timeSlot) {
+            this.application = application;
+            this.timeSlot = timeSlot;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            TimeSlotKey that = (TimeSlotKey) o;
+
+            if (timeSlot != that.timeSlot) return false;
+            return application.equals(that.application);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = application.hashCode();
+            result = 31 * result + (int) (timeSlot ^ (timeSlot >>> 32));
+            return result;
+        }
+    }
+}
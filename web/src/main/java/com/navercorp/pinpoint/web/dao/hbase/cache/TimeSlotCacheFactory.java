@@ -0,0 +1,67 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.dao.hbase.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the {@link TimeSlotCache}s of the map statistics daos from pinpoint-web.properties.
+ */
+@Component
+public class TimeSlotCacheFactory {
+
+    // must match the time slot the collector writes map statistics with
+    private static final long TIME_SLOT_SIZE = 60 * 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Value("#{pinpointWebProps['web.servermap.cache.enable'] ?: false}")
+    private boolean enable;
+
+    @Value("#{pinpointWebProps['web.servermap.cache.maxSize'] ?: 100000}")
+    private int maxSize;
+
+    @Value("#{pinpointWebProps['web.servermap.cache.sealedDelay'] ?: 180000}")
+    private long sealedDelay;
+
+    private final List<TimeSlotCache<?>> cacheList = new ArrayList<>();
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public <V> TimeSlotCache<V> createCache(String name) {
+        final TimeSlotCache<V> cache = new TimeSlotCache<>(name, TIME_SLOT_SIZE, sealedDelay, maxSize);
+        synchronized (cacheList) {
+            cacheList.add(cache);
+        }
+        logger.info("{} cache created. maxSize:{} sealedDelay:{}", name, maxSize, sealedDelay);
+        return cache;
+    }
+
+    public List<TimeSlotCache<?>> getCacheList() {
+        synchronized (cacheList) {
+            return new ArrayList<>(cacheList);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.dao.hbase.cache;
+
+import com.navercorp.pinpoint.web.vo.Application;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the rows of an application between two time slots from hbase.
+ */
+public interface TimeSlotLoader<V> {
+
+    /**
+     * @param fromTimeSlot first time slot to read (inclusive)
+     * @param toTimeSlot last time slot to read (inclusive)
+     * @return rows grouped by their time slot. slots without rows may be omitted.
+     */
+    Map<Long, List<V>> load(Application application, long fromTimeSlot, long toTimeSlot);
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.dao.hbase.cache;
+
+import com.navercorp.pinpoint.common.hbase.RowMapper;
+import com.navercorp.pinpoint.common.util.ApplicationMapStatisticsUtils;
+import com.sematext.hbase.wd.AbstractRowKeyDistributor;
+import org.apache.hadoop.hbase.client.Result;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps a map statistics row together with the time slot of its row key.
+ */
+public class TimeSlotRowMapper<V> implements RowMapper<TimeSlotRowMapper.TimeSlotRow<V>> {
+
+    private final RowMapper<V> rowMapper;
+    private final AbstractRowKeyDistributor rowKeyDistributor;
+
+    public TimeSlotRowMapper(RowMapper<V> rowMapper, AbstractRowKeyDistributor rowKeyDistributor) {
+        if (rowMapper == null) {
+            throw new NullPointerException("rowMapper must not be null");
+        }
+        if (rowKeyDistributor == null) {
+            throw new NullPointerException("rowKeyDistributor must not be null");
+        }
+        this.rowMapper = rowMapper;
+        this.rowKeyDistributor = rowKeyDistributor;
+    }
+
+    @Override
+    public TimeSlotRow<V> mapRow(Result result, int rowNum) throws Exception {
+        if (result.isEmpty()) {
+            return null;
+        }
+        final V value = rowMapper.mapRow(result, rowNum);
+        if (value == null) {
+            return null;
+        }
+        final byte[] rowKey = rowKeyDistributor.getOriginalKey(result.getRow());
+        final long timeSlot = ApplicationMapStatisticsUtils.getTimestampFromRowKey(rowKey);
+        return new TimeSlotRow<>(timeSlot, value);
+    }
+
+    public static <V> Map<Long, List<V>> groupByTimeSlot(List<TimeSlotRow<V>> rowList) {
+        final Map<Long, List<V>> result = new HashMap<>();
+        if (rowList == null) {
+            return result;
+        }
+        for (TimeSlotRow<V> row : rowList) {
+            if (row == null) {
+                continue;
+            }
+            List<V> valueList = result.get(row.getTimeSlot());
+            if (valueList == null) {
+                valueList = new ArrayList<>(1);
+                result.put(row.getTimeSlot(), valueList);
+            }
+            valueList.add(row.getValue());
+        }
+        return result;
+    }
+
+    public static class TimeSlotRow<V> {
+        private final long timeSlot;
+        private final V value;
+
+        public TimeSlotRow(long timeSlot, V value) {
+            this.timeSlot = timeSlot;
+            this.value = value;
+        }
+
+        public long getTimeSlot() {
+            return timeSlot;
+        }
+
+        public V getValue() {
+            return value;
+        }
+    }
+}
@@ -19,10 +19,14 @@ package com.navercorp.pinpoint.web.mapper;
 import static com.navercorp.pinpoint.common.hbase.HBaseTables.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
+import java.util.TreeMap;
 
 import com.navercorp.pinpoint.common.server.bo.ActiveTraceHistogramBo;
 import com.navercorp.pinpoint.common.server.bo.AgentStatCpuLoadBo;
@@ -33,6 +37,7 @@ import com.navercorp.pinpoint.common.util.BytesUtils;
 import com.navercorp.pinpoint.common.util.TimeUtils;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
 import com.navercorp.pinpoint.thrift.dto.TJvmGc;
+import com.navercorp.pinpoint.web.util.AgentStats;
 import com.navercorp.pinpoint.web.vo.AgentStat;
 import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
 
@@ -53,6 +58,22 @@ import org.springframework.stereotype.Component;
 @Component
 public class AgentStatMapper implements RowMapper<List<AgentStat>> {
 
+    // earlier agent run first, within the same run the one with the smaller gc counts, so the last one is the latest
+    private static final Comparator<AgentStatGroup> AGENT_STAT_GROUP_COMPARATOR = new Comparator<AgentStatGroup>() {
+        @Override
+        public int compare(AgentStatGroup o1, AgentStatGroup o2) {
+            int compare = Long.compare(o1.agentStartTimestamp, o2.agentStartTimestamp);
+            if (compare != 0) {
+                return compare;
+            }
+            compare = Long.compare(o1.agentStat.getGcOldCount(), o2.agentStat.getGcOldCount());
+            if (compare != 0) {
+                return compare;
+            }
+            return Long.compare(o1.agentStat.getGcOldTime(), o2.agentStat.getGcOldTime());
+        }
+    };
+
     private TProtocolFactory factory = new TCompactProtocol.Factory();
 
     @Autowired
@@ -77,6 +98,30 @@ public class AgentStatMapper implements RowMapper<List<AgentStat>> {
             return readSerializedBos(agentId, timestamp, qualifierMap);
         }
 
+        final Map<String, NavigableMap<byte[], byte[]>> columnGroups = splitAggregatedColumns(qualifierMap);
+        if (columnGroups == null) {
+            List<AgentStat> agentStats = new ArrayList<>(1);
+            agentStats.add(readAgentStat(agentId, timestamp, qualifierMap));
+            return agentStats;
+        }
+        // AgentStatAggr row written for several agent runs or by several collectors
+        final List<AgentStatGroup> agentStatGroups = new ArrayList<>(columnGroups.size());
+        for (Map.Entry<String, NavigableMap<byte[], byte[]>> entry : columnGroups.entrySet()) {
+            AgentStat agentStat = readAgentStat(agentId, timestamp, entry.getValue());
+            agentStatGroups.add(new AgentStatGroup(getAgentStartTimestamp(entry.getKey()), agentStat));
+        }
+        Collections.sort(agentStatGroups, AGENT_STAT_GROUP_COMPARATOR);
+
+        AgentStat merged = agentStatGroups.get(0).agentStat;
+        for (AgentStatGroup agentStatGroup : agentStatGroups.subList(1, agentStatGroups.size())) {
+            merged = AgentStats.mergeAggregated(merged, agentStatGroup.agentStat);
+        }
+        List<AgentStat> agentStats = new ArrayList<>(1);
+        agentStats.add(merged);
+        return agentStats;
+    }
+
+    private AgentStat readAgentStat(String agentId, long timestamp, NavigableMap<byte[], byte[]> qualifierMap) {
         AgentStat agentStat = new AgentStat(agentId, timestamp);
         if (qualifierMap.containsKey(AGENT_STAT_COL_INTERVAL)) {
             agentStat.setCollectInterval(Bytes.toLong(qualifierMap.get(AGENT_STAT_COL_INTERVAL)));
@@ -126,9 +171,77 @@ public class AgentStatMapper implements RowMapper<List<AgentStat>> {
             agentStat.setActiveTraceCounts(activeTraceHistogramBo.getActiveTraceCountMap());
         }
 
-        List<AgentStat> agentStats = new ArrayList<>();
-        agentStats.add(agentStat);
-        return agentStats;
+        return agentStat;
+    }
+
+    /**
+     * Splits the {@code <column>/<agent start timestamp>/<collector>} qualifiers of an AgentStatAggr row into one column map
+     * for each agent start timestamp and collector.
+     * Columns without suffix, written before the columns were split, form a group of their own.
+     *
+     * @return column maps by qualifier suffix, null if no qualifier has a suffix
+     */
+    private Map<String, NavigableMap<byte[], byte[]>> splitAggregatedColumns(NavigableMap<byte[], byte[]> qualifierMap) {
+        if (!hasQualifierSuffix(qualifierMap)) {
+            return null;
+        }
+        final Map<String, NavigableMap<byte[], byte[]>> columnGroups = new LinkedHashMap<>();
+        for (Map.Entry<byte[], byte[]> entry : qualifierMap.entrySet()) {
+            final byte[] qualifier = entry.getKey();
+            final int delimiterIndex = indexOf(qualifier, (byte) AGENT_STAT_AGGR_COL_DELIMITER);
+            final String qualifierSuffix;
+            final byte[] column;
+            if (delimiterIndex == -1) {
+                qualifierSuffix = "";
+                column = qualifier;
+            } else {
+                qualifierSuffix = Bytes.toString(qualifier, delimiterIndex, qualifier.length - delimiterIndex);
+                column = Arrays.copyOf(qualifier, delimiterIndex);
+            }
+            NavigableMap<byte[], byte[]> columnGroup = columnGroups.get(qualifierSuffix);
+            if (columnGroup == null) {
+                columnGroup = new TreeMap<>(Bytes.BYTES_COMPARATOR);
+                columnGroups.put(qualifierSuffix, columnGroup);
+            }
+            columnGroup.put(column, entry.getValue());
+        }
+        return columnGroups;
+    }
+
+    /**
+     * @return agent start timestamp of {@code /<agent start timestamp>/<collector>}, 0 for the columns without suffix
+     */
+    private long getAgentStartTimestamp(String qualifierSuffix) {
+        if (qualifierSuffix.isEmpty()) {
+            return 0;
+        }
+        final int collectorIndex = qualifierSuffix.indexOf(AGENT_STAT_AGGR_COL_DELIMITER, 1);
+        if (collectorIndex == -1) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(qualifierSuffix.substring(1, collectorIndex));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private boolean hasQualifierSuffix(NavigableMap<byte[], byte[]> qualifierMap) {
+        for (byte[] qualifier : qualifierMap.keySet()) {
+            if (indexOf(qualifier, (byte) AGENT_STAT_AGGR_COL_DELIMITER) != -1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int indexOf(byte[] bytes, byte b) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == b) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     private byte[] getOriginalKey(byte[] rowKey) {
@@ -196,4 +309,14 @@ public class AgentStatMapper implements RowMapper<List<AgentStat>> {
         return result;
     }
 
+    private static class AgentStatGroup {
+        private final long agentStartTimestamp;
+        private final AgentStat agentStat;
+
+        private AgentStatGroup(long agentStartTimestamp, AgentStat agentStat) {
+            this.agentStartTimestamp = agentStartTimestamp;
+            this.agentStat = agentStat;
+        }
+    }
+
 }
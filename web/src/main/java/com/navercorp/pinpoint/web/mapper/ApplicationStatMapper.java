@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.mapper;
+
+import static com.navercorp.pinpoint.common.hbase.HBaseTables.*;
+
+import com.navercorp.pinpoint.common.hbase.RowMapper;
+import com.navercorp.pinpoint.common.server.bo.ApplicationStatBo;
+import com.navercorp.pinpoint.common.util.BytesUtils;
+import com.navercorp.pinpoint.common.util.TimeUtils;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.client.Result;
+import org.springframework.stereotype.Component;
+
+/**
+ * Merges the summaries written by every collector into a single {@link ApplicationStatBo}.
+ */
+@Component
+public class ApplicationStatMapper implements RowMapper<ApplicationStatBo> {
+
+    @Override
+    public ApplicationStatBo mapRow(Result result, int rowNum) throws Exception {
+        if (result.isEmpty()) {
+            return null;
+        }
+        final byte[] rowKey = result.getRow();
+        final String applicationName = BytesUtils.toString(rowKey, 0, APPLICATION_NAME_MAX_LEN).trim();
+        final long reverseTimestamp = BytesUtils.bytesToLong(rowKey, APPLICATION_NAME_MAX_LEN);
+        final long timestamp = TimeUtils.recoveryTimeMillis(reverseTimestamp);
+
+        final ApplicationStatBo applicationStatBo = new ApplicationStatBo(applicationName, timestamp);
+        for (Cell cell : result.rawCells()) {
+            // one column for each collector
+            final ApplicationStatBo collectorStatBo = new ApplicationStatBo(applicationName, timestamp, CellUtil.cloneValue(cell));
+            applicationStatBo.merge(collectorStatBo);
+        }
+        return applicationStatBo;
+    }
+}
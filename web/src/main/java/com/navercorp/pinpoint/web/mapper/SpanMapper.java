@@ -22,6 +22,8 @@ import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
 import com.navercorp.pinpoint.common.server.bo.AnnotationBoDecoder;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBoListDecoder;
+import com.navercorp.pinpoint.common.server.bo.serializer.SpanEventListSerializer;
 import com.navercorp.pinpoint.common.hbase.HBaseTables;
 import com.navercorp.pinpoint.common.hbase.RowMapper;
 import com.navercorp.pinpoint.web.vo.TransactionId;
@@ -48,6 +50,10 @@ public class SpanMapper implements RowMapper<List<SpanBo>> {
 
     private final AnnotationBoDecoder annotationBoDecoder = new AnnotationBoDecoder();
 
+    private final SpanEventBoListDecoder spanEventBoListDecoder = new SpanEventBoListDecoder();
+
+    private boolean lazySpanEvent;
+
     public AnnotationMapper getAnnotationMapper() {
         return annotationMapper;
     }
@@ -56,6 +62,14 @@ public class SpanMapper implements RowMapper<List<SpanBo>> {
         this.annotationMapper = annotationMapper;
     }
 
+    /**
+     * decode span events when {@link SpanBo#getSpanEventBoList()} is accessed for the first time
+     * instead of while mapping the row. spans whose events are never looked at are not decoded at all.
+     */
+    public void setLazySpanEvent(boolean lazySpanEvent) {
+        this.lazySpanEvent = lazySpanEvent;
+    }
+
     @Override
     public List<SpanBo> mapRow(Result result, int rowNum) throws Exception {
         if (result.isEmpty()) {
@@ -69,6 +83,7 @@ public class SpanMapper implements RowMapper<List<SpanBo>> {
         List<SpanBo> spanList = new ArrayList<>();
         Map<Long, SpanBo> spanMap = new HashMap<>();
         List<SpanEventBo> spanEventBoList = new ArrayList<>();
+        Map<Long, List<SpanEventColumn>> spanEventColumnMap = new HashMap<>();
         for (Cell cell : rawCells) {
             // only if family name is "span"
             if (CellUtil.matchingFamily(cell, HBaseTables.TRACES_CF_SPAN)) {
@@ -87,34 +102,19 @@ public class SpanMapper implements RowMapper<List<SpanBo>> {
                 spanList.add(spanBo);
                 spanMap.put(spanBo.getSpanId(), spanBo);
             } else if (CellUtil.matchingFamily(cell, HBaseTables.TRACES_CF_TERMINALSPAN)) {
-                SpanEventBo spanEventBo = new SpanEventBo();
-                spanEventBo.setTraceAgentId(transactionId.getAgentId());
-                spanEventBo.setTraceAgentStartTime(transactionId.getAgentStartTime());
-                spanEventBo.setTraceTransactionSequence(transactionId.getTransactionSequence());
-
-                // qualifier : spanId(long) + sequence(short) + asyncId(int)
-                final Buffer qualifier = new OffsetFixedBuffer(cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength());
-                long spanId = qualifier.readLong();
-
-                short sequence = qualifier.readShort();
-                int asyncId = -1;
-                if (qualifier.hasRemaining()) {
-                    asyncId = qualifier.readInt();
-                }
-                short asyncSequence = -1;
-                if (qualifier.hasRemaining()) {
-                    asyncSequence = qualifier.readShort();
-                }
-                spanEventBo.setSpanId(spanId);
-                spanEventBo.setSequence(sequence);
-                spanEventBo.setAsyncId(asyncId);
-                spanEventBo.setAsyncSequence(asyncSequence);
-
-                readSpanEvent(spanEventBo, cell.getValueArray(), cell.getValueOffset(), cell.getValueLength());
-                if (logger.isDebugEnabled()) {
-                    logger.debug("read spanEvent :{}", spanEventBo);
+                if (lazySpanEvent) {
+                    // qualifier of both formats starts with spanId(long)
+                    final long spanId = Bytes.toLong(cell.getQualifierArray(), cell.getQualifierOffset());
+                    List<SpanEventColumn> columnList = spanEventColumnMap.get(spanId);
+                    if (columnList == null) {
+                        columnList = new ArrayList<>();
+                        spanEventColumnMap.put(spanId, columnList);
+                    }
+                    // copied, so that the spans do not pin the backing array of the whole row
+                    columnList.add(new SpanEventColumn(CellUtil.cloneQualifier(cell), CellUtil.cloneValue(cell)));
+                } else {
+                    readSpanEventCell(cell, transactionId, spanEventBoList);
                 }
-                spanEventBoList.add(spanEventBo);
             }
         }
         for (SpanEventBo spanEventBo : spanEventBoList) {
@@ -123,6 +123,12 @@ public class SpanMapper implements RowMapper<List<SpanBo>> {
                 spanBo.addSpanEvent(spanEventBo);
             }
         }
+        for (Map.Entry<Long, List<SpanEventColumn>> entry : spanEventColumnMap.entrySet()) {
+            SpanBo spanBo = spanMap.get(entry.getKey());
+            if (spanBo != null) {
+                spanBo.setSpanEventBoList(new LazySpanEventBoList(transactionId, entry.getValue()));
+            }
+        }
         if (annotationMapper != null) {
             Map<Long, List<AnnotationBo>> annotationMap = annotationMapper.mapRow(result, rowNum);
             addAnnotation(spanList, annotationMap);
@@ -133,6 +139,59 @@ public class SpanMapper implements RowMapper<List<SpanBo>> {
 
     }
 
+    private void readSpanEventCell(Cell cell, TransactionId transactionId, List<SpanEventBo> spanEventBoList) {
+        readSpanEventColumn(cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength(),
+                cell.getValueArray(), cell.getValueOffset(), cell.getValueLength(), transactionId, spanEventBoList);
+    }
+
+    private void readSpanEventColumn(byte[] qualifierBytes, int qualifierOffset, int qualifierLength, byte[] valueBytes, int valueOffset, int valueLength,
+                                     TransactionId transactionId, List<SpanEventBo> spanEventBoList) {
+        if (qualifierLength == SpanEventListSerializer.QUALIFIER_SIZE) {
+            // all span events of a span/span chunk in one cell
+            final long spanId = Bytes.toLong(qualifierBytes, qualifierOffset);
+            final List<SpanEventBo> decodedList = spanEventBoListDecoder.decode(spanId, new OffsetFixedBuffer(valueBytes, valueOffset, valueLength));
+            for (SpanEventBo spanEventBo : decodedList) {
+                spanEventBo.setTraceAgentId(transactionId.getAgentId());
+                spanEventBo.setTraceAgentStartTime(transactionId.getAgentStartTime());
+                spanEventBo.setTraceTransactionSequence(transactionId.getTransactionSequence());
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("read spanEventList :{}", decodedList);
+            }
+            spanEventBoList.addAll(decodedList);
+            return;
+        }
+
+        SpanEventBo spanEventBo = new SpanEventBo();
+        spanEventBo.setTraceAgentId(transactionId.getAgentId());
+        spanEventBo.setTraceAgentStartTime(transactionId.getAgentStartTime());
+        spanEventBo.setTraceTransactionSequence(transactionId.getTransactionSequence());
+
+        // qualifier : spanId(long) + sequence(short) + asyncId(int)
+        final Buffer qualifier = new OffsetFixedBuffer(qualifierBytes, qualifierOffset, qualifierLength);
+        long spanId = qualifier.readLong();
+
+        short sequence = qualifier.readShort();
+        int asyncId = -1;
+        if (qualifier.hasRemaining()) {
+            asyncId = qualifier.readInt();
+        }
+        short asyncSequence = -1;
+        if (qualifier.hasRemaining()) {
+            asyncSequence = qualifier.readShort();
+        }
+        spanEventBo.setSpanId(spanId);
+        spanEventBo.setSequence(sequence);
+        spanEventBo.setAsyncId(asyncId);
+        spanEventBo.setAsyncSequence(asyncSequence);
+
+        readSpanEvent(spanEventBo, valueBytes, valueOffset, valueLength);
+        if (logger.isDebugEnabled()) {
+            logger.debug("read spanEvent :{}", spanEventBo);
+        }
+        spanEventBoList.add(spanEventBo);
+    }
+
     private void addAnnotation(List<SpanBo> spanList, Map<Long, List<AnnotationBo>> annotationMap) {
         for (SpanBo bo : spanList) {
             long spanID = bo.getSpanId();
@@ -236,4 +295,68 @@ public class SpanMapper implements RowMapper<List<SpanBo>> {
     }
 
 
+    /**
+     * qualifier and value of a span event cell, copied out of the row
+     */
+    private static class SpanEventColumn {
+        private final byte[] qualifier;
+        private final byte[] value;
+
+        private SpanEventColumn(byte[] qualifier, byte[] value) {
+            this.qualifier = qualifier;
+            this.value = value;
+        }
+    }
+
+    /**
+     * decodes the span event columns of a span on first access. not thread safe.
+     */
+    private class LazySpanEventBoList extends AbstractList<SpanEventBo> {
+        private final TransactionId transactionId;
+        private List<SpanEventColumn> columnList;
+        private List<SpanEventBo> spanEventBoList;
+
+        private LazySpanEventBoList(TransactionId transactionId, List<SpanEventColumn> columnList) {
+            this.transactionId = transactionId;
+            this.columnList = columnList;
+        }
+
+        private List<SpanEventBo> getSpanEventBoList() {
+            if (spanEventBoList == null) {
+                final List<SpanEventBo> decodedList = new ArrayList<>(columnList.size());
+                for (SpanEventColumn column : columnList) {
+                    readSpanEventColumn(column.qualifier, 0, column.qualifier.length, column.value, 0, column.value.length, transactionId, decodedList);
+                }
+                this.spanEventBoList = decodedList;
+                // release the copied columns
+                this.columnList = null;
+            }
+            return spanEventBoList;
+        }
+
+        @Override
+        public SpanEventBo get(int index) {
+            return getSpanEventBoList().get(index);
+        }
+
+        @Override
+        public int size() {
+            return getSpanEventBoList().size();
+        }
+
+        @Override
+        public SpanEventBo set(int index, SpanEventBo element) {
+            return getSpanEventBoList().set(index, element);
+        }
+
+        @Override
+        public void add(int index, SpanEventBo element) {
+            getSpanEventBoList().add(index, element);
+        }
+
+        @Override
+        public SpanEventBo remove(int index) {
+            return getSpanEventBoList().remove(index);
+        }
+    }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.service;
+
+import java.util.List;
+
+import com.navercorp.pinpoint.common.server.bo.ApplicationStatBo;
+import com.navercorp.pinpoint.web.dao.ApplicationStatDao;
+import com.navercorp.pinpoint.web.vo.Range;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ApplicationStatServiceImpl implements ApplicationStatService {
+
+    @Autowired
+    private ApplicationStatDao applicationStatDao;
+
+    @Override
+    public List<ApplicationStatBo> selectApplicationStatList(String applicationName, Range range) {
+        if (applicationName == null) {
+            throw new NullPointerException("applicationName must not be null");
+        }
+        return applicationStatDao.getApplicationStatList(applicationName, range);
+    }
+
+}
@@ -25,6 +25,7 @@ import com.navercorp.pinpoint.web.dao.MapStatisticsCallerDao;
 import com.navercorp.pinpoint.web.security.ServerMapDataFilter;
 import com.navercorp.pinpoint.web.service.map.AcceptApplication;
 import com.navercorp.pinpoint.web.service.map.AcceptApplicationLocalCache;
+import com.navercorp.pinpoint.web.service.map.MapTaskExecutor;
 import com.navercorp.pinpoint.web.service.map.RpcApplication;
 import com.navercorp.pinpoint.web.vo.Application;
 import com.navercorp.pinpoint.web.vo.LinkKey;
@@ -36,10 +37,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.Callable;
 
 /**
  * Breadth-first link search
  * not thread safe
+ * <p>
+ * If a {@link MapTaskExecutor} is given, the caller/callee lookups and the accept application lookups of
+ * each depth are fanned out onto it, all under a single deadline for the whole search. The visit check and the merge of the results still run on the calling thread.
  * @author emeroad
  * @author minwoo.jung
  */
@@ -63,7 +68,15 @@ public class BFSLinkSelector implements LinkSelector {
     
     private ServerMapDataFilter serverMapDataFilter;
 
+    private final MapTaskExecutor mapTaskExecutor;
+
+    private final Map<Application, Set<AcceptApplication>> prefetchedAcceptApplication = new HashMap<>();
+
     public BFSLinkSelector(MapStatisticsCallerDao mapStatisticsCallerDao, MapStatisticsCalleeDao mapStatisticsCalleeDao, HostApplicationMapDao hostApplicationMapDao, ServerMapDataFilter serverMapDataFilter) {
+        this(mapStatisticsCallerDao, mapStatisticsCalleeDao, hostApplicationMapDao, serverMapDataFilter, null);
+    }
+
+    public BFSLinkSelector(MapStatisticsCallerDao mapStatisticsCallerDao, MapStatisticsCalleeDao mapStatisticsCalleeDao, HostApplicationMapDao hostApplicationMapDao, ServerMapDataFilter serverMapDataFilter, MapTaskExecutor mapTaskExecutor) {
         if (mapStatisticsCalleeDao == null) {
             throw new NullPointerException("mapStatisticsCalleeDao must not be null");
         }
@@ -77,6 +90,7 @@ public class BFSLinkSelector implements LinkSelector {
         this.mapStatisticsCallerDao = mapStatisticsCallerDao;
         this.hostApplicationMapDao = hostApplicationMapDao;
         this.serverMapDataFilter = serverMapDataFilter;
+        this.mapTaskExecutor = mapTaskExecutor;
     }
 
     /**
@@ -94,42 +108,139 @@ public class BFSLinkSelector implements LinkSelector {
             final boolean searchCallerNode = checkNextCaller(targetApplication, callerDepth);
             if (searchCallerNode) {
                 final LinkDataMap caller = mapStatisticsCallerDao.selectCaller(targetApplication, range);
-                if (logger.isDebugEnabled()) {
-                    logger.debug("Found Caller. count={}, caller={}, depth={}", caller.size(), targetApplication, callerDepth.getDepth());
-                }
+                addCallerLinkData(searchResult, targetApplication, caller, range, callerDepth);
+            }
 
-                final LinkDataMap replaceRpcCaller = replaceRpcCaller(caller, range);
+            final boolean searchCalleeNode = checkNextCallee(targetApplication, calleeDepth);
+            if (searchCalleeNode) {
+                final LinkDataMap callee = mapStatisticsCalleeDao.selectCallee(targetApplication, range);
+                addCalleeLinkData(searchResult, targetApplication, callee, calleeDepth);
+            }
+        }
+        logger.debug("{} depth search end", callerDepth.getDepth());
+        return searchResult;
+    }
 
-                for (LinkData link : replaceRpcCaller.getLinkDataList()) {
-                    searchResult.addSourceLinkData(link);
+    /**
+     * Same as {@link #selectLink(List, Range, SearchDepth, SearchDepth)}, but queries hbase concurrently until {@code deadline}
+     */
+    private LinkDataDuplexMap selectLinkParallel(List<Application> targetApplicationList, final Range range, SearchDepth callerDepth, SearchDepth calleeDepth, long deadline) {
 
-                    final Application toApplication = link.getToApplication();
-                    // skip if nextApplication is a terminal or an unknown cloud
-                    if (toApplication.getServiceType().isTerminal() || toApplication.getServiceType().isUnknown()) {
-                        continue;
-                    }
+        final List<Application> callerApplicationList = new ArrayList<>();
+        final List<Application> calleeApplicationList = new ArrayList<>();
+        for (Application targetApplication : targetApplicationList) {
+            if (checkNextCaller(targetApplication, callerDepth)) {
+                callerApplicationList.add(targetApplication);
+            }
+            if (checkNextCallee(targetApplication, calleeDepth)) {
+                calleeApplicationList.add(targetApplication);
+            }
+        }
 
-                    addNextNode(toApplication);
+        final List<Callable<LinkDataMap>> taskList = new ArrayList<>(callerApplicationList.size() + calleeApplicationList.size());
+        for (final Application callerApplication : callerApplicationList) {
+            taskList.add(new Callable<LinkDataMap>() {
+                @Override
+                public LinkDataMap call() throws Exception {
+                    return mapStatisticsCallerDao.selectCaller(callerApplication, range);
                 }
+            });
+        }
+        for (final Application calleeApplication : calleeApplicationList) {
+            taskList.add(new Callable<LinkDataMap>() {
+                @Override
+                public LinkDataMap call() throws Exception {
+                    return mapStatisticsCalleeDao.selectCallee(calleeApplication, range);
+                }
+            });
+        }
+        final List<LinkDataMap> resultList = mapTaskExecutor.invokeAll(taskList, deadline);
+        final List<LinkDataMap> callerList = resultList.subList(0, callerApplicationList.size());
+        final List<LinkDataMap> calleeList = resultList.subList(callerApplicationList.size(), resultList.size());
+
+        prefetchAcceptApplication(callerList, range, deadline);
+
+        final LinkDataDuplexMap searchResult = new LinkDataDuplexMap();
+        for (int i = 0; i < callerApplicationList.size(); i++) {
+            addCallerLinkData(searchResult, callerApplicationList.get(i), callerList.get(i), range, callerDepth);
+        }
+        for (int i = 0; i < calleeApplicationList.size(); i++) {
+            addCalleeLinkData(searchResult, calleeApplicationList.get(i), calleeList.get(i), calleeDepth);
+        }
+        this.prefetchedAcceptApplication.clear();
+
+        logger.debug("{} depth parallel search end. caller:{} callee:{}", callerDepth.getDepth(), callerApplicationList.size(), calleeApplicationList.size());
+        return searchResult;
+    }
+
+    private void addCallerLinkData(LinkDataDuplexMap searchResult, Application targetApplication, LinkDataMap caller, Range range, SearchDepth callerDepth) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Found Caller. count={}, caller={}, depth={}", caller.size(), targetApplication, callerDepth.getDepth());
+        }
+
+        final LinkDataMap replaceRpcCaller = replaceRpcCaller(caller, range);
+
+        for (LinkData link : replaceRpcCaller.getLinkDataList()) {
+            searchResult.addSourceLinkData(link);
+
+            final Application toApplication = link.getToApplication();
+            // skip if nextApplication is a terminal or an unknown cloud
+            if (toApplication.getServiceType().isTerminal() || toApplication.getServiceType().isUnknown()) {
+                continue;
             }
 
-            final boolean searchCalleeNode = checkNextCallee(targetApplication, calleeDepth);
-            if (searchCalleeNode) {
-                final LinkDataMap callee = mapStatisticsCalleeDao.selectCallee(targetApplication, range);
-                if (logger.isInfoEnabled()) {
-                    logger.debug("Found Callee. count={}, callee={}, depth={}", callee.size(), targetApplication, calleeDepth.getDepth());
-                }
-                for (LinkData stat : callee.getLinkDataList()) {
-                    
-                    searchResult.addTargetLinkData(stat);
+            addNextNode(toApplication);
+        }
+    }
+
+    private void addCalleeLinkData(LinkDataDuplexMap searchResult, Application targetApplication, LinkDataMap callee, SearchDepth calleeDepth) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Found Callee. count={}, callee={}, depth={}", callee.size(), targetApplication, calleeDepth.getDepth());
+        }
+        for (LinkData stat : callee.getLinkDataList()) {
+
+            searchResult.addTargetLinkData(stat);
+
+            final Application fromApplication = stat.getFromApplication();
+            addNextNode(fromApplication);
+        }
+    }
 
-                    final Application fromApplication = stat.getFromApplication();
-                    addNextNode(fromApplication);
+    /**
+     * Fetches the accept applications that {@link #replaceRpcCaller(LinkDataMap, Range)} will look up for this depth.
+     */
+    private void prefetchAcceptApplication(List<LinkDataMap> callerList, final Range range, long deadline) {
+        final Set<Application> fromApplicationSet = new LinkedHashSet<>();
+        for (LinkDataMap caller : callerList) {
+            for (LinkData linkData : caller.getLinkDataList()) {
+                final Application toApplication = linkData.getToApplication();
+                if (!toApplication.getServiceType().isRpcClient() && !toApplication.getServiceType().isQueue()) {
+                    continue;
+                }
+                final RpcApplication rpcApplication = new RpcApplication(toApplication.getName(), linkData.getFromApplication());
+                if (CollectionUtils.isEmpty(this.acceptApplicationLocalCache.get(rpcApplication))) {
+                    fromApplicationSet.add(linkData.getFromApplication());
                 }
             }
         }
-        logger.debug("{} depth search end", callerDepth.getDepth());
-        return searchResult;
+        if (fromApplicationSet.isEmpty()) {
+            return;
+        }
+
+        final List<Application> fromApplicationList = new ArrayList<>(fromApplicationSet);
+        final List<Callable<Set<AcceptApplication>>> taskList = new ArrayList<>(fromApplicationList.size());
+        for (final Application fromApplication : fromApplicationList) {
+            taskList.add(new Callable<Set<AcceptApplication>>() {
+                @Override
+                public Set<AcceptApplication> call() throws Exception {
+                    return hostApplicationMapDao.findAcceptApplicationName(fromApplication, range);
+                }
+            });
+        }
+        final List<Set<AcceptApplication>> resultList = mapTaskExecutor.invokeAll(taskList, deadline);
+        for (int i = 0; i < fromApplicationList.size(); i++) {
+            this.prefetchedAcceptApplication.put(fromApplicationList.get(i), resultList.get(i));
+        }
     }
 
     private void addNextNode(Application sourceApplication) {
@@ -246,7 +357,10 @@ public class BFSLinkSelector implements LinkSelector {
             logger.debug("acceptApplicationLocalCache hit {}", rpcApplication);
             return hit;
         }
-        final Set<AcceptApplication> acceptApplicationSet= hostApplicationMapDao.findAcceptApplicationName(fromApplication, range);
+        Set<AcceptApplication> acceptApplicationSet = this.prefetchedAcceptApplication.get(fromApplication);
+        if (acceptApplicationSet == null) {
+            acceptApplicationSet = hostApplicationMapDao.findAcceptApplicationName(fromApplication, range);
+        }
         this.acceptApplicationLocalCache.put(rpcApplication, acceptApplicationSet);
 
         Set<AcceptApplication> acceptApplication = this.acceptApplicationLocalCache.get(rpcApplication);
@@ -343,12 +457,19 @@ public class BFSLinkSelector implements LinkSelector {
 
         LinkDataDuplexMap linkDataDuplexMap = new LinkDataDuplexMap();
 
+        // every depth shares the timeout of the whole map request
+        final long deadline = mapTaskExecutor != null ? mapTaskExecutor.newDeadline() : 0;
         while (!this.nextQueue.isEmpty()) {
 
             final List<Application> currentNode = this.nextQueue.copyAndClear();
 
             logger.debug("size:{} depth caller:{} callee:{} node:{}", currentNode.size(), callerDepth.getDepth(), calleeDepth.getDepth(), currentNode);
-            LinkDataDuplexMap levelData = selectLink(currentNode, range, callerDepth, calleeDepth);
+            final LinkDataDuplexMap levelData;
+            if (mapTaskExecutor == null) {
+                levelData = selectLink(currentNode, range, callerDepth, calleeDepth);
+            } else {
+                levelData = selectLinkParallel(currentNode, range, callerDepth, calleeDepth, deadline);
+            }
 
             linkDataDuplexMap.addLinkDataDuplexMap(levelData);
 
@@ -30,8 +30,10 @@ import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataDuplexMap;
 import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
 import com.navercorp.pinpoint.web.dao.ApplicationTraceIndexDao;
 import com.navercorp.pinpoint.web.dao.TraceDao;
+import com.navercorp.pinpoint.web.dao.TraceHandler;
 import com.navercorp.pinpoint.web.filter.Filter;
 import com.navercorp.pinpoint.web.security.ServerMapDataFilter;
+import com.navercorp.pinpoint.web.service.map.MapTaskTimeoutException;
 import com.navercorp.pinpoint.web.util.TimeWindow;
 import com.navercorp.pinpoint.web.util.TimeWindowDownSampler;
 import com.navercorp.pinpoint.web.vo.Application;
@@ -46,9 +48,12 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StopWatch;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -56,6 +61,15 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author netspider
@@ -85,8 +99,41 @@ public class FilteredMapServiceImpl implements FilteredMapService {
     @Autowired(required=false)
     private ServerMapDataFilter serverMapDataFilter;
 
+    @Value("#{pinpointWebProps['web.servermap.filtered.parallel.enable'] ?: false}")
+    private boolean parallelEnable;
+
+    @Value("#{pinpointWebProps['web.servermap.filtered.parallel.threadSize'] ?: 8}")
+    private int parallelThreadSize;
+
+    @Value("#{pinpointWebProps['web.servermap.filtered.parallel.chunkSize'] ?: 100}")
+    private int parallelChunkSize;
+
+    @Value("#{pinpointWebProps['web.servermap.filtered.parallel.timeout'] ?: 60000}")
+    private long parallelTimeout;
+
+    private ForkJoinPool aggregatePool;
+
     private static final Object V = new Object();
 
+    @PostConstruct
+    public void start() {
+        if (!parallelEnable) {
+            return;
+        }
+        if (parallelChunkSize <= 0) {
+            throw new IllegalArgumentException("parallelChunkSize must be positive");
+        }
+        this.aggregatePool = new ForkJoinPool(parallelThreadSize, new AggregateWorkerThreadFactory("Pinpoint-FilteredMapAggregate"), null, false);
+        logger.info("parallel filtered map enabled. threadSize:{} chunkSize:{} timeout:{}", parallelThreadSize, parallelChunkSize, parallelTimeout);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (aggregatePool != null) {
+            aggregatePool.shutdownNow();
+        }
+    }
+
     @Override
     public LimitedScanResult<List<TransactionId>> selectTraceIdsFromApplicationTraceIndex(String applicationName, Range range, int limit) {
         return selectTraceIdsFromApplicationTraceIndex(applicationName, range, limit, true);
@@ -183,16 +230,6 @@ public class FilteredMapServiceImpl implements FilteredMapService {
         return filteredResult;
     }
 
-    private List<List<SpanBo>> filterList2(List<List<SpanBo>> transactionList, Filter filter) {
-        final List<List<SpanBo>> filteredResult = new ArrayList<>();
-        for (List<SpanBo> transaction : transactionList) {
-            if (filter.include(transaction)) {
-                filteredResult.add(transaction);
-            }
-        }
-        return filteredResult;
-    }
-
     @Override
     public ApplicationMap selectApplicationMap(TransactionId transactionId) {
         if (transactionId == null) {
@@ -220,10 +257,10 @@ public class FilteredMapServiceImpl implements FilteredMapService {
         StopWatch watch = new StopWatch();
         watch.start();
 
-        final List<List<SpanBo>> filterList = selectFilteredSpan(transactionIdList, filter);
+        final FilteredMapAggregator aggregator = aggregate(transactionIdList, originalRange, scanRange, filter);
 
-        DotExtractor dotExtractor = createDotExtractor(scanRange, filterList);
-        ApplicationMap map = createMap(originalRange, scanRange, filterList);
+        DotExtractor dotExtractor = aggregator.getDotExtractor();
+        ApplicationMap map = createMap(originalRange, aggregator);
 
         ApplicationMapWithScatterScanResult applicationMapWithScatterScanResult = new ApplicationMapWithScatterScanResult(map, dotExtractor.getApplicationScatterScanResult());
 
@@ -245,10 +282,10 @@ public class FilteredMapServiceImpl implements FilteredMapService {
         StopWatch watch = new StopWatch();
         watch.start();
 
-        final List<List<SpanBo>> filterList = selectFilteredSpan(transactionIdList, filter);
+        final FilteredMapAggregator aggregator = aggregate(transactionIdList, originalRange, scanRange, filter);
 
-        DotExtractor dotExtractor = createDotExtractor(scanRange, filterList);
-        ApplicationMap map = createMap(originalRange, scanRange, filterList);
+        DotExtractor dotExtractor = aggregator.getDotExtractor();
+        ApplicationMap map = createMap(originalRange, aggregator);
 
         ApplicationMapWithScatterData applicationMapWithScatterData = new ApplicationMapWithScatterData(map, dotExtractor.getApplicationScatterData(originalRange.getFrom(), originalRange.getTo(), xGroupUnit, yGroupUnit));
 
@@ -258,23 +295,83 @@ public class FilteredMapServiceImpl implements FilteredMapService {
         return applicationMapWithScatterData;
     }
 
-    private List<List<SpanBo>> selectFilteredSpan(List<TransactionId> transactionIdList, Filter filter) {
+    private FilteredMapAggregator aggregate(List<TransactionId> transactionIdList, Range originalRange, Range scanRange, Filter filter) {
         // filters out recursive calls by looking at each objects
         // do not filter here if we change to a tree-based collision check in the future. 
         final Collection<TransactionId> recursiveFilterList = recursiveCallFilter(transactionIdList);
 
-        // FIXME might be better to simply traverse the List<Span> and create a process chain for execution
-        final List<List<SpanBo>> originalList = this.traceDao.selectAllSpans(recursiveFilterList);
+        if (aggregatePool == null || recursiveFilterList.size() <= parallelChunkSize) {
+            final FilteredMapAggregator aggregator = new FilteredMapAggregator(originalRange, scanRange, filter);
+            // transactions are handed over one at a time, they are not kept after being aggregated
+            this.traceDao.selectAllSpans(recursiveFilterList, aggregator);
+            return aggregator;
+        }
+
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final List<TransactionId> aggregateList = new ArrayList<>(recursiveFilterList);
+        final ForkJoinTask<FilteredMapAggregator> task = aggregatePool.submit(new FilteredMapAggregateTask(aggregateList, originalRange, scanRange, filter, cancelled));
+        try {
+            return task.get(parallelTimeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new MapTaskTimeoutException("filtered map timeout. timeout:" + parallelTimeout + "ms transactions:" + aggregateList.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("filtered map interrupted", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            // chunks that have not been fetched yet are skipped
+            cancelled.set(true);
+        }
+    }
+
+    private ApplicationMap createMap(Range range, FilteredMapAggregator aggregator) {
+        ApplicationMapBuilder applicationMapBuilder = new ApplicationMapBuilder(range);
+        final ResponseHistogramBuilder mapHistogramSummary = aggregator.getMapHistogramSummary();
+        mapHistogramSummary.build();
+        ApplicationMap map = applicationMapBuilder.build(aggregator.getLinkDataDuplexMap(), agentInfoService, mapHistogramSummary);
 
-        return filterList2(originalList, filter);
+        return map;
     }
 
-    private DotExtractor createDotExtractor(Range scanRange, List<List<SpanBo>> filterList) {
-        final DotExtractor dotExtractor = new DotExtractor(scanRange, applicationFactory);
+    /**
+     * aggregates each transaction that passes the filter into link data, response histograms and scatter dots.
+     */
+    private class FilteredMapAggregator implements TraceHandler {
+
+        private final Filter filter;
+        // TODO inject TimeWindow from elsewhere 
+        private final TimeWindow window;
+        private final LinkDataDuplexMap linkDataDuplexMap = new LinkDataDuplexMap();
+        private final ResponseHistogramBuilder mapHistogramSummary;
+        private final DotExtractor dotExtractor;
+
+        private FilteredMapAggregator(Range range, Range scanRange, Filter filter) {
+            this.filter = filter;
+            this.window = new TimeWindow(range, TimeWindowDownSampler.SAMPLER);
+            this.mapHistogramSummary = new ResponseHistogramBuilder(range);
+            this.dotExtractor = new DotExtractor(scanRange, applicationFactory);
+        }
+
+        @Override
+        public void handle(List<SpanBo> transaction) {
+            if (!filter.include(transaction)) {
+                return;
+            }
+            addDot(transaction);
+            addTransaction(transaction);
+        }
 
-        for (List<SpanBo> transaction : filterList) {
+        private void addDot(List<SpanBo> transaction) {
             for (SpanBo span : transaction) {
-                final Application spanApplication = this.applicationFactory.createApplication(span.getApplicationId(), span.getApplicationServiceType());
+                final Application spanApplication = applicationFactory.createApplication(span.getApplicationId(), span.getApplicationServiceType());
                 if (!spanApplication.getServiceType().isRecordStatistics() || spanApplication.getServiceType().isRpcClient()) {
                     continue;
                 }
@@ -283,27 +380,15 @@ public class FilteredMapServiceImpl implements FilteredMapService {
             }
         }
 
-        return dotExtractor;
-    }
-
-    private ApplicationMap createMap(Range range, Range scanRange, List<List<SpanBo>> filterList) {
-
-        // TODO inject TimeWindow from elsewhere 
-        final TimeWindow window = new TimeWindow(range, TimeWindowDownSampler.SAMPLER);
-
-
-        final LinkDataDuplexMap linkDataDuplexMap = new LinkDataDuplexMap();
-
-        final ResponseHistogramBuilder mapHistogramSummary = new ResponseHistogramBuilder(range);
         /**
          * Convert to statistical data
          */
-        for (List<SpanBo> transaction : filterList) {
+        private void addTransaction(List<SpanBo> transaction) {
             final Map<Long, SpanBo> transactionSpanMap = checkDuplicatedSpanId(transaction);
 
             for (SpanBo span : transaction) {
                 final Application parentApplication = createParentApplication(span, transactionSpanMap);
-                final Application spanApplication = this.applicationFactory.createApplication(span.getApplicationId(), span.getApplicationServiceType());
+                final Application spanApplication = applicationFactory.createApplication(span.getApplicationId(), span.getApplicationServiceType());
 
                 // records the Span's response time statistics
                 recordSpanResponseTime(spanApplication, span, mapHistogramSummary, span.getCollectorAcceptTime());
@@ -349,12 +434,84 @@ public class FilteredMapServiceImpl implements FilteredMapService {
                 addNodeFromSpanEvent(span, window, linkDataDuplexMap, transactionSpanMap);
             }
         }
-        
-        ApplicationMapBuilder applicationMapBuilder = new ApplicationMapBuilder(range);
-        mapHistogramSummary.build();
-        ApplicationMap map = applicationMapBuilder.build(linkDataDuplexMap, agentInfoService, mapHistogramSummary);
 
-        return map;
+        private void addFilteredMapAggregator(FilteredMapAggregator aggregator) {
+            this.linkDataDuplexMap.addLinkDataDuplexMap(aggregator.linkDataDuplexMap);
+            this.mapHistogramSummary.addResponseHistogramBuilder(aggregator.mapHistogramSummary);
+            this.dotExtractor.addDotExtractor(aggregator.dotExtractor);
+        }
+
+        private LinkDataDuplexMap getLinkDataDuplexMap() {
+            return linkDataDuplexMap;
+        }
+
+        private ResponseHistogramBuilder getMapHistogramSummary() {
+            return mapHistogramSummary;
+        }
+
+        private DotExtractor getDotExtractor() {
+            return dotExtractor;
+        }
+    }
+
+    /**
+     * splits the transaction list in halves until a chunk fits in {@code parallelChunkSize},
+     * aggregates each chunk on its own and merges the partial results.
+     * only the aggregated link data, histograms and dots of a chunk outlive its fetch.
+     */
+    private class FilteredMapAggregateTask extends RecursiveTask<FilteredMapAggregator> {
+
+        private final List<TransactionId> transactionIdList;
+        private final Range originalRange;
+        private final Range scanRange;
+        private final Filter filter;
+        private final AtomicBoolean cancelled;
+
+        private FilteredMapAggregateTask(List<TransactionId> transactionIdList, Range originalRange, Range scanRange, Filter filter, AtomicBoolean cancelled) {
+            this.transactionIdList = transactionIdList;
+            this.originalRange = originalRange;
+            this.scanRange = scanRange;
+            this.filter = filter;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        protected FilteredMapAggregator compute() {
+            final int size = transactionIdList.size();
+            if (size <= parallelChunkSize) {
+                final FilteredMapAggregator aggregator = new FilteredMapAggregator(originalRange, scanRange, filter);
+                if (!cancelled.get()) {
+                    traceDao.selectAllSpans(transactionIdList, aggregator);
+                }
+                return aggregator;
+            }
+
+            final int half = size >>> 1;
+            final FilteredMapAggregateTask left = new FilteredMapAggregateTask(transactionIdList.subList(0, half), originalRange, scanRange, filter, cancelled);
+            final FilteredMapAggregateTask right = new FilteredMapAggregateTask(transactionIdList.subList(half, size), originalRange, scanRange, filter, cancelled);
+            left.fork();
+            final FilteredMapAggregator aggregator = right.compute();
+            aggregator.addFilteredMapAggregator(left.join());
+            return aggregator;
+        }
+    }
+
+    private static class AggregateWorkerThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+        private final String threadName;
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        private AggregateWorkerThreadFactory(String threadName) {
+            this.threadName = threadName;
+        }
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(threadName + "(" + threadNumber.getAndIncrement() + ")");
+            thread.setDaemon(true);
+            return thread;
+        }
     }
 
     private Map<Long, SpanBo> checkDuplicatedSpanId(List<SpanBo> transaction) {
@@ -24,7 +24,9 @@ import com.navercorp.pinpoint.web.dao.HostApplicationMapDao;
 import com.navercorp.pinpoint.web.dao.MapResponseDao;
 import com.navercorp.pinpoint.web.dao.MapStatisticsCalleeDao;
 import com.navercorp.pinpoint.web.dao.MapStatisticsCallerDao;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
 import com.navercorp.pinpoint.web.security.ServerMapDataFilter;
+import com.navercorp.pinpoint.web.service.map.MapTaskExecutor;
 import com.navercorp.pinpoint.web.view.ApplicationTimeHistogramViewModel;
 import com.navercorp.pinpoint.web.vo.Application;
 import com.navercorp.pinpoint.web.vo.Range;
@@ -33,10 +35,17 @@ import com.navercorp.pinpoint.web.vo.SearchOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StopWatch;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author netspider
@@ -69,6 +78,37 @@ public class MapServiceImpl implements MapService {
     @Autowired(required=false)
     private ServerMapDataFilter serverMapDataFilter;
 
+    @Value("#{pinpointWebProps['web.servermap.parallel.enable'] ?: false}")
+    private boolean parallelEnable;
+
+    @Value("#{pinpointWebProps['web.servermap.parallel.threadSize'] ?: 32}")
+    private int parallelThreadSize;
+
+    @Value("#{pinpointWebProps['web.servermap.parallel.maxConcurrency'] ?: 8}")
+    private int parallelMaxConcurrency;
+
+    @Value("#{pinpointWebProps['web.servermap.parallel.timeout'] ?: 30000}")
+    private long parallelTimeout;
+
+    private ExecutorService linkSelectExecutor;
+
+    @PostConstruct
+    public void start() {
+        if (!parallelEnable) {
+            return;
+        }
+        final PinpointThreadFactory threadFactory = new PinpointThreadFactory("Pinpoint-LinkSelect", true);
+        this.linkSelectExecutor = new ThreadPoolExecutor(parallelThreadSize, parallelThreadSize, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory);
+        logger.info("parallel link select enabled. threadSize:{} maxConcurrency:{} timeout:{}", parallelThreadSize, parallelMaxConcurrency, parallelTimeout);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (linkSelectExecutor != null) {
+            linkSelectExecutor.shutdownNow();
+        }
+    }
+
     /**
      * Used in the main UI - draws the server map by querying the timeslot by time.
      */
@@ -85,7 +125,7 @@ public class MapServiceImpl implements MapService {
         StopWatch watch = new StopWatch("ApplicationMap");
         watch.start("ApplicationMap Hbase Io Fetch(Caller,Callee) Time");
 
-        LinkSelector linkSelector = new BFSLinkSelector(this.mapStatisticsCallerDao, this.mapStatisticsCalleeDao, hostApplicationMapDao, serverMapDataFilter);
+        LinkSelector linkSelector = createLinkSelector();
         LinkDataDuplexMap linkDataDuplexMap = linkSelector.select(sourceApplication, range, searchOption);
         watch.stop();
 
@@ -103,6 +143,14 @@ public class MapServiceImpl implements MapService {
         return map;
     }
 
+    private LinkSelector createLinkSelector() {
+        if (linkSelectExecutor == null) {
+            return new BFSLinkSelector(this.mapStatisticsCallerDao, this.mapStatisticsCalleeDao, hostApplicationMapDao, serverMapDataFilter);
+        }
+        final MapTaskExecutor mapTaskExecutor = new MapTaskExecutor(linkSelectExecutor, parallelMaxConcurrency, parallelTimeout);
+        return new BFSLinkSelector(this.mapStatisticsCallerDao, this.mapStatisticsCalleeDao, hostApplicationMapDao, serverMapDataFilter, mapTaskExecutor);
+    }
+
     @Override
     public ApplicationTimeHistogramViewModel selectResponseTimeHistogramData(Application application, Range range) {
         List<ResponseTime> responseTimes = mapResponseDao.selectResponseTime(application, range);
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.navercorp.pinpoint.common.server.bo.ApiMetaDataBo;
+import com.navercorp.pinpoint.common.server.bo.SqlMetaDataBo;
+import com.navercorp.pinpoint.common.server.bo.StringMetaDataBo;
+import com.navercorp.pinpoint.web.dao.ApiMetaDataDao;
+import com.navercorp.pinpoint.web.dao.SqlMetaDataDao;
+import com.navercorp.pinpoint.web.dao.StringMetaDataDao;
+import com.navercorp.pinpoint.web.vo.MetaDataKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves the api, sql and string metadata referenced by a call tree.
+ * <p>
+ * The keys that are not cached are fetched with multi-gets of at most {@code batchSize} rows.
+ * If an executor is given, the multi-gets of all metadata types run in parallel.
+ * Metadata rows never change once the collector has written them, so found rows are kept in bounded caches
+ * shared by all requests. Missing rows are not cached as the agent may send them later.
+ */
+public class MetaDataResolver {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final MetaDataLoader<ApiMetaDataBo> apiMetaDataLoader;
+    private final MetaDataLoader<SqlMetaDataBo> sqlMetaDataLoader;
+    private final MetaDataLoader<StringMetaDataBo> stringMetaDataLoader;
+
+    private final int batchSize;
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+
+    public MetaDataResolver(final ApiMetaDataDao apiMetaDataDao, final SqlMetaDataDao sqlMetaDataDao, final StringMetaDataDao stringMetaDataDao,
+                            int batchSize, int cacheMaxSize, ExecutorService executor, long timeoutMillis) {
+        if (apiMetaDataDao == null) {
+            throw new NullPointerException("apiMetaDataDao must not be null");
+        }
+        if (sqlMetaDataDao == null) {
+            throw new NullPointerException("sqlMetaDataDao must not be null");
+        }
+        if (stringMetaDataDao == null) {
+            throw new NullPointerException("stringMetaDataDao must not be null");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize");
+        }
+        if (cacheMaxSize < 0) {
+            throw new IllegalArgumentException("cacheMaxSize");
+        }
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("timeoutMillis");
+        }
+        this.apiMetaDataLoader = new MetaDataLoader<ApiMetaDataBo>(cacheMaxSize) {
+            @Override
+            protected List<List<ApiMetaDataBo>> load(List<MetaDataKey> keyList) {
+                return apiMetaDataDao.getApiMetaData(keyList);
+            }
+        };
+        this.sqlMetaDataLoader = new MetaDataLoader<SqlMetaDataBo>(cacheMaxSize) {
+            @Override
+            protected List<List<SqlMetaDataBo>> load(List<MetaDataKey> keyList) {
+                return sqlMetaDataDao.getSqlMetaData(keyList);
+            }
+        };
+        this.stringMetaDataLoader = new MetaDataLoader<StringMetaDataBo>(cacheMaxSize) {
+            @Override
+            protected List<List<StringMetaDataBo>> load(List<MetaDataKey> keyList) {
+                return stringMetaDataDao.getStringMetaData(keyList);
+            }
+        };
+        this.batchSize = batchSize;
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public ResolvedMetaData resolve(Collection<MetaDataKey> apiKeys, Collection<MetaDataKey> sqlKeys, Collection<MetaDataKey> stringKeys) {
+        if (apiKeys == null) {
+            throw new NullPointerException("apiKeys must not be null");
+        }
+        if (sqlKeys == null) {
+            throw new NullPointerException("sqlKeys must not be null");
+        }
+        if (stringKeys == null) {
+            throw new NullPointerException("stringKeys must not be null");
+        }
+        final List<Callable<Void>> taskList = new ArrayList<>();
+        final Map<MetaDataKey, List<ApiMetaDataBo>> apiMetaDataMap = apiMetaDataLoader.prepare(apiKeys, batchSize, taskList);
+        final Map<MetaDataKey, List<SqlMetaDataBo>> sqlMetaDataMap = sqlMetaDataLoader.prepare(sqlKeys, batchSize, taskList);
+        final Map<MetaDataKey, List<StringMetaDataBo>> stringMetaDataMap = stringMetaDataLoader.prepare(stringKeys, batchSize, taskList);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("resolve metadata api:{} sql:{} string:{} multiGet:{}", apiKeys.size(), sqlKeys.size(), stringKeys.size(), taskList.size());
+        }
+        execute(taskList);
+        return new ResolvedMetaData(apiMetaDataMap, sqlMetaDataMap, stringMetaDataMap);
+    }
+
+    private void execute(List<Callable<Void>> taskList) {
+        if (executor == null || taskList.size() <= 1) {
+            for (Callable<Void> task : taskList) {
+                call(task);
+            }
+            return;
+        }
+
+        try {
+            final List<Future<Void>> futureList = executor.invokeAll(taskList, timeoutMillis, TimeUnit.MILLISECONDS);
+            for (Future<Void> future : futureList) {
+                getResult(future);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("metadata lookup interrupted", e);
+        }
+    }
+
+    private void call(Callable<Void> task) {
+        try {
+            task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void getResult(Future<Void> future) throws InterruptedException {
+        try {
+            future.get();
+        } catch (CancellationException e) {
+            throw new IllegalStateException("metadata lookup timeout. timeout:" + timeoutMillis + "ms");
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private abstract static class MetaDataLoader<V> {
+
+        private final Cache<MetaDataKey, List<V>> cache;
+
+        private MetaDataLoader(int cacheMaxSize) {
+            this.cache = CacheBuilder.newBuilder().maximumSize(cacheMaxSize).build();
+        }
+
+        /**
+         * @return map holding the cached metadata. the tasks added to {@code taskList} put the loaded metadata into it.
+         */
+        private Map<MetaDataKey, List<V>> prepare(Collection<MetaDataKey> keys, int batchSize, List<Callable<Void>> taskList) {
+            final Map<MetaDataKey, List<V>> result = new ConcurrentHashMap<>(keys.size() * 2);
+            List<MetaDataKey> batch = new ArrayList<>(Math.min(keys.size(), batchSize));
+            for (MetaDataKey key : keys) {
+                final List<V> cached = cache.getIfPresent(key);
+                if (cached != null) {
+                    result.put(key, cached);
+                    continue;
+                }
+                batch.add(key);
+                if (batch.size() == batchSize) {
+                    taskList.add(new LoadTask(batch, result));
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                taskList.add(new LoadTask(batch, result));
+            }
+            return result;
+        }
+
+        protected abstract List<List<V>> load(List<MetaDataKey> keyList);
+
+        private class LoadTask implements Callable<Void> {
+
+            private final List<MetaDataKey> keyList;
+            private final Map<MetaDataKey, List<V>> result;
+
+            private LoadTask(List<MetaDataKey> keyList, Map<MetaDataKey, List<V>> result) {
+                this.keyList = keyList;
+                this.result = result;
+            }
+
+            @Override
+            public Void call() {
+                final List<List<V>> loaded = load(keyList);
+                for (int i = 0; i < keyList.size(); i++) {
+                    final List<V> metaDataList = loaded.get(i);
+                    if (metaDataList == null || metaDataList.isEmpty()) {
+                        continue;
+                    }
+                    final MetaDataKey key = keyList.get(i);
+                    result.put(key, metaDataList);
+                    cache.put(key, metaDataList);
+                }
+                return null;
+            }
+        }
+    }
+
+    public static class ResolvedMetaData {
+
+        private final Map<MetaDataKey, List<ApiMetaDataBo>> apiMetaDataMap;
+        private final Map<MetaDataKey, List<SqlMetaDataBo>> sqlMetaDataMap;
+        private final Map<MetaDataKey, List<StringMetaDataBo>> stringMetaDataMap;
+
+        private ResolvedMetaData(Map<MetaDataKey, List<ApiMetaDataBo>> apiMetaDataMap, Map<MetaDataKey, List<SqlMetaDataBo>> sqlMetaDataMap,
+                                 Map<MetaDataKey, List<StringMetaDataBo>> stringMetaDataMap) {
+            this.apiMetaDataMap = apiMetaDataMap;
+            this.sqlMetaDataMap = sqlMetaDataMap;
+            this.stringMetaDataMap = stringMetaDataMap;
+        }
+
+        public List<ApiMetaDataBo> getApiMetaData(MetaDataKey key) {
+            return get(apiMetaDataMap, key);
+        }
+
+        public List<SqlMetaDataBo> getSqlMetaData(MetaDataKey key) {
+            return get(sqlMetaDataMap, key);
+        }
+
+        public List<StringMetaDataBo> getStringMetaData(MetaDataKey key) {
+            return get(stringMetaDataMap, key);
+        }
+
+        private <V> List<V> get(Map<MetaDataKey, List<V>> map, MetaDataKey key) {
+            final List<V> metaDataList = map.get(key);
+            if (metaDataList == null) {
+                return Collections.emptyList();
+            }
+            return metaDataList;
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.web.service;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.web.dao.ApplicationTraceIndexDao;
 import com.navercorp.pinpoint.web.dao.TraceDao;
+import com.navercorp.pinpoint.web.dao.TraceHandler;
 import com.navercorp.pinpoint.web.filter.Filter;
 import com.navercorp.pinpoint.web.scatter.ScatterData;
 import com.navercorp.pinpoint.web.vo.Range;
@@ -62,7 +63,7 @@ public class ScatterChartServiceImpl implements ScatterChartService {
     }
 
     @Override
-    public List<Dot> selectScatterData(Collection<TransactionId> transactionIdList, String applicationName, Filter filter) {
+    public List<Dot> selectScatterData(Collection<TransactionId> transactionIdList, final String applicationName, final Filter filter) {
         if (transactionIdList == null) {
             throw new NullPointerException("transactionIdList must not be null");
         }
@@ -73,23 +74,22 @@ public class ScatterChartServiceImpl implements ScatterChartService {
             throw new NullPointerException("filter must not be null");
         }
 
-        final List<List<SpanBo>> traceList = traceDao.selectAllSpans(transactionIdList);
-
         final List<Dot> result = new ArrayList<>();
 
-        for (List<SpanBo> trace : traceList) {
-            if (!filter.include(trace)) {
-                continue;
-            }
+        traceDao.selectAllSpans(transactionIdList, new TraceHandler() {
+            @Override
+            public void handle(List<SpanBo> trace) {
+                if (!filter.include(trace)) {
+                    return;
+                }
 
-            for (SpanBo span : trace) {
-                if (applicationName.equals(span.getApplicationId())) {
-                    final TransactionId transactionId = new TransactionId(span.getTraceAgentId(), span.getTraceAgentStartTime(), span.getTraceTransactionSequence());
-                    final Dot dot = new Dot(transactionId, span.getCollectorAcceptTime(), span.getElapsed(), span.getErrCode(), span.getAgentId());
-                    result.add(dot);
+                for (SpanBo span : trace) {
+                    if (applicationName.equals(span.getApplicationId())) {
+                        result.add(createDot(span));
+                    }
                 }
             }
-        }
+        });
 
         return result;
     }
@@ -147,7 +147,7 @@ public class ScatterChartServiceImpl implements ScatterChartService {
     }
 
     @Override
-    public ScatterData selectScatterData(Collection<TransactionId> transactionIdList, String applicationName, Range range, int xGroupUnit, int yGroupUnit, Filter filter) {
+    public ScatterData selectScatterData(Collection<TransactionId> transactionIdList, final String applicationName, Range range, int xGroupUnit, int yGroupUnit, final Filter filter) {
         if (transactionIdList == null) {
             throw new NullPointerException("transactionIdList must not be null");
         }
@@ -158,24 +158,29 @@ public class ScatterChartServiceImpl implements ScatterChartService {
             throw new NullPointerException("filter must not be null");
         }
 
-        final List<List<SpanBo>> traceList = traceDao.selectAllSpans(transactionIdList);
+        final ScatterData scatterData = new ScatterData(range.getFrom(), range.getTo(), xGroupUnit, yGroupUnit);
 
-        ScatterData scatterData = new ScatterData(range.getFrom(), range.getTo(), xGroupUnit, yGroupUnit);
-        for (List<SpanBo> trace : traceList) {
-            if (!filter.include(trace)) {
-                continue;
-            }
+        traceDao.selectAllSpans(transactionIdList, new TraceHandler() {
+            @Override
+            public void handle(List<SpanBo> trace) {
+                if (!filter.include(trace)) {
+                    return;
+                }
 
-            for (SpanBo span : trace) {
-                if (applicationName.equals(span.getApplicationId())) {
-                    final TransactionId transactionId = new TransactionId(span.getTraceAgentId(), span.getTraceAgentStartTime(), span.getTraceTransactionSequence());
-                    final Dot dot = new Dot(transactionId, span.getCollectorAcceptTime(), span.getElapsed(), span.getErrCode(), span.getAgentId());
-                    scatterData.addDot(dot);
+                for (SpanBo span : trace) {
+                    if (applicationName.equals(span.getApplicationId())) {
+                        scatterData.addDot(createDot(span));
+                    }
                 }
             }
-        }
+        });
 
         return scatterData;
     }
 
+    private Dot createDot(SpanBo span) {
+        final TransactionId transactionId = new TransactionId(span.getTraceAgentId(), span.getTraceAgentStartTime(), span.getTraceTransactionSequence());
+        return new Dot(transactionId, span.getCollectorAcceptTime(), span.getElapsed(), span.getErrCode(), span.getAgentId());
+    }
+
 }
@@ -17,7 +17,16 @@
 package com.navercorp.pinpoint.web.service;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
 import com.navercorp.pinpoint.common.server.bo.ApiMetaDataBo;
@@ -30,6 +39,7 @@ import com.navercorp.pinpoint.common.util.AnnotationKeyUtils;
 import com.navercorp.pinpoint.common.util.DefaultSqlParser;
 import com.navercorp.pinpoint.common.util.IntStringStringValue;
 import com.navercorp.pinpoint.common.util.OutputParameterParser;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
 import com.navercorp.pinpoint.common.util.SqlParser;
 import com.navercorp.pinpoint.web.calltree.span.CallTree;
 import com.navercorp.pinpoint.web.calltree.span.CallTreeIterator;
@@ -41,12 +51,15 @@ import com.navercorp.pinpoint.web.dao.StringMetaDataDao;
 import com.navercorp.pinpoint.web.dao.TraceDao;
 import com.navercorp.pinpoint.web.security.MetaDataFilter;
 import com.navercorp.pinpoint.web.security.MetaDataFilter.MetaData;
+import com.navercorp.pinpoint.web.service.MetaDataResolver.ResolvedMetaData;
+import com.navercorp.pinpoint.web.vo.MetaDataKey;
 import com.navercorp.pinpoint.web.vo.TransactionId;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 /**
  * @author emeroad
@@ -73,9 +86,42 @@ public class SpanServiceImpl implements SpanService {
     @Autowired
     private StringMetaDataDao stringMetaDataDao;
 
+    @Value("#{pinpointWebProps['web.calltree.metadata.batchSize'] ?: 100}")
+    private int metaDataBatchSize;
+
+    @Value("#{pinpointWebProps['web.calltree.metadata.threadSize'] ?: 8}")
+    private int metaDataThreadSize;
+
+    @Value("#{pinpointWebProps['web.calltree.metadata.timeout'] ?: 30000}")
+    private long metaDataTimeout;
+
+    @Value("#{pinpointWebProps['web.calltree.metadata.cache.maxSize'] ?: 100000}")
+    private int metaDataCacheMaxSize;
+
+    private ExecutorService metaDataExecutor;
+
+    private MetaDataResolver metaDataResolver;
+
     private final SqlParser sqlParser = new DefaultSqlParser();
     private final OutputParameterParser outputParameterParser = new OutputParameterParser();
 
+    @PostConstruct
+    public void start() {
+        if (metaDataThreadSize > 0) {
+            final PinpointThreadFactory threadFactory = new PinpointThreadFactory("Pinpoint-MetaDataResolver", true);
+            this.metaDataExecutor = new ThreadPoolExecutor(metaDataThreadSize, metaDataThreadSize, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory);
+        }
+        this.metaDataResolver = new MetaDataResolver(apiMetaDataDao, sqlMetaDataDao, stringMetaDataDao, metaDataBatchSize, metaDataCacheMaxSize, metaDataExecutor, metaDataTimeout);
+        logger.info("metadata resolver started. batchSize:{} threadSize:{} cacheMaxSize:{} timeout:{}", metaDataBatchSize, metaDataThreadSize, metaDataCacheMaxSize, metaDataTimeout);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (metaDataExecutor != null) {
+            metaDataExecutor.shutdownNow();
+        }
+    }
+
     @Override
     public SpanResult selectSpan(TransactionId transactionId, long selectedSpanHint) {
         if (transactionId == null) {
@@ -90,17 +136,68 @@ public class SpanServiceImpl implements SpanService {
         final SpanResult result = order(spans, selectedSpanHint);
         final CallTreeIterator callTreeIterator = result.getCallTree();
         final List<SpanAlign> values = callTreeIterator.values();
-        
-        transitionDynamicApiId(values);
-        transitionSqlId(values);
-        transitionCachedString(values);
-        transitionException(values);
+
+        final ResolvedMetaData metaData = resolveMetaData(values);
+        transitionDynamicApiId(values, metaData);
+        transitionSqlId(values, metaData);
+        transitionCachedString(values, metaData);
+        transitionException(values, metaData);
         // TODO need to at least show the row data when root span is not found. 
         return result;
     }
 
 
 
+    /**
+     * collects the metadata keys referenced by the call tree and fetches them all at once,
+     * instead of issuing a get for every annotation while replacing them.
+     */
+    private ResolvedMetaData resolveMetaData(List<SpanAlign> spanAlignList) {
+        final Set<MetaDataKey> apiKeySet = new HashSet<>();
+        final Set<MetaDataKey> sqlKeySet = new HashSet<>();
+        final Set<MetaDataKey> stringKeySet = new HashSet<>();
+        for (SpanAlign spanAlign : spanAlignList) {
+            apiKeySet.add(getMetaDataKey(spanAlign, getApiId(spanAlign)));
+
+            final List<AnnotationBo> annotationBoList = getAnnotationBoList(spanAlign);
+            if (annotationBoList != null) {
+                final AnnotationBo sqlIdAnnotation = findAnnotation(annotationBoList, AnnotationKey.SQL_ID.getCode());
+                if (sqlIdAnnotation != null && !isSqlFiltered(spanAlign)) {
+                    final IntStringStringValue sqlValue = (IntStringStringValue) sqlIdAnnotation.getValue();
+                    sqlKeySet.add(getMetaDataKey(spanAlign, sqlValue.getIntValue()));
+                }
+                for (AnnotationBo annotationBo : findCachedStringAnnotation(annotationBoList)) {
+                    stringKeySet.add(getMetaDataKey(spanAlign, (Integer) annotationBo.getValue()));
+                }
+            }
+
+            if (spanAlign.isSpan()) {
+                final SpanBo spanBo = spanAlign.getSpanBo();
+                if (spanBo.hasException()) {
+                    stringKeySet.add(getMetaDataKey(spanAlign, spanBo.getExceptionId()));
+                }
+            } else {
+                final SpanEventBo spanEventBo = spanAlign.getSpanEventBo();
+                if (spanEventBo.hasException()) {
+                    stringKeySet.add(getMetaDataKey(spanAlign, spanEventBo.getExceptionId()));
+                }
+            }
+        }
+        return metaDataResolver.resolve(apiKeySet, sqlKeySet, stringKeySet);
+    }
+
+    private List<AnnotationBo> getAnnotationBoList(SpanAlign spanAlign) {
+        if (spanAlign.isSpan()) {
+            return spanAlign.getSpanBo().getAnnotationBoList();
+        } else {
+            return spanAlign.getSpanEventBo().getAnnotationBoList();
+        }
+    }
+
+    private boolean isSqlFiltered(SpanAlign spanAlign) {
+        return metaDataFilter != null && metaDataFilter.filter(spanAlign, MetaData.SQL);
+    }
+
     private void transitionAnnotation(List<SpanAlign> spans, AnnotationReplacementCallback annotationReplacementCallback) {
         for (SpanAlign spanAlign : spans) {
             List<AnnotationBo> annotationBoList;
@@ -122,7 +219,7 @@ public class SpanServiceImpl implements SpanService {
         }
     }
 
-    private void transitionSqlId(final List<SpanAlign> spans) {
+    private void transitionSqlId(final List<SpanAlign> spans, final ResolvedMetaData metaData) {
         this.transitionAnnotation(spans, new AnnotationReplacementCallback() {
             @Override
             public void replacement(SpanAlign spanAlign, List<AnnotationBo> annotationBoList) {
@@ -130,19 +227,17 @@ public class SpanServiceImpl implements SpanService {
                 if (sqlIdAnnotation == null) {
                     return;
                 }
-                if (metaDataFilter != null && metaDataFilter.filter(spanAlign, MetaData.SQL)) {
+                if (isSqlFiltered(spanAlign)) {
                     AnnotationBo annotationBo = metaDataFilter.createAnnotationBo(spanAlign, MetaData.SQL);
                     annotationBoList.add(annotationBo);
                     return;
                 }
 
-                final AgentKey agentKey = getAgentKey(spanAlign);
-
                 // value of sqlId's annotation contains multiple values.
                 final IntStringStringValue sqlValue = (IntStringStringValue) sqlIdAnnotation.getValue();
                 final int hashCode = sqlValue.getIntValue();
                 final String sqlParam = sqlValue.getStringValue1();
-                final List<SqlMetaDataBo> sqlMetaDataList = sqlMetaDataDao.getSqlMetaData(agentKey.getAgentId(), agentKey.getAgentStartTime(), hashCode);
+                final List<SqlMetaDataBo> sqlMetaDataList = metaData.getSqlMetaData(getMetaDataKey(spanAlign, hashCode));
                 final int size = sqlMetaDataList.size();
                 if (size == 0) {
                     AnnotationBo api = new AnnotationBo();
@@ -235,14 +330,13 @@ public class SpanServiceImpl implements SpanService {
     }
 
 
-    private void transitionDynamicApiId(List<SpanAlign> spans) {
+    private void transitionDynamicApiId(List<SpanAlign> spans, final ResolvedMetaData metaData) {
         this.transitionAnnotation(spans, new AnnotationReplacementCallback() {
             @Override
             public void replacement(SpanAlign spanAlign, List<AnnotationBo> annotationBoList) {
-                final AgentKey key = getAgentKey(spanAlign);
                 final int apiId = getApiId(spanAlign);
                 // may be able to get a more accurate data using agentIdentifier.
-                List<ApiMetaDataBo> apiMetaDataList = apiMetaDataDao.getApiMetaData(key.getAgentId(), key.getAgentStartTime(), apiId);
+                List<ApiMetaDataBo> apiMetaDataList = metaData.getApiMetaData(getMetaDataKey(spanAlign, apiId));
                 int size = apiMetaDataList.size();
                 if (size == 0) {
                     AnnotationBo api = new AnnotationBo();
@@ -281,11 +375,10 @@ public class SpanServiceImpl implements SpanService {
         });
     }
 
-    private void transitionCachedString(List<SpanAlign> spans) {
+    private void transitionCachedString(List<SpanAlign> spans, final ResolvedMetaData metaData) {
         this.transitionAnnotation(spans, new AnnotationReplacementCallback() {
             @Override
             public void replacement(SpanAlign spanAlign, List<AnnotationBo> annotationBoList) {
-                final AgentKey key = getAgentKey(spanAlign);
                 List<AnnotationBo> cachedStringAnnotation = findCachedStringAnnotation(annotationBoList);
                 if (cachedStringAnnotation.isEmpty()) {
                     return;
@@ -293,7 +386,8 @@ public class SpanServiceImpl implements SpanService {
                 for (AnnotationBo annotationBo : cachedStringAnnotation) {
                     final int cachedArgsKey = annotationBo.getKey();
                     int stringMetaDataId = (Integer) annotationBo.getValue();
-                    List<StringMetaDataBo> stringMetaList = stringMetaDataDao.getStringMetaData(key.getAgentId(), key.getAgentStartTime(), stringMetaDataId);
+                    final MetaDataKey key = getMetaDataKey(spanAlign, stringMetaDataId);
+                    List<StringMetaDataBo> stringMetaList = metaData.getStringMetaData(key);
                     int size = stringMetaList.size();
                     if (size == 0) {
                         logger.warn("StringMetaData not Found {}/{}/{}", key.getAgentId(), stringMetaDataId, key.getAgentStartTime());
@@ -329,18 +423,18 @@ public class SpanServiceImpl implements SpanService {
         return findAnnotationBoList;
     }
 
-    private void transitionException(List<SpanAlign> spanAlignList) {
+    private void transitionException(List<SpanAlign> spanAlignList, ResolvedMetaData metaData) {
         for (SpanAlign spanAlign : spanAlignList) {
             if (spanAlign.isSpan()) {
                 final SpanBo spanBo = spanAlign.getSpanBo();
                 if (spanBo.hasException()) {
-                    StringMetaDataBo stringMetaData = selectStringMetaData(spanBo.getAgentId(), spanBo.getExceptionId(), spanBo.getAgentStartTime());
+                    StringMetaDataBo stringMetaData = selectStringMetaData(metaData, spanBo.getAgentId(), spanBo.getExceptionId(), spanBo.getAgentStartTime());
                     spanBo.setExceptionClass(stringMetaData.getStringValue());
                 }
             } else {
                 final SpanEventBo spanEventBo = spanAlign.getSpanEventBo();
                 if (spanEventBo.hasException()) {
-                    StringMetaDataBo stringMetaData = selectStringMetaData(spanEventBo.getAgentId(), spanEventBo.getExceptionId(), spanEventBo.getAgentStartTime());
+                    StringMetaDataBo stringMetaData = selectStringMetaData(metaData, spanEventBo.getAgentId(), spanEventBo.getExceptionId(), spanEventBo.getAgentStartTime());
                     if (stringMetaData != null) {
                         spanEventBo.setExceptionClass(stringMetaData.getStringValue());
                     }
@@ -350,8 +444,8 @@ public class SpanServiceImpl implements SpanService {
 
     }
 
-    private StringMetaDataBo selectStringMetaData(String agentId, int cacheId, long agentStartTime) {
-        final List<StringMetaDataBo> metaDataList = stringMetaDataDao.getStringMetaData(agentId, agentStartTime, cacheId);
+    private StringMetaDataBo selectStringMetaData(ResolvedMetaData metaData, String agentId, int cacheId, long agentStartTime) {
+        final List<StringMetaDataBo> metaDataList = metaData.getStringMetaData(new MetaDataKey(agentId, agentStartTime, cacheId));
         if (metaDataList == null || metaDataList.isEmpty()) {
             logger.warn("StringMetaData not Found agent:{}, cacheId{}, agentStartTime:{}", agentId, cacheId, agentStartTime);
             StringMetaDataBo stringMetaDataBo = new StringMetaDataBo(agentId, agentStartTime, cacheId);
@@ -374,13 +468,13 @@ public class SpanServiceImpl implements SpanService {
         }
     }
 
-    private AgentKey getAgentKey(SpanAlign spanAlign) {
+    private MetaDataKey getMetaDataKey(SpanAlign spanAlign, int id) {
         if (spanAlign.isSpan()) {
             SpanBo spanBo = spanAlign.getSpanBo();
-            return new AgentKey(spanBo.getAgentId(), spanBo.getAgentStartTime());
+            return new MetaDataKey(spanBo.getAgentId(), spanBo.getAgentStartTime(), id);
         } else {
             final SpanEventBo spanEventBo = spanAlign.getSpanEventBo();
-            return new AgentKey(spanEventBo.getAgentId(), spanEventBo.getAgentStartTime());
+            return new MetaDataKey(spanEventBo.getAgentId(), spanEventBo.getAgentStartTime(), id);
         }
     }
 
@@ -424,28 +518,6 @@ public class SpanServiceImpl implements SpanService {
     }
 
 
-    private static final class AgentKey {
-
-        private final String agentId;
-        private final long agentStartTime;
-
-        private AgentKey(String agentId, long agentStartTime) {
-            if (agentId == null) {
-                throw new NullPointerException("agentId must not be null");
-            }
-            this.agentId = agentId;
-            this.agentStartTime = agentStartTime;
-        }
-
-        private String getAgentId() {
-            return agentId;
-        }
-
-        private long getAgentStartTime() {
-            return agentStartTime;
-        }
-    }
-
     public void setSqlMetaDataDao(SqlMetaDataDao sqlMetaDataDao) {
         this.sqlMetaDataDao = sqlMetaDataDao;
     }
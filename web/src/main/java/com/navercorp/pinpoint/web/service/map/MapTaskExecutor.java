@@ -0,0 +1,142 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service.map;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the lookups of one server map search on a shared executor.
+ * At most {@code maxConcurrency} tasks of a single {@link #invokeAll(List)} call are in flight at a time,
+ * so one large map cannot occupy every thread of the shared pool.
+ * The timeout covers the whole map search: take one {@link #newDeadline()} per search
+ * and pass it to every {@link #invokeAll(List, long)} call of that search.
+ */
+public class MapTaskExecutor {
+
+    private final ExecutorService executor;
+    private final int maxConcurrency;
+    private final long timeoutMillis;
+
+    public MapTaskExecutor(ExecutorService executor, int maxConcurrency, long timeoutMillis) {
+        if (executor == null) {
+            throw new NullPointerException("executor must not be null");
+        }
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency");
+        }
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("timeoutMillis");
+        }
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * @return a {@link System#nanoTime()} deadline {@code timeoutMillis} from now
+     */
+    public long newDeadline() {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    /**
+     * @return results in the same order as {@code taskList}
+     * @throws MapTaskTimeoutException if all tasks do not complete within the timeout
+     */
+    public <V> List<V> invokeAll(List<? extends Callable<V>> taskList) {
+        return invokeAll(taskList, newDeadline());
+    }
+
+    /**
+     * @param deadline {@link System#nanoTime()} by which all tasks must complete, see {@link #newDeadline()}
+     * @return results in the same order as {@code taskList}
+     * @throws MapTaskTimeoutException if all tasks do not complete before the deadline
+     */
+    public <V> List<V> invokeAll(List<? extends Callable<V>> taskList, long deadline) {
+        if (taskList == null) {
+            throw new NullPointerException("taskList must not be null");
+        }
+        final int taskSize = taskList.size();
+        if (taskSize == 0) {
+            return new ArrayList<>(0);
+        }
+
+        final CompletionService<V> completionService = new ExecutorCompletionService<>(executor);
+        final Map<Future<V>, Integer> futureIndexMap = new HashMap<>(taskSize * 2);
+        final List<V> resultList = new ArrayList<>(taskSize);
+        for (int i = 0; i < taskSize; i++) {
+            resultList.add(null);
+        }
+
+        int submitted = 0;
+        try {
+            while (submitted < taskSize && submitted < maxConcurrency) {
+                futureIndexMap.put(completionService.submit(taskList.get(submitted)), submitted);
+                submitted++;
+            }
+
+            for (int completed = 0; completed < taskSize; completed++) {
+                final long remaining = deadline - System.nanoTime();
+                final Future<V> future = completionService.poll(remaining, TimeUnit.NANOSECONDS);
+                if (future == null) {
+                    throw new MapTaskTimeoutException("map task timeout. timeout:" + timeoutMillis + "ms completed:" + completed + "/" + taskSize);
+                }
+                final Integer index = futureIndexMap.remove(future);
+                resultList.set(index, getResult(future));
+
+                if (submitted < taskSize) {
+                    futureIndexMap.put(completionService.submit(taskList.get(submitted)), submitted);
+                    submitted++;
+                }
+            }
+            return resultList;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("map task interrupted", e);
+        } finally {
+            // cancel the remaining tasks on timeout or failure
+            for (Future<V> future : futureIndexMap.keySet()) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private <V> V getResult(Future<V> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -141,6 +141,54 @@ public class AgentStats {
         return stat;
     }
     
+    /**
+     * Merges two stats of the same AgentStatAggr slot written for different agent runs or by different collectors.
+     * Unlike {@link #merge(AgentStat, AgentStat, long)}, each of them covers a part of the slot,
+     * so usages are weighted by the collect interval and the collect intervals are added up.
+     * s2 must be the later one, gc and active trace values are taken from it.
+     */
+    public static AgentStat mergeAggregated(AgentStat s1, AgentStat s2) {
+        AgentStat latest = s2;
+        final long interval1 = s1.getCollectInterval();
+        final long interval2 = s2.getCollectInterval();
+
+        AgentStat stat = new AgentStat(s1.getAgentId(), s1.getTimestamp());
+        stat.setCollectInterval(interval1 + interval2);
+
+        stat.setGcType(latest.getGcType());
+        stat.setGcOldCount(latest.getGcOldCount());
+        stat.setGcOldTime(latest.getGcOldTime());
+
+        stat.setHeapUsed((long) averageValue(s1.getHeapUsed(), interval1, s2.getHeapUsed(), interval2));
+        stat.setHeapMax(maxValue(s1.getHeapMax(), s2.getHeapMax()));
+
+        stat.setNonHeapUsed((long) averageValue(s1.getNonHeapUsed(), interval1, s2.getNonHeapUsed(), interval2));
+        stat.setNonHeapMax(maxValue(s1.getNonHeapMax(), s2.getNonHeapMax()));
+
+        stat.setJvmCpuUsage(averageValue(s1.getJvmCpuUsage(), interval1, s2.getJvmCpuUsage(), interval2));
+        stat.setSystemCpuUsage(averageValue(s1.getSystemCpuUsage(), interval1, s2.getSystemCpuUsage(), interval2));
+
+        stat.setSampledNewCount(addValue(s1.getSampledNewCount(), s2.getSampledNewCount()));
+        stat.setSampledContinuationCount(addValue(s1.getSampledContinuationCount(), s2.getSampledContinuationCount()));
+        stat.setUnsampledNewCount(addValue(s1.getUnsampledNewCount(), s2.getUnsampledNewCount()));
+        stat.setUnsampledContinuationCount(addValue(s1.getUnsampledContinuationCount(), s2.getUnsampledContinuationCount()));
+
+        stat.setHistogramSchema(latest.getHistogramSchema());
+        stat.setActiveTraceCounts(latest.getActiveTraceCounts());
+
+        return stat;
+    }
+
+    private static double averageValue(double v1, long weight1, double v2, long weight2) {
+        if (v1 < 0 || weight1 <= 0) {
+            return v2;
+        } else if (v2 < 0 || weight2 <= 0) {
+            return v1;
+        }
+
+        return (v1 * weight1 + v2 * weight2) / (weight1 + weight2);
+    }
+
     private static long addValue(long v1, long v2) {
         if (v1 == AgentStat.NOT_COLLECTED) {
             if (v2 == AgentStat.NOT_COLLECTED) {
@@ -149,7 +197,7 @@ public class AgentStats {
                 return v2;
             }
         } else {
-            if (v1 == AgentStat.NOT_COLLECTED) {
+            if (v2 == AgentStat.NOT_COLLECTED) {
                 return v1;
             } else {
                 return v1 + v2;
@@ -18,16 +18,23 @@ package com.navercorp.pinpoint.web.view;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.navercorp.pinpoint.common.trace.SlotType;
+import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogramArray;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * @author emeroad
  */
+@JsonSerialize(using = ResponseTimeViewModelSerializer.class)
 public class ResponseTimeViewModel {
 
     private final String columnName;
-    private final List<TimeCount> columnValue;
+    private List<TimeCount> columnValue;
+
+    private final TimeHistogramArray histogramArray;
+    private final SlotType slotType;
 
     public ResponseTimeViewModel(String columnName, List<TimeCount> columnValue) {
         if (columnName == null) {
@@ -38,6 +45,26 @@ public class ResponseTimeViewModel {
         }
         this.columnName = columnName;
         this.columnValue = columnValue;
+        this.histogramArray = null;
+        this.slotType = null;
+    }
+
+    /**
+     * column values are read from the histogram array when serialized instead of being copied into {@link TimeCount}s.
+     */
+    public ResponseTimeViewModel(String columnName, TimeHistogramArray histogramArray, SlotType slotType) {
+        if (columnName == null) {
+            throw new NullPointerException("columnName must not be null");
+        }
+        if (histogramArray == null) {
+            throw new NullPointerException("histogramArray must not be null");
+        }
+        if (slotType == null) {
+            throw new NullPointerException("slotType must not be null");
+        }
+        this.columnName = columnName;
+        this.histogramArray = histogramArray;
+        this.slotType = slotType;
     }
 
     @JsonProperty("key")
@@ -47,9 +74,24 @@ public class ResponseTimeViewModel {
 
     @JsonProperty("values")
     public List<TimeCount> getColumnValue() {
+        if (columnValue == null) {
+            final List<TimeCount> columnValue = new ArrayList<>(histogramArray.size());
+            for (int index = 0; index < histogramArray.size(); index++) {
+                columnValue.add(new TimeCount(histogramArray.getTimeStamp(index), histogramArray.getCount(slotType, index)));
+            }
+            this.columnValue = columnValue;
+        }
         return columnValue;
     }
 
+    TimeHistogramArray getHistogramArray() {
+        return histogramArray;
+    }
+
+    SlotType getSlotType() {
+        return slotType;
+    }
+
     @JsonSerialize(using=TimeCountSerializer.class)
     public static class TimeCount {
 
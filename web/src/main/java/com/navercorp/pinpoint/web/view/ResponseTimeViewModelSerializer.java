@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.view;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.navercorp.pinpoint.common.trace.SlotType;
+import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogramArray;
+
+import java.io.IOException;
+
+/**
+ * writes the same json as the bean properties of {@link ResponseTimeViewModel},
+ * reading array backed view models without creating a {@link ResponseTimeViewModel.TimeCount} per time slot.
+ */
+public class ResponseTimeViewModelSerializer extends JsonSerializer<ResponseTimeViewModel> {
+
+    @Override
+    public void serialize(ResponseTimeViewModel value, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
+        jgen.writeStartObject();
+        jgen.writeStringField("key", value.getColumnName());
+
+        jgen.writeFieldName("values");
+        jgen.writeStartArray();
+        final TimeHistogramArray histogramArray = value.getHistogramArray();
+        if (histogramArray != null) {
+            final SlotType slotType = value.getSlotType();
+            for (int index = 0; index < histogramArray.size(); index++) {
+                jgen.writeStartArray();
+                jgen.writeNumber(histogramArray.getTimeStamp(index));
+                jgen.writeNumber(histogramArray.getCount(slotType, index));
+                jgen.writeEndArray();
+            }
+        } else {
+            for (ResponseTimeViewModel.TimeCount timeCount : value.getColumnValue()) {
+                jgen.writeObject(timeCount);
+            }
+        }
+        jgen.writeEndArray();
+
+        jgen.writeEndObject();
+    }
+}
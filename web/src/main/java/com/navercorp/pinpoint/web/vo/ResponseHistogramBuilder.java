@@ -68,6 +68,27 @@ public class ResponseHistogramBuilder {
         responseTime.addResponseTime(agentId, timeHistogram);
     }
 
+    /**
+     * merges the histograms of another builder of the same range. neither builder may have been built yet.
+     */
+    public void addResponseHistogramBuilder(ResponseHistogramBuilder responseHistogramBuilder) {
+        if (responseHistogramBuilder == null) {
+            throw new NullPointerException("responseHistogramBuilder must not be null");
+        }
+        if (this.responseTimeApplicationMap == null || responseHistogramBuilder.responseTimeApplicationMap == null) {
+            throw new IllegalStateException("already built");
+        }
+        for (Map.Entry<Long, Map<Application, ResponseTime>> timeStampEntry : responseHistogramBuilder.responseTimeApplicationMap.entrySet()) {
+            final Long timeStamp = timeStampEntry.getKey();
+            for (Map.Entry<Application, ResponseTime> applicationEntry : timeStampEntry.getValue().entrySet()) {
+                final ResponseTime responseTime = getResponseTime(applicationEntry.getKey(), timeStamp);
+                for (Map.Entry<String, TimeHistogram> agentEntry : applicationEntry.getValue().getAgentHistogram()) {
+                    responseTime.addResponseTime(agentEntry.getKey(), agentEntry.getValue());
+                }
+            }
+        }
+    }
+
     private ResponseTime getResponseTime(Application application, Long timeStamp) {
         Map<Application, ResponseTime> responseTimeMap = responseTimeApplicationMap.get(timeStamp);
         if (responseTimeMap == null) {
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.applicationmap.histogram;
+
+import com.navercorp.pinpoint.common.trace.BaseHistogramSchema;
+import com.navercorp.pinpoint.common.trace.HistogramSchema;
+import com.navercorp.pinpoint.common.trace.SlotType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class TimeHistogramArrayTest {
+
+    private final HistogramSchema schema = BaseHistogramSchema.NORMAL_SCHEMA;
+
+    @Test
+    public void addCallCount() {
+        TimeHistogramArray histogramArray = new TimeHistogramArray(schema, 1);
+        histogramArray.addCallCount(2000, schema.getFastSlot().getSlotTime(), 1);
+        histogramArray.addCallCount(0, schema.getSlowSlot().getSlotTime(), 2);
+        histogramArray.addCallCount(1000, schema.getFastErrorSlot().getSlotTime(), 3);
+        histogramArray.addCallCount(2000, schema.getFastSlot().getSlotTime(), 4);
+
+        Assert.assertEquals(3, histogramArray.size());
+        Assert.assertEquals(0, histogramArray.getTimeStamp(0));
+        Assert.assertEquals(1000, histogramArray.getTimeStamp(1));
+        Assert.assertEquals(2000, histogramArray.getTimeStamp(2));
+
+        Assert.assertEquals(2, histogramArray.getCount(SlotType.SLOW, 0));
+        Assert.assertEquals(3, histogramArray.getCount(SlotType.FAST_ERROR, 1));
+        Assert.assertEquals(3, histogramArray.getCount(SlotType.ERROR, 1));
+        Assert.assertEquals(5, histogramArray.getCount(SlotType.FAST, 2));
+        Assert.assertEquals(10, histogramArray.getTotalCount());
+    }
+
+    @Test
+    public void add() {
+        TimeHistogramArray one = new TimeHistogramArray(schema);
+        one.addCallCount(0, schema.getFastSlot().getSlotTime(), 1);
+        one.addCallCount(2000, schema.getFastSlot().getSlotTime(), 1);
+
+        TimeHistogramArray two = new TimeHistogramArray(schema);
+        two.addCallCount(1000, schema.getNormalSlot().getSlotTime(), 2);
+        two.addCallCount(2000, schema.getFastSlot().getSlotTime(), 2);
+        two.addCallCount(3000, schema.getErrorSlot().getSlotTime(), 2);
+
+        one.add(two);
+        Assert.assertEquals(4, one.size());
+        Assert.assertEquals(1, one.getCount(SlotType.FAST, 0));
+        Assert.assertEquals(2, one.getCount(SlotType.NORMAL, 1));
+        Assert.assertEquals(3, one.getCount(SlotType.FAST, 2));
+        Assert.assertEquals(2, one.getCount(SlotType.ERROR, 3));
+
+        // every time stamp exists, merged in place
+        one.add(two);
+        Assert.assertEquals(4, one.size());
+        Assert.assertEquals(5, one.getCount(SlotType.FAST, 2));
+        Assert.assertEquals(14, one.getTotalCount());
+    }
+
+    @Test
+    public void compatibleWithHistogram() {
+        TimeHistogram timeHistogram = new TimeHistogram(schema, 1000);
+        timeHistogram.addCallCount(schema.getFastSlot().getSlotTime(), 1);
+        timeHistogram.addCallCount(schema.getVerySlowSlot().getSlotTime(), 2);
+        timeHistogram.addCallCount(schema.getErrorSlot().getSlotTime(), 3);
+        timeHistogram.addCallCount(schema.getSlowErrorSlot().getSlotTime(), 4);
+
+        TimeHistogramArray histogramArray = new TimeHistogramArray(schema);
+        histogramArray.addTimeStamp(0);
+        histogramArray.add(timeHistogram);
+
+        Histogram histogram = histogramArray.getHistogram();
+        for (SlotType slotType : SlotType.values()) {
+            Assert.assertEquals(slotType.name(), timeHistogram.getCount(slotType), histogram.getCount(slotType));
+            Assert.assertEquals(slotType.name(), timeHistogram.getCount(slotType), histogramArray.getCount(slotType, 1));
+        }
+
+        List<TimeHistogram> timeHistogramList = histogramArray.getTimeHistogramList();
+        Assert.assertEquals(2, timeHistogramList.size());
+        Assert.assertEquals(0, timeHistogramList.get(0).getTotalCount());
+        Assert.assertEquals(1000, timeHistogramList.get(1).getTimeStamp());
+        Assert.assertEquals(timeHistogram.getTotalErrorCount(), timeHistogramList.get(1).getTotalErrorCount());
+        Assert.assertEquals(timeHistogram.getErrorCount(), timeHistogramList.get(1).getErrorCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void schemaNotEquals() {
+        TimeHistogramArray histogramArray = new TimeHistogramArray(schema);
+        histogramArray.add(new TimeHistogram(BaseHistogramSchema.FAST_SCHEMA, 0));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.dao.hbase;
+
+import static org.mockito.Mockito.*;
+
+import com.navercorp.pinpoint.common.hbase.HBaseTables;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.RowMapper;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.web.dao.TraceHandler;
+import com.navercorp.pinpoint.web.vo.TransactionId;
+import com.sematext.hbase.wd.AbstractRowKeyDistributor;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Get;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class HbaseTraceDaoTest {
+
+    private static final int FETCH_SIZE = 3;
+
+    private final HbaseTraceDao traceDao = new HbaseTraceDao();
+
+    private final HbaseOperations2 template2 = mock(HbaseOperations2.class);
+
+    @SuppressWarnings("unchecked")
+    private final RowMapper<List<SpanBo>> lazySpanMapper = mock(RowMapper.class);
+
+    private final List<Integer> fetchSizeList = Collections.synchronizedList(new ArrayList<Integer>());
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        AbstractRowKeyDistributor rowKeyDistributor = mock(AbstractRowKeyDistributor.class);
+        when(rowKeyDistributor.getDistributedKey(any(byte[].class))).thenAnswer(AdditionalAnswers.returnsFirstArg());
+
+        ReflectionTestUtils.setField(traceDao, "template2", template2);
+        ReflectionTestUtils.setField(traceDao, "rowKeyDistributor", rowKeyDistributor);
+        ReflectionTestUtils.setField(traceDao, "lazySpanMapper", lazySpanMapper);
+        ReflectionTestUtils.setField(traceDao, "selectAllSpansFetchSize", FETCH_SIZE);
+
+        // one trace with a single span for each row
+        when(template2.get(any(TableName.class), anyListOf(Get.class), any(RowMapper.class))).thenAnswer(new Answer<List<List<SpanBo>>>() {
+            @Override
+            public List<List<SpanBo>> answer(InvocationOnMock invocation) throws Throwable {
+                Assert.assertEquals(HBaseTables.TRACES, invocation.getArguments()[0]);
+                Assert.assertSame(lazySpanMapper, invocation.getArguments()[2]);
+
+                List<Get> getList = (List<Get>) invocation.getArguments()[1];
+                fetchSizeList.add(getList.size());
+                List<List<SpanBo>> traceList = new ArrayList<>(getList.size());
+                for (Get get : getList) {
+                    TransactionId transactionId = new TransactionId(get.getRow());
+                    SpanBo span = new SpanBo();
+                    span.setTraceAgentId(transactionId.getAgentId());
+                    span.setTraceAgentStartTime(transactionId.getAgentStartTime());
+                    span.setTraceTransactionSequence(transactionId.getTransactionSequence());
+                    traceList.add(Collections.singletonList(span));
+                }
+                return traceList;
+            }
+        });
+    }
+
+    @Test
+    public void selectAllSpansHandlesEachTraceOnce() throws Exception {
+        final List<TransactionId> transactionIdList = new ArrayList<>();
+        for (int i = 0; i < FETCH_SIZE * 3 + 1; i++) {
+            transactionIdList.add(new TransactionId("agent", 1000L, i));
+        }
+
+        final Map<TransactionId, Integer> handledCount = new HashMap<>();
+        traceDao.selectAllSpans(transactionIdList, new TraceHandler() {
+            @Override
+            public void handle(List<SpanBo> trace) {
+                SpanBo span = trace.get(0);
+                TransactionId transactionId = new TransactionId(span.getTraceAgentId(), span.getTraceAgentStartTime(), span.getTraceTransactionSequence());
+                Integer count = handledCount.get(transactionId);
+                handledCount.put(transactionId, count == null ? 1 : count + 1);
+            }
+        });
+
+        Assert.assertEquals(transactionIdList.size(), handledCount.size());
+        for (TransactionId transactionId : transactionIdList) {
+            Assert.assertEquals(Integer.valueOf(1), handledCount.get(transactionId));
+        }
+        // rows are fetched in batches of FETCH_SIZE
+        Assert.assertEquals(4, fetchSizeList.size());
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(Integer.valueOf(FETCH_SIZE), fetchSizeList.get(i));
+        }
+        Assert.assertEquals(Integer.valueOf(1), fetchSizeList.get(3));
+    }
+
+    @Test
+    public void selectAllSpansWithoutTransaction() throws Exception {
+        TraceHandler traceHandler = mock(TraceHandler.class);
+
+        traceDao.selectAllSpans(Collections.<TransactionId>emptyList(), traceHandler);
+
+        verifyZeroInteractions(traceHandler);
+        Assert.assertTrue(fetchSizeList.isEmpty());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.dao.hbase.cache;
+
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.web.vo.Application;
+import com.navercorp.pinpoint.web.vo.Range;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TimeSlotCacheTest {
+
+    private static final long SLOT = 60 * 1000;
+    private static final long SEALED_DELAY = 2 * SLOT;
+
+    private final Application application = new Application("test", ServiceType.STAND_ALONE);
+
+    @Test
+    public void cacheSealedSlotsOnly() {
+        TimeSlotCache<Long> cache = new TimeSlotCache<>("test", SLOT, SEALED_DELAY, 100);
+        RecordingLoader loader = new RecordingLoader();
+        long now = 100 * SLOT + 10;
+
+        // slot 90 ~ 100, sealed until 97
+        List<Long> first = cache.select(application, new Range(90 * SLOT, now), loader, now);
+        Assert.assertEquals(11, first.size());
+        Assert.assertEquals(1, loader.loadList.size());
+        Assert.assertEquals(8, cache.size());
+
+        List<Long> second = cache.select(application, new Range(90 * SLOT, now), loader, now);
+        Assert.assertEquals(11, second.size());
+        Assert.assertEquals(2, loader.loadList.size());
+        // only the open tail is scanned again
+        Assert.assertEquals(98 * SLOT, loader.loadList.get(1)[0]);
+        Assert.assertEquals(100 * SLOT, loader.loadList.get(1)[1]);
+        Assert.assertEquals(8, cache.getHitCount());
+    }
+
+    @Test
+    public void emptySlotIsCached() {
+        TimeSlotCache<Long> cache = new TimeSlotCache<>("test", SLOT, SEALED_DELAY, 100);
+        RecordingLoader loader = new RecordingLoader();
+        loader.emptySlot = 5 * SLOT;
+        long now = 100 * SLOT;
+
+        List<Long> first = cache.select(application, new Range(0, 9 * SLOT), loader, now);
+        Assert.assertEquals(9, first.size());
+
+        List<Long> second = cache.select(application, new Range(0, 9 * SLOT), loader, now);
+        Assert.assertEquals(9, second.size());
+        Assert.assertEquals(1, loader.loadList.size());
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() {
+        TimeSlotCache<Long> cache = new TimeSlotCache<>("test", SLOT, SEALED_DELAY, 5);
+        RecordingLoader loader = new RecordingLoader();
+        long now = 100 * SLOT;
+
+        cache.select(application, new Range(0, 9 * SLOT), loader, now);
+        Assert.assertEquals(5, cache.size());
+        Assert.assertEquals(5, cache.getEvictionCount());
+
+        // slot 0 ~ 4 were evicted
+        cache.select(application, new Range(0, 9 * SLOT), loader, now);
+        Assert.assertEquals(0, loader.loadList.get(1)[0]);
+    }
+
+    @Test
+    public void differentApplication() {
+        TimeSlotCache<Long> cache = new TimeSlotCache<>("test", SLOT, SEALED_DELAY, 100);
+        RecordingLoader loader = new RecordingLoader();
+        long now = 100 * SLOT;
+
+        cache.select(application, new Range(0, 9 * SLOT), loader, now);
+        cache.select(new Application("test", ServiceType.UNKNOWN), new Range(0, 9 * SLOT), loader, now);
+        Assert.assertEquals(2, loader.loadList.size());
+    }
+
+    private static class RecordingLoader implements TimeSlotLoader<Long> {
+        private final List<long[]> loadList = new ArrayList<>();
+        private long emptySlot = -1;
+
+        @Override
+        public Map<Long, List<Long>> load(Application application, long fromTimeSlot, long toTimeSlot) {
+            loadList.add(new long[] {fromTimeSlot, toTimeSlot});
+            Map<Long, List<Long>> result = new HashMap<>();
+            for (long timeSlot = fromTimeSlot; timeSlot <= toTimeSlot; timeSlot += SLOT) {
+                if (timeSlot != emptySlot) {
+                    result.put(timeSlot, Collections.singletonList(timeSlot));
+                }
+            }
+            return result;
+        }
+    }
+}
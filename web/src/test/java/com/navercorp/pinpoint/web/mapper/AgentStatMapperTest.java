@@ -21,6 +21,7 @@ import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 import static com.navercorp.pinpoint.common.hbase.HBaseTables.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -166,6 +167,44 @@ public class AgentStatMapperTest {
         assertEquals(AgentStat.NOT_COLLECTED, agentStat.getUnsampledContinuationCount());
     }
 
+    @Test
+    public void test_aggregated_columns_of_agent_runs_and_collectors() throws Exception {
+        // Given
+        final List<Cell> cells = new ArrayList<>();
+        // the previous agent run, then the restarted agent moving from collector1 to collector2
+        addAggregatedCells(cells, "/1000/collector1", 200000L, 10L, 2048L, 10, 100L);
+        addAggregatedCells(cells, "/2000/collector1", 100000L, 0L, 1024L, 40, 50L);
+        addAggregatedCells(cells, "/2000/collector2", 300000L, 1L, 2048L, 20, 150L);
+        final Result result = Result.create(cells);
+        // When
+        List<AgentStat> agentStats = this.mapper.mapRow(result, 0);
+        // Then
+        assertThat(agentStats.size(), is(1));
+        AgentStat agentStat = agentStats.get(0);
+
+        assertEquals(TIMESTAMP, agentStat.getTimestamp());
+        assertEquals(600000L, agentStat.getCollectInterval());
+        // gc of the latest agent run and collector
+        assertEquals(1L, agentStat.getGcOldCount());
+        assertEquals(HEAP_MAX, agentStat.getHeapMax());
+        assertEquals(1877L, agentStat.getHeapUsed());
+        assertEquals(20, agentStat.getJvmCpuUsage(), DELTA);
+        assertEquals(AgentStat.NOT_COLLECTED, agentStat.getSystemCpuUsage(), DELTA);
+        assertEquals(300L, agentStat.getSampledNewCount());
+    }
+
+    private void addAggregatedCells(List<Cell> cells, String qualifierSuffix, long collectInterval, long gcOldCount, long heapUsed, double jvmCpuUsage, long sampledNewCount) {
+        final byte[] suffix = Bytes.toBytes(qualifierSuffix);
+        cells.add(createCell(Bytes.add(AGENT_STAT_COL_INTERVAL, suffix), Bytes.toBytes(collectInterval)));
+        cells.add(createCell(Bytes.add(AGENT_STAT_COL_GC_TYPE, suffix), Bytes.toBytes(GC_TYPE.name())));
+        cells.add(createCell(Bytes.add(AGENT_STAT_COL_GC_OLD_COUNT, suffix), Bytes.toBytes(gcOldCount)));
+        cells.add(createCell(Bytes.add(AGENT_STAT_COL_HEAP_USED, suffix), Bytes.toBytes(heapUsed)));
+        cells.add(createCell(Bytes.add(AGENT_STAT_COL_HEAP_MAX, suffix), Bytes.toBytes(HEAP_MAX)));
+        cells.add(createCell(Bytes.add(AGENT_STAT_COL_JVM_CPU, suffix), Bytes.toBytes(jvmCpuUsage)));
+        cells.add(createCell(Bytes.add(AGENT_STAT_COL_SYS_CPU, suffix), Bytes.toBytes(-1D)));
+        cells.add(createCell(Bytes.add(AGENT_STAT_COL_TRANSACTION_SAMPLED_NEW, suffix), Bytes.toBytes(sampledNewCount)));
+    }
+
     private void assertJvmGc(AgentStat agentStat) {
         assertEquals(AGENT_ID, agentStat.getAgentId());
         assertEquals(TIMESTAMP, agentStat.getTimestamp());
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.mapper;
+
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.server.bo.serializer.AnnotationSerializer;
+import com.navercorp.pinpoint.common.server.bo.serializer.SpanEventListSerializer;
+import com.navercorp.pinpoint.common.server.bo.serializer.SpanEventSerializer;
+import com.navercorp.pinpoint.common.server.bo.serializer.SpanSerializer;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.util.BytesUtils;
+import com.navercorp.pinpoint.web.vo.TransactionId;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+public class SpanMapperTest {
+
+    private static final String AGENT_ID = "agent";
+    private static final long AGENT_START_TIME = 1000000L;
+    private static final long ACCEPTED_TIME = AGENT_START_TIME + 5000;
+
+    private final SpanMapper eagerMapper = new SpanMapper();
+    private final SpanMapper lazyMapper = newLazySpanMapper();
+
+    private static SpanMapper newLazySpanMapper() {
+        SpanMapper spanMapper = new SpanMapper();
+        spanMapper.setLazySpanEvent(true);
+        return spanMapper;
+    }
+
+    @Test
+    public void lazySpanEventEqualsEager() throws Exception {
+        Put put = newPut();
+        SpanBo span = newSpan(1L);
+        writeSpan(put, span);
+        // both formats in one row: a span event list cell and a legacy single span event cell
+        writeSpanEventList(put, newSpanEventList(1L, 0, 3));
+        writeSpanEvent(put, newSpanEvent(1L, 3));
+        Result result = toResult(put);
+
+        List<SpanEventBo> eagerList = eagerMapper.mapRow(result, 0).get(0).getSpanEventBoList();
+        List<SpanEventBo> lazyList = lazyMapper.mapRow(result, 0).get(0).getSpanEventBoList();
+
+        Assert.assertEquals(4, eagerList.size());
+        assertSpanEventList(eagerList, lazyList);
+    }
+
+    @Test
+    public void lazySpanEventWithoutSpanEvent() throws Exception {
+        Put put = newPut();
+        writeSpan(put, newSpan(1L));
+        Result result = toResult(put);
+
+        SpanBo eagerSpan = eagerMapper.mapRow(result, 0).get(0);
+        SpanBo lazySpan = lazyMapper.mapRow(result, 0).get(0);
+
+        Assert.assertEquals(eagerSpan.getSpanEventBoList(), lazySpan.getSpanEventBoList());
+        // addSpanEvent() must still work on a span without span events
+        lazySpan.addSpanEvent(newSpanEvent(1L, 0));
+        Assert.assertEquals(1, lazySpan.getSpanEventBoList().size());
+    }
+
+    @Test
+    public void lazySpanEventOfOtherSpanIsNotShared() throws Exception {
+        Put put = newPut();
+        writeSpan(put, newSpan(1L));
+        writeSpan(put, newSpan(2L));
+        writeSpanEventList(put, newSpanEventList(2L, 0, 2));
+        Result result = toResult(put);
+
+        List<SpanBo> spanList = lazyMapper.mapRow(result, 0);
+
+        Assert.assertEquals(2, spanList.size());
+        for (SpanBo span : spanList) {
+            if (span.getSpanId() == 1L) {
+                Assert.assertTrue(span.getSpanEventBoList() == null || span.getSpanEventBoList().isEmpty());
+            } else {
+                Assert.assertEquals(2, span.getSpanEventBoList().size());
+            }
+        }
+    }
+
+    @Test
+    public void lazySpanEventPartlyRead() throws Exception {
+        Put put = newPut();
+        writeSpan(put, newSpan(1L));
+        writeSpanEventList(put, newSpanEventList(1L, 0, 5));
+        Result result = toResult(put);
+
+        List<SpanEventBo> eagerList = eagerMapper.mapRow(result, 0).get(0).getSpanEventBoList();
+        List<SpanEventBo> lazyList = lazyMapper.mapRow(result, 0).get(0).getSpanEventBoList();
+
+        // stop reading in the middle of the list, then read it again from the start
+        Iterator<SpanEventBo> iterator = lazyList.iterator();
+        Assert.assertEquals(eagerList.get(0).toString(), iterator.next().toString());
+        Assert.assertEquals(eagerList.get(1).toString(), iterator.next().toString());
+        assertSpanEventList(eagerList, lazyList);
+
+        // the decoded list is modifiable like the eager one
+        lazyList.remove(4);
+        lazyList.add(newSpanEvent(1L, 5));
+        Assert.assertEquals(5, lazyList.size());
+        Assert.assertEquals(5, lazyList.get(4).getSequence());
+    }
+
+    private void assertSpanEventList(List<SpanEventBo> expected, List<SpanEventBo> actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(expected.get(i).toString(), actual.get(i).toString());
+        }
+    }
+
+    private Put newPut() {
+        final byte[] transactionId = new TransactionId(AGENT_ID, AGENT_START_TIME, 1L).getBytes();
+        // the web reads the row key after the hash prefix of the row key distributor
+        final byte[] rowKey = BytesUtils.merge(new byte[TransactionId.DISTRIBUTE_HASH_SIZE], transactionId);
+        return new Put(rowKey, ACCEPTED_TIME);
+    }
+
+    private SpanBo newSpan(long spanId) {
+        SpanBo span = new SpanBo();
+        span.setAgentId(AGENT_ID);
+        span.setApplicationId("application");
+        span.setAgentStartTime(AGENT_START_TIME);
+        span.setSpanID(spanId);
+        span.setParentSpanId(-1L);
+        span.setStartTime(AGENT_START_TIME + 100);
+        span.setElapsed(10);
+        span.setRpc("/rpc");
+        span.setServiceType(ServiceType.STAND_ALONE.getCode());
+        span.setEndPoint("localhost:8080");
+        span.setRemoteAddr("127.0.0.1");
+        return span;
+    }
+
+    private List<SpanEventBo> newSpanEventList(long spanId, int fromSequence, int size) {
+        List<SpanEventBo> spanEventList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            spanEventList.add(newSpanEvent(spanId, fromSequence + i));
+        }
+        return spanEventList;
+    }
+
+    private SpanEventBo newSpanEvent(long spanId, int sequence) {
+        SpanEventBo spanEvent = new SpanEventBo();
+        spanEvent.setAgentId(AGENT_ID);
+        spanEvent.setApplicationId("application");
+        spanEvent.setAgentStartTime(AGENT_START_TIME);
+        spanEvent.setSpanId(spanId);
+        spanEvent.setSequence((short) sequence);
+        spanEvent.setDepth(sequence + 1);
+        spanEvent.setStartElapsed(sequence);
+        spanEvent.setEndElapsed(1);
+        spanEvent.setRpc("rpc" + sequence);
+        spanEvent.setServiceType(ServiceType.INTERNAL_METHOD.getCode());
+        spanEvent.setEndPoint("endPoint" + sequence);
+        spanEvent.setDestinationId("destination" + sequence);
+        spanEvent.setApiId(sequence);
+        spanEvent.setNextSpanId(-1L);
+        return spanEvent;
+    }
+
+    private void writeSpan(Put put, SpanBo span) {
+        new SpanSerializer().serialize(span, put, null);
+    }
+
+    private void writeSpanEventList(Put put, List<SpanEventBo> spanEventList) {
+        SpanEventListSerializer serializer = new SpanEventListSerializer();
+        serializer.setAnnotationSerializer(new AnnotationSerializer());
+        serializer.serialize(spanEventList, put, null);
+    }
+
+    private void writeSpanEvent(Put put, SpanEventBo spanEvent) {
+        SpanEventSerializer serializer = new SpanEventSerializer();
+        serializer.setAnnotationSerializer(new AnnotationSerializer());
+        serializer.serialize(spanEvent, put, null);
+    }
+
+    private Result toResult(Put put) {
+        final List<Cell> cells = new ArrayList<>();
+        for (List<Cell> familyCells : put.getFamilyCellMap().values()) {
+            cells.addAll(familyCells);
+        }
+        // a Result from the region server is always sorted
+        Collections.sort(cells, KeyValue.COMPARATOR);
+        return Result.create(cells);
+    }
+}
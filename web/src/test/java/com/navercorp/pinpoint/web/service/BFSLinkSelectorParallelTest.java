@@ -0,0 +1,42 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service;
+
+import com.navercorp.pinpoint.web.service.map.MapTaskExecutor;
+import org.junit.After;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the {@link BFSLinkSelectorTest} cases with the parallel link search enabled.
+ */
+public class BFSLinkSelectorParallelTest extends BFSLinkSelectorTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+    }
+
+    @Override
+    protected LinkSelector createLinkSelector() {
+        MapTaskExecutor mapTaskExecutor = new MapTaskExecutor(executor, 2, 5000);
+        return new BFSLinkSelector(this.callerDao, this.calleeDao, hostApplicationMapDao, null, mapTaskExecutor);
+    }
+}
@@ -43,9 +43,9 @@ import static org.mockito.Mockito.when;
  */
 public class BFSLinkSelectorTest {
 
-    private MapStatisticsCallerDao callerDao;
-    private MapStatisticsCalleeDao calleeDao;
-    private HostApplicationMapDao hostApplicationMapDao;
+    protected MapStatisticsCallerDao callerDao;
+    protected MapStatisticsCalleeDao calleeDao;
+    protected HostApplicationMapDao hostApplicationMapDao;
 
     private Application APP_A = new Application("APP_A", ServiceType.STAND_ALONE);
     private Application APP_B = new Application("APP_B", ServiceType.STAND_ALONE);
@@ -65,7 +65,7 @@ public class BFSLinkSelectorTest {
         this.hostApplicationMapDao = mock(HostApplicationMapDao.class);
     }
 
-    private LinkSelector createLinkSelector() {
+    protected LinkSelector createLinkSelector() {
         return new BFSLinkSelector(this.callerDao, this.calleeDao, hostApplicationMapDao, null);
     }
 
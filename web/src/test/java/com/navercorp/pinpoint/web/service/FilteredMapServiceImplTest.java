@@ -0,0 +1,246 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service;
+
+import static org.mockito.Mockito.*;
+
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.service.DefaultServiceTypeRegistryService;
+import com.navercorp.pinpoint.common.service.ServiceTypeRegistryService;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.web.applicationmap.ApplicationMap;
+import com.navercorp.pinpoint.web.applicationmap.ApplicationMapWithScatterData;
+import com.navercorp.pinpoint.web.applicationmap.Link;
+import com.navercorp.pinpoint.web.applicationmap.Node;
+import com.navercorp.pinpoint.web.applicationmap.histogram.NodeHistogram;
+import com.navercorp.pinpoint.web.filter.Filter;
+import com.navercorp.pinpoint.web.scatter.ScatterData;
+import com.navercorp.pinpoint.web.vo.Application;
+import com.navercorp.pinpoint.web.vo.Range;
+import com.navercorp.pinpoint.web.vo.TransactionId;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class FilteredMapServiceImplTest {
+
+    private static final long FROM = 1000000L;
+    private static final long TO = FROM + 60000;
+
+    // rejects the transactions with an odd sequence
+    private static final Filter EVEN_FILTER = new Filter() {
+        @Override
+        public boolean include(List<SpanBo> transaction) {
+            return transaction.get(0).getTraceTransactionSequence() % 2 == 0;
+        }
+    };
+
+    private final ServiceTypeRegistryService registry = new DefaultServiceTypeRegistryService();
+
+    private MemoryTraceDao traceDao;
+    private FilteredMapServiceImpl streamingService;
+    private FilteredMapServiceImpl parallelService;
+
+    @Before
+    public void setUp() throws Exception {
+        List<List<SpanBo>> transactionList = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            SpanBo root = newSpan(i, 1L, -1L, "APP_A");
+            root.addSpanEvent(newSpanEvent(1L, 0, ServiceType.INTERNAL_METHOD, null));
+            root.addSpanEvent(newSpanEvent(1L, 1, ServiceType.UNKNOWN_DB_EXECUTE_QUERY, "DB"));
+            SpanBo child = newSpan(i, 2L, 1L, "APP_B");
+            transactionList.add(Arrays.asList(root, child));
+        }
+        this.traceDao = new MemoryTraceDao(transactionList);
+
+        this.streamingService = newFilteredMapService(false);
+        this.parallelService = newFilteredMapService(true);
+        this.parallelService.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        parallelService.stop();
+    }
+
+    private FilteredMapServiceImpl newFilteredMapService(boolean parallel) {
+        DefaultApplicationFactory applicationFactory = new DefaultApplicationFactory();
+        ReflectionTestUtils.setField(applicationFactory, "registry", registry);
+
+        FilteredMapServiceImpl filteredMapService = new FilteredMapServiceImpl();
+        ReflectionTestUtils.setField(filteredMapService, "agentInfoService", mock(AgentInfoService.class));
+        ReflectionTestUtils.setField(filteredMapService, "traceDao", traceDao);
+        ReflectionTestUtils.setField(filteredMapService, "registry", registry);
+        ReflectionTestUtils.setField(filteredMapService, "applicationFactory", applicationFactory);
+        ReflectionTestUtils.setField(filteredMapService, "parallelEnable", parallel);
+        ReflectionTestUtils.setField(filteredMapService, "parallelThreadSize", 2);
+        ReflectionTestUtils.setField(filteredMapService, "parallelChunkSize", 2);
+        ReflectionTestUtils.setField(filteredMapService, "parallelTimeout", 10000L);
+        return filteredMapService;
+    }
+
+    @Test
+    public void selectApplicationMapEqualsEager() throws Exception {
+        List<TransactionId> transactionIdList = traceDao.getTransactionIdList();
+        Range range = new Range(FROM, TO);
+
+        ApplicationMap streamingMap = streamingService.selectApplicationMap(transactionIdList, range, range, EVEN_FILTER);
+        ApplicationMap parallelMap = parallelService.selectApplicationMap(transactionIdList, range, range, EVEN_FILTER);
+
+        Map<String, Long> expectedLinkCount = countLinksEager(transactionIdList, EVEN_FILTER);
+        Assert.assertEquals(3, expectedLinkCount.size());
+        Assert.assertEquals(expectedLinkCount, getLinkCount(streamingMap));
+        Assert.assertEquals(expectedLinkCount, getLinkCount(parallelMap));
+
+        Map<String, Long> nodeCount = getNodeCount(streamingMap);
+        Assert.assertEquals(Long.valueOf(5), nodeCount.get("APP_A"));
+        Assert.assertEquals(Long.valueOf(5), nodeCount.get("APP_B"));
+        Assert.assertEquals(nodeCount, getNodeCount(parallelMap));
+    }
+
+    @Test
+    public void selectApplicationMapWithScatterDataEqualsEager() throws Exception {
+        List<TransactionId> transactionIdList = traceDao.getTransactionIdList();
+        Range range = new Range(FROM, TO);
+
+        ApplicationMap streamingMap = streamingService.selectApplicationMapWithScatterData(transactionIdList, range, range, 1000, 100, EVEN_FILTER);
+        ApplicationMap parallelMap = parallelService.selectApplicationMapWithScatterData(transactionIdList, range, range, 1000, 100, EVEN_FILTER);
+
+        Map<String, Integer> expectedDotCount = countDotsEager(transactionIdList, EVEN_FILTER);
+        Assert.assertEquals(expectedDotCount, getDotCount((ApplicationMapWithScatterData) streamingMap));
+        Assert.assertEquals(expectedDotCount, getDotCount((ApplicationMapWithScatterData) parallelMap));
+    }
+
+    /**
+     * links counted from the transactions loaded all at once: user -> APP_A, APP_A -> APP_B and APP_A -> DB
+     */
+    private Map<String, Long> countLinksEager(List<TransactionId> transactionIdList, Filter filter) {
+        final Map<String, Long> linkCount = new HashMap<>();
+        for (List<SpanBo> transaction : traceDao.selectAllSpans(transactionIdList)) {
+            if (!filter.include(transaction)) {
+                continue;
+            }
+            for (SpanBo span : transaction) {
+                final String parent = span.isRoot() ? span.getApplicationId() : findApplicationId(transaction, span.getParentSpanId());
+                increment(linkCount, parent + "->" + span.getApplicationId(), 1);
+                for (SpanEventBo spanEvent : span.getSpanEventBoList() == null ? new ArrayList<SpanEventBo>() : span.getSpanEventBoList()) {
+                    if (registry.findServiceType(spanEvent.getServiceType()).isRecordStatistics()) {
+                        increment(linkCount, span.getApplicationId() + "->" + spanEvent.getDestinationId(), 1);
+                    }
+                }
+            }
+        }
+        return linkCount;
+    }
+
+    private Map<String, Integer> countDotsEager(List<TransactionId> transactionIdList, Filter filter) {
+        final Map<String, Integer> dotCount = new HashMap<>();
+        for (List<SpanBo> transaction : traceDao.selectAllSpans(transactionIdList)) {
+            if (!filter.include(transaction)) {
+                continue;
+            }
+            for (SpanBo span : transaction) {
+                final Integer count = dotCount.get(span.getApplicationId());
+                dotCount.put(span.getApplicationId(), count == null ? 1 : count + 1);
+            }
+        }
+        return dotCount;
+    }
+
+    private String findApplicationId(List<SpanBo> transaction, long spanId) {
+        for (SpanBo span : transaction) {
+            if (span.getSpanId() == spanId) {
+                return span.getApplicationId();
+            }
+        }
+        throw new IllegalArgumentException("span not found. spanId:" + spanId);
+    }
+
+    private Map<String, Long> getLinkCount(ApplicationMap map) {
+        final Map<String, Long> linkCount = new HashMap<>();
+        for (Link link : map.getLinks()) {
+            final String key = link.getFrom().getApplication().getName() + "->" + link.getTo().getApplication().getName();
+            increment(linkCount, key, link.getHistogram().getTotalCount());
+        }
+        return linkCount;
+    }
+
+    private Map<String, Long> getNodeCount(ApplicationMap map) {
+        final Map<String, Long> nodeCount = new HashMap<>();
+        for (Node node : map.getNodes()) {
+            final NodeHistogram nodeHistogram = node.getNodeHistogram();
+            if (nodeHistogram == null || nodeHistogram.getApplicationHistogram() == null) {
+                continue;
+            }
+            nodeCount.put(node.getApplication().getName(), nodeHistogram.getApplicationHistogram().getTotalCount());
+        }
+        return nodeCount;
+    }
+
+    private Map<String, Integer> getDotCount(ApplicationMapWithScatterData map) {
+        final Map<String, Integer> dotCount = new HashMap<>();
+        for (Map.Entry<Application, ScatterData> entry : map.getApplicationScatterDataMap().entrySet()) {
+            dotCount.put(entry.getKey().getName(), entry.getValue().getDotSize());
+        }
+        return dotCount;
+    }
+
+    private void increment(Map<String, Long> countMap, String key, long count) {
+        final Long old = countMap.get(key);
+        countMap.put(key, old == null ? count : old + count);
+    }
+
+    private SpanBo newSpan(int transactionSequence, long spanId, long parentSpanId, String applicationId) {
+        SpanBo span = new SpanBo();
+        span.setTraceAgentId("agent");
+        span.setTraceAgentStartTime(FROM - 1000);
+        span.setTraceTransactionSequence(transactionSequence);
+        span.setSpanID(spanId);
+        span.setParentSpanId(parentSpanId);
+        span.setAgentId(applicationId + "-agent");
+        span.setApplicationId(applicationId);
+        span.setServiceType(ServiceType.STAND_ALONE.getCode());
+        span.setApplicationServiceType(ServiceType.STAND_ALONE.getCode());
+        span.setStartTime(FROM + transactionSequence * 3000);
+        span.setCollectorAcceptTime(FROM + transactionSequence * 3000 + 100);
+        span.setElapsed(transactionSequence * 100);
+        span.setErrCode(transactionSequence % 3 == 0 ? 1 : 0);
+        return span;
+    }
+
+    private SpanEventBo newSpanEvent(long spanId, int sequence, ServiceType serviceType, String destinationId) {
+        SpanEventBo spanEvent = new SpanEventBo();
+        spanEvent.setSpanId(spanId);
+        spanEvent.setSequence((short) sequence);
+        spanEvent.setServiceType(serviceType.getCode());
+        spanEvent.setDestinationId(destinationId);
+        spanEvent.setEndPoint(destinationId);
+        spanEvent.setStartElapsed(sequence);
+        spanEvent.setEndElapsed(5);
+        spanEvent.setNextSpanId(-1L);
+        return spanEvent;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service;
+
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.web.dao.TraceDao;
+import com.navercorp.pinpoint.web.dao.TraceHandler;
+import com.navercorp.pinpoint.web.vo.TransactionId;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link TraceDao} over transactions kept in memory.
+ * {@link #selectAllSpans(Collection)} returns them all at once, {@link #selectAllSpans(Collection, TraceHandler)} streams them.
+ */
+class MemoryTraceDao implements TraceDao {
+
+    private final List<List<SpanBo>> transactionList;
+
+    MemoryTraceDao(List<List<SpanBo>> transactionList) {
+        if (transactionList == null) {
+            throw new NullPointerException("transactionList must not be null");
+        }
+        this.transactionList = transactionList;
+    }
+
+    @Override
+    public List<List<SpanBo>> selectAllSpans(Collection<TransactionId> transactionIdList) {
+        final Set<TransactionId> transactionIdSet = new HashSet<>(transactionIdList);
+        final List<List<SpanBo>> selectedList = new ArrayList<>();
+        for (List<SpanBo> transaction : transactionList) {
+            if (transactionIdSet.contains(getTransactionId(transaction))) {
+                selectedList.add(transaction);
+            }
+        }
+        return selectedList;
+    }
+
+    @Override
+    public void selectAllSpans(Collection<TransactionId> transactionIdList, TraceHandler traceHandler) {
+        final Set<TransactionId> transactionIdSet = new HashSet<>(transactionIdList);
+        for (List<SpanBo> transaction : transactionList) {
+            if (transactionIdSet.contains(getTransactionId(transaction))) {
+                traceHandler.handle(transaction);
+            }
+        }
+    }
+
+    List<TransactionId> getTransactionIdList() {
+        final List<TransactionId> transactionIdList = new ArrayList<>(transactionList.size());
+        for (List<SpanBo> transaction : transactionList) {
+            transactionIdList.add(getTransactionId(transaction));
+        }
+        return transactionIdList;
+    }
+
+    private TransactionId getTransactionId(List<SpanBo> transaction) {
+        final SpanBo span = transaction.get(0);
+        return new TransactionId(span.getTraceAgentId(), span.getTraceAgentStartTime(), span.getTraceTransactionSequence());
+    }
+
+    @Override
+    public List<SpanBo> selectSpan(TransactionId transactionId) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<SpanBo> selectSpanAndAnnotation(TransactionId transactionId) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<List<SpanBo>> selectSpans(List<TransactionId> transactionIdList) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<SpanBo> selectSpans(TransactionId transactionId) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.service;
+
+import com.navercorp.pinpoint.common.server.bo.ApiMetaDataBo;
+import com.navercorp.pinpoint.common.server.bo.SqlMetaDataBo;
+import com.navercorp.pinpoint.common.server.bo.StringMetaDataBo;
+import com.navercorp.pinpoint.web.dao.ApiMetaDataDao;
+import com.navercorp.pinpoint.web.dao.SqlMetaDataDao;
+import com.navercorp.pinpoint.web.dao.StringMetaDataDao;
+import com.navercorp.pinpoint.web.service.MetaDataResolver.ResolvedMetaData;
+import com.navercorp.pinpoint.web.vo.MetaDataKey;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class MetaDataResolverTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    private final TestApiMetaDataDao apiMetaDataDao = new TestApiMetaDataDao();
+    private final TestSqlMetaDataDao sqlMetaDataDao = new TestSqlMetaDataDao();
+    private final TestStringMetaDataDao stringMetaDataDao = new TestStringMetaDataDao();
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void resolve() {
+        MetaDataResolver resolver = new MetaDataResolver(apiMetaDataDao, sqlMetaDataDao, stringMetaDataDao, 2, 100, null, 1000);
+
+        List<MetaDataKey> apiKeys = createKeys(1, 2, 3, 4, 5);
+        ResolvedMetaData metaData = resolver.resolve(apiKeys, createKeys(10), createKeys(20, 21));
+
+        // 5 keys in batches of 2
+        Assert.assertEquals(3, apiMetaDataDao.requestList.size());
+        Assert.assertEquals(1, sqlMetaDataDao.requestList.size());
+        Assert.assertEquals(1, stringMetaDataDao.requestList.size());
+
+        for (MetaDataKey key : apiKeys) {
+            List<ApiMetaDataBo> apiMetaDataList = metaData.getApiMetaData(key);
+            Assert.assertEquals(1, apiMetaDataList.size());
+            Assert.assertEquals("api" + key.getId(), apiMetaDataList.get(0).getApiInfo());
+        }
+        Assert.assertEquals("sql10", metaData.getSqlMetaData(new MetaDataKey("agentId", 0, 10)).get(0).getSql());
+        Assert.assertEquals("string21", metaData.getStringMetaData(new MetaDataKey("agentId", 0, 21)).get(0).getStringValue());
+        Assert.assertTrue(metaData.getApiMetaData(new MetaDataKey("agentId", 0, 100)).isEmpty());
+    }
+
+    @Test
+    public void resolveFromCache() {
+        MetaDataResolver resolver = new MetaDataResolver(apiMetaDataDao, sqlMetaDataDao, stringMetaDataDao, 10, 100, null, 1000);
+
+        // negative ids are not stored
+        resolver.resolve(createKeys(1, 2, -1), Collections.<MetaDataKey>emptyList(), Collections.<MetaDataKey>emptyList());
+        Assert.assertEquals(1, apiMetaDataDao.requestList.size());
+
+        ResolvedMetaData metaData = resolver.resolve(createKeys(1, 2, -1, 3), Collections.<MetaDataKey>emptyList(), Collections.<MetaDataKey>emptyList());
+        Assert.assertEquals(2, apiMetaDataDao.requestList.size());
+        // missing rows are looked up again
+        Assert.assertEquals(createKeys(-1, 3), apiMetaDataDao.requestList.get(1));
+        Assert.assertEquals("api2", metaData.getApiMetaData(new MetaDataKey("agentId", 0, 2)).get(0).getApiInfo());
+        Assert.assertTrue(metaData.getApiMetaData(new MetaDataKey("agentId", 0, -1)).isEmpty());
+    }
+
+    @Test
+    public void resolveParallel() {
+        MetaDataResolver resolver = new MetaDataResolver(apiMetaDataDao, sqlMetaDataDao, stringMetaDataDao, 3, 100, executor, 5000);
+
+        List<MetaDataKey> keys = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            keys.add(new MetaDataKey("agentId", 0, i));
+        }
+        ResolvedMetaData metaData = resolver.resolve(keys, keys, keys);
+
+        Assert.assertEquals(34, apiMetaDataDao.requestList.size());
+        Assert.assertEquals(34, sqlMetaDataDao.requestList.size());
+        Assert.assertEquals(34, stringMetaDataDao.requestList.size());
+        Set<Integer> requestedIds = new TreeSet<>();
+        for (List<MetaDataKey> request : sqlMetaDataDao.requestList) {
+            for (MetaDataKey key : request) {
+                Assert.assertTrue(requestedIds.add(key.getId()));
+            }
+        }
+        Assert.assertEquals(100, requestedIds.size());
+        for (MetaDataKey key : keys) {
+            Assert.assertEquals("api" + key.getId(), metaData.getApiMetaData(key).get(0).getApiInfo());
+            Assert.assertEquals("sql" + key.getId(), metaData.getSqlMetaData(key).get(0).getSql());
+            Assert.assertEquals("string" + key.getId(), metaData.getStringMetaData(key).get(0).getStringValue());
+        }
+    }
+
+    private List<MetaDataKey> createKeys(int... ids) {
+        List<MetaDataKey> keyList = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            keyList.add(new MetaDataKey("agentId", 0, id));
+        }
+        return keyList;
+    }
+
+    private static class TestApiMetaDataDao implements ApiMetaDataDao {
+        private final List<List<MetaDataKey>> requestList = new CopyOnWriteArrayList<>();
+
+        @Override
+        public List<ApiMetaDataBo> getApiMetaData(String agentId, long time, int apiId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<List<ApiMetaDataBo>> getApiMetaData(List<MetaDataKey> keyList) {
+            requestList.add(keyList);
+            List<List<ApiMetaDataBo>> result = new ArrayList<>();
+            for (MetaDataKey key : keyList) {
+                if (key.getId() < 0) {
+                    result.add(Collections.<ApiMetaDataBo>emptyList());
+                    continue;
+                }
+                ApiMetaDataBo apiMetaDataBo = new ApiMetaDataBo(key.getAgentId(), key.getAgentStartTime(), key.getId());
+                apiMetaDataBo.setApiInfo("api" + key.getId());
+                result.add(Arrays.asList(apiMetaDataBo));
+            }
+            return result;
+        }
+    }
+
+    private static class TestSqlMetaDataDao implements SqlMetaDataDao {
+        private final List<List<MetaDataKey>> requestList = new CopyOnWriteArrayList<>();
+
+        @Override
+        public List<SqlMetaDataBo> getSqlMetaData(String agentId, long time, int hashCode) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<List<SqlMetaDataBo>> getSqlMetaData(List<MetaDataKey> keyList) {
+            requestList.add(keyList);
+            List<List<SqlMetaDataBo>> result = new ArrayList<>();
+            for (MetaDataKey key : keyList) {
+                SqlMetaDataBo sqlMetaDataBo = new SqlMetaDataBo(key.getAgentId(), key.getAgentStartTime(), key.getId());
+                sqlMetaDataBo.setSql("sql" + key.getId());
+                result.add(Arrays.asList(sqlMetaDataBo));
+            }
+            return result;
+        }
+    }
+
+    private static class TestStringMetaDataDao implements StringMetaDataDao {
+        private final List<List<MetaDataKey>> requestList = new CopyOnWriteArrayList<>();
+
+        @Override
+        public List<StringMetaDataBo> getStringMetaData(String agentId, long time, int stringId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<List<StringMetaDataBo>> getStringMetaData(List<MetaDataKey> keyList) {
+            requestList.add(keyList);
+            List<List<StringMetaDataBo>> result = new ArrayList<>();
+            for (MetaDataKey key : keyList) {
+                StringMetaDataBo stringMetaDataBo = new StringMetaDataBo(key.getAgentId(), key.getAgentStartTime(), key.getId());
+                stringMetaDataBo.setStringValue("string" + key.getId());
+                result.add(Arrays.asList(stringMetaDataBo));
+            }
+            return result;
+        }
+    }
+}
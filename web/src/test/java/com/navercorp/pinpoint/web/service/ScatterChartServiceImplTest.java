@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service;
+
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.web.filter.Filter;
+import com.navercorp.pinpoint.web.scatter.ScatterData;
+import com.navercorp.pinpoint.web.vo.Range;
+import com.navercorp.pinpoint.web.vo.TransactionId;
+import com.navercorp.pinpoint.web.vo.scatter.Dot;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ScatterChartServiceImplTest {
+
+    private static final long FROM = 1000000L;
+    private static final long TO = FROM + 60000;
+
+    // rejects the transactions with an odd sequence
+    private static final Filter EVEN_FILTER = new Filter() {
+        @Override
+        public boolean include(List<SpanBo> transaction) {
+            return transaction.get(0).getTraceTransactionSequence() % 2 == 0;
+        }
+    };
+
+    private final ScatterChartServiceImpl scatterChartService = new ScatterChartServiceImpl();
+    private MemoryTraceDao traceDao;
+
+    @Before
+    public void setUp() throws Exception {
+        List<List<SpanBo>> transactionList = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            SpanBo root = newSpan(i, 1L, -1L, "APP_A");
+            SpanBo child = newSpan(i, 2L, 1L, "APP_B");
+            transactionList.add(Arrays.asList(root, child));
+        }
+        this.traceDao = new MemoryTraceDao(transactionList);
+        ReflectionTestUtils.setField(scatterChartService, "traceDao", traceDao);
+    }
+
+    @Test
+    public void selectScatterDataEqualsEager() throws Exception {
+        List<TransactionId> transactionIdList = traceDao.getTransactionIdList();
+
+        List<Dot> dotList = scatterChartService.selectScatterData(transactionIdList, "APP_A", EVEN_FILTER);
+
+        List<Dot> expected = selectEager(transactionIdList, "APP_A", EVEN_FILTER);
+        Assert.assertEquals(5, expected.size());
+        Assert.assertEquals(expected.size(), dotList.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(expected.get(i).toString(), dotList.get(i).toString());
+        }
+    }
+
+    @Test
+    public void selectScatterDataWithRangeEqualsEager() throws Exception {
+        List<TransactionId> transactionIdList = traceDao.getTransactionIdList();
+        Range range = new Range(FROM, TO);
+
+        ScatterData scatterData = scatterChartService.selectScatterData(transactionIdList, "APP_B", range, 1000, 100, EVEN_FILTER);
+
+        ScatterData expected = new ScatterData(FROM, TO, 1000, 100);
+        expected.addDot(selectEager(transactionIdList, "APP_B", EVEN_FILTER));
+        Assert.assertEquals(expected.getDotSize(), scatterData.getDotSize());
+        Assert.assertEquals(expected.getOldestAcceptedTime(), scatterData.getOldestAcceptedTime());
+        Assert.assertEquals(expected.getLatestAcceptedTime(), scatterData.getLatestAcceptedTime());
+        Assert.assertEquals(expected.getScatterDataMap().keySet(), scatterData.getScatterDataMap().keySet());
+    }
+
+    /**
+     * the list based implementation the streaming one replaced
+     */
+    private List<Dot> selectEager(List<TransactionId> transactionIdList, String applicationName, Filter filter) {
+        final List<List<SpanBo>> traceList = traceDao.selectAllSpans(transactionIdList);
+
+        final List<Dot> result = new ArrayList<>();
+        for (List<SpanBo> trace : traceList) {
+            if (!filter.include(trace)) {
+                continue;
+            }
+            for (SpanBo span : trace) {
+                if (applicationName.equals(span.getApplicationId())) {
+                    final TransactionId transactionId = new TransactionId(span.getTraceAgentId(), span.getTraceAgentStartTime(), span.getTraceTransactionSequence());
+                    result.add(new Dot(transactionId, span.getCollectorAcceptTime(), span.getElapsed(), span.getErrCode(), span.getAgentId()));
+                }
+            }
+        }
+        return result;
+    }
+
+    private SpanBo newSpan(int transactionSequence, long spanId, long parentSpanId, String applicationId) {
+        SpanBo span = new SpanBo();
+        span.setTraceAgentId("agent");
+        span.setTraceAgentStartTime(FROM - 1000);
+        span.setTraceTransactionSequence(transactionSequence);
+        span.setSpanID(spanId);
+        span.setParentSpanId(parentSpanId);
+        span.setAgentId(applicationId + "-agent");
+        span.setApplicationId(applicationId);
+        span.setServiceType(ServiceType.STAND_ALONE.getCode());
+        span.setApplicationServiceType(ServiceType.STAND_ALONE.getCode());
+        span.setStartTime(FROM + transactionSequence * 3000);
+        span.setCollectorAcceptTime(FROM + transactionSequence * 3000 + 100);
+        span.setElapsed(transactionSequence * 100);
+        span.setErrCode(transactionSequence % 3 == 0 ? 1 : 0);
+        return span;
+    }
+}
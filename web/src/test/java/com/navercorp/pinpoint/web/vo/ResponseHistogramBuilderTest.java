@@ -0,0 +1,71 @@
+/*
+ * Copyright 2016 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.vo;
+
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogram;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class ResponseHistogramBuilderTest {
+
+    @Test
+    public void addResponseHistogramBuilder() {
+        final Range range = new Range(0, 60000);
+        final Application application = new Application("test", ServiceType.STAND_ALONE);
+
+        ResponseHistogramBuilder one = new ResponseHistogramBuilder(range);
+        one.addLinkHistogram(application, "agent1", createHistogram(0, 100, 2));
+
+        ResponseHistogramBuilder two = new ResponseHistogramBuilder(range);
+        two.addLinkHistogram(application, "agent1", createHistogram(0, 100, 3));
+        two.addLinkHistogram(application, "agent2", createHistogram(0, 100, 1));
+
+        one.addResponseHistogramBuilder(two);
+        one.build();
+
+        List<ResponseTime> responseTimeList = one.getResponseTimeList(application);
+        Assert.assertEquals(1, responseTimeList.size());
+        ResponseTime responseTime = responseTimeList.get(0);
+        Assert.assertEquals(5, responseTime.findHistogram("agent1").getTotalCount());
+        Assert.assertEquals(1, responseTime.findHistogram("agent2").getTotalCount());
+        // the merged builder is not modified
+        two.build();
+        Assert.assertEquals(3, two.getResponseTimeList(application).get(0).findHistogram("agent1").getTotalCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void addBuiltResponseHistogramBuilder() {
+        final Range range = new Range(0, 60000);
+        ResponseHistogramBuilder one = new ResponseHistogramBuilder(range);
+        ResponseHistogramBuilder two = new ResponseHistogramBuilder(range);
+        two.build();
+
+        one.addResponseHistogramBuilder(two);
+    }
+
+    private TimeHistogram createHistogram(long timeStamp, int elapsed, int count) {
+        TimeHistogram histogram = new TimeHistogram(ServiceType.STAND_ALONE, timeStamp);
+        for (int i = 0; i < count; i++) {
+            histogram.addCallCountByElapsedTime(elapsed, false);
+        }
+        return histogram;
+    }
+}